@@ -15,6 +15,8 @@
 
 package eu.esdihumboldt.hale.app.transform.test;
 
+import java.util.zip.GZIPOutputStream
+
 import eu.esdihumboldt.hale.app.transform.ExecApplication
 import eu.esdihumboldt.hale.common.app.ApplicationUtil
 import eu.esdihumboldt.hale.common.test.TestUtil
@@ -355,6 +357,76 @@ class ExecuteTest extends GroovyTestCase {
 	}
 
 
+	/**
+	 * Test batch mode with source files that would be written to the same
+	 * target file.
+	 */
+	void testBatchTargetNameCollision() {
+		File sourceDir1 = File.createTempDir()
+		File sourceDir2 = File.createTempDir()
+		File targetDir = File.createTempDir()
+		File reportsDir = File.createTempDir()
+		try {
+			createTempFile(MULTI_TYPE_DATA, new File(sourceDir1, 'items.xml'))
+			new GZIPOutputStream(new FileOutputStream(new File(sourceDir1, 'items.xml.gz'))).withStream { OutputStream out ->
+				ExecuteTest.class.getClassLoader().getResourceAsStream(MULTI_TYPE_DATA).withStream { InputStream is ->
+					out << is
+				}
+			}
+			createTempFile(MULTI_TYPE_DATA, new File(sourceDir2, 'items.xml'))
+
+			transform([
+				//
+				'-project',
+				getProjectURI(MULTI_TYPE_PROJECT).toString(),
+				//
+				'-source',
+				sourceDir1.absolutePath,
+				//
+				'-source',
+				sourceDir2.absolutePath,
+				//
+				'-target',
+				targetDir.absolutePath,
+				//
+				'-reportsOut',
+				reportsDir.absolutePath,
+				//
+				'-batch',
+				//
+				'-batchExtension',
+				'xml',
+				//
+				'-providerId',
+				'eu.esdihumboldt.hale.io.xml.writer',
+				//
+				'-Sxml.rootElement.name',
+				'collection' //
+			]) { //
+				File output, int code ->
+				// check exit code
+				assert code == 0
+			}
+
+			List<String> targets = targetDir.list().toList().sort()
+			assert targets == [
+				'items.xml',
+				'items_2.xml',
+				'items_3.xml'
+			]
+			targets.each { String name ->
+				validateMultipleTypeTransformedDataSize(new File(targetDir, name),
+						MULTITYPE_TDATA_SIZE4)
+				assert new File(reportsDir, name + '.log').exists()
+			}
+		} finally {
+			sourceDir1.deleteDir()
+			sourceDir2.deleteDir()
+			targetDir.deleteDir()
+			reportsDir.deleteDir()
+		}
+	}
+
 	@CompileStatic(TypeCheckingMode.SKIP)
 	private void validateMultipleTypeTransformedDataSize(File targetFile, int dataSize) {
 		// check written file
@@ -0,0 +1,152 @@
+/*
+ * Copyright (c) 2026 wetransform GmbH
+ *
+ * All rights reserved. This program and the accompanying materials are made
+ * available under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 3 of the License,
+ * or (at your option) any later version.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Contributors:
+ *     wetransform GmbH <http://www.wetransform.to>
+ */
+
+package eu.esdihumboldt.hale.app.transform.test
+
+import java.nio.charset.StandardCharsets
+
+import eu.esdihumboldt.hale.app.transform.ConsoleConstants
+import eu.esdihumboldt.hale.app.transform.TransformServer
+import eu.esdihumboldt.hale.common.test.TestUtil
+
+/**
+ * Tests for transformation jobs executed by the {@link TransformServer}.
+ */
+class TransformServerTest extends GroovyTestCase {
+
+	private static final String MULTI_TYPE_PROJECT = "projects/multitype/project.halex"
+	private static final String MULTI_TYPE_DATA = "projects/multitype/multi-type-source.xml"
+	private static final int MULTI_TYPE_SIZE = 30
+
+	private TransformServer server
+
+	@Override
+	protected void setUp() {
+		TestUtil.uninstallBundle('org.scala-ide.sdt.core')
+
+		// set up necessary bundles for transformation
+		TestUtil.startConversionService()
+		TestUtil.startInstanceFactory()
+		TestUtil.startTransformationService()
+
+		server = new TransformServer(0, 2, 4, 2)
+		Thread.start { server.serve() }
+	}
+
+	@Override
+	protected void tearDown() {
+		server.close()
+	}
+
+	/**
+	 * Test if messages and progress of a job are sent to the client.
+	 */
+	void testJob() {
+		File target = File.createTempFile('transform-server', '.xml')
+		target.deleteOnExit()
+
+		List<String> lines = submit([
+			'-project',
+			getProjectURI(MULTI_TYPE_PROJECT).toString(),
+			'-source',
+			getProjectURI(MULTI_TYPE_DATA).toString(),
+			'-target',
+			target.absolutePath,
+			'-providerId',
+			'eu.esdihumboldt.hale.io.xml.writer',
+			'-Sxml.rootElement.name',
+			'collection'
+		])
+
+		assert lines.last() == TransformServer.EXIT_PREFIX + '0'
+		assert lines.contains(ConsoleConstants.STATUS_PREFIX + 'Running hale transformation...')
+		assert lines.any { String line -> line.startsWith(ConsoleConstants.MSG_PREFIX + '-- ') }
+		assert countItems(target) == MULTI_TYPE_SIZE
+	}
+
+	/**
+	 * Test if a job with the <code>-batch</code> argument transforms each
+	 * source file separately.
+	 */
+	void testBatchJob() {
+		File sourceDir = File.createTempDir()
+		File targetDir = File.createTempDir()
+		['a.xml', 'b.xml'].each { String name ->
+			TransformServerTest.class.getClassLoader().getResourceAsStream(MULTI_TYPE_DATA)
+					.withStream { InputStream source -> new File(sourceDir, name) << source }
+		}
+
+		try {
+			List<String> lines = submit([
+				'-project',
+				getProjectURI(MULTI_TYPE_PROJECT).toString(),
+				'-source',
+				sourceDir.absolutePath,
+				'-target',
+				targetDir.absolutePath,
+				'-batch',
+				'-batchExtension',
+				'xml',
+				'-providerId',
+				'eu.esdihumboldt.hale.io.xml.writer',
+				'-Sxml.rootElement.name',
+				'collection'
+			])
+
+			assert lines.last() == TransformServer.EXIT_PREFIX + '0'
+			assert lines.findAll { String line ->
+				line.startsWith(ConsoleConstants.STATUS_PREFIX + 'Transforming ')
+			}.size() == 2
+			assert lines.any { String line -> line.startsWith(ConsoleConstants.MSG_PREFIX + '-- ') }
+			assert countItems(new File(targetDir, 'a.xml')) == MULTI_TYPE_SIZE
+			assert countItems(new File(targetDir, 'b.xml')) == MULTI_TYPE_SIZE
+		} finally {
+			sourceDir.deleteDir()
+			targetDir.deleteDir()
+		}
+	}
+
+	private List<String> submit(List<String> args) {
+		List<String> lines = []
+		new Socket(InetAddress.getLoopbackAddress(), server.port).withCloseable { Socket socket ->
+			socket.outputStream.withWriter(StandardCharsets.UTF_8.name()) { Writer writer ->
+				args.each { String arg -> writer.write(arg + '\n') }
+				writer.write('\n')
+				writer.flush()
+
+				socket.inputStream.newReader(StandardCharsets.UTF_8.name()).eachLine { String line ->
+					println line
+					lines << line
+				}
+			}
+		}
+		lines
+	}
+
+	private URI getProjectURI(String path) {
+		URL url = TransformServerTest.class.getClassLoader().getResource(path)
+		if (!url)
+			throw new IllegalStateException("Could not find " + path)
+
+		url.toURI()
+	}
+
+	private int countItems(File file) {
+		def root = new XmlSlurper().parse(file)
+		assert root.name() == 'collection'
+		root.item.size()
+	}
+
+}
@@ -0,0 +1,426 @@
+/*
+ * Copyright (c) 2026 wetransform GmbH
+ *
+ * All rights reserved. This program and the accompanying materials are made
+ * available under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 3 of the License,
+ * or (at your option) any later version.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Contributors:
+ *     wetransform GmbH <http://www.wetransform.to>
+ */
+
+package eu.esdihumboldt.hale.app.transform;
+
+import static eu.esdihumboldt.hale.app.transform.ExecUtil.error;
+import static eu.esdihumboldt.hale.app.transform.ExecUtil.fail;
+import static eu.esdihumboldt.hale.app.transform.ExecUtil.info;
+import static eu.esdihumboldt.hale.app.transform.ExecUtil.status;
+import static eu.esdihumboldt.hale.app.transform.ExecUtil.warn;
+
+import java.io.File;
+import java.io.PrintStream;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.text.MessageFormat;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.eclipse.core.runtime.content.IContentType;
+
+import eu.esdihumboldt.hale.common.core.io.HaleIO;
+import eu.esdihumboldt.hale.common.core.io.extension.IOProviderDescriptor;
+import eu.esdihumboldt.hale.common.core.io.project.model.IOConfiguration;
+import eu.esdihumboldt.hale.common.core.report.Report;
+import eu.esdihumboldt.hale.common.core.report.ReportHandler;
+import eu.esdihumboldt.hale.common.headless.impl.ProjectTransformationEnvironment;
+import eu.esdihumboldt.hale.common.headless.report.ReportFile;
+import eu.esdihumboldt.hale.common.instance.io.InstanceWriter;
+
+/**
+ * Executes a separate transformation for each source file, based on a project
+ * that is loaded only once. The transformations are executed concurrently.
+ */
+public class BatchTransformation {
+
+	/**
+	 * A single source file to transform.
+	 */
+	private static class BatchItem {
+
+		private final int sourceIndex;
+		private final Path file;
+		private final Path relativePath;
+
+		/**
+		 * Constructor.
+		 *
+		 * @param sourceIndex the index of the source configuration
+		 * @param file the source file
+		 * @param relativePath the path relative to the source directory, used
+		 *            to determine the target path
+		 */
+		public BatchItem(int sourceIndex, Path file, Path relativePath) {
+			this.sourceIndex = sourceIndex;
+			this.file = file;
+			this.relativePath = relativePath;
+		}
+
+	}
+
+	private final String id = UUID.randomUUID().toString();
+
+	private ExecContext context;
+
+	private TransformationReports reports;
+
+	private boolean waitForJobs = true;
+
+	@SuppressWarnings("javadoc")
+	public int run(final ExecContext context) throws Exception {
+		new ConsoleProgressManager();
+
+		File reportsDir = context.getReportsOut();
+		if (reportsDir != null) {
+			reportsDir.mkdirs();
+		}
+
+		// load the project once for all transformations
+		File projectReports = (reportsDir != null) ? new File(reportsDir, "project.log") : null;
+		final ProjectTransformationEnvironment env = ExecTransformation.loadProject(context,
+				new TransformationReports(projectReports), id);
+
+		// collects the reports of all transformations for the statistics
+		return run(context, env, new TransformationReports());
+	}
+
+	/**
+	 * Run a batch transformation based on an already loaded transformation
+	 * environment, e.g. one kept available by the {@link TransformServer}.
+	 * 
+	 * @param context the execution context
+	 * @param env the transformation environment for the project referenced in
+	 *            the execution context, each transformation uses a copy of it
+	 * @param reports the report handler the reports of all transformations
+	 *            are published to
+	 * @return the exit code
+	 * @throws Exception if the batch transformation fails
+	 */
+	public int run(final ExecContext context, final ProjectTransformationEnvironment env,
+			TransformationReports reports) throws Exception {
+		this.context = context;
+		this.reports = reports;
+
+		Path targetDir;
+		try {
+			targetDir = Paths.get(context.getTarget());
+		} catch (Exception e) {
+			throw fail("The target for a batch transformation must be a directory");
+		}
+		Files.createDirectories(targetDir);
+
+		File reportsDir = context.getReportsOut();
+		if (reportsDir != null) {
+			reportsDir.mkdirs();
+		}
+
+		String extension = context.getBatchExtension();
+		if (extension == null) {
+			extension = determineExtension(env);
+		}
+
+		List<BatchItem> items = collectItems();
+		info(MessageFormat.format("{0} source files identified for batch transformation",
+				items.size()));
+
+		int parallelism = Math.max(1, context.getBatchParallelism());
+		ExecutorService executor = Executors.newFixedThreadPool(parallelism);
+		// messages of the transformations are written where the batch
+		// transformation writes them
+		final PrintStream out = ExecUtil.getOutput();
+		List<String> targetPaths = determineTargetPaths(items, extension);
+		List<Future<Integer>> results = new ArrayList<>(items.size());
+		try {
+			for (int i = 0; i < items.size(); i++) {
+				BatchItem item = items.get(i);
+				Path targetFile = targetDir.resolve(targetPaths.get(i));
+				File reportFile = (reportsDir == null) ? null
+						: new File(reportsDir, targetPaths.get(i) + ".log");
+
+				results.add(executor.submit(() -> {
+					ExecUtil.setOutput(out);
+					try {
+						return transform(item, targetFile, reportFile, env);
+					} finally {
+						ExecUtil.setOutput(null);
+					}
+				}));
+			}
+
+			int failed = 0;
+			int exitCode = 0;
+			for (int i = 0; i < results.size(); i++) {
+				int code;
+				try {
+					code = results.get(i).get();
+				} catch (ExecutionException e) {
+					error("Transformation of " + items.get(i).file + " failed: "
+							+ e.getCause().getMessage());
+					if (context.isLogException()) {
+						e.getCause().printStackTrace();
+					}
+					code = 1;
+				}
+				if (code != 0) {
+					failed++;
+					exitCode = Math.max(exitCode, code);
+				}
+			}
+
+			if (waitForJobs) {
+				ExecTransformation.waitForJobs();
+			}
+
+			info(MessageFormat.format("Batch transformation completed, {0} of {1} failed",
+					failed, items.size()));
+
+			boolean success;
+			try {
+				success = ExecTransformation.evaluateSuccess(failed == 0, context, reports);
+			} catch (Throwable e) {
+				error("Success evaluation resulted in an error:\n" + e.getMessage());
+				if (context.isLogException()) {
+					e.printStackTrace();
+				}
+				return 2;
+			}
+
+			if (!success && exitCode == 0) {
+				error("Batch transformation failed according to the success evaluation script.");
+				return 2;
+			}
+			return exitCode;
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+
+	/**
+	 * Set if after the transformations there should be a short wait to allow
+	 * job threads to complete and publish their reports. Enabled by default.
+	 * 
+	 * @param waitForJobs if to wait for job threads after the transformations
+	 */
+	public void setWaitForJobs(boolean waitForJobs) {
+		this.waitForJobs = waitForJobs;
+	}
+
+	/**
+	 * Transform a single source file.
+	 *
+	 * @param item the source file to transform
+	 * @param targetFile the target file
+	 * @param reportFile the file to write the reports to, may be
+	 *            <code>null</code>
+	 * @param env the shared transformation environment
+	 * @return the exit code of the transformation
+	 * @throws Exception if the transformation fails
+	 */
+	private int transform(BatchItem item, Path targetFile, File reportFile,
+			ProjectTransformationEnvironment env) throws Exception {
+		Files.createDirectories(targetFile.getParent());
+
+		final ReportHandler fileHandler = (reportFile != null) ? new ReportFile(reportFile)
+				: null;
+		if (reportFile != null) {
+			reportFile.getParentFile().mkdirs();
+		}
+		TransformationReports itemReports = new TransformationReports(new ReportHandler() {
+
+			@Override
+			public void publishReport(Report<?> report) {
+				reports.publishReport(report);
+				if (fileHandler != null) {
+					fileHandler.publishReport(report);
+				}
+			}
+		});
+
+		ExecContext itemContext = context.forSingleSource(item.sourceIndex, item.file.toUri(),
+				targetFile.toUri(), reportFile);
+
+		status("Transforming " + item.file + "...");
+		ExecTransformation transformation = new ExecTransformation();
+		// waiting for jobs is done once after all transformations
+		transformation.setWaitForJobs(false);
+		int code = transformation.run(itemContext, env.copy(), itemReports);
+		if (code == 0) {
+			info("Transformed " + item.file + " to " + targetFile);
+		}
+		else {
+			error("Transformation of " + item.file + " failed");
+		}
+		return code;
+	}
+
+	/**
+	 * Collect the source files to transform.
+	 *
+	 * @return the list of source files
+	 */
+	private List<BatchItem> collectItems() {
+		List<BatchItem> items = new ArrayList<>();
+		List<URI> sources = context.getSources();
+		for (int index = 0; index < sources.size(); index++) {
+			Path path;
+			try {
+				path = Paths.get(sources.get(index));
+			} catch (Exception e) {
+				throw fail("Only files and directories are supported as sources in batch mode: "
+						+ sources.get(index));
+			}
+
+			if (Files.isDirectory(path)) {
+				// sort the files so target paths are determined consistently
+				List<Path> files = new ArrayList<>(
+						ExecTransformation.getIncludedFiles(context, path, index));
+				Collections.sort(files);
+				for (Path file : files) {
+					items.add(new BatchItem(index, file, path.relativize(file)));
+				}
+			}
+			else {
+				items.add(new BatchItem(index, path, path.getFileName()));
+			}
+		}
+		return items;
+	}
+
+	/**
+	 * Determine the path of the target file for each source file, relative to
+	 * the target directory. If multiple source files would be written to the
+	 * same target file, e.g. <code>a.gml</code> and <code>a.xml</code> or
+	 * files with the same name in different source directories, a number is
+	 * appended to the name of the target file for all but the first of them.
+	 * Paths are compared ignoring case, as the file system may be case
+	 * insensitive.
+	 *
+	 * @param items the source files
+	 * @param extension the file extension for the target files, may be
+	 *            <code>null</code>
+	 * @return the target paths, in the order of the source files
+	 */
+	private static List<String> determineTargetPaths(List<BatchItem> items, String extension) {
+		List<String> paths = new ArrayList<>(items.size());
+		Set<String> used = new HashSet<>();
+		for (BatchItem item : items) {
+			String path = replaceExtension(item.relativePath.toString(), extension);
+			String unique = path;
+			for (int n = 2; !used.add(unique.toLowerCase(Locale.ENGLISH)); n++) {
+				unique = appendToName(path, "_" + n);
+			}
+			if (!unique.equals(path)) {
+				warn(MessageFormat.format(
+						"Target file {0} is already used for another source file, {1} is written to {2} instead",
+						path, item.file, unique));
+			}
+			paths.add(unique);
+		}
+		return paths;
+	}
+
+	/**
+	 * Append a suffix to the name of a file, before its file extension.
+	 *
+	 * @param path the file path
+	 * @param suffix the suffix to append
+	 * @return the path with the suffix appended to the file name
+	 */
+	static String appendToName(String path, String suffix) {
+		String ext = "";
+		String base = path;
+		if (base.toLowerCase().endsWith(".gz")) {
+			ext = base.substring(base.length() - 3);
+			base = base.substring(0, base.length() - 3);
+		}
+		int dot = base.lastIndexOf('.');
+		int sep = Math.max(base.lastIndexOf('/'), base.lastIndexOf(File.separatorChar));
+		if (dot > sep + 1) {
+			ext = base.substring(dot) + ext;
+			base = base.substring(0, dot);
+		}
+		return base + suffix + ext;
+	}
+
+	/**
+	 * Determine the file extension for target files based on the content type
+	 * of the configured instance writer.
+	 *
+	 * @param env the transformation environment
+	 * @return the file extension or <code>null</code>
+	 */
+	private String determineExtension(ProjectTransformationEnvironment env) {
+		String writerId = context.getTargetProviderId();
+		if (writerId == null && context.getPreset() != null) {
+			IOConfiguration conf = env.getExportPresets().get(context.getPreset());
+			if (conf != null) {
+				writerId = conf.getProviderId();
+			}
+		}
+		if (writerId == null) {
+			return null;
+		}
+
+		IOProviderDescriptor factory = HaleIO.findIOProviderFactory(InstanceWriter.class, null,
+				writerId);
+		if (factory != null) {
+			for (IContentType type : factory.getSupportedTypes()) {
+				String[] extensions = type.getFileSpecs(IContentType.FILE_EXTENSION_SPEC);
+				if (extensions != null && extensions.length > 0) {
+					return extensions[0];
+				}
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * Replace the file extension of a path.
+	 *
+	 * @param path the path
+	 * @param extension the new extension, may be <code>null</code> to keep
+	 *            the path as is
+	 * @return the path with the replaced extension
+	 */
+	static String replaceExtension(String path, String extension) {
+		if (extension == null) {
+			return path;
+		}
+
+		String base = path;
+		if (base.toLowerCase().endsWith(".gz")) {
+			base = base.substring(0, base.length() - 3);
+		}
+		int dot = base.lastIndexOf('.');
+		int sep = Math.max(base.lastIndexOf('/'), base.lastIndexOf(File.separatorChar));
+		if (dot > sep + 1) {
+			base = base.substring(0, dot);
+		}
+		return base + "." + extension;
+	}
+
+}
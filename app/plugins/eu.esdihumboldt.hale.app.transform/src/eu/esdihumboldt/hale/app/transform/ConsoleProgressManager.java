@@ -15,18 +15,32 @@
 
 package eu.esdihumboldt.hale.app.transform;
 
+import java.io.PrintStream;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
 import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.core.runtime.jobs.Job;
 import org.eclipse.core.runtime.jobs.ProgressProvider;
 
+import eu.esdihumboldt.hale.common.headless.transform.AbstractTransformationJob;
+
 /**
  * Simple Progress manager that creates progress monitors that write to the
- * console.
+ * console, or to the stream configured for the transformation the job belongs
+ * to.
  * 
  * @author Simon Templer
  */
 public class ConsoleProgressManager extends ProgressProvider {
 
+	/**
+	 * Streams to write the progress of transformation jobs to, mapped to the
+	 * job family.
+	 */
+	private static final ConcurrentMap<Object, PrintStream> outputs = new ConcurrentHashMap<>();
+
 	/**
 	 * Default constructor
 	 */
@@ -42,7 +56,30 @@ public class ConsoleProgressManager extends ProgressProvider {
 	 */
 	@Override
 	public IProgressMonitor createMonitor(Job job) {
+		for (Map.Entry<Object, PrintStream> output : outputs.entrySet()) {
+			if (job.belongsTo(output.getKey())) {
+				return new ConsoleProgressMonitor(output.getValue());
+			}
+		}
 		return new ConsoleProgressMonitor();
 	}
 
+	/**
+	 * Set the stream to write the progress of the transformation jobs with
+	 * the given process identifier to.
+	 * 
+	 * @param processId the process identifier of the transformation jobs
+	 * @param out the stream to write the progress to, <code>null</code> to
+	 *            write it to the console
+	 */
+	public static void setOutput(Object processId, PrintStream out) {
+		Object family = AbstractTransformationJob.createFamily(processId);
+		if (out == null) {
+			outputs.remove(family);
+		}
+		else {
+			outputs.put(family, out);
+		}
+	}
+
 }
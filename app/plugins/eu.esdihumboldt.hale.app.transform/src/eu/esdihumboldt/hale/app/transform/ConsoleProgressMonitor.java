@@ -15,6 +15,7 @@
 
 package eu.esdihumboldt.hale.app.transform;
 
+import java.io.PrintStream;
 import java.text.MessageFormat;
 import java.util.Date;
 
@@ -45,6 +46,24 @@ public class ConsoleProgressMonitor implements IProgressMonitor, ConsoleConstant
 	
 	private long lastTrigger = -1;
 
+	private final PrintStream out;
+
+	/**
+	 * Create a progress monitor writing to the console.
+	 */
+	public ConsoleProgressMonitor() {
+		this(System.out);
+	}
+
+	/**
+	 * Create a progress monitor writing to the given stream.
+	 * 
+	 * @param out the stream to write the status updates to
+	 */
+	public ConsoleProgressMonitor(PrintStream out) {
+		this.out = out;
+	}
+
 	@Override
 	public void beginTask(String name, int totalWork) {
 		this.mainTaskName = name;
@@ -58,17 +77,17 @@ public class ConsoleProgressMonitor implements IProgressMonitor, ConsoleConstant
 		
 		if (force || lastTrigger < 0 || now - lastTrigger > TRIGGER_CLOCK_MS) {
 			if (totalWork > 0 && totalWork != UNKNOWN) {
-				System.out.println(PROG_PREFIX + MessageFormat.format((currentTask == null) ? ("{0} - {1,number,percent}")
+				out.println(PROG_PREFIX + MessageFormat.format((currentTask == null) ? ("{0} - {1,number,percent}")
 						: ("{0} - {1,number,percent} - {2}"), mainTaskName, (float) worked
 						/ (float) totalWork, currentTask));
 			}
 			else {
 				if (currentTask != null) {
 //					System.out.println(PROG_PREFIX + mainTaskName + ": " + currentTask);
-					System.out.println(PROG_PREFIX + currentTask);
+					out.println(PROG_PREFIX + currentTask);
 				}
 				else {
-					System.out.println(PROG_PREFIX + mainTaskName);
+					out.println(PROG_PREFIX + mainTaskName);
 				}
 			}
 			
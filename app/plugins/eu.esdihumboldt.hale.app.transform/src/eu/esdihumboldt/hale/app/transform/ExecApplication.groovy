@@ -51,6 +51,11 @@ class ExecApplication extends AbstractApplication<ExecContext> {
 
 	private Configurable lastConfigurable
 
+	/**
+	 * The execution context currently being configured from arguments.
+	 */
+	private ExecContext currentContext
+
 	@CompileStatic(TypeCheckingMode.SKIP)
 	@Override
 	protected Object run(ExecContext executionContext, IApplicationContext appContext) {
@@ -67,7 +72,12 @@ class ExecApplication extends AbstractApplication<ExecContext> {
 		else if (validate(executionContext)) {
 			try {
 				applyProxySettings()
-				new ExecTransformation().run(executionContext)
+				if (executionContext.batch) {
+					new BatchTransformation().run(executionContext)
+				}
+				else {
+					new ExecTransformation().run(executionContext)
+				}
 			} catch (Exception | AssertionError e) {
 				error "Transformation execution failed: $e.message"
 				if (executionContext.logException) {
@@ -94,6 +104,19 @@ class ExecApplication extends AbstractApplication<ExecContext> {
 		}
 	}
 
+	/**
+	 * Create an execution context from the given arguments, without running
+	 * the transformation.
+	 * 
+	 * @param args the transformation arguments
+	 * @return the execution context configured based on the arguments
+	 */
+	ExecContext parseArguments(List<String> args) {
+		ExecContext ec = createExecutionContext()
+		processCommandLineArguments(args as String[], ec)
+		ec
+	}
+
 	protected boolean validate(ExecContext ec) {
 		// project is required
 		if (!ec.project) {
@@ -113,6 +136,19 @@ class ExecApplication extends AbstractApplication<ExecContext> {
 			return false
 		}
 
+		if (ec.batch) {
+			File targetDir
+			try {
+				targetDir = new File(ec.target)
+			} catch (e) {
+				// not a file
+			}
+			if (targetDir == null || (targetDir.exists() && !targetDir.isDirectory())) {
+				error('In batch mode the target must be a directory')
+				return false
+			}
+		}
+
 		true
 	}
 
@@ -153,6 +189,9 @@ $baseCommand
      -overallFilterContext
      -statisticsOut <statistics-file>
      -successEvaluation <file-or-URI-to-script>
+     -batch
+     -batchParallelism <number-of-concurrent-transformations>
+     -batchExtension <target-file-extension>
 
   Sources
     You can provide multiple sources for the transformation. If the source is a
@@ -164,6 +203,19 @@ $baseCommand
     quoted to not be interpreted by the shell, see
     http://docs.oracle.com/javase/8/docs/api/java/nio/file/FileSystem.html#getPathMatcher-java.lang.String-
 
+  Batch mode
+    With -batch each source file is transformed separately, the project is
+    only loaded once. The target must be a directory, one file is written
+    there per source file, keeping the relative path for sources located in
+    a source directory. The file extension is determined by the target
+    writer, unless it is specified with -batchExtension. If source files
+    would be written to the same target file, a number is appended to the
+    name of the target file (e.g. a_2.gml).
+    Source files are transformed concurrently, -batchParallelism defaults to
+    the number of available processors. If -reportsOut is provided it is
+    used as directory to write a separate report file per target file.
+    Statistics and the success evaluation cover all transformations.
+
   Filtering sources
     The options -filter, -filterOn, -excludeType and -exclude serve to filter
     the source data, before the transformation is performed.
@@ -200,6 +252,7 @@ $baseCommand
 	protected void processCommandLineArguments(String[] args, ExecContext executionContext) throws Exception {
 		if (args == null)
 			return;
+		currentContext = executionContext
 		for (int i = 0; i < args.length; i++) {
 			// check for args without parameters (i.e., a flag arg)
 			processFlag(args[i], executionContext)
@@ -341,6 +394,14 @@ $baseCommand
 				executionContext.successEvaluationScript = fileOrUri(value)
 				break
 
+			case '-batchParallelism':
+				executionContext.batchParallelism = value as int
+				break
+
+			case '-batchExtension':
+				executionContext.batchExtension = value
+				break
+
 			case '-preset':
 			// the target preset
 				executionContext.preset = value
@@ -441,8 +502,7 @@ $baseCommand
 	 */
 	protected void storeSetting(String key, String value, boolean xml) {
 		if (lastConfigurable) {
-			// static Groovy can't deal with generics properly...
-			ExecContext ec = (ExecContext) this.executionContext
+			ExecContext ec = currentContext
 
 			Value val
 			if (xml) {
@@ -512,6 +572,9 @@ $baseCommand
 			case '-overallFilterContext':
 				executionContext.filters.globalContext = true
 				break
+			case '-batch':
+				executionContext.batch = true
+				break
 		}
 	}
 
@@ -115,5 +115,54 @@ class ExecContext {
 	/**
 	 * Filters apply on all sources commonly
 	 */
-	final InstanceFilterDefinition filters = new InstanceFilterDefinition()
+	InstanceFilterDefinition filters = new InstanceFilterDefinition()
+
+	/**
+	 * If each source file should be transformed separately, writing one
+	 * target file per source file to the target directory.
+	 */
+	boolean batch = false
+
+	/**
+	 * Number of source files to transform concurrently in batch mode.
+	 */
+	int batchParallelism = Runtime.runtime.availableProcessors()
+
+	/**
+	 * File extension for the target files in batch mode, optional.
+	 */
+	String batchExtension
+
+	/**
+	 * Create an execution context for transforming a single source in batch
+	 * mode.
+	 * 
+	 * @param sourceIndex the index of the source configuration to use
+	 * @param source the source file
+	 * @param target the target file
+	 * @param reports the file to write reports to, may be <code>null</code>
+	 * @return the execution context for the single source
+	 */
+	ExecContext forSingleSource(int sourceIndex, URI source, URI target, File reports) {
+		ExecContext result = new ExecContext()
+
+		result.project = project
+		result.sources = [source]
+		result.sourceProviderIds = [sourceProviderIds[sourceIndex]]
+		result.sourceIncludes = [[] as List<String>]
+		result.sourceExcludes = [[] as List<String>]
+		result.sourcesSettings = [sourcesSettings[sourceIndex]]
+		result.target = target
+		result.preset = preset
+		result.targetProviderId = targetProviderId
+		result.targetSettings = targetSettings
+		result.validateProviderIds = validateProviderIds
+		result.validateSettings = validateSettings
+		result.reportsOut = reports
+		result.logException = logException
+		result.restrictGroovy = restrictGroovy
+		result.filters = filters
+
+		result
+	}
 }
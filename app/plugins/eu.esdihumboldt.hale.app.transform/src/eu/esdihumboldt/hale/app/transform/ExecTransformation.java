@@ -60,6 +60,7 @@ import eu.esdihumboldt.hale.common.core.io.supplier.FileIOSupplier;
 import eu.esdihumboldt.hale.common.core.io.supplier.Locatable;
 import eu.esdihumboldt.hale.common.core.io.supplier.LocatableInputSupplier;
 import eu.esdihumboldt.hale.common.core.io.supplier.LocatableOutputSupplier;
+import eu.esdihumboldt.hale.common.core.report.ReportHandler;
 import eu.esdihumboldt.hale.common.headless.impl.ProjectTransformationEnvironment;
 import eu.esdihumboldt.hale.common.headless.transform.DefaultTransformationSettings;
 import eu.esdihumboldt.hale.common.headless.transform.Transformation;
@@ -192,6 +193,8 @@ public class ExecTransformation implements ConsoleConstants {
 
 	private final Collection<InstanceValidator> validators = new ArrayList<>();
 
+	private boolean waitForJobs = true;
+
 	@SuppressWarnings("javadoc")
 	public int run(ExecContext context) throws Exception {
 		this.context = context;
@@ -202,8 +205,43 @@ public class ExecTransformation implements ConsoleConstants {
 		this.reportHandler = new TransformationReports(context.getReportsOut());
 
 		// set up transformation environment
-		loadProject();
+		env = loadProject(context, reportHandler, id);
+
+		return runTransformation();
+	}
+
+	/**
+	 * Run a transformation based on an already loaded transformation
+	 * environment, e.g. one kept available by the {@link TransformServer}.
+	 * 
+	 * @param context the execution context
+	 * @param environment the transformation environment for the project
+	 *            referenced in the execution context, should not be shared
+	 *            with other transformations running concurrently
+	 * @param reports the report handler for the transformation
+	 * @return the exit code
+	 * @throws Exception if the transformation fails
+	 */
+	public int run(ExecContext context, ProjectTransformationEnvironment environment,
+			TransformationReports reports) throws Exception {
+		this.context = context;
+		this.reportHandler = reports;
+		this.env = environment;
+
+		return runTransformation();
+	}
 
+	/**
+	 * Set if after the transformation there should be a short wait to allow
+	 * job threads to complete and publish their reports. Enabled by default.
+	 * 
+	 * @param waitForJobs if to wait for job threads after the transformation
+	 */
+	public void setWaitForJobs(boolean waitForJobs) {
+		this.waitForJobs = waitForJobs;
+	}
+
+	private int runTransformation() throws Exception {
 		// set up reader for source
 		Iterator<URI> sourceIt = context.getSources().iterator();
 		int index = 0;
@@ -219,7 +257,7 @@ public class ExecTransformation implements ConsoleConstants {
 
 			if (path != null && java.nio.file.Files.isDirectory(path)) {
 				// directory handling
-				List<Path> files = getIncludedFiles(path, index);
+				List<Path> files = getIncludedFiles(context, path, index);
 				info(MessageFormat.format("{0} files identified for source {1}", files.size(),
 						path));
 				for (Path file : files) {
@@ -254,11 +292,12 @@ public class ExecTransformation implements ConsoleConstants {
 	/**
 	 * Get the files to load from a directory.
 	 * 
+	 * @param context the execution context
 	 * @param parentDir the directory
 	 * @param index the source index
 	 * @return the list of file
 	 */
-	private List<Path> getIncludedFiles(Path parentDir, int index) {
+	static List<Path> getIncludedFiles(ExecContext context, Path parentDir, int index) {
 		List<String> includes = context.getSourceIncludes().get(index);
 		if (includes.isEmpty()) {
 			// default include - all files
@@ -276,7 +315,18 @@ public class ExecTransformation implements ConsoleConstants {
 		return visitor.getCollectedFiles();
 	}
 
-	private void loadProject() throws IOException {
+	/**
+	 * Load the transformation environment for the project referenced in the
+	 * given execution context.
+	 * 
+	 * @param context the execution context
+	 * @param reportHandler the report handler for the project loading reports
+	 * @param id the identifier for the environment
+	 * @return the loaded transformation environment
+	 * @throws IOException if loading the project fails
+	 */
+	static ProjectTransformationEnvironment loadProject(ExecContext context,
+			ReportHandler reportHandler, String id) throws IOException {
 		status("Loading hale project...");
 
 		Map<Class<?>, Object> services = new HashMap<>();
@@ -285,7 +335,7 @@ public class ExecTransformation implements ConsoleConstants {
 		gs.setRestrictionActive(context.isRestrictGroovy());
 		services.put(GroovyService.class, gs);
 
-		env = new ProjectTransformationEnvironment(id,
+		return new ProjectTransformationEnvironment(id,
 				new DefaultInputSupplier(context.getProject()), reportHandler, null, services);
 	}
 
@@ -332,6 +382,10 @@ public class ExecTransformation implements ConsoleConstants {
 		if (preset != null) {
 			conf = env.getExportPresets().get(preset);
 		}
+		if (conf != null) {
+			// don't change the preset stored in the environment
+			conf = conf.clone();
+		}
 		if (conf == null) {
 			if (customProvider == null) {
 				throw fail("Data export configration preset not found: " + preset
@@ -440,23 +494,26 @@ public class ExecTransformation implements ConsoleConstants {
 		TransformationSettings settings = new DefaultTransformationSettings();
 		// TODO make settings configurable?
 
-		// run transformation
-		ListenableFuture<Boolean> res = Transformation.transform(sources, target, env,
-				reportHandler, id, validators, context.getFilters(), settings);
+		// report the progress of the jobs where messages are written to
+		ConsoleProgressManager.setOutput(id, ExecUtil.getOutput());
+		boolean orgSuccess;
+		try {
+			// run transformation
+			ListenableFuture<Boolean> res = Transformation.transform(sources, target, env,
+					reportHandler, id, validators, context.getFilters(), settings);
 
-		boolean orgSuccess = res.get();
+			orgSuccess = res.get();
 
-		// Job threads might still be active, wait a moment to allow
-		// them to complete and file their report (otherwise error may get lost)
-		try {
-			Thread.sleep(3000);
-		} catch (Throwable e) {
-			// ignore
+			if (waitForJobs) {
+				waitForJobs();
+			}
+		} finally {
+			ConsoleProgressManager.setOutput(id, null);
 		}
 
 		boolean success;
 		try {
-			success = evaluateSuccess(orgSuccess);
+			success = evaluateSuccess(orgSuccess, context, reportHandler);
 		} catch (Throwable e) {
 			error("Success evaluation resulted in an error:\n" + e.getMessage());
 			if (context.isLogException()) {
@@ -483,7 +540,30 @@ public class ExecTransformation implements ConsoleConstants {
 		return 0;
 	}
 
-	private boolean evaluateSuccess(boolean success) {
+	/**
+	 * Job threads might still be active, wait a moment to allow them to
+	 * complete and file their report (otherwise error may get lost).
+	 */
+	static void waitForJobs() {
+		try {
+			Thread.sleep(3000);
+		} catch (Throwable e) {
+			// ignore
+		}
+	}
+
+	/**
+	 * Write the statistics file and evaluate the success evaluation script, if
+	 * configured in the execution context.
+	 * 
+	 * @param success the original success state
+	 * @param context the execution context
+	 * @param reportHandler the report handler holding the reports to
+	 *            determine the statistics from
+	 * @return the evaluated success state
+	 */
+	static boolean evaluateSuccess(boolean success, ExecContext context,
+			TransformationReports reportHandler) {
 		StatsCollector statistics = reportHandler.getStatistics();
 
 		if (context.getStatisticsFile() != null) {
@@ -508,8 +588,8 @@ public class ExecTransformation implements ConsoleConstants {
 		compilerConfiguration.setScriptBaseClass(DelegatingScript.class.getName());
 
 		// Configure the GroovyShell and pass the compiler configuration.
-		GroovyShell shell = new GroovyShell(getClass().getClassLoader(), new Binding(),
-				compilerConfiguration);
+		GroovyShell shell = new GroovyShell(ExecTransformation.class.getClassLoader(),
+				new Binding(), compilerConfiguration);
 		DelegatingScript script;
 		try (InputStream in = new DefaultInputSupplier(context.getSuccessEvaluationScript())
 				.getInput();
@@ -30,15 +30,49 @@ import groovy.transform.TypeCheckingMode;
  */
 @TypeChecked
 class ExecUtil implements ConsoleConstants {
+
+	/**
+	 * Stream messages of the current thread are written to, if not the
+	 * console.
+	 */
+	private static final ThreadLocal<PrintStream> OUTPUT = new ThreadLocal<PrintStream>()
+
+	/**
+	 * Set the stream messages of the current thread are written to, e.g. to
+	 * send them to the client of a {@link TransformServer}.
+	 * 
+	 * @param out the stream to write messages to, <code>null</code> to write
+	 *   them to the console
+	 */
+	static void setOutput(PrintStream out) {
+		if (out == null) {
+			OUTPUT.remove()
+		}
+		else {
+			OUTPUT.set(out)
+		}
+	}
+
+	/**
+	 * @return the stream messages of the current thread are written to
+	 */
+	static PrintStream getOutput() {
+		PrintStream out = OUTPUT.get()
+		out != null ? out : System.out
+	}
 	
 	static void printSummary(Report report) {
+		printSummary(report, getOutput())
+	}
+	
+	static void printSummary(Report report, PrintStream out) {
 		// print report summary
-		println "${MSG_PREFIX}Action summary: ${report.taskName}"
-		println "${report.errors.empty ? MSG_PREFIX : WARN_PREFIX}   ${report.errors.size()} errors"
-		println "${report.warnings.empty ? MSG_PREFIX : WARN_PREFIX}   ${report.warnings.size()} warnings"
+		out.println "${MSG_PREFIX}Action summary: ${report.taskName}"
+		out.println "${report.errors.empty ? MSG_PREFIX : WARN_PREFIX}   ${report.errors.size()} errors"
+		out.println "${report.warnings.empty ? MSG_PREFIX : WARN_PREFIX}   ${report.warnings.size()} warnings"
 
 		// state success
-		print(report.isSuccess() ?
+		out.print(report.isSuccess() ?
 			"${MSG_PREFIX}   Completed" : 
 			"${ERROR_PREFIX}   Failed")
 		
@@ -47,27 +81,28 @@ class ExecUtil implements ConsoleConstants {
 			def duration = PeriodFormat.wordBased().print(
 				new Period(report.startTime.time, report.timestamp.time))
 			
-			print(report.isSuccess() ? ' in ' : ' after ') 
-			print duration
+			out.print(report.isSuccess() ? ' in ' : ' after ') 
+			out.print duration
 		}
 		// complete success line
-		println ''
+		out.println ''
+		out.flush()
 	}
 	
 	static void info(String msg) {
-		println "${MSG_PREFIX}$msg"
+		getOutput().println "${MSG_PREFIX}$msg"
 	}
 	
 	static void warn(String msg) {
-		println "${WARN_PREFIX}$msg"
+		getOutput().println "${WARN_PREFIX}$msg"
 	}
 	
 	static void error(String msg) {
-		println "${ERROR_PREFIX}$msg"
+		getOutput().println "${ERROR_PREFIX}$msg"
 	}
 	
 	static void status(String msg) {
-		println "${STATUS_PREFIX}$msg"
+		getOutput().println "${STATUS_PREFIX}$msg"
 	}
 	
 	static IllegalStateException fail(String msg) {
@@ -0,0 +1,345 @@
+/*
+ * Copyright (c) 2026 wetransform GmbH
+ *
+ * All rights reserved. This program and the accompanying materials are made
+ * available under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 3 of the License,
+ * or (at your option) any later version.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Contributors:
+ *     wetransform GmbH <http://www.wetransform.to>
+ */
+
+package eu.esdihumboldt.hale.app.transform;
+
+import static eu.esdihumboldt.hale.app.transform.ExecUtil.error;
+import static eu.esdihumboldt.hale.app.transform.ExecUtil.info;
+import static eu.esdihumboldt.hale.app.transform.ExecUtil.status;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.PrintStream;
+import java.io.UnsupportedEncodingException;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import eu.esdihumboldt.hale.common.core.report.Report;
+import eu.esdihumboldt.hale.common.core.report.ReportHandler;
+import eu.esdihumboldt.hale.common.headless.EnvironmentManager;
+import eu.esdihumboldt.hale.common.headless.TransformationEnvironment;
+import eu.esdihumboldt.hale.common.headless.impl.EnvironmentManagerImpl;
+import eu.esdihumboldt.hale.common.headless.impl.ProjectTransformationEnvironment;
+import eu.esdihumboldt.hale.common.headless.report.ReportFile;
+
+/**
+ * Server that keeps the transformation environments of hale projects loaded
+ * and executes transformation jobs submitted through a local socket.
+ * <p>
+ * Each connection submits a single job. The client sends the arguments of the
+ * transformation line by line (in the same format as an arguments file for
+ * the transform command), terminated by an empty line. Jobs with the
+ * <code>-batch</code> argument are executed as batch transformation. The
+ * server streams the messages, progress and report summaries of the job back
+ * to the client and completes the response with a line starting with
+ * {@value #EXIT_PREFIX}, followed by the exit code of the job.
+ */
+public class TransformServer implements Closeable {
+
+	/**
+	 * Prefix of the last line sent to a client, followed by the exit code.
+	 */
+	public static final String EXIT_PREFIX = "EXIT ";
+
+	/**
+	 * Exit code reported if the server is too busy to accept a job.
+	 */
+	public static final int EXIT_BUSY = 3;
+
+	/**
+	 * Timeout for reading the job arguments from a client, in milliseconds.
+	 */
+	private static final int READ_TIMEOUT = 30000;
+
+	private final EnvironmentManager environments = new EnvironmentManagerImpl();
+
+	/**
+	 * Project files the loaded environments are based on, mapped to the
+	 * modification time of the project file when it was loaded. Access order
+	 * is used to determine the least recently used environment.
+	 */
+	private final LinkedHashMap<String, Long> loaded = new LinkedHashMap<>(16, 0.75f, true);
+
+	/**
+	 * Locks to prevent loading the same project concurrently.
+	 */
+	private final ConcurrentMap<String, Object> loadLocks = new ConcurrentHashMap<>();
+
+	private final ThreadPoolExecutor workers;
+
+	private final int maxEnvironments;
+
+	private final ServerSocket serverSocket;
+
+	/**
+	 * Create a transformation server bound to the loopback interface.
+	 *
+	 * @param port the port to listen on, <code>0</code> to use any free port
+	 * @param workerCount the number of transformation jobs that may run
+	 *            concurrently
+	 * @param queueSize the number of jobs that may be waiting for execution
+	 *            before further jobs are rejected
+	 * @param maxEnvironments the maximum number of project environments to
+	 *            keep loaded
+	 * @throws IOException if the server socket cannot be created
+	 */
+	public TransformServer(int port, int workerCount, int queueSize, int maxEnvironments)
+			throws IOException {
+		this.maxEnvironments = Math.max(1, maxEnvironments);
+		this.workers = new ThreadPoolExecutor(workerCount, workerCount, 0L, TimeUnit.MILLISECONDS,
+				new ArrayBlockingQueue<Runnable>(Math.max(1, queueSize)));
+		this.serverSocket = new ServerSocket(port, 50, InetAddress.getLoopbackAddress());
+	}
+
+	/**
+	 * @return the port the server is listening on
+	 */
+	public int getPort() {
+		return serverSocket.getLocalPort();
+	}
+
+	/**
+	 * Accept and execute jobs until the server is closed.
+	 */
+	public void serve() {
+		// progress of jobs is reported to the respective client
+		new ConsoleProgressManager();
+
+		info("Transformation server listening on port " + getPort());
+
+		while (!serverSocket.isClosed()) {
+			final Socket socket;
+			try {
+				socket = serverSocket.accept();
+			} catch (SocketException e) {
+				// server socket was closed
+				break;
+			} catch (IOException e) {
+				error("Error accepting connection: " + e.getMessage());
+				continue;
+			}
+
+			try {
+				workers.execute(() -> handle(socket));
+			} catch (RejectedExecutionException e) {
+				reject(socket);
+			}
+		}
+	}
+
+	/**
+	 * Reply to a client that the job was not accepted.
+	 *
+	 * @param socket the client socket
+	 */
+	private void reject(Socket socket) {
+		try (Socket s = socket; PrintStream out = createPrintStream(s)) {
+			out.println(ConsoleConstants.ERROR_PREFIX
+					+ "Server is busy, the maximum number of queued jobs has been reached");
+			out.println(EXIT_PREFIX + EXIT_BUSY);
+		} catch (IOException e) {
+			// ignore
+		}
+	}
+
+	/**
+	 * Handle a client connection.
+	 *
+	 * @param socket the client socket
+	 */
+	private void handle(Socket socket) {
+		try (Socket s = socket; PrintStream out = createPrintStream(s)) {
+			s.setSoTimeout(READ_TIMEOUT);
+			BufferedReader reader = new BufferedReader(
+					new InputStreamReader(s.getInputStream(), StandardCharsets.UTF_8));
+
+			List<String> args = new ArrayList<>();
+			String line;
+			while ((line = reader.readLine()) != null && !line.isEmpty()) {
+				args.add(line);
+			}
+
+			// send messages and progress of the job to the client
+			ExecUtil.setOutput(out);
+			int code;
+			try {
+				code = execute(args, out);
+			} catch (Exception | AssertionError e) {
+				out.println(ConsoleConstants.ERROR_PREFIX + "Transformation execution failed: "
+						+ e.getMessage());
+				code = 1;
+			} finally {
+				ExecUtil.setOutput(null);
+			}
+			out.println(EXIT_PREFIX + code);
+		} catch (IOException e) {
+			error("Error communicating with client: " + e.getMessage());
+		}
+	}
+
+	/**
+	 * Execute a transformation job.
+	 *
+	 * @param args the transformation arguments
+	 * @param out the stream to report to the client
+	 * @return the exit code
+	 * @throws Exception if the transformation fails
+	 */
+	private int execute(List<String> args, final PrintStream out) throws Exception {
+		ExecApplication app = new ExecApplication();
+		ExecContext context = app.parseArguments(args);
+		if (!app.validate(context)) {
+			out.println(ConsoleConstants.ERROR_PREFIX + "Invalid transformation arguments");
+			return 1;
+		}
+
+		// in batch mode the reports are written to a file per source file
+		final ReportHandler reportFile = (context.getReportsOut() != null
+				&& !context.isBatch()) ? new ReportFile(context.getReportsOut()) : null;
+		TransformationReports reports = new TransformationReports(new ReportHandler() {
+
+			@Override
+			public void publishReport(Report<?> report) {
+				ExecUtil.printSummary(report, out);
+				if (reportFile != null) {
+					reportFile.publishReport(report);
+				}
+			}
+		});
+
+		// the server keeps running, so there is no need to wait for job threads
+		// to publish their reports
+		if (context.isBatch()) {
+			// the batch transformation uses a copy of the environment for
+			// each source file
+			BatchTransformation batch = new BatchTransformation();
+			batch.setWaitForJobs(false);
+			return batch.run(context, getEnvironment(context), reports);
+		}
+
+		// use a copy to keep state of the job separate from the shared
+		// environment
+		ProjectTransformationEnvironment env = getEnvironment(context).copy();
+
+		ExecTransformation transformation = new ExecTransformation();
+		transformation.setWaitForJobs(false);
+		return transformation.run(context, env, reports);
+	}
+
+	/**
+	 * Get the loaded environment for the project referenced in the given
+	 * context, load it if necessary.
+	 *
+	 * @param context the execution context
+	 * @return the transformation environment
+	 * @throws IOException if loading the project fails
+	 */
+	private ProjectTransformationEnvironment getEnvironment(ExecContext context)
+			throws IOException {
+		URI project = context.getProject();
+		// Groovy restrictions are configured when loading the project
+		String key = project.toString() + (context.isRestrictGroovy() ? "" : "#trusted");
+		long modified = getLastModified(project);
+
+		Object lock = loadLocks.computeIfAbsent(key, k -> new Object());
+		synchronized (lock) {
+			TransformationEnvironment env = environments.getEnvironment(key);
+			if (env != null) {
+				Long loadedModified;
+				synchronized (loaded) {
+					loadedModified = loaded.get(key);
+				}
+				if (loadedModified != null && loadedModified == modified) {
+					return (ProjectTransformationEnvironment) env;
+				}
+				info("Project was changed, reloading " + project);
+			}
+
+			ProjectTransformationEnvironment loadedEnv = ExecTransformation.loadProject(context,
+					new TransformationReports((File) null), key);
+			environments.addEnvironment(loadedEnv);
+			synchronized (loaded) {
+				loaded.put(key, modified);
+				evictEnvironments();
+			}
+			return loadedEnv;
+		}
+	}
+
+	/**
+	 * Remove the least recently used environments exceeding the maximum
+	 * number of loaded environments. The caller must synchronize on
+	 * {@link #loaded}.
+	 */
+	private void evictEnvironments() {
+		Iterator<Map.Entry<String, Long>> it = loaded.entrySet().iterator();
+		while (loaded.size() > maxEnvironments && it.hasNext()) {
+			String key = it.next().getKey();
+			it.remove();
+			environments.removeEnvironment(key);
+			status("Unloaded project environment " + key);
+		}
+	}
+
+	/**
+	 * Determine the modification time of a project.
+	 *
+	 * @param project the project location
+	 * @return the modification time or <code>0</code> if it cannot be
+	 *         determined
+	 */
+	private static long getLastModified(URI project) {
+		try {
+			return new File(project).lastModified();
+		} catch (IllegalArgumentException e) {
+			// not a file
+			return 0;
+		}
+	}
+
+	private static PrintStream createPrintStream(Socket socket) throws IOException {
+		try {
+			return new PrintStream(socket.getOutputStream(), true, StandardCharsets.UTF_8.name());
+		} catch (UnsupportedEncodingException e) {
+			// UTF-8 is always supported
+			throw new IllegalStateException(e);
+		}
+	}
+
+	@Override
+	public void close() throws IOException {
+		serverSocket.close();
+		workers.shutdown();
+	}
+
+}
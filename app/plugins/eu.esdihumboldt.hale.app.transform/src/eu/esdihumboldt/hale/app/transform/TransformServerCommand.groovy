@@ -0,0 +1,109 @@
+/*
+ * Copyright (c) 2026 wetransform GmbH
+ *
+ * All rights reserved. This program and the accompanying materials are made
+ * available under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 3 of the License,
+ * or (at your option) any later version.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Contributors:
+ *     wetransform GmbH <http://www.wetransform.to>
+ */
+
+package eu.esdihumboldt.hale.app.transform
+
+import static eu.esdihumboldt.hale.app.transform.ExecUtil.*
+
+import eu.esdihumboldt.util.cli.Command
+import eu.esdihumboldt.util.cli.CommandContext
+import groovy.transform.CompileStatic
+
+/**
+ * Command that starts a {@link TransformServer}, keeping project environments
+ * loaded for subsequent transformation jobs.
+ */
+@CompileStatic
+class TransformServerCommand implements Command {
+
+	public static final int DEFAULT_PORT = 4848
+
+	@Override
+	int run(List<String> args, CommandContext context) {
+		int port = DEFAULT_PORT
+		int workers = Math.max(1, Runtime.runtime.availableProcessors().intdiv(2) as int)
+		Integer queue = null
+		int maxEnvironments = 10
+
+		for (int i = 0; i < args.size(); i++) {
+			String arg = args[i]
+			if (arg == '-help' || arg == '--help') {
+				usage(context)
+				return 0
+			}
+			if (i == args.size() - 1) {
+				error("Missing value for parameter $arg")
+				usage(context)
+				return 1
+			}
+			String value = args[++i]
+			switch (arg) {
+				case '-port':
+					port = value as int
+					break
+				case '-workers':
+					workers = Math.max(1, value as int)
+					break
+				case '-queue':
+					queue = value as int
+					break
+				case '-maxProjects':
+					maxEnvironments = value as int
+					break
+				default:
+					error("Unknown parameter $arg")
+					usage(context)
+					return 1
+			}
+		}
+
+		// set system err to system out, same as for the transform command
+		System.setErr(System.out)
+
+		new TransformServer(port, workers, queue != null ? queue : workers * 4,
+				maxEnvironments).withCloseable { TransformServer server ->
+					server.serve()
+				}
+		0
+	}
+
+	private void usage(CommandContext context) {
+		println """
+Usage:
+${context.baseCommand}
+     [-port <port>]
+     [-workers <number-of-concurrent-jobs>]
+     [-queue <number-of-waiting-jobs>]
+     [-maxProjects <number-of-projects-kept-loaded>]
+
+  The server listens on the loopback interface (default port ${DEFAULT_PORT}).
+  Each connection submits one transformation job: the arguments of the
+  transform command, one per line (like in an arguments file), followed by
+  an empty line. Jobs may use -batch to transform each source file
+  separately. Messages, progress and report summaries are sent back while
+  the job is running, the last line sent is
+  "${TransformServer.EXIT_PREFIX}<exit-code>".
+  Projects stay loaded between jobs and are reloaded if the project file
+  changes.
+""".trim()
+	}
+
+	final String shortDescription = 'Run a server executing transformations with preloaded projects'
+
+	@Override
+	boolean isExperimental() {
+		true
+	}
+}
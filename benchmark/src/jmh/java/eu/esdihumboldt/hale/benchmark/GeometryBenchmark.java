@@ -0,0 +1,106 @@
+/*
+ * Copyright (c) 2026 wetransform GmbH
+ *
+ * All rights reserved. This program and the accompanying materials are made
+ * available under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 3 of the License,
+ * or (at your option) any later version.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Contributors:
+ *     wetransform GmbH <http://www.wetransform.to>
+ */
+
+package eu.esdihumboldt.hale.benchmark;
+
+import java.text.ParseException;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+import javax.xml.namespace.QName;
+
+import org.locationtech.jts.geom.Coordinate;
+import org.locationtech.jts.geom.Polygon;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import eu.esdihumboldt.hale.benchmark.fixture.BenchmarkFiles;
+import eu.esdihumboldt.hale.benchmark.fixture.BenchmarkInstances;
+import eu.esdihumboldt.hale.benchmark.fixture.BenchmarkPlatform;
+import eu.esdihumboldt.hale.benchmark.fixture.BenchmarkSchemas;
+import eu.esdihumboldt.hale.common.instance.model.impl.DefaultInstance;
+import eu.esdihumboldt.hale.common.schema.model.constraint.type.Binding;
+import eu.esdihumboldt.hale.common.schema.model.constraint.type.HasValueFlag;
+import eu.esdihumboldt.hale.common.schema.model.impl.DefaultTypeDefinition;
+import eu.esdihumboldt.hale.io.gml.geometry.GMLGeometryUtil;
+import eu.esdihumboldt.hale.io.gml.geometry.GeometryNotSupportedException;
+
+/**
+ * Benchmarks for parsing GML coordinate representations.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class GeometryBenchmark {
+
+	private DefaultInstance posList;
+
+	private DefaultInstance coordinates;
+
+	/**
+	 * Create the fixtures.
+	 */
+	@Setup
+	public void setup() {
+		BenchmarkPlatform.init();
+		Polygon polygon = new BenchmarkInstances(new BenchmarkSchemas()).createPolygon(42);
+
+		DefaultTypeDefinition stringType = new DefaultTypeDefinition(
+				new QName("http://www.opengis.net/gml", "string"));
+		stringType.setConstraint(HasValueFlag.ENABLED);
+		stringType.setConstraint(Binding.get(String.class));
+
+		posList = new DefaultInstance(stringType, null);
+		posList.setValue(BenchmarkFiles.toPosList(polygon));
+
+		StringBuilder tuples = new StringBuilder();
+		for (Coordinate coordinate : polygon.getExteriorRing().getCoordinates()) {
+			if (tuples.length() > 0) {
+				tuples.append(' ');
+			}
+			tuples.append(String.format(Locale.ROOT, "%.3f,%.3f", coordinate.x, coordinate.y));
+		}
+		coordinates = new DefaultInstance(stringType, null);
+		coordinates.setValue(tuples.toString());
+	}
+
+	/**
+	 * Parse a <code>gml:posList</code>.
+	 *
+	 * @return the parsed coordinates
+	 * @throws GeometryNotSupportedException if parsing fails
+	 */
+	@Benchmark
+	public Coordinate[] parsePosList() throws GeometryNotSupportedException {
+		return GMLGeometryUtil.parsePosList(posList, 2);
+	}
+
+	/**
+	 * Parse <code>gml:coordinates</code>.
+	 *
+	 * @return the parsed coordinates
+	 * @throws ParseException if parsing fails
+	 */
+	@Benchmark
+	public Coordinate[] parseCoordinates() throws ParseException {
+		return GMLGeometryUtil.parseCoordinates(coordinates);
+	}
+
+}
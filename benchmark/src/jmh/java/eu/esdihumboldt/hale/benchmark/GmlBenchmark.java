@@ -0,0 +1,166 @@
+/*
+ * Copyright (c) 2026 wetransform GmbH
+ *
+ * All rights reserved. This program and the accompanying materials are made
+ * available under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 3 of the License,
+ * or (at your option) any later version.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Contributors:
+ *     wetransform GmbH <http://www.wetransform.to>
+ */
+
+package eu.esdihumboldt.hale.benchmark;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import eu.esdihumboldt.hale.benchmark.fixture.BenchmarkFiles;
+import eu.esdihumboldt.hale.benchmark.fixture.BenchmarkInstances;
+import eu.esdihumboldt.hale.benchmark.fixture.BenchmarkPlatform;
+import eu.esdihumboldt.hale.benchmark.fixture.BenchmarkSchemas;
+import eu.esdihumboldt.hale.common.core.io.IOProviderConfigurationException;
+import eu.esdihumboldt.hale.common.core.io.report.IOReport;
+import eu.esdihumboldt.hale.common.core.io.supplier.DefaultInputSupplier;
+import eu.esdihumboldt.hale.common.core.io.supplier.FileIOSupplier;
+import eu.esdihumboldt.hale.common.instance.model.Instance;
+import eu.esdihumboldt.hale.common.instance.model.InstanceCollection;
+import eu.esdihumboldt.hale.common.instance.model.ResourceIterator;
+import eu.esdihumboldt.hale.common.instance.model.impl.DefaultInstanceCollection;
+import eu.esdihumboldt.hale.common.schema.model.Schema;
+import eu.esdihumboldt.hale.common.schema.model.impl.DefaultSchemaSpace;
+import eu.esdihumboldt.hale.io.gml.reader.internal.GmlInstanceReader;
+import eu.esdihumboldt.hale.io.gml.writer.GmlInstanceWriter;
+import eu.esdihumboldt.hale.io.xsd.reader.XmlSchemaReader;
+
+/**
+ * Benchmarks for reading and writing GML with polygon geometries.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class GmlBenchmark {
+
+	/**
+	 * The number of features in the GML file.
+	 */
+	@Param({ "1000", "10000" })
+	public int count;
+
+	private File dir;
+
+	private File gmlFile;
+
+	private File outFile;
+
+	private Schema schema;
+
+	private InstanceCollection instances;
+
+	/**
+	 * Create the fixtures.
+	 *
+	 * @throws Exception if creating the fixtures fails
+	 */
+	@Setup
+	public void setup() throws Exception {
+		BenchmarkPlatform.init();
+		dir = Files.createTempDirectory("hale-benchmark-gml").toFile();
+
+		File schemaFile = BenchmarkFiles.writeGmlSchema(dir);
+		XmlSchemaReader schemaReader = new XmlSchemaReader();
+		schemaReader.setSharedTypes(null);
+		schemaReader.setSource(new DefaultInputSupplier(schemaFile.toURI()));
+		checkReport(schemaReader.execute(null));
+		schema = schemaReader.getSchema();
+
+		gmlFile = new File(dir, "buildings.gml");
+		BenchmarkFiles.writeGml(gmlFile, new BenchmarkInstances(new BenchmarkSchemas()), count);
+		outFile = new File(dir, "out.gml");
+
+		// instances to write are held in memory
+		instances = new DefaultInstanceCollection(readInstances());
+	}
+
+	/**
+	 * Delete the generated files.
+	 *
+	 * @throws IOException if deleting the files fails
+	 */
+	@TearDown
+	public void tearDown() throws IOException {
+		BenchmarkFiles.delete(dir);
+	}
+
+	/**
+	 * Read all features from the GML file, including parsing the geometries.
+	 *
+	 * @return the number of features read
+	 * @throws Exception if reading fails
+	 */
+	@Benchmark
+	public int read() throws Exception {
+		int read = 0;
+		try (ResourceIterator<Instance> it = readInstances().iterator()) {
+			while (it.hasNext()) {
+				it.next();
+				read++;
+			}
+		}
+		return read;
+	}
+
+	/**
+	 * Write the features to a GML file, including encoding the geometries.
+	 *
+	 * @return the size of the written file
+	 * @throws Exception if writing fails
+	 */
+	@Benchmark
+	public long write() throws Exception {
+		GmlInstanceWriter writer = new GmlInstanceWriter();
+		writer.setInstances(instances);
+		DefaultSchemaSpace schemaSpace = new DefaultSchemaSpace();
+		schemaSpace.addSchema(schema);
+		writer.setTargetSchema(schemaSpace);
+		writer.setTarget(new FileIOSupplier(outFile));
+		checkReport(writer.execute(null));
+		return outFile.length();
+	}
+
+	private InstanceCollection readInstances()
+			throws IOProviderConfigurationException, IOException {
+		GmlInstanceReader reader = new GmlInstanceReader();
+		reader.setSource(new DefaultInputSupplier(gmlFile.toURI()));
+		reader.setSourceSchema(schema);
+		checkReport(reader.execute(null));
+		return reader.getInstances();
+	}
+
+	/**
+	 * Check if an I/O operation was successful.
+	 *
+	 * @param report the report of the I/O operation
+	 */
+	static void checkReport(IOReport report) {
+		if (!report.isSuccess()) {
+			throw new IllegalStateException("I/O operation failed: " + report.getSummary());
+		}
+	}
+
+}
@@ -0,0 +1,133 @@
+/*
+ * Copyright (c) 2026 wetransform GmbH
+ *
+ * All rights reserved. This program and the accompanying materials are made
+ * available under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 3 of the License,
+ * or (at your option) any later version.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Contributors:
+ *     wetransform GmbH <http://www.wetransform.to>
+ */
+
+package eu.esdihumboldt.hale.benchmark;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import javax.xml.namespace.QName;
+
+import org.locationtech.jts.geom.Envelope;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import de.fhg.igd.geom.BoundingBox;
+import de.fhg.igd.geom.Localizable;
+import eu.esdihumboldt.hale.benchmark.fixture.BenchmarkAlignments;
+import eu.esdihumboldt.hale.benchmark.fixture.BenchmarkAlignments.Kind;
+import eu.esdihumboldt.hale.benchmark.fixture.BenchmarkInstances;
+import eu.esdihumboldt.hale.benchmark.fixture.BenchmarkPlatform;
+import eu.esdihumboldt.hale.benchmark.fixture.BenchmarkSchemas;
+import eu.esdihumboldt.hale.benchmark.fixture.BenchmarkServices;
+import eu.esdihumboldt.hale.common.instance.index.LocalizableInstanceReference;
+import eu.esdihumboldt.hale.common.instance.index.spatial.RTreeSpatialIndexService;
+import eu.esdihumboldt.hale.common.instance.model.Instance;
+import eu.esdihumboldt.hale.common.instance.model.InstanceCollection;
+import eu.esdihumboldt.hale.common.instance.model.ResolvableInstanceReference;
+import eu.esdihumboldt.hale.common.instance.model.ResourceIterator;
+import eu.esdihumboldt.hale.common.schema.geometry.GeometryProperty;
+
+/**
+ * Benchmarks for looking up instances in the value index used for joins and
+ * in the spatial index.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class IndexBenchmark {
+
+	private static final QName GEOMETRY = new QName(BenchmarkSchemas.SOURCE_NS, "geometry");
+
+	/**
+	 * The number of buildings in the indexes.
+	 */
+	@Param({ "10000" })
+	public int count;
+
+	private BenchmarkServices services;
+
+	private List<QName> parcelIdPath;
+
+	private RTreeSpatialIndexService spatialIndex;
+
+	private int lookup;
+
+	/**
+	 * Create and fill the indexes.
+	 */
+	@Setup
+	public void setup() {
+		BenchmarkPlatform.init();
+		BenchmarkSchemas schemas = new BenchmarkSchemas();
+		InstanceCollection source = new BenchmarkInstances(schemas).createSource(count);
+
+		// the join alignment leads to indexing the join properties
+		services = new BenchmarkServices(new BenchmarkAlignments(schemas).create(Kind.JOIN));
+		services.index(source);
+		parcelIdPath = Collections.singletonList(
+				new QName(BenchmarkSchemas.SOURCE_NS, "parcelId"));
+
+		spatialIndex = new RTreeSpatialIndexService(16);
+		try (ResourceIterator<Instance> it = source.iterator()) {
+			while (it.hasNext()) {
+				Instance instance = it.next();
+				Object[] geometries = instance.getProperty(GEOMETRY);
+				if (geometries != null && geometries.length > 0) {
+					Envelope envelope = ((GeometryProperty<?>) geometries[0]).getGeometry()
+							.getEnvelopeInternal();
+					spatialIndex.insert(new LocalizableInstanceReference(
+							source.getReference(instance),
+							new BoundingBox(envelope.getMinX(), envelope.getMinY(), 0,
+									envelope.getMaxX(), envelope.getMaxY(), 0)));
+				}
+			}
+		}
+	}
+
+	/**
+	 * Look up the buildings on a parcel by value.
+	 *
+	 * @return the references of the matching buildings
+	 */
+	@Benchmark
+	public Collection<ResolvableInstanceReference> lookupByValue() {
+		String parcelId = "P" + (lookup++ % (count / BenchmarkInstances.BUILDINGS_PER_PARCEL));
+		return services.getIndexService().getInstancesByValue(BenchmarkSchemas.BUILDING,
+				parcelIdPath, Collections.singletonList(parcelId));
+	}
+
+	/**
+	 * Look up the buildings intersecting a bounding box.
+	 *
+	 * @return the buildings in the bounding box
+	 */
+	@Benchmark
+	public Collection<Localizable> lookupByExtent() {
+		int index = lookup++ % count;
+		double x = 400000 + (index % 1000) * 50;
+		double y = 5500000 + (index / 1000) * 50;
+		return spatialIndex.retrieve(new BoundingBox(x - 60, y - 60, 0, x + 60, y + 60, 0));
+	}
+
+}
@@ -0,0 +1,140 @@
+/*
+ * Copyright (c) 2026 wetransform GmbH
+ *
+ * All rights reserved. This program and the accompanying materials are made
+ * available under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 3 of the License,
+ * or (at your option) any later version.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Contributors:
+ *     wetransform GmbH <http://www.wetransform.to>
+ */
+
+package eu.esdihumboldt.hale.benchmark;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import javax.xml.namespace.QName;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import eu.esdihumboldt.hale.benchmark.fixture.BenchmarkInstances;
+import eu.esdihumboldt.hale.benchmark.fixture.BenchmarkPlatform;
+import eu.esdihumboldt.hale.benchmark.fixture.BenchmarkSchemas;
+import eu.esdihumboldt.hale.common.instance.helper.PropertyResolver;
+import eu.esdihumboldt.hale.common.instance.model.Instance;
+import eu.esdihumboldt.hale.common.instance.model.impl.CompactInstanceFactory;
+import eu.esdihumboldt.hale.common.instance.model.impl.DefaultInstanceFactory;
+
+/**
+ * Benchmarks for creating instances and accessing property values, comparing
+ * default and compact instances. Run with the GC profiler to compare the
+ * memory allocated per instance, see README.md.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class InstanceBenchmark {
+
+	/**
+	 * Number of buildings created and held by {@link #createInstances()}.
+	 */
+	private static final int INSTANCE_COUNT = 1000;
+
+	/**
+	 * If compact instances should be used instead of default instances.
+	 */
+	@Param({ "false", "true" })
+	public boolean compact;
+
+	private BenchmarkInstances instances;
+
+	private Instance building;
+
+	private QName height;
+
+	private int index;
+
+	/**
+	 * Create the fixtures.
+	 */
+	@Setup
+	public void setup() {
+		BenchmarkPlatform.init();
+		BenchmarkSchemas schemas = new BenchmarkSchemas();
+		instances = new BenchmarkInstances(schemas,
+				compact ? new CompactInstanceFactory() : new DefaultInstanceFactory());
+		building = instances.createBuilding(42);
+		height = new QName(schemas.getBuilding().getName().getNamespaceURI(), "height");
+	}
+
+	/**
+	 * Create a building instance with nested address and geometry.
+	 *
+	 * @return the created instance
+	 */
+	@Benchmark
+	public Instance createInstance() {
+		return instances.createBuilding(index++ & 0xFFFF);
+	}
+
+	/**
+	 * Create building instances and hold them in a list, with the GC profiler
+	 * the normalized allocation rate approximates the heap used per
+	 * {@value #INSTANCE_COUNT} buildings.
+	 *
+	 * @return the created instances
+	 */
+	@Benchmark
+	public List<Instance> createInstances() {
+		List<Instance> result = new ArrayList<>(INSTANCE_COUNT);
+		for (int i = 0; i < INSTANCE_COUNT; i++) {
+			result.add(instances.createBuilding(i));
+		}
+		return result;
+	}
+
+	/**
+	 * Get the values of a top level property by its name.
+	 *
+	 * @return the property values
+	 */
+	@Benchmark
+	public Object[] getProperty() {
+		return building.getProperty(height);
+	}
+
+	/**
+	 * Resolve a top level property by its local name.
+	 *
+	 * @return the property values
+	 */
+	@Benchmark
+	public Collection<Object> resolveProperty() {
+		return PropertyResolver.getValues(building, "height");
+	}
+
+	/**
+	 * Resolve a nested property by its local names.
+	 *
+	 * @return the property values
+	 */
+	@Benchmark
+	public Collection<Object> resolveNestedProperty() {
+		return PropertyResolver.getValues(building, "address.city");
+	}
+
+}
@@ -0,0 +1,223 @@
+/*
+ * Copyright (c) 2026 wetransform GmbH
+ *
+ * All rights reserved. This program and the accompanying materials are made
+ * available under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 3 of the License,
+ * or (at your option) any later version.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Contributors:
+ *     wetransform GmbH <http://www.wetransform.to>
+ */
+
+package eu.esdihumboldt.hale.benchmark;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import javax.xml.namespace.QName;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import com.orientechnologies.orient.core.db.document.ODatabaseDocumentTx;
+import com.orientechnologies.orient.core.record.impl.ODocument;
+
+import eu.esdihumboldt.hale.benchmark.fixture.BenchmarkFiles;
+import eu.esdihumboldt.hale.benchmark.fixture.BenchmarkInstances;
+import eu.esdihumboldt.hale.benchmark.fixture.BenchmarkPlatform;
+import eu.esdihumboldt.hale.benchmark.fixture.BenchmarkSchemas;
+import eu.esdihumboldt.hale.common.core.report.SimpleLog;
+import eu.esdihumboldt.hale.common.instance.model.DataSet;
+import eu.esdihumboldt.hale.common.instance.model.Instance;
+import eu.esdihumboldt.hale.common.instance.model.ResourceIterator;
+import eu.esdihumboldt.hale.common.instance.orient.OInstance;
+import eu.esdihumboldt.hale.common.instance.orient.internal.OSerializationHelper;
+import eu.esdihumboldt.hale.common.instance.orient.storage.BrowseOrientInstanceCollection;
+import eu.esdihumboldt.hale.common.instance.orient.storage.DatabaseReference;
+import eu.esdihumboldt.hale.common.instance.orient.storage.LocalOrientDB;
+import eu.esdihumboldt.hale.common.instance.orient.storage.OrientInstanceSink;
+
+/**
+ * Benchmarks for storing instances in and reading them from a local OrientDB
+ * database.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class OrientBenchmark {
+
+	/**
+	 * State with an open database for serializing values.
+	 */
+	@State(Scope.Thread)
+	public static class SerializationState {
+
+		private File dir;
+
+		private LocalOrientDB database;
+
+		private DatabaseReference<ODatabaseDocumentTx> reference;
+
+		private Instance building;
+
+		private Object geometry;
+
+		/**
+		 * Create the fixtures and open the database.
+		 *
+		 * @throws IOException if creating the database directory fails
+		 */
+		@Setup
+		public void setup() throws IOException {
+			BenchmarkPlatform.init();
+			dir = Files.createTempDirectory("hale-benchmark-orient").toFile();
+			database = new LocalOrientDB(new File(dir, "db"));
+			reference = database.openWrite();
+
+			building = new BenchmarkInstances(new BenchmarkSchemas()).createBuilding(42);
+			geometry = building.getProperty(
+					new QName(BenchmarkSchemas.SOURCE_NS, "geometry"))[0];
+		}
+
+		/**
+		 * Close and delete the database.
+		 *
+		 * @throws IOException if deleting the database fails
+		 */
+		@TearDown
+		public void tearDown() throws IOException {
+			reference.dispose();
+			database.delete();
+			BenchmarkFiles.delete(dir);
+		}
+
+	}
+
+	/**
+	 * The number of instances to store or read.
+	 */
+	@Param({ "1000" })
+	public int count;
+
+	private File dir;
+
+	private BenchmarkSchemas schemas;
+
+	private List<Instance> buildings;
+
+	private LocalOrientDB writeDatabase;
+
+	private LocalOrientDB readDatabase;
+
+	/**
+	 * Create the fixtures.
+	 *
+	 * @throws IOException if creating the databases fails
+	 */
+	@Setup
+	public void setup() throws IOException {
+		BenchmarkPlatform.init();
+		dir = Files.createTempDirectory("hale-benchmark-orient").toFile();
+		schemas = new BenchmarkSchemas();
+
+		BenchmarkInstances instances = new BenchmarkInstances(schemas);
+		buildings = new ArrayList<>(count);
+		for (int i = 0; i < count; i++) {
+			buildings.add(instances.createBuilding(i));
+		}
+
+		writeDatabase = new LocalOrientDB(new File(dir, "write"));
+		readDatabase = new LocalOrientDB(new File(dir, "read"));
+		store(readDatabase);
+	}
+
+	/**
+	 * Delete the databases.
+	 *
+	 * @throws IOException if deleting the databases fails
+	 */
+	@TearDown
+	public void tearDown() throws IOException {
+		writeDatabase.delete();
+		readDatabase.delete();
+		BenchmarkFiles.delete(dir);
+	}
+
+	/**
+	 * Store the building instances in a cleared database.
+	 *
+	 * @return the number of stored instances
+	 * @throws IOException if storing the instances fails
+	 */
+	@Benchmark
+	public int persist() throws IOException {
+		writeDatabase.clear();
+		return store(writeDatabase);
+	}
+
+	/**
+	 * Read all building instances from the database.
+	 *
+	 * @return the number of instances read
+	 */
+	@Benchmark
+	public int browse() {
+		BrowseOrientInstanceCollection collection = new BrowseOrientInstanceCollection(
+				readDatabase, schemas.getSource(), DataSet.SOURCE);
+		int read = 0;
+		try (ResourceIterator<Instance> it = collection.iterator()) {
+			while (it.hasNext()) {
+				it.next();
+				read++;
+			}
+		}
+		return read;
+	}
+
+	/**
+	 * Serialize a geometry property for storing it in the database.
+	 *
+	 * @param state the serialization state
+	 * @return the document wrapping the geometry
+	 */
+	@Benchmark
+	public ODocument serializeGeometry(SerializationState state) {
+		return OSerializationHelper.serialize(state.geometry, SimpleLog.NO_LOG);
+	}
+
+	/**
+	 * Convert a building instance to a database instance.
+	 *
+	 * @param state the serialization state
+	 * @return the database instance
+	 */
+	@Benchmark
+	public OInstance convertInstance(SerializationState state) {
+		return new OInstance(state.building);
+	}
+
+	private int store(LocalOrientDB database) throws IOException {
+		try (OrientInstanceSink sink = new OrientInstanceSink(database, false)) {
+			for (Instance building : buildings) {
+				sink.addInstance(building);
+			}
+		}
+		return buildings.size();
+	}
+
+}
@@ -0,0 +1,122 @@
+/*
+ * Copyright (c) 2026 wetransform GmbH
+ *
+ * All rights reserved. This program and the accompanying materials are made
+ * available under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 3 of the License,
+ * or (at your option) any later version.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Contributors:
+ *     wetransform GmbH <http://www.wetransform.to>
+ */
+
+package eu.esdihumboldt.hale.benchmark;
+
+import static eu.esdihumboldt.hale.benchmark.GmlBenchmark.checkReport;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import eu.esdihumboldt.hale.benchmark.fixture.BenchmarkFiles;
+import eu.esdihumboldt.hale.benchmark.fixture.BenchmarkInstances;
+import eu.esdihumboldt.hale.benchmark.fixture.BenchmarkPlatform;
+import eu.esdihumboldt.hale.benchmark.fixture.BenchmarkSchemas;
+import eu.esdihumboldt.hale.common.core.io.Value;
+import eu.esdihumboldt.hale.common.core.io.supplier.DefaultInputSupplier;
+import eu.esdihumboldt.hale.common.instance.model.Instance;
+import eu.esdihumboldt.hale.common.instance.model.ResourceIterator;
+import eu.esdihumboldt.hale.common.schema.model.Schema;
+import eu.esdihumboldt.hale.io.shp.ShapefileConstants;
+import eu.esdihumboldt.hale.io.shp.reader.internal.ShapeInstanceReader;
+import eu.esdihumboldt.hale.io.shp.reader.internal.ShapeSchemaReader;
+
+/**
+ * Benchmarks for reading Shapefiles with polygon geometries.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class ShapefileBenchmark {
+
+	/**
+	 * The number of features in the Shapefile.
+	 */
+	@Param({ "1000", "10000" })
+	public int count;
+
+	private File dir;
+
+	private File shapefile;
+
+	private Schema schema;
+
+	/**
+	 * Create the fixtures.
+	 *
+	 * @throws Exception if creating the fixtures fails
+	 */
+	@Setup
+	public void setup() throws Exception {
+		BenchmarkPlatform.init();
+		dir = Files.createTempDirectory("hale-benchmark-shp").toFile();
+		shapefile = new File(dir, BenchmarkFiles.SHAPE_TYPE + ".shp");
+		BenchmarkFiles.writeShapefile(shapefile, new BenchmarkInstances(new BenchmarkSchemas()),
+				count);
+
+		ShapeSchemaReader schemaReader = new ShapeSchemaReader();
+		schemaReader.setSource(new DefaultInputSupplier(shapefile.toURI()));
+		checkReport(schemaReader.execute(null));
+		schema = schemaReader.getSchema();
+	}
+
+	/**
+	 * Delete the generated files.
+	 *
+	 * @throws IOException if deleting the files fails
+	 */
+	@TearDown
+	public void tearDown() throws IOException {
+		BenchmarkFiles.delete(dir);
+	}
+
+	/**
+	 * Read all features from the Shapefile.
+	 *
+	 * @return the number of features read
+	 * @throws Exception if reading fails
+	 */
+	@Benchmark
+	public int read() throws Exception {
+		ShapeInstanceReader reader = new ShapeInstanceReader();
+		reader.setSource(new DefaultInputSupplier(shapefile.toURI()));
+		reader.setSourceSchema(schema);
+		reader.setParameter(ShapefileConstants.PARAM_TYPENAME,
+				Value.of(schema.getMappingRelevantTypes().iterator().next().getName().toString()));
+		checkReport(reader.execute(null));
+
+		int read = 0;
+		try (ResourceIterator<Instance> it = reader.getInstances().iterator()) {
+			while (it.hasNext()) {
+				it.next();
+				read++;
+			}
+		}
+		return read;
+	}
+
+}
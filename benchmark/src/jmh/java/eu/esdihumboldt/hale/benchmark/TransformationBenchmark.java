@@ -0,0 +1,104 @@
+/*
+ * Copyright (c) 2026 wetransform GmbH
+ *
+ * All rights reserved. This program and the accompanying materials are made
+ * available under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 3 of the License,
+ * or (at your option) any later version.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Contributors:
+ *     wetransform GmbH <http://www.wetransform.to>
+ */
+
+package eu.esdihumboldt.hale.benchmark;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import eu.esdihumboldt.cst.ConceptualSchemaTransformer;
+import eu.esdihumboldt.hale.benchmark.fixture.BenchmarkAlignments;
+import eu.esdihumboldt.hale.benchmark.fixture.BenchmarkAlignments.Kind;
+import eu.esdihumboldt.hale.benchmark.fixture.BenchmarkInstances;
+import eu.esdihumboldt.hale.benchmark.fixture.BenchmarkPlatform;
+import eu.esdihumboldt.hale.benchmark.fixture.BenchmarkSchemas;
+import eu.esdihumboldt.hale.benchmark.fixture.BenchmarkServices;
+import eu.esdihumboldt.hale.common.align.model.Alignment;
+import eu.esdihumboldt.hale.common.align.transformation.service.impl.DefaultInstanceSink;
+import eu.esdihumboldt.hale.common.align.transformation.service.impl.ThreadSafeInstanceSink;
+import eu.esdihumboldt.hale.common.core.io.impl.NullProgressIndicator;
+import eu.esdihumboldt.hale.common.instance.model.Instance;
+import eu.esdihumboldt.hale.common.instance.model.InstanceCollection;
+
+/**
+ * Benchmarks transforming generated source instances with the different
+ * kinds of generated alignments.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class TransformationBenchmark {
+
+	/**
+	 * The kind of alignment to transform with.
+	 */
+	@Param({ "RENAME", "GROOVY", "JOIN", "MERGE" })
+	public Kind kind;
+
+	/**
+	 * The number of buildings to transform.
+	 */
+	@Param({ "1000", "10000" })
+	public int count;
+
+	private Alignment alignment;
+
+	private InstanceCollection source;
+
+	private BenchmarkServices services;
+
+	/**
+	 * Create the fixtures.
+	 */
+	@Setup
+	public void setup() {
+		BenchmarkPlatform.init();
+		BenchmarkSchemas schemas = new BenchmarkSchemas();
+		alignment = new BenchmarkAlignments(schemas).create(kind);
+		source = new BenchmarkInstances(schemas).createSource(count);
+		services = new BenchmarkServices(alignment);
+		services.index(source);
+	}
+
+	/**
+	 * Transform the source instances.
+	 *
+	 * @return the transformed instances
+	 */
+	@Benchmark
+	public List<Instance> transform() {
+		ConceptualSchemaTransformer transformer = new ConceptualSchemaTransformer();
+		ThreadSafeInstanceSink<DefaultInstanceSink> sink = new ThreadSafeInstanceSink<>(
+				new DefaultInstanceSink());
+
+		transformer.transform(alignment, source, sink, services, new NullProgressIndicator());
+
+		List<Instance> result = sink.getDecoratee().getInstances();
+		if (result.isEmpty()) {
+			throw new IllegalStateException("Transformation did not yield any instances");
+		}
+		return result;
+	}
+
+}
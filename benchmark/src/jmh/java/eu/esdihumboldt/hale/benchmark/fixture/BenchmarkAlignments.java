@@ -0,0 +1,243 @@
+/*
+ * Copyright (c) 2026 wetransform GmbH
+ *
+ * All rights reserved. This program and the accompanying materials are made
+ * available under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 3 of the License,
+ * or (at your option) any later version.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Contributors:
+ *     wetransform GmbH <http://www.wetransform.to>
+ */
+
+package eu.esdihumboldt.hale.benchmark.fixture;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import javax.xml.namespace.QName;
+
+import com.google.common.collect.ArrayListMultimap;
+import com.google.common.collect.ListMultimap;
+
+import eu.esdihumboldt.hale.common.align.model.Alignment;
+import eu.esdihumboldt.hale.common.align.model.ChildContext;
+import eu.esdihumboldt.hale.common.align.model.Entity;
+import eu.esdihumboldt.hale.common.align.model.ParameterValue;
+import eu.esdihumboldt.hale.common.align.model.functions.JoinFunction;
+import eu.esdihumboldt.hale.common.align.model.functions.MergeFunction;
+import eu.esdihumboldt.hale.common.align.model.functions.RenameFunction;
+import eu.esdihumboldt.hale.common.align.model.functions.RetypeFunction;
+import eu.esdihumboldt.hale.common.align.model.functions.join.JoinParameter;
+import eu.esdihumboldt.hale.common.align.model.functions.join.JoinParameter.JoinCondition;
+import eu.esdihumboldt.hale.common.align.model.impl.DefaultAlignment;
+import eu.esdihumboldt.hale.common.align.model.impl.DefaultCell;
+import eu.esdihumboldt.hale.common.align.model.impl.DefaultProperty;
+import eu.esdihumboldt.hale.common.align.model.impl.DefaultType;
+import eu.esdihumboldt.hale.common.align.model.impl.PropertyEntityDefinition;
+import eu.esdihumboldt.hale.common.align.model.impl.TypeEntityDefinition;
+import eu.esdihumboldt.hale.common.core.io.Value;
+import eu.esdihumboldt.hale.common.schema.SchemaSpaceID;
+import eu.esdihumboldt.hale.common.schema.model.ChildDefinition;
+import eu.esdihumboldt.hale.common.schema.model.TypeDefinition;
+
+/**
+ * Generated alignments between the {@link BenchmarkSchemas}.
+ */
+public class BenchmarkAlignments {
+
+	/**
+	 * The kinds of alignments that can be created.
+	 */
+	public enum Kind {
+		/**
+		 * Retype with Rename cells for all properties, including a nested
+		 * source property.
+		 */
+		RENAME,
+		/**
+		 * Retype with Rename cells and a Groovy script cell.
+		 */
+		GROOVY,
+		/**
+		 * Join of buildings and parcels with Rename cells for properties of
+		 * both types.
+		 */
+		JOIN,
+		/**
+		 * Merge of buildings on the parcel they reference.
+		 */
+		MERGE
+	}
+
+	/**
+	 * Function identifier of the Groovy script property function.
+	 */
+	public static final String GROOVY_ID = "eu.esdihumboldt.cst.functions.groovy";
+
+	private final BenchmarkSchemas schemas;
+
+	/**
+	 * Create an alignment generator.
+	 *
+	 * @param schemas the schemas to create alignments for
+	 */
+	public BenchmarkAlignments(BenchmarkSchemas schemas) {
+		this.schemas = schemas;
+	}
+
+	/**
+	 * Create an alignment.
+	 *
+	 * @param kind the kind of alignment
+	 * @return the alignment
+	 */
+	public Alignment create(Kind kind) {
+		DefaultAlignment alignment = new DefaultAlignment();
+		TypeDefinition building = schemas.getBuilding();
+		TypeDefinition parcel = schemas.getParcel();
+
+		switch (kind) {
+		case RENAME:
+			alignment.addCell(typeCell(RetypeFunction.ID, building));
+			alignment.addCell(rename(building, "identifier", "id"));
+			alignment.addCell(rename(building, "label", "name"));
+			alignment.addCell(rename(building, "height", "height"));
+			alignment.addCell(rename(building, "storeys", "storeys"));
+			alignment.addCell(rename(building, "city", "address", "city"));
+			alignment.addCell(rename(building, "geometry", "geometry"));
+			break;
+		case GROOVY:
+			alignment.addCell(typeCell(RetypeFunction.ID, building));
+			alignment.addCell(rename(building, "identifier", "id"));
+			alignment.addCell(groovy(building, "label",
+					"name + ' (' + storeys + ' storeys)'", "name", "storeys"));
+			alignment.addCell(rename(building, "geometry", "geometry"));
+			break;
+		case JOIN:
+			DefaultCell join = typeCell(JoinFunction.ID, building, parcel);
+			TypeEntityDefinition buildingEntity = typeEntity(building);
+			TypeEntityDefinition parcelEntity = typeEntity(parcel);
+			JoinCondition condition = new JoinCondition(sourceProperty(building, "parcelId"),
+					sourceProperty(parcel, "id"));
+			JoinParameter joinParameter = new JoinParameter(
+					Arrays.asList(buildingEntity, parcelEntity),
+					Collections.singleton(condition));
+			ListMultimap<String, ParameterValue> joinParameters = ArrayListMultimap.create();
+			joinParameters.put(JoinFunction.PARAMETER_JOIN,
+					new ParameterValue(Value.complex(joinParameter)));
+			join.setTransformationParameters(joinParameters);
+			alignment.addCell(join);
+			alignment.addCell(rename(building, "identifier", "id"));
+			alignment.addCell(rename(building, "height", "height"));
+			alignment.addCell(rename(parcel, "area", "area"));
+			alignment.addCell(rename(parcel, "owner", "owner"));
+			alignment.addCell(rename(building, "geometry", "geometry"));
+			break;
+		case MERGE:
+			DefaultCell merge = typeCell(MergeFunction.ID, building);
+			ListMultimap<String, ParameterValue> mergeParameters = ArrayListMultimap.create();
+			mergeParameters.put(MergeFunction.PARAMETER_PROPERTY, new ParameterValue(
+					new QName(BenchmarkSchemas.SOURCE_NS, "parcelId").toString()));
+			merge.setTransformationParameters(mergeParameters);
+			alignment.addCell(merge);
+			alignment.addCell(rename(building, "identifier", "parcelId"));
+			alignment.addCell(rename(building, "geometry", "geometry"));
+			break;
+		default:
+			throw new IllegalArgumentException("Unsupported alignment kind " + kind);
+		}
+
+		return alignment;
+	}
+
+	private DefaultCell typeCell(String function, TypeDefinition... sources) {
+		DefaultCell cell = new DefaultCell();
+		cell.setTransformationIdentifier(function);
+
+		ListMultimap<String, Entity> source = ArrayListMultimap.create();
+		String name = (sources.length > 1) ? (JoinFunction.JOIN_TYPES) : (null);
+		for (TypeDefinition type : sources) {
+			source.put(name, new DefaultType(typeEntity(type)));
+		}
+		cell.setSource(source);
+
+		ListMultimap<String, Entity> target = ArrayListMultimap.create();
+		target.put(null, new DefaultType(new TypeEntityDefinition(schemas.getFeature(),
+				SchemaSpaceID.TARGET, null)));
+		cell.setTarget(target);
+		return cell;
+	}
+
+	private DefaultCell rename(TypeDefinition sourceType, String targetProperty,
+			String... sourcePath) {
+		DefaultCell cell = new DefaultCell();
+		cell.setTransformationIdentifier(RenameFunction.ID);
+
+		ListMultimap<String, Entity> source = ArrayListMultimap.create();
+		source.put(null, new DefaultProperty(sourceProperty(sourceType, sourcePath)));
+		cell.setSource(source);
+
+		cell.setTarget(targetProperty(targetProperty));
+		return cell;
+	}
+
+	private DefaultCell groovy(TypeDefinition sourceType, String targetProperty, String script,
+			String... variables) {
+		DefaultCell cell = new DefaultCell();
+		cell.setTransformationIdentifier(GROOVY_ID);
+
+		ListMultimap<String, Entity> source = ArrayListMultimap.create();
+		for (String variable : variables) {
+			source.put("var", new DefaultProperty(sourceProperty(sourceType, variable)));
+		}
+		cell.setSource(source);
+
+		ListMultimap<String, Entity> target = targetProperty(targetProperty);
+		target.putAll("result", target.removeAll(null));
+		cell.setTarget(target);
+
+		ListMultimap<String, ParameterValue> parameters = ArrayListMultimap.create();
+		parameters.put("script", new ParameterValue(script));
+		cell.setTransformationParameters(parameters);
+		return cell;
+	}
+
+	private ListMultimap<String, Entity> targetProperty(String name) {
+		ListMultimap<String, Entity> target = ArrayListMultimap.create();
+		target.put(null, new DefaultProperty(
+				propertyEntity(schemas.getFeature(), SchemaSpaceID.TARGET, name)));
+		return target;
+	}
+
+	private static TypeEntityDefinition typeEntity(TypeDefinition type) {
+		return new TypeEntityDefinition(type, SchemaSpaceID.SOURCE, null);
+	}
+
+	private static PropertyEntityDefinition sourceProperty(TypeDefinition type,
+			String... path) {
+		return propertyEntity(type, SchemaSpaceID.SOURCE, path);
+	}
+
+	private static PropertyEntityDefinition propertyEntity(TypeDefinition type,
+			SchemaSpaceID space, String... path) {
+		List<ChildContext> contexts = new ArrayList<>(path.length);
+		TypeDefinition parent = type;
+		for (String name : path) {
+			ChildDefinition<?> child = parent
+					.getChild(new QName(parent.getName().getNamespaceURI(), name));
+			if (child == null || child.asProperty() == null) {
+				throw new IllegalArgumentException("Unknown property " + name);
+			}
+			contexts.add(new ChildContext(child));
+			parent = child.asProperty().getPropertyType();
+		}
+		return new PropertyEntityDefinition(type, contexts, space, null);
+	}
+
+}
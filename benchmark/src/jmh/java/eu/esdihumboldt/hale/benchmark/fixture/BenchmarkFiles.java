@@ -0,0 +1,311 @@
+/*
+ * Copyright (c) 2026 wetransform GmbH
+ *
+ * All rights reserved. This program and the accompanying materials are made
+ * available under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 3 of the License,
+ * or (at your option) any later version.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Contributors:
+ *     wetransform GmbH <http://www.wetransform.to>
+ */
+
+package eu.esdihumboldt.hale.benchmark.fixture;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Writer;
+import java.net.URISyntaxException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.Enumeration;
+import java.util.List;
+import java.util.Locale;
+import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
+import java.util.stream.Stream;
+
+import org.geotools.data.DefaultTransaction;
+import org.geotools.data.Transaction;
+import org.geotools.data.collection.ListFeatureCollection;
+import org.geotools.data.shapefile.ShapefileDataStore;
+import org.geotools.data.simple.SimpleFeatureStore;
+import org.geotools.feature.simple.SimpleFeatureBuilder;
+import org.geotools.feature.simple.SimpleFeatureTypeBuilder;
+import org.locationtech.jts.geom.Coordinate;
+import org.locationtech.jts.geom.Polygon;
+import org.opengis.feature.simple.SimpleFeature;
+import org.opengis.feature.simple.SimpleFeatureType;
+
+import eu.esdihumboldt.hale.io.gml.reader.internal.GmlInstanceReader;
+
+/**
+ * Generates GML and Shapefile input files. The generated GML application
+ * schema only references the GML schemas shipped with hale, which are
+ * extracted next to it, so no network access is needed to load it.
+ */
+public class BenchmarkFiles {
+
+	/**
+	 * Namespace of the GML application schema.
+	 */
+	public static final String GML_APP_NS = "http://www.esdi-humboldt.eu/hale/benchmark/gml";
+
+	/**
+	 * Name of the type in the generated shapefiles.
+	 */
+	public static final String SHAPE_TYPE = "Building";
+
+	private static final String SCHEMAS_FOLDER = "schemas/";
+
+	private static final String[] SCHEMA_PREFIXES = { SCHEMAS_FOLDER + "gml/3.1.1/",
+			SCHEMAS_FOLDER + "xlink/" };
+
+	/**
+	 * Write the GML application schema and the GML schemas it depends on to
+	 * the given directory.
+	 *
+	 * @param dir the target directory
+	 * @return the application schema file
+	 * @throws IOException if writing the schemas fails
+	 */
+	public static File writeGmlSchema(File dir) throws IOException {
+		extractGmlSchemas(dir.toPath());
+
+		File schema = new File(dir, "buildings.xsd");
+		try (Writer writer = Files.newBufferedWriter(schema.toPath(), StandardCharsets.UTF_8)) {
+			writer.write("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n");
+			writer.write("<schema xmlns=\"http://www.w3.org/2001/XMLSchema\" xmlns:bm=\""
+					+ GML_APP_NS + "\" xmlns:gml=\"http://www.opengis.net/gml\" targetNamespace=\""
+					+ GML_APP_NS + "\" elementFormDefault=\"qualified\" version=\"1.0\">\n");
+			writer.write("  <import namespace=\"http://www.opengis.net/gml\""
+					+ " schemaLocation=\"gml/3.1.1/base/gml.xsd\"/>\n");
+			writer.write("  <element name=\"Building\" type=\"bm:BuildingType\""
+					+ " substitutionGroup=\"gml:_Feature\"/>\n");
+			writer.write("  <complexType name=\"BuildingType\">\n");
+			writer.write("    <complexContent>\n");
+			writer.write("      <extension base=\"gml:AbstractFeatureType\">\n");
+			writer.write("        <sequence>\n");
+			writer.write("          <element name=\"identifier\" type=\"string\"/>\n");
+			writer.write("          <element name=\"label\" type=\"string\"/>\n");
+			writer.write("          <element name=\"height\" type=\"double\"/>\n");
+			writer.write("          <element name=\"storeys\" type=\"int\"/>\n");
+			writer.write("          <element name=\"city\" type=\"string\"/>\n");
+			writer.write("          <element name=\"geometry\""
+					+ " type=\"gml:SurfacePropertyType\"/>\n");
+			writer.write("        </sequence>\n");
+			writer.write("      </extension>\n");
+			writer.write("    </complexContent>\n");
+			writer.write("  </complexType>\n");
+			writer.write("</schema>\n");
+		}
+		return schema;
+	}
+
+	/**
+	 * Write a GML 3.1.1 feature collection with building features conforming
+	 * to the schema written by {@link #writeGmlSchema(File)}.
+	 *
+	 * @param file the target file
+	 * @param instances the instance generator
+	 * @param count the number of features to write
+	 * @throws IOException if writing the file fails
+	 */
+	public static void writeGml(File file, BenchmarkInstances instances, int count)
+			throws IOException {
+		try (BufferedWriter writer = Files.newBufferedWriter(file.toPath(),
+				StandardCharsets.UTF_8)) {
+			writer.write("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n");
+			writer.write("<gml:FeatureCollection xmlns:gml=\"http://www.opengis.net/gml\""
+					+ " xmlns:bm=\"" + GML_APP_NS + "\">\n");
+			for (int i = 0; i < count; i++) {
+				writer.write("  <gml:featureMember>\n");
+				writer.write("    <bm:Building gml:id=\"B" + i + "\">\n");
+				writer.write("      <bm:identifier>B" + i + "</bm:identifier>\n");
+				writer.write("      <bm:label>Building " + i + "</bm:label>\n");
+				writer.write("      <bm:height>" + (3.0 + (i % 40) * 2.5) + "</bm:height>\n");
+				writer.write("      <bm:storeys>" + (1 + i % 12) + "</bm:storeys>\n");
+				writer.write("      <bm:city>City " + (i % 5) + "</bm:city>\n");
+				writer.write("      <bm:geometry>\n");
+				writer.write("        <gml:Polygon srsName=\"EPSG:25832\" srsDimension=\"2\">"
+						+ "<gml:exterior><gml:LinearRing><gml:posList>");
+				writer.write(toPosList(instances.createPolygon(i)));
+				writer.write("</gml:posList></gml:LinearRing></gml:exterior></gml:Polygon>\n");
+				writer.write("      </bm:geometry>\n");
+				writer.write("    </bm:Building>\n");
+				writer.write("  </gml:featureMember>\n");
+			}
+			writer.write("</gml:FeatureCollection>\n");
+		}
+	}
+
+	/**
+	 * Create a space separated list of the coordinates of a polygon exterior
+	 * as used in a <code>gml:posList</code>.
+	 *
+	 * @param polygon the polygon
+	 * @return the position list
+	 */
+	public static String toPosList(Polygon polygon) {
+		StringBuilder posList = new StringBuilder();
+		for (Coordinate coordinate : polygon.getExteriorRing().getCoordinates()) {
+			if (posList.length() > 0) {
+				posList.append(' ');
+			}
+			posList.append(String.format(Locale.ROOT, "%.3f %.3f", coordinate.x, coordinate.y));
+		}
+		return posList.toString();
+	}
+
+	/**
+	 * Write a shapefile with building features.
+	 *
+	 * @param file the shapefile to create, other files belonging to the
+	 *            shapefile are created next to it
+	 * @param instances the instance generator
+	 * @param count the number of features to write
+	 * @throws IOException if writing the shapefile fails
+	 */
+	public static void writeShapefile(File file, BenchmarkInstances instances, int count)
+			throws IOException {
+		SimpleFeatureTypeBuilder typeBuilder = new SimpleFeatureTypeBuilder();
+		typeBuilder.setName(SHAPE_TYPE);
+		typeBuilder.add("the_geom", Polygon.class);
+		typeBuilder.add("id", String.class);
+		typeBuilder.add("name", String.class);
+		typeBuilder.add("height", Double.class);
+		typeBuilder.add("storeys", Integer.class);
+		SimpleFeatureType type = typeBuilder.buildFeatureType();
+
+		List<SimpleFeature> features = new ArrayList<>(count);
+		SimpleFeatureBuilder builder = new SimpleFeatureBuilder(type);
+		for (int i = 0; i < count; i++) {
+			builder.add(instances.createPolygon(i));
+			builder.add("B" + i);
+			builder.add("Building " + i);
+			builder.add(3.0 + (i % 40) * 2.5);
+			builder.add(1 + i % 12);
+			features.add(builder.buildFeature("B" + i));
+		}
+
+		ShapefileDataStore store = new ShapefileDataStore(file.toURI().toURL());
+		try {
+			store.createSchema(type);
+			SimpleFeatureStore featureStore = (SimpleFeatureStore) store
+					.getFeatureSource(store.getTypeNames()[0]);
+			try (Transaction transaction = new DefaultTransaction("create")) {
+				featureStore.setTransaction(transaction);
+				featureStore.addFeatures(new ListFeatureCollection(type, features));
+				transaction.commit();
+			}
+		} finally {
+			store.dispose();
+		}
+	}
+
+	/**
+	 * Delete a directory and its content.
+	 *
+	 * @param dir the directory to delete, may be <code>null</code>
+	 * @throws IOException if deleting the directory fails
+	 */
+	public static void delete(File dir) throws IOException {
+		if (dir == null || !dir.exists()) {
+			return;
+		}
+		Files.walkFileTree(dir.toPath(), new SimpleFileVisitor<Path>() {
+
+			@Override
+			public FileVisitResult visitFile(Path file, BasicFileAttributes attrs)
+					throws IOException {
+				Files.delete(file);
+				return FileVisitResult.CONTINUE;
+			}
+
+			@Override
+			public FileVisitResult postVisitDirectory(Path dir, IOException exc)
+					throws IOException {
+				Files.delete(dir);
+				return FileVisitResult.CONTINUE;
+			}
+		});
+	}
+
+	/**
+	 * Extract the GML 3.1.1 and XLink schemas from the GML bundle.
+	 *
+	 * @param dir the target directory
+	 * @throws IOException if extracting the schemas fails
+	 */
+	private static void extractGmlSchemas(Path dir) throws IOException {
+		Path location;
+		try {
+			location = Paths.get(GmlInstanceReader.class.getProtectionDomain().getCodeSource()
+					.getLocation().toURI());
+		} catch (URISyntaxException e) {
+			throw new IOException("Could not determine location of the GML bundle", e);
+		}
+
+		if (Files.isDirectory(location)) {
+			for (String prefix : SCHEMA_PREFIXES) {
+				Path source = location.resolve(prefix);
+				if (!Files.isDirectory(source)) {
+					continue;
+				}
+				try (Stream<Path> files = Files.walk(source)) {
+					for (Path file : (Iterable<Path>) files::iterator) {
+						if (Files.isRegularFile(file)) {
+							Path target = dir.resolve(
+									location.resolve(SCHEMAS_FOLDER).relativize(file).toString());
+							Files.createDirectories(target.getParent());
+							Files.copy(file, target, StandardCopyOption.REPLACE_EXISTING);
+						}
+					}
+				}
+			}
+		}
+		else {
+			try (JarFile jar = new JarFile(location.toFile())) {
+				Enumeration<JarEntry> entries = jar.entries();
+				while (entries.hasMoreElements()) {
+					JarEntry entry = entries.nextElement();
+					if (entry.isDirectory() || !isSchemaEntry(entry.getName())) {
+						continue;
+					}
+					Path target = dir
+							.resolve(entry.getName().substring(SCHEMAS_FOLDER.length()));
+					Files.createDirectories(target.getParent());
+					try (InputStream in = jar.getInputStream(entry)) {
+						Files.copy(in, target, StandardCopyOption.REPLACE_EXISTING);
+					}
+				}
+			}
+		}
+
+		if (!Files.exists(dir.resolve("gml/3.1.1/base/gml.xsd"))) {
+			throw new IOException("GML schemas not found in " + location);
+		}
+	}
+
+	private static boolean isSchemaEntry(String name) {
+		for (String prefix : SCHEMA_PREFIXES) {
+			if (name.startsWith(prefix)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+}
@@ -0,0 +1,177 @@
+/*
+ * Copyright (c) 2026 wetransform GmbH
+ *
+ * All rights reserved. This program and the accompanying materials are made
+ * available under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 3 of the License,
+ * or (at your option) any later version.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Contributors:
+ *     wetransform GmbH <http://www.wetransform.to>
+ */
+
+package eu.esdihumboldt.hale.benchmark.fixture;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import javax.xml.namespace.QName;
+
+import org.locationtech.jts.geom.Coordinate;
+import org.locationtech.jts.geom.GeometryFactory;
+import org.locationtech.jts.geom.Polygon;
+
+import eu.esdihumboldt.hale.common.instance.geometry.DefaultGeometryProperty;
+import eu.esdihumboldt.hale.common.instance.model.DataSet;
+import eu.esdihumboldt.hale.common.instance.model.Instance;
+import eu.esdihumboldt.hale.common.instance.model.InstanceFactory;
+import eu.esdihumboldt.hale.common.instance.model.MutableInstance;
+import eu.esdihumboldt.hale.common.instance.model.impl.DefaultInstanceCollection;
+import eu.esdihumboldt.hale.common.instance.model.impl.DefaultInstanceFactory;
+import eu.esdihumboldt.hale.common.schema.model.TypeDefinition;
+
+/**
+ * Generates source instances for the {@link BenchmarkSchemas}. The generated
+ * data is deterministic, buildings reference parcels so that each parcel is
+ * referenced by {@value #BUILDINGS_PER_PARCEL} buildings.
+ */
+public class BenchmarkInstances {
+
+	/**
+	 * Number of buildings per parcel.
+	 */
+	public static final int BUILDINGS_PER_PARCEL = 4;
+
+	/**
+	 * Number of vertices of the generated polygon exteriors.
+	 */
+	public static final int POLYGON_VERTICES = 32;
+
+	private static final String[] CITIES = { "Darmstadt", "Frankfurt", "Mainz", "Wiesbaden",
+			"Offenbach" };
+
+	private final BenchmarkSchemas schemas;
+
+	private final InstanceFactory instanceFactory;
+
+	private final GeometryFactory factory = new GeometryFactory();
+
+	/**
+	 * Create an instance generator creating default instances.
+	 *
+	 * @param schemas the schemas to create instances for
+	 */
+	public BenchmarkInstances(BenchmarkSchemas schemas) {
+		this(schemas, new DefaultInstanceFactory());
+	}
+
+	/**
+	 * Create an instance generator.
+	 *
+	 * @param schemas the schemas to create instances for
+	 * @param instanceFactory the factory for the instances to create
+	 */
+	public BenchmarkInstances(BenchmarkSchemas schemas, InstanceFactory instanceFactory) {
+		this.schemas = schemas;
+		this.instanceFactory = instanceFactory;
+	}
+
+	/**
+	 * Create building and parcel instances.
+	 *
+	 * @param buildings the number of buildings to create
+	 * @return the source instances
+	 */
+	public DefaultInstanceCollection createSource(int buildings) {
+		List<Instance> instances = new ArrayList<>(buildings + buildings / BUILDINGS_PER_PARCEL
+				+ 1);
+		for (int i = 0; i < buildings; i++) {
+			instances.add(createBuilding(i));
+		}
+		for (int i = 0; i <= (buildings - 1) / BUILDINGS_PER_PARCEL; i++) {
+			instances.add(createParcel(i));
+		}
+		return new DefaultInstanceCollection(instances);
+	}
+
+	/**
+	 * Create a building instance.
+	 *
+	 * @param index the index of the building, determines the property values
+	 * @return the building instance
+	 */
+	public MutableInstance createBuilding(int index) {
+		TypeDefinition type = schemas.getBuilding();
+		MutableInstance building = createInstance(type);
+		building.addProperty(name(type, "id"), "B" + index);
+		building.addProperty(name(type, "name"), "Building " + index);
+		building.addProperty(name(type, "height"), 3.0 + (index % 40) * 2.5);
+		building.addProperty(name(type, "storeys"), 1 + index % 12);
+		building.addProperty(name(type, "parcelId"), "P" + (index / BUILDINGS_PER_PARCEL));
+
+		TypeDefinition addressType = type.getChild(name(type, "address")).asProperty()
+				.getPropertyType();
+		MutableInstance address = createInstance(addressType);
+		address.addProperty(name(addressType, "street"), "Street " + (index % 97));
+		address.addProperty(name(addressType, "number"), String.valueOf(1 + index % 150));
+		address.addProperty(name(addressType, "city"), CITIES[index % CITIES.length]);
+		building.addProperty(name(type, "address"), address);
+
+		building.addProperty(name(type, "geometry"),
+				new DefaultGeometryProperty<>(null, createPolygon(index)));
+		return building;
+	}
+
+	/**
+	 * Create a parcel instance.
+	 *
+	 * @param index the index of the parcel, determines the property values
+	 * @return the parcel instance
+	 */
+	public MutableInstance createParcel(int index) {
+		TypeDefinition type = schemas.getParcel();
+		MutableInstance parcel = createInstance(type);
+		parcel.addProperty(name(type, "id"), "P" + index);
+		parcel.addProperty(name(type, "area"), 250.0 + (index % 64) * 12.5);
+		parcel.addProperty(name(type, "owner"), "Owner " + (index % 211));
+		return parcel;
+	}
+
+	/**
+	 * Create a polygon located on a grid cell determined by the index, with
+	 * the exterior being a slightly irregular circle.
+	 *
+	 * @param index the index of the polygon
+	 * @return the polygon
+	 */
+	public Polygon createPolygon(int index) {
+		Random random = new Random(index);
+		double centerX = 400000 + (index % 1000) * 50;
+		double centerY = 5500000 + (index / 1000) * 50;
+
+		Coordinate[] coordinates = new Coordinate[POLYGON_VERTICES + 1];
+		for (int i = 0; i < POLYGON_VERTICES; i++) {
+			double angle = 2 * Math.PI * i / POLYGON_VERTICES;
+			double radius = 10 + random.nextDouble() * 5;
+			coordinates[i] = new Coordinate(centerX + Math.cos(angle) * radius,
+					centerY + Math.sin(angle) * radius);
+		}
+		coordinates[POLYGON_VERTICES] = coordinates[0];
+		return factory.createPolygon(coordinates);
+	}
+
+	private MutableInstance createInstance(TypeDefinition type) {
+		MutableInstance instance = instanceFactory.createInstance(type);
+		instance.setDataSet(DataSet.SOURCE);
+		return instance;
+	}
+
+	private static QName name(TypeDefinition type, String localName) {
+		return new QName(type.getName().getNamespaceURI(), localName);
+	}
+
+}
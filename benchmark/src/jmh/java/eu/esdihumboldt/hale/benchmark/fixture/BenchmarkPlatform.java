@@ -0,0 +1,38 @@
+/*
+ * Copyright (c) 2026 wetransform GmbH
+ *
+ * All rights reserved. This program and the accompanying materials are made
+ * available under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 3 of the License,
+ * or (at your option) any later version.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Contributors:
+ *     wetransform GmbH <http://www.wetransform.to>
+ */
+
+package eu.esdihumboldt.hale.benchmark.fixture;
+
+import org.eclipse.equinox.nonosgi.registry.RegistryFactoryHelper;
+
+/**
+ * Sets up the platform for running hale outside of OSGi.
+ */
+public class BenchmarkPlatform {
+
+	private static boolean initialized = false;
+
+	/**
+	 * Initialize the extension registry from the plugin.xml files on the class
+	 * path. May be called multiple times.
+	 */
+	public static synchronized void init() {
+		if (!initialized) {
+			RegistryFactoryHelper.getRegistry();
+			initialized = true;
+		}
+	}
+
+}
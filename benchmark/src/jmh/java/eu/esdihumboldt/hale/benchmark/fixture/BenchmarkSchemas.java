@@ -0,0 +1,189 @@
+/*
+ * Copyright (c) 2026 wetransform GmbH
+ *
+ * All rights reserved. This program and the accompanying materials are made
+ * available under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 3 of the License,
+ * or (at your option) any later version.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Contributors:
+ *     wetransform GmbH <http://www.wetransform.to>
+ */
+
+package eu.esdihumboldt.hale.benchmark.fixture;
+
+import java.net.URI;
+
+import javax.xml.namespace.QName;
+
+import org.locationtech.jts.geom.Geometry;
+import org.locationtech.jts.geom.Polygon;
+
+import eu.esdihumboldt.hale.common.schema.geometry.GeometryProperty;
+import eu.esdihumboldt.hale.common.schema.model.constraint.property.Cardinality;
+import eu.esdihumboldt.hale.common.schema.model.constraint.type.Binding;
+import eu.esdihumboldt.hale.common.schema.model.constraint.type.GeometryType;
+import eu.esdihumboldt.hale.common.schema.model.constraint.type.HasValueFlag;
+import eu.esdihumboldt.hale.common.schema.model.constraint.type.MappableFlag;
+import eu.esdihumboldt.hale.common.schema.model.constraint.type.MappingRelevantFlag;
+import eu.esdihumboldt.hale.common.schema.model.impl.DefaultPropertyDefinition;
+import eu.esdihumboldt.hale.common.schema.model.impl.DefaultSchema;
+import eu.esdihumboldt.hale.common.schema.model.impl.DefaultTypeDefinition;
+
+/**
+ * Generated source and target schemas. The source schema contains a
+ * <code>Building</code> type with a nested address and a polygon geometry and
+ * a <code>Parcel</code> type referenced by the buildings. The target schema
+ * contains a flat <code>Feature</code> type.
+ */
+public class BenchmarkSchemas {
+
+	/**
+	 * Namespace of the source schema.
+	 */
+	public static final String SOURCE_NS = "http://www.esdi-humboldt.eu/hale/benchmark/source";
+
+	/**
+	 * Namespace of the target schema.
+	 */
+	public static final String TARGET_NS = "http://www.esdi-humboldt.eu/hale/benchmark/target";
+
+	@SuppressWarnings("javadoc")
+	public static final QName BUILDING = new QName(SOURCE_NS, "Building");
+	@SuppressWarnings("javadoc")
+	public static final QName PARCEL = new QName(SOURCE_NS, "Parcel");
+	@SuppressWarnings("javadoc")
+	public static final QName FEATURE = new QName(TARGET_NS, "Feature");
+
+	private final DefaultSchema source;
+
+	private final DefaultSchema target;
+
+	private final DefaultTypeDefinition building;
+
+	private final DefaultTypeDefinition parcel;
+
+	private final DefaultTypeDefinition feature;
+
+	/**
+	 * Create the schemas.
+	 */
+	public BenchmarkSchemas() {
+		DefaultTypeDefinition stringType = valueType(new QName(SOURCE_NS, "string"),
+				String.class);
+		DefaultTypeDefinition doubleType = valueType(new QName(SOURCE_NS, "double"),
+				Double.class);
+		DefaultTypeDefinition intType = valueType(new QName(SOURCE_NS, "int"), Integer.class);
+		DefaultTypeDefinition geometryType = valueType(new QName(SOURCE_NS, "geometry"),
+				GeometryProperty.class);
+		geometryType.setConstraint(GeometryType.get(Polygon.class));
+
+		DefaultTypeDefinition address = new DefaultTypeDefinition(
+				new QName(SOURCE_NS, "AddressType"));
+		property(address, "street", stringType);
+		property(address, "number", stringType);
+		property(address, "city", stringType);
+
+		building = featureType(BUILDING);
+		property(building, "id", stringType);
+		property(building, "name", stringType);
+		property(building, "height", doubleType);
+		property(building, "storeys", intType);
+		property(building, "parcelId", stringType);
+		property(building, "address", address);
+		property(building, "geometry", geometryType);
+
+		parcel = featureType(PARCEL);
+		property(parcel, "id", stringType);
+		property(parcel, "area", doubleType);
+		property(parcel, "owner", stringType);
+
+		source = new DefaultSchema(SOURCE_NS, URI.create(SOURCE_NS));
+		source.addType(building);
+		source.addType(parcel);
+
+		DefaultTypeDefinition targetString = valueType(new QName(TARGET_NS, "string"),
+				String.class);
+		DefaultTypeDefinition targetDouble = valueType(new QName(TARGET_NS, "double"),
+				Double.class);
+		DefaultTypeDefinition targetInt = valueType(new QName(TARGET_NS, "int"), Integer.class);
+		DefaultTypeDefinition targetGeometry = valueType(new QName(TARGET_NS, "geometry"),
+				GeometryProperty.class);
+		targetGeometry.setConstraint(GeometryType.get(Geometry.class));
+
+		feature = featureType(FEATURE);
+		property(feature, "identifier", targetString);
+		property(feature, "label", targetString);
+		property(feature, "height", targetDouble);
+		property(feature, "storeys", targetInt);
+		property(feature, "area", targetDouble);
+		property(feature, "owner", targetString);
+		property(feature, "city", targetString);
+		// multiple values for merged instances
+		property(feature, "geometry", targetGeometry).setConstraint(Cardinality.CC_ANY_NUMBER);
+
+		target = new DefaultSchema(TARGET_NS, URI.create(TARGET_NS));
+		target.addType(feature);
+	}
+
+	/**
+	 * @return the source schema
+	 */
+	public DefaultSchema getSource() {
+		return source;
+	}
+
+	/**
+	 * @return the target schema
+	 */
+	public DefaultSchema getTarget() {
+		return target;
+	}
+
+	/**
+	 * @return the building type
+	 */
+	public DefaultTypeDefinition getBuilding() {
+		return building;
+	}
+
+	/**
+	 * @return the parcel type
+	 */
+	public DefaultTypeDefinition getParcel() {
+		return parcel;
+	}
+
+	/**
+	 * @return the target feature type
+	 */
+	public DefaultTypeDefinition getFeature() {
+		return feature;
+	}
+
+	private static DefaultTypeDefinition valueType(QName name, Class<?> binding) {
+		DefaultTypeDefinition type = new DefaultTypeDefinition(name);
+		type.setConstraint(HasValueFlag.ENABLED);
+		type.setConstraint(Binding.get(binding));
+		return type;
+	}
+
+	private static DefaultTypeDefinition featureType(QName name) {
+		DefaultTypeDefinition type = new DefaultTypeDefinition(name);
+		type.setConstraint(MappableFlag.ENABLED);
+		type.setConstraint(MappingRelevantFlag.ENABLED);
+		return type;
+	}
+
+	private static DefaultPropertyDefinition property(DefaultTypeDefinition parent,
+			String name, DefaultTypeDefinition type) {
+		DefaultPropertyDefinition property = new DefaultPropertyDefinition(
+				new QName(parent.getName().getNamespaceURI(), name), parent, type);
+		property.setConstraint(Cardinality.CC_OPTIONAL);
+		return property;
+	}
+
+}
@@ -0,0 +1,96 @@
+/*
+ * Copyright (c) 2026 wetransform GmbH
+ *
+ * All rights reserved. This program and the accompanying materials are made
+ * available under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 3 of the License,
+ * or (at your option) any later version.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Contributors:
+ *     wetransform GmbH <http://www.wetransform.to>
+ */
+
+package eu.esdihumboldt.hale.benchmark.fixture;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import eu.esdihumboldt.hale.common.align.model.Alignment;
+import eu.esdihumboldt.hale.common.align.service.FunctionService;
+import eu.esdihumboldt.hale.common.align.service.TransformationFunctionService;
+import eu.esdihumboldt.hale.common.align.service.impl.AlignmentFunctionService;
+import eu.esdihumboldt.hale.common.align.service.impl.AlignmentTransformationFunctionService;
+import eu.esdihumboldt.hale.common.core.service.ServiceManager;
+import eu.esdihumboldt.hale.common.core.service.ServiceProvider;
+import eu.esdihumboldt.hale.common.instance.index.InstanceIndexService;
+import eu.esdihumboldt.hale.common.instance.index.InstanceIndexServiceImpl;
+import eu.esdihumboldt.hale.common.instance.model.Instance;
+import eu.esdihumboldt.hale.common.instance.model.InstanceCollection;
+import eu.esdihumboldt.hale.common.instance.model.ResourceIterator;
+
+/**
+ * Service provider for transforming with an alignment, providing the function
+ * services for the alignment and an instance index.
+ */
+public class BenchmarkServices implements ServiceProvider {
+
+	private final Map<Class<?>, Object> customServices = new HashMap<>();
+
+	private final ServiceProvider projectScope = new ServiceManager(
+			ServiceManager.SCOPE_PROJECT);
+
+	private final InstanceIndexServiceImpl indexService = new InstanceIndexServiceImpl();
+
+	private final Alignment alignment;
+
+	/**
+	 * Create a service provider for the given alignment.
+	 *
+	 * @param alignment the alignment
+	 */
+	public BenchmarkServices(Alignment alignment) {
+		this.alignment = alignment;
+		customServices.put(FunctionService.class, new AlignmentFunctionService(alignment));
+		customServices.put(TransformationFunctionService.class,
+				new AlignmentTransformationFunctionService(alignment));
+		customServices.put(InstanceIndexService.class, indexService);
+	}
+
+	/**
+	 * Reset the instance index and index the given source instances as
+	 * required by the alignment.
+	 *
+	 * @param source the source instances
+	 */
+	public void index(InstanceCollection source) {
+		indexService.clearAll();
+		indexService.addPropertyMappings(alignment.getActiveTypeCells(), this);
+
+		try (ResourceIterator<Instance> it = source.iterator()) {
+			while (it.hasNext()) {
+				indexService.add(it.next(), source);
+			}
+		}
+	}
+
+	/**
+	 * @return the instance index service
+	 */
+	public InstanceIndexServiceImpl getIndexService() {
+		return indexService;
+	}
+
+	@SuppressWarnings("unchecked")
+	@Override
+	public <T> T getService(Class<T> serviceInterface) {
+		if (customServices.containsKey(serviceInterface)) {
+			return (T) customServices.get(serviceInterface);
+		}
+
+		return projectScope.getService(serviceInterface);
+	}
+
+}
@@ -0,0 +1,136 @@
+/*
+ * Copyright (c) 2026 wetransform GmbH
+ *
+ * All rights reserved. This program and the accompanying materials are made
+ * available under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 3 of the License,
+ * or (at your option) any later version.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Contributors:
+ *     wetransform GmbH <http://www.wetransform.to>
+ */
+
+package eu.esdihumboldt.hale.common.align.transformation.metrics;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Collections;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import io.prometheus.client.Collector.MetricFamilySamples;
+import io.prometheus.client.Collector.MetricFamilySamples.Sample;
+import io.prometheus.client.CollectorRegistry;
+
+/**
+ * Tests for the labels of the {@link TransformationCollectors} metrics.
+ */
+public class TransformationCollectorsTest {
+
+	private static final String FUNCTION = "eu.esdihumboldt.hale.align.rename";
+
+	private static final int CELL_COUNT = 100;
+
+	private CollectorRegistry registry;
+
+	/**
+	 * Create the registry to bind the metrics to.
+	 */
+	@Before
+	public void setUp() {
+		registry = new CollectorRegistry();
+	}
+
+	/**
+	 * Test if the cell execution time is aggregated per function and kind if
+	 * cell labels are not enabled.
+	 */
+	@Test
+	public void testAggregatePerFunction() {
+		TransformationCollectors collectors = new TransformationCollectors(false);
+		collectors.bindTo(registry);
+		executeCells(collectors);
+
+		assertEquals(CELL_COUNT,
+				registry.getSampleValue(TransformationCollectors.CELL_SECONDS + "_count",
+						new String[] { "function", "kind" },
+						new String[] { FUNCTION, TransformationMetrics.KIND_PROPERTY }),
+				0);
+		assertNull(registry.getSampleValue(TransformationCollectors.CELL_SECONDS + "_count",
+				new String[] { "cell", "function", "kind" },
+				new String[] { "cell0", FUNCTION, TransformationMetrics.KIND_PROPERTY }));
+		assertEquals(1, countCellSeries());
+	}
+
+	/**
+	 * Test if the cell execution time is recorded per cell if cell labels are
+	 * enabled.
+	 */
+	@Test
+	public void testCellLabels() {
+		TransformationCollectors collectors = new TransformationCollectors(true);
+		collectors.bindTo(registry);
+		executeCells(collectors);
+
+		assertEquals(1,
+				registry.getSampleValue(TransformationCollectors.CELL_SECONDS + "_count",
+						new String[] { "cell", "function", "kind" },
+						new String[] { "cell0", FUNCTION, TransformationMetrics.KIND_PROPERTY }),
+				0);
+		assertEquals(CELL_COUNT, countCellSeries());
+	}
+
+	/**
+	 * Test enabling cell labels through the system property.
+	 */
+	@Test
+	public void testCellLabelsSystemProperty() {
+		String previous = System.getProperty(TransformationCollectors.SYSTEM_PROPERTY_CELL_LABELS);
+		try {
+			System.setProperty(TransformationCollectors.SYSTEM_PROPERTY_CELL_LABELS, "true");
+			assertTrue(TransformationCollectors.isCellLabelsEnabled());
+
+			System.setProperty(TransformationCollectors.SYSTEM_PROPERTY_CELL_LABELS, "false");
+			assertFalse(TransformationCollectors.isCellLabelsEnabled());
+		} finally {
+			if (previous == null) {
+				System.clearProperty(TransformationCollectors.SYSTEM_PROPERTY_CELL_LABELS);
+			}
+			else {
+				System.setProperty(TransformationCollectors.SYSTEM_PROPERTY_CELL_LABELS, previous);
+			}
+		}
+	}
+
+	private void executeCells(TransformationCollectors collectors) {
+		for (int i = 0; i < CELL_COUNT; i++) {
+			collectors.cellExecuted("cell" + i, FUNCTION, TransformationMetrics.KIND_PROPERTY,
+					0.001);
+		}
+	}
+
+	/**
+	 * @return the number of time series of the cell execution time
+	 */
+	private int countCellSeries() {
+		int count = 0;
+		for (MetricFamilySamples family : Collections.list(registry.metricFamilySamples())) {
+			if (TransformationCollectors.CELL_SECONDS.equals(family.name)) {
+				for (Sample sample : family.samples) {
+					if ((TransformationCollectors.CELL_SECONDS + "_count").equals(sample.name)) {
+						count++;
+					}
+				}
+			}
+		}
+		return count;
+	}
+
+}
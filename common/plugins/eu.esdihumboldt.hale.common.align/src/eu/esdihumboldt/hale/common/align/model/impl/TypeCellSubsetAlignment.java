@@ -0,0 +1,176 @@
+/*
+ * Copyright (c) 2026 wetransform GmbH
+ *
+ * All rights reserved. This program and the accompanying materials are made
+ * available under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 3 of the License,
+ * or (at your option) any later version.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Contributors:
+ *     wetransform GmbH <http://www.wetransform.to>
+ */
+
+package eu.esdihumboldt.hale.common.align.model.impl;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import eu.esdihumboldt.hale.common.align.extension.function.custom.CustomPropertyFunction;
+import eu.esdihumboldt.hale.common.align.model.Alignment;
+import eu.esdihumboldt.hale.common.align.model.AlignmentUtil;
+import eu.esdihumboldt.hale.common.align.model.BaseAlignmentCell;
+import eu.esdihumboldt.hale.common.align.model.Cell;
+import eu.esdihumboldt.hale.common.align.model.EntityDefinition;
+import eu.esdihumboldt.hale.common.schema.SchemaSpaceID;
+import eu.esdihumboldt.hale.common.schema.model.TypeDefinition;
+
+/**
+ * Alignment view that only exposes a subset of the active type cells of an
+ * alignment, used to retransform only the type cells affected by a change.
+ * All other information is retrieved from the underlying alignment.
+ */
+public class TypeCellSubsetAlignment implements Alignment {
+
+	private final Alignment alignment;
+
+	private final Set<String> typeCellIds;
+
+	/**
+	 * Create an alignment view.
+	 * 
+	 * @param alignment the underlying alignment
+	 * @param typeCellIds the IDs of the type cells to include
+	 */
+	public TypeCellSubsetAlignment(Alignment alignment, Set<String> typeCellIds) {
+		super();
+		this.alignment = alignment;
+		this.typeCellIds = typeCellIds;
+	}
+
+	@Override
+	public Collection<? extends Cell> getActiveTypeCells() {
+		return filter(alignment.getActiveTypeCells());
+	}
+
+	@Override
+	public Collection<? extends Cell> getTypeCells() {
+		return filter(alignment.getTypeCells());
+	}
+
+	/**
+	 * Determine the type cells affected by changed cells. A changed type cell
+	 * affects itself, a changed property cell affects the type cells it
+	 * belongs to.
+	 * 
+	 * @param alignment the alignment, for removed cells the alignment the
+	 *            cells were removed from
+	 * @param changedCells the cells that were added, removed or changed
+	 * @return the IDs of the affected type cells
+	 */
+	public static Set<String> getAffectedTypeCells(Alignment alignment,
+			Iterable<? extends Cell> changedCells) {
+		Set<String> result = new HashSet<String>();
+		for (Cell cell : changedCells) {
+			if (AlignmentUtil.isTypeCell(cell)) {
+				result.add(cell.getId());
+			}
+			else {
+				for (Cell typeCell : alignment.getTypeCells(cell)) {
+					result.add(typeCell.getId());
+				}
+			}
+		}
+		return result;
+	}
+
+	private List<Cell> filter(Collection<? extends Cell> typeCells) {
+		List<Cell> result = new ArrayList<>();
+		for (Cell cell : typeCells) {
+			if (typeCellIds.contains(cell.getId())) {
+				result.add(cell);
+			}
+		}
+		return result;
+	}
+
+	@Override
+	public Map<String, URI> getBaseAlignments() {
+		return alignment.getBaseAlignments();
+	}
+
+	@Override
+	public Iterable<BaseAlignmentCell> getBaseAlignmentCells(URI baseAlignment) {
+		return alignment.getBaseAlignmentCells(baseAlignment);
+	}
+
+	@Override
+	public Map<String, CustomPropertyFunction> getAllCustomPropertyFunctions() {
+		return alignment.getAllCustomPropertyFunctions();
+	}
+
+	@Override
+	public Map<String, CustomPropertyFunction> getCustomPropertyFunctions() {
+		return alignment.getCustomPropertyFunctions();
+	}
+
+	@Override
+	public Map<String, CustomPropertyFunction> getBasePropertyFunctions() {
+		return alignment.getBasePropertyFunctions();
+	}
+
+	@Override
+	public void addCustomPropertyFunction(CustomPropertyFunction function) {
+		throw new UnsupportedOperationException("Alignment view may not be modified");
+	}
+
+	@Override
+	public Collection<? extends Cell> getCells() {
+		return alignment.getCells();
+	}
+
+	@Override
+	public Collection<? extends Cell> getCells(EntityDefinition entityDefinition) {
+		return alignment.getCells(entityDefinition);
+	}
+
+	@Override
+	public Collection<? extends Cell> getCells(EntityDefinition entityDefinition,
+			boolean includeInherited) {
+		return alignment.getCells(entityDefinition, includeInherited);
+	}
+
+	@Override
+	public Collection<? extends Cell> getCells(TypeDefinition type, SchemaSpaceID schemaSpace) {
+		return alignment.getCells(type, schemaSpace);
+	}
+
+	@Override
+	public Collection<? extends Cell> getPropertyCells(Cell typeCell) {
+		return alignment.getPropertyCells(typeCell);
+	}
+
+	@Override
+	public Collection<? extends Cell> getPropertyCells(Cell typeCell, boolean includeDisabled,
+			boolean ignoreEmptySource) {
+		return alignment.getPropertyCells(typeCell, includeDisabled, ignoreEmptySource);
+	}
+
+	@Override
+	public Collection<? extends Cell> getTypeCells(Cell queryCell) {
+		return alignment.getTypeCells(queryCell);
+	}
+
+	@Override
+	public Cell getCell(String cellId) {
+		return alignment.getCell(cellId);
+	}
+
+}
@@ -0,0 +1,186 @@
+/*
+ * Copyright (c) 2026 wetransform GmbH
+ *
+ * All rights reserved. This program and the accompanying materials are made
+ * available under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 3 of the License,
+ * or (at your option) any later version.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Contributors:
+ *     wetransform GmbH <http://www.wetransform.to>
+ */
+
+package eu.esdihumboldt.hale.common.align.transformation.metrics;
+
+import eu.esdihumboldt.util.metrics.MetricsProvider;
+import io.prometheus.client.CollectorRegistry;
+import io.prometheus.client.Counter;
+import io.prometheus.client.Summary;
+
+/**
+ * Prometheus metrics for transformation runs, see {@link TransformationMetrics}
+ * for recording them.<br>
+ * <br>
+ * The execution time of cells is labeled with the transformation function and
+ * the kind of cell. Labeling it with the cell ID in addition results in a
+ * time series for each cell of every alignment executed in the process, so it
+ * has to be enabled explicitly with the system property
+ * {@value #SYSTEM_PROPERTY_CELL_LABELS} or the environment variable
+ * {@value #ENV_CELL_LABELS}.
+ */
+public class TransformationCollectors implements MetricsProvider {
+
+	/**
+	 * Name of the system property that enables labeling the cell execution
+	 * time with the cell ID.
+	 */
+	public static final String SYSTEM_PROPERTY_CELL_LABELS = "hale.metrics.cellLabels";
+
+	/**
+	 * Name of the environment variable that enables labeling the cell
+	 * execution time with the cell ID.
+	 */
+	public static final String ENV_CELL_LABELS = "HALE_METRICS_CELL_LABELS";
+
+	/**
+	 * Name of the cell execution time metric.
+	 */
+	public static final String CELL_SECONDS = "hale_transformation_cell_seconds";
+
+	private final boolean cellLabels;
+
+	private final Summary cellSeconds;
+
+	private final Counter instances = Counter.build().name("hale_transformation_instances_total")
+			.help("Number of source instances processed and target instances created per type.")
+			.labelNames("type", "direction").create();
+
+	private final Summary scriptSeconds = Summary.build()
+			.name("hale_transformation_script_seconds")
+			.help("Time spent evaluating Groovy scripts in transformation functions.")
+			.labelNames("kind").create();
+
+	private final Summary handlerSeconds = Summary.build()
+			.name("hale_transformation_handler_seconds")
+			.help("Time spent partitioning instances in instance handlers (e.g. join and merge).")
+			.labelNames("handler").create();
+
+	private final Summary queueWaitSeconds = Summary.build()
+			.name("hale_transformation_queue_wait_seconds")
+			.help("Time spent waiting on queues during transformation.").labelNames("queue")
+			.create();
+
+	/**
+	 * Create the transformation metrics, labeling the cell execution time with
+	 * the cell ID only if enabled through the system property
+	 * {@value #SYSTEM_PROPERTY_CELL_LABELS} or the environment variable
+	 * {@value #ENV_CELL_LABELS}.
+	 */
+	public TransformationCollectors() {
+		this(isCellLabelsEnabled());
+	}
+
+	/**
+	 * Create the transformation metrics.
+	 * 
+	 * @param cellLabels if the cell execution time should be labeled with the
+	 *            cell ID
+	 */
+	public TransformationCollectors(boolean cellLabels) {
+		this.cellLabels = cellLabels;
+
+		Summary.Builder builder = Summary.build().name(CELL_SECONDS)
+				.help("Time spent executing transformation cells.");
+		if (cellLabels) {
+			builder.labelNames("cell", "function", "kind");
+		}
+		else {
+			builder.labelNames("function", "kind");
+		}
+		cellSeconds = builder.create();
+	}
+
+	/**
+	 * @return if labeling the cell execution time with the cell ID is enabled
+	 *         through the system property {@value #SYSTEM_PROPERTY_CELL_LABELS}
+	 *         or the environment variable {@value #ENV_CELL_LABELS}
+	 */
+	public static boolean isCellLabelsEnabled() {
+		String value = System.getProperty(SYSTEM_PROPERTY_CELL_LABELS);
+		if (value == null) {
+			value = System.getenv(ENV_CELL_LABELS);
+		}
+		return value != null && value.equalsIgnoreCase("true");
+	}
+
+	/**
+	 * Record the execution of a transformation cell.
+	 * 
+	 * @param cellId the cell ID
+	 * @param function the transformation function identifier
+	 * @param kind the kind of cell
+	 * @param seconds the execution time in seconds
+	 */
+	public void cellExecuted(String cellId, String function, String kind, double seconds) {
+		if (cellLabels) {
+			cellSeconds.labels(cellId, function, kind).observe(seconds);
+		}
+		else {
+			cellSeconds.labels(function, kind).observe(seconds);
+		}
+	}
+
+	/**
+	 * Count an instance.
+	 * 
+	 * @param type the type name
+	 * @param direction the direction, {@link TransformationMetrics#DIRECTION_IN}
+	 *            or {@link TransformationMetrics#DIRECTION_OUT}
+	 */
+	public void instance(String type, String direction) {
+		instances.labels(type, direction).inc();
+	}
+
+	/**
+	 * Record the evaluation of a Groovy script.
+	 * 
+	 * @param kind the kind of script
+	 * @param seconds the evaluation time in seconds
+	 */
+	public void scriptEvaluated(String kind, double seconds) {
+		scriptSeconds.labels(kind).observe(seconds);
+	}
+
+	/**
+	 * Record time spent in an instance handler.
+	 * 
+	 * @param handler the name of the instance handler
+	 * @param seconds the time in seconds
+	 */
+	public void handlerTime(String handler, double seconds) {
+		handlerSeconds.labels(handler).observe(seconds);
+	}
+
+	/**
+	 * Record time spent waiting on a queue.
+	 * 
+	 * @param queue the name of the queue
+	 * @param seconds the time in seconds
+	 */
+	public void queueWait(String queue, double seconds) {
+		queueWaitSeconds.labels(queue).observe(seconds);
+	}
+
+	@Override
+	public void bindTo(CollectorRegistry registry) {
+		cellSeconds.register(registry);
+		instances.register(registry);
+		scriptSeconds.register(registry);
+		handlerSeconds.register(registry);
+		queueWaitSeconds.register(registry);
+	}
+
+}
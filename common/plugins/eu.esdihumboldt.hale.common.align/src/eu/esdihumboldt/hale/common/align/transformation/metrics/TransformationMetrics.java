@@ -0,0 +1,344 @@
+/*
+ * Copyright (c) 2026 wetransform GmbH
+ *
+ * All rights reserved. This program and the accompanying materials are made
+ * available under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 3 of the License,
+ * or (at your option) any later version.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Contributors:
+ *     wetransform GmbH <http://www.wetransform.to>
+ */
+
+package eu.esdihumboldt.hale.common.align.transformation.metrics;
+
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import eu.esdihumboldt.hale.common.align.model.Cell;
+import eu.esdihumboldt.hale.common.schema.model.TypeDefinition;
+import eu.esdihumboldt.util.groovy.collector.StatsCollector;
+import eu.esdihumboldt.util.metrics.CollectorRegistryService;
+
+/**
+ * Timers and counters for transformation runs. The metrics are exported
+ * through the {@link CollectorRegistryService} and collected only if metric
+ * collection is enabled (environment variable <code>HALE_METRICS_ENABLED</code>
+ * ).<br>
+ * <br>
+ * In addition to the process wide metrics, the metrics of a single
+ * transformation run are accumulated in a {@link TransformationMetrics}
+ * object that is bound to the thread executing the transformation, and are
+ * added to the statistics of the transformation report when the run is
+ * finished. In contrast to the process wide metrics, the run metrics are
+ * always accumulated per cell.
+ *
+ * @see TransformationCollectors
+ */
+public class TransformationMetrics {
+
+	/**
+	 * Kind of cell for type cells.
+	 */
+	public static final String KIND_TYPE = "type";
+
+	/**
+	 * Kind of cell for property cells.
+	 */
+	public static final String KIND_PROPERTY = "property";
+
+	/**
+	 * Direction label for source instances.
+	 */
+	public static final String DIRECTION_IN = "in";
+
+	/**
+	 * Direction label for created target instances.
+	 */
+	public static final String DIRECTION_OUT = "out";
+
+	/**
+	 * Name of the statistics entry the run metrics are stored in.
+	 */
+	public static final String STATS_METRICS = "metrics";
+
+	/**
+	 * Accumulated time and count.
+	 */
+	private static class Timing {
+
+		private final LongAdder count = new LongAdder();
+		private final LongAdder nanos = new LongAdder();
+
+		private void add(long duration) {
+			count.increment();
+			nanos.add(duration);
+		}
+
+		private void writeTo(StatsCollector stats) {
+			stats.at("count").set(count.sum());
+			stats.at("seconds").set(toSeconds(nanos.sum()));
+		}
+
+	}
+
+	/**
+	 * Accumulated time for a cell.
+	 */
+	private static class CellTiming extends Timing {
+
+		private final String function;
+		private final String kind;
+
+		private CellTiming(String function, String kind) {
+			this.function = function;
+			this.kind = kind;
+		}
+
+	}
+
+	private static final TransformationCollectors COLLECTORS;
+
+	static {
+		TransformationCollectors[] registered = new TransformationCollectors[1];
+		CollectorRegistryService.DEFAULT.register(() -> {
+			registered[0] = new TransformationCollectors();
+			return registered[0];
+		});
+		COLLECTORS = registered[0];
+	}
+
+	private static final ThreadLocal<TransformationMetrics> current = new ThreadLocal<>();
+
+	private final ConcurrentMap<String, CellTiming> cells = new ConcurrentHashMap<>();
+	private final ConcurrentMap<String, LongAdder> instancesIn = new ConcurrentHashMap<>();
+	private final ConcurrentMap<String, LongAdder> instancesOut = new ConcurrentHashMap<>();
+	private final ConcurrentMap<String, Timing> scripts = new ConcurrentHashMap<>();
+	private final ConcurrentMap<String, Timing> handlers = new ConcurrentHashMap<>();
+	private final ConcurrentMap<String, Timing> queues = new ConcurrentHashMap<>();
+
+	private final long started = System.nanoTime();
+
+	/**
+	 * @return if metric collection is enabled
+	 */
+	public static boolean isEnabled() {
+		return COLLECTORS != null;
+	}
+
+	/**
+	 * Start collecting metrics for a transformation run and bind them to the
+	 * current thread.
+	 *
+	 * @return the metrics of the transformation run or <code>null</code> if
+	 *         metric collection is disabled
+	 */
+	public static TransformationMetrics start() {
+		if (!isEnabled()) {
+			return null;
+		}
+		TransformationMetrics metrics = new TransformationMetrics();
+		current.set(metrics);
+		return metrics;
+	}
+
+	/**
+	 * Bind the metrics of a transformation run to the current thread, e.g. for
+	 * work of the run executed in a different thread.
+	 *
+	 * @param metrics the metrics of the transformation run, may be
+	 *            <code>null</code> to unbind
+	 */
+	public static void bind(TransformationMetrics metrics) {
+		if (metrics == null) {
+			current.remove();
+		}
+		else {
+			current.set(metrics);
+		}
+	}
+
+	/**
+	 * @return the metrics of the transformation run bound to the current
+	 *         thread or <code>null</code>
+	 */
+	public static TransformationMetrics current() {
+		return (isEnabled()) ? (current.get()) : (null);
+	}
+
+	/**
+	 * Get the current time for measuring a duration.
+	 *
+	 * @return the current time in nanoseconds if metric collection is enabled,
+	 *         otherwise <code>0</code>
+	 */
+	public static long now() {
+		return (isEnabled()) ? (System.nanoTime()) : (0);
+	}
+
+	/**
+	 * Record the execution of a transformation cell.
+	 *
+	 * @param cell the cell
+	 * @param kind the kind of cell, {@link #KIND_TYPE} or
+	 *            {@link #KIND_PROPERTY}
+	 * @param start the start time as determined by {@link #now()}
+	 */
+	public static void cellExecuted(Cell cell, String kind, long start) {
+		if (!isEnabled()) {
+			return;
+		}
+		long duration = System.nanoTime() - start;
+		String function = cell.getTransformationIdentifier();
+		COLLECTORS.cellExecuted(cell.getId(), function, kind, toSeconds(duration));
+
+		TransformationMetrics metrics = current.get();
+		if (metrics != null) {
+			metrics.cells.computeIfAbsent(cell.getId(), id -> new CellTiming(function, kind))
+					.add(duration);
+		}
+	}
+
+	/**
+	 * Count a processed source instance.
+	 *
+	 * @param type the type of the source instance
+	 */
+	public static void sourceInstance(TypeDefinition type) {
+		countInstance(type, DIRECTION_IN);
+	}
+
+	/**
+	 * Count a created target instance.
+	 *
+	 * @param type the type of the target instance
+	 */
+	public static void targetInstance(TypeDefinition type) {
+		countInstance(type, DIRECTION_OUT);
+	}
+
+	private static void countInstance(TypeDefinition type, String direction) {
+		if (!isEnabled() || type == null) {
+			return;
+		}
+		String typeName = type.getName().toString();
+		COLLECTORS.instance(typeName, direction);
+
+		TransformationMetrics metrics = current.get();
+		if (metrics != null) {
+			ConcurrentMap<String, LongAdder> counts = (DIRECTION_IN.equals(direction))
+					? (metrics.instancesIn) : (metrics.instancesOut);
+			counts.computeIfAbsent(typeName, name -> new LongAdder()).increment();
+		}
+	}
+
+	/**
+	 * Record the evaluation of a Groovy script.
+	 *
+	 * @param kind the kind of script, {@link #KIND_TYPE} or
+	 *            {@link #KIND_PROPERTY}
+	 * @param start the start time as determined by {@link #now()}
+	 */
+	public static void scriptEvaluated(String kind, long start) {
+		if (!isEnabled()) {
+			return;
+		}
+		long duration = System.nanoTime() - start;
+		COLLECTORS.scriptEvaluated(kind, toSeconds(duration));
+
+		TransformationMetrics metrics = current.get();
+		if (metrics != null) {
+			metrics.scripts.computeIfAbsent(kind, k -> new Timing()).add(duration);
+		}
+	}
+
+	/**
+	 * Record time spent in an instance handler.
+	 *
+	 * @param handler the name of the instance handler
+	 * @param duration the duration in nanoseconds
+	 */
+	public static void handlerTime(String handler, long duration) {
+		if (!isEnabled()) {
+			return;
+		}
+		COLLECTORS.handlerTime(handler, toSeconds(duration));
+
+		TransformationMetrics metrics = current.get();
+		if (metrics != null) {
+			metrics.handlers.computeIfAbsent(handler, h -> new Timing()).add(duration);
+		}
+	}
+
+	/**
+	 * Record time spent waiting on a queue.
+	 *
+	 * @param queue the name of the queue
+	 * @param start the start time as determined by {@link #now()}
+	 */
+	public static void queueWait(String queue, long start) {
+		if (!isEnabled()) {
+			return;
+		}
+		long duration = System.nanoTime() - start;
+		COLLECTORS.queueWait(queue, toSeconds(duration));
+
+		TransformationMetrics metrics = current.get();
+		if (metrics != null) {
+			metrics.queues.computeIfAbsent(queue, q -> new Timing()).add(duration);
+		}
+	}
+
+	/**
+	 * Finish the transformation run, unbind the metrics from the current
+	 * thread and add them to the given statistics.
+	 *
+	 * @param stats the statistics of the transformation report
+	 */
+	public void finish(StatsCollector stats) {
+		if (current.get() == this) {
+			current.remove();
+		}
+
+		StatsCollector metrics = stats.at(STATS_METRICS);
+		metrics.at("seconds").set(toSeconds(System.nanoTime() - started));
+
+		StatsCollector cellStats = metrics.at("cells");
+		for (Entry<String, CellTiming> entry : cells.entrySet()) {
+			StatsCollector cell = cellStats.at(entry.getKey());
+			cell.at("function").set(entry.getValue().function);
+			cell.at("kind").set(entry.getValue().kind);
+			entry.getValue().writeTo(cell);
+		}
+
+		writeCounts(instancesIn, metrics.at("instances").at(DIRECTION_IN));
+		writeCounts(instancesOut, metrics.at("instances").at(DIRECTION_OUT));
+		writeTimings(scripts, metrics.at("scripts"));
+		writeTimings(handlers, metrics.at("handlers"));
+		writeTimings(queues, metrics.at("queues"));
+	}
+
+	private static void writeCounts(Map<String, LongAdder> counts, StatsCollector stats) {
+		for (Entry<String, LongAdder> entry : counts.entrySet()) {
+			stats.at(entry.getKey()).set(entry.getValue().sum());
+		}
+	}
+
+	private static void writeTimings(Map<String, Timing> timings, StatsCollector stats) {
+		for (Entry<String, Timing> entry : timings.entrySet()) {
+			entry.getValue().writeTo(stats.at(entry.getKey()));
+		}
+	}
+
+	private static double toSeconds(long nanos) {
+		return nanos / (double) TimeUnit.SECONDS.toNanos(1);
+	}
+
+}
@@ -0,0 +1,36 @@
+/*
+ * Copyright (c) 2026 wetransform GmbH
+ *
+ * All rights reserved. This program and the accompanying materials are made
+ * available under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 3 of the License,
+ * or (at your option) any later version.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Contributors:
+ *     wetransform GmbH <http://www.wetransform.to>
+ */
+
+package eu.esdihumboldt.hale.common.align.transformation.service;
+
+import eu.esdihumboldt.hale.common.align.model.Cell;
+import eu.esdihumboldt.hale.common.instance.model.Instance;
+
+/**
+ * Instance sink that is told which type cell created an instance. This allows
+ * keeping track of the instances of a type cell, e.g. to replace them when the
+ * cell changes, without storing the cell in the instances.
+ */
+public interface TypeCellInstanceSink extends InstanceSink {
+
+	/**
+	 * Adds an instance created by the given type cell to the sink.
+	 * 
+	 * @param instance the instance to add
+	 * @param typeCell the type cell that created the instance
+	 */
+	public void addInstance(Instance instance, Cell typeCell);
+
+}
@@ -18,6 +18,9 @@ package eu.esdihumboldt.hale.common.filter;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.stream.Collectors;
 
 import javax.xml.namespace.QName;
@@ -39,6 +42,7 @@ import eu.esdihumboldt.hale.common.core.report.SimpleLog;
 import eu.esdihumboldt.hale.common.filter.internal.EntityReplacementVisitor;
 import eu.esdihumboldt.hale.common.instance.helper.PropertyResolver;
 import eu.esdihumboldt.hale.common.instance.model.Instance;
+import eu.esdihumboldt.hale.common.schema.model.TypeDefinition;
 import eu.esdihumboldt.util.groovy.paths.Path;
 
 /**
@@ -57,6 +61,17 @@ public abstract class AbstractGeotoolsFilter
 	private final String filterTerm;
 	private final Filter internFilter;
 
+	/**
+	 * The property names referenced in the filter.
+	 */
+	private final Set<String> propertyNames;
+
+	/**
+	 * Types the property paths of the filter were checked for, mapped to the
+	 * information if all paths are unique.
+	 */
+	private final ConcurrentMap<TypeDefinition, Boolean> checkedTypes = new ConcurrentHashMap<>();
+
 	/**
 	 * Create a Geotools based filter.
 	 * 
@@ -70,6 +85,10 @@ public abstract class AbstractGeotoolsFilter
 		if (internFilter == Filter.EXCLUDE) {
 			log.warn("Parsed filter will not match any instance");
 		}
+
+		FilterAttributeExtractor visitor = new FilterAttributeExtractor();
+		internFilter.accept(visitor, null);
+		propertyNames = visitor.getAttributeNameSet();
 	}
 
 	/**
@@ -101,15 +120,36 @@ public abstract class AbstractGeotoolsFilter
 
 	@Override
 	public boolean match(Instance instance) {
-		PropertyResolver.isLastQueryPathUnique(); // reset the information on
-													// the last query
-		try {
-			return internFilter.evaluate(instance);
-		} finally {
-			if (!PropertyResolver.isLastQueryPathUnique()) {
-				log.warn("Evaluated filter with non-unique definition path: " + filterTerm);
+		TypeDefinition type = instance.getDefinition();
+		if (type != null && !checkedTypes.containsKey(type)) {
+			checkedTypes.put(type, checkUniquePaths(instance));
+		}
+
+		return internFilter.evaluate(instance);
+	}
+
+	/**
+	 * Check if the property names referenced in the filter can be uniquely
+	 * resolved for the type of the given instance. Resolving the paths
+	 * populates the compiled paths used during evaluation.
+	 * 
+	 * @param instance the instance
+	 * @return if all property paths are unique
+	 */
+	private boolean checkUniquePaths(Instance instance) {
+		boolean unique = true;
+		for (String name : propertyNames) {
+			if (!PropertyResolver
+					.getCompiledPath(instance.getDefinition(), instance.getDataSet(), name)
+					.isUnique()) {
+				unique = false;
 			}
 		}
+		if (!unique) {
+			log.warn("Filter with non-unique definition path for type "
+					+ instance.getDefinition().getName() + ": " + filterTerm);
+		}
+		return unique;
 	}
 
 	/**
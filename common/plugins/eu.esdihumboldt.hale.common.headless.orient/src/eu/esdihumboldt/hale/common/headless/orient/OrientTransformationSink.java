@@ -200,9 +200,18 @@ public class OrientTransformationSink extends AbstractTransformationSink {
 				} catch (IOException e) {
 					log.error("Failed to close OrientDB instance sink", e);
 				}
+
+				/*
+				 * complete the limbo sink after the instances queued before
+				 * were added, it hands over incomplete batches on completion
+				 */
+				limboSink.done(cancel);
 			}
 		});
-		limboSink.done(cancel);
+		if (cancel) {
+			// make sure the limbo sink does not block any more
+			limboSink.done(true);
+		}
 		complete.set(true);
 		dbThread.shutdown();
 	}
@@ -0,0 +1,196 @@
+/*
+ * Copyright (c) 2026 wetransform GmbH
+ *
+ * All rights reserved. This program and the accompanying materials are made
+ * available under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 3 of the License,
+ * or (at your option) any later version.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Contributors:
+ *     wetransform GmbH <http://www.wetransform.to>
+ */
+
+package eu.esdihumboldt.hale.common.headless.test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import eu.esdihumboldt.hale.common.headless.transform.LimboInstanceSink;
+import eu.esdihumboldt.hale.common.instance.model.Instance;
+import eu.esdihumboldt.hale.common.instance.model.ResourceIterator;
+import eu.esdihumboldt.hale.common.instance.model.impl.DefaultInstance;
+
+/**
+ * Tests for concurrently adding instances to a {@link LimboInstanceSink}.
+ * 
+ * @author Simon Templer
+ */
+public class LimboInstanceSinkTest {
+
+	private static final int PRODUCERS = 4;
+
+	private static final int INSTANCES_PER_PRODUCER = 5000;
+
+	private ExecutorService executor;
+
+	/**
+	 * Create the executor for producers and consumers.
+	 */
+	@Before
+	public void setUp() {
+		executor = Executors.newCachedThreadPool();
+	}
+
+	/**
+	 * Shut down the executor.
+	 */
+	@After
+	public void tearDown() {
+		executor.shutdownNow();
+	}
+
+	/**
+	 * Test if all instances added concurrently by multiple producers are
+	 * received by the consumer.
+	 * 
+	 * @throws Exception if the test fails
+	 */
+	@Test
+	public void testConcurrentProducers() throws Exception {
+		LimboInstanceSink sink = new LimboInstanceSink(64, 8);
+		Future<Set<Instance>> consumer = executor.submit(() -> consume(sink));
+
+		List<Future<?>> producers = new ArrayList<>();
+		for (int i = 0; i < PRODUCERS; i++) {
+			producers.add(executor.submit(() -> {
+				for (int j = 0; j < INSTANCES_PER_PRODUCER; j++) {
+					sink.addInstance(new DefaultInstance(null, null));
+				}
+			}));
+		}
+		for (Future<?> producer : producers) {
+			producer.get(30, TimeUnit.SECONDS);
+		}
+		sink.done(false);
+
+		Set<Instance> received = consumer.get(30, TimeUnit.SECONDS);
+		assertEquals(PRODUCERS * INSTANCES_PER_PRODUCER, received.size());
+	}
+
+	/**
+	 * Test if adding an instance after the sink is done fails.
+	 */
+	@Test(expected = IllegalStateException.class)
+	public void testAddAfterDone() {
+		LimboInstanceSink sink = new LimboInstanceSink(64, 8);
+		sink.addInstance(new DefaultInstance(null, null));
+		sink.done(false);
+
+		sink.addInstance(new DefaultInstance(null, null));
+	}
+
+	/**
+	 * Test if instances added after the sink was cancelled are ignored.
+	 * 
+	 * @throws Exception if the test fails
+	 */
+	@Test
+	public void testAddAfterCancel() throws Exception {
+		LimboInstanceSink sink = new LimboInstanceSink(64, 8);
+		sink.done(true);
+		sink.addInstance(new DefaultInstance(null, null));
+
+		try (ResourceIterator<Instance> it = sink.getInstanceCollection().iterator()) {
+			assertFalse(it.hasNext());
+		}
+	}
+
+	/**
+	 * Test if the instances of a batch that is not full are received before
+	 * the sink is done.
+	 * 
+	 * @throws Exception if the test fails
+	 */
+	@Test
+	public void testPartialBatch() throws Exception {
+		LimboInstanceSink sink = new LimboInstanceSink(64, 8);
+		Instance instance = new DefaultInstance(null, null);
+		executor.submit(() -> sink.addInstance(instance)).get(10, TimeUnit.SECONDS);
+
+		ResourceIterator<Instance> it = sink.getInstanceCollection().iterator();
+		Future<Instance> next = executor.submit(() -> it.hasNext() ? it.next() : null);
+		try {
+			assertEquals(instance, next.get(10, TimeUnit.SECONDS));
+		} finally {
+			sink.done(false);
+		}
+	}
+
+	/**
+	 * Test if instances added while the sink is done concurrently are either
+	 * rejected or received by the consumer.
+	 * 
+	 * @throws Exception if the test fails
+	 */
+	@Test
+	public void testDoneWhileAdding() throws Exception {
+		LimboInstanceSink sink = new LimboInstanceSink(64, 8);
+		Future<Set<Instance>> consumer = executor.submit(() -> consume(sink));
+
+		AtomicInteger added = new AtomicInteger();
+		List<Future<?>> producers = new ArrayList<>();
+		for (int i = 0; i < PRODUCERS; i++) {
+			producers.add(executor.submit(() -> {
+				while (true) {
+					try {
+						sink.addInstance(new DefaultInstance(null, null));
+					} catch (IllegalStateException e) {
+						// sink is done
+						return;
+					}
+					added.incrementAndGet();
+				}
+			}));
+		}
+
+		Thread.sleep(100);
+		sink.done(false);
+		for (Future<?> producer : producers) {
+			producer.get(30, TimeUnit.SECONDS);
+		}
+
+		Set<Instance> received = consumer.get(30, TimeUnit.SECONDS);
+		assertTrue(added.get() > 0);
+		assertEquals(added.get(), received.size());
+	}
+
+	private static Set<Instance> consume(LimboInstanceSink sink) {
+		Set<Instance> received = Collections.newSetFromMap(new IdentityHashMap<>());
+		try (ResourceIterator<Instance> it = sink.getInstanceCollection().iterator()) {
+			while (it.hasNext()) {
+				received.add(it.next());
+			}
+		}
+		return received;
+	}
+
+}
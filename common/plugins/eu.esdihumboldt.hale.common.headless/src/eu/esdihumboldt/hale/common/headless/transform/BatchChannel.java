@@ -0,0 +1,432 @@
+/*
+ * Copyright (c) 2026 wetransform GmbH
+ *
+ * All rights reserved. This program and the accompanying materials are made
+ * available under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 3 of the License,
+ * or (at your option) any later version.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Contributors:
+ *     wetransform GmbH <http://www.wetransform.to>
+ */
+
+package eu.esdihumboldt.hale.common.headless.transform;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+import eu.esdihumboldt.hale.common.align.transformation.metrics.TransformationMetrics;
+
+/**
+ * Bounded channel handing over elements in batches from one or more producer
+ * threads to a single consumer thread. Each producer thread fills its own
+ * batch, full batches are handed over through a lock-free queue. Producers are
+ * parked while the channel is full, the consumer is parked while no batch is
+ * available.<br>
+ * <br>
+ * A batch that is not full is handed over once its first element was added
+ * more than {@value #MAX_DELAY_MS} ms ago, either when the producer adds the
+ * next element or when the consumer is waiting for elements. The remaining
+ * elements are handed over when the channel is closed, so {@link #close()}
+ * must be called after all producers are done adding elements. The batches
+ * of the producer threads are released when the channel is closed or
+ * cancelled.
+ *
+ * @param <T> the element type
+ */
+class BatchChannel<T> {
+
+	/**
+	 * Maximum time a thread is parked before it checks the channel state
+	 * again.
+	 */
+	private static final long PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(50);
+
+	/**
+	 * Maximum time in milliseconds elements are held in a batch that is not
+	 * full before it is handed over.
+	 */
+	static final long MAX_DELAY_MS = 100;
+
+	private static final long MAX_DELAY_NANOS = TimeUnit.MILLISECONDS.toNanos(MAX_DELAY_MS);
+
+	/**
+	 * Batch filled by a producer thread. Access is synchronized on the batch,
+	 * as it may be handed over by other threads.
+	 */
+	private static class Batch {
+
+		private final Object[] elements;
+
+		private int size;
+
+		/**
+		 * Time the first element of the batch was added.
+		 */
+		private long started;
+
+		public Batch(int batchSize) {
+			elements = new Object[batchSize];
+		}
+
+		/**
+		 * Add an element to the batch.
+		 * 
+		 * @param element the element to add
+		 * @return the elements to hand over if the batch is full or was
+		 *         started too long ago, otherwise <code>null</code>
+		 */
+		public Object[] add(Object element) {
+			long now = System.nanoTime();
+			if (size == 0) {
+				started = now;
+			}
+			elements[size++] = element;
+			if (size == elements.length || now - started >= MAX_DELAY_NANOS) {
+				return take();
+			}
+			return null;
+		}
+
+		/**
+		 * @param now the current time
+		 * @return if the batch has elements and was started too long ago
+		 */
+		public boolean isDelayed(long now) {
+			return size > 0 && now - started >= MAX_DELAY_NANOS;
+		}
+
+		/**
+		 * Remove all elements from the batch.
+		 * 
+		 * @return the elements
+		 */
+		public Object[] take() {
+			Object[] result = Arrays.copyOf(elements, size);
+			clear();
+			return result;
+		}
+
+		public void clear() {
+			Arrays.fill(elements, 0, size, null);
+			size = 0;
+		}
+
+	}
+
+	private final String name;
+
+	private final int batchSize;
+
+	private final int maxBatches;
+
+	private final ConcurrentLinkedQueue<Object[]> batches = new ConcurrentLinkedQueue<>();
+
+	private final AtomicInteger queued = new AtomicInteger();
+
+	/**
+	 * Batches of the producer threads. In contrast to a thread local, the
+	 * batches don't outlive the channel on pooled threads.
+	 */
+	private final ConcurrentMap<Thread, Batch> producerBatches = new ConcurrentHashMap<>();
+
+	/**
+	 * Number of batches taken from producer batches, that are not handed over
+	 * yet.
+	 */
+	private final AtomicInteger handingOver = new AtomicInteger();
+
+	private final ConcurrentLinkedQueue<Thread> waitingProducers = new ConcurrentLinkedQueue<>();
+
+	private volatile Thread waitingConsumer;
+
+	/**
+	 * States if no more elements may be added.
+	 */
+	private volatile boolean closed;
+
+	/**
+	 * States if the elements of all producer batches were handed over after
+	 * the channel was closed.
+	 */
+	private volatile boolean complete;
+
+	private volatile boolean cancelled;
+
+	/**
+	 * The batch currently read by the consumer.
+	 */
+	private Object[] current;
+
+	/**
+	 * Index of the next element to read in the current batch.
+	 */
+	private int index;
+
+	/**
+	 * Create a batch channel.
+	 *
+	 * @param name the channel name, used for metrics on waiting times
+	 * @param capacity the maximum number of elements to hold in handed over
+	 *            batches, producers may exceed it by one batch each
+	 * @param batchSize the number of elements per batch
+	 */
+	public BatchChannel(String name, int capacity, int batchSize) {
+		this.name = name;
+		this.batchSize = Math.max(1, batchSize);
+		this.maxBatches = Math.max(1, capacity / this.batchSize);
+	}
+
+	/**
+	 * Add an element to the channel. Blocks if the channel is full. Elements
+	 * added after the channel was cancelled are ignored.
+	 *
+	 * @param element the element to add
+	 * @throws IllegalStateException if the channel was closed
+	 */
+	public void put(T element) {
+		if (cancelled) {
+			return;
+		}
+
+		Batch batch = producerBatches.computeIfAbsent(Thread.currentThread(),
+				thread -> new Batch(batchSize));
+		Object[] full;
+		synchronized (batch) {
+			// checked while holding the lock, so close() either hands over
+			// the element or it is rejected
+			if (closed) {
+				if (cancelled) {
+					return;
+				}
+				throw new IllegalStateException("Channel " + name + " is already closed");
+			}
+			full = batch.add(element);
+			if (full != null) {
+				handingOver.incrementAndGet();
+			}
+		}
+
+		if (full != null) {
+			try {
+				awaitCapacity();
+				if (!cancelled) {
+					enqueue(full);
+				}
+			} finally {
+				handingOver.decrementAndGet();
+				wakeConsumer();
+			}
+		}
+	}
+
+	/**
+	 * Close the channel after all elements were added. Hands over the
+	 * elements of all batches that are not full yet.
+	 */
+	public void close() {
+		if (closed) {
+			return;
+		}
+		closed = true;
+
+		for (Batch batch : producerBatches.values()) {
+			synchronized (batch) {
+				if (batch.size > 0) {
+					enqueue(batch.take());
+				}
+			}
+		}
+		producerBatches.clear();
+
+		complete = true;
+		wakeConsumer();
+	}
+
+	/**
+	 * Cancel the channel. Elements not yet consumed are discarded and neither
+	 * producers nor the consumer are blocked any more.
+	 */
+	public void cancel() {
+		cancelled = true;
+		closed = true;
+
+		for (Batch batch : producerBatches.values()) {
+			synchronized (batch) {
+				batch.clear();
+			}
+		}
+		producerBatches.clear();
+		batches.clear();
+		queued.set(0);
+
+		complete = true;
+		wakeProducers();
+		wakeConsumer();
+	}
+
+	/**
+	 * Determines if there is another element available. Blocks until an
+	 * element is available or the channel was closed. Must only be called by
+	 * the consumer thread.
+	 *
+	 * @return if there is another element available
+	 */
+	public boolean hasNext() {
+		if (cancelled) {
+			return false;
+		}
+		if (current != null && index < current.length) {
+			return true;
+		}
+
+		current = take();
+		index = 0;
+		return current != null;
+	}
+
+	/**
+	 * Get the next element. Blocks until an element is available or the
+	 * channel was closed. Must only be called by the consumer thread.
+	 *
+	 * @return the next element
+	 * @throws NoSuchElementException if there are no more elements
+	 */
+	@SuppressWarnings("unchecked")
+	public T next() {
+		if (!hasNext()) {
+			throw new NoSuchElementException();
+		}
+
+		T element = (T) current[index];
+		current[index++] = null;
+		return element;
+	}
+
+	/**
+	 * Take the next batch, blocks until a batch is available.
+	 *
+	 * @return the next batch or <code>null</code> if the channel was closed
+	 *         and there are no more batches
+	 */
+	private Object[] take() {
+		Object[] batch = poll();
+		if (batch != null) {
+			return batch;
+		}
+
+		long start = TransformationMetrics.now();
+		waitingConsumer = Thread.currentThread();
+		try {
+			while (true) {
+				batch = poll();
+				if (batch != null) {
+					return batch;
+				}
+				if (cancelled) {
+					return null;
+				}
+				if (complete && handingOver.get() == 0) {
+					// all batches were handed over
+					return poll();
+				}
+
+				// take over batches of producers that are idle
+				batch = takeDelayed();
+				if (batch != null) {
+					return batch;
+				}
+
+				LockSupport.parkNanos(this, PARK_NANOS);
+				if (Thread.currentThread().isInterrupted()) {
+					// shouldn't happen
+					return null;
+				}
+			}
+		} finally {
+			waitingConsumer = null;
+			TransformationMetrics.queueWait(name + "-take", start);
+		}
+	}
+
+	/**
+	 * Take the elements of a producer batch that is not full, but was started
+	 * too long ago.
+	 * 
+	 * @return the elements or <code>null</code> if there is no such batch
+	 */
+	private Object[] takeDelayed() {
+		long now = System.nanoTime();
+		for (Batch batch : producerBatches.values()) {
+			synchronized (batch) {
+				if (batch.isDelayed(now)) {
+					return batch.take();
+				}
+			}
+		}
+		return null;
+	}
+
+	private Object[] poll() {
+		Object[] batch = batches.poll();
+		if (batch != null) {
+			queued.decrementAndGet();
+			wakeProducers();
+		}
+		return batch;
+	}
+
+	/**
+	 * Block the calling producer thread while the channel is full.
+	 */
+	private void awaitCapacity() {
+		if (queued.get() < maxBatches) {
+			return;
+		}
+
+		long start = TransformationMetrics.now();
+		Thread thread = Thread.currentThread();
+		waitingProducers.add(thread);
+		try {
+			while (queued.get() >= maxBatches && !cancelled) {
+				LockSupport.parkNanos(this, PARK_NANOS);
+				if (thread.isInterrupted()) {
+					// rather exceed the capacity than discard the batch
+					return;
+				}
+			}
+		} finally {
+			waitingProducers.remove(thread);
+			TransformationMetrics.queueWait(name + "-put", start);
+		}
+	}
+
+	private void enqueue(Object[] batch) {
+		batches.offer(batch);
+		queued.incrementAndGet();
+		wakeConsumer();
+	}
+
+	private void wakeConsumer() {
+		Thread consumer = waitingConsumer;
+		if (consumer != null) {
+			LockSupport.unpark(consumer);
+		}
+	}
+
+	private void wakeProducers() {
+		for (Thread producer : waitingProducers) {
+			LockSupport.unpark(producer);
+		}
+	}
+
+}
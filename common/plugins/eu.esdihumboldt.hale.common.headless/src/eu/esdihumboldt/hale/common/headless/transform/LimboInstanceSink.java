@@ -16,64 +16,91 @@
 
 package eu.esdihumboldt.hale.common.headless.transform;
 
-import java.util.NoSuchElementException;
-import java.util.concurrent.BlockingDeque;
-import java.util.concurrent.LinkedBlockingDeque;
-
 import eu.esdihumboldt.hale.common.instance.model.Filter;
 import eu.esdihumboldt.hale.common.instance.model.Instance;
 import eu.esdihumboldt.hale.common.instance.model.InstanceCollection;
 import eu.esdihumboldt.hale.common.instance.model.InstanceReference;
 import eu.esdihumboldt.hale.common.instance.model.ResourceIterator;
-import eu.esdihumboldt.hale.common.instance.model.impl.DefaultInstance;
 import eu.esdihumboldt.hale.common.instance.model.impl.FilteredInstanceCollection;
 import eu.esdihumboldt.hale.common.instance.model.impl.PseudoInstanceReference;
 import eu.esdihumboldt.hale.common.schema.model.TypeIndex;
 
 /**
  * Sink that holds instances in a limbo, to be collected through the offered
- * instance collection.
+ * instance collection.<br>
+ * <br>
+ * Instances are handed over to the consumer in batches, instances may be
+ * added concurrently from multiple threads. Instances of incomplete batches
+ * are handed over after a short delay or when the sink is done, adding
+ * instances after the sink is done fails. The capacity and batch size default
+ * to the values of the system properties {@value #SYSTEM_PROPERTY_CAPACITY}
+ * and {@value #SYSTEM_PROPERTY_BATCH_SIZE}.
  * 
  * @author Kai Schwierczek
  */
 public class LimboInstanceSink extends AbstractTransformationSink {
 
-	private static final Instance END = new DefaultInstance(null, null);
+	/**
+	 * Name of the system property specifying the default capacity.
+	 */
+	public static final String SYSTEM_PROPERTY_CAPACITY = "hale.transform.limbo.capacity";
+
+	/**
+	 * Name of the system property specifying the default batch size.
+	 */
+	public static final String SYSTEM_PROPERTY_BATCH_SIZE = "hale.transform.limbo.batch";
+
+	/**
+	 * The default capacity.
+	 */
+	public static final int DEFAULT_CAPACITY = 512;
+
+	/**
+	 * The default batch size.
+	 */
+	public static final int DEFAULT_BATCH_SIZE = 32;
 
 	private final TargetInstanceCollection collection = new TargetInstanceCollection();
 	private TargetResourceIterator iterator = null;
-	private boolean cancelled;
 
-	// XXX use a maximum number of entries?
-	private final BlockingDeque<Instance> queue = new LinkedBlockingDeque<Instance>(50);
+	private final BatchChannel<Instance> channel;
+
+	/**
+	 * Create a limbo sink with the default capacity and batch size.
+	 */
+	public LimboInstanceSink() {
+		this(Integer.getInteger(SYSTEM_PROPERTY_CAPACITY, DEFAULT_CAPACITY),
+				Integer.getInteger(SYSTEM_PROPERTY_BATCH_SIZE, DEFAULT_BATCH_SIZE));
+	}
+
+	/**
+	 * Create a limbo sink.
+	 * 
+	 * @param capacity the maximum number of instances held in the limbo before
+	 *            adding instances blocks
+	 * @param batchSize the number of instances handed over to the consumer at
+	 *            once
+	 */
+	public LimboInstanceSink(int capacity, int batchSize) {
+		super();
+
+		channel = new BatchChannel<>("limbo", capacity, batchSize);
+	}
 
 	@Override
-	protected synchronized void internalAddInstance(Instance instance) {
-		// ignore incoming instances if we are cancelled
-		if (cancelled)
-			return;
-		try {
-			queue.put(instance);
-		} catch (InterruptedException e) {
-			// ignore
-		}
+	protected void internalAddInstance(Instance instance) {
+		// incoming instances are ignored if we are cancelled
+		channel.put(instance);
 	}
 
 	@Override
 	protected void internalDone(boolean cancel) {
-		try {
-			if (cancel) {
-				cancelled = true;
-				// ensure that the iterator doesn't block anymore
-				if (queue.remainingCapacity() > 10)
-					queue.putFirst(END);
-				// ensure that addInstance doesn't block anymore
-				queue.clear();
-			}
-			// in either case add another end indicator
-			queue.put(END);
-		} catch (InterruptedException e) {
-			// ignore
+		if (cancel) {
+			// ensure that neither the iterator nor addInstance block anymore
+			channel.cancel();
+		}
+		else {
+			channel.close();
 		}
 	}
 
@@ -89,49 +116,25 @@ public class LimboInstanceSink extends AbstractTransformationSink {
 
 	@Override
 	public void dispose() {
-		queue.clear();
+		channel.cancel();
 
 		super.dispose();
 	}
 
+	/**
+	 * Iterator on the instances in the limbo, must only be used from a single
+	 * thread.
+	 */
 	private class TargetResourceIterator implements ResourceIterator<Instance> {
 
-		private Instance next = null;
-		private boolean endRead = false;
-
 		/**
 		 * @see java.util.Iterator#hasNext()
 		 */
 		@Override
 		public boolean hasNext() {
-			synchronized (this) {
-				// first check whether a previous hasNext call got something
-				if (next != null)
-					return true;
-
-				// then check whether the execution was cancelled
-				// or we are finished because we read the END instance
-				if (cancelled || endRead)
-					return false;
-
-				// hasNext has to block until it knows whether the
-				// transformation is done, or more instances are coming
-				Instance result;
-				try {
-					result = queue.take();
-				} catch (InterruptedException e) {
-					// shouldn't happen
-					return false;
-				}
-				if (result == END) {
-					endRead = true;
-					return false;
-				}
-				else {
-					next = result;
-					return true;
-				}
-			}
+			// blocks until it knows whether the transformation is done, or
+			// more instances are coming
+			return channel.hasNext();
 		}
 
 		/**
@@ -139,16 +142,7 @@ public class LimboInstanceSink extends AbstractTransformationSink {
 		 */
 		@Override
 		public Instance next() {
-			synchronized (this) {
-				if (hasNext()) {
-					// take the element from hasNext and set it back to null
-					Instance tmp = next;
-					next = null;
-					return tmp;
-				}
-				else
-					throw new NoSuchElementException();
-			}
+			return channel.next();
 		}
 
 		/**
@@ -19,6 +19,7 @@ import java.io.File;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
 
 import javax.annotation.Nullable;
@@ -58,6 +59,7 @@ import eu.esdihumboldt.hale.common.headless.transform.extension.TransformationSi
 import eu.esdihumboldt.hale.common.headless.transform.filter.InstanceFilterDefinition;
 import eu.esdihumboldt.hale.common.headless.transform.validate.impl.DefaultTransformedInstanceValidator;
 import eu.esdihumboldt.hale.common.instance.index.InstanceIndexService;
+import eu.esdihumboldt.hale.common.instance.io.InlineValidation;
 import eu.esdihumboldt.hale.common.instance.io.InstanceIO;
 import eu.esdihumboldt.hale.common.instance.io.InstanceReader;
 import eu.esdihumboldt.hale.common.instance.io.InstanceValidator;
@@ -235,6 +237,12 @@ public class Transformation {
 		if (validators != null && !validators.isEmpty()) {
 			validationJob = new ValidationJob(validators, reportHandler, target, environment);
 		}
+		else if (target instanceof InlineValidation
+				&& ((InlineValidation) target).isInlineValidationEnabled()) {
+			// publish the reports of the validation done while writing
+			validationJob = new ValidationJob(Collections.<InstanceValidator> emptyList(),
+					reportHandler, target, environment);
+		}
 		return transform(sources, targetSink, exportJob, validationJob, environment.getAlignment(),
 				environment.getSourceSchema(), reportHandler, environment, processId, settings);
 	}
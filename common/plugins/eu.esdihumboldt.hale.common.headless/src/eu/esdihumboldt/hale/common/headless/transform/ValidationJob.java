@@ -35,6 +35,7 @@ import eu.esdihumboldt.hale.common.core.io.report.impl.IOMessageImpl;
 import eu.esdihumboldt.hale.common.core.io.supplier.Locatable;
 import eu.esdihumboldt.hale.common.core.report.ReportHandler;
 import eu.esdihumboldt.hale.common.core.service.ServiceProvider;
+import eu.esdihumboldt.hale.common.instance.io.InlineValidation;
 import eu.esdihumboldt.hale.common.instance.io.InstanceValidator;
 import eu.esdihumboldt.hale.common.instance.io.InstanceWriter;
 
@@ -57,7 +58,9 @@ public class ValidationJob extends AbstractTransformationJob {
 	/**
 	 * Create a job for validating transformed instances.
 	 * 
-	 * @param validators the validators
+	 * @param validators the validators, may be empty if only the reports of a
+	 *            writer supporting {@link InlineValidation} should be
+	 *            published
 	 * @param reportHandler the report handler
 	 * @param writer the instance writer
 	 * @param serviceProvider the service provider
@@ -79,7 +82,30 @@ public class ValidationJob extends AbstractTransformationJob {
 	protected IStatus run(IProgressMonitor monitor) {
 		boolean successful = true;
 
+		InlineValidation inline = null;
+		if (writer instanceof InlineValidation
+				&& ((InlineValidation) writer).isInlineValidationEnabled()) {
+			inline = (InlineValidation) writer;
+
+			// publish reports of validation done while writing
+			for (IOReport report : inline.getInlineValidationReports()) {
+				successful &= publish(report);
+			}
+		}
+
 		for (InstanceValidator validator : this.validators) {
+			if (inline != null) {
+				// the validation schemas are needed to decide if the validator
+				// is covered
+				List<? extends Locatable> schemas = writer.getValidationSchemas();
+				validator.setSchemas(schemas.toArray(new Locatable[schemas.size()]));
+
+				if (inline.isCoveredByInlineValidation(validator)) {
+					// no need to read the written data again
+					continue;
+				}
+			}
+
 			IOReporter defaultReporter = validator.createReporter();
 			defaultReporter.setSuccess(false);
 			IOReport report = defaultReporter;
@@ -116,19 +142,7 @@ public class ValidationJob extends AbstractTransformationJob {
 				return Status.CANCEL_STATUS;
 			}
 
-			// add report to report service
-			reportHandler.publishReport(report);
-
-			// show message to user
-			if (report.isSuccess()) {
-				// info message
-				log.info(report.getSummary());
-			}
-			else {
-				// error message
-				log.error(report.getSummary());
-				successful = false;
-			}
+			successful &= publish(report);
 		}
 
 		reset();
@@ -142,6 +156,29 @@ public class ValidationJob extends AbstractTransformationJob {
 		}
 	}
 
+	/**
+	 * Publish a validation report.
+	 * 
+	 * @param report the validation report
+	 * @return if the validation was successful
+	 */
+	private boolean publish(IOReport report) {
+		// add report to report service
+		reportHandler.publishReport(report);
+
+		// show message to user
+		if (report.isSuccess()) {
+			// info message
+			log.info(report.getSummary());
+			return true;
+		}
+		else {
+			// error message
+			log.error(report.getSummary());
+			return false;
+		}
+	}
+
 	/**
 	 * Reset the Job so no references to other objects reside.
 	 * 
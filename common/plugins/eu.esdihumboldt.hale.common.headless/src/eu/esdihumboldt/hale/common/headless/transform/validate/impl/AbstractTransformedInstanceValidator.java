@@ -15,6 +15,9 @@
 
 package eu.esdihumboldt.hale.common.headless.transform.validate.impl;
 
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
 import de.fhg.igd.slf4jplus.ALogger;
 import de.fhg.igd.slf4jplus.ALoggerFactory;
 import eu.esdihumboldt.hale.common.core.report.ReportHandler;
@@ -24,7 +27,9 @@ import eu.esdihumboldt.hale.common.instance.extension.validation.report.impl.Def
 import eu.esdihumboldt.hale.common.instance.model.Instance;
 
 /**
- * Abstract base class for transformed instance validators.
+ * Abstract base class for transformed instance validators. Instances may be
+ * validated concurrently, each thread reports to a separate reporter and the
+ * messages are merged when the validation is completed.
  * 
  * @author Simon Templer
  */
@@ -36,6 +41,22 @@ public abstract class AbstractTransformedInstanceValidator implements Transforme
 	private final ReportHandler reportHandler;
 	private final InstanceValidationReporter reporter;
 
+	/**
+	 * Reporters of the threads validating instances.
+	 */
+	private final Queue<InstanceValidationReporter> threadReporters = new ConcurrentLinkedQueue<>();
+
+	private final ThreadLocal<InstanceValidationReporter> threadReporter = new ThreadLocal<InstanceValidationReporter>() {
+
+		@Override
+		protected InstanceValidationReporter initialValue() {
+			InstanceValidationReporter created = new DefaultInstanceValidationReporter(false);
+			threadReporters.add(created);
+			return created;
+		}
+
+	};
+
 	/**
 	 * Constructor.
 	 * 
@@ -51,12 +72,17 @@ public abstract class AbstractTransformedInstanceValidator implements Transforme
 
 	@Override
 	public void validateInstance(Instance instance) {
-		validateInstance(instance, reporter);
+		validateInstance(instance, threadReporter.get());
 	}
 
 	@Override
 	public void validateCompleted() {
 		try {
+			InstanceValidationReporter validated;
+			while ((validated = threadReporters.poll()) != null) {
+				reporter.importMessages(validated);
+			}
+
 			validateCompleted(reporter);
 			reporter.setSuccess(true);
 		} catch (Exception e) {
@@ -19,6 +19,7 @@ package eu.esdihumboldt.hale.common.instance.helper;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
 
 import java.io.IOException;
@@ -117,6 +118,39 @@ public class PropertyResolverTest {
 		}
 	}
 
+	/**
+	 * Test retrieving values with a compiled property path.
+	 * 
+	 * @throws Exception if an error occurs
+	 */
+	@Test
+	public void testCompiledPathShiporder() throws Exception {
+		InstanceCollection instances = loadXMLInstances(
+				getClass().getResource("/data/shiporder/shiporder.xsd").toURI(), getClass()
+						.getResource("/data/shiporder/shiporder.xml").toURI());
+
+		ResourceIterator<Instance> it = instances.iterator();
+		try {
+			assertTrue(it.hasNext());
+
+			Instance instance = it.next();
+			assertNotNull(instance);
+
+			CompiledPropertyPath path = PropertyResolver.getCompiledPath(instance.getDefinition(),
+					instance.getDataSet(), "shipto.city");
+			assertFalse(path.isEmpty());
+			assertTrue(path.isUnique());
+			assertEquals("4000 Stavanger", path.getValues(instance, true).iterator().next());
+
+			CompiledPropertyPath missing = PropertyResolver
+					.getCompiledPath(instance.getDefinition(), instance.getDataSet(), "shipto.foo");
+			assertTrue(missing.isEmpty());
+			assertNull(missing.getValues(instance, true));
+		} finally {
+			it.close();
+		}
+	}
+
 	/**
 	 * Test with a wrapper instance that has no definition itself.
 	 * 
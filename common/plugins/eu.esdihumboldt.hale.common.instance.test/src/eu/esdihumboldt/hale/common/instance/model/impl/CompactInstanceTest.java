@@ -0,0 +1,155 @@
+/*
+ * Copyright (c) 2026 wetransform GmbH
+ *
+ * All rights reserved. This program and the accompanying materials are made
+ * available under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 3 of the License,
+ * or (at your option) any later version.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Contributors:
+ *     wetransform GmbH <http://www.wetransform.to>
+ */
+
+package eu.esdihumboldt.hale.common.instance.model.impl;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import javax.xml.namespace.QName;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import eu.esdihumboldt.hale.common.instance.model.Instance;
+import eu.esdihumboldt.hale.common.instance.model.MutableInstance;
+import eu.esdihumboldt.hale.common.schema.model.impl.DefaultPropertyDefinition;
+import eu.esdihumboldt.hale.common.schema.model.impl.DefaultTypeDefinition;
+
+/**
+ * Tests for {@link CompactInstance}.
+ */
+public class CompactInstanceTest {
+
+	private static final QName NAME = new QName("name");
+
+	private static final QName VALUE = new QName("value");
+
+	private static final QName UNDECLARED = new QName("undeclared");
+
+	private DefaultTypeDefinition type;
+
+	/**
+	 * Create the test type.
+	 */
+	@Before
+	public void createType() {
+		DefaultTypeDefinition stringType = new DefaultTypeDefinition(new QName("string"));
+		type = new DefaultTypeDefinition(new QName("Test"));
+		new DefaultPropertyDefinition(NAME, type, stringType);
+		new DefaultPropertyDefinition(VALUE, type, stringType);
+	}
+
+	/**
+	 * Test adding and setting property values.
+	 */
+	@Test
+	public void testProperties() {
+		MutableInstance instance = new CompactInstance(type, null);
+		assertEquals(0, instance.getProperty(NAME).length);
+		assertTrue(!instance.getPropertyNames().iterator().hasNext());
+
+		instance.addProperty(NAME, "a");
+		assertArrayEquals(new Object[] { "a" }, instance.getProperty(NAME));
+
+		instance.addProperty(NAME, null);
+		instance.addProperty(NAME, "c");
+		assertArrayEquals(new Object[] { "a", null, "c" }, instance.getProperty(NAME));
+
+		instance.setProperty(VALUE, (Object) null);
+		assertArrayEquals(new Object[] { null }, instance.getProperty(VALUE));
+
+		instance.setProperty(VALUE);
+		assertEquals(0, instance.getProperty(VALUE).length);
+
+		instance.addProperty(UNDECLARED, 1);
+		instance.addProperty(UNDECLARED, 2);
+		assertArrayEquals(new Object[] { 1, 2 }, instance.getProperty(UNDECLARED));
+
+		Set<QName> names = new HashSet<>();
+		for (QName name : instance.getPropertyNames()) {
+			names.add(name);
+		}
+		assertEquals(2, names.size());
+		assertTrue(names.contains(NAME));
+		assertTrue(names.contains(UNDECLARED));
+	}
+
+	/**
+	 * Test that values are not copied when retrieved and that the retrieved
+	 * array is not affected by adding further values.
+	 */
+	@Test
+	public void testNoCopy() {
+		MutableInstance instance = new CompactInstance(type, null);
+		instance.setProperty(NAME, "a", "b");
+
+		Object[] values = instance.getProperty(NAME);
+		assertSame(values, instance.getProperty(NAME));
+
+		instance.addProperty(NAME, "c");
+		assertArrayEquals(new Object[] { "a", "b" }, values);
+		assertArrayEquals(new Object[] { "a", "b", "c" }, instance.getProperty(NAME));
+	}
+
+	/**
+	 * Test that types with the same name are distinguished.
+	 */
+	@Test
+	public void testSameName() {
+		DefaultTypeDefinition other = new DefaultTypeDefinition(type.getName());
+		new DefaultPropertyDefinition(VALUE, other, type);
+
+		MutableInstance instance = new CompactInstance(type, null);
+		instance.addProperty(NAME, "a");
+		MutableInstance otherInstance = new CompactInstance(other, null);
+		otherInstance.addProperty(VALUE, "b");
+		otherInstance.addProperty(NAME, "c");
+
+		assertArrayEquals(new Object[] { "a" }, instance.getProperty(NAME));
+		assertEquals(0, instance.getProperty(VALUE).length);
+		assertArrayEquals(new Object[] { "b" }, otherInstance.getProperty(VALUE));
+		assertArrayEquals(new Object[] { "c" }, otherInstance.getProperty(NAME));
+	}
+
+	/**
+	 * Test copying an instance.
+	 */
+	@Test
+	public void testCopy() {
+		DefaultInstance org = new DefaultInstance(type, null);
+		org.setValue("value");
+		org.setProperty(NAME, "a", "b");
+		DefaultInstance child = new DefaultInstance(type, null);
+		child.addProperty(VALUE, 42);
+		org.addProperty(VALUE, child);
+		org.putMetaData("meta", "data");
+
+		CompactInstance copy = new CompactInstance(org);
+		assertEquals("value", copy.getValue());
+		assertArrayEquals(new Object[] { "a", "b" }, copy.getProperty(NAME));
+		assertArrayEquals(new Object[] { "data" }, copy.getMetaData("meta").toArray());
+
+		Object copiedChild = copy.getProperty(VALUE)[0];
+		assertTrue(copiedChild instanceof CompactInstance);
+		assertArrayEquals(new Object[] { 42 }, ((Instance) copiedChild).getProperty(VALUE));
+	}
+
+}
@@ -18,6 +18,7 @@ package eu.esdihumboldt.hale.common.instance;
 import eu.esdihumboldt.hale.common.core.service.ServiceFactory;
 import eu.esdihumboldt.hale.common.core.service.ServiceProvider;
 import eu.esdihumboldt.hale.common.instance.model.InstanceFactory;
+import eu.esdihumboldt.hale.common.instance.model.impl.CompactInstanceFactory;
 import eu.esdihumboldt.hale.common.instance.model.impl.DefaultInstanceFactory;
 
 /**
@@ -31,6 +32,9 @@ public class InstanceServiceFactory implements ServiceFactory {
 	@Override
 	public <T> T createService(Class<T> serviceInterface, ServiceProvider serviceLocator) {
 		if (InstanceFactory.class.equals(serviceInterface)) {
+			if (CompactInstanceFactory.isEnabled()) {
+				return (T) new CompactInstanceFactory();
+			}
 			return (T) new DefaultInstanceFactory();
 		}
 		return null;
@@ -16,11 +16,13 @@
 
 package eu.esdihumboldt.hale.common.instance.extension.validation;
 
-import java.util.Hashtable;
-import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Supplier;
 
 /**
- * Context for instance validation.
+ * Context for instance validation. The context may be used concurrently by
+ * multiple threads validating instances.
  * 
  * @author Kai Schwierczek
  */
@@ -30,13 +32,13 @@ public class InstanceValidationContext {
 	// for every instance. The current map is a context for a whole validation
 	// run.
 
-	private final Map<Class<? extends ConstraintValidator>, Object> contextMap;
+	private final ConcurrentMap<Class<? extends ConstraintValidator>, Object> contextMap;
 
 	/**
 	 * Constructs a new context object.
 	 */
 	public InstanceValidationContext() {
-		contextMap = new Hashtable<Class<? extends ConstraintValidator>, Object>();
+		contextMap = new ConcurrentHashMap<Class<? extends ConstraintValidator>, Object>();
 	}
 
 	/**
@@ -49,6 +51,22 @@ public class InstanceValidationContext {
 		return contextMap.get(validatorClass);
 	}
 
+	/**
+	 * Returns the object associated with the given validator class. If none
+	 * was set yet, the object is created and associated atomically.
+	 * 
+	 * @param <T> the type of the context object
+	 * @param validatorClass the validator class
+	 * @param factory creates the context object if none was set, it may not
+	 *            return <code>null</code>
+	 * @return the associated object
+	 */
+	@SuppressWarnings("unchecked")
+	public <T> T getContext(Class<? extends ConstraintValidator> validatorClass,
+			Supplier<? extends T> factory) {
+		return (T) contextMap.computeIfAbsent(validatorClass, key -> factory.get());
+	}
+
 	/**
 	 * Returns true, if and only if there is a context object present for the
 	 * given validator class.
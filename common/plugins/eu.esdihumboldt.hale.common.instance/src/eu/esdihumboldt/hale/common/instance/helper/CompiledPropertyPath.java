@@ -0,0 +1,134 @@
+/*
+ * Copyright (c) 2026 wetransform GmbH
+ *
+ * All rights reserved. This program and the accompanying materials are made
+ * available under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 3 of the License,
+ * or (at your option) any later version.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Contributors:
+ *     wetransform GmbH <http://www.wetransform.to>
+ */
+
+package eu.esdihumboldt.hale.common.instance.helper;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+import javax.xml.namespace.QName;
+
+import eu.esdihumboldt.hale.common.instance.model.Group;
+import eu.esdihumboldt.hale.common.instance.model.Instance;
+
+/**
+ * A property path query resolved against a specific type definition. Holds
+ * all fully qualified paths matching the query, so values can be retrieved
+ * from instances of the type without analyzing the definitions again.
+ *
+ * @see PropertyResolver#getCompiledPath(eu.esdihumboldt.hale.common.schema.model.TypeDefinition,
+ *      eu.esdihumboldt.hale.common.instance.model.DataSet, String)
+ */
+public class CompiledPropertyPath {
+
+	private final QName[][] paths;
+
+	/**
+	 * Create a compiled property path.
+	 *
+	 * @param paths the fully qualified paths matching the query
+	 */
+	public CompiledPropertyPath(List<? extends List<QName>> paths) {
+		this.paths = new QName[paths.size()][];
+		for (int i = 0; i < this.paths.length; i++) {
+			this.paths[i] = paths.get(i).toArray(new QName[paths.get(i).size()]);
+		}
+	}
+
+	/**
+	 * @return if no path matches the query
+	 */
+	public boolean isEmpty() {
+		return paths.length == 0;
+	}
+
+	/**
+	 * @return if there is at most one path matching the query
+	 */
+	public boolean isUnique() {
+		return paths.length <= 1;
+	}
+
+	/**
+	 * @return the fully qualified paths matching the query
+	 */
+	public List<List<QName>> getPaths() {
+		List<List<QName>> result = new ArrayList<>(paths.length);
+		for (QName[] path : paths) {
+			result.add(Collections.unmodifiableList(Arrays.asList(path)));
+		}
+		return Collections.unmodifiableList(result);
+	}
+
+	/**
+	 * Retrieve the values of the given instance at the paths.
+	 *
+	 * @param instance the instance, its type must be the type definition the
+	 *            path was compiled for
+	 * @param forceValue if this is <code>true</code>, when the object at the
+	 *            end of a path is an instance, its value will be returned
+	 * @return the values or instances contained in the instance, or
+	 *         <code>null</code> if there are none
+	 */
+	public Collection<Object> getValues(Instance instance, boolean forceValue) {
+		List<Object> result = null;
+
+		for (QName[] path : paths) {
+			Object[] props = instance.getProperty(path[0]);
+			if (props == null) {
+				continue;
+			}
+
+			List<Object> current = Arrays.asList(props);
+			for (int i = 1; i < path.length && !current.isEmpty(); i++) {
+				List<Object> next = new ArrayList<>();
+				for (Object prop : current) {
+					if (prop instanceof Group) {
+						Object[] nextProps = ((Group) prop).getProperty(path[i]);
+						if (nextProps != null) {
+							Collections.addAll(next, nextProps);
+						}
+					}
+				}
+				current = next;
+			}
+
+			for (Object prop : current) {
+				Object value;
+				if (prop instanceof Instance) {
+					value = (forceValue) ? (((Instance) prop).getValue()) : (prop);
+				}
+				else if (prop instanceof Group && forceValue) {
+					// group has no value
+					continue;
+				}
+				else {
+					value = prop;
+				}
+
+				if (result == null) {
+					result = new ArrayList<>();
+				}
+				result.add(value);
+			}
+		}
+
+		return result;
+	}
+
+}
@@ -18,7 +18,6 @@ package eu.esdihumboldt.hale.common.instance.helper;
 
 import java.util.ArrayList;
 import java.util.Collection;
-import java.util.Collections;
 import java.util.Iterator;
 import java.util.LinkedList;
 import java.util.List;
@@ -35,7 +34,6 @@ import com.google.common.collect.Collections2;
 import eu.esdihumboldt.hale.common.instance.model.DataSet;
 import eu.esdihumboldt.hale.common.instance.model.Group;
 import eu.esdihumboldt.hale.common.instance.model.Instance;
-import eu.esdihumboldt.hale.common.instance.model.impl.DefaultInstance;
 import eu.esdihumboldt.hale.common.schema.model.ChildDefinition;
 import eu.esdihumboldt.hale.common.schema.model.TypeDefinition;
 
@@ -53,7 +51,7 @@ public class PropertyResolver {
 
 	// the cache for storing found paths in instance definitions for certain
 	// querys
-	private static final Map<QueryDefinitionIndex, LinkedList<String>> definitioncache = new ConcurrentHashMap<QueryDefinitionIndex, LinkedList<String>>();
+	private static final Map<QueryDefinitionIndex, CompiledPropertyPath> definitioncache = new ConcurrentHashMap<QueryDefinitionIndex, CompiledPropertyPath>();
 
 	/**
 	 * This variable holds state about the last
@@ -150,79 +148,13 @@ public class PropertyResolver {
 			}
 			return result;
 		}
-		// definition based check and retrieval
-		if (hasProperty(instance, propertyPath)) {
-			LinkedList<String> paths = getQueryPath(instance, propertyPath);
-			Collection<Object> result = new ArrayList<Object>();
-
-			for (String path : paths) {
-				List<QName> qnames = getQNamesFromPath(path);
-
-				Object[] props = instance.getProperty(qnames.get(0));
-
-				if (props == null) {
-					continue;
-				}
-
-				Queue<Object> currentQueue = new LinkedList<Object>();
-				Queue<Object> nextQueue = new LinkedList<Object>();
-
-				for (Object prop : props) {
-					currentQueue.add(prop);
-				}
-
-				for (int i = 1; i < qnames.size(); i++) {
-					while (!currentQueue.isEmpty()) {
-						Object prop = currentQueue.poll();
-
-						if (prop instanceof Group) {
-							Object[] nextPropertys = ((Group) prop).getProperty(qnames.get(i));
-
-							if (nextPropertys == null) {
-								continue;
-							}
-
-							for (Object np : nextPropertys) {
-								nextQueue.add(np);
-							}
-						}
-						else {
-							// TODO ERROR wrong path given from the cache
-						}
-					}
-
-					while (!nextQueue.isEmpty()) {
-						currentQueue.add(nextQueue.poll());
-					}
-				}
-
-				while (!currentQueue.isEmpty()) {
-					Object finalProp = currentQueue.poll();
-
-					if (finalProp instanceof Instance) {
-						if (forceValue) {
-							result.add(((Instance) finalProp).getValue());
-						}
-						else {
-							result.add(finalProp);
-						}
-					}
-					else if (finalProp instanceof Group && forceValue) {
-						// TODO error
-					}
-					else
-						result.add(finalProp);
-				}
-			}
-			if (!result.isEmpty()) {
-				return result;
-			}
-			else {
-				return null;
-			}
-		}
-		else
+		// definition based retrieval
+		CompiledPropertyPath path = getCompiledPath(instance.getDefinition(),
+				instance.getDataSet(), propertyPath);
+		if (path.isEmpty()) {
 			return null;
+		}
+		return path.getValues(instance, forceValue);
 	}
 
 	private static String pathString(Collection<QName> names) {
@@ -304,15 +236,14 @@ public class PropertyResolver {
 	/**
 	 * this method starts the analysis of the instance-definition-tree
 	 * 
-	 * @param instance the given instance we are analysing
-	 * @param qdi the cache index object with the querypath
-	 * @return true, if the cache is not empty for the given cache index object
-	 *         after the analysis
+	 * @param type the type definition we are analysing
+	 * @param query the querypath
+	 * @return the paths found for the query
 	 */
-	private static boolean analyzeDefinition(Instance instance, QueryDefinitionIndex qdi) {
-		List<QName> qnames = getQNamesFromPath(qdi.getQuery());
+	private static CompiledPropertyPath analyzeDefinition(TypeDefinition type, String query) {
+		List<QName> qnames = getQNamesFromPath(query);
 
-		definitioncache.put(qdi, new LinkedList<String>());
+		List<List<QName>> paths = new ArrayList<List<QName>>();
 
 		// this can be used to search a single index over the whole
 		// Instance-Definition-Tree
@@ -320,20 +251,43 @@ public class PropertyResolver {
 		/*
 		 * if (qnames.size() == 1) {
 		 * 
-		 * analyzeSimpleQueryChildDefinition(instance
-		 * .getDefinition().getChildren(), qnames, qdi);
+		 * analyzeSimpleQueryChildDefinition(type.getChildren(), qnames,
+		 * paths);
 		 * 
-		 * return !definitioncache.get(qdi).isEmpty(); }
+		 * return new CompiledPropertyPath(paths); }
 		 * 
 		 * else {
 		 */
 
-		analyzeSpecialQueryChildDefinition(instance.getDefinition().getChildren(), qnames, qdi);
-		return !definitioncache.get(qdi).isEmpty();
+		analyzeSpecialQueryChildDefinition(type.getChildren(), qnames, paths);
+		return new CompiledPropertyPath(paths);
 		// }
 
 	}
 
+	/**
+	 * Get the paths matching a query for a type definition. The result is
+	 * cached, so the definitions are analyzed only once for a combination of
+	 * type, data set and query. Use the compiled path to retrieve values from
+	 * many instances of the same type.
+	 * 
+	 * @param type the type definition
+	 * @param dataSet the data set, may be <code>null</code>
+	 * @param query the pathstring from the filterquery
+	 * @return the compiled property path
+	 */
+	public static CompiledPropertyPath getCompiledPath(TypeDefinition type, DataSet dataSet,
+			String query) {
+		QueryDefinitionIndex qdi = new QueryDefinitionIndex(type, dataSet, query);
+
+		CompiledPropertyPath path = definitioncache.get(qdi);
+		if (path == null) {
+			path = analyzeDefinition(type, query);
+			definitioncache.put(qdi, path);
+		}
+		return path;
+	}
+
 	/**
 	 * Determines of the given Instance contains certain definitions questioned
 	 * by a given stringquery. If the cache allready contains this special path
@@ -351,10 +305,8 @@ public class PropertyResolver {
 
 		lastQDI.set(qdi);
 
-		if (definitioncache.containsKey(qdi))
-			return !definitioncache.get(qdi).isEmpty();
-		else
-			return analyzeDefinition(instance, qdi);
+		return !getCompiledPath(instance.getDefinition(), instance.getDataSet(), query)
+				.isEmpty();
 	}
 
 	/**
@@ -369,12 +321,7 @@ public class PropertyResolver {
 	 */
 	public static List<List<QName>> getQueryPaths(TypeDefinition typeDef, DataSet dataSet,
 			String query) {
-		Instance instance = new DefaultInstance(typeDef, dataSet);
-		List<String> paths = getQueryPath(instance, query);
-		ArrayList<List<QName>> result = new ArrayList<List<QName>>(paths.size());
-		for (String path : paths)
-			result.add(getQNamesFromPath(path));
-		return Collections.unmodifiableList(result);
+		return getCompiledPath(typeDef, dataSet, query).getPaths();
 	}
 
 	/**
@@ -385,13 +332,12 @@ public class PropertyResolver {
 	 * @param children a list of ChildDefinitions from the root definition of
 	 *            the instance-definition-tree
 	 * @param path the list of QNames split up from the original querypath
-	 * @param qdi the cacheindex produced from the instance root definition and
-	 *            the querypath
+	 * @param paths the list to add the found paths to
 	 */
 	@SuppressWarnings("unused")
 	private static void analyzeSimpleQueryChildDefinition(
 			Collection<? extends ChildDefinition<?>> children, ArrayList<QName> path,
-			QueryDefinitionIndex qdi) {
+			List<List<QName>> paths) {
 
 		QName current = path.get(0);
 
@@ -414,7 +360,7 @@ public class PropertyResolver {
 			if (compareQName(current, currentItem.getDefinition().getName())
 					&& isProperty(currentItem.getDefinition())) {
 
-				definitioncache.get(qdi).add(currentItem.qNamesToString());
+				paths.add(new ArrayList<QName>(currentItem.getQnames()));
 
 			}
 
@@ -574,12 +520,11 @@ public class PropertyResolver {
 	 * @param children a list of Childdefinitions from the rootdefinition of the
 	 *            instance-definition-tree
 	 * @param path the list of QNames split up from the original querypath
-	 * @param qdi the cacheindex produced from the instance root definition and
-	 *            the querypath
+	 * @param paths the list to add the found paths to
 	 */
 	private static void analyzeSpecialQueryChildDefinition(
 			Collection<? extends ChildDefinition<?>> children, List<QName> path,
-			QueryDefinitionIndex qdi) {
+			List<List<QName>> paths) {
 
 		QName current = path.get(0);
 
@@ -610,7 +555,7 @@ public class PropertyResolver {
 
 				if (currentItem != null) {
 
-					definitioncache.get(qdi).add(currentItem.qNamesToString());
+					paths.add(new ArrayList<QName>(currentItem.getQnames()));
 				}
 
 			}
@@ -731,19 +676,23 @@ public class PropertyResolver {
 
 		lastQDI.set(qdi);
 
-		if (!definitioncache.containsKey(qdi))
-			analyzeDefinition(instance, qdi);
-
-		return definitioncache.get(qdi);
+		LinkedList<String> result = new LinkedList<String>();
+		for (List<QName> path : getCompiledPath(instance.getDefinition(), instance.getDataSet(),
+				query).getPaths()) {
+			result.add(pathString(path));
+		}
+		return result;
 
 	}
 
 	/**
 	 * Determines if the last query path was unique. This will only yield a
 	 * reliable result if the last call to
-	 * {@link #hasProperty(Instance, String)} was done from the current thread.
-	 * The information on the last {@link #hasProperty(Instance, String)} call
-	 * will be reset on calling this method.
+	 * {@link #hasProperty(Instance, String)} or
+	 * {@link #getQueryPath(Instance, String)} was done from the current
+	 * thread. The information on the last call will be reset on calling this
+	 * method. Retrieving values does not update this information, use
+	 * {@link CompiledPropertyPath#isUnique()} instead.
 	 * 
 	 * @return <code>true</code> if the last query path was unique or if there
 	 *         is no information on the last query path, <code>false</code>
@@ -754,8 +703,8 @@ public class PropertyResolver {
 		lastQDI.remove();
 
 		if (qdi != null) {
-			LinkedList<String> paths = definitioncache.get(qdi);
-			if (paths != null && paths.size() > 1) {
+			CompiledPropertyPath path = definitioncache.get(qdi);
+			if (path != null && !path.isUnique()) {
 				return false;
 			}
 		}
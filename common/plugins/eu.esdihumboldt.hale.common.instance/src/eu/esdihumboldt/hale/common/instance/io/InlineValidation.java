@@ -0,0 +1,54 @@
+/*
+ * Copyright (c) 2026 wetransform GmbH
+ *
+ * All rights reserved. This program and the accompanying materials are made
+ * available under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 3 of the License,
+ * or (at your option) any later version.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Contributors:
+ *     wetransform GmbH <http://www.wetransform.to>
+ */
+
+package eu.esdihumboldt.hale.common.instance.io;
+
+import java.util.List;
+
+import eu.esdihumboldt.hale.common.core.io.report.IOReport;
+
+/**
+ * Interface for instance writers that are able to validate the written data
+ * while writing it, instead of reading the written data again for validation.
+ */
+public interface InlineValidation {
+
+	/**
+	 * @return if the data is validated while it is written
+	 */
+	public boolean isInlineValidationEnabled();
+
+	/**
+	 * Get the validation reports created during the last execution of the
+	 * writer. There is a report for each written file.
+	 *
+	 * @return the validation reports, an empty list if inline validation was
+	 *         not enabled
+	 */
+	public List<? extends IOReport> getInlineValidationReports();
+
+	/**
+	 * Determine if a validation performed by the given validator is already
+	 * covered by the inline validation, so the validator does not have to be
+	 * executed. This is only the case if all written files were validated
+	 * against the same schemas the validator is configured with.
+	 *
+	 * @param validator the instance validator, configured with the schemas to
+	 *            validate against
+	 * @return if the validation is covered by the inline validation
+	 */
+	public boolean isCoveredByInlineValidation(InstanceValidator validator);
+
+}
@@ -0,0 +1,261 @@
+/*
+ * Copyright (c) 2026 wetransform GmbH
+ *
+ * All rights reserved. This program and the accompanying materials are made
+ * available under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 3 of the License,
+ * or (at your option) any later version.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Contributors:
+ *     wetransform GmbH <http://www.wetransform.to>
+ */
+
+package eu.esdihumboldt.hale.common.instance.model.impl;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import javax.xml.namespace.QName;
+
+import eu.esdihumboldt.hale.common.instance.model.Group;
+import eu.esdihumboldt.hale.common.instance.model.Instance;
+import eu.esdihumboldt.hale.common.instance.model.MutableGroup;
+import eu.esdihumboldt.hale.common.schema.model.DefinitionGroup;
+
+/**
+ * Group implementation storing the property values in slots indexed by the
+ * position of the property in the group definition. The slot layout is shared
+ * between all groups with the same definition. A single value is stored
+ * without wrapping it in a collection.<br>
+ * <br>
+ * Compared to {@link DefaultGroup} this needs considerably less memory. To
+ * avoid copying, {@link #getProperty(QName)} may return the internal array
+ * holding the values of a property, so it must not be modified.
+ */
+public class CompactGroup implements MutableGroup {
+
+	/**
+	 * Multiple values of a property.
+	 */
+	private static final class Values {
+
+		private Object[] items;
+
+		private int size;
+
+		public Values(Object[] items) {
+			this.items = items;
+			this.size = items.length;
+		}
+
+		public void add(Object value) {
+			if (size == items.length) {
+				items = Arrays.copyOf(items, Math.max(4, size + (size >> 1)));
+			}
+			items[size++] = value;
+		}
+
+		public Object[] toArray() {
+			if (size != items.length) {
+				// trim once, so the array can be returned without copying
+				items = Arrays.copyOf(items, size);
+			}
+			return items;
+		}
+
+	}
+
+	/**
+	 * Marker for a single <code>null</code> value.
+	 */
+	private static final Object NULL_VALUE = new Object();
+
+	private static final Object[] NO_VALUES = new Object[0];
+
+	private final DefinitionGroup definition;
+
+	private final SlotLayout layout;
+
+	/**
+	 * The property values per slot, created on demand.
+	 */
+	private Object[] slots;
+
+	/**
+	 * Values of properties that are not part of the slot layout, created on
+	 * demand.
+	 */
+	private Map<QName, Object> others;
+
+	/**
+	 * Create an empty group.
+	 * 
+	 * @param definition the associated definition
+	 */
+	public CompactGroup(DefinitionGroup definition) {
+		super();
+		this.definition = definition;
+		this.layout = SlotLayout.forDefinition(definition);
+	}
+
+	/**
+	 * Copy constructor. Creates a group based on the properties and values of
+	 * the given group.
+	 * 
+	 * @param org the group to copy
+	 */
+	public CompactGroup(Group org) {
+		this(org.getDefinition());
+
+		for (QName property : org.getPropertyNames()) {
+			Object[] values = org.getProperty(property);
+			Object[] copy = new Object[values.length];
+			for (int i = 0; i < values.length; i++) {
+				/*
+				 * Copy groups and instances, to prevent OInstances/OGroups to
+				 * live on in a copy.
+				 */
+				if (values[i] instanceof Instance) {
+					copy[i] = new CompactInstance((Instance) values[i]);
+				}
+				else if (values[i] instanceof Group) {
+					copy[i] = new CompactGroup((Group) values[i]);
+				}
+				else {
+					copy[i] = values[i];
+				}
+			}
+			store(property, pack(copy));
+		}
+	}
+
+	/**
+	 * @see Group#getProperty(QName)
+	 */
+	@Override
+	public Object[] getProperty(QName propertyName) {
+		Object content = load(propertyName);
+		if (content == null) {
+			return NO_VALUES;
+		}
+		if (content instanceof Values) {
+			return ((Values) content).toArray();
+		}
+		return new Object[] { (content == NULL_VALUE) ? (null) : (content) };
+	}
+
+	/**
+	 * @see Group#getPropertyNames()
+	 */
+	@Override
+	public Iterable<QName> getPropertyNames() {
+		List<QName> names = new ArrayList<>();
+		if (slots != null) {
+			for (int i = 0; i < slots.length; i++) {
+				if (slots[i] != null) {
+					names.add(layout.getName(i));
+				}
+			}
+		}
+		if (others != null) {
+			names.addAll(others.keySet());
+		}
+		return names;
+	}
+
+	/**
+	 * @see Group#getDefinition()
+	 */
+	@Override
+	public DefinitionGroup getDefinition() {
+		return definition;
+	}
+
+	/**
+	 * @see MutableGroup#addProperty(QName, Object)
+	 */
+	@Override
+	public void addProperty(QName propertyName, Object value) {
+		Object content = load(propertyName);
+		if (content == null) {
+			store(propertyName, (value == null) ? (NULL_VALUE) : (value));
+		}
+		else if (content instanceof Values) {
+			((Values) content).add(value);
+		}
+		else {
+			Values values = new Values(
+					new Object[] { (content == NULL_VALUE) ? (null) : (content), value });
+			store(propertyName, values);
+		}
+	}
+
+	/**
+	 * @see MutableGroup#setProperty(QName, Object[])
+	 */
+	@Override
+	public void setProperty(QName propertyName, Object... values) {
+		if (values == null) {
+			store(propertyName, null);
+		}
+		else {
+			store(propertyName, pack(values.clone()));
+		}
+	}
+
+	/**
+	 * Create the slot content for the given values.
+	 * 
+	 * @param values the values, the array is used directly
+	 * @return the slot content, <code>null</code> if there are no values
+	 */
+	private static Object pack(Object[] values) {
+		switch (values.length) {
+		case 0:
+			return null;
+		case 1:
+			return (values[0] == null) ? (NULL_VALUE) : (values[0]);
+		default:
+			return new Values(values);
+		}
+	}
+
+	private Object load(QName propertyName) {
+		int index = layout.indexOf(propertyName);
+		if (index >= 0) {
+			return (slots == null) ? (null) : (slots[index]);
+		}
+		return (others == null) ? (null) : (others.get(propertyName));
+	}
+
+	private void store(QName propertyName, Object content) {
+		int index = layout.indexOf(propertyName);
+		if (index >= 0) {
+			if (slots == null) {
+				if (content == null) {
+					return;
+				}
+				slots = new Object[layout.size()];
+			}
+			slots[index] = content;
+		}
+		else if (content == null) {
+			if (others != null) {
+				others.remove(propertyName);
+			}
+		}
+		else {
+			if (others == null) {
+				others = new LinkedHashMap<>(4);
+			}
+			others.put(propertyName, content);
+		}
+	}
+
+}
@@ -0,0 +1,138 @@
+/*
+ * Copyright (c) 2026 wetransform GmbH
+ *
+ * All rights reserved. This program and the accompanying materials are made
+ * available under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 3 of the License,
+ * or (at your option) any later version.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Contributors:
+ *     wetransform GmbH <http://www.wetransform.to>
+ */
+
+package eu.esdihumboldt.hale.common.instance.model.impl;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+
+import com.google.common.collect.ArrayListMultimap;
+import com.google.common.collect.ListMultimap;
+
+import eu.esdihumboldt.hale.common.instance.model.DataSet;
+import eu.esdihumboldt.hale.common.instance.model.Instance;
+import eu.esdihumboldt.hale.common.instance.model.MutableInstance;
+import eu.esdihumboldt.hale.common.schema.model.TypeDefinition;
+
+/**
+ * Instance implementation storing the property values in slots indexed by the
+ * position of the property in the type definition.
+ * 
+ * @see CompactGroup
+ */
+public class CompactInstance extends CompactGroup implements MutableInstance {
+
+	private DataSet dataSet;
+
+	private Object value;
+
+	private ListMultimap<String, Object> metaData;
+
+	/**
+	 * Create an empty instance.
+	 * 
+	 * @param definition the associated type definition
+	 * @param dataSet the data set the instance is associated to
+	 */
+	public CompactInstance(TypeDefinition definition, DataSet dataSet) {
+		super(definition);
+		this.dataSet = dataSet;
+	}
+
+	/**
+	 * Copy constructor. Creates an instance based on the properties and values
+	 * of the given instance.
+	 * 
+	 * @param org the instance to copy
+	 */
+	public CompactInstance(Instance org) {
+		super(org);
+
+		setValue(org.getValue());
+		setDataSet(org.getDataSet());
+
+		for (String key : org.getMetaDataNames()) {
+			setMetaData(key, org.getMetaData(key).toArray());
+		}
+	}
+
+	@Override
+	public Object getValue() {
+		return value;
+	}
+
+	@Override
+	public DataSet getDataSet() {
+		return dataSet;
+	}
+
+	@Override
+	public void setValue(Object value) {
+		this.value = value;
+	}
+
+	@Override
+	public void setDataSet(DataSet dataSet) {
+		this.dataSet = dataSet;
+	}
+
+	@Override
+	public TypeDefinition getDefinition() {
+		return (TypeDefinition) super.getDefinition();
+	}
+
+	@Override
+	public List<Object> getMetaData(String key) {
+		if (metaData == null || metaData.isEmpty()) {
+			return Collections.emptyList();
+		}
+		return metaData.get(key);
+	}
+
+	@Override
+	public void putMetaData(String key, Object obj) {
+		if (metaData == null) {
+			metaData = ArrayListMultimap.create();
+		}
+		metaData.put(key, obj);
+	}
+
+	@Override
+	public Set<String> getMetaDataNames() {
+		if (metaData == null) {
+			return Collections.emptySet();
+		}
+		return Collections.unmodifiableSet(metaData.keySet());
+	}
+
+	@Override
+	public void setMetaData(String key, Object... values) {
+		if (metaData == null) {
+			metaData = ArrayListMultimap.create();
+		}
+
+		if (values == null || values.length == 0) {
+			metaData.removeAll(key);
+		}
+		else {
+			List<Object> valueList = new ArrayList<Object>(values.length);
+			Collections.addAll(valueList, values);
+			metaData.putAll(key, valueList);
+		}
+	}
+
+}
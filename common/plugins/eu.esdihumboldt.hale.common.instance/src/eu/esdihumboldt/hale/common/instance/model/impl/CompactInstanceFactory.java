@@ -0,0 +1,96 @@
+/*
+ * Copyright (c) 2026 wetransform GmbH
+ *
+ * All rights reserved. This program and the accompanying materials are made
+ * available under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 3 of the License,
+ * or (at your option) any later version.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Contributors:
+ *     wetransform GmbH <http://www.wetransform.to>
+ */
+
+package eu.esdihumboldt.hale.common.instance.model.impl;
+
+import eu.esdihumboldt.hale.common.instance.model.InstanceFactory;
+import eu.esdihumboldt.hale.common.instance.model.MutableGroup;
+import eu.esdihumboldt.hale.common.instance.model.MutableInstance;
+import eu.esdihumboldt.hale.common.schema.model.DefinitionGroup;
+import eu.esdihumboldt.hale.common.schema.model.TypeDefinition;
+
+/**
+ * Instance factory based on {@link CompactInstance}. The compact instances are
+ * used for transformed instances if enabled through the system property
+ * {@value #SYSTEM_PROPERTY_ENABLED} or the environment variable
+ * {@value #ENV_ENABLED}.
+ */
+public class CompactInstanceFactory implements InstanceFactory {
+
+	/**
+	 * Name of the system property that enables compact instances.
+	 */
+	public static final String SYSTEM_PROPERTY_ENABLED = "hale.instance.compact";
+
+	/**
+	 * Name of the environment variable that enables compact instances.
+	 */
+	public static final String ENV_ENABLED = "HALE_INSTANCE_COMPACT";
+
+	private static final boolean ENABLED;
+
+	static {
+		String value = System.getProperty(SYSTEM_PROPERTY_ENABLED);
+		if (value == null) {
+			value = System.getenv(ENV_ENABLED);
+		}
+		ENABLED = value != null && value.equalsIgnoreCase("true");
+	}
+
+	/**
+	 * @return if compact instances should be used, determined once when the
+	 *         class is loaded
+	 */
+	public static boolean isEnabled() {
+		return ENABLED;
+	}
+
+	/**
+	 * Create a new mutable instance, either a compact or a default instance,
+	 * depending on if compact instances are enabled.
+	 * 
+	 * @param type the instance type
+	 * @return the created instance
+	 * @see #isEnabled()
+	 */
+	public static MutableInstance newInstance(TypeDefinition type) {
+		if (isEnabled()) {
+			return new CompactInstance(type, null);
+		}
+		return new DefaultInstance(type, null);
+	}
+
+	/**
+	 * Create a new mutable group, either a compact or a default group,
+	 * depending on if compact instances are enabled.
+	 * 
+	 * @param definition the group definition
+	 * @return the created group
+	 * @see #isEnabled()
+	 */
+	public static MutableGroup newGroup(DefinitionGroup definition) {
+		if (isEnabled()) {
+			return new CompactGroup(definition);
+		}
+		return new DefaultGroup(definition);
+	}
+
+	@Override
+	public MutableInstance createInstance(TypeDefinition type) {
+		return new CompactInstance(type, null); // initially no data set
+												// associated
+	}
+
+}
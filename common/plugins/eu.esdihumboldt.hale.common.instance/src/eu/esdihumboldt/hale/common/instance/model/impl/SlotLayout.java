@@ -0,0 +1,115 @@
+/*
+ * Copyright (c) 2026 wetransform GmbH
+ *
+ * All rights reserved. This program and the accompanying materials are made
+ * available under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 3 of the License,
+ * or (at your option) any later version.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Contributors:
+ *     wetransform GmbH <http://www.wetransform.to>
+ */
+
+package eu.esdihumboldt.hale.common.instance.model.impl;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentMap;
+
+import javax.xml.namespace.QName;
+
+import com.google.common.collect.MapMaker;
+
+import eu.esdihumboldt.hale.common.schema.model.ChildDefinition;
+import eu.esdihumboldt.hale.common.schema.model.DefinitionGroup;
+import eu.esdihumboldt.hale.common.schema.model.TypeDefinition;
+
+/**
+ * Assigns a slot index to each child of a {@link DefinitionGroup}. Layouts are
+ * shared between all groups and instances of the same definition.
+ */
+final class SlotLayout {
+
+	/**
+	 * Layouts per definition. Weak keys are compared by identity, so types
+	 * with the same name from different schemas get separate layouts.
+	 */
+	private static final ConcurrentMap<DefinitionGroup, SlotLayout> layouts = new MapMaker()
+			.weakKeys().makeMap();
+
+	private final QName[] names;
+
+	private final Map<QName, Integer> indexes;
+
+	/**
+	 * Get the slot layout for the given definition.
+	 * 
+	 * @param definition the definition group
+	 * @return the shared slot layout
+	 */
+	public static SlotLayout forDefinition(DefinitionGroup definition) {
+		SlotLayout layout = layouts.get(definition);
+		if (layout == null) {
+			layout = new SlotLayout(definition);
+			SlotLayout existing = layouts.putIfAbsent(definition, layout);
+			if (existing != null) {
+				layout = existing;
+			}
+		}
+		return layout;
+	}
+
+	private SlotLayout(DefinitionGroup definition) {
+		Collection<? extends ChildDefinition<?>> children;
+		if (definition instanceof TypeDefinition) {
+			// include inherited children
+			children = ((TypeDefinition) definition).getChildren();
+		}
+		else {
+			children = definition.getDeclaredChildren();
+		}
+
+		names = new QName[children.size()];
+		indexes = new HashMap<>(children.size() * 2);
+		int index = 0;
+		for (ChildDefinition<?> child : children) {
+			names[index] = child.getName();
+			indexes.put(child.getName(), index);
+			index++;
+		}
+	}
+
+	/**
+	 * @return the number of slots
+	 */
+	public int size() {
+		return names.length;
+	}
+
+	/**
+	 * Get the slot index for a property.
+	 * 
+	 * @param name the property name
+	 * @return the slot index or <code>-1</code> if the property is not a child
+	 *         of the definition
+	 */
+	public int indexOf(QName name) {
+		Integer index = indexes.get(name);
+		return (index == null) ? (-1) : (index);
+	}
+
+	/**
+	 * Get the property name of a slot.
+	 * 
+	 * @param index the slot index
+	 * @return the property name
+	 */
+	public QName getName(int index) {
+		return names[index];
+	}
+
+}
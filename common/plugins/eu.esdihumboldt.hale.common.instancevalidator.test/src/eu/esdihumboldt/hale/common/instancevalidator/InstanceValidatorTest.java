@@ -0,0 +1,130 @@
+/*
+ * Copyright (c) 2026 wetransform GmbH
+ *
+ * All rights reserved. This program and the accompanying materials are made
+ * available under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 3 of the License,
+ * or (at your option) any later version.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Contributors:
+ *     wetransform GmbH <http://www.wetransform.to>
+ */
+
+package eu.esdihumboldt.hale.common.instancevalidator;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import javax.xml.namespace.QName;
+
+import org.eclipse.core.runtime.NullProgressMonitor;
+import org.junit.Test;
+
+import eu.esdihumboldt.hale.common.instance.extension.validation.report.InstanceValidationMessage;
+import eu.esdihumboldt.hale.common.instance.extension.validation.report.InstanceValidationReport;
+import eu.esdihumboldt.hale.common.instance.model.MutableInstance;
+import eu.esdihumboldt.hale.common.instance.model.impl.DefaultInstance;
+import eu.esdihumboldt.hale.common.instance.model.impl.DefaultInstanceCollection;
+import eu.esdihumboldt.hale.common.schema.model.constraint.property.Cardinality;
+import eu.esdihumboldt.hale.common.schema.model.constraint.property.Unique;
+import eu.esdihumboldt.hale.common.schema.model.constraint.type.Binding;
+import eu.esdihumboldt.hale.common.schema.model.constraint.type.HasValueFlag;
+import eu.esdihumboldt.hale.common.schema.model.impl.DefaultPropertyDefinition;
+import eu.esdihumboldt.hale.common.schema.model.impl.DefaultTypeDefinition;
+
+/**
+ * Tests for {@link InstanceValidator}.
+ */
+public class InstanceValidatorTest {
+
+	private static final int INSTANCES = 2000;
+
+	private static final QName ID = new QName("id");
+
+	private static final QName NAME = new QName("name");
+
+	/**
+	 * Test that validating an instance collection in parallel reports the
+	 * same failures as validating it sequentially. Which of the instances
+	 * sharing a unique value is reported may differ, so messages are compared
+	 * without the instance reference.
+	 */
+	@Test
+	public void testParallelValidation() {
+		DefaultInstanceCollection instances = createInstances();
+
+		InstanceValidator sequential = new InstanceValidator(null);
+		sequential.setThreads(1);
+		InstanceValidationReport sequentialReport = sequential.validateInstances(instances,
+				new NullProgressMonitor());
+
+		InstanceValidator parallel = new InstanceValidator(null);
+		parallel.setThreads(4);
+		InstanceValidationReport parallelReport = parallel.validateInstances(instances,
+				new NullProgressMonitor());
+
+		List<String> expected = describe(sequentialReport);
+		assertFalse(expected.isEmpty());
+		assertEquals(sequentialReport.isSuccess(), parallelReport.isSuccess());
+		assertEquals(expected, describe(parallelReport));
+	}
+
+	/**
+	 * Create instances that violate cardinality and unique constraints.
+	 * 
+	 * @return the instances
+	 */
+	private static DefaultInstanceCollection createInstances() {
+		DefaultTypeDefinition stringType = new DefaultTypeDefinition(new QName("string"));
+		stringType.setConstraint(HasValueFlag.ENABLED);
+		stringType.setConstraint(Binding.get(String.class));
+
+		DefaultTypeDefinition type = new DefaultTypeDefinition(new QName("Feature"));
+		DefaultPropertyDefinition id = new DefaultPropertyDefinition(ID, type, stringType);
+		id.setConstraint(Cardinality.CC_EXACTLY_ONCE);
+		id.setConstraint(new Unique("id"));
+		DefaultPropertyDefinition name = new DefaultPropertyDefinition(NAME, type, stringType);
+		name.setConstraint(Cardinality.CC_EXACTLY_ONCE);
+
+		DefaultInstanceCollection instances = new DefaultInstanceCollection();
+		for (int i = 0; i < INSTANCES; i++) {
+			MutableInstance instance = new DefaultInstance(type, null);
+			// duplicate identifiers
+			instance.addProperty(ID, "id-" + (i % (INSTANCES - 100)));
+			// missing or additional names
+			if (i % 3 != 0) {
+				instance.addProperty(NAME, "name-" + i);
+			}
+			if (i % 7 == 0) {
+				instance.addProperty(NAME, "other-" + i);
+			}
+			instances.add(instance);
+		}
+		return instances;
+	}
+
+	private static List<String> describe(InstanceValidationReport report) {
+		List<String> result = new ArrayList<>();
+		for (InstanceValidationMessage message : report.getWarnings()) {
+			result.add("W " + describe(message));
+		}
+		for (InstanceValidationMessage message : report.getErrors()) {
+			result.add("E " + describe(message));
+		}
+		Collections.sort(result);
+		return result;
+	}
+
+	private static String describe(InstanceValidationMessage message) {
+		return message.getType() + " " + message.getPath() + " " + message.getCategory() + ": "
+				+ message.getMessage();
+	}
+
+}
@@ -15,11 +15,18 @@
  */
 package eu.esdihumboldt.hale.common.instancevalidator;
 
+import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.Deque;
 import java.util.List;
 import java.util.Map.Entry;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import javax.annotation.Nullable;
 import javax.xml.namespace.QName;
@@ -52,18 +59,18 @@ import eu.esdihumboldt.hale.common.instance.model.InstanceReference;
 import eu.esdihumboldt.hale.common.instance.model.MutableInstance;
 import eu.esdihumboldt.hale.common.instance.model.ResourceIterator;
 import eu.esdihumboldt.hale.common.instance.model.impl.DefaultInstance;
+import eu.esdihumboldt.hale.common.instancevalidator.ValidationPlans.Check;
+import eu.esdihumboldt.hale.common.instancevalidator.ValidationPlans.GroupPlan;
 import eu.esdihumboldt.hale.common.instancevalidator.extension.InstanceModelValidatorExtension;
 import eu.esdihumboldt.hale.common.instancevalidator.extension.InstanceModelValidatorFactory;
 import eu.esdihumboldt.hale.common.schema.SchemaSpaceID;
 import eu.esdihumboldt.hale.common.schema.model.ChildDefinition;
-import eu.esdihumboldt.hale.common.schema.model.DefinitionUtil;
 import eu.esdihumboldt.hale.common.schema.model.GroupPropertyConstraint;
 import eu.esdihumboldt.hale.common.schema.model.GroupPropertyDefinition;
 import eu.esdihumboldt.hale.common.schema.model.PropertyConstraint;
 import eu.esdihumboldt.hale.common.schema.model.PropertyDefinition;
 import eu.esdihumboldt.hale.common.schema.model.TypeConstraint;
 import eu.esdihumboldt.hale.common.schema.model.TypeDefinition;
-import eu.esdihumboldt.hale.common.schema.model.constraint.ConstraintUtil;
 import eu.esdihumboldt.hale.common.schema.model.constraint.property.Cardinality;
 import eu.esdihumboldt.hale.common.schema.model.constraint.property.ChoiceFlag;
 import eu.esdihumboldt.hale.common.schema.model.constraint.property.NillableFlag;
@@ -72,12 +79,33 @@ import eu.esdihumboldt.hale.common.schema.model.constraint.type.SkipValidation;
 import eu.esdihumboldt.hale.io.xsd.constraint.XmlAttributeFlag;
 
 /**
- * Validator for instances using constraints.
+ * Validator for instances using constraints. Instance collections may be
+ * validated by multiple threads, the number of threads is configured through
+ * the system property {@value #SYSTEM_PROPERTY_THREADS} or the environment
+ * variable {@value #ENV_THREADS}. By default instances are validated on the
+ * calling thread. Validators used must be thread safe.
  * 
  * @author Kai Schwierczek
  */
 public class InstanceValidator {
 
+	/**
+	 * Name of the system property specifying the number of threads used to
+	 * validate instance collections.
+	 */
+	public static final String SYSTEM_PROPERTY_THREADS = "hale.validation.threads";
+
+	/**
+	 * Name of the environment variable specifying the number of threads used
+	 * to validate instance collections.
+	 */
+	public static final String ENV_THREADS = "HALE_VALIDATION_THREADS";
+
+	/**
+	 * Number of instances validated together by a thread.
+	 */
+	private static final int BATCH_SIZE = 256;
+
 	private static final ALogger log = ALoggerFactory.getLogger(InstanceValidator.class);
 
 	/**
@@ -116,6 +144,10 @@ public class InstanceValidator {
 
 	private final List<InstanceModelValidator> additionalValidators = new ArrayList<>();
 
+	private final ValidationPlans plans = new ValidationPlans();
+
+	private int threads = getDefaultThreads();
+
 	/**
 	 * Create a new instance validator.
 	 * 
@@ -129,8 +161,48 @@ public class InstanceValidator {
 		}
 	}
 
+	/**
+	 * @return the number of threads configured through the system property
+	 *         {@value #SYSTEM_PROPERTY_THREADS} or the environment variable
+	 *         {@value #ENV_THREADS}, <code>1</code> if none is configured
+	 */
+	public static int getDefaultThreads() {
+		String value = System.getProperty(SYSTEM_PROPERTY_THREADS);
+		if (value == null) {
+			value = System.getenv(ENV_THREADS);
+		}
+		if (value != null) {
+			try {
+				return Math.max(1, Integer.parseInt(value.trim()));
+			} catch (NumberFormatException e) {
+				log.error("Invalid number of instance validation threads: " + value);
+			}
+		}
+		return 1;
+	}
+
+	/**
+	 * Set the number of threads used to validate instance collections.
+	 * 
+	 * @param threads the number of threads, <code>1</code> to validate the
+	 *            instances on the calling thread
+	 */
+	public void setThreads(int threads) {
+		this.threads = Math.max(1, threads);
+	}
+
+	/**
+	 * @return the number of threads used to validate instance collections
+	 */
+	public int getThreads() {
+		return threads;
+	}
+
 	/**
 	 * Validates the given instances using all constraints that are validatable.
+	 * Batches of instances are validated concurrently if more than one thread
+	 * is configured, the messages are added to the report in the order of the
+	 * instances.
 	 * 
 	 * @param instances the instances to validate
 	 * @param monitor the progress monitor
@@ -146,17 +218,75 @@ public class InstanceValidator {
 		ATransaction trans = log.begin("Instance validation");
 		InstanceValidationContext context = new InstanceValidationContext();
 		ResourceIterator<Instance> iterator = instances.iterator();
+		ExecutorService executor = (threads > 1) ? Executors.newFixedThreadPool(threads) : null;
 		try {
-			while (iterator.hasNext()) {
-				if (monitor.isCanceled())
-					return reporter;
-				Instance instance = iterator.next();
-				validateInstance(instance, reporter, instance.getDefinition().getName(),
-						new ArrayList<QName>(), false, instances.getReference(instance), context,
-						null, null);
-				monitor.worked(1);
+			if (executor == null) {
+				while (iterator.hasNext()) {
+					if (monitor.isCanceled())
+						return reporter;
+					Instance instance = iterator.next();
+					validateInstance(instance, reporter, instance.getDefinition().getName(),
+							new ArrayList<QName>(), false, instances.getReference(instance),
+							context, null, null);
+					monitor.worked(1);
+				}
+			}
+			else {
+				// batches being validated, in the order of the instances
+				Deque<Future<InstanceValidationReporter>> pending = new ArrayDeque<>();
+				Deque<Integer> pendingSizes = new ArrayDeque<>();
+				while (iterator.hasNext()) {
+					if (monitor.isCanceled())
+						return reporter;
+
+					// the instance collection is only accessed on this thread
+					List<Instance> batch = new ArrayList<>(BATCH_SIZE);
+					List<InstanceReference> references = new ArrayList<>(BATCH_SIZE);
+					while (batch.size() < BATCH_SIZE && iterator.hasNext()) {
+						Instance instance = iterator.next();
+						batch.add(instance);
+						references.add(instances.getReference(instance));
+					}
+
+					pending.add(executor.submit(new Callable<InstanceValidationReporter>() {
+
+						@Override
+						public InstanceValidationReporter call() throws Exception {
+							InstanceValidationReporter batchReporter = new DefaultInstanceValidationReporter(
+									false);
+							for (int i = 0; i < batch.size(); i++) {
+								Instance instance = batch.get(i);
+								validateInstance(instance, batchReporter,
+										instance.getDefinition().getName(),
+										new ArrayList<QName>(), false, references.get(i), context,
+										null, null);
+							}
+							return batchReporter;
+						}
+					}));
+					pendingSizes.add(batch.size());
+
+					// limit the number of instances held in memory
+					while (pending.size() >= threads * 2) {
+						reporter.importMessages(awaitBatch(pending.poll()));
+						monitor.worked(pendingSizes.poll());
+					}
+				}
+
+				while (!pending.isEmpty()) {
+					if (monitor.isCanceled())
+						return reporter;
+					reporter.importMessages(awaitBatch(pending.poll()));
+					monitor.worked(pendingSizes.poll());
+				}
 			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			return reporter;
 		} finally {
+			if (executor != null) {
+				executor.shutdownNow();
+			}
 			iterator.close();
 			trans.end();
 		}
@@ -165,6 +295,29 @@ public class InstanceValidator {
 		return reporter;
 	}
 
+	/**
+	 * Wait for the validation of a batch of instances to complete.
+	 * 
+	 * @param batch the batch validation result
+	 * @return the report of the batch
+	 * @throws InterruptedException if the thread was interrupted while waiting
+	 */
+	private static InstanceValidationReporter awaitBatch(Future<InstanceValidationReporter> batch)
+			throws InterruptedException {
+		try {
+			return batch.get();
+		} catch (ExecutionException e) {
+			Throwable cause = e.getCause();
+			if (cause instanceof RuntimeException) {
+				throw (RuntimeException) cause;
+			}
+			if (cause instanceof Error) {
+				throw (Error) cause;
+			}
+			throw new IllegalStateException("Error during instance validation", cause);
+		}
+	}
+
 	/**
 	 * Validate the information collected in the instance validation context.
 	 * Should be performed after all instances haven been validated.
@@ -286,7 +439,7 @@ public class InstanceValidator {
 			InstanceValidationContext context, @Nullable ChildDefinition<?> presentIn,
 			@Nullable EntityDefinition entity) {
 		TypeDefinition typeDef = instance.getDefinition();
-		if (entity == null) {
+		if (entity == null && !additionalValidators.isEmpty()) {
 			// if no entity is provided, use the instance type as entity
 			entity = new TypeEntityDefinition(typeDef, SchemaSpaceID.TARGET, null);
 		}
@@ -296,14 +449,13 @@ public class InstanceValidator {
 		}
 
 		// type constraint validators
-		for (Entry<Class<TypeConstraint>, TypeConstraintValidator> entry : ConstraintValidatorExtension
-				.getInstance().getTypeConstraintValidators().entrySet()) {
+		for (Check<TypeConstraintValidator, TypeConstraint> check : plans
+				.getTypeChecks(typeDef)) {
 			try {
-				entry.getValue().validateTypeConstraint(instance,
-						typeDef.getConstraint(entry.getKey()), context);
+				check.validator.validateTypeConstraint(instance, check.constraint, context);
 			} catch (ValidationException vE) {
 				reporter.warn(new DefaultInstanceValidationMessage(reference, type,
-						new ArrayList<QName>(path), entry.getKey().getSimpleName(),
+						new ArrayList<QName>(path), check.constraintClass.getSimpleName(),
 						vE.getMessage()));
 			}
 		}
@@ -355,7 +507,7 @@ public class InstanceValidator {
 			List<QName> path, boolean onlyCheckExistingChildren, InstanceReference reference,
 			InstanceValidationContext context, @Nullable ChildDefinition<?> presentIn,
 			EntityDefinition groupEntity) {
-		Collection<? extends ChildDefinition<?>> childDefs = DefinitionUtil
+		Collection<? extends ChildDefinition<?>> childDefs = plans
 				.getAllChildren(group.getDefinition());
 
 		// special case handling - nillable XML element with only attributes ->
@@ -416,7 +568,10 @@ public class InstanceValidator {
 			QName name = childDef.getName();
 			path.add(name);
 
-			EntityDefinition child = (parent != null) ? AlignmentUtil.getChild(parent, name) : null;
+			// entity definitions are only used by the generic validators
+			EntityDefinition child = (parent != null && !additionalValidators.isEmpty())
+					? AlignmentUtil.getChild(parent, name)
+					: null;
 
 			// Cannot use getPropertyNames in case of onlyCheckExistingChildren,
 			// because then I get no ChildDefinitions.
@@ -453,7 +608,6 @@ public class InstanceValidator {
 	 * @param context the instance validation context
 	 * @param entity the property's entity definition or <code>null</code>
 	 */
-	@SuppressWarnings("unchecked")
 	private void validateProperty(Object[] properties, PropertyDefinition propertyDef,
 			InstanceValidationReporter reporter, QName type, List<QName> path,
 			InstanceReference reference, InstanceValidationContext context,
@@ -462,17 +616,14 @@ public class InstanceValidator {
 				new ArrayList<QName>(path));
 
 		// property constraint validators
-		for (Entry<Class<PropertyConstraint>, PropertyConstraintValidator> entry : ConstraintValidatorExtension
-				.getInstance().getPropertyConstraintValidators().entrySet()) {
+		for (Check<PropertyConstraintValidator, PropertyConstraint> check : plans
+				.getPropertyChecks(propertyDef)) {
 			try {
-				entry.getValue().validatePropertyConstraint(properties,
-						propertyDef
-								.getConstraint((Class<? extends PropertyConstraint>) ConstraintUtil
-										.getConstraintType(entry.getKey())),
+				check.validator.validatePropertyConstraint(properties, check.constraint,
 						propertyDef, context, loc);
 			} catch (ValidationException vE) {
 				reporter.warn(new DefaultInstanceValidationMessage(loc,
-						entry.getKey().getSimpleName(), vE.getMessage()));
+						check.constraintClass.getSimpleName(), vE.getMessage()));
 			}
 		}
 
@@ -527,15 +678,16 @@ public class InstanceValidator {
 			InstanceValidationReporter reporter, QName type, List<QName> path,
 			InstanceReference reference, InstanceValidationContext context,
 			EntityDefinition groupEntity) {
+		GroupPlan plan = plans.getGroupPlan(groupDef);
+
 		// group property constraints
-		for (Entry<Class<GroupPropertyConstraint>, GroupPropertyConstraintValidator> entry : ConstraintValidatorExtension
-				.getInstance().getGroupPropertyConstraintValidators().entrySet()) {
+		for (Check<GroupPropertyConstraintValidator, GroupPropertyConstraint> check : plan.checks) {
 			try {
-				entry.getValue().validateGroupPropertyConstraint(properties,
-						groupDef.getConstraint(entry.getKey()), groupDef, context);
+				check.validator.validateGroupPropertyConstraint(properties, check.constraint,
+						groupDef, context);
 			} catch (ValidationException vE) {
 				reporter.warn(new DefaultInstanceValidationMessage(reference, type,
-						new ArrayList<QName>(path), entry.getKey().getSimpleName(),
+						new ArrayList<QName>(path), check.constraintClass.getSimpleName(),
 						vE.getMessage()));
 			}
 		}
@@ -564,9 +716,8 @@ public class InstanceValidator {
 		// In case of enabled choice flag only check existing children.
 		// That only one child exists should get checked above in a validator
 		// for the choice flag.
-		validateChildren(properties, groupDef, reporter, type, path,
-				groupDef.getConstraint(ChoiceFlag.class).isEnabled(), reference, context,
-				groupEntity);
+		validateChildren(properties, groupDef, reporter, type, path, plan.choice, reference,
+				context, groupEntity);
 	}
 
 	/**
@@ -0,0 +1,217 @@
+/*
+ * Copyright (c) 2026 wetransform GmbH
+ *
+ * All rights reserved. This program and the accompanying materials are made
+ * available under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 3 of the License,
+ * or (at your option) any later version.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Contributors:
+ *     wetransform GmbH <http://www.wetransform.to>
+ */
+
+package eu.esdihumboldt.hale.common.instancevalidator;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map.Entry;
+
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheLoader;
+import com.google.common.cache.LoadingCache;
+
+import eu.esdihumboldt.hale.common.instance.extension.validation.ConstraintValidatorExtension;
+import eu.esdihumboldt.hale.common.instance.extension.validation.GroupPropertyConstraintValidator;
+import eu.esdihumboldt.hale.common.instance.extension.validation.PropertyConstraintValidator;
+import eu.esdihumboldt.hale.common.instance.extension.validation.TypeConstraintValidator;
+import eu.esdihumboldt.hale.common.schema.model.ChildDefinition;
+import eu.esdihumboldt.hale.common.schema.model.DefinitionGroup;
+import eu.esdihumboldt.hale.common.schema.model.DefinitionUtil;
+import eu.esdihumboldt.hale.common.schema.model.GroupPropertyConstraint;
+import eu.esdihumboldt.hale.common.schema.model.GroupPropertyDefinition;
+import eu.esdihumboldt.hale.common.schema.model.PropertyConstraint;
+import eu.esdihumboldt.hale.common.schema.model.PropertyDefinition;
+import eu.esdihumboldt.hale.common.schema.model.TypeConstraint;
+import eu.esdihumboldt.hale.common.schema.model.TypeDefinition;
+import eu.esdihumboldt.hale.common.schema.model.constraint.ConstraintUtil;
+import eu.esdihumboldt.hale.common.schema.model.constraint.property.ChoiceFlag;
+
+/**
+ * Constraint validators together with the constraints they check for
+ * definitions, and the children of definition groups. They are determined
+ * once per definition instead of for every validated instance. Definitions are
+ * compared by identity and only weakly referenced.
+ */
+class ValidationPlans {
+
+	/**
+	 * A constraint to check with a validator.
+	 * 
+	 * @param <V> the validator type
+	 * @param <C> the constraint type
+	 */
+	static class Check<V, C> {
+
+		/**
+		 * The constraint class the validator is registered for.
+		 */
+		final Class<?> constraintClass;
+
+		/**
+		 * The validator.
+		 */
+		final V validator;
+
+		/**
+		 * The constraint of the definition.
+		 */
+		final C constraint;
+
+		Check(Class<?> constraintClass, V validator, C constraint) {
+			this.constraintClass = constraintClass;
+			this.validator = validator;
+			this.constraint = constraint;
+		}
+
+	}
+
+	/**
+	 * Checks for a group property.
+	 */
+	static class GroupPlan {
+
+		/**
+		 * The group property constraints to check.
+		 */
+		final List<Check<GroupPropertyConstraintValidator, GroupPropertyConstraint>> checks;
+
+		/**
+		 * If the group is a choice.
+		 */
+		final boolean choice;
+
+		GroupPlan(List<Check<GroupPropertyConstraintValidator, GroupPropertyConstraint>> checks,
+				boolean choice) {
+			this.checks = checks;
+			this.choice = choice;
+		}
+
+	}
+
+	private final LoadingCache<TypeDefinition, List<Check<TypeConstraintValidator, TypeConstraint>>> typeChecks = CacheBuilder
+			.newBuilder().weakKeys()
+			.build(new CacheLoader<TypeDefinition, List<Check<TypeConstraintValidator, TypeConstraint>>>() {
+
+				@Override
+				public List<Check<TypeConstraintValidator, TypeConstraint>> load(
+						TypeDefinition type) {
+					List<Check<TypeConstraintValidator, TypeConstraint>> checks = new ArrayList<>();
+					for (Entry<Class<TypeConstraint>, TypeConstraintValidator> entry : ConstraintValidatorExtension
+							.getInstance().getTypeConstraintValidators().entrySet()) {
+						checks.add(new Check<>(entry.getKey(), entry.getValue(),
+								type.getConstraint(entry.getKey())));
+					}
+					return Collections.unmodifiableList(checks);
+				}
+
+			});
+
+	private final LoadingCache<PropertyDefinition, List<Check<PropertyConstraintValidator, PropertyConstraint>>> propertyChecks = CacheBuilder
+			.newBuilder().weakKeys()
+			.build(new CacheLoader<PropertyDefinition, List<Check<PropertyConstraintValidator, PropertyConstraint>>>() {
+
+				@SuppressWarnings("unchecked")
+				@Override
+				public List<Check<PropertyConstraintValidator, PropertyConstraint>> load(
+						PropertyDefinition property) {
+					List<Check<PropertyConstraintValidator, PropertyConstraint>> checks = new ArrayList<>();
+					for (Entry<Class<PropertyConstraint>, PropertyConstraintValidator> entry : ConstraintValidatorExtension
+							.getInstance().getPropertyConstraintValidators().entrySet()) {
+						checks.add(new Check<>(entry.getKey(), entry.getValue(),
+								property.getConstraint(
+										(Class<? extends PropertyConstraint>) ConstraintUtil
+												.getConstraintType(entry.getKey()))));
+					}
+					return Collections.unmodifiableList(checks);
+				}
+
+			});
+
+	private final LoadingCache<GroupPropertyDefinition, GroupPlan> groupPlans = CacheBuilder
+			.newBuilder().weakKeys()
+			.build(new CacheLoader<GroupPropertyDefinition, GroupPlan>() {
+
+				@Override
+				public GroupPlan load(GroupPropertyDefinition group) {
+					List<Check<GroupPropertyConstraintValidator, GroupPropertyConstraint>> checks = new ArrayList<>();
+					for (Entry<Class<GroupPropertyConstraint>, GroupPropertyConstraintValidator> entry : ConstraintValidatorExtension
+							.getInstance().getGroupPropertyConstraintValidators().entrySet()) {
+						checks.add(new Check<>(entry.getKey(), entry.getValue(),
+								group.getConstraint(entry.getKey())));
+					}
+					return new GroupPlan(Collections.unmodifiableList(checks),
+							group.getConstraint(ChoiceFlag.class).isEnabled());
+				}
+
+			});
+
+	private final LoadingCache<DefinitionGroup, Collection<? extends ChildDefinition<?>>> children = CacheBuilder
+			.newBuilder().weakKeys()
+			.build(new CacheLoader<DefinitionGroup, Collection<? extends ChildDefinition<?>>>() {
+
+				@Override
+				public Collection<? extends ChildDefinition<?>> load(DefinitionGroup group) {
+					return DefinitionUtil.getAllChildren(group);
+				}
+
+			});
+
+	/**
+	 * Get the type constraints to check for a type.
+	 * 
+	 * @param type the type definition
+	 * @return the type constraint checks
+	 */
+	public List<Check<TypeConstraintValidator, TypeConstraint>> getTypeChecks(
+			TypeDefinition type) {
+		return typeChecks.getUnchecked(type);
+	}
+
+	/**
+	 * Get the property constraints to check for a property.
+	 * 
+	 * @param property the property definition
+	 * @return the property constraint checks
+	 */
+	public List<Check<PropertyConstraintValidator, PropertyConstraint>> getPropertyChecks(
+			PropertyDefinition property) {
+		return propertyChecks.getUnchecked(property);
+	}
+
+	/**
+	 * Get the checks for a group property.
+	 * 
+	 * @param group the group property definition
+	 * @return the group property checks
+	 */
+	public GroupPlan getGroupPlan(GroupPropertyDefinition group) {
+		return groupPlans.getUnchecked(group);
+	}
+
+	/**
+	 * Get all children of a definition group, as determined by
+	 * {@link DefinitionUtil#getAllChildren(DefinitionGroup)}.
+	 * 
+	 * @param group the definition group
+	 * @return the children of the group
+	 */
+	public Collection<? extends ChildDefinition<?>> getAllChildren(DefinitionGroup group) {
+		return children.getUnchecked(group);
+	}
+
+}
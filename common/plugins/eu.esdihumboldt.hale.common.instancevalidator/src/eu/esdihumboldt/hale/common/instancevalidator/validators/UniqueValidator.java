@@ -16,21 +16,24 @@
 
 package eu.esdihumboldt.hale.common.instancevalidator.validators;
 
-import java.util.HashMap;
-import java.util.HashSet;
 import java.util.Map;
-import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 import eu.esdihumboldt.hale.common.instance.extension.validation.InstanceValidationContext;
 import eu.esdihumboldt.hale.common.instance.extension.validation.PropertyConstraintValidator;
 import eu.esdihumboldt.hale.common.instance.extension.validation.ValidationException;
 import eu.esdihumboldt.hale.common.instance.extension.validation.ValidationLocation;
+import eu.esdihumboldt.hale.common.instance.extension.validation.report.InstanceValidationReporter;
 import eu.esdihumboldt.hale.common.schema.model.PropertyConstraint;
 import eu.esdihumboldt.hale.common.schema.model.PropertyDefinition;
 import eu.esdihumboldt.hale.common.schema.model.constraint.property.Unique;
+import eu.esdihumboldt.util.UniqueValueSet;
 
 /**
- * Validator for {@link Unique}.
+ * Validator for {@link Unique}. The values seen for each unique identifier are
+ * tracked in a {@link UniqueValueSet}, so the validator may be used by
+ * multiple threads and the values can be moved to disk for large data sets.
  * 
  * @author Kai Schwierczek
  */
@@ -45,26 +48,31 @@ public class UniqueValidator implements PropertyConstraintValidator {
 			for (Object value : values) {
 				// only check it if it isn't null
 				if (value != null) {
-					@SuppressWarnings("unchecked")
-					Map<String, Set<Object>> map = (Map<String, Set<Object>>) context
-							.getContext(UniqueValidator.class);
-					if (map == null) {
-						map = new HashMap<String, Set<Object>>();
-						context.putContext(UniqueValidator.class, map);
-					}
-					Set<Object> valueSet = map.get(unique.getIdentifier());
-					if (valueSet == null) {
-						valueSet = new HashSet<Object>();
-						map.put(unique.getIdentifier(), valueSet);
-					}
-					if (valueSet.contains(value))
+					ConcurrentMap<String, UniqueValueSet> map = context
+							.getContext(UniqueValidator.class, ConcurrentHashMap::new);
+					UniqueValueSet valueSet = map.computeIfAbsent(unique.getIdentifier(),
+							identifier -> new UniqueValueSet());
+					if (!valueSet.add(value))
 						throw new ValidationException("The property " + property.getDisplayName()
 								+ " is marked as unique but the value (" + value
 								+ ") occurs multiple times.");
-					else
-						valueSet.add(value);
 				}
 			}
 		}
 	}
+
+	@Override
+	public void validateContext(InstanceValidationContext context,
+			InstanceValidationReporter reporter) throws ValidationException {
+		// all instances were validated, release the tracked values
+		@SuppressWarnings("unchecked")
+		Map<String, UniqueValueSet> map = (Map<String, UniqueValueSet>) context
+				.getContext(UniqueValidator.class);
+		if (map != null) {
+			for (UniqueValueSet valueSet : map.values()) {
+				valueSet.close();
+			}
+			map.clear();
+		}
+	}
 }
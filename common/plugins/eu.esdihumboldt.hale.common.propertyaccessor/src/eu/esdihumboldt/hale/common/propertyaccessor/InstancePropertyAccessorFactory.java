@@ -22,9 +22,12 @@ import org.geotools.filter.expression.PropertyAccessor;
 import org.geotools.filter.expression.PropertyAccessorFactory;
 import org.geotools.util.factory.Hints;
 
+import eu.esdihumboldt.hale.common.instance.helper.CompiledPropertyPath;
 import eu.esdihumboldt.hale.common.instance.helper.PropertyResolver;
+import eu.esdihumboldt.hale.common.instance.model.DataSet;
 import eu.esdihumboldt.hale.common.instance.model.Instance;
 import eu.esdihumboldt.hale.common.schema.geometry.GeometryProperty;
+import eu.esdihumboldt.hale.common.schema.model.TypeDefinition;
 
 /**
  * Factory for property accessor using {@link PropertyResolver}.
@@ -53,6 +56,60 @@ public class InstancePropertyAccessorFactory implements PropertyAccessorFactory
 
 	static class InstancePropertyAccessor implements PropertyAccessor {
 
+		/**
+		 * A property path compiled for a type.
+		 */
+		private static class CompiledEntry {
+
+			private final TypeDefinition type;
+			private final DataSet dataSet;
+			private final String xpath;
+			private final CompiledPropertyPath path;
+
+			public CompiledEntry(TypeDefinition type, DataSet dataSet, String xpath,
+					CompiledPropertyPath path) {
+				this.type = type;
+				this.dataSet = dataSet;
+				this.xpath = xpath;
+				this.path = path;
+			}
+
+			public boolean matches(Instance instance, String xpath) {
+				return type == instance.getDefinition() && dataSet == instance.getDataSet()
+						&& this.xpath.equals(xpath);
+			}
+
+		}
+
+		/**
+		 * The path compiled for the last evaluated instance. An accessor is
+		 * reused for a property name of a filter that is usually evaluated on
+		 * many instances of the same type.
+		 */
+		private volatile CompiledEntry lastCompiled;
+
+		/**
+		 * Get the values of an instance at the given path.
+		 * 
+		 * @param instance the instance
+		 * @param xpath the property path
+		 * @return the values, may be <code>null</code>
+		 */
+		protected Collection<Object> getValues(Instance instance, String xpath) {
+			if (instance.getDefinition() == null) {
+				return PropertyResolver.getValues(instance, xpath);
+			}
+
+			CompiledEntry entry = lastCompiled;
+			if (entry == null || !entry.matches(instance, xpath)) {
+				entry = new CompiledEntry(instance.getDefinition(), instance.getDataSet(), xpath,
+						PropertyResolver.getCompiledPath(instance.getDefinition(),
+								instance.getDataSet(), xpath));
+				lastCompiled = entry;
+			}
+			return entry.path.getValues(instance, true);
+		}
+
 		@Override
 		public boolean canHandle(Object object, String xpath,
 				@SuppressWarnings("rawtypes") Class target) {
@@ -84,16 +141,8 @@ public class InstancePropertyAccessorFactory implements PropertyAccessorFactory
 		@Override
 		public Object get(Object object, String xpath, @SuppressWarnings("rawtypes") Class target) {
 			if (object instanceof Instance) {
-				Collection<Object> values = PropertyResolver.getValues((Instance) object, xpath);
-				if (values.size() == 1) {
-					/*
-					 * Always yield single value if there is only a single
-					 * value. This is required for instance for the IS NULL
-					 * filter. It does not work on lists.
-					 */
-					return unwrap(values.iterator().next());
-				}
-				else if (values.isEmpty()) {
+				Collection<Object> values = getValues((Instance) object, xpath);
+				if (values == null || values.isEmpty()) {
 					/*
 					 * No values -> return null. This is required for instance
 					 * for the IS NULL filter. It treats a list always as not
@@ -101,6 +150,14 @@ public class InstancePropertyAccessorFactory implements PropertyAccessorFactory
 					 */
 					return null;
 				}
+				else if (values.size() == 1) {
+					/*
+					 * Always yield single value if there is only a single
+					 * value. This is required for instance for the IS NULL
+					 * filter. It does not work on lists.
+					 */
+					return unwrap(values.iterator().next());
+				}
 				else {
 					// unwrap values
 					values = values.stream().map(this::unwrap).collect(Collectors.toList());
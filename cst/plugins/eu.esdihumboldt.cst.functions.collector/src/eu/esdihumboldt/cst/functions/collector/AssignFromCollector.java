@@ -92,7 +92,7 @@ public class AssignFromCollector
 			throw new TransformationException(MessageFormat.format(
 					"Error retrieving collector \"{0}\"", collectorName.getValue().toString()));
 		}
-		else if (collector.values().isEmpty()) {
+		else if (collector.size() == 0) {
 			log.warn(new TransformationMessageImpl(getCell(),
 					MessageFormat.format(
 							"Collector \"{0}\" contains no values. If this is unexpected, check the spelling of the collector name and the priority of the transformation function.",
@@ -16,8 +16,13 @@
 
 package eu.esdihumboldt.cst.functions.core.merge;
 
+import java.io.IOException;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
+import java.util.NoSuchElementException;
 
 import com.google.common.collect.HashMultimap;
 import com.google.common.collect.ListMultimap;
@@ -42,7 +47,15 @@ import eu.esdihumboldt.hale.common.schema.model.TypeDefinition;
 
 /**
  * Abstract merge handler implementation based on a merge index of instance
- * references.
+ * references.<br>
+ * <br>
+ * If the merge keys can be represented as sort keys (see
+ * {@link #getSortKey(Object, Object)}), instances are grouped by sorting them
+ * by their sort key instead. The sort keys are written to disk in sorted runs
+ * if they exceed the memory budget configured through the system property
+ * {@value #SYSTEM_PROPERTY_SORT_BUFFER} (in MB). Grouping by sorting can be
+ * disabled by setting the system property
+ * {@value #SYSTEM_PROPERTY_EXTERNAL_SORT} to <code>false</code>.
  * 
  * @param <T> the merge configuration type
  * @param <K> the merge key type
@@ -50,6 +63,23 @@ import eu.esdihumboldt.hale.common.schema.model.TypeDefinition;
  */
 public abstract class AbstractMergeHandler<T, K> implements InstanceHandler<TransformationEngine> {
 
+	/**
+	 * Name of the system property that allows disabling grouping instances
+	 * by sorting.
+	 */
+	public static final String SYSTEM_PROPERTY_EXTERNAL_SORT = "hale.merge.externalSort";
+
+	/**
+	 * Name of the system property specifying the memory budget for sort keys
+	 * in MB.
+	 */
+	public static final String SYSTEM_PROPERTY_SORT_BUFFER = "hale.merge.sortBuffer";
+
+	/**
+	 * The default memory budget for sort keys in MB.
+	 */
+	public static final int DEFAULT_SORT_BUFFER = 64;
+
 	/**
 	 * Resource iterator over the merged instances
 	 */
@@ -107,6 +137,82 @@ public abstract class AbstractMergeHandler<T, K> implements InstanceHandler<Tran
 		}
 	}
 
+	/**
+	 * Resource iterator over instances merged based on groups determined by
+	 * sorting.
+	 */
+	public class SortedMergedIterator implements ResourceIterator<FamilyInstance> {
+
+		private final ExternalGroupSort sort;
+		private final Iterator<List<Integer>> groups;
+		private final List<InstanceReference> references;
+		private final InstanceCollection originalInstances;
+		private final T mergeConfig;
+
+		/**
+		 * Create an iterator over merged instances.
+		 * 
+		 * @param sort the sorter holding the sorted runs
+		 * @param groups the groups of instance ordinals
+		 * @param references the instance references, the index of a reference
+		 *            is its ordinal
+		 * @param instances the original instance collection
+		 * @param mergeConfig the merge configuration
+		 */
+		private SortedMergedIterator(ExternalGroupSort sort, Iterator<List<Integer>> groups,
+				List<InstanceReference> references, InstanceCollection instances,
+				T mergeConfig) {
+			this.sort = sort;
+			this.groups = groups;
+			this.references = references;
+			this.originalInstances = instances;
+			this.mergeConfig = mergeConfig;
+		}
+
+		@Override
+		public boolean hasNext() {
+			return groups.hasNext();
+		}
+
+		@Override
+		public FamilyInstance next() {
+			if (!hasNext()) {
+				throw new NoSuchElementException();
+			}
+
+			List<Integer> group = groups.next();
+			List<InstanceReference> groupReferences = new ArrayList<>(group.size());
+			for (Integer ordinal : group) {
+				groupReferences.add(references.get(ordinal));
+			}
+			InstanceCollection instances = originalInstances.getInstances(groupReferences);
+
+			// determine type and merge key based on sample instance
+			TypeDefinition type = null;
+			K key = null;
+			try (ResourceIterator<Instance> it = instances.iterator()) {
+				if (it.hasNext()) {
+					Instance sample = it.next();
+					type = sample.getDefinition();
+					key = getMergeKey(sample, mergeConfig);
+				}
+			}
+
+			return new FamilyInstanceImpl(merge(instances, type, key, mergeConfig));
+		}
+
+		@Override
+		public void remove() {
+			// prohibit remove
+			throw new UnsupportedOperationException();
+		}
+
+		@Override
+		public void close() {
+			sort.close();
+		}
+	}
+
 	/**
 	 * @see InstanceHandler#partitionInstances(InstanceCollection, String,
 	 *      TransformationEngine, ListMultimap, Map, TransformationLog)
@@ -120,6 +226,13 @@ public abstract class AbstractMergeHandler<T, K> implements InstanceHandler<Tran
 		T mergeConfig = createMergeConfiguration(transformationIdentifier, transformationParameters,
 				executionParameters, log);
 
+		if (isExternalSortEnabled()) {
+			ResourceIterator<FamilyInstance> sorted = partitionSorted(instances, mergeConfig, log);
+			if (sorted != null) {
+				return sorted;
+			}
+		}
+
 		// create merge index over all instances (references)
 		Multimap<K, InstanceReference> index = HashMultimap.create();
 
@@ -137,6 +250,66 @@ public abstract class AbstractMergeHandler<T, K> implements InstanceHandler<Tran
 		return new MergedIterator(index, instances, mergeConfig);
 	}
 
+	/**
+	 * Partition the instances by sorting them by their sort key.
+	 * 
+	 * @param instances the instances to partition
+	 * @param mergeConfig the merge configuration
+	 * @param log the transformation log
+	 * @return the iterator over the merged instances or <code>null</code> if
+	 *         the instances cannot be grouped by sorting
+	 */
+	private ResourceIterator<FamilyInstance> partitionSorted(InstanceCollection instances,
+			T mergeConfig, TransformationLog log) {
+		ExternalGroupSort sort = new ExternalGroupSort(getSortBufferSize());
+		boolean success = false;
+		try {
+			// the index of a reference is the ordinal of the instance
+			List<InstanceReference> references = new ArrayList<>();
+
+			try (ResourceIterator<Instance> it = instances.iterator()) {
+				while (it.hasNext()) {
+					Instance instance = it.next();
+					String sortKey = getSortKey(getMergeKey(instance, mergeConfig), mergeConfig);
+					if (sortKey == null) {
+						// fall back to merge index
+						return null;
+					}
+
+					sort.add(sortKey, references.size());
+					references.add(instances.getReference(instance));
+				}
+			}
+
+			Iterator<List<Integer>> groups = sort.groups();
+			success = true;
+			return new SortedMergedIterator(sort, groups, references, instances, mergeConfig);
+		} catch (IOException e) {
+			log.warn("Grouping instances for merge on disk failed, using in-memory merge index",
+					e);
+			return null;
+		} finally {
+			if (!success) {
+				sort.close();
+			}
+		}
+	}
+
+	/**
+	 * @return if grouping instances by sorting is enabled
+	 */
+	private static boolean isExternalSortEnabled() {
+		return !"false".equalsIgnoreCase(System.getProperty(SYSTEM_PROPERTY_EXTERNAL_SORT));
+	}
+
+	/**
+	 * @return the memory budget for sort keys in bytes
+	 */
+	private static long getSortBufferSize() {
+		return Integer.getInteger(SYSTEM_PROPERTY_SORT_BUFFER, DEFAULT_SORT_BUFFER) * 1024L
+				* 1024L;
+	}
+
 	/**
 	 * Get the instance factory
 	 * 
@@ -176,6 +349,21 @@ public abstract class AbstractMergeHandler<T, K> implements InstanceHandler<Tran
 	 */
 	protected abstract K getMergeKey(Instance instance, T mergeConfig);
 
+	/**
+	 * Get a sort key representing the given merge key. Instances with equal
+	 * merge keys must have equal sort keys and vice versa. If a sort key can
+	 * be determined for the merge keys of all instances, the instances are
+	 * grouped by sorting them instead of using an in-memory index.
+	 * 
+	 * @param mergeKey the merge key
+	 * @param mergeConfig the merge configuration
+	 * @return the sort key or <code>null</code> if the merge key cannot be
+	 *         represented as sort key
+	 */
+	protected String getSortKey(K mergeKey, T mergeConfig) {
+		return null;
+	}
+
 	/**
 	 * Merge multiple instance into one.
 	 * 
@@ -0,0 +1,393 @@
+/*
+ * Copyright (c) 2026 wetransform GmbH
+ *
+ * All rights reserved. This program and the accompanying materials are made
+ * available under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 3 of the License,
+ * or (at your option) any later version.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Contributors:
+ *     wetransform GmbH <http://www.wetransform.to>
+ */
+
+package eu.esdihumboldt.cst.functions.core.merge;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.PriorityQueue;
+
+import de.fhg.igd.slf4jplus.ALogger;
+import de.fhg.igd.slf4jplus.ALoggerFactory;
+
+/**
+ * Groups ordinals by sort key. Entries are sorted in memory until the memory
+ * budget is exceeded, then the sorted entries are written to a run file on
+ * disk. The groups are determined by merging the sorted runs.<br>
+ * <br>
+ * Entries have to be added in the order of their ordinals, within a group the
+ * ordinals are returned in that order.
+ */
+class ExternalGroupSort implements Closeable {
+
+	private static final ALogger log = ALoggerFactory.getLogger(ExternalGroupSort.class);
+
+	/**
+	 * Estimated memory used by an entry in addition to the key characters.
+	 */
+	private static final int ENTRY_OVERHEAD = 64;
+
+	private static final int BUFFER_SIZE = 64 * 1024;
+
+	/**
+	 * Maximum number of runs merged at once.
+	 */
+	private static final int MAX_FAN_IN = 64;
+
+	/**
+	 * An entry with a sort key and an ordinal.
+	 */
+	private static class Entry {
+
+		private final String key;
+		private final int ordinal;
+
+		private Entry(String key, int ordinal) {
+			this.key = key;
+			this.ordinal = ordinal;
+		}
+
+	}
+
+	private static final Comparator<Entry> ENTRY_ORDER = new Comparator<Entry>() {
+
+		@Override
+		public int compare(Entry o1, Entry o2) {
+			int result = o1.key.compareTo(o2.key);
+			if (result == 0) {
+				result = Integer.compare(o1.ordinal, o2.ordinal);
+			}
+			return result;
+		}
+	};
+
+	/**
+	 * Reader for a sorted run.
+	 */
+	private static class RunReader implements Closeable {
+
+		private final DataInputStream in;
+		private int remaining;
+		private Entry current;
+
+		private RunReader(Path file, int count) throws IOException {
+			this.in = new DataInputStream(
+					new BufferedInputStream(Files.newInputStream(file), BUFFER_SIZE));
+			this.remaining = count;
+		}
+
+		/**
+		 * Read the next entry.
+		 * 
+		 * @return if an entry was read
+		 * @throws IOException if reading the entry fails
+		 */
+		private boolean advance() throws IOException {
+			if (remaining <= 0) {
+				current = null;
+				return false;
+			}
+			remaining--;
+
+			byte[] key = new byte[in.readInt()];
+			in.readFully(key);
+			current = new Entry(new String(key, StandardCharsets.UTF_8), in.readInt());
+			return true;
+		}
+
+		@Override
+		public void close() throws IOException {
+			in.close();
+		}
+
+	}
+
+	private final long memoryBudget;
+
+	private final List<Entry> buffer = new ArrayList<>();
+
+	private long bufferSize = 0;
+
+	private final List<Path> runs = new ArrayList<>();
+
+	private final List<Integer> runCounts = new ArrayList<>();
+
+	private final List<RunReader> readers = new ArrayList<>();
+
+	/**
+	 * Create a new sorter.
+	 * 
+	 * @param memoryBudget the estimated number of bytes entries may occupy in
+	 *            memory before they are written to disk
+	 */
+	public ExternalGroupSort(long memoryBudget) {
+		this.memoryBudget = memoryBudget;
+	}
+
+	/**
+	 * Add an entry.
+	 * 
+	 * @param key the sort key
+	 * @param ordinal the ordinal, must be greater than the ordinals added
+	 *            before
+	 * @throws IOException if writing a sorted run fails
+	 */
+	public void add(String key, int ordinal) throws IOException {
+		buffer.add(new Entry(key, ordinal));
+		bufferSize += ENTRY_OVERHEAD + 2L * key.length();
+
+		if (bufferSize > memoryBudget) {
+			writeRun();
+		}
+	}
+
+	/**
+	 * @return the number of sorted runs written to disk
+	 */
+	public int getRunCount() {
+		return runs.size();
+	}
+
+	/**
+	 * Get the groups of ordinals with equal sort keys. Must only be called
+	 * once, after all entries were added.
+	 * 
+	 * @return the iterator over the groups, ordered by sort key
+	 * @throws IOException if writing or opening the sorted runs fails
+	 */
+	public Iterator<List<Integer>> groups() throws IOException {
+		if (runs.isEmpty()) {
+			// everything fits into memory
+			Collections.sort(buffer, ENTRY_ORDER);
+			return new MemoryGroupIterator();
+		}
+
+		if (!buffer.isEmpty()) {
+			writeRun();
+		}
+
+		// limit the number of runs that are read at the same time
+		while (runs.size() > MAX_FAN_IN) {
+			mergeRuns(MAX_FAN_IN);
+		}
+
+		return new RunGroupIterator(openRuns(0, runs.size()));
+	}
+
+	/**
+	 * Open readers on the given runs.
+	 * 
+	 * @param from the index of the first run
+	 * @param to the index after the last run
+	 * @return the queue of run readers, ordered by their current entry
+	 * @throws IOException if opening a run fails
+	 */
+	private PriorityQueue<RunReader> openRuns(int from, int to) throws IOException {
+		PriorityQueue<RunReader> queue = new PriorityQueue<>(Math.max(1, to - from),
+				new Comparator<RunReader>() {
+
+					@Override
+					public int compare(RunReader o1, RunReader o2) {
+						return ENTRY_ORDER.compare(o1.current, o2.current);
+					}
+				});
+		for (int i = from; i < to; i++) {
+			RunReader reader = new RunReader(runs.get(i), runCounts.get(i));
+			readers.add(reader);
+			if (reader.advance()) {
+				queue.add(reader);
+			}
+		}
+		return queue;
+	}
+
+	/**
+	 * Merge the first runs into a single run, that is added as last run.
+	 * 
+	 * @param count the number of runs to merge
+	 * @throws IOException if merging the runs fails
+	 */
+	private void mergeRuns(int count) throws IOException {
+		PriorityQueue<RunReader> queue = openRuns(0, count);
+
+		Path file = Files.createTempFile("hale-merge", ".run");
+		runs.add(file);
+		int merged = 0;
+		try (DataOutputStream out = new DataOutputStream(
+				new BufferedOutputStream(Files.newOutputStream(file), BUFFER_SIZE))) {
+			while (!queue.isEmpty()) {
+				RunReader reader = queue.poll();
+				write(reader.current, out);
+				merged++;
+				if (reader.advance()) {
+					queue.add(reader);
+				}
+			}
+		}
+		runCounts.add(merged);
+
+		// remove the merged runs
+		for (RunReader reader : readers) {
+			reader.close();
+		}
+		readers.clear();
+		for (int i = 0; i < count; i++) {
+			Files.deleteIfExists(runs.get(i));
+		}
+		runs.subList(0, count).clear();
+		runCounts.subList(0, count).clear();
+	}
+
+	/**
+	 * Sort the buffered entries and write them to a new run file.
+	 * 
+	 * @throws IOException if writing the run fails
+	 */
+	private void writeRun() throws IOException {
+		Collections.sort(buffer, ENTRY_ORDER);
+
+		Path file = Files.createTempFile("hale-merge", ".run");
+		runs.add(file);
+		try (DataOutputStream out = new DataOutputStream(
+				new BufferedOutputStream(Files.newOutputStream(file), BUFFER_SIZE))) {
+			for (Entry entry : buffer) {
+				write(entry, out);
+			}
+		}
+		runCounts.add(buffer.size());
+
+		buffer.clear();
+		bufferSize = 0;
+	}
+
+	private static void write(Entry entry, DataOutputStream out) throws IOException {
+		byte[] key = entry.key.getBytes(StandardCharsets.UTF_8);
+		out.writeInt(key.length);
+		out.write(key);
+		out.writeInt(entry.ordinal);
+	}
+
+	/**
+	 * Closes the run readers and deletes the run files.
+	 */
+	@Override
+	public void close() {
+		for (RunReader reader : readers) {
+			try {
+				reader.close();
+			} catch (IOException e) {
+				log.warn("Failed to close sorted run", e);
+			}
+		}
+		readers.clear();
+
+		for (Path run : runs) {
+			try {
+				Files.deleteIfExists(run);
+			} catch (IOException e) {
+				log.warn("Failed to delete sorted run " + run, e);
+			}
+		}
+		runs.clear();
+		runCounts.clear();
+
+		buffer.clear();
+		bufferSize = 0;
+	}
+
+	/**
+	 * Group iterator on the sorted entries in memory.
+	 */
+	private class MemoryGroupIterator implements Iterator<List<Integer>> {
+
+		private int index = 0;
+
+		@Override
+		public boolean hasNext() {
+			return index < buffer.size();
+		}
+
+		@Override
+		public List<Integer> next() {
+			if (!hasNext()) {
+				throw new NoSuchElementException();
+			}
+
+			List<Integer> group = new ArrayList<>();
+			String key = buffer.get(index).key;
+			while (index < buffer.size() && buffer.get(index).key.equals(key)) {
+				group.add(buffer.get(index).ordinal);
+				index++;
+			}
+			return group;
+		}
+
+	}
+
+	/**
+	 * Group iterator merging the sorted runs.
+	 */
+	private static class RunGroupIterator implements Iterator<List<Integer>> {
+
+		private final PriorityQueue<RunReader> queue;
+
+		private RunGroupIterator(PriorityQueue<RunReader> queue) {
+			this.queue = queue;
+		}
+
+		@Override
+		public boolean hasNext() {
+			return !queue.isEmpty();
+		}
+
+		@Override
+		public List<Integer> next() {
+			if (!hasNext()) {
+				throw new NoSuchElementException();
+			}
+
+			List<Integer> group = new ArrayList<>();
+			String key = queue.peek().current.key;
+			try {
+				while (!queue.isEmpty() && queue.peek().current.key.equals(key)) {
+					RunReader reader = queue.poll();
+					group.add(reader.current.ordinal);
+					if (reader.advance()) {
+						queue.add(reader);
+					}
+				}
+			} catch (IOException e) {
+				throw new UncheckedIOException("Failed to read sorted run", e);
+			}
+			return group;
+		}
+
+	}
+
+}
@@ -117,6 +117,17 @@ public class PropertiesMergeHandler
 		return new DeepIterableKey(valueList);
 	}
 
+	@Override
+	protected String getSortKey(DeepIterableKey mergeKey, PropertiesMergeConfig mergeConfig) {
+		if (mergeKey == DeepIterableKey.KEY_ALL) {
+			// merge all instances - handled by merge index
+			return null;
+		}
+
+		// only keys consisting of simple values can be sorted
+		return SortKeyEncoder.encode(mergeKey.getObject());
+	}
+
 	@Override
 	protected Instance merge(InstanceCollection instances, TypeDefinition type,
 			DeepIterableKey mergeKey, PropertiesMergeConfig mergeConfig) {
@@ -0,0 +1,132 @@
+/*
+ * Copyright (c) 2026 wetransform GmbH
+ *
+ * All rights reserved. This program and the accompanying materials are made
+ * available under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 3 of the License,
+ * or (at your option) any later version.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Contributors:
+ *     wetransform GmbH <http://www.wetransform.to>
+ */
+
+package eu.esdihumboldt.cst.functions.core.merge;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+
+/**
+ * Encodes merge keys composed of simple values as strings, so that keys can
+ * be sorted. Two keys have the same encoding if and only if they are equal
+ * according to {@link eu.esdihumboldt.util.StructuredEquals}.
+ */
+final class SortKeyEncoder {
+
+	private SortKeyEncoder() {
+		// static utility
+	}
+
+	/**
+	 * Encode a key.
+	 * 
+	 * @param key the key, may be a simple value, an {@link Iterable} or an
+	 *            array
+	 * @return the encoded key or <code>null</code> if the key contains values
+	 *         that cannot be encoded
+	 */
+	public static String encode(Object key) {
+		StringBuilder result = new StringBuilder();
+		if (encode(key, result)) {
+			return result.toString();
+		}
+		return null;
+	}
+
+	private static boolean encode(Object value, StringBuilder result) {
+		if (value == null) {
+			result.append('n');
+			return true;
+		}
+
+		if (value instanceof Iterable<?>) {
+			result.append('[');
+			for (Object element : (Iterable<?>) value) {
+				if (!encode(element, result)) {
+					return false;
+				}
+			}
+			result.append(']');
+			return true;
+		}
+		if (value instanceof Object[]) {
+			result.append('[');
+			for (Object element : (Object[]) value) {
+				if (!encode(element, result)) {
+					return false;
+				}
+			}
+			result.append(']');
+			return true;
+		}
+
+		char tag = getTag(value);
+		if (tag == 0) {
+			return false;
+		}
+
+		// simple value with length prefix
+		String text = value.toString();
+		result.append(tag).append(text.length()).append(':').append(text);
+		return true;
+	}
+
+	/**
+	 * Get the tag identifying the type of a simple value. Only types where the
+	 * string representation is unique with respect to
+	 * {@link Object#equals(Object)} are supported.
+	 * 
+	 * @param value the value
+	 * @return the tag or <code>0</code> if the value is not supported
+	 */
+	private static char getTag(Object value) {
+		Class<?> type = value.getClass();
+		if (type == String.class) {
+			return 's';
+		}
+		if (type == Integer.class) {
+			return 'i';
+		}
+		if (type == Long.class) {
+			return 'l';
+		}
+		if (type == Short.class) {
+			return 'h';
+		}
+		if (type == Byte.class) {
+			return 'b';
+		}
+		if (type == Double.class) {
+			return 'd';
+		}
+		if (type == Float.class) {
+			return 'f';
+		}
+		if (type == BigInteger.class) {
+			return 'I';
+		}
+		if (type == BigDecimal.class) {
+			return 'D';
+		}
+		if (type == Boolean.class) {
+			return 'z';
+		}
+		if (type == Character.class) {
+			return 'c';
+		}
+		return 0;
+	}
+
+}
@@ -0,0 +1,133 @@
+/*
+ * Copyright (c) 2026 wetransform GmbH
+ *
+ * All rights reserved. This program and the accompanying materials are made
+ * available under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 3 of the License,
+ * or (at your option) any later version.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Contributors:
+ *     wetransform GmbH <http://www.wetransform.to>
+ */
+
+package eu.esdihumboldt.cst.functions.geometric.test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import org.geotools.geometry.jts.JTS;
+import org.geotools.referencing.CRS;
+import org.junit.Test;
+import org.locationtech.jts.geom.Coordinate;
+import org.locationtech.jts.geom.Geometry;
+import org.locationtech.jts.io.WKTReader;
+import org.opengis.referencing.crs.CoordinateReferenceSystem;
+
+import eu.esdihumboldt.cst.functions.geometric.MathTransformCache;
+import eu.esdihumboldt.cst.functions.geometric.MathTransformCache.CachedTransform;
+
+/**
+ * Tests for {@link MathTransformCache}.
+ */
+public class MathTransformCacheTest {
+
+	private static final String POLYGON = "POLYGON ((8.1 49.5, 8.9 49.5, 8.9 50.2, 8.1 50.2, 8.1 49.5), "
+			+ "(8.3 49.7, 8.5 49.7, 8.5 49.9, 8.3 49.7))";
+
+	/**
+	 * Test that transforms are reused for the same reference systems.
+	 * 
+	 * @throws Exception if an error occurs
+	 */
+	@Test
+	public void testCached() throws Exception {
+		CoordinateReferenceSystem lonLat = CRS.decode("EPSG:4326", true);
+		CoordinateReferenceSystem mercator = CRS.decode("EPSG:3857");
+		CachedTransform transform = MathTransformCache.getInstance().getTransform(lonLat,
+				mercator);
+		CachedTransform other = MathTransformCache.getInstance().getTransform(lonLat, mercator);
+		assertSame(transform, other);
+
+		CachedTransform inverse = MathTransformCache.getInstance().getTransform(mercator,
+				lonLat);
+		assertNotSame(transform, inverse);
+	}
+
+	/**
+	 * Test the transform between equal reference systems.
+	 * 
+	 * @throws Exception if an error occurs
+	 */
+	@Test
+	public void testIdentity() throws Exception {
+		CachedTransform transform = MathTransformCache.getInstance()
+				.getTransform(CRS.decode("EPSG:31467"), CRS.decode("EPSG:31467"));
+		assertTrue(transform.isIdentity());
+
+		Geometry geometry = new WKTReader().read(POLYGON);
+		assertSame(geometry, transform.transform(geometry));
+	}
+
+	/**
+	 * Test the transform between reference systems that only differ in the
+	 * axis order.
+	 * 
+	 * @throws Exception if an error occurs
+	 */
+	@Test
+	public void testAxisSwap() throws Exception {
+		CoordinateReferenceSystem lonLat = CRS.decode("EPSG:4326", true);
+		CoordinateReferenceSystem latLon = CRS.decode("EPSG:4326", false);
+		CachedTransform transform = MathTransformCache.getInstance().getTransform(lonLat,
+				latLon);
+		assertTrue(transform.isAxisSwap());
+
+		Geometry geometry = new WKTReader().read(POLYGON);
+		Geometry result = transform.transform(geometry);
+
+		Coordinate[] source = geometry.getCoordinates();
+		Coordinate[] target = result.getCoordinates();
+		assertEquals(source.length, target.length);
+		for (int i = 0; i < source.length; i++) {
+			assertEquals(source[i].x, target[i].y, 0);
+			assertEquals(source[i].y, target[i].x, 0);
+		}
+	}
+
+	/**
+	 * Test that a projection yields the same result as transforming the
+	 * geometry through GeoTools.
+	 * 
+	 * @throws Exception if an error occurs
+	 */
+	@Test
+	public void testProjection() throws Exception {
+		CoordinateReferenceSystem lonLat = CRS.decode("EPSG:4326", true);
+		CoordinateReferenceSystem utm = CRS.decode("EPSG:25832");
+		CachedTransform transform = MathTransformCache.getInstance().getTransform(lonLat, utm);
+		assertFalse(transform.isIdentity());
+		assertFalse(transform.isAxisSwap());
+
+		Geometry geometry = new WKTReader()
+				.read("MULTIPOLYGON (((8.1 49.5, 8.9 49.5, 8.9 50.2, 8.1 49.5)), "
+						+ "((9.1 48.1, 9.4 48.1, 9.4 48.4, 9.1 48.1)))");
+		Geometry expected = JTS.transform(geometry, transform.getTransform());
+		Geometry result = transform.transform(geometry);
+
+		assertEquals(geometry.getGeometryType(), result.getGeometryType());
+		Coordinate[] expectedCoordinates = expected.getCoordinates();
+		Coordinate[] coordinates = result.getCoordinates();
+		assertEquals(expectedCoordinates.length, coordinates.length);
+		for (int i = 0; i < coordinates.length; i++) {
+			assertEquals(expectedCoordinates[i].x, coordinates[i].x, 1e-6);
+			assertEquals(expectedCoordinates[i].y, coordinates[i].y, 1e-6);
+		}
+	}
+
+}
@@ -0,0 +1,115 @@
+/*
+ * Copyright (c) 2026 wetransform GmbH
+ *
+ * All rights reserved. This program and the accompanying materials are made
+ * available under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 3 of the License,
+ * or (at your option) any later version.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Contributors:
+ *     wetransform GmbH <http://www.wetransform.to>
+ */
+
+package eu.esdihumboldt.cst.functions.geometric.test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Test;
+import org.locationtech.jts.geom.Coordinate;
+import org.locationtech.jts.geom.Envelope;
+import org.locationtech.jts.geom.Geometry;
+import org.locationtech.jts.geom.GeometryFactory;
+import org.locationtech.jts.geom.LineString;
+import org.locationtech.jts.geom.Polygon;
+
+import eu.esdihumboldt.cst.functions.geometric.extent.PartitionedUnion;
+
+/**
+ * Tests for {@link PartitionedUnion}.
+ */
+public class PartitionedUnionTest {
+
+	private final GeometryFactory factory = new GeometryFactory();
+
+	/**
+	 * Test dissolving a grid of adjacent squares that is large enough to be
+	 * partitioned, together with a disjoint square.
+	 */
+	@Test
+	public void testDissolveGrid() {
+		List<Geometry> geometries = new ArrayList<>();
+		for (int x = 0; x < 40; x++) {
+			for (int y = 0; y < 40; y++) {
+				geometries.add(square(x, y, 1));
+			}
+		}
+		geometries.add(square(100, 100, 1));
+		Collections.shuffle(geometries, new Random(42));
+
+		Geometry union = PartitionedUnion.union(geometries, factory);
+
+		assertTrue(union.isValid());
+		assertEquals(2, union.getNumGeometries());
+		assertEquals(1601, union.getArea(), 1e-9);
+		assertEquals(new Envelope(0, 101, 0, 101), union.getEnvelopeInternal());
+	}
+
+	/**
+	 * Test that the union of overlapping polygons matches the union computed
+	 * through a zero buffer.
+	 */
+	@Test
+	public void testOverlapping() {
+		Random random = new Random(7);
+		List<Geometry> geometries = new ArrayList<>();
+		for (int i = 0; i < 1000; i++) {
+			geometries.add(factory
+					.createPoint(
+							new Coordinate(random.nextDouble() * 100, random.nextDouble() * 100))
+					.buffer(1 + random.nextDouble() * 3, 4));
+		}
+
+		Geometry union = PartitionedUnion.union(geometries, factory);
+		Geometry expected = factory.buildGeometry(geometries).buffer(0);
+
+		assertTrue(union.isValid());
+		assertEquals(expected.getArea(), union.getArea(), 1e-6);
+		assertTrue(union.symDifference(expected).getArea() < 1e-6);
+	}
+
+	/**
+	 * Test that non-polygonal geometries are ignored.
+	 */
+	@Test
+	public void testIgnoreNonPolygonal() {
+		List<Geometry> geometries = new ArrayList<>();
+		LineString line = factory.createLineString(
+				new Coordinate[] { new Coordinate(0, 0), new Coordinate(10, 10) });
+		geometries.add(line);
+
+		Geometry union = PartitionedUnion.union(geometries, factory);
+		assertTrue(union.isEmpty());
+
+		geometries.add(square(0, 0, 2));
+		geometries.add(square(1, 1, 2));
+		union = PartitionedUnion.union(geometries, factory);
+		assertTrue(union instanceof Polygon);
+		assertEquals(7, union.getArea(), 1e-9);
+	}
+
+	private Polygon square(double x, double y, double size) {
+		return factory.createPolygon(new Coordinate[] { new Coordinate(x, y),
+				new Coordinate(x + size, y), new Coordinate(x + size, y + size),
+				new Coordinate(x, y + size), new Coordinate(x, y) });
+	}
+
+}
@@ -0,0 +1,328 @@
+/*
+ * Copyright (c) 2026 wetransform GmbH
+ *
+ * All rights reserved. This program and the accompanying materials are made
+ * available under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 3 of the License,
+ * or (at your option) any later version.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Contributors:
+ *     wetransform GmbH <http://www.wetransform.to>
+ */
+
+package eu.esdihumboldt.cst.functions.geometric;
+
+import org.geotools.geometry.jts.JTS;
+import org.geotools.referencing.CRS;
+import org.geotools.referencing.operation.LinearTransform;
+import org.locationtech.jts.geom.CoordinateSequence;
+import org.locationtech.jts.geom.Geometry;
+import org.locationtech.jts.geom.util.GeometryEditor;
+import org.opengis.referencing.FactoryException;
+import org.opengis.referencing.crs.CoordinateReferenceSystem;
+import org.opengis.referencing.operation.MathTransform;
+import org.opengis.referencing.operation.Matrix;
+import org.opengis.referencing.operation.TransformException;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+
+import eu.esdihumboldt.hale.common.align.transformation.function.TransformationException;
+import net.jcip.annotations.Immutable;
+
+/**
+ * Process wide cache of math transforms between coordinate reference systems.
+ * Transforms are keyed by the identity of the source and target reference
+ * system objects, so a lookup does not compare the reference system
+ * definitions. The least recently used transforms are evicted if the cache
+ * grows too large.<br>
+ * <br>
+ * Cached transforms reproject geometries by transforming each coordinate
+ * sequence with a single call to the math transform. Transforms that don't
+ * change the coordinates or only swap the axes are detected and applied
+ * without the math transform.
+ */
+public class MathTransformCache {
+
+	/**
+	 * Maximum number of cached transforms, to prevent the cache from growing
+	 * without bounds if reference systems are created for every geometry (e.g.
+	 * from WKT).
+	 */
+	private static final int MAX_ENTRIES = 256;
+
+	private static final MathTransformCache INSTANCE = new MathTransformCache();
+
+	/**
+	 * How a transform is applied to coordinates.
+	 */
+	private enum Mode {
+		/** The transform doesn't change the coordinates */
+		IDENTITY,
+		/** The transform only swaps the first and second axis */
+		AXIS_SWAP,
+		/** Two-dimensional transform applied on coordinate arrays */
+		ARRAY,
+		/** Other transforms, applied through GeoTools */
+		GENERIC
+	}
+
+	/**
+	 * Cache key consisting of source and target reference system, compared by
+	 * identity.
+	 */
+	private static class Key {
+
+		private final CoordinateReferenceSystem source;
+		private final CoordinateReferenceSystem target;
+		private final int hash;
+
+		public Key(CoordinateReferenceSystem source, CoordinateReferenceSystem target) {
+			this.source = source;
+			this.target = target;
+			this.hash = 31 * System.identityHashCode(source) + System.identityHashCode(target);
+		}
+
+		@Override
+		public int hashCode() {
+			return hash;
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (this == obj) {
+				return true;
+			}
+			if (!(obj instanceof Key)) {
+				return false;
+			}
+			Key other = (Key) obj;
+			return source == other.source && target == other.target;
+		}
+
+	}
+
+	/**
+	 * A cached math transform.
+	 */
+	@Immutable
+	public static class CachedTransform {
+
+		private final MathTransform transform;
+		private final Mode mode;
+
+		private CachedTransform(MathTransform transform) {
+			this.transform = transform;
+			this.mode = determineMode(transform);
+		}
+
+		/**
+		 * @return the math transform
+		 */
+		public MathTransform getTransform() {
+			return transform;
+		}
+
+		/**
+		 * @return if the transform does not change coordinates
+		 */
+		public boolean isIdentity() {
+			return mode == Mode.IDENTITY;
+		}
+
+		/**
+		 * @return if the transform only swaps the first and second axis
+		 */
+		public boolean isAxisSwap() {
+			return mode == Mode.AXIS_SWAP;
+		}
+
+		/**
+		 * Apply the transform to a geometry.
+		 * 
+		 * @param geometry the geometry to transform
+		 * @return the transformed geometry, this is the given geometry if the
+		 *         transform does not change coordinates
+		 * @throws TransformException if the transformation fails
+		 */
+		public Geometry transform(Geometry geometry) throws TransformException {
+			switch (mode) {
+			case IDENTITY:
+				return geometry;
+			case GENERIC:
+				return JTS.transform(geometry, transform);
+			default:
+				try {
+					return new GeometryEditor(geometry.getFactory()).edit(geometry,
+							new GeometryEditor.CoordinateSequenceOperation() {
+
+								@Override
+								public CoordinateSequence edit(CoordinateSequence sequence,
+										Geometry component) {
+									try {
+										return transform(sequence, component);
+									} catch (TransformException e) {
+										throw new IllegalStateException(e);
+									}
+								}
+							});
+				} catch (IllegalStateException e) {
+					if (e.getCause() instanceof TransformException) {
+						throw (TransformException) e.getCause();
+					}
+					throw e;
+				}
+			}
+		}
+
+		/**
+		 * Transform a coordinate sequence.
+		 * 
+		 * @param sequence the coordinate sequence
+		 * @param geometry the geometry the sequence belongs to
+		 * @return the transformed copy of the coordinate sequence
+		 * @throws TransformException if the transformation fails
+		 */
+		private CoordinateSequence transform(CoordinateSequence sequence, Geometry geometry)
+				throws TransformException {
+			int size = sequence.size();
+			CoordinateSequence result = geometry.getFactory().getCoordinateSequenceFactory()
+					.create(sequence);
+
+			if (mode == Mode.AXIS_SWAP) {
+				for (int i = 0; i < size; i++) {
+					result.setOrdinate(i, CoordinateSequence.X,
+							sequence.getOrdinate(i, CoordinateSequence.Y));
+					result.setOrdinate(i, CoordinateSequence.Y,
+							sequence.getOrdinate(i, CoordinateSequence.X));
+				}
+				return result;
+			}
+
+			double[] ordinates = new double[size * 2];
+			for (int i = 0; i < size; i++) {
+				ordinates[i * 2] = sequence.getOrdinate(i, CoordinateSequence.X);
+				ordinates[i * 2 + 1] = sequence.getOrdinate(i, CoordinateSequence.Y);
+			}
+			transform.transform(ordinates, 0, ordinates, 0, size);
+			for (int i = 0; i < size; i++) {
+				result.setOrdinate(i, CoordinateSequence.X, ordinates[i * 2]);
+				result.setOrdinate(i, CoordinateSequence.Y, ordinates[i * 2 + 1]);
+			}
+			return result;
+		}
+
+		private static Mode determineMode(MathTransform transform) {
+			if (transform.isIdentity()) {
+				return Mode.IDENTITY;
+			}
+			if (transform.getSourceDimensions() != 2 || transform.getTargetDimensions() != 2) {
+				return Mode.GENERIC;
+			}
+			if (transform instanceof LinearTransform
+					&& isAxisSwap(((LinearTransform) transform).getMatrix())) {
+				return Mode.AXIS_SWAP;
+			}
+			return Mode.ARRAY;
+		}
+
+		private static boolean isAxisSwap(Matrix matrix) {
+			if (matrix.getNumRow() != 3 || matrix.getNumCol() != 3) {
+				return false;
+			}
+			double[][] swap = { { 0, 1, 0 }, { 1, 0, 0 }, { 0, 0, 1 } };
+			for (int row = 0; row < 3; row++) {
+				for (int col = 0; col < 3; col++) {
+					if (matrix.getElement(row, col) != swap[row][col]) {
+						return false;
+					}
+				}
+			}
+			return true;
+		}
+
+	}
+
+	private final Cache<Key, CachedTransform> transforms = CacheBuilder.newBuilder()
+			.maximumSize(MAX_ENTRIES).build();
+
+	/**
+	 * @return the cache instance
+	 */
+	public static MathTransformCache getInstance() {
+		return INSTANCE;
+	}
+
+	/**
+	 * Get the transform between the given reference systems. The transform is
+	 * created if it is not cached yet for the given reference system objects.
+	 * 
+	 * @param sourceCRS the source CRS
+	 * @param targetCRS the target CRS
+	 * @return the transform from {@code sourceCRS} to {@code targetCRS}
+	 * @throws TransformationException if no math transform could be found
+	 */
+	public CachedTransform getTransform(CoordinateReferenceSystem sourceCRS,
+			CoordinateReferenceSystem targetCRS) throws TransformationException {
+		Key key = new Key(sourceCRS, targetCRS);
+		CachedTransform transform = transforms.getIfPresent(key);
+		if (transform == null) {
+			// creating a transform concurrently for the same key is harmless
+			transform = new CachedTransform(createMathTransform(sourceCRS, targetCRS));
+			CachedTransform previous = transforms.asMap().putIfAbsent(key, transform);
+			if (previous != null) {
+				transform = previous;
+			}
+		}
+		return transform;
+	}
+
+	/**
+	 * Remove all cached transforms.
+	 */
+	public void clear() {
+		transforms.invalidateAll();
+	}
+
+	/**
+	 * Attempt to find a math transform between the specified Coordinate
+	 * Reference Systems.
+	 * 
+	 * @param sourceCRS The source CRS.
+	 * @param targetCRS The target CRS.
+	 * @return The math transform from {@code sourceCRS} to {@code targetCRS}.
+	 * @throws TransformationException if no math transform could be found
+	 */
+	private static MathTransform createMathTransform(CoordinateReferenceSystem sourceCRS,
+			CoordinateReferenceSystem targetCRS) throws TransformationException {
+		MathTransform transform = null;
+		try {
+			transform = CRS.findMathTransform(sourceCRS, targetCRS, false);
+			// Transformation cannot be found because either the sourceCRS or
+			// the targetCRS is missing bursa-wolf parameters
+		} catch (FactoryException ex1) {
+			try {
+				Integer sourceEpsgCode = CRS.lookupEpsgCode(sourceCRS, true);
+				Integer targetEpsgCode = CRS.lookupEpsgCode(targetCRS, true);
+				if (sourceEpsgCode != null && targetEpsgCode != null) {
+					transform = CRS.findMathTransform(CRS.decode("EPSG:" + sourceEpsgCode, true),
+							CRS.decode("EPSG:" + targetEpsgCode, true));
+				}
+				else {
+					throw new TransformationException(
+							"Unable to find requested transformation from: " + sourceCRS + " to "
+									+ targetCRS);
+				}
+			} catch (FactoryException ex2) {
+				throw new TransformationException(
+						"Problem on execute transformation from: " + sourceCRS + " to " + targetCRS,
+						ex2);
+			}
+		}
+		return transform;
+	}
+
+}
@@ -3,17 +3,17 @@ package eu.esdihumboldt.cst.functions.geometric;
 import java.util.List;
 import java.util.Map;
 
-import org.geotools.geometry.jts.JTS;
 import org.geotools.referencing.CRS;
 import org.opengis.geometry.MismatchedDimensionException;
-import org.opengis.referencing.FactoryException;
 import org.opengis.referencing.crs.CoordinateReferenceSystem;
-import org.opengis.referencing.operation.MathTransform;
 import org.opengis.referencing.operation.TransformException;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import com.google.common.collect.ListMultimap;
 import org.locationtech.jts.geom.Geometry;
 
+import eu.esdihumboldt.cst.functions.geometric.MathTransformCache.CachedTransform;
 import eu.esdihumboldt.hale.common.align.model.impl.PropertyEntityDefinition;
 import eu.esdihumboldt.hale.common.align.transformation.engine.TransformationEngine;
 import eu.esdihumboldt.hale.common.align.transformation.function.PropertyValue;
@@ -42,6 +42,14 @@ public class ReprojectGeometry
 		extends AbstractSingleTargetPropertyTransformation<TransformationEngine>
 		implements ReprojectGeometryFunction {
 
+	/**
+	 * Parsed target reference systems. Transforms are cached per reference
+	 * system object, so the same object has to be used for a reference system
+	 * parameter.
+	 */
+	private static final Cache<String, CoordinateReferenceSystem> TARGET_CRS_CACHE = CacheBuilder
+			.newBuilder().maximumSize(100).build();
+
 	@Override
 	protected Object evaluate(String transformationIdentifier, TransformationEngine engine,
 			ListMultimap<String, PropertyValue> variables, String resultName,
@@ -71,20 +79,24 @@ public class ReprojectGeometry
 		String srs = getParameterChecked(PARAMETER_REFERENCE_SYSTEM).as(String.class);
 		if (srs != null) {
 			try {
-				targetCRS = parseReferenceSystemParamter(srs);
+				targetCRS = TARGET_CRS_CACHE.getIfPresent(srs);
+				if (targetCRS == null) {
+					targetCRS = parseReferenceSystemParamter(srs);
+					TARGET_CRS_CACHE.put(srs, targetCRS);
+				}
 			} catch (Exception e) {
 				throw new TransformationException(
 						"Error determining destination Cordinate Reference System.", e);
 			}
 
-			// Retrieve transformation from cell context, or create a new
+			// Retrieve transformation from the shared cache, or create a new
 			// instance
-			Map<Object, Object> cellContext = getExecutionContext().getCellContext();
-			MathTransform transform = getOrCreateMathTransform(sourceCRS, targetCRS, cellContext);
+			CachedTransform transform = MathTransformCache.getInstance().getTransform(sourceCRS,
+					targetCRS);
 
 			// Apply transformation
 			try {
-				resultGeometry = JTS.transform(sourceGeometry, transform);
+				resultGeometry = transform.transform(sourceGeometry);
 			} catch (MismatchedDimensionException | TransformException e) {
 				throw new TransformationException(
 						"Problem on execute transformation from: " + sourceCRS + " to " + targetCRS,
@@ -119,76 +131,4 @@ public class ReprojectGeometry
 
 		return parsedCrs;
 	}
-
-	/**
-	 * Attempt to find a math transform between the specified Coordinate
-	 * Reference Systems.
-	 * <p>
-	 * The method first tries to look up a relevant MathTransform instance from
-	 * the provided {@code context} object; then, if none was found, it creates
-	 * a new one and stores it in the context, to allow its reuse by following
-	 * reproject transformations.
-	 * </p>
-	 * 
-	 * @param sourceCRS The source CRS.
-	 * @param targetCRS The target CRS.
-	 * @param context The context.
-	 * @return The math transform from {@code sourceCRS} to {@code targetCRS}.
-	 * @throws TransformationException if no math transform could be found
-	 */
-	private MathTransform getOrCreateMathTransform(CoordinateReferenceSystem sourceCRS,
-			CoordinateReferenceSystem targetCRS, Map<Object, Object> context)
-			throws TransformationException {
-		MathTransform transform = null;
-		String key = sourceCRS.getName().hashCode() + " --> " + targetCRS.getName().hashCode();
-
-		synchronized (context) {
-			transform = (MathTransform) context.get(key);
-			if (transform == null) {
-				transform = createMathTransform(sourceCRS, targetCRS);
-
-				context.put(key, transform);
-			}
-		}
-
-		return transform;
-	}
-
-	/**
-	 * Attempt to find a math transform between the specified Coordinate
-	 * Reference Systems.
-	 * 
-	 * @param sourceCRS The source CRS.
-	 * @param targetCRS The target CRS.
-	 * @return The math transform from {@code sourceCRS} to {@code targetCRS}.
-	 * @throws TransformationException if no math transform could be found
-	 */
-	private MathTransform createMathTransform(CoordinateReferenceSystem sourceCRS,
-			CoordinateReferenceSystem targetCRS) throws TransformationException {
-		MathTransform transform = null;
-		try {
-			transform = CRS.findMathTransform(sourceCRS, targetCRS, false);
-			// Transformation cannot be found because either the sourceCRS or
-			// the targetCRS is missing bursa-wolf parameters
-		} catch (FactoryException ex1) {
-			try {
-				Integer sourceEpsgCode = CRS.lookupEpsgCode(sourceCRS, true);
-				Integer targetEpsgCode = CRS.lookupEpsgCode(targetCRS, true);
-				if (sourceEpsgCode != null && targetEpsgCode != null) {
-					transform = CRS.findMathTransform(CRS.decode("EPSG:" + sourceEpsgCode, true),
-							CRS.decode("EPSG:" + targetEpsgCode, true));
-				}
-				else {
-					throw new TransformationException(
-							"Unable to find requested transformation from: " + sourceCRS + " to "
-									+ targetCRS);
-				}
-			} catch (FactoryException ex2) {
-				throw new TransformationException(
-						"Problem on execute transformation from: " + sourceCRS + " to " + targetCRS,
-						ex2);
-			}
-		}
-		return transform;
-	}
 }
@@ -27,4 +27,10 @@ public interface AggregateFunction {
 	 */
 	public static final String ID = "eu.esdihumboldt.cst.functions.geometric.aggregate";
 
+	/**
+	 * Name of the parameter specifying if aggregated polygons should be
+	 * dissolved, i.e. merged where they overlap or touch.
+	 */
+	public static final String PARAM_DISSOLVE = "dissolve";
+
 }
@@ -35,6 +35,7 @@ import org.locationtech.jts.geom.MultiPolygon;
 import org.locationtech.jts.geom.Point;
 import org.locationtech.jts.geom.Polygon;
 
+import eu.esdihumboldt.cst.functions.geometric.extent.PartitionedUnion;
 import eu.esdihumboldt.hale.common.align.model.Cell;
 import eu.esdihumboldt.hale.common.align.model.impl.PropertyEntityDefinition;
 import eu.esdihumboldt.hale.common.align.transformation.engine.TransformationEngine;
@@ -44,6 +45,7 @@ import eu.esdihumboldt.hale.common.align.transformation.function.impl.AbstractSi
 import eu.esdihumboldt.hale.common.align.transformation.function.impl.NoResultException;
 import eu.esdihumboldt.hale.common.align.transformation.report.TransformationLog;
 import eu.esdihumboldt.hale.common.align.transformation.report.impl.TransformationMessageImpl;
+import eu.esdihumboldt.hale.common.core.io.Value;
 import eu.esdihumboldt.hale.common.instance.geometry.DefaultGeometryProperty;
 import eu.esdihumboldt.hale.common.instance.geometry.GeometryFinder;
 import eu.esdihumboldt.hale.common.instance.helper.DepthFirstInstanceTraverser;
@@ -75,7 +77,9 @@ public class AggregateTransformation extends
 						return input.getValue();
 					}
 				});
-		return aggregateGeometries(geometries, log, getCell());
+		boolean dissolve = getOptionalParameter(PARAM_DISSOLVE, Value.of(false))
+				.as(Boolean.class);
+		return aggregateGeometries(geometries, dissolve, log, getCell());
 	}
 
 	/**
@@ -92,6 +96,25 @@ public class AggregateTransformation extends
 	public static GeometryProperty<?> aggregateGeometries(Iterable<?> geometries,
 			@Nullable TransformationLog log, @Nullable Cell cell) throws NoResultException,
 			TransformationException {
+		return aggregateGeometries(geometries, false, log, cell);
+	}
+
+	/**
+	 * Aggregates geometries contained in the provided objects.
+	 * 
+	 * @param geometries the geometries or instances containing geometries
+	 * @param dissolve if aggregated polygons should be merged where they
+	 *            overlap or touch
+	 * @param cell the currently process cell or <code>null</code>
+	 * @param log the transformation log or <code>null</code>
+	 * @return the aggregated geometry
+	 * @throws TransformationException if source geometries don't have a common
+	 *             CRS
+	 * @throws NoResultException if the result extent would be <code>null</code>
+	 */
+	public static GeometryProperty<?> aggregateGeometries(Iterable<?> geometries,
+			boolean dissolve, @Nullable TransformationLog log, @Nullable Cell cell)
+			throws NoResultException, TransformationException {
 		InstanceTraverser traverser = new DepthFirstInstanceTraverser(true);
 		GeometryFinder geoFind = new GeometryFinder(null);
 
@@ -155,7 +178,8 @@ public class AggregateTransformation extends
 		}
 
 		if (commonGeometryType != null) {
-			Geometry combined = combineGeometries(collectedGeometries, commonGeometryType);
+			Geometry combined = combineGeometries(collectedGeometries, commonGeometryType,
+					dissolve);
 			return new DefaultGeometryProperty<Geometry>(commonCrs, combined);
 		}
 		throw new NoResultException();
@@ -163,9 +187,21 @@ public class AggregateTransformation extends
 
 	@SuppressWarnings("unchecked")
 	private static Geometry combineGeometries(List<? extends Geometry> collectedGeometries,
-			Class<? extends Geometry> commonGeometryType) throws ClassCastException {
+			Class<? extends Geometry> commonGeometryType, boolean dissolve)
+			throws ClassCastException {
 		GeometryFactory fact = new GeometryFactory();
 
+		if (dissolve && Polygon.class.isAssignableFrom(commonGeometryType)) {
+			Geometry union = PartitionedUnion.union(collectedGeometries, fact);
+			if (union.isEmpty()) {
+				return fact.createMultiPolygon();
+			}
+			if (union instanceof Polygon) {
+				return fact.createMultiPolygon(new Polygon[] { (Polygon) union });
+			}
+			return union;
+		}
+
 		if (Point.class.isAssignableFrom(commonGeometryType)) {
 			return fact.createMultiPoint(((Collection<Point>) collectedGeometries)
 					.toArray(new Point[collectedGeometries.size()]));
@@ -15,7 +15,10 @@
 
 package eu.esdihumboldt.cst.functions.geometric.extent;
 
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
 import java.util.Map;
 
 import com.google.common.base.Function;
@@ -49,11 +52,9 @@ public class ExtentTransformation extends
 		AbstractSingleTargetPropertyTransformation<TransformationEngine> implements ExtentFunction {
 
 	/**
-	 * Number of Geometries to be processed at once by either extent option.
-	 * Especially the "union" process run time depends on this value. A too
-	 * large value causes a @code{java.lang.OutOfMemoryError}. The chosen value
-	 * results in fairly good processing time of 30-60 seconds per 10,000
-	 * geometries.
+	 * Number of Geometries to be processed at once by the bounding box and
+	 * convex hull extent options. The union is computed on all geometries at
+	 * once with a {@link PartitionedUnion}.
 	 */
 	private static final short SIMULTAN_PROCESS_GEOMS = 768;
 
@@ -94,6 +95,7 @@ public class ExtentTransformation extends
 		GeometryFactory fact = new GeometryFactory();
 
 		CRSDefinition commonCrs = null;
+		List<Geometry> unionGeoms = (type == ExtentType.UNION) ? new ArrayList<>() : null;
 		Geometry[] geomsCollectingArray = new Geometry[SIMULTAN_PROCESS_GEOMS];
 		short geomsCollectedIdx = 0;
 
@@ -122,6 +124,11 @@ public class ExtentTransformation extends
 
 				Geometry g = geom.getGeometry();
 
+				if (unionGeoms != null) {
+					unionGeoms.add(g);
+					continue;
+				}
+
 				// If geometry collecting array not filled.
 				if (geomsCollectedIdx < SIMULTAN_PROCESS_GEOMS - 1) {
 					geomsCollectingArray[geomsCollectedIdx++] = g;
@@ -142,9 +149,14 @@ public class ExtentTransformation extends
 			geoFind.reset();
 		}
 
-		Geometry extent = resolveParam(
-				new GeometryCollection(Arrays.copyOfRange(geomsCollectingArray, 0,
-						geomsCollectedIdx), fact), type);
+		Geometry extent;
+		if (unionGeoms != null) {
+			extent = PartitionedUnion.union(unionGeoms, fact);
+		}
+		else {
+			extent = resolveParam(new GeometryCollection(
+					Arrays.copyOfRange(geomsCollectingArray, 0, geomsCollectedIdx), fact), type);
+		}
 
 		if (extent != null) {
 			return new DefaultGeometryProperty<Geometry>(commonCrs, extent);
@@ -171,11 +183,7 @@ public class ExtentTransformation extends
 			break;
 		case UNION:
 			// Compute union.
-
-			// Alternative function <extent.union()> is slower and results in
-			// inconsistent topology errors within the jts-lib.
-			// lib-intern errors due to topology inconsistency errros.
-			extent = gc.buffer(0);
+			extent = PartitionedUnion.union(Collections.singleton(gc), gc.getFactory());
 			break;
 		case BBOX:
 			// Compute bounding box.
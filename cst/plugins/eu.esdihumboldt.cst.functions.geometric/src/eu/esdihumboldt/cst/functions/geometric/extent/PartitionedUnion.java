@@ -0,0 +1,294 @@
+/*
+ * Copyright (c) 2026 wetransform GmbH
+ *
+ * All rights reserved. This program and the accompanying materials are made
+ * available under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 3 of the License,
+ * or (at your option) any later version.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Contributors:
+ *     wetransform GmbH <http://www.wetransform.to>
+ */
+
+package eu.esdihumboldt.cst.functions.geometric.extent;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.RecursiveTask;
+
+import org.locationtech.jts.geom.Envelope;
+import org.locationtech.jts.geom.Geometry;
+import org.locationtech.jts.geom.GeometryFactory;
+import org.locationtech.jts.geom.Polygon;
+import org.locationtech.jts.geom.TopologyException;
+import org.locationtech.jts.geom.util.PolygonExtracter;
+import org.locationtech.jts.index.ItemVisitor;
+import org.locationtech.jts.index.strtree.STRtree;
+import org.locationtech.jts.operation.union.CascadedPolygonUnion;
+
+/**
+ * Computes the union of the polygonal parts of a set of geometries.<br>
+ * <br>
+ * The polygons are first grouped into components of transitively intersecting
+ * bounding boxes. Components are disjoint to each other, so their unions are
+ * simply combined, and components consisting of a single polygon are used as
+ * is. Large components are partitioned using an STR-tree, the partitions are
+ * unioned concurrently in the common fork join pool and the partial results
+ * are combined with a cascaded union.
+ */
+public class PartitionedUnion {
+
+	/**
+	 * Maximum number of polygons unioned in a single task. Up to this number
+	 * of polygons the union is computed on the calling thread.
+	 */
+	private static final int PARTITION_SIZE = 512;
+
+	/**
+	 * Node capacity of the STR-tree used for partitioning.
+	 */
+	private static final int NODE_CAPACITY = 16;
+
+	/**
+	 * Computes the union of a node of the partitioning STR-tree.
+	 */
+	private static class UnionTask extends RecursiveTask<Geometry> {
+
+		private static final long serialVersionUID = 5496815137372960484L;
+
+		private final List<?> node;
+
+		private final GeometryFactory factory;
+
+		/**
+		 * Create a task computing the union of a tree node.
+		 * 
+		 * @param node the node of the STR-tree items tree, contains polygons
+		 *            or child nodes
+		 * @param factory the geometry factory
+		 */
+		public UnionTask(List<?> node, GeometryFactory factory) {
+			this.node = node;
+			this.factory = factory;
+		}
+
+		@Override
+		protected Geometry compute() {
+			List<Polygon> polygons = new ArrayList<>();
+			if (collectPolygons(node, polygons)) {
+				return cascadedUnion(polygons, factory);
+			}
+
+			// too many polygons, union the child nodes separately
+			List<UnionTask> tasks = new ArrayList<>();
+			for (Object child : node) {
+				if (child instanceof List<?>) {
+					tasks.add(new UnionTask((List<?>) child, factory));
+				}
+			}
+			invokeAll(tasks);
+
+			List<Polygon> partials = new ArrayList<>();
+			for (Object child : node) {
+				if (child instanceof Polygon) {
+					partials.add((Polygon) child);
+				}
+			}
+			for (UnionTask task : tasks) {
+				PolygonExtracter.getPolygons(task.join(), partials);
+			}
+			return cascadedUnion(partials, factory);
+		}
+
+		/**
+		 * Collect the polygons contained in a tree node, as long as the
+		 * maximum number of polygons for a partition is not exceeded.
+		 * 
+		 * @param node the tree node
+		 * @param polygons the list to add the polygons to
+		 * @return if all polygons of the node were collected
+		 */
+		private static boolean collectPolygons(List<?> node, List<Polygon> polygons) {
+			for (Object child : node) {
+				if (child instanceof List<?>) {
+					if (!collectPolygons((List<?>) child, polygons)) {
+						return false;
+					}
+				}
+				else {
+					polygons.add((Polygon) child);
+				}
+				if (polygons.size() > PARTITION_SIZE) {
+					return false;
+				}
+			}
+			return true;
+		}
+
+	}
+
+	/**
+	 * Compute the union of the polygonal parts of the given geometries. Other
+	 * geometries are ignored.
+	 * 
+	 * @param geometries the geometries
+	 * @param factory the geometry factory to use for creating the result
+	 * @return the union, an empty polygon if there are no polygons
+	 */
+	public static Geometry union(Collection<? extends Geometry> geometries,
+			GeometryFactory factory) {
+		List<Polygon> polygons = new ArrayList<>();
+		for (Geometry geometry : geometries) {
+			if (geometry != null) {
+				PolygonExtracter.getPolygons(geometry, polygons);
+			}
+		}
+		polygons.removeIf(Geometry::isEmpty);
+
+		if (polygons.isEmpty()) {
+			return factory.createPolygon();
+		}
+		if (polygons.size() == 1) {
+			return polygons.get(0);
+		}
+
+		List<Geometry> result = new ArrayList<>();
+		final List<UnionTask> tasks = new ArrayList<>();
+		for (List<Polygon> component : findComponents(polygons)) {
+			if (component.size() == 1) {
+				// nothing to union with
+				result.add(component.get(0));
+			}
+			else {
+				STRtree tree = new STRtree(NODE_CAPACITY);
+				for (Polygon polygon : component) {
+					tree.insert(polygon.getEnvelopeInternal(), polygon);
+				}
+				tree.build();
+				tasks.add(new UnionTask(tree.itemsTree(), factory));
+			}
+		}
+
+		if (polygons.size() > PARTITION_SIZE) {
+			ForkJoinPool.commonPool().invoke(new RecursiveAction() {
+
+				private static final long serialVersionUID = -1938614253860826442L;
+
+				@Override
+				protected void compute() {
+					invokeAll(tasks);
+				}
+			});
+		}
+		else {
+			for (UnionTask task : tasks) {
+				task.invoke();
+			}
+		}
+
+		for (UnionTask task : tasks) {
+			result.add(task.join());
+		}
+
+		if (result.size() == 1) {
+			return result.get(0);
+		}
+		List<Polygon> resultPolygons = new ArrayList<>();
+		for (Geometry geometry : result) {
+			PolygonExtracter.getPolygons(geometry, resultPolygons);
+		}
+		return factory.buildGeometry(resultPolygons);
+	}
+
+	/**
+	 * Group polygons into components of transitively intersecting bounding
+	 * boxes.
+	 * 
+	 * @param polygons the polygons
+	 * @return the polygon components
+	 */
+	private static Collection<List<Polygon>> findComponents(List<Polygon> polygons) {
+		STRtree index = new STRtree(NODE_CAPACITY);
+		for (int i = 0; i < polygons.size(); i++) {
+			index.insert(polygons.get(i).getEnvelopeInternal(), i);
+		}
+
+		// union find on the polygon indices
+		final int[] parent = new int[polygons.size()];
+		for (int i = 0; i < parent.length; i++) {
+			parent[i] = i;
+		}
+		for (int i = 0; i < polygons.size(); i++) {
+			final int current = i;
+			Envelope envelope = polygons.get(i).getEnvelopeInternal();
+			index.query(envelope, new ItemVisitor() {
+
+				@Override
+				public void visitItem(Object item) {
+					int other = (Integer) item;
+					if (other > current) {
+						int rootA = findRoot(parent, current);
+						int rootB = findRoot(parent, other);
+						if (rootA != rootB) {
+							parent[Math.max(rootA, rootB)] = Math.min(rootA, rootB);
+						}
+					}
+				}
+			});
+		}
+
+		Map<Integer, List<Polygon>> components = new LinkedHashMap<>();
+		for (int i = 0; i < polygons.size(); i++) {
+			components.computeIfAbsent(findRoot(parent, i), k -> new ArrayList<>())
+					.add(polygons.get(i));
+		}
+		return components.values();
+	}
+
+	private static int findRoot(int[] parent, int index) {
+		int root = index;
+		while (parent[root] != root) {
+			root = parent[root];
+		}
+		// path compression
+		while (parent[index] != root) {
+			int next = parent[index];
+			parent[index] = root;
+			index = next;
+		}
+		return root;
+	}
+
+	/**
+	 * Compute the union of a list of polygons with a cascaded union. Falls
+	 * back to a zero buffer if the polygons cannot be unioned due to
+	 * topology errors, e.g. for invalid polygons.
+	 * 
+	 * @param polygons the polygons
+	 * @param factory the geometry factory
+	 * @return the union
+	 */
+	private static Geometry cascadedUnion(List<Polygon> polygons, GeometryFactory factory) {
+		if (polygons.size() == 1) {
+			return polygons.get(0);
+		}
+		try {
+			Geometry result = CascadedPolygonUnion.union(polygons);
+			if (result != null) {
+				return result;
+			}
+		} catch (TopologyException e) {
+			// fall back to buffer
+		}
+		return factory.buildGeometry(polygons).buffer(0);
+	}
+
+}
@@ -39,6 +39,7 @@ import eu.esdihumboldt.hale.common.align.transformation.function.TransformationE
 import eu.esdihumboldt.hale.common.align.transformation.function.impl.AbstractSingleTargetPropertyTransformation;
 import eu.esdihumboldt.hale.common.align.transformation.function.impl.NoResultException;
 import eu.esdihumboldt.hale.common.align.transformation.function.impl.PropertyValueImpl;
+import eu.esdihumboldt.hale.common.align.transformation.metrics.TransformationMetrics;
 import eu.esdihumboldt.hale.common.align.transformation.report.TransformationLog;
 import eu.esdihumboldt.hale.common.core.io.Value;
 import eu.esdihumboldt.hale.common.core.report.SimpleLog;
@@ -123,6 +124,7 @@ public class GroovyTransformation extends
 	public static Object evaluate(Script groovyScript, final InstanceBuilder builder,
 			final TypeDefinition targetType, GroovyService service, SimpleLog log)
 					throws TransformationException, NoResultException {
+		long start = TransformationMetrics.now();
 		try {
 			return service.evaluate(groovyScript, new ResultProcessor<Object>() {
 
@@ -184,6 +186,8 @@ public class GroovyTransformation extends
 			throw e;
 		} catch (Exception e) {
 			throw new TransformationException(e.getMessage(), e);
+		} finally {
+			TransformationMetrics.scriptEvaluated(TransformationMetrics.KIND_PROPERTY, start);
 		}
 
 	}
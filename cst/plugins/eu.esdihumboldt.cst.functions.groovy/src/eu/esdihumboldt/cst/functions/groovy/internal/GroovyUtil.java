@@ -39,6 +39,7 @@ import eu.esdihumboldt.hale.common.align.transformation.function.ExecutionContex
 import eu.esdihumboldt.hale.common.align.transformation.function.TransformationException;
 import eu.esdihumboldt.hale.common.align.transformation.function.impl.AbstractTransformationFunction;
 import eu.esdihumboldt.hale.common.align.transformation.function.impl.NoResultException;
+import eu.esdihumboldt.hale.common.align.transformation.metrics.TransformationMetrics;
 import eu.esdihumboldt.hale.common.align.transformation.report.TransformationLog;
 import eu.esdihumboldt.hale.common.core.io.Text;
 import eu.esdihumboldt.hale.common.core.io.project.ProjectInfoService;
@@ -211,6 +212,7 @@ public class GroovyUtil implements GroovyConstants {
 	public static Iterable<MutableInstance> evaluateAll(Script script,
 			final InstanceBuilder builder, final TypeDefinition type, GroovyService service,
 			SimpleLog log) throws TransformationException, NoResultException {
+		long start = TransformationMetrics.now();
 		try {
 			return service.evaluate(script, new ResultProcessor<Iterable<MutableInstance>>() {
 
@@ -243,6 +245,8 @@ public class GroovyUtil implements GroovyConstants {
 			throw e;
 		} catch (Exception e) {
 			throw new TransformationException(e.getMessage(), e);
+		} finally {
+			TransformationMetrics.scriptEvaluated(TransformationMetrics.KIND_TYPE, start);
 		}
 	}
 
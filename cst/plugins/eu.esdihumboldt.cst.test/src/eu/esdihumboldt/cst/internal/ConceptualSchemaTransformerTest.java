@@ -16,21 +16,39 @@
 
 package eu.esdihumboldt.cst.internal;
 
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 import org.junit.Ignore;
 import org.junit.Test;
 
+import com.google.common.collect.ArrayListMultimap;
+import com.google.common.collect.ListMultimap;
+
 import eu.esdihumboldt.cst.ConceptualSchemaTransformer;
 import eu.esdihumboldt.cst.test.DefaultTransformationTest;
 import eu.esdihumboldt.cst.test.TransformationExample;
 import eu.esdihumboldt.cst.test.TransformationExamples;
+import eu.esdihumboldt.hale.common.align.model.Alignment;
+import eu.esdihumboldt.hale.common.align.model.AlignmentUtil;
+import eu.esdihumboldt.hale.common.align.model.Cell;
+import eu.esdihumboldt.hale.common.align.model.Entity;
+import eu.esdihumboldt.hale.common.align.model.impl.DefaultAlignment;
+import eu.esdihumboldt.hale.common.align.model.impl.TypeCellSubsetAlignment;
 import eu.esdihumboldt.hale.common.align.service.FunctionService;
 import eu.esdihumboldt.hale.common.align.service.TransformationFunctionService;
 import eu.esdihumboldt.hale.common.align.service.impl.AlignmentFunctionService;
 import eu.esdihumboldt.hale.common.align.service.impl.AlignmentTransformationFunctionService;
+import eu.esdihumboldt.hale.common.align.transformation.service.InstanceSink;
+import eu.esdihumboldt.hale.common.align.transformation.service.TypeCellInstanceSink;
 import eu.esdihumboldt.hale.common.align.transformation.service.impl.DefaultInstanceSink;
 import eu.esdihumboldt.hale.common.align.transformation.service.impl.ThreadSafeInstanceSink;
 import eu.esdihumboldt.hale.common.core.io.impl.NullProgressIndicator;
@@ -344,17 +362,169 @@ public class ConceptualSchemaTransformerTest extends DefaultTransformationTest {
 				TransformationExamples.getExample(TransformationExamples.PROPERTY_JOIN_INT_FLOAT));
 	}
 
+	/**
+	 * Test if transformed instances are reported together with the type cell
+	 * that created them, without storing the cell in the instances.
+	 * 
+	 * @throws Exception if an error occurs executing the test
+	 */
+	@Test
+	public void testTypeCellInstances() throws Exception {
+		TransformationExample example = TransformationExamples
+				.getExample(TransformationExamples.TYPEFILTER);
+		Alignment alignment = example.getAlignment();
+
+		TypeCellRecordingSink sink = new TypeCellRecordingSink();
+		transform(example, alignment, sink);
+
+		Cell shirtCell = getTypeCell(alignment, "ShirtType");
+		Cell hatCell = getTypeCell(alignment, "HatType");
+		assertEquals(2, sink.instances.keySet().size());
+		assertFalse(sink.instances.get(shirtCell.getId()).isEmpty());
+		assertFalse(sink.instances.get(hatCell.getId()).isEmpty());
+
+		for (Map.Entry<String, Instance> entry : sink.instances.entries()) {
+			Cell typeCell = alignment.getCell(entry.getKey());
+			assertEquals(getTargetTypeName(typeCell),
+					entry.getValue().getDefinition().getName().getLocalPart());
+			// the type cell is not stored in the instance
+			assertFalse(entry.getValue().getMetaDataNames().contains("CellID"));
+		}
+	}
+
+	/**
+	 * Test if changing a property cell only retransforms the instances of the
+	 * type cell it belongs to.
+	 * 
+	 * @throws Exception if an error occurs executing the test
+	 */
+	@Test
+	public void testRetransformChangedPropertyCell() throws Exception {
+		TransformationExample example = TransformationExamples
+				.getExample(TransformationExamples.TYPEFILTER);
+		Alignment alignment = example.getAlignment();
+
+		TypeCellRecordingSink all = new TypeCellRecordingSink();
+		transform(example, alignment, all);
+
+		Cell hatCell = getTypeCell(alignment, "HatType");
+		Cell hatPropertyCell = alignment.getPropertyCells(hatCell).iterator().next();
+
+		Set<String> affected = TypeCellSubsetAlignment.getAffectedTypeCells(alignment,
+				Collections.singleton(hatPropertyCell));
+		assertEquals(Collections.singleton(hatCell.getId()), affected);
+
+		TypeCellRecordingSink changed = new TypeCellRecordingSink();
+		transform(example, new TypeCellSubsetAlignment(alignment, affected), changed);
+
+		assertEquals(Collections.singleton(hatCell.getId()), changed.instances.keySet());
+		assertEquals(all.instances.get(hatCell.getId()).size(),
+				changed.instances.get(hatCell.getId()).size());
+	}
+
+	/**
+	 * Test if adding a type cell only transforms the instances of the added
+	 * cell.
+	 * 
+	 * @throws Exception if an error occurs executing the test
+	 */
+	@Test
+	public void testRetransformAddedTypeCell() throws Exception {
+		TransformationExample example = TransformationExamples
+				.getExample(TransformationExamples.TYPEFILTER);
+		Alignment alignment = example.getAlignment();
+
+		Cell shirtCell = getTypeCell(alignment, "ShirtType");
+		Set<String> affected = TypeCellSubsetAlignment.getAffectedTypeCells(alignment,
+				Collections.singleton(shirtCell));
+		assertEquals(Collections.singleton(shirtCell.getId()), affected);
+
+		TypeCellRecordingSink added = new TypeCellRecordingSink();
+		transform(example, new TypeCellSubsetAlignment(alignment, affected), added);
+
+		assertEquals(Collections.singleton(shirtCell.getId()), added.instances.keySet());
+	}
+
+	/**
+	 * Test if removing a type cell only affects the instances of the removed
+	 * cell.
+	 * 
+	 * @throws Exception if an error occurs executing the test
+	 */
+	@Test
+	public void testRetransformRemovedTypeCell() throws Exception {
+		TransformationExample example = TransformationExamples
+				.getExample(TransformationExamples.TYPEFILTER);
+		DefaultAlignment alignment = new DefaultAlignment(example.getAlignment());
+
+		Cell hatCell = getTypeCell(alignment, "HatType");
+		Cell shirtCell = getTypeCell(alignment, "ShirtType");
+		assertTrue(alignment.removeCell(hatCell));
+
+		Set<String> affected = TypeCellSubsetAlignment.getAffectedTypeCells(alignment,
+				Collections.singleton(hatCell));
+		assertEquals(Collections.singleton(hatCell.getId()), affected);
+		assertFalse(affected.contains(shirtCell.getId()));
+
+		TypeCellRecordingSink removed = new TypeCellRecordingSink();
+		transform(example, new TypeCellSubsetAlignment(alignment, affected), removed);
+
+		assertTrue(removed.instances.isEmpty());
+	}
+
+	private static Cell getTypeCell(Alignment alignment, String targetTypeName) {
+		for (Cell cell : alignment.getTypeCells()) {
+			if (targetTypeName.equals(getTargetTypeName(cell))) {
+				return cell;
+			}
+		}
+		return null;
+	}
+
+	private static String getTargetTypeName(Cell typeCell) {
+		assertNotNull(typeCell);
+		assertTrue(AlignmentUtil.isTypeCell(typeCell));
+		Entity target = typeCell.getTarget().values().iterator().next();
+		return target.getDefinition().getType().getName().getLocalPart();
+	}
+
+	/**
+	 * Sink recording the transformed instances per type cell.
+	 */
+	private static class TypeCellRecordingSink implements TypeCellInstanceSink {
+
+		private final ListMultimap<String, Instance> instances = ArrayListMultimap.create();
+
+		@Override
+		public synchronized void addInstance(Instance instance) {
+			instances.put(null, instance);
+		}
+
+		@Override
+		public synchronized void addInstance(Instance instance, Cell typeCell) {
+			instances.put(typeCell.getId(), instance);
+		}
+
+	}
+
 	@Override
 	protected List<Instance> transformData(TransformationExample example) throws Exception {
-		ConceptualSchemaTransformer transformer = new ConceptualSchemaTransformer();
 		ThreadSafeInstanceSink<DefaultInstanceSink> sink = new ThreadSafeInstanceSink<>(
 				new DefaultInstanceSink());
 
+		transform(example, example.getAlignment(), sink);
+
+		return sink.getDecoratee().getInstances();
+	}
+
+	private void transform(TransformationExample example, Alignment alignment,
+			InstanceSink sink) throws Exception {
+		ConceptualSchemaTransformer transformer = new ConceptualSchemaTransformer();
+
 		final Map<Class<?>, Object> customServices = new HashMap<>();
-		customServices.put(FunctionService.class,
-				new AlignmentFunctionService(example.getAlignment()));
+		customServices.put(FunctionService.class, new AlignmentFunctionService(alignment));
 		customServices.put(TransformationFunctionService.class,
-				new AlignmentTransformationFunctionService(example.getAlignment()));
+				new AlignmentTransformationFunctionService(alignment));
 
 		InstanceIndexServiceImpl indexService = new InstanceIndexServiceImpl();
 		customServices.put(InstanceIndexService.class, indexService);
@@ -376,8 +546,7 @@ public class ConceptualSchemaTransformerTest extends DefaultTransformationTest {
 			}
 		};
 
-		indexService.addPropertyMappings(example.getAlignment().getActiveTypeCells(),
-				serviceProvider);
+		indexService.addPropertyMappings(alignment.getActiveTypeCells(), serviceProvider);
 
 		InstanceCollection source = example.getSourceInstances();
 
@@ -387,10 +556,8 @@ public class ConceptualSchemaTransformerTest extends DefaultTransformationTest {
 			}
 		}
 
-		transformer.transform(example.getAlignment(), source, sink, serviceProvider,
+		transformer.transform(alignment, source, sink, serviceProvider,
 				new NullProgressIndicator());
-
-		return sink.getDecoratee().getInstances();
 	}
 
 }
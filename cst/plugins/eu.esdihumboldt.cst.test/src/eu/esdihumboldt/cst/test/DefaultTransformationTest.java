@@ -27,6 +27,7 @@ import javax.xml.namespace.QName;
 import org.junit.Ignore;
 import org.junit.Test;
 
+import eu.esdihumboldt.cst.functions.core.merge.AbstractMergeHandler;
 import eu.esdihumboldt.hale.common.instance.model.Instance;
 
 /**
@@ -122,6 +123,38 @@ public abstract class DefaultTransformationTest extends AbstractTransformationTe
 		testTransform(TransformationExamples.getExample(TransformationExamples.SIMPLE_MERGE));
 	}
 
+	/**
+	 * Test a merge with the merge groups determined by sorted runs written to
+	 * disk.
+	 * 
+	 * @throws Exception if an error occurs executing the test
+	 */
+	@Test
+	public void testSimpleMergeSortedRuns() throws Exception {
+		// no memory budget - every sort key is written to disk
+		System.setProperty(AbstractMergeHandler.SYSTEM_PROPERTY_SORT_BUFFER, "0");
+		try {
+			testTransform(TransformationExamples.getExample(TransformationExamples.SIMPLE_MERGE));
+		} finally {
+			System.clearProperty(AbstractMergeHandler.SYSTEM_PROPERTY_SORT_BUFFER);
+		}
+	}
+
+	/**
+	 * Test a merge with the merge groups determined by an in-memory index.
+	 * 
+	 * @throws Exception if an error occurs executing the test
+	 */
+	@Test
+	public void testSimpleMergeIndex() throws Exception {
+		System.setProperty(AbstractMergeHandler.SYSTEM_PROPERTY_EXTERNAL_SORT, "false");
+		try {
+			testTransform(TransformationExamples.getExample(TransformationExamples.SIMPLE_MERGE));
+		} finally {
+			System.clearProperty(AbstractMergeHandler.SYSTEM_PROPERTY_EXTERNAL_SORT);
+		}
+	}
+
 	/**
 	 * Test based on a retype and a formatted string with several inputs where
 	 * each input exists several times, so they should be combined accordingly.
@@ -47,6 +47,7 @@ import eu.esdihumboldt.hale.common.align.transformation.function.InstanceHandler
 import eu.esdihumboldt.hale.common.align.transformation.function.TransformationException;
 import eu.esdihumboldt.hale.common.align.transformation.function.TypeTransformation;
 import eu.esdihumboldt.hale.common.align.transformation.function.impl.FamilyInstanceImpl;
+import eu.esdihumboldt.hale.common.align.transformation.metrics.TransformationMetrics;
 import eu.esdihumboldt.hale.common.align.transformation.report.TransformationLog;
 import eu.esdihumboldt.hale.common.align.transformation.report.TransformationReport;
 import eu.esdihumboldt.hale.common.align.transformation.report.TransformationReporter;
@@ -90,6 +91,7 @@ public class ConceptualSchemaTransformer implements TransformationService {
 		TransformationReporter reporter = new DefaultTransformationReporter(
 				"Instance transformation", true);
 		TransformationContext context = new TransformationContext(serviceProvider, alignment);
+		TransformationMetrics metrics = TransformationMetrics.start();
 
 		TransformationFunctionService functions = serviceProvider
 				.getService(TransformationFunctionService.class);
@@ -169,6 +171,10 @@ public class ConceptualSchemaTransformer implements TransformationService {
 			reporter.setSuccess(true);
 			return reporter;
 		} finally {
+			if (metrics != null) {
+				// add the metrics of the run to the report statistics
+				metrics.finish(reporter.stats());
+			}
 			progressIndicator.end();
 		}
 	}
@@ -218,7 +224,6 @@ public class ConceptualSchemaTransformer implements TransformationService {
 	 * @param reporter the reporter
 	 * @param progressIndicator the progress indicator
 	 */
-	@SuppressWarnings({ "rawtypes", "unchecked" })
 	protected void doTypeTransformation(TypeTransformationFactory transformation, Cell typeCell,
 			InstanceCollection source, InstanceSink target, Alignment alignment,
 			EngineManager engines, PropertyTransformer transformer, TransformationContext context,
@@ -259,7 +264,46 @@ public class ConceptualSchemaTransformer implements TransformationService {
 			return;
 		}
 
+		long cellStart = TransformationMetrics.now();
+		try {
+			executeTypeTransformation(transformation, function, typeCell, source, engine,
+					transformer, context, cellLog, targetTypes, parameters, executionParameters,
+					progressIndicator);
+		} finally {
+			TransformationMetrics.cellExecuted(typeCell, TransformationMetrics.KIND_TYPE,
+					cellStart);
+		}
+	}
+
+	/**
+	 * Partition the source instances and execute the type transformation for
+	 * each partition.
+	 * 
+	 * @param transformation the transformation to use
+	 * @param function the type transformation function
+	 * @param typeCell the type cell
+	 * @param source the source instances
+	 * @param engine the transformation engine
+	 * @param transformer the property transformer
+	 * @param context the transformation execution context
+	 * @param cellLog the transformation log for the cell
+	 * @param targetTypes the target types
+	 * @param parameters the transformation parameters
+	 * @param executionParameters the execution parameters
+	 * @param progressIndicator the progress indicator
+	 */
+	@SuppressWarnings({ "rawtypes", "unchecked" })
+	private void executeTypeTransformation(TypeTransformationFactory transformation,
+			TypeTransformation<?> function, Cell typeCell, InstanceCollection source,
+			TransformationEngine engine, PropertyTransformer transformer,
+			TransformationContext context, TransformationLog cellLog,
+			ListMultimap<String, Type> targetTypes, ListMultimap<String, ParameterValue> parameters,
+			Map<String, String> executionParameters, ProgressIndicator progressIndicator) {
 		ResourceIterator<FamilyInstance> iterator;
+		// name of the instance handler for metrics
+		String handlerName = null;
+		// time spent in the instance handler
+		long handlerTime = 0;
 		if (typeCell.getSource() == null || typeCell.getSource().isEmpty()) {
 			// type cell w/o source
 			// -> execute exactly once w/ null source
@@ -285,6 +329,8 @@ public class ConceptualSchemaTransformer implements TransformationService {
 			if (instanceHandler != null) {
 				injectTransformationContext(instanceHandler, context);
 				progressIndicator.setCurrentTask("Perform instance partitioning");
+				handlerName = instanceHandler.getClass().getSimpleName();
+				long handlerStart = TransformationMetrics.now();
 				try {
 					iterator = instanceHandler.partitionInstances(source,
 							transformation.getFunctionId(), engine, parameters, executionParameters,
@@ -293,6 +339,8 @@ public class ConceptualSchemaTransformer implements TransformationService {
 					cellLog.error(
 							cellLog.createMessage("Type transformation: partitioning failed", e));
 					return;
+				} finally {
+					handlerTime += TransformationMetrics.now() - handlerStart;
 				}
 			}
 			else {
@@ -311,13 +359,27 @@ public class ConceptualSchemaTransformer implements TransformationService {
 		progressIndicator.setCurrentTask("Execute type transformations");
 
 		try {
-			while (iterator.hasNext()) {
+			while (true) {
+				// partitions may be computed lazily by the instance handler
+				long handlerStart = TransformationMetrics.now();
+				if (!iterator.hasNext()) {
+					break;
+				}
+				FamilyInstance next = iterator.next();
+				if (handlerName != null) {
+					handlerTime += TransformationMetrics.now() - handlerStart;
+				}
+
 				// break on cancel
 				if (progressIndicator.isCanceled()) {
 					return;
 				}
 
-				function.setSource(iterator.next());
+				if (next != null) {
+					TransformationMetrics.sourceInstance(next.getDefinition());
+				}
+
+				function.setSource(next);
 				function.setPropertyTransformer(transformer);
 				function.setParameters(parameters);
 				function.setTarget(targetTypes);
@@ -333,6 +395,10 @@ public class ConceptualSchemaTransformer implements TransformationService {
 			}
 		} finally {
 			iterator.close();
+
+			if (handlerName != null) {
+				TransformationMetrics.handlerTime(handlerName, handlerTime);
+			}
 		}
 	}
 
@@ -44,6 +44,7 @@ import eu.esdihumboldt.hale.common.align.transformation.engine.TransformationEng
 import eu.esdihumboldt.hale.common.align.transformation.function.PropertyTransformation;
 import eu.esdihumboldt.hale.common.align.transformation.function.PropertyValue;
 import eu.esdihumboldt.hale.common.align.transformation.function.impl.PropertyValueImpl;
+import eu.esdihumboldt.hale.common.align.transformation.metrics.TransformationMetrics;
 import eu.esdihumboldt.hale.common.align.transformation.report.TransformationLog;
 import eu.esdihumboldt.hale.common.align.transformation.report.TransformationReporter;
 import eu.esdihumboldt.hale.common.align.transformation.report.impl.CellLog;
@@ -52,7 +53,7 @@ import eu.esdihumboldt.hale.common.convert.ConversionUtil;
 import eu.esdihumboldt.hale.common.core.io.Value;
 import eu.esdihumboldt.hale.common.instance.model.Group;
 import eu.esdihumboldt.hale.common.instance.model.MutableInstance;
-import eu.esdihumboldt.hale.common.instance.model.impl.DefaultInstance;
+import eu.esdihumboldt.hale.common.instance.model.impl.CompactInstanceFactory;
 import eu.esdihumboldt.hale.common.schema.model.PropertyDefinition;
 import eu.esdihumboldt.hale.common.schema.model.TypeDefinition;
 import eu.esdihumboldt.hale.common.schema.model.constraint.type.Binding;
@@ -220,6 +221,7 @@ public class FunctionExecutor extends CellNodeValidator {
 		function.setTypeCell(typeCell.get());
 
 		// execute function
+		long start = TransformationMetrics.now();
 		try {
 			((PropertyTransformation) function).execute(transformation.getIdentifier(), engine,
 					transformation.getExecutionParameters(), cellLog, cell);
@@ -229,6 +231,8 @@ public class FunctionExecutor extends CellNodeValidator {
 					"Skipping property transformation: Executing property transformation failed.",
 					e));
 			return;
+		} finally {
+			TransformationMetrics.cellExecuted(cell, TransformationMetrics.KIND_PROPERTY, start);
 		}
 
 		// apply function results
@@ -329,7 +333,7 @@ public class FunctionExecutor extends CellNodeValidator {
 		TypeDefinition propertyType = toPropertyEntityDefinition(node.getEntityDefinition())
 				.getDefinition().getPropertyType();
 		if (!(value instanceof Group) && !propertyType.getChildren().isEmpty()) {
-			MutableInstance instance = new DefaultInstance(propertyType, null);
+			MutableInstance instance = CompactInstanceFactory.newInstance(propertyType);
 			instance.setValue(value);
 			value = instance;
 		}
@@ -24,8 +24,7 @@ import eu.esdihumboldt.hale.common.align.transformation.report.TransformationLog
 import eu.esdihumboldt.hale.common.instance.model.Instance;
 import eu.esdihumboldt.hale.common.instance.model.MutableGroup;
 import eu.esdihumboldt.hale.common.instance.model.MutableInstance;
-import eu.esdihumboldt.hale.common.instance.model.impl.DefaultGroup;
-import eu.esdihumboldt.hale.common.instance.model.impl.DefaultInstance;
+import eu.esdihumboldt.hale.common.instance.model.impl.CompactInstanceFactory;
 import eu.esdihumboldt.hale.common.schema.model.DefinitionUtil;
 import eu.esdihumboldt.hale.common.schema.model.constraint.property.Cardinality;
 
@@ -97,8 +96,8 @@ public class InstanceBuilder {
 						value = ((Instance) value).getValue();
 					}
 
-					MutableInstance instance = new DefaultInstance(node.getDefinition()
-							.asProperty().getPropertyType(), null);
+					MutableInstance instance = CompactInstanceFactory
+							.newInstance(node.getDefinition().asProperty().getPropertyType());
 					instance.setValue(value);
 
 					// XXX since this is the same for all instances maybe do
@@ -118,10 +117,11 @@ public class InstanceBuilder {
 		// it's a property or group with no value
 		MutableGroup group;
 		if (isGroup) {
-			group = new DefaultGroup(node.getDefinition().asGroup());
+			group = CompactInstanceFactory.newGroup(node.getDefinition().asGroup());
 		}
 		else if (isProperty) {
-			group = new DefaultInstance(node.getDefinition().asProperty().getPropertyType(), null);
+			group = CompactInstanceFactory
+					.newInstance(node.getDefinition().asProperty().getPropertyType());
 		}
 		else {
 			throw new IllegalStateException("Illegal child definition");
@@ -38,11 +38,13 @@ import eu.esdihumboldt.hale.common.align.model.transformation.tree.context.Conte
 import eu.esdihumboldt.hale.common.align.model.transformation.tree.context.impl.matcher.AsDeepAsPossible;
 import eu.esdihumboldt.hale.common.align.model.transformation.tree.visitor.DuplicationVisitor;
 import eu.esdihumboldt.hale.common.align.model.transformation.tree.visitor.InstanceVisitor;
+import eu.esdihumboldt.hale.common.align.transformation.metrics.TransformationMetrics;
 import eu.esdihumboldt.hale.common.align.transformation.report.TransformationLog;
 import eu.esdihumboldt.hale.common.align.transformation.report.TransformationReporter;
 import eu.esdihumboldt.hale.common.align.transformation.report.impl.TransformationMessageImpl;
 import eu.esdihumboldt.hale.common.align.transformation.service.InstanceSink;
 import eu.esdihumboldt.hale.common.align.transformation.service.PropertyTransformer;
+import eu.esdihumboldt.hale.common.align.transformation.service.TypeCellInstanceSink;
 import eu.esdihumboldt.hale.common.core.HalePlatform;
 import eu.esdihumboldt.hale.common.core.report.SimpleLogContext;
 import eu.esdihumboldt.hale.common.instance.extension.metadata.MetadataWorker;
@@ -173,10 +175,19 @@ public class TreePropertyTransformer implements PropertyTransformer {
 		reporter.stats().at("createdPerType").at(target.getDefinition().getName().toString())
 				.next();
 
+		// metrics of the transformation run, for jobs executed in a worker
+		final TransformationMetrics metrics = TransformationMetrics.current();
+		final long queued = TransformationMetrics.now();
+
 		Runnable job = new Runnable() {
 
 			@Override
 			public void run() {
+				boolean forked = executorService != null;
+				if (forked) {
+					TransformationMetrics.bind(metrics);
+					TransformationMetrics.queueWait("property-transformer", queued);
+				}
 				try {
 					SimpleLogContext.withLog(typeLog, () -> {
 
@@ -241,7 +252,12 @@ public class TreePropertyTransformer implements PropertyTransformer {
 						// thread?
 						// after property transformations, publish target
 						// instance
-						sink.addInstance(target);
+						if (sink instanceof TypeCellInstanceSink) {
+							((TypeCellInstanceSink) sink).addInstance(target, typeCell);
+						}
+						else {
+							sink.addInstance(target);
+						}
 
 						// and release the tree for further use
 						treePool.releaseTree(tree);
@@ -253,6 +269,10 @@ public class TreePropertyTransformer implements PropertyTransformer {
 					 */
 					typeLog.error(
 							typeLog.createMessage("Error performing property transformations", e));
+				} finally {
+					if (forked) {
+						TransformationMetrics.bind(null);
+					}
 				}
 			}
 		};
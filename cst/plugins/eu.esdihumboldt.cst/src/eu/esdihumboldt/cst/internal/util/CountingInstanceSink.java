@@ -18,15 +18,21 @@ package eu.esdihumboldt.cst.internal.util;
 
 import java.util.concurrent.atomic.AtomicInteger;
 
+import eu.esdihumboldt.hale.common.align.model.Cell;
+import eu.esdihumboldt.hale.common.align.transformation.metrics.TransformationMetrics;
 import eu.esdihumboldt.hale.common.align.transformation.service.InstanceSink;
+import eu.esdihumboldt.hale.common.align.transformation.service.TypeCellInstanceSink;
 import eu.esdihumboldt.hale.common.instance.model.Instance;
 
 /**
- * Instance sink decorator that counts the added instances.
+ * Instance sink decorator that counts the added instances. Created instances
+ * are also counted per type in the {@link TransformationMetrics}. The type
+ * cell that created an instance is passed on if the internal sink is a
+ * {@link TypeCellInstanceSink}.
  * 
  * @author Simon Templer
  */
-public class CountingInstanceSink implements InstanceSink {
+public class CountingInstanceSink implements TypeCellInstanceSink {
 
 	private final InstanceSink decoratee;
 
@@ -49,6 +55,26 @@ public class CountingInstanceSink implements InstanceSink {
 	public void addInstance(Instance instance) {
 		decoratee.addInstance(instance);
 
+		instanceAdded(instance);
+	}
+
+	/**
+	 * @see TypeCellInstanceSink#addInstance(Instance, Cell)
+	 */
+	@Override
+	public void addInstance(Instance instance, Cell typeCell) {
+		if (decoratee instanceof TypeCellInstanceSink) {
+			((TypeCellInstanceSink) decoratee).addInstance(instance, typeCell);
+		}
+		else {
+			decoratee.addInstance(instance);
+		}
+
+		instanceAdded(instance);
+	}
+
+	private void instanceAdded(Instance instance) {
+		TransformationMetrics.targetInstance(instance.getDefinition());
 		countChanged(count.incrementAndGet());
 	}
 
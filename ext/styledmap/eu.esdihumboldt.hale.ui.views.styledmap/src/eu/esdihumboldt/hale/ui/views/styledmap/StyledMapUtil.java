@@ -30,7 +30,6 @@ import eu.esdihumboldt.hale.common.instance.model.Instance;
 import eu.esdihumboldt.hale.common.instance.model.InstanceReference;
 import eu.esdihumboldt.hale.ui.service.instance.InstanceService;
 import eu.esdihumboldt.hale.ui.views.styledmap.painter.AbstractInstancePainter;
-import eu.esdihumboldt.hale.ui.views.styledmap.painter.InstanceWaypoint;
 
 /**
  * Utility methods regarding the map view.
@@ -88,16 +87,14 @@ public abstract class StyledMapUtil {
 			for (Object element : selection.toList()) {
 				InstanceReference ref = getReference(element);
 				if (ref != null) {
-					InstanceWaypoint wp = painter.findWaypoint(ref);
-					if (wp != null) {
-						BoundingBox wpBB = wp.getBoundingBox();
-						if (wpBB.checkIntegrity() && !wpBB.isEmpty()) {
-							if (bb == null) {
-								bb = new BoundingBox(wpBB);
-							}
-							else {
-								bb.add(wpBB);
-							}
+					// way-points only exist for instances in the visible area
+					BoundingBox wpBB = painter.getInstanceBoundingBox(ref);
+					if (wpBB != null && wpBB.checkIntegrity() && !wpBB.isEmpty()) {
+						if (bb == null) {
+							bb = new BoundingBox(wpBB);
+						}
+						else {
+							bb.add(wpBB);
 						}
 					}
 				}
@@ -17,9 +17,14 @@
 package eu.esdihumboldt.hale.ui.views.styledmap.painter;
 
 import java.awt.Graphics2D;
+import java.awt.Point;
 import java.awt.Rectangle;
 import java.awt.Shape;
+import java.awt.event.ComponentAdapter;
+import java.awt.event.ComponentEvent;
 import java.awt.image.BufferedImage;
+import java.beans.PropertyChangeEvent;
+import java.beans.PropertyChangeListener;
 import java.lang.reflect.InvocationTargetException;
 import java.util.ArrayList;
 import java.util.Collection;
@@ -29,8 +34,15 @@ import java.util.List;
 import java.util.ListIterator;
 import java.util.Set;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Collectors;
+
+import javax.swing.SwingUtilities;
 
 import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.jobs.Job;
 import org.eclipse.jface.operation.IRunnableWithProgress;
 import org.eclipse.jface.viewers.ISelection;
 import org.eclipse.jface.viewers.IStructuredSelection;
@@ -40,16 +52,23 @@ import org.eclipse.ui.IWorkbenchPart;
 import org.eclipse.ui.PlatformUI;
 import org.jdesktop.swingx.image.FastBlurFilter;
 import org.jdesktop.swingx.mapviewer.GeoPosition;
+import org.jdesktop.swingx.mapviewer.GeotoolsConverter;
+import org.jdesktop.swingx.mapviewer.IllegalGeoPositionException;
+import org.jdesktop.swingx.mapviewer.JXMapViewer;
 import org.jdesktop.swingx.mapviewer.PixelConverter;
 import org.opengis.referencing.crs.CoordinateReferenceSystem;
 
 import org.locationtech.jts.geom.Geometry;
 
 import de.fhg.igd.geom.BoundingBox;
+import de.fhg.igd.geom.Localizable;
 import de.fhg.igd.geom.Point3D;
 import de.fhg.igd.mapviewer.AbstractTileOverlayPainter;
+import de.fhg.igd.mapviewer.BasicMapKit;
+import de.fhg.igd.mapviewer.MapKitTileOverlayPainter;
 import de.fhg.igd.mapviewer.Refresher;
 import de.fhg.igd.mapviewer.marker.Marker;
+import de.fhg.igd.mapviewer.waypoints.CustomWaypointPainter;
 import de.fhg.igd.mapviewer.waypoints.GenericWaypoint;
 import de.fhg.igd.mapviewer.waypoints.GenericWaypointPainter;
 import de.fhg.igd.mapviewer.waypoints.MarkerWaypointRenderer;
@@ -57,6 +76,8 @@ import de.fhg.igd.slf4jplus.ALogger;
 import de.fhg.igd.slf4jplus.ALoggerFactory;
 import eu.esdihumboldt.hale.common.convert.ConversionUtil;
 import eu.esdihumboldt.hale.common.instance.helper.PropertyResolver;
+import eu.esdihumboldt.hale.common.instance.index.LocalizableInstanceReference;
+import eu.esdihumboldt.hale.common.instance.index.spatial.RTreeSpatialIndexService;
 import eu.esdihumboldt.hale.common.instance.model.DataSet;
 import eu.esdihumboldt.hale.common.instance.model.Instance;
 import eu.esdihumboldt.hale.common.instance.model.InstanceCollection;
@@ -85,6 +106,9 @@ import eu.esdihumboldt.hale.ui.views.styledmap.util.CRSDecode;
 
 /**
  * Abstract instance painter implementation based on an {@link InstanceService}.
+ * Only the bounding boxes of the instances are held in a spatial index, while
+ * way-points are only created for the instances in the visible area of the
+ * map.
  * 
  * @author Simon Templer
  */
@@ -96,6 +120,22 @@ public abstract class AbstractInstancePainter
 
 	private static final double BUFFER_VALUE = 0.0125;
 
+	/**
+	 * Number of instances for which way-points are created concurrently.
+	 */
+	private static final int BATCH_SIZE = 1000;
+
+	/**
+	 * Page size of the spatial index holding the instance bounding boxes.
+	 */
+	private static final int FOOTPRINT_PAGE_SIZE = 32;
+
+	/**
+	 * Delay after a change of the map viewport before the way-points are
+	 * updated, in milliseconds.
+	 */
+	private static final long VIEWPORT_UPDATE_DELAY = 250;
+
 	/**
 	 * The list of default paths searched in an instance for an instance name.
 	 * Search is done in the given order.
@@ -116,6 +156,78 @@ public abstract class AbstractInstancePainter
 
 	private Set<InstanceReference> lastSelected = new HashSet<InstanceReference>();
 
+	/**
+	 * Spatial index of the instance bounding boxes in the way-point CRS. The
+	 * entries are the only information held for instances outside of the
+	 * visible area.
+	 */
+	private final RTreeSpatialIndexService footprints = new RTreeSpatialIndexService(
+			FOOTPRINT_PAGE_SIZE);
+
+	/**
+	 * The bounding box of all instances, guarded by {@link #footprints}.
+	 */
+	private BoundingBox footprintExtent;
+
+	private final Job viewportJob;
+
+	private final ViewportListener viewportListener = new ViewportListener();
+
+	/**
+	 * Information extracted from an instance to create a way-point.
+	 */
+	private static class WaypointInfo {
+
+		private final InstanceReference ref;
+
+		private final List<GeometryProperty<?>> geometries;
+
+		private final TypeDefinition type;
+
+		private final String name;
+
+		/**
+		 * The bounding box in the way-point CRS, <code>null</code> if not yet
+		 * determined or if the instance has no geometries that can be
+		 * displayed.
+		 */
+		private BoundingBox boundingBox;
+
+		/**
+		 * Create the way-point information.
+		 * 
+		 * @param ref the instance reference
+		 * @param geometries the instance default geometries
+		 * @param type the instance type
+		 * @param name the instance name, may be <code>null</code>
+		 */
+		public WaypointInfo(InstanceReference ref, List<GeometryProperty<?>> geometries,
+				TypeDefinition type, String name) {
+			this.ref = ref;
+			this.geometries = geometries;
+			this.type = type;
+			this.name = name;
+		}
+
+	}
+
+	/**
+	 * Listens for changes of the visible area of the map.
+	 */
+	private class ViewportListener extends ComponentAdapter implements PropertyChangeListener {
+
+		@Override
+		public void propertyChange(PropertyChangeEvent evt) {
+			viewportJob.schedule(VIEWPORT_UPDATE_DELAY);
+		}
+
+		@Override
+		public void componentResized(ComponentEvent e) {
+			viewportJob.schedule(VIEWPORT_UPDATE_DELAY);
+		}
+
+	}
+
 	/**
 	 * Create an instance painter.
 	 * 
@@ -176,6 +288,46 @@ public abstract class AbstractInstancePainter
 				}
 			}
 		};
+
+		viewportJob = new Job("Update instances in map") {
+
+			@Override
+			protected IStatus run(IProgressMonitor monitor) {
+				try {
+					updateViewport();
+				} catch (Exception e) {
+					log.error("Error updating way-points for the map viewport", e);
+				}
+				return Status.OK_STATUS;
+			}
+		};
+		viewportJob.setSystem(true);
+	}
+
+	/**
+	 * @see MapKitTileOverlayPainter#setMapKit(BasicMapKit)
+	 */
+	@Override
+	public void setMapKit(BasicMapKit mapKit) {
+		BasicMapKit previous = getMapKit();
+		if (previous != null) {
+			JXMapViewer map = previous.getMainMap();
+			map.removePropertyChangeListener("center", viewportListener);
+			map.removePropertyChangeListener("zoom", viewportListener);
+			map.removeComponentListener(viewportListener);
+		}
+
+		super.setMapKit(mapKit);
+
+		if (mapKit != null) {
+			JXMapViewer map = mapKit.getMainMap();
+			map.addPropertyChangeListener("center", viewportListener);
+			map.addPropertyChangeListener("zoom", viewportListener);
+			map.addComponentListener(viewportListener);
+
+			// create the way-points for the visible area
+			viewportJob.schedule(VIEWPORT_UPDATE_DELAY);
+		}
 	}
 
 	/**
@@ -226,6 +378,7 @@ public abstract class AbstractInstancePainter
 	 */
 	public void update(ISelection selection) {
 		clearWaypoints();
+		clearFootprints();
 
 		// XXX only mappable type instances for source?!
 		InstanceCollection instances = instanceService.getInstances(dataSet);
@@ -256,26 +409,25 @@ public abstract class AbstractInstancePainter
 				}
 				monitor.beginTask(taskName, IProgressMonitor.UNKNOWN);
 
+				// only way-points in the visible area are kept, if it is not
+				// known yet only the footprints are stored
+				BoundingBox view = getViewBox();
+
 				// add way-points for instances
 				InstanceCollection instances = instanceService.getInstances(dataSet);
+				List<WaypointInfo> batch = new ArrayList<WaypointInfo>(BATCH_SIZE);
 				ResourceIterator<Instance> it = instances.iterator();
 				try {
 					while (it.hasNext()) {
-						Instance instance = it.next();
+						// instances are accessed only in the iterating thread
+						batch.add(collectInfo(it.next(), instanceService));
 
-						InstanceWaypoint wp = createWaypoint(instance, instanceService);
-
-						if (wp != null) {
-							if (lastSelected.contains(wp.getValue())) {
-								wp.setSelected(true, null); // refresh can be
-															// ignored because
-															// it's done for
-															// addWaypoint
-							}
-							addWaypoint(wp, null); // no refresher, as
-													// refreshAll is executed
+						if (batch.size() >= BATCH_SIZE) {
+							addWaypoints(batch, view, true);
+							batch.clear();
 						}
 					}
+					addWaypoints(batch, view, true);
 				} finally {
 					it.close();
 					monitor.done();
@@ -292,6 +444,10 @@ public abstract class AbstractInstancePainter
 
 		HaleUI.waitFor(updateFinished);
 		refreshAll();
+
+		// create the way-points if the visible area was not known or has
+		// changed during the update
+		viewportJob.schedule(VIEWPORT_UPDATE_DELAY);
 	}
 
 	/**
@@ -302,13 +458,85 @@ public abstract class AbstractInstancePainter
 	 * @return the created way-point or <code>null</code> if
 	 */
 	protected InstanceWaypoint createWaypoint(Instance instance, InstanceService instanceService) {
+		return createWaypoint(collectInfo(instance, instanceService));
+	}
+
+	/**
+	 * Collect the information needed to create a way-point from an instance.
+	 * 
+	 * @param instance the instance
+	 * @param instanceService the instance service
+	 * @return the way-point information
+	 */
+	private WaypointInfo collectInfo(Instance instance, InstanceService instanceService) {
 		// retrieve instance reference
 		InstanceReference ref = instanceService.getReference(instance);// ,
 																		// getDataSet());
 
-		BoundingBox bb = null;
+		return collectInfo(ref, instance);
+	}
+
+	/**
+	 * Collect the information needed to create a way-point from an instance.
+	 * 
+	 * @param ref the instance reference
+	 * @param instance the instance
+	 * @return the way-point information
+	 */
+	private WaypointInfo collectInfo(InstanceReference ref, Instance instance) {
 		List<GeometryProperty<?>> geometries = new ArrayList<GeometryProperty<?>>(
 				DefaultGeometryUtil.getDefaultGeometries(instance));
+
+		return new WaypointInfo(ref, geometries, instance.getDefinition(),
+				findInstanceName(instance));
+	}
+
+	/**
+	 * Create a way-point from the information collected from an instance. Does
+	 * not access the instance and thus may be called concurrently.
+	 * 
+	 * @param info the way-point information
+	 * @return the created way-point or <code>null</code> if the instance has
+	 *         no geometries that can be displayed
+	 */
+	private InstanceWaypoint createWaypoint(WaypointInfo info) {
+		if (info.boundingBox == null) {
+			info.boundingBox = computeBoundingBox(info.geometries);
+			if (info.boundingBox == null) {
+				// don't create way-point w/o geometries
+				return null;
+			}
+		}
+		BoundingBox bb = info.boundingBox;
+
+		// use bounding box center as GEO position
+		Point3D center = bb.getCenter();
+		GeoPosition pos = new GeoPosition(center.getX(), center.getY(),
+				GenericWaypoint.COMMON_EPSG);
+
+		// create the way-point
+		// XXX in abstract method?
+		InstanceWaypoint wp = new InstanceWaypoint(pos, bb, info.ref, info.geometries, info.type,
+				info.name);
+
+		// each way-point must have its own marker, as the marker stores the
+		// marker areas
+		wp.setMarker(createMarker(wp));
+
+		return wp;
+	}
+
+	/**
+	 * Determine the bounding box of the given geometries in the way-point CRS.
+	 * Geometries that cannot be displayed are removed from the list. Does not
+	 * access an instance and thus may be called concurrently.
+	 * 
+	 * @param geometries the geometries
+	 * @return the bounding box or <code>null</code> if none of the geometries
+	 *         can be displayed
+	 */
+	private BoundingBox computeBoundingBox(List<GeometryProperty<?>> geometries) {
+		BoundingBox bb = null;
 		ListIterator<GeometryProperty<?>> it = geometries.listIterator();
 		while (it.hasNext()) {
 			GeometryProperty<?> prop = it.next();
@@ -359,15 +587,9 @@ public abstract class AbstractInstancePainter
 		}
 
 		if (bb == null || geometries.isEmpty()) {
-			// don't create way-point w/o geometries
 			return null;
 		}
 
-		// use bounding box center as GEO position
-		Point3D center = bb.getCenter();
-		GeoPosition pos = new GeoPosition(center.getX(), center.getY(),
-				GenericWaypoint.COMMON_EPSG);
-
 		// buffer bounding box if x or y dimension empty
 		if (bb.getMinX() == bb.getMaxX()) {
 			bb.setMinX(bb.getMinX() - BUFFER_VALUE);
@@ -382,18 +604,251 @@ public abstract class AbstractInstancePainter
 		bb.setMinZ(-BUFFER_VALUE);
 		bb.setMaxZ(BUFFER_VALUE);
 
-		String name = findInstanceName(instance);
+		return bb;
+	}
+
+	/**
+	 * Determine the bounding boxes concurrently and create and add way-points
+	 * for those in the visible area of the map.
+	 * 
+	 * @param batch the information to create the way-points from
+	 * @param view the visible area in the way-point CRS, <code>null</code> if
+	 *            it is not known and no way-points should be added
+	 * @param index if the bounding boxes should be added to the spatial index
+	 * @return the number of way-points added
+	 */
+	private int addWaypoints(List<WaypointInfo> batch, BoundingBox view, boolean index) {
+		if (batch.isEmpty()) {
+			return 0;
+		}
 
-		// create the way-point
-		// XXX in abstract method?
-		InstanceWaypoint wp = new InstanceWaypoint(pos, bb, ref, geometries,
-				instance.getDefinition(), name);
+		batch.parallelStream()
+				.forEach(info -> info.boundingBox = computeBoundingBox(info.geometries));
+
+		if (index) {
+			synchronized (footprints) {
+				for (WaypointInfo info : batch) {
+					BoundingBox bb = info.boundingBox;
+					if (bb != null) {
+						footprints.insert(new LocalizableInstanceReference(info.ref, bb));
+						if (footprintExtent == null) {
+							footprintExtent = new BoundingBox(bb);
+						}
+						else {
+							footprintExtent.add(bb);
+						}
+					}
+				}
+			}
+		}
 
-		// each way-point must have its own marker, as the marker stores the
-		// marker areas
-		wp.setMarker(createMarker(wp));
+		// only create way-points for the visible area
+		List<InstanceWaypoint> waypoints = batch.parallelStream()
+				.filter(info -> info.boundingBox != null && view != null
+						&& view.any(info.boundingBox))
+				.map(this::createWaypoint).collect(Collectors.toList());
+
+		int added = 0;
+		synchronized (this) {
+			for (InstanceWaypoint wp : waypoints) {
+				if (findWaypoint(wp.getValue()) != null) {
+					// added concurrently
+					continue;
+				}
+				if (lastSelected.contains(wp.getValue())) {
+					wp.setSelected(true, null); // refresh can be ignored
+												// because it's done for
+												// addWaypoint
+				}
+				addWaypoint(wp, null); // no refresher, as refreshAll is
+										// executed
+				added++;
+			}
+		}
+		return added;
+	}
 
-		return wp;
+	/**
+	 * Update the way-points after the visible area of the map has changed.
+	 * Way-points outside of the visible area are removed and way-points for
+	 * instances that became visible are created.
+	 */
+	private void updateViewport() {
+		BoundingBox view = getViewBox();
+		if (view == null) {
+			return;
+		}
+
+		List<InstanceReference> visible = new ArrayList<InstanceReference>();
+		synchronized (footprints) {
+			for (Localizable footprint : footprints.retrieve(view)) {
+				visible.add(((LocalizableInstanceReference) footprint).getOriginalReference());
+			}
+		}
+
+		List<InstanceReference> missing = new ArrayList<InstanceReference>();
+		synchronized (this) {
+			// remove way-points that are no longer visible
+			List<InstanceReference> hidden = new ArrayList<InstanceReference>();
+			for (InstanceWaypoint wp : iterateWaypoints()) {
+				if (!view.any(wp.getBoundingBox())) {
+					hidden.add(wp.getValue());
+				}
+			}
+			for (InstanceReference ref : hidden) {
+				removeWaypoint(ref, null);
+			}
+
+			// determine instances that became visible
+			for (InstanceReference ref : visible) {
+				if (findWaypoint(ref) == null) {
+					missing.add(ref);
+				}
+			}
+		}
+
+		// resolve the instances without holding the lock
+		int added = 0;
+		List<WaypointInfo> batch = new ArrayList<WaypointInfo>(
+				Math.min(missing.size(), BATCH_SIZE));
+		for (InstanceReference ref : missing) {
+			Instance instance = instanceService.getInstance(ref);
+			if (instance != null) {
+				batch.add(collectInfo(ref, instance));
+			}
+
+			if (batch.size() >= BATCH_SIZE) {
+				added += addWaypoints(batch, view, false);
+				batch.clear();
+			}
+		}
+		added += addWaypoints(batch, view, false);
+
+		if (added > 0) {
+			refreshAll();
+		}
+	}
+
+	/**
+	 * Determine the area of the map that is currently visible, extended by a
+	 * margin to allow panning without immediately loading instances. The map
+	 * state is read in the event dispatch thread.
+	 * 
+	 * @return the visible area in the way-point CRS or <code>null</code> if it
+	 *         cannot be determined
+	 */
+	private BoundingBox getViewBox() {
+		if (SwingUtilities.isEventDispatchThread()) {
+			return computeViewBox();
+		}
+
+		AtomicReference<BoundingBox> view = new AtomicReference<BoundingBox>();
+		try {
+			SwingUtilities.invokeAndWait(() -> view.set(computeViewBox()));
+		} catch (InvocationTargetException e) {
+			log.error("Error determining visible map area", e.getCause());
+			return null;
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			return null;
+		}
+		return view.get();
+	}
+
+	/**
+	 * Determine the visible area of the map, must be called in the event
+	 * dispatch thread.
+	 * 
+	 * @return the visible area in the way-point CRS or <code>null</code> if it
+	 *         cannot be determined
+	 * @see #getViewBox()
+	 */
+	private BoundingBox computeViewBox() {
+		BasicMapKit mapKit = getMapKit();
+		if (mapKit == null) {
+			return null;
+		}
+
+		JXMapViewer map = mapKit.getMainMap();
+		Rectangle viewport = map.getViewportBounds();
+		if (viewport == null || viewport.isEmpty()) {
+			return null;
+		}
+
+		int zoom = map.getZoom();
+		PixelConverter converter = map.getTileFactory().getTileProvider().getConverter();
+
+		int marginX = viewport.width / 2;
+		int marginY = viewport.height / 2;
+		GeoPosition topLeft = converter.pixelToGeo(new Point(Math.max(viewport.x - marginX, 0),
+				Math.max(viewport.y - marginY, 0)), zoom);
+		GeoPosition bottomRight = converter.pixelToGeo(
+				new Point(viewport.x + viewport.width + marginX,
+						viewport.y + viewport.height + marginY),
+				zoom);
+
+		try {
+			topLeft = GeotoolsConverter.getInstance().convert(topLeft, GenericWaypoint.COMMON_EPSG);
+			bottomRight = GeotoolsConverter.getInstance().convert(bottomRight,
+					GenericWaypoint.COMMON_EPSG);
+		} catch (IllegalGeoPositionException e) {
+			log.warn("Could not determine visible map area: " + e.getMessage());
+			return null;
+		}
+
+		return new BoundingBox(Math.min(bottomRight.getX(), topLeft.getX()),
+				Math.min(bottomRight.getY(), topLeft.getY()), -2.0,
+				Math.max(bottomRight.getX(), topLeft.getX()),
+				Math.max(bottomRight.getY(), topLeft.getY()), 2.0);
+	}
+
+	/**
+	 * Remove all instance bounding boxes from the spatial index.
+	 */
+	private void clearFootprints() {
+		synchronized (footprints) {
+			footprints.flush();
+			footprintExtent = null;
+		}
+	}
+
+	/**
+	 * Get the bounding box of an instance, regardless if there is a way-point
+	 * for the instance. If there is no way-point, the bounding box is
+	 * determined from the instance.
+	 * 
+	 * @param ref the instance reference
+	 * @return the instance bounding box in the way-point CRS or
+	 *         <code>null</code> if the instance is not displayed on the map
+	 */
+	public BoundingBox getInstanceBoundingBox(InstanceReference ref) {
+		InstanceWaypoint wp = findWaypoint(ref);
+		if (wp != null) {
+			return wp.getBoundingBox();
+		}
+
+		Instance instance = instanceService.getInstance(ref);
+		if (instance == null) {
+			return null;
+		}
+		return computeBoundingBox(new ArrayList<GeometryProperty<?>>(
+				DefaultGeometryUtil.getDefaultGeometries(instance)));
+	}
+
+	/**
+	 * Get the bounding box of all instances, including those for which no
+	 * way-point exists as they are not visible.
+	 * 
+	 * @see CustomWaypointPainter#getBoundingBox()
+	 */
+	@Override
+	public BoundingBox getBoundingBox() {
+		synchronized (footprints) {
+			if (footprintExtent != null) {
+				return new BoundingBox(footprintExtent);
+			}
+		}
+		return super.getBoundingBox();
 	}
 
 	/**
@@ -711,4 +1166,16 @@ public abstract class AbstractInstancePainter
 		// ignore
 	}
 
+	/**
+	 * @see CustomWaypointPainter#dispose()
+	 */
+	@Override
+	public void dispose() {
+		setMapKit(null);
+		viewportJob.cancel();
+		clearFootprints();
+
+		super.dispose();
+	}
+
 }
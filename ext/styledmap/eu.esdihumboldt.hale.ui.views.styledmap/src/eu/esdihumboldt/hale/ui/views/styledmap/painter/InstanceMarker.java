@@ -129,7 +129,9 @@ public class InstanceMarker extends BoundingBoxMarker<InstanceWaypoint> {
 			boolean calulateArea) {
 		List<Area> areas = (!calulateArea) ? (null) : (new ArrayList<Area>());
 
-		List<GeometryProperty<?>> geometries = context.getGeometries();
+		// geometries simplified for the zoom level
+		List<GeometryProperty<?>> geometries = context.getGeometries(zoom, maxX - minX,
+				maxY - minY);
 
 		// map CRS
 		CoordinateReferenceSystem mapCRS;
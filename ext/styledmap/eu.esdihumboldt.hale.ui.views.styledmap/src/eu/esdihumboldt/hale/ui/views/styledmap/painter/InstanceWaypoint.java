@@ -16,12 +16,19 @@
 
 package eu.esdihumboldt.hale.ui.views.styledmap.painter;
 
+import java.util.ArrayList;
 import java.util.List;
 
 import org.jdesktop.swingx.mapviewer.GeoPosition;
+import org.locationtech.jts.geom.Envelope;
+import org.locationtech.jts.geom.Geometry;
+import org.locationtech.jts.geom.Point;
+import org.locationtech.jts.simplify.DouglasPeuckerSimplifier;
+import org.opengis.referencing.crs.CoordinateReferenceSystem;
 
 import de.fhg.igd.geom.BoundingBox;
 import de.fhg.igd.mapviewer.waypoints.GenericWaypoint;
+import eu.esdihumboldt.hale.common.instance.geometry.DefaultGeometryProperty;
 import eu.esdihumboldt.hale.common.instance.model.Instance;
 import eu.esdihumboldt.hale.common.instance.model.InstanceReference;
 import eu.esdihumboldt.hale.common.schema.geometry.GeometryProperty;
@@ -34,8 +41,39 @@ import eu.esdihumboldt.hale.common.schema.model.TypeDefinition;
  */
 public class InstanceWaypoint extends GenericWaypoint<InstanceReference, InstanceWaypoint> {
 
+	/**
+	 * The simplification tolerance in pixels.
+	 */
+	private static final double SIMPLIFY_TOLERANCE_PIXELS = 0.5;
+
+	/**
+	 * The minimum number of coordinates of a geometry for it to be simplified.
+	 */
+	private static final int SIMPLIFY_MIN_POINTS = 32;
+
+	/**
+	 * Geometries simplified for a zoom level.
+	 */
+	private static class SimplifiedGeometries {
+
+		private final int zoom;
+
+		private final List<GeometryProperty<?>> geometries;
+
+		public SimplifiedGeometries(int zoom, List<GeometryProperty<?>> geometries) {
+			this.zoom = zoom;
+			this.geometries = geometries;
+		}
+
+	}
+
 	private final List<GeometryProperty<?>> geometries;
 
+	/**
+	 * Geometries simplified for the zoom level painted last.
+	 */
+	private volatile SimplifiedGeometries simplified;
+
 	private final String name;
 
 	private final TypeDefinition instanceType;
@@ -66,6 +104,92 @@ public class InstanceWaypoint extends GenericWaypoint<InstanceReference, Instanc
 		return geometries;
 	}
 
+	/**
+	 * Get the geometries simplified for painting them at the given zoom level.
+	 * Coordinates that would not be distinguishable on the map are removed,
+	 * the simplified geometries are retained for the last zoom level only.
+	 * 
+	 * @param zoom the zoom level
+	 * @param pixelWidth the width of the way-point bounding box in pixels at
+	 *            the zoom level
+	 * @param pixelHeight the height of the way-point bounding box in pixels at
+	 *            the zoom level
+	 * @return the geometries to paint
+	 */
+	public List<GeometryProperty<?>> getGeometries(int zoom, int pixelWidth, int pixelHeight) {
+		SimplifiedGeometries current = simplified;
+		if (current == null || current.zoom != zoom) {
+			current = new SimplifiedGeometries(zoom, simplify(pixelWidth, pixelHeight));
+			simplified = current;
+		}
+		return current.geometries;
+	}
+
+	/**
+	 * Simplify the geometries based on the size of the way-point on the map.
+	 * 
+	 * @param pixelWidth the width of the way-point bounding box in pixels
+	 * @param pixelHeight the height of the way-point bounding box in pixels
+	 * @return the simplified geometries or the original geometries if no
+	 *         simplification is possible
+	 */
+	private List<GeometryProperty<?>> simplify(int pixelWidth, int pixelHeight) {
+		if (pixelWidth <= 0 && pixelHeight <= 0) {
+			return geometries;
+		}
+
+		// determine the extent of the geometries in their CRS
+		Envelope extent = new Envelope();
+		CoordinateReferenceSystem crs = null;
+		boolean simplify = false;
+		for (GeometryProperty<?> geometry : geometries) {
+			CoordinateReferenceSystem geometryCrs = geometry.getCRSDefinition().getCRS();
+			if (crs == null) {
+				crs = geometryCrs;
+			}
+			else if (!crs.equals(geometryCrs)) {
+				// the pixel size can only be determined for a single CRS
+				return geometries;
+			}
+			extent.expandToInclude(geometry.getGeometry().getEnvelopeInternal());
+			simplify |= geometry.getGeometry().getNumPoints() >= SIMPLIFY_MIN_POINTS;
+		}
+		if (!simplify) {
+			return geometries;
+		}
+
+		double pixelSize = Math.max(
+				(pixelWidth > 0) ? (extent.getWidth() / pixelWidth) : (0),
+				(pixelHeight > 0) ? (extent.getHeight() / pixelHeight) : (0));
+		double tolerance = pixelSize * SIMPLIFY_TOLERANCE_PIXELS;
+		if (tolerance <= 0) {
+			return geometries;
+		}
+
+		List<GeometryProperty<?>> result = new ArrayList<>(geometries.size());
+		boolean changed = false;
+		for (GeometryProperty<?> geometry : geometries) {
+			Geometry original = geometry.getGeometry();
+			if (original instanceof Point || original.getNumPoints() < SIMPLIFY_MIN_POINTS) {
+				result.add(geometry);
+				continue;
+			}
+
+			Geometry simple = DouglasPeuckerSimplifier.simplify(original, tolerance);
+			if (simple.isEmpty() || simple.getNumPoints() >= original.getNumPoints()) {
+				result.add(geometry);
+			}
+			else {
+				result.add(new DefaultGeometryProperty<Geometry>(geometry.getCRSDefinition(),
+						simple));
+				changed = true;
+			}
+		}
+
+		// share the original geometries if nothing could be simplified
+		return (changed) ? (result) : (geometries);
+	}
+
 	@Override
 	public int hashCode() {
 		return super.hashCode();
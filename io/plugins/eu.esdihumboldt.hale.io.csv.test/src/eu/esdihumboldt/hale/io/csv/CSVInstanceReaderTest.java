@@ -16,6 +16,7 @@
 package eu.esdihumboldt.hale.io.csv;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 
 import javax.xml.namespace.QName;
@@ -238,6 +239,58 @@ public class CSVInstanceReaderTest {
 
 	}
 
+	/**
+	 * Test - read a sample csv file in parallel and compare with the
+	 * instances read sequentially
+	 * 
+	 * @throws Exception , if an error occurs
+	 */
+	@Test
+	public void testReadParallel() throws Exception {
+
+		String typeName = "Random";
+		String[] properties = { "A", "B", "C", "D", "E" };
+		// read Schema ###
+		Schema schema = readCSVSchema("/data/test3-pointdecimal.csv", typeName,
+				"java.lang.Integer,java.lang.String,java.lang.Float,java.lang.Float,java.lang.String",
+				"A,B,C,D,E", ";", null, null, ".");
+
+		// read Instances ###
+		InstanceCollection instances = readCSVInstances("/data/test3-pointdecimal.csv", typeName,
+				true, schema, ";", null, null, ".");
+
+		InstanceReader instanceReader = new CSVInstanceReader();
+		instanceReader.setSource(new DefaultInputSupplier(
+				getClass().getResource("/data/test3-pointdecimal.csv").toURI()));
+		instanceReader.setParameter(CommonSchemaConstants.PARAM_TYPENAME, Value.of(typeName));
+		instanceReader.setParameter(CommonSchemaConstants.PARAM_SKIP_N_LINES, Value.of(true));
+		instanceReader.setParameter(CSVSchemaReader.PARAM_SEPARATOR, Value.of(";"));
+		instanceReader.setParameter(CSVSchemaReader.PARAM_DECIMAL, Value.of("."));
+		instanceReader.setParameter(CSVSchemaReader.PARAM_PARALLEL, Value.of(4));
+		instanceReader.setSourceSchema(schema);
+
+		IOReport report = instanceReader.execute(null);
+		assertTrue("Data import was not successfull.", report.isSuccess());
+		InstanceCollection parallelInstances = instanceReader.getInstances();
+
+		assertEquals(collectionSize(instances), collectionSize(parallelInstances));
+
+		// compare the values in the order of the instances
+		try (ResourceIterator<Instance> it = instances.iterator();
+				ResourceIterator<Instance> parallelIt = parallelInstances.iterator()) {
+			while (it.hasNext()) {
+				assertTrue(parallelIt.hasNext());
+				Instance instance = it.next();
+				Instance parallelInstance = parallelIt.next();
+				for (String property : properties) {
+					assertEquals(instance.getProperty(QName.valueOf(property))[0],
+							parallelInstance.getProperty(QName.valueOf(property))[0]);
+				}
+			}
+			assertFalse(parallelIt.hasNext());
+		}
+	}
+
 	private int collectionSize(InstanceCollection instances) {
 		if (instances.hasSize()) {
 			return instances.size();
@@ -0,0 +1,157 @@
+/*
+ * Copyright (c) 2026 wetransform GmbH
+ *
+ * All rights reserved. This program and the accompanying materials are made
+ * available under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 3 of the License,
+ * or (at your option) any later version.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Contributors:
+ *     wetransform GmbH <http://www.wetransform.to>
+ */
+
+package eu.esdihumboldt.hale.io.csv.reader.internal;
+
+import static org.junit.Assert.assertEquals;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Test;
+
+/**
+ * Tests for {@link CSVChunkReader}.
+ */
+public class CSVChunkReaderTest {
+
+	/**
+	 * Test that a quoted value with line breaks is not split, even if the
+	 * chunk size is reached within the value.
+	 * 
+	 * @throws IOException if reading the data fails
+	 */
+	@Test
+	public void testQuotedLineBreak() throws IOException {
+		String data = "1,\"first\nsecond\nthird\",a\n" //
+				+ "2,plain,b\n" //
+				+ "3,\"x \"\"quoted\"\",\ny\",c\n";
+
+		assertEquals(Arrays.asList("1,\"first\nsecond\nthird\",a\n", "2,plain,b\n",
+				"3,\"x \"\"quoted\"\",\ny\",c\n"), readChunks(new StringReader(data), 4));
+	}
+
+	/**
+	 * Test that chunks are completed with the first record end after the
+	 * chunk size is reached.
+	 * 
+	 * @throws IOException if reading the data fails
+	 */
+	@Test
+	public void testChunkSize() throws IOException {
+		String data = "1,a\n2,\"b\nb\"\n3,c\n4,d\n5,e";
+
+		assertEquals(Arrays.asList("1,a\n2,\"b\nb\"\n", "3,c\n4,d\n", "5,e"),
+				readChunks(new StringReader(data), 6));
+	}
+
+	/**
+	 * Test that the original line terminators are kept.
+	 * 
+	 * @throws IOException if reading the data fails
+	 */
+	@Test
+	public void testLineTerminators() throws IOException {
+		String data = "1,\"a\r\nb\",x\r\n2,\"c\rd\",y\r3,e,z\n";
+
+		assertEquals(Arrays.asList("1,\"a\r\nb\",x\r\n", "2,\"c\rd\",y\r", "3,e,z\n"),
+				readChunks(new StringReader(data), 1));
+		assertEquals(Arrays.asList(data), readChunks(new StringReader(data), data.length()));
+	}
+
+	/**
+	 * Test reading from a source that provides a single character per read,
+	 * so line terminators and quoted values cross buffer boundaries.
+	 * 
+	 * @throws IOException if reading the data fails
+	 */
+	@Test
+	public void testSingleCharacterReads() throws IOException {
+		String data = "1,\"a\r\nb\",x\r\n2,plain,y\r\n";
+
+		assertEquals(Arrays.asList("1,\"a\r\nb\",x\r\n", "2,plain,y\r\n"),
+				readChunks(new SingleCharacterReader(data), 2));
+	}
+
+	/**
+	 * Test skipping records that span multiple lines.
+	 * 
+	 * @throws IOException if reading the data fails
+	 */
+	@Test
+	public void testSkipRecords() throws IOException {
+		String data = "\"head\ner\",b\n1,\"c\nd\"\n2,e\n";
+
+		try (CSVChunkReader reader = createReader(new StringReader(data), 1)) {
+			reader.skipRecords(2);
+			assertEquals("2,e\n", reader.nextChunk());
+			assertEquals(null, reader.nextChunk());
+		}
+	}
+
+	/**
+	 * Test with escaped quotes using the escape character.
+	 * 
+	 * @throws IOException if reading the data fails
+	 */
+	@Test
+	public void testEscapedQuote() throws IOException {
+		String data = "1,\"a\\\"\nb\",x\n2,c,y\n";
+
+		assertEquals(Arrays.asList("1,\"a\\\"\nb\",x\n", "2,c,y\n"),
+				readChunks(new StringReader(data), 1));
+	}
+
+	private static List<String> readChunks(Reader data, int chunkSize) throws IOException {
+		List<String> chunks = new ArrayList<>();
+		try (CSVChunkReader reader = createReader(data, chunkSize)) {
+			String chunk;
+			while ((chunk = reader.nextChunk()) != null) {
+				chunks.add(chunk);
+			}
+		}
+		return chunks;
+	}
+
+	private static CSVChunkReader createReader(Reader data, int chunkSize) {
+		return new CSVChunkReader(data, ',', '"', '\\', chunkSize);
+	}
+
+	/**
+	 * Reader providing a single character per read.
+	 */
+	private static class SingleCharacterReader extends StringReader {
+
+		/**
+		 * Create a reader for the given string.
+		 * 
+		 * @param s the string providing the characters
+		 */
+		public SingleCharacterReader(String s) {
+			super(s);
+		}
+
+		@Override
+		public int read(char[] cbuf, int off, int len) throws IOException {
+			return super.read(cbuf, off, Math.min(len, 1));
+		}
+
+	}
+
+}
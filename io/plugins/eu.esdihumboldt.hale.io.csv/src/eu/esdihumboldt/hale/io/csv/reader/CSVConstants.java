@@ -43,6 +43,13 @@ public interface CSVConstants {
 	 */
 	public static final String PARAM_DECIMAL = "decimal";
 
+	/**
+	 * Name of the parameter specifying the number of threads used to parse
+	 * instances. With more than one thread the file is split into chunks that
+	 * are parsed concurrently.
+	 */
+	public static final String PARAM_PARALLEL = "parallel";
+
 	/**
 	 * The separating sign for the CSV file to be read (can be '\t' or ',' or '
 	 * ')
@@ -0,0 +1,218 @@
+/*
+ * Copyright (c) 2026 wetransform GmbH
+ *
+ * All rights reserved. This program and the accompanying materials are made
+ * available under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 3 of the License,
+ * or (at your option) any later version.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Contributors:
+ *     wetransform GmbH <http://www.wetransform.to>
+ */
+
+package eu.esdihumboldt.hale.io.csv.reader.internal;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+
+/**
+ * Splits CSV data into chunks of complete records, so the chunks can be parsed
+ * independently. Records may span multiple lines if a quoted value contains
+ * line breaks, so for each line it is determined if a record ends there, in
+ * the same way the CSV parser treats quote and escape characters. The chunks
+ * contain the lines with their original line terminators.
+ */
+class CSVChunkReader implements Closeable {
+
+	/**
+	 * Default number of characters after which a chunk is completed.
+	 */
+	static final int DEFAULT_CHUNK_SIZE = 1 << 20;
+
+	private final Reader reader;
+
+	private final char separator;
+
+	private final char quote;
+
+	private final char escape;
+
+	private final int chunkSize;
+
+	private final char[] buffer = new char[8192];
+
+	private int position = 0;
+
+	private int limit = 0;
+
+	private final StringBuilder line = new StringBuilder();
+
+	private boolean pending = false;
+
+	/**
+	 * Create a chunk reader.
+	 * 
+	 * @param reader the reader providing the CSV data
+	 * @param separator the separator character
+	 * @param quote the quote character
+	 * @param escape the escape character
+	 * @param chunkSize the number of characters after which a chunk is
+	 *            completed with the next record end
+	 */
+	public CSVChunkReader(Reader reader, char separator, char quote, char escape,
+			int chunkSize) {
+		this.reader = reader;
+		this.separator = separator;
+		this.quote = quote;
+		this.escape = escape;
+		this.chunkSize = chunkSize;
+	}
+
+	/**
+	 * Skip records.
+	 * 
+	 * @param count the number of records to skip
+	 * @throws IOException if reading the data fails
+	 */
+	public void skipRecords(int count) throws IOException {
+		int skipped = 0;
+		while (skipped < count) {
+			if (!readLine()) {
+				return;
+			}
+			if (!isPending(line)) {
+				skipped++;
+			}
+		}
+	}
+
+	/**
+	 * Read the next chunk.
+	 * 
+	 * @return the lines of the next chunk, including their line terminators,
+	 *         or <code>null</code> if there are no more records
+	 * @throws IOException if reading the data fails
+	 */
+	public String nextChunk() throws IOException {
+		StringBuilder chunk = null;
+		while (readLine()) {
+			if (chunk == null) {
+				chunk = new StringBuilder(chunkSize + line.length());
+			}
+			chunk.append(line);
+
+			if (!isPending(line) && chunk.length() >= chunkSize) {
+				break;
+			}
+		}
+		return (chunk == null) ? (null) : (chunk.toString());
+	}
+
+	/**
+	 * Read the next line including its line terminator. The line terminator
+	 * may be a line feed, a carriage return or a carriage return followed by
+	 * a line feed.
+	 * 
+	 * @return if a line was read, <code>false</code> if the end of the input
+	 *         was reached
+	 * @throws IOException if reading the data fails
+	 */
+	private boolean readLine() throws IOException {
+		line.setLength(0);
+		while (fill()) {
+			int start = position;
+			while (position < limit) {
+				char c = buffer[position++];
+				if (c == '\n') {
+					line.append(buffer, start, position - start);
+					return true;
+				}
+				if (c == '\r') {
+					line.append(buffer, start, position - start);
+					if (fill() && buffer[position] == '\n') {
+						line.append('\n');
+						position++;
+					}
+					return true;
+				}
+			}
+			line.append(buffer, start, position - start);
+		}
+		return line.length() > 0;
+	}
+
+	/**
+	 * Make sure there are characters available in the buffer.
+	 * 
+	 * @return if there are characters available, <code>false</code> if the
+	 *         end of the input was reached
+	 * @throws IOException if reading the data fails
+	 */
+	private boolean fill() throws IOException {
+		if (position < limit) {
+			return true;
+		}
+		int read;
+		do {
+			read = reader.read(buffer, 0, buffer.length);
+		} while (read == 0);
+		position = 0;
+		limit = Math.max(read, 0);
+		return read > 0;
+	}
+
+	/**
+	 * Determine if a record continues after the given line. Corresponds to
+	 * how the parser of the CSV reader handles quotes in a line.
+	 * 
+	 * @param line the line, may include the line terminator
+	 * @return if the record continues in the next line
+	 */
+	private boolean isPending(CharSequence line) {
+		boolean inQuotes = pending;
+		boolean inField = false;
+		int length = line.length();
+		while (length > 0
+				&& (line.charAt(length - 1) == '\n' || line.charAt(length - 1) == '\r')) {
+			length--;
+		}
+		for (int i = 0; i < length; i++) {
+			char c = line.charAt(i);
+			if (c == escape) {
+				if ((inQuotes || inField) && i + 1 < length
+						&& (line.charAt(i + 1) == quote || line.charAt(i + 1) == escape)) {
+					// escaped character
+					i++;
+				}
+			}
+			else if (c == quote) {
+				if ((inQuotes || inField) && i + 1 < length && line.charAt(i + 1) == quote) {
+					// escaped quote
+					i++;
+				}
+				else {
+					inQuotes = !inQuotes;
+				}
+				inField = !inField;
+			}
+			else if (c == separator && !inQuotes) {
+				inField = false;
+			}
+			else {
+				inField = true;
+			}
+		}
+		pending = inQuotes;
+		return pending;
+	}
+
+	@Override
+	public void close() throws IOException {
+		reader.close();
+	}
+
+}
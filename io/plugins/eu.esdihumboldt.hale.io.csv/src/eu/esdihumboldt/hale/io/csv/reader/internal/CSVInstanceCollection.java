@@ -16,32 +16,37 @@
 package eu.esdihumboldt.hale.io.csv.reader.internal;
 
 import java.io.IOException;
+import java.io.StringReader;
 import java.text.MessageFormat;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
 import java.util.NoSuchElementException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import javax.xml.namespace.QName;
 
-import org.springframework.core.convert.ConversionService;
-
+import au.com.bytecode.opencsv.CSVParser;
 import au.com.bytecode.opencsv.CSVReader;
 import de.fhg.igd.slf4jplus.ALogger;
 import de.fhg.igd.slf4jplus.ALoggerFactory;
-import eu.esdihumboldt.hale.common.core.HalePlatform;
 import eu.esdihumboldt.hale.common.instance.model.Filter;
 import eu.esdihumboldt.hale.common.instance.model.Instance;
 import eu.esdihumboldt.hale.common.instance.model.InstanceCollection;
 import eu.esdihumboldt.hale.common.instance.model.InstanceReference;
-import eu.esdihumboldt.hale.common.instance.model.MutableInstance;
 import eu.esdihumboldt.hale.common.instance.model.ResourceIterator;
 import eu.esdihumboldt.hale.common.instance.model.ext.InstanceCollection2;
-import eu.esdihumboldt.hale.common.instance.model.impl.DefaultInstance;
 import eu.esdihumboldt.hale.common.instance.model.impl.FilteredInstanceCollection;
 import eu.esdihumboldt.hale.common.instance.model.impl.PseudoInstanceReference;
-import eu.esdihumboldt.hale.common.schema.model.PropertyDefinition;
 import eu.esdihumboldt.hale.common.schema.model.TypeDefinition;
-import eu.esdihumboldt.hale.common.schema.model.constraint.type.Binding;
+import eu.esdihumboldt.hale.io.csv.reader.CSVConstants;
 import eu.esdihumboldt.hale.io.csv.reader.CommonSchemaConstants;
 
 /**
@@ -86,20 +91,7 @@ public class CSVInstanceCollection implements InstanceCollection, InstanceCollec
 			// initialize reader if necessary
 			if (csvReader == null) {
 
-				int skipN = 0;
-				Boolean skipType = reader.getParameter(CommonSchemaConstants.PARAM_SKIP_N_LINES)
-						.as(Boolean.class);
-
-				if (skipType == null) {
-					skipN = reader.getParameter(CommonSchemaConstants.PARAM_SKIP_N_LINES)
-							.as(Integer.class, 0);
-				}
-				else if (skipType) {
-					skipN = 1;
-				}
-				else {
-					skipN = 0;
-				}
+				int skipN = getSkipLines();
 
 				try {
 					csvReader = CSVUtil.readFirst(reader);
@@ -146,70 +138,151 @@ public class CSVInstanceCollection implements InstanceCollection, InstanceCollec
 				throw new NoSuchElementException();
 			}
 
-			MutableInstance instance = new DefaultInstance(type, null);
 			try {
 				// build instance
-				PropertyDefinition[] propAr = type.getChildren()
-						.toArray(new PropertyDefinition[type.getChildren().size()]);
-
-				int index = 0;
-				for (String part : nextItem) {
-					if (index >= propAr.length) {
-						// break if line has more columns than the specified
-						// type
-						log.warn("More data columns encountered than defined in the schema");
-						break;
-					}
-					PropertyDefinition property = propAr[index];
+				return getConversionPlan().createInstance(nextItem);
+			} finally {
+				nextItem = null;
+			}
+		}
 
-					Object value = convertValue(part, property);
+		@Override
+		public void remove() {
+			throw new UnsupportedOperationException();
+		}
 
-					instance.addProperty(property.getName(), value);
-					index++;
+		@Override
+		public void close() {
+			closed = true;
+			if (csvReader != null) {
+				try {
+					csvReader.close();
+				} catch (IOException e) {
+					log.debug("Error closing CSV reader", e);
 				}
-			} finally {
-				nextItem = null;
 			}
+		}
+
+	}
+
+	/**
+	 * CSV instance iterator that splits the CSV data into chunks that are
+	 * parsed concurrently. The instances are provided in the order of the
+	 * records. Errors reading or parsing the data are rethrown as
+	 * {@link IllegalStateException}, instead of ending the iteration early.
+	 */
+	public class ParallelCSVIterator implements ResourceIterator<Instance> {
+
+		private final int threads;
+
+		private final Deque<Future<List<Instance>>> chunks = new ArrayDeque<>();
+
+		private ExecutorService executor;
+
+		private CSVChunkReader chunkReader;
+
+		private boolean endOfInput = false;
 
-			return instance;
+		private boolean closed = false;
+
+		private Iterator<Instance> current = Collections.emptyIterator();
+
+		/**
+		 * Create an iterator parsing the CSV data in parallel.
+		 * 
+		 * @param threads the number of threads to use
+		 */
+		public ParallelCSVIterator(int threads) {
+			this.threads = threads;
 		}
 
-		private Object convertValue(String part, PropertyDefinition property) {
-			if (part == null || part.isEmpty()) {
-				// FIXME make this configurable?
-				return null;
+		@Override
+		public boolean hasNext() {
+			while (!closed && !current.hasNext()) {
+				submitChunks();
+
+				Future<List<Instance>> chunk = chunks.poll();
+				if (chunk == null) {
+					return false;
+				}
+
+				try {
+					current = chunk.get().iterator();
+				} catch (ExecutionException e) {
+					close();
+					throw new IllegalStateException("Error parsing CSV source", e.getCause());
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+					close();
+				}
 			}
 
-			Binding binding = property.getPropertyType().getConstraint(Binding.class);
-			try {
-				if (!binding.getBinding().equals(String.class)) {
+			return !closed && current.hasNext();
+		}
 
-					if (Number.class.isAssignableFrom(binding.getBinding())
-							&& decimalPoint != '.') {
-						// number binding and we don't have the
-						// default decimal point
+		/**
+		 * Read chunks and submit them for parsing, so that for each thread
+		 * two chunks are in progress.
+		 */
+		private void submitChunks() {
+			if (chunkReader == null) {
+				try {
+					chunkReader = new CSVChunkReader(CSVUtil.createReader(reader),
+							CSVUtil.getSep(reader), CSVUtil.getQuote(reader),
+							CSVUtil.getEscape(reader), CSVChunkReader.DEFAULT_CHUNK_SIZE);
+					chunkReader.skipRecords(getSkipLines());
+				} catch (IOException e) {
+					log.error("Could not open CSV source", e);
+					endOfInput = true;
+					return;
+				}
 
-						// TODO more sophisticated behavior?
-						// what about thousands separator char?
+				executor = Executors.newFixedThreadPool(threads, r -> {
+					Thread thread = new Thread(r, "CSV parser");
+					thread.setDaemon(true);
+					return thread;
+				});
+			}
 
-						part = part.replace(decimalPoint, '.');
-					}
+			while (!endOfInput && chunks.size() < threads * 2) {
+				String chunk;
+				try {
+					chunk = chunkReader.nextChunk();
+				} catch (IOException e) {
+					close();
+					throw new IllegalStateException("Error accessing CSV source", e);
+				}
 
-					ConversionService conversionService = HalePlatform
-							.getService(ConversionService.class);
-					if (conversionService.canConvert(String.class, binding.getBinding())) {
-						return conversionService.convert(part, binding.getBinding());
-					}
-					else {
-						throw new IllegalStateException("Conversion not possible!");
-					}
+				if (chunk == null) {
+					endOfInput = true;
+				}
+				else {
+					final String records = chunk;
+					chunks.add(executor.submit(() -> parseChunk(records)));
+				}
+			}
+		}
+
+		private List<Instance> parseChunk(String chunk) throws IOException {
+			List<Instance> instances = new ArrayList<>();
+			ColumnConversionPlan plan = getConversionPlan();
+			try (CSVReader csvReader = new CSVReader(new StringReader(chunk),
+					CSVUtil.getSep(reader), CSVUtil.getQuote(reader), CSVUtil.getEscape(reader),
+					0, CSVParser.DEFAULT_STRICT_QUOTES)) {
+				String[] record;
+				while ((record = csvReader.readNext()) != null) {
+					instances.add(plan.createInstance(record));
 				}
-			} catch (Exception e) {
-				log.error(MessageFormat.format("Cannot convert property value to {0}",
-						binding.getBinding().getSimpleName()), e);
 			}
+			return instances;
+		}
 
-			return part;
+		@Override
+		public Instance next() {
+			if (!hasNext()) {
+				throw new NoSuchElementException();
+			}
+			return current.next();
 		}
 
 		@Override
@@ -220,9 +293,19 @@ public class CSVInstanceCollection implements InstanceCollection, InstanceCollec
 		@Override
 		public void close() {
 			closed = true;
-			if (csvReader != null) {
+			current = Collections.emptyIterator();
+
+			for (Future<List<Instance>> chunk : chunks) {
+				chunk.cancel(true);
+			}
+			chunks.clear();
+
+			if (executor != null) {
+				executor.shutdownNow();
+			}
+			if (chunkReader != null) {
 				try {
-					csvReader.close();
+					chunkReader.close();
 				} catch (IOException e) {
 					log.debug("Error closing CSV reader", e);
 				}
@@ -248,6 +331,8 @@ public class CSVInstanceCollection implements InstanceCollection, InstanceCollec
 
 	private Boolean empty;
 
+	private volatile ColumnConversionPlan conversionPlan;
+
 	/**
 	 * Create a CSV instance collection based on the given CSV instance reader
 	 * (because we make use of its configuration).
@@ -272,6 +357,47 @@ public class CSVInstanceCollection implements InstanceCollection, InstanceCollec
 		}
 	}
 
+	/**
+	 * Get the plan for converting CSV records to instances. The plan is
+	 * created once for the collection type.
+	 * 
+	 * @return the conversion plan
+	 */
+	private ColumnConversionPlan getConversionPlan() {
+		ColumnConversionPlan plan = conversionPlan;
+		if (plan == null) {
+			synchronized (this) {
+				plan = conversionPlan;
+				if (plan == null) {
+					plan = new ColumnConversionPlan(type, decimalPoint);
+					conversionPlan = plan;
+				}
+			}
+		}
+		return plan;
+	}
+
+	/**
+	 * Determine the number of records to skip at the beginning.
+	 * 
+	 * @return the number of records to skip
+	 */
+	private int getSkipLines() {
+		Boolean skipType = reader.getParameter(CommonSchemaConstants.PARAM_SKIP_N_LINES)
+				.as(Boolean.class);
+
+		if (skipType == null) {
+			return reader.getParameter(CommonSchemaConstants.PARAM_SKIP_N_LINES)
+					.as(Integer.class, 0);
+		}
+		else if (skipType) {
+			return 1;
+		}
+		else {
+			return 0;
+		}
+	}
+
 	@Override
 	public InstanceReference getReference(Instance instance) {
 		// TODO reference by line?
@@ -288,6 +414,10 @@ public class CSVInstanceCollection implements InstanceCollection, InstanceCollec
 
 	@Override
 	public ResourceIterator<Instance> iterator() {
+		int threads = reader.getParameter(CSVConstants.PARAM_PARALLEL).as(Integer.class, 1);
+		if (threads > 1) {
+			return new ParallelCSVIterator(threads);
+		}
 		return new CSVIterator();
 	}
 
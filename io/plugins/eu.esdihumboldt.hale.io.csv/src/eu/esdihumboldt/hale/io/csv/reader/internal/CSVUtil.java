@@ -58,8 +58,7 @@ public class CSVUtil implements CSVConstants {
 	 * @throws IOException
 	 */
 	public static CSVReader readFirst(ImportProvider provider, int skipLines) throws IOException {
-		Reader streamReader = new BufferedReader(
-				new InputStreamReader(provider.getSource().getInput(), provider.getCharset()));
+		Reader streamReader = createReader(provider);
 
 		CSVReader reader = new CSVReader(streamReader, getSep(provider), getQuote(provider),
 				getEscape(provider), skipLines, CSVParser.DEFAULT_STRICT_QUOTES);
@@ -68,6 +67,18 @@ public class CSVUtil implements CSVConstants {
 
 	}
 
+	/**
+	 * Create a reader on the source of the given provider.
+	 * 
+	 * @param provider the import provider
+	 * @return the reader using the charset configured for the provider
+	 * @throws IOException if the source cannot be opened
+	 */
+	public static BufferedReader createReader(ImportProvider provider) throws IOException {
+		return new BufferedReader(
+				new InputStreamReader(provider.getSource().getInput(), provider.getCharset()));
+	}
+
 	/**
 	 * Getter for the separating sign
 	 * 
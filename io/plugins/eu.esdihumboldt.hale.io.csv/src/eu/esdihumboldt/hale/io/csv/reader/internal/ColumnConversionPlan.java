@@ -0,0 +1,294 @@
+/*
+ * Copyright (c) 2026 wetransform GmbH
+ *
+ * All rights reserved. This program and the accompanying materials are made
+ * available under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 3 of the License,
+ * or (at your option) any later version.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Contributors:
+ *     wetransform GmbH <http://www.wetransform.to>
+ */
+
+package eu.esdihumboldt.hale.io.csv.reader.internal;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.sql.Timestamp;
+import java.text.MessageFormat;
+import java.time.LocalDate;
+
+import org.springframework.core.convert.ConversionService;
+
+import de.fhg.igd.slf4jplus.ALogger;
+import de.fhg.igd.slf4jplus.ALoggerFactory;
+import eu.esdihumboldt.hale.common.core.HalePlatform;
+import eu.esdihumboldt.hale.common.instance.model.MutableInstance;
+import eu.esdihumboldt.hale.common.instance.model.impl.DefaultInstance;
+import eu.esdihumboldt.hale.common.schema.model.PropertyDefinition;
+import eu.esdihumboldt.hale.common.schema.model.TypeDefinition;
+import eu.esdihumboldt.hale.common.schema.model.constraint.type.Binding;
+
+/**
+ * Converts CSV records to instances of a type. How the values of each column
+ * are converted is determined once when the plan is created. Numbers, booleans
+ * and dates in the default formats are parsed directly, other values are
+ * converted using the {@link ConversionService}.<br>
+ * <br>
+ * A plan may be used by multiple threads concurrently.
+ */
+class ColumnConversionPlan {
+
+	private static final ALogger log = ALoggerFactory.getLogger(ColumnConversionPlan.class);
+
+	/**
+	 * Converts the values of a column.
+	 */
+	private interface ColumnConverter {
+
+		/**
+		 * Convert a value.
+		 * 
+		 * @param value the value, not <code>null</code> or empty
+		 * @return the converted value
+		 * @throws Exception if the value cannot be converted
+		 */
+		Object convert(String value) throws Exception;
+
+	}
+
+	private final TypeDefinition type;
+
+	private final PropertyDefinition[] properties;
+
+	private final ColumnConverter[] converters;
+
+	private final char decimalPoint;
+
+	/**
+	 * Create a conversion plan.
+	 * 
+	 * @param type the type of the instances to create
+	 * @param decimalPoint the character used as a decimal point
+	 */
+	public ColumnConversionPlan(TypeDefinition type, char decimalPoint) {
+		this.type = type;
+		this.decimalPoint = decimalPoint;
+
+		properties = type.getChildren().toArray(new PropertyDefinition[type.getChildren().size()]);
+
+		ConversionService service = null;
+		converters = new ColumnConverter[properties.length];
+		for (int i = 0; i < properties.length; i++) {
+			Class<?> binding = properties[i].getPropertyType().getConstraint(Binding.class)
+					.getBinding();
+			if (!binding.equals(String.class) && service == null) {
+				service = HalePlatform.getService(ConversionService.class);
+			}
+			converters[i] = createConverter(binding, service);
+		}
+	}
+
+	/**
+	 * Create an instance from a CSV record.
+	 * 
+	 * @param record the values of the record
+	 * @return the instance
+	 */
+	public MutableInstance createInstance(String[] record) {
+		MutableInstance instance = new DefaultInstance(type, null);
+
+		int index = 0;
+		for (String part : record) {
+			if (index >= properties.length) {
+				// break if line has more columns than the specified type
+				log.warn("More data columns encountered than defined in the schema");
+				break;
+			}
+
+			instance.addProperty(properties[index].getName(), convertValue(part, index));
+			index++;
+		}
+
+		return instance;
+	}
+
+	private Object convertValue(String part, int index) {
+		if (part == null || part.isEmpty()) {
+			// FIXME make this configurable?
+			return null;
+		}
+
+		try {
+			return converters[index].convert(part);
+		} catch (Exception e) {
+			log.error(MessageFormat.format("Cannot convert property value to {0}",
+					properties[index].getPropertyType().getConstraint(Binding.class).getBinding()
+							.getSimpleName()),
+					e);
+		}
+
+		return part;
+	}
+
+	private ColumnConverter createConverter(Class<?> binding, ConversionService service) {
+		if (binding.equals(String.class)) {
+			return value -> value;
+		}
+
+		final ColumnConverter generic;
+		if (service.canConvert(String.class, binding)) {
+			generic = value -> service.convert(value, binding);
+		}
+		else {
+			generic = value -> {
+				throw new IllegalStateException("Conversion not possible!");
+			};
+		}
+
+		if (Number.class.isAssignableFrom(binding)) {
+			final ColumnConverter number = createNumberConverter(binding, generic);
+			if (decimalPoint != '.') {
+				// number binding and we don't have the default decimal point
+
+				// TODO more sophisticated behavior?
+				// what about thousands separator char?
+				return value -> number.convert(value.replace(decimalPoint, '.'));
+			}
+			return number;
+		}
+
+		if (binding.equals(Boolean.class)) {
+			return value -> {
+				Boolean result = parseBoolean(value);
+				return (result != null) ? (result) : (generic.convert(value));
+			};
+		}
+
+		if (binding.equals(Timestamp.class)) {
+			return value -> {
+				// values representing null are handled by the converter
+				if (!value.startsWith("0000-00-00")) {
+					try {
+						return Timestamp.valueOf(value);
+					} catch (IllegalArgumentException e) {
+						// not in the default format
+					}
+				}
+				return generic.convert(value);
+			};
+		}
+
+		if (binding.equals(LocalDate.class)) {
+			return value -> {
+				if (!value.startsWith("0000-00-00")) {
+					try {
+						return LocalDate.parse(value);
+					} catch (RuntimeException e) {
+						// not in the default format
+					}
+				}
+				return generic.convert(value);
+			};
+		}
+
+		return generic;
+	}
+
+	/**
+	 * Create a converter parsing numbers without the conversion service. The
+	 * conversion service is used for values that may be hexadecimal or contain
+	 * whitespace, and values that cannot be parsed.
+	 * 
+	 * @param binding the number binding
+	 * @param generic the converter using the conversion service
+	 * @return the number converter
+	 */
+	private static ColumnConverter createNumberConverter(Class<?> binding,
+			ColumnConverter generic) {
+		final ColumnConverter parser;
+		if (binding.equals(Integer.class)) {
+			parser = Integer::valueOf;
+		}
+		else if (binding.equals(Long.class)) {
+			parser = Long::valueOf;
+		}
+		else if (binding.equals(Double.class)) {
+			parser = Double::valueOf;
+		}
+		else if (binding.equals(Float.class)) {
+			parser = Float::valueOf;
+		}
+		else if (binding.equals(Short.class)) {
+			parser = Short::valueOf;
+		}
+		else if (binding.equals(Byte.class)) {
+			parser = Byte::valueOf;
+		}
+		else if (binding.equals(BigDecimal.class)) {
+			parser = BigDecimal::new;
+		}
+		else if (binding.equals(BigInteger.class)) {
+			parser = BigInteger::new;
+		}
+		else {
+			return generic;
+		}
+
+		return value -> {
+			if (isPlainNumber(value)) {
+				try {
+					return parser.convert(value);
+				} catch (NumberFormatException e) {
+					// let the conversion service handle the value
+				}
+			}
+			return generic.convert(value);
+		};
+	}
+
+	/**
+	 * Determines if a value contains no whitespace and no hexadecimal prefix,
+	 * so it would be parsed the same by the conversion service.
+	 * 
+	 * @param value the value
+	 * @return if the value can be parsed directly
+	 */
+	private static boolean isPlainNumber(String value) {
+		for (int i = 0; i < value.length(); i++) {
+			char c = value.charAt(i);
+			if (Character.isWhitespace(c) || c == 'x' || c == 'X' || c == '#') {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Parse a boolean value in the same way as the conversion service.
+	 * 
+	 * @param value the value
+	 * @return the boolean or <code>null</code> if the value is not a known
+	 *         boolean representation
+	 */
+	private static Boolean parseBoolean(String value) {
+		switch (value.trim().toLowerCase()) {
+		case "true":
+		case "on":
+		case "yes":
+		case "1":
+			return Boolean.TRUE;
+		case "false":
+		case "off":
+		case "no":
+		case "0":
+			return Boolean.FALSE;
+		default:
+			return null;
+		}
+	}
+
+}
@@ -0,0 +1,148 @@
+/*
+ * Copyright (c) 2026 wetransform GmbH
+ *
+ * All rights reserved. This program and the accompanying materials are made
+ * available under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 3 of the License,
+ * or (at your option) any later version.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Contributors:
+ *     wetransform GmbH <http://www.wetransform.to>
+ */
+
+package eu.esdihumboldt.hale.io.gml.validator;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+import javax.xml.validation.Schema;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import eu.esdihumboldt.hale.io.xml.validator.Report;
+import eu.esdihumboldt.hale.io.xml.validator.Validator;
+import eu.esdihumboldt.hale.io.xml.validator.ValidatorFactory;
+
+/**
+ * Tests for the reuse of schemas and grammars for XML validation.
+ */
+public class ValidatorCacheTest {
+
+	private static final String NAMESPACE = "http://www.example.org/validation";
+
+	/**
+	 * Temporary folder for schemas and documents.
+	 */
+	@Rule
+	public TemporaryFolder tmpFolder = new TemporaryFolder();
+
+	/**
+	 * Test that a compiled schema is reused and compiled again if the schema
+	 * file was modified.
+	 *
+	 * @throws Exception if an error occurs
+	 */
+	@Test
+	public void testSchemaReloaded() throws Exception {
+		File schemaFile = writeSchema(tmpFolder.newFolder(), "xs:int");
+		URI schemaLocation = schemaFile.toURI();
+
+		Schema schema = ValidatorFactory.getInstance().getSchema(schemaLocation);
+		assertSame(schema, ValidatorFactory.getInstance().getSchema(schemaLocation));
+
+		Validator validator = ValidatorFactory.getInstance().createValidator(schemaLocation);
+		assertFalse(validate(validator, document(null, "text")).isValid());
+
+		modifySchema(schemaFile, "xs:string");
+
+		assertNotSame(schema, ValidatorFactory.getInstance().getSchema(schemaLocation));
+		assertTrue(validate(validator, document(null, "text")).isValid());
+	}
+
+	/**
+	 * Test validating documents against different schemas with the same
+	 * namespace referenced in the documents.
+	 *
+	 * @throws Exception if an error occurs
+	 */
+	@Test
+	public void testSameNamespaceDifferentLocations() throws Exception {
+		File intSchema = writeSchema(tmpFolder.newFolder(), "xs:int");
+		File stringSchema = writeSchema(tmpFolder.newFolder(), "xs:string");
+
+		Validator validator = ValidatorFactory.getInstance().createValidator();
+		assertTrue(validate(validator, document(intSchema, "1")).isValid());
+		assertFalse(validate(validator, document(intSchema, "text")).isValid());
+		assertTrue(validate(validator, document(stringSchema, "text")).isValid());
+		assertFalse(validate(validator, document(intSchema, "text")).isValid());
+	}
+
+	/**
+	 * Test that a schema referenced in a document is loaded again if the
+	 * schema file was modified.
+	 *
+	 * @throws Exception if an error occurs
+	 */
+	@Test
+	public void testReferencedSchemaReloaded() throws Exception {
+		File schemaFile = writeSchema(tmpFolder.newFolder(), "xs:int");
+
+		Validator validator = ValidatorFactory.getInstance().createValidator();
+		assertFalse(validate(validator, document(schemaFile, "text")).isValid());
+
+		modifySchema(schemaFile, "xs:string");
+
+		assertTrue(validate(validator, document(schemaFile, "text")).isValid());
+	}
+
+	private static Report validate(Validator validator, String document) {
+		return validator
+				.validate(new ByteArrayInputStream(document.getBytes(StandardCharsets.UTF_8)));
+	}
+
+	private static String document(File schemaFile, String value) {
+		StringBuilder document = new StringBuilder();
+		document.append("<v:value xmlns:v=\"").append(NAMESPACE).append('"');
+		if (schemaFile != null) {
+			document.append(" xmlns:xsi=\"http://www.w3.org/2001/XMLSchema-instance\"");
+			document.append(" xsi:schemaLocation=\"").append(NAMESPACE).append(' ')
+					.append(schemaFile.toURI()).append('"');
+		}
+		document.append('>').append(value).append("</v:value>");
+		return document.toString();
+	}
+
+	private static File writeSchema(File folder, String type) throws IOException {
+		File schemaFile = new File(folder, "value.xsd");
+		Files.write(schemaFile.toPath(), schema(type).getBytes(StandardCharsets.UTF_8));
+		return schemaFile;
+	}
+
+	private static void modifySchema(File schemaFile, String type) throws IOException {
+		long lastModified = schemaFile.lastModified();
+		Files.write(schemaFile.toPath(), schema(type).getBytes(StandardCharsets.UTF_8));
+		// make sure the modification is detected on coarse file systems
+		schemaFile.setLastModified(lastModified + 2000);
+	}
+
+	private static String schema(String type) {
+		return "<xs:schema xmlns:xs=\"http://www.w3.org/2001/XMLSchema\" targetNamespace=\""
+				+ NAMESPACE + "\" elementFormDefault=\"qualified\">"
+				+ "<xs:element name=\"value\" type=\"" + type + "\"/></xs:schema>";
+	}
+
+}
@@ -0,0 +1,192 @@
+/*
+ * Copyright (c) 2026 wetransform GmbH
+ *
+ * All rights reserved. This program and the accompanying materials are made
+ * available under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 3 of the License,
+ * or (at your option) any later version.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Contributors:
+ *     wetransform GmbH <http://www.wetransform.to>
+ */
+
+package eu.esdihumboldt.hale.io.gml.writer.internal;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.StringReader;
+import java.io.StringWriter;
+
+import javax.xml.XMLConstants;
+import javax.xml.stream.XMLOutputFactory;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamWriter;
+import javax.xml.transform.stream.StreamSource;
+import javax.xml.validation.Schema;
+import javax.xml.validation.SchemaFactory;
+
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import eu.esdihumboldt.hale.common.core.io.report.IOMessage;
+import eu.esdihumboldt.hale.common.core.io.report.IOReporter;
+import eu.esdihumboldt.hale.common.core.io.report.impl.DefaultIOReporter;
+
+/**
+ * Tests for {@link ValidatingStreamWriter}.
+ */
+public class ValidatingStreamWriterTest {
+
+	private static final String NS = "http://www.example.org/items";
+
+	private static final String XLINK_NS = "http://www.w3.org/1999/xlink";
+
+	private static final String SCHEMA = "<xs:schema xmlns:xs=\"http://www.w3.org/2001/XMLSchema\""
+			+ " targetNamespace=\"" + NS + "\" elementFormDefault=\"qualified\">"
+			+ "<xs:element name=\"items\"><xs:complexType><xs:sequence>"
+			+ "<xs:element name=\"item\" minOccurs=\"0\" maxOccurs=\"unbounded\">"
+			+ "<xs:complexType><xs:sequence>"
+			+ "<xs:element name=\"count\" type=\"xs:int\"/>"
+			+ "<xs:element name=\"ref\" minOccurs=\"0\"><xs:complexType>"
+			+ "<xs:attribute name=\"kind\" type=\"xs:string\" use=\"required\"/>"
+			+ "<xs:anyAttribute namespace=\"##other\" processContents=\"lax\"/>"
+			+ "</xs:complexType></xs:element>" //
+			+ "</xs:sequence><xs:attribute name=\"id\" type=\"xs:ID\"/>"
+			+ "</xs:complexType></xs:element>" //
+			+ "</xs:sequence></xs:complexType></xs:element></xs:schema>";
+
+	private static Schema schema;
+
+	/**
+	 * Compile the test schema.
+	 * 
+	 * @throws Exception if compiling the schema fails
+	 */
+	@BeforeClass
+	public static void init() throws Exception {
+		schema = SchemaFactory.newInstance(XMLConstants.W3C_XML_SCHEMA_NS_URI)
+				.newSchema(new StreamSource(new StringReader(SCHEMA)));
+	}
+
+	/**
+	 * Test writing a valid document with prefixes set before the root element
+	 * and namespaces declared on elements.
+	 * 
+	 * @throws Exception if writing the document fails
+	 */
+	@Test
+	public void testValid() throws Exception {
+		IOReporter reporter = createReporter();
+		StringWriter out = new StringWriter();
+		XMLStreamWriter writer = createWriter(out, reporter);
+
+		writer.setPrefix("it", NS);
+		writer.writeStartDocument();
+		writer.writeStartElement(NS, "items");
+		writer.writeNamespace("it", NS);
+		writeItem(writer, "i1", "1");
+		writeItem(writer, "i2", "2");
+		writer.writeEndElement();
+		writer.writeEndDocument();
+		writer.close();
+
+		assertTrue(out.toString(), reporter.getErrors().isEmpty());
+		assertTrue(reporter.getWarnings().isEmpty());
+	}
+
+	/**
+	 * Test that an invalid value is reported together with the element path
+	 * and the ID of the enclosing object.
+	 * 
+	 * @throws Exception if writing the document fails
+	 */
+	@Test
+	public void testInvalidValue() throws Exception {
+		IOReporter reporter = createReporter();
+		XMLStreamWriter writer = createWriter(new StringWriter(), reporter);
+
+		writer.writeStartDocument();
+		writer.writeStartElement("it", "items", NS);
+		writer.writeNamespace("it", NS);
+		writeItem(writer, "i1", "1");
+		writeItem(writer, "i2", "two");
+		writer.writeEndDocument();
+		writer.close();
+
+		assertTrue(reporter.getErrors().size() > 0);
+		for (IOMessage error : reporter.getErrors()) {
+			assertTrue(error.getMessage(),
+					error.getMessage().contains("(element /it:items/it:item/it:count"));
+			assertTrue(error.getMessage(),
+					error.getMessage().contains("within object with ID i2"));
+		}
+	}
+
+	/**
+	 * Test validating empty elements and attributes with and without
+	 * namespace, using the default namespace for elements.
+	 * 
+	 * @throws Exception if writing the document fails
+	 */
+	@Test
+	public void testEmptyElementAttributes() throws Exception {
+		IOReporter reporter = createReporter();
+		XMLStreamWriter writer = createWriter(new StringWriter(), reporter);
+
+		writer.setDefaultNamespace(NS);
+		writer.writeStartDocument();
+		writer.writeStartElement(NS, "items");
+		writer.writeDefaultNamespace(NS);
+
+		writer.writeStartElement(NS, "item");
+		writer.writeStartElement(NS, "count");
+		writer.writeCharacters("1");
+		writer.writeEndElement();
+		writer.writeEmptyElement(NS, "ref");
+		writer.writeAttribute("kind", "other");
+		writer.writeNamespace("xlink", XLINK_NS);
+		writer.writeAttribute("xlink", XLINK_NS, "href", "#i1");
+		writer.writeEndElement();
+
+		writer.writeStartElement(NS, "item");
+		writer.writeStartElement(NS, "count");
+		writer.writeCharacters("2");
+		writer.writeEndElement();
+		// required attribute is missing
+		writer.writeEmptyElement(NS, "ref");
+		writer.writeEndElement();
+
+		writer.writeEndElement();
+		writer.writeEndDocument();
+		writer.close();
+
+		assertEquals(1, reporter.getErrors().size());
+		IOMessage error = reporter.getErrors().iterator().next();
+		assertTrue(error.getMessage(), error.getMessage().contains("(element /items/item/ref"));
+	}
+
+	private static void writeItem(XMLStreamWriter writer, String id, String count)
+			throws XMLStreamException {
+		writer.writeStartElement(NS, "item");
+		writer.writeAttribute("id", id);
+		writer.writeStartElement(NS, "count");
+		writer.writeCharacters(count);
+		writer.writeEndElement();
+		writer.writeEndElement();
+	}
+
+	private static IOReporter createReporter() {
+		return new DefaultIOReporter(null, "XML validation", "test", false);
+	}
+
+	private static XMLStreamWriter createWriter(StringWriter out, IOReporter reporter)
+			throws XMLStreamException {
+		XMLStreamWriter writer = XMLOutputFactory.newInstance().createXMLStreamWriter(out);
+		return new ValidatingStreamWriter(writer, schema.newValidatorHandler(), reporter);
+	}
+
+}
@@ -46,6 +46,7 @@ import javax.xml.namespace.QName;
 import javax.xml.stream.XMLOutputFactory;
 import javax.xml.stream.XMLStreamException;
 import javax.xml.stream.XMLStreamWriter;
+import javax.xml.validation.ValidatorHandler;
 
 import org.geotools.geometry.jts.JTS;
 import org.geotools.gml3.GML;
@@ -69,6 +70,7 @@ import eu.esdihumboldt.hale.common.core.io.impl.AbstractIOProvider;
 import eu.esdihumboldt.hale.common.core.io.impl.SubtaskProgressIndicator;
 import eu.esdihumboldt.hale.common.core.io.report.IOReport;
 import eu.esdihumboldt.hale.common.core.io.report.IOReporter;
+import eu.esdihumboldt.hale.common.core.io.report.impl.DefaultIOReporter;
 import eu.esdihumboldt.hale.common.core.io.report.impl.IOMessageImpl;
 import eu.esdihumboldt.hale.common.core.io.supplier.DefaultInputSupplier;
 import eu.esdihumboldt.hale.common.core.io.supplier.FileIOSupplier;
@@ -82,6 +84,8 @@ import eu.esdihumboldt.hale.common.instance.graph.reference.ReferenceGraphPartit
 import eu.esdihumboldt.hale.common.instance.graph.reference.impl.XMLInspector;
 import eu.esdihumboldt.hale.common.instance.helper.DepthFirstInstanceTraverser;
 import eu.esdihumboldt.hale.common.instance.helper.InstanceTraverser;
+import eu.esdihumboldt.hale.common.instance.io.InlineValidation;
+import eu.esdihumboldt.hale.common.instance.io.InstanceValidator;
 import eu.esdihumboldt.hale.common.instance.io.impl.AbstractGeoInstanceWriter;
 import eu.esdihumboldt.hale.common.instance.io.impl.AbstractInstanceWriter;
 import eu.esdihumboldt.hale.common.instance.io.util.EnumWindingOrderTypes;
@@ -126,6 +130,8 @@ import eu.esdihumboldt.hale.io.xsd.constraint.XmlAttributeFlag;
 import eu.esdihumboldt.hale.io.xsd.constraint.XmlElements;
 import eu.esdihumboldt.hale.io.xsd.model.XmlElement;
 import eu.esdihumboldt.hale.io.xsd.model.XmlIndex;
+import eu.esdihumboldt.hale.io.xml.validator.ValidatorFactory;
+import eu.esdihumboldt.hale.io.xml.validator.XmlInstanceValidator;
 import eu.esdihumboldt.hale.io.xsd.reader.XmlSchemaReader;
 import eu.esdihumboldt.util.Pair;
 import eu.esdihumboldt.util.format.DecimalFormatUtil;
@@ -140,7 +146,7 @@ import eu.esdihumboldt.util.geometry.quadtree.QuadtreeNodeVisitor;
  * @partner 01 / Fraunhofer Institute for Computer Graphics Research
  */
 public class StreamGmlWriter extends AbstractGeoInstanceWriter
-		implements XmlWriterBase, GMLConstants {
+		implements XmlWriterBase, GMLConstants, InlineValidation {
 
 	/**
 	 * Codespace to use for GML identifiers in INSPIRE.
@@ -166,6 +172,13 @@ public class StreamGmlWriter extends AbstractGeoInstanceWriter
 	 */
 	public static final String PARAM_PRETTY_PRINT = "xml.pretty";
 
+	/**
+	 * The parameter name for the flag specifying if the output should be
+	 * validated against the validation schemas while it is written. Defaults
+	 * to <code>false</code>.
+	 */
+	public static final String PARAM_INLINE_VALIDATION = "xml.validate";
+
 	/**
 	 * The parameter name for the flag specifying an identifier (XML ID) for the
 	 * container.
@@ -291,6 +304,23 @@ public class StreamGmlWriter extends AbstractGeoInstanceWriter
 	private final Map<String, Locatable> additionalSchemas = new HashMap<>();
 	private final Map<String, String> additionalSchemaPrefixes = new HashMap<>();
 
+	/**
+	 * Reports of the validation done while writing
+	 */
+	private final List<IOReport> validationReports = new ArrayList<>();
+
+	/**
+	 * Locations of the schemas the written files were validated against while
+	 * writing
+	 */
+	private List<URI> inlineValidationLocations;
+
+	/**
+	 * States if files were written that could not be validated while writing,
+	 * or that were validated against different schemas
+	 */
+	private boolean inlineValidationIncomplete;
+
 	/**
 	 * States if a feature collection shall be used
 	 */
@@ -927,6 +957,10 @@ public class StreamGmlWriter extends AbstractGeoInstanceWriter
 		// reset additional schemas
 		additionalSchemas.clear();
 		additionalSchemaPrefixes.clear();
+		// reset validation reports
+		validationReports.clear();
+		inlineValidationLocations = null;
+		inlineValidationIncomplete = false;
 
 		// determine GML namespace from target schema
 		String gml = null;
@@ -979,6 +1013,39 @@ public class StreamGmlWriter extends AbstractGeoInstanceWriter
 		return getParameter(PARAM_PRETTY_PRINT).as(Boolean.class, false);
 	}
 
+	@Override
+	public boolean isInlineValidationEnabled() {
+		return getParameter(PARAM_INLINE_VALIDATION).as(Boolean.class, false);
+	}
+
+	/**
+	 * Set if the output should be validated while it is written.
+	 * 
+	 * @param validate <code>true</code> if the output should be validated
+	 *            against the validation schemas while writing,
+	 *            <code>false</code> otherwise
+	 */
+	public void setInlineValidationEnabled(boolean validate) {
+		setParameter(PARAM_INLINE_VALIDATION, Value.of(validate));
+	}
+
+	@Override
+	public List<? extends IOReport> getInlineValidationReports() {
+		return new ArrayList<>(validationReports);
+	}
+
+	@Override
+	public boolean isCoveredByInlineValidation(InstanceValidator validator) {
+		if (!(validator instanceof XmlInstanceValidator) || inlineValidationIncomplete
+				|| inlineValidationLocations == null) {
+			return false;
+		}
+
+		// only if validating against the same schemas
+		return inlineValidationLocations
+				.equals(((XmlInstanceValidator) validator).getSchemaLocations());
+	}
+
 	/**
 	 * Set if the output should be pretty printed.
 	 * 
@@ -1151,6 +1218,38 @@ public class StreamGmlWriter extends AbstractGeoInstanceWriter
 
 			}
 
+			IOReporter validationReporter = null;
+			if (isInlineValidationEnabled()) {
+				// validate the events passed to the writer
+				List<URI> schemaLocations = getValidationSchemaLocations();
+				ValidatorHandler validatorHandler = null;
+				try {
+					validatorHandler = createValidatorHandler(schemaLocations);
+				} catch (Exception e) {
+					// the file has to be validated after writing
+					reporter.warn(new IOMessageImpl(
+							"Validating the output while writing is not possible", e));
+				}
+
+				if (validatorHandler != null) {
+					validationReporter = new DefaultIOReporter(getTarget(), "XML validation",
+							XmlInstanceValidator.PROVIDER_ID, false);
+					writer = new ValidatingStreamWriter(writer, validatorHandler,
+							validationReporter);
+					this.writer = writer;
+
+					if (inlineValidationLocations == null) {
+						inlineValidationLocations = schemaLocations;
+					}
+					else if (!inlineValidationLocations.equals(schemaLocations)) {
+						inlineValidationIncomplete = true;
+					}
+				}
+				else {
+					inlineValidationIncomplete = true;
+				}
+			}
+
 			// additional schema namespace prefixes
 			for (Entry<String, String> schemaNs : additionalSchemaPrefixes.entrySet()) {
 				GmlWriterUtil.addNamespace(writer, schemaNs.getKey(), schemaNs.getValue());
@@ -1273,6 +1372,11 @@ public class StreamGmlWriter extends AbstractGeoInstanceWriter
 
 			writer.close();
 
+			if (validationReporter != null) {
+				validationReporter.setSuccess(validationReporter.getErrors().isEmpty());
+				validationReports.add(validationReporter);
+			}
+
 			reporter.setSuccess(reporter.getErrors().isEmpty());
 		} catch (Exception e) {
 			reporter.error(new IOMessageImpl(e.getLocalizedMessage(), e));
@@ -1282,6 +1386,34 @@ public class StreamGmlWriter extends AbstractGeoInstanceWriter
 		}
 	}
 
+	/**
+	 * @return the locations of the validation schemas
+	 */
+	private List<URI> getValidationSchemaLocations() {
+		List<URI> schemaLocations = new ArrayList<>();
+		for (Locatable schema : getValidationSchemas()) {
+			URI location = schema.getLocation();
+			if (location != null) {
+				schemaLocations.add(location);
+			}
+		}
+		return schemaLocations;
+	}
+
+	/**
+	 * Create a validator handler for the validation schemas.
+	 * 
+	 * @param schemaLocations the locations of the validation schemas
+	 * @return the validator handler
+	 * @throws Exception if the validation schemas cannot be loaded
+	 */
+	protected ValidatorHandler createValidatorHandler(List<URI> schemaLocations)
+			throws Exception {
+		return ValidatorFactory.getInstance()
+				.getSchema(schemaLocations.toArray(new URI[schemaLocations.size()]))
+				.newValidatorHandler();
+	}
+
 	/**
 	 * Strip the fragment from a location (as it usually represents line and
 	 * column numbers)
@@ -0,0 +1,500 @@
+/*
+ * Copyright (c) 2026 wetransform GmbH
+ *
+ * All rights reserved. This program and the accompanying materials are made
+ * available under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 3 of the License,
+ * or (at your option) any later version.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Contributors:
+ *     wetransform GmbH <http://www.wetransform.to>
+ */
+
+package eu.esdihumboldt.hale.io.gml.writer.internal;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+
+import javax.xml.XMLConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamWriter;
+import javax.xml.validation.ValidatorHandler;
+
+import org.xml.sax.ErrorHandler;
+import org.xml.sax.SAXException;
+import org.xml.sax.SAXParseException;
+import org.xml.sax.helpers.AttributesImpl;
+import org.xml.sax.helpers.NamespaceSupport;
+
+import eu.esdihumboldt.hale.common.core.io.report.IOReporter;
+import eu.esdihumboldt.hale.common.core.io.report.impl.IOMessageImpl;
+
+/**
+ * Stream writer that validates the written document against a schema while
+ * it is written. The events are passed to a {@link ValidatorHandler}, errors
+ * and warnings are added to a reporter together with the path of the element
+ * and the identifier of the closest enclosing element that has one.
+ */
+public class ValidatingStreamWriter extends PrefixAwareStreamWriterDecorator {
+
+	/**
+	 * An element that was started but not yet passed to the validator, as
+	 * attributes may still be added.
+	 */
+	private static class PendingElement {
+
+		private final String namespace;
+		private final String localName;
+		private final boolean empty;
+		private final AttributesImpl attributes = new AttributesImpl();
+		private final Map<String, String> namespaces = new LinkedHashMap<>();
+
+		public PendingElement(String namespace, String localName, boolean empty) {
+			this.namespace = (namespace == null) ? (XMLConstants.NULL_NS_URI) : (namespace);
+			this.localName = localName;
+			this.empty = empty;
+		}
+
+	}
+
+	/**
+	 * An element that was passed to the validator.
+	 */
+	private static class OpenElement {
+
+		private final String namespace;
+		private final String localName;
+		private final String qName;
+		private final String id;
+		private final List<String> declaredPrefixes;
+
+		public OpenElement(String namespace, String localName, String qName, String id,
+				List<String> declaredPrefixes) {
+			this.namespace = namespace;
+			this.localName = localName;
+			this.qName = qName;
+			this.id = id;
+			this.declaredPrefixes = declaredPrefixes;
+		}
+
+	}
+
+	private final ValidatorHandler validator;
+
+	private final IOReporter reporter;
+
+	private final NamespaceSupport namespaceSupport = new NamespaceSupport();
+
+	private final Deque<OpenElement> openElements = new ArrayDeque<>();
+
+	/**
+	 * Prefixes set before the root element was written.
+	 */
+	private final Map<String, String> rootPrefixes = new LinkedHashMap<>();
+
+	private PendingElement pending;
+
+	private boolean failed = false;
+
+	private int generatedPrefixes = 0;
+
+	/**
+	 * Create a validating stream writer.
+	 *
+	 * @param decoratee the writer to decorate
+	 * @param validator the validator handler for the schema to validate
+	 *            against
+	 * @param reporter the reporter to add validation errors and warnings to
+	 */
+	public ValidatingStreamWriter(XMLStreamWriter decoratee, ValidatorHandler validator,
+			final IOReporter reporter) {
+		super(decoratee);
+		this.validator = validator;
+		this.reporter = reporter;
+
+		validator.setErrorHandler(new ErrorHandler() {
+
+			@Override
+			public void warning(SAXParseException exception) throws SAXException {
+				reporter.warn(new IOMessageImpl(createMessage(exception), null));
+			}
+
+			@Override
+			public void error(SAXParseException exception) throws SAXException {
+				reporter.error(new IOMessageImpl(createMessage(exception), null));
+			}
+
+			@Override
+			public void fatalError(SAXParseException exception) throws SAXException {
+				reporter.error(new IOMessageImpl(createMessage(exception), null));
+				throw exception;
+			}
+		});
+	}
+
+	/**
+	 * Create a message for a validation problem, including the location in the
+	 * document.
+	 *
+	 * @param exception the validation exception
+	 * @return the message
+	 */
+	private String createMessage(SAXParseException exception) {
+		StringBuilder path = new StringBuilder();
+		String id = null;
+		for (OpenElement element : openElements) {
+			// iteration is from the innermost element
+			path.insert(0, element.qName).insert(0, '/');
+			if (id == null) {
+				id = element.id;
+			}
+		}
+		if (pending != null) {
+			path.append('/').append(pending.localName);
+		}
+
+		StringBuilder message = new StringBuilder(exception.getLocalizedMessage());
+		message.append(" (element ").append(path);
+		if (id != null) {
+			message.append(", within object with ID ").append(id);
+		}
+		message.append(')');
+		return message.toString();
+	}
+
+	@Override
+	public void writeStartDocument() throws XMLStreamException {
+		super.writeStartDocument();
+		startDocument();
+	}
+
+	@Override
+	public void writeStartDocument(String version) throws XMLStreamException {
+		super.writeStartDocument(version);
+		startDocument();
+	}
+
+	@Override
+	public void writeStartDocument(String encoding, String version) throws XMLStreamException {
+		super.writeStartDocument(encoding, version);
+		startDocument();
+	}
+
+	private void startDocument() {
+		if (!failed) {
+			try {
+				validator.startDocument();
+			} catch (SAXException e) {
+				fail(e);
+			}
+		}
+	}
+
+	@Override
+	public void writeEndDocument() throws XMLStreamException {
+		// close remaining elements, as the writer does
+		while (pending != null || !openElements.isEmpty()) {
+			writeEndElement();
+		}
+
+		super.writeEndDocument();
+
+		if (!failed) {
+			try {
+				validator.endDocument();
+			} catch (SAXException e) {
+				fail(e);
+			}
+		}
+	}
+
+	@Override
+	public void setPrefix(String prefix, String uri) throws XMLStreamException {
+		super.setPrefix(prefix, uri);
+		if (openElements.isEmpty() && pending == null) {
+			rootPrefixes.put(prefix, uri);
+		}
+	}
+
+	@Override
+	public void writeStartElement(String localName) throws XMLStreamException {
+		super.writeStartElement(localName);
+		startElement(null, localName, false);
+	}
+
+	@Override
+	public void writeStartElement(String namespaceURI, String localName)
+			throws XMLStreamException {
+		super.writeStartElement(namespaceURI, localName);
+		startElement(namespaceURI, localName, false);
+	}
+
+	@Override
+	public void writeStartElement(String prefix, String localName, String namespaceURI)
+			throws XMLStreamException {
+		super.writeStartElement(prefix, localName, namespaceURI);
+		startElement(namespaceURI, localName, false);
+		pending.namespaces.put(prefix, namespaceURI);
+	}
+
+	@Override
+	public void writeEmptyElement(String localName) throws XMLStreamException {
+		super.writeEmptyElement(localName);
+		startElement(null, localName, true);
+	}
+
+	@Override
+	public void writeEmptyElement(String namespaceURI, String localName)
+			throws XMLStreamException {
+		super.writeEmptyElement(namespaceURI, localName);
+		startElement(namespaceURI, localName, true);
+	}
+
+	@Override
+	public void writeEmptyElement(String prefix, String localName, String namespaceURI)
+			throws XMLStreamException {
+		super.writeEmptyElement(prefix, localName, namespaceURI);
+		startElement(namespaceURI, localName, true);
+		pending.namespaces.put(prefix, namespaceURI);
+	}
+
+	@Override
+	public void writeAttribute(String localName, String value) throws XMLStreamException {
+		super.writeAttribute(localName, value);
+		addAttribute(null, localName, value);
+	}
+
+	@Override
+	public void writeAttribute(String namespaceURI, String localName, String value)
+			throws XMLStreamException {
+		super.writeAttribute(namespaceURI, localName, value);
+		addAttribute(namespaceURI, localName, value);
+	}
+
+	@Override
+	public void writeAttribute(String prefix, String namespaceURI, String localName, String value)
+			throws XMLStreamException {
+		super.writeAttribute(prefix, namespaceURI, localName, value);
+		addAttribute(namespaceURI, localName, value);
+		if (pending != null && prefix != null && !prefix.isEmpty()) {
+			pending.namespaces.put(prefix, namespaceURI);
+		}
+	}
+
+	@Override
+	public void writeNamespace(String prefix, String namespaceURI) throws XMLStreamException {
+		super.writeNamespace(prefix, namespaceURI);
+		if (pending != null) {
+			pending.namespaces.put((prefix == null) ? (XMLConstants.DEFAULT_NS_PREFIX) : (prefix),
+					namespaceURI);
+		}
+	}
+
+	@Override
+	public void writeDefaultNamespace(String namespaceURI) throws XMLStreamException {
+		super.writeDefaultNamespace(namespaceURI);
+		if (pending != null) {
+			pending.namespaces.put(XMLConstants.DEFAULT_NS_PREFIX, namespaceURI);
+		}
+	}
+
+	@Override
+	public void writeEndElement() throws XMLStreamException {
+		super.writeEndElement();
+
+		if (pending != null) {
+			// element w/o content
+			flushPending();
+		}
+
+		OpenElement element = openElements.peek();
+		if (element != null) {
+			// element is still part of the path reported for errors
+			endElement(element);
+			openElements.pop();
+		}
+	}
+
+	@Override
+	public void writeCharacters(String text) throws XMLStreamException {
+		super.writeCharacters(text);
+		characters(text.toCharArray(), 0, text.length());
+	}
+
+	@Override
+	public void writeCharacters(char[] text, int start, int len) throws XMLStreamException {
+		super.writeCharacters(text, start, len);
+		characters(text, start, len);
+	}
+
+	@Override
+	public void writeCData(String data) throws XMLStreamException {
+		super.writeCData(data);
+		characters(data.toCharArray(), 0, data.length());
+	}
+
+	private void startElement(String namespace, String localName, boolean empty)
+			throws XMLStreamException {
+		if (pending != null) {
+			flushPending();
+		}
+		pending = new PendingElement(namespace, localName, empty);
+	}
+
+	private void addAttribute(String namespace, String localName, String value) {
+		if (pending != null) {
+			pending.attributes.addAttribute(
+					(namespace == null) ? (XMLConstants.NULL_NS_URI) : (namespace), localName,
+					localName, "CDATA", value);
+		}
+	}
+
+	private void characters(char[] text, int start, int len) throws XMLStreamException {
+		if (pending != null) {
+			flushPending();
+		}
+		if (!failed) {
+			try {
+				validator.characters(text, start, len);
+			} catch (SAXException e) {
+				fail(e);
+			}
+		}
+	}
+
+	/**
+	 * Pass the pending element to the validator.
+	 *
+	 * @throws XMLStreamException if determining a namespace prefix fails
+	 */
+	private void flushPending() throws XMLStreamException {
+		PendingElement element = pending;
+		pending = null;
+
+		namespaceSupport.pushContext();
+		List<String> declared = new ArrayList<>();
+
+		if (openElements.isEmpty()) {
+			// prefixes that were set beforehand are available in the document
+			for (Entry<String, String> prefix : rootPrefixes.entrySet()) {
+				declarePrefix(prefix.getKey(), prefix.getValue(), declared);
+			}
+		}
+		for (Entry<String, String> prefix : element.namespaces.entrySet()) {
+			declarePrefix(prefix.getKey(), prefix.getValue(), declared);
+		}
+
+		String qName = toQName(element.namespace, element.localName, true, declared);
+
+		String id = null;
+		for (int i = 0; i < element.attributes.getLength(); i++) {
+			String attributeNs = element.attributes.getURI(i);
+			String attributeName = element.attributes.getLocalName(i);
+			element.attributes.setQName(i,
+					toQName(attributeNs, attributeName, false, declared));
+			if ("id".equals(attributeName)) {
+				id = element.attributes.getValue(i);
+			}
+		}
+
+		OpenElement open = new OpenElement(element.namespace, element.localName, qName, id,
+				declared);
+		openElements.push(open);
+
+		if (!failed) {
+			try {
+				validator.startElement(element.namespace, element.localName, qName,
+						element.attributes);
+			} catch (SAXException e) {
+				fail(e);
+			}
+		}
+
+		if (element.empty) {
+			endElement(open);
+			openElements.pop();
+		}
+	}
+
+	private void endElement(OpenElement element) {
+		if (!failed) {
+			try {
+				validator.endElement(element.namespace, element.localName, element.qName);
+				for (String prefix : element.declaredPrefixes) {
+					validator.endPrefixMapping(prefix);
+				}
+			} catch (SAXException e) {
+				fail(e);
+			}
+		}
+		namespaceSupport.popContext();
+	}
+
+	/**
+	 * Determine the qualified name for an element or attribute, declare the
+	 * namespace prefix if necessary.
+	 *
+	 * @param namespace the namespace
+	 * @param localName the local name
+	 * @param element if the name is an element name
+	 * @param declared the list of prefixes declared for the current element
+	 * @return the qualified name
+	 * @throws XMLStreamException if determining the prefix fails
+	 */
+	private String toQName(String namespace, String localName, boolean element,
+			List<String> declared) throws XMLStreamException {
+		if (namespace == null || namespace.isEmpty()) {
+			return localName;
+		}
+
+		String prefix = decoratee.getPrefix(namespace);
+		if (prefix == null || (!element && prefix.isEmpty())) {
+			prefix = namespaceSupport.getPrefix(namespace);
+		}
+		if (prefix == null) {
+			prefix = "vns" + (++generatedPrefixes);
+		}
+		declarePrefix(prefix, namespace, declared);
+
+		return (prefix.isEmpty()) ? (localName) : (prefix + ":" + localName);
+	}
+
+	private void declarePrefix(String prefix, String namespace, List<String> declared) {
+		if (XMLConstants.XML_NS_PREFIX.equals(prefix)
+				|| namespace.equals(namespaceSupport.getURI(prefix))) {
+			return;
+		}
+
+		namespaceSupport.declarePrefix(prefix, namespace);
+		declared.add(prefix);
+		if (!failed) {
+			try {
+				validator.startPrefixMapping(prefix, namespace);
+			} catch (SAXException e) {
+				fail(e);
+			}
+		}
+	}
+
+	/**
+	 * Stop validation after an unrecoverable error.
+	 *
+	 * @param e the exception
+	 */
+	private void fail(SAXException e) {
+		failed = true;
+		if (!(e instanceof SAXParseException)) {
+			// parse exceptions were already reported by the error handler
+			reporter.error(new IOMessageImpl("Validation aborted: " + e.getLocalizedMessage(), e));
+		}
+	}
+
+}
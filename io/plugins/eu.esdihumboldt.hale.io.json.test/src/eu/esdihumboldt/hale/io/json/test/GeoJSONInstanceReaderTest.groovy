@@ -0,0 +1,281 @@
+/*
+ * Copyright (c) 2026 wetransform GmbH
+ * 
+ * All rights reserved. This program and the accompanying materials are made
+ * available under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 3 of the License,
+ * or (at your option) any later version.
+ * 
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution. If not, see <http://www.gnu.org/licenses/>.
+ * 
+ * Contributors:
+ *     wetransform GmbH <http://www.wetransform.to>
+ */
+
+package eu.esdihumboldt.hale.io.json.test
+
+import static org.junit.Assert.*
+
+import java.util.zip.GZIPOutputStream
+
+import javax.xml.namespace.QName
+
+import org.junit.Rule
+import org.junit.Test
+import org.junit.rules.TemporaryFolder
+import org.locationtech.jts.geom.LineString
+import org.locationtech.jts.geom.Point
+
+import eu.esdihumboldt.hale.common.core.io.report.IOReport
+import eu.esdihumboldt.hale.common.core.io.supplier.DefaultInputSupplier
+import eu.esdihumboldt.hale.common.instance.model.Instance
+import eu.esdihumboldt.hale.common.instance.model.InstanceCollection
+import eu.esdihumboldt.hale.common.instance.model.InstanceReference
+import eu.esdihumboldt.hale.common.schema.geometry.GeometryProperty
+import eu.esdihumboldt.hale.common.schema.model.Schema
+import eu.esdihumboldt.hale.common.schema.model.TypeDefinition
+import eu.esdihumboldt.hale.common.schema.model.constraint.property.Cardinality
+import eu.esdihumboldt.hale.common.schema.model.constraint.type.Binding
+import eu.esdihumboldt.hale.io.json.GeoJSONInstanceReader
+import eu.esdihumboldt.hale.io.json.GeoJSONSchemaReader
+
+/**
+ * Tests for reading GeoJSON with {@link GeoJSONSchemaReader} and
+ * {@link GeoJSONInstanceReader}.
+ */
+class GeoJSONInstanceReaderTest {
+
+	@Rule
+	public TemporaryFolder tmp = new TemporaryFolder()
+
+	private static final String FEATURE_COLLECTION = '''{
+  "features": [
+    {
+      "type": "Feature",
+      "id": 1,
+      "properties": { "name": "first", "count": 3, "tags": ["a", "b"] },
+      "geometry": { "coordinates": [8.5, 49.8], "type": "Point" }
+    },
+    {
+      "type": "Feature",
+      "id": 2,
+      "geometry": { "type": "Point", "coordinates": [9.0, 50.1] },
+      "properties": { "name": "second", "count": 4.5, "tags": [] }
+    },
+    {
+      "type": "Feature",
+      "id": 3,
+      "properties": { "name": "third", "count": null },
+      "geometry": null
+    }
+  ],
+  "type": "FeatureCollection"
+}'''
+
+	private static final String COLLECTION_CRS_LAST = '''{
+  "type": "FeatureCollection",
+  "features": [
+    { "type": "Feature", "properties": { "name": "a" }, "geometry": { "type": "Point", "coordinates": [470000, 5500000] } },
+    { "type": "Feature", "properties": { "name": "b" }, "geometry": { "type": "Point", "coordinates": [471000, 5501000] } }
+  ],
+  "crs": { "type": "name", "properties": { "name": "urn:ogc:def:crs:EPSG::25832" } }
+}'''
+
+	private static final String NDJSON = '''{"type": "Feature", "properties": {"name": "a"}, "geometry": {"type": "LineString", "coordinates": [[0, 0], [1, 1]]}}
+{"type": "Feature", "properties": {"name": "b"}, "geometry": {"type": "LineString", "coordinates": [[1, 1], [2, 0]]}}
+'''
+
+	@Test
+	void testSchema() {
+		Schema schema = readSchema(FEATURE_COLLECTION, 'places.json')
+
+		TypeDefinition type = schema.getMappingRelevantTypes().iterator().next()
+		assertEquals('places', type.name.localPart)
+
+		assertEquals(Long, type.getChild(new QName('id')).asProperty().propertyType
+				.getConstraint(Binding).binding)
+		assertEquals(String, type.getChild(new QName('name')).asProperty().propertyType
+				.getConstraint(Binding).binding)
+		// integer and floating point values are merged
+		assertEquals(Double, type.getChild(new QName('count')).asProperty().propertyType
+				.getConstraint(Binding).binding)
+		assertEquals(Cardinality.CC_ANY_NUMBER.maxOccurs, type.getChild(new QName('tags'))
+				.asProperty().getConstraint(Cardinality).maxOccurs)
+		assertEquals(GeometryProperty, type.getChild(new QName('geometry')).asProperty()
+				.propertyType.getConstraint(Binding).binding)
+	}
+
+	@Test
+	void testFeatureCollection() {
+		Schema schema = readSchema(FEATURE_COLLECTION, 'places.json')
+		InstanceCollection instances = readInstances(FEATURE_COLLECTION, 'places.json', schema)
+
+		assertTrue(instances.hasSize())
+		assertEquals(3, instances.size())
+
+		List<Instance> list = instances.iterator().toList()
+		assertEquals(3, list.size())
+
+		Instance first = list[0]
+		assertEquals(1L, first.getProperty(new QName('id'))[0])
+		assertEquals('first', first.getProperty(new QName('name'))[0])
+		assertEquals(3.0d, first.getProperty(new QName('count'))[0])
+		assertEquals(['a', 'b'], first.getProperty(new QName('tags')) as List)
+
+		GeometryProperty<?> geometry = first.getProperty(new QName('geometry'))[0]
+		assertTrue(geometry.geometry instanceof Point)
+		assertEquals(8.5d, geometry.geometry.coordinate.x, 0.0d)
+		assertEquals(49.8d, geometry.geometry.coordinate.y, 0.0d)
+
+		assertNull(list[2].getProperty(new QName('geometry')))
+	}
+
+	@Test
+	void testNewlineDelimited() {
+		Schema schema = readSchema(NDJSON, 'lines.ndjson')
+		InstanceCollection instances = readInstances(NDJSON, 'lines.ndjson', schema)
+
+		assertEquals(2, instances.size())
+
+		List<Instance> list = instances.iterator().toList()
+		assertEquals(['a', 'b'], list.collect { it.getProperty(new QName('name'))[0] })
+		list.each {
+			GeometryProperty<?> geometry = it.getProperty(new QName('geometry'))[0]
+			assertTrue(geometry.geometry instanceof LineString)
+			assertEquals(2, geometry.geometry.numPoints)
+		}
+	}
+
+	@Test
+	void testReference() {
+		Schema schema = readSchema(FEATURE_COLLECTION, 'places.json')
+		InstanceCollection instances = readInstances(FEATURE_COLLECTION, 'places.json', schema)
+
+		List<Instance> list = instances.iterator().toList()
+		InstanceReference ref = instances.getReference(list[1])
+
+		Instance instance = instances.getInstance(ref)
+		assertNotNull(instance)
+		assertEquals('second', instance.getProperty(new QName('name'))[0])
+		GeometryProperty<?> geometry = instance.getProperty(new QName('geometry'))[0]
+		assertEquals(50.1d, geometry.geometry.coordinate.y, 0.0d)
+		assertEquals(ref, instances.getReference(instance))
+
+		assertReferences(instances, ['first', 'second', 'third'])
+	}
+
+	@Test
+	void testReferenceNewlineDelimited() {
+		Schema schema = readSchema(NDJSON, 'lines.ndjson')
+		InstanceCollection instances = readInstances(NDJSON, 'lines.ndjson', schema)
+
+		assertReferences(instances, ['a', 'b'])
+	}
+
+	@Test
+	void testGZip() {
+		File file = new File(tmp.getRoot(), 'places.geojson.gz')
+		file.withOutputStream { out ->
+			GZIPOutputStream gzip = new GZIPOutputStream(out)
+			gzip.write(FEATURE_COLLECTION.getBytes('UTF-8'))
+			gzip.finish()
+		}
+
+		// no content type is configured, compression is detected from the content
+		Schema schema = readSchema(file)
+		InstanceCollection instances = readInstances(file, schema)
+
+		assertEquals(3, instances.size())
+		assertEquals(['first', 'second', 'third'],
+				instances.iterator().toList().collect { it.getProperty(new QName('name'))[0] })
+		assertReferences(instances, ['first', 'second', 'third'])
+	}
+
+	@Test
+	void testCollectionCrsAfterFeatures() {
+		Schema schema = readSchema(COLLECTION_CRS_LAST, 'utm.json')
+		InstanceCollection instances = readInstances(COLLECTION_CRS_LAST, 'utm.json', schema)
+
+		List<Instance> list = instances.iterator().toList()
+		assertEquals(2, list.size())
+		list.each {
+			GeometryProperty<?> geometry = it.getProperty(new QName('geometry'))[0]
+			assertEquals('EPSG:25832', geometry.CRSDefinition.code)
+		}
+
+		Instance second = instances.getInstance(instances.getReference(list[1]))
+		GeometryProperty<?> geometry = second.getProperty(new QName('geometry'))[0]
+		assertEquals('EPSG:25832', geometry.CRSDefinition.code)
+		assertEquals(471000d, geometry.geometry.coordinate.x, 0.0d)
+	}
+
+	@Test
+	void testSelect() {
+		Schema schema = readSchema(FEATURE_COLLECTION, 'places.json')
+		InstanceCollection instances = readInstances(FEATURE_COLLECTION, 'places.json', schema)
+
+		InstanceCollection selected = instances.select { Instance instance ->
+			instance.getProperty(new QName('name'))[0] != 'first'
+		}
+
+		assertEquals(2, selected.size())
+		// second iteration is based on the recorded feature offsets
+		assertEquals(['second', 'third'],
+				selected.iterator().toList().collect { it.getProperty(new QName('name'))[0] })
+	}
+
+	/**
+	 * Assert that references to each instance of the collection resolve to
+	 * the instance.
+	 */
+	private void assertReferences(InstanceCollection instances, List<String> names) {
+		List<InstanceReference> references = instances.iterator().toList().collect {
+			instances.getReference(it)
+		}
+		assertEquals(names.size(), references.toSet().size())
+
+		// resolve in reverse order
+		references.reverse().eachWithIndex { InstanceReference ref, int index ->
+			Instance instance = instances.getInstance(ref)
+			assertNotNull(instance)
+			assertEquals(names.reverse()[index], instance.getProperty(new QName('name'))[0])
+		}
+	}
+
+	private Schema readSchema(String content, String fileName) {
+		return readSchema(writeFile(content, fileName))
+	}
+
+	private Schema readSchema(File file) {
+		GeoJSONSchemaReader reader = new GeoJSONSchemaReader()
+		reader.setSource(new DefaultInputSupplier(file.toURI()))
+		IOReport report = reader.execute(null)
+		assertTrue(report.isSuccess())
+
+		return reader.getSchema()
+	}
+
+	private InstanceCollection readInstances(String content, String fileName, Schema schema) {
+		return readInstances(writeFile(content, fileName), schema)
+	}
+
+	private InstanceCollection readInstances(File file, Schema schema) {
+		GeoJSONInstanceReader reader = new GeoJSONInstanceReader()
+		reader.setSource(new DefaultInputSupplier(file.toURI()))
+		reader.setSourceSchema(schema)
+		IOReport report = reader.execute(null)
+		assertTrue(report.isSuccess())
+
+		return reader.getInstances()
+	}
+
+	private File writeFile(String content, String fileName) {
+		File file = new File(tmp.getRoot(), fileName)
+		if (!file.exists()) {
+			file.setText(content, 'UTF-8')
+		}
+		return file
+	}
+
+}
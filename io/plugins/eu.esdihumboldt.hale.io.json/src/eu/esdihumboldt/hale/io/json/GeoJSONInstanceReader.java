@@ -0,0 +1,111 @@
+/*
+ * Copyright (c) 2026 wetransform GmbH
+ *
+ * All rights reserved. This program and the accompanying materials are made
+ * available under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 3 of the License,
+ * or (at your option) any later version.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Contributors:
+ *     wetransform GmbH <http://www.wetransform.to>
+ */
+
+package eu.esdihumboldt.hale.io.json;
+
+import java.io.IOException;
+import java.text.MessageFormat;
+import java.util.Collection;
+
+import javax.xml.namespace.QName;
+
+import eu.esdihumboldt.hale.common.core.io.IOProviderConfigurationException;
+import eu.esdihumboldt.hale.common.core.io.ProgressIndicator;
+import eu.esdihumboldt.hale.common.core.io.report.IOReport;
+import eu.esdihumboldt.hale.common.core.io.report.IOReporter;
+import eu.esdihumboldt.hale.common.core.io.report.impl.IOMessageImpl;
+import eu.esdihumboldt.hale.common.instance.io.impl.AbstractInstanceReader;
+import eu.esdihumboldt.hale.common.instance.model.InstanceCollection;
+import eu.esdihumboldt.hale.common.schema.model.TypeDefinition;
+import eu.esdihumboldt.hale.io.json.reader.GeoJSONInstanceCollection;
+
+/**
+ * Reads instances from GeoJSON, either a FeatureCollection or newline delimited
+ * GeoJSON. The document is read in a streaming manner, instances are only
+ * created while iterating the instance collection.
+ */
+public class GeoJSONInstanceReader extends AbstractInstanceReader {
+
+	/**
+	 * Name of the parameter specifying the name of the type of the instances.
+	 * If not specified, the source schema is expected to contain a single
+	 * mappable type.
+	 */
+	public static final String PARAM_TYPENAME = "typename";
+
+	private InstanceCollection instances;
+
+	@Override
+	public boolean isCancelable() {
+		return false;
+	}
+
+	@Override
+	protected IOReport execute(ProgressIndicator progress, IOReporter reporter)
+			throws IOProviderConfigurationException, IOException {
+		progress.begin("Initialize GeoJSON data source", ProgressIndicator.UNKNOWN);
+		try {
+			TypeDefinition type = findType();
+			if (type == null) {
+				reporter.error(new IOMessageImpl(
+						"Could not determine the type of the instances in the source schema",
+						null));
+				reporter.setSuccess(false);
+				return reporter;
+			}
+
+			instances = new GeoJSONInstanceCollection(getSource(), type, null);
+			reporter.setSuccess(true);
+		} finally {
+			progress.end();
+		}
+		return reporter;
+	}
+
+	private TypeDefinition findType() throws IOProviderConfigurationException {
+		String typeName = getParameter(PARAM_TYPENAME).as(String.class);
+		if (typeName != null && !typeName.isEmpty()) {
+			TypeDefinition type = getSourceSchema().getType(QName.valueOf(typeName));
+			if (type == null) {
+				// try to match the local name
+				for (TypeDefinition candidate : getSourceSchema().getMappingRelevantTypes()) {
+					if (candidate.getName().getLocalPart().equals(typeName)) {
+						return candidate;
+					}
+				}
+				fail(MessageFormat.format("Could not find type {0} in source schema",
+						typeName));
+			}
+			return type;
+		}
+
+		Collection<? extends TypeDefinition> types = getSourceSchema().getMappingRelevantTypes();
+		if (types.size() == 1) {
+			return types.iterator().next();
+		}
+		return null;
+	}
+
+	@Override
+	protected String getDefaultTypeName() {
+		return "GeoJSON";
+	}
+
+	@Override
+	public InstanceCollection getInstances() {
+		return instances;
+	}
+
+}
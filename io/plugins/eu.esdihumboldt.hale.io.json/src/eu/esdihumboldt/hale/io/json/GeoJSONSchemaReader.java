@@ -0,0 +1,309 @@
+/*
+ * Copyright (c) 2026 wetransform GmbH
+ *
+ * All rights reserved. This program and the accompanying materials are made
+ * available under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 3 of the License,
+ * or (at your option) any later version.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Contributors:
+ *     wetransform GmbH <http://www.wetransform.to>
+ */
+
+package eu.esdihumboldt.hale.io.json;
+
+import java.io.IOException;
+import java.math.BigInteger;
+import java.net.URI;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+
+import javax.xml.namespace.QName;
+
+import org.locationtech.jts.geom.Geometry;
+
+import eu.esdihumboldt.hale.common.core.io.IOProviderConfigurationException;
+import eu.esdihumboldt.hale.common.core.io.ProgressIndicator;
+import eu.esdihumboldt.hale.common.core.io.report.IOReporter;
+import eu.esdihumboldt.hale.common.core.io.report.impl.IOMessageImpl;
+import eu.esdihumboldt.hale.common.schema.geometry.GeometryProperty;
+import eu.esdihumboldt.hale.common.schema.model.Schema;
+import eu.esdihumboldt.hale.common.schema.model.constraint.property.Cardinality;
+import eu.esdihumboldt.hale.common.schema.model.constraint.property.NillableFlag;
+import eu.esdihumboldt.hale.common.schema.model.constraint.type.AbstractFlag;
+import eu.esdihumboldt.hale.common.schema.model.constraint.type.Binding;
+import eu.esdihumboldt.hale.common.schema.model.constraint.type.GeometryType;
+import eu.esdihumboldt.hale.common.schema.model.constraint.type.HasValueFlag;
+import eu.esdihumboldt.hale.common.schema.model.constraint.type.MappableFlag;
+import eu.esdihumboldt.hale.common.schema.model.constraint.type.MappingRelevantFlag;
+import eu.esdihumboldt.hale.common.schema.model.impl.DefaultPropertyDefinition;
+import eu.esdihumboldt.hale.common.schema.model.impl.DefaultSchema;
+import eu.esdihumboldt.hale.common.schema.model.impl.DefaultTypeDefinition;
+import eu.esdihumboldt.hale.common.schema.persist.AbstractCachedSchemaReader;
+import eu.esdihumboldt.hale.io.json.reader.GeoJSONFeature;
+import eu.esdihumboldt.hale.io.json.reader.GeoJSONInstanceMapper;
+import eu.esdihumboldt.hale.io.json.reader.GeoJSONParser;
+
+/**
+ * Infers a schema with a single feature type from the features of a GeoJSON
+ * document. The property types are derived from the values of a sample of
+ * features.
+ */
+public class GeoJSONSchemaReader extends AbstractCachedSchemaReader {
+
+	/**
+	 * Namespace of the types in schemas inferred from GeoJSON.
+	 */
+	public static final String GEOJSON_NS = "http://www.esdi-humboldt.eu/hale/json";
+
+	/**
+	 * Name of the parameter specifying the name of the feature type. If not
+	 * specified, the type name is derived from the file name.
+	 */
+	public static final String PARAM_TYPENAME = "typename";
+
+	/**
+	 * Name of the parameter specifying the number of features to analyze. A
+	 * value of zero or less means all features are analyzed.
+	 */
+	public static final String PARAM_SAMPLE_SIZE = "sample";
+
+	/**
+	 * The default number of features to analyze.
+	 */
+	public static final int DEFAULT_SAMPLE_SIZE = 1000;
+
+	/**
+	 * Information on a property collected from the feature values.
+	 */
+	private static class PropertyInfo {
+
+		private Class<?> binding;
+
+		private boolean multiple;
+
+		private void addValue(Object value) {
+			if (value instanceof List<?>) {
+				multiple = true;
+				for (Object item : (List<?>) value) {
+					addSingleValue(item);
+				}
+			}
+			else {
+				addSingleValue(value);
+			}
+		}
+
+		private void addSingleValue(Object value) {
+			if (value == null) {
+				return;
+			}
+
+			Class<?> valueBinding;
+			if (value instanceof Integer || value instanceof Long || value instanceof Short
+					|| value instanceof Byte) {
+				valueBinding = Long.class;
+			}
+			else if (value instanceof BigInteger) {
+				valueBinding = BigInteger.class;
+			}
+			else if (value instanceof Number) {
+				valueBinding = Double.class;
+			}
+			else if (value instanceof Boolean) {
+				valueBinding = Boolean.class;
+			}
+			else {
+				// strings, objects (represented as JSON) and nested arrays
+				valueBinding = String.class;
+			}
+
+			binding = merge(binding, valueBinding);
+		}
+
+		private static Class<?> merge(Class<?> current, Class<?> binding) {
+			if (current == null || current.equals(binding)) {
+				return binding;
+			}
+			if (Number.class.isAssignableFrom(current) && Number.class.isAssignableFrom(binding)) {
+				if (current.equals(Double.class) || binding.equals(Double.class)) {
+					return Double.class;
+				}
+				// Long and BigInteger
+				return BigInteger.class;
+			}
+			return String.class;
+		}
+
+	}
+
+	@Override
+	protected Schema loadFromSource(ProgressIndicator progress, IOReporter reporter)
+			throws IOProviderConfigurationException, IOException {
+		progress.begin("Load GeoJSON schema", ProgressIndicator.UNKNOWN);
+
+		int sampleSize = getParameter(PARAM_SAMPLE_SIZE).as(Integer.class, DEFAULT_SAMPLE_SIZE);
+
+		Map<String, PropertyInfo> properties = new LinkedHashMap<>();
+		PropertyInfo id = null;
+		Class<? extends Geometry> geometryClass = null;
+		int count = 0;
+
+		try (GeoJSONParser parser = new GeoJSONParser(
+				GeoJSONParser.decompress(getSource().getInput()))) {
+			GeoJSONFeature feature;
+			while ((sampleSize <= 0 || count < sampleSize)
+					&& (feature = parser.next()) != null) {
+				count++;
+
+				if (feature.getId() != null) {
+					if (id == null) {
+						id = new PropertyInfo();
+					}
+					id.addValue(feature.getId());
+				}
+
+				if (feature.getGeometry() != null) {
+					Class<? extends Geometry> featureGeometry = feature.getGeometry().getClass();
+					if (geometryClass == null) {
+						geometryClass = featureGeometry;
+					}
+					else if (!geometryClass.equals(featureGeometry)) {
+						geometryClass = Geometry.class;
+					}
+				}
+
+				if (feature.getProperties() != null) {
+					for (Entry<String, Object> value : feature.getProperties().entrySet()) {
+						PropertyInfo info = properties.get(value.getKey());
+						if (info == null) {
+							info = new PropertyInfo();
+							properties.put(value.getKey(), info);
+						}
+						info.addValue(value.getValue());
+					}
+				}
+			}
+		} catch (Exception e) {
+			reporter.error(new IOMessageImpl("Cannot load GeoJSON schema", e));
+			reporter.setSuccess(false);
+			return null;
+		} finally {
+			progress.end();
+		}
+
+		if (count == 0) {
+			reporter.warn(new IOMessageImpl("No features found to derive the schema from", null));
+		}
+
+		DefaultSchema schema = new DefaultSchema(GEOJSON_NS, getSource().getLocation());
+
+		DefaultTypeDefinition type = new DefaultTypeDefinition(
+				new QName(GEOJSON_NS, determineTypeName()));
+		type.setConstraint(MappingRelevantFlag.ENABLED);
+		type.setConstraint(MappableFlag.ENABLED);
+		type.setConstraint(HasValueFlag.DISABLED);
+		type.setConstraint(AbstractFlag.DISABLED);
+		type.setLocation(getSource().getLocation());
+
+		Map<Class<?>, DefaultTypeDefinition> propertyTypes = new HashMap<>();
+
+		if (id != null && !properties.containsKey(GeoJSONInstanceMapper.ID_PROPERTY)) {
+			createProperty(GeoJSONInstanceMapper.ID_PROPERTY, id, type, propertyTypes);
+		}
+
+		for (Entry<String, PropertyInfo> property : properties.entrySet()) {
+			if (property.getKey().equals(GeoJSONInstanceMapper.GEOMETRY_PROPERTY)
+					&& geometryClass != null) {
+				// name is reserved for the feature geometry
+				reporter.warn(new IOMessageImpl(
+						"Ignoring feature property named geometry as it conflicts with the feature geometry",
+						null));
+				continue;
+			}
+			createProperty(property.getKey(), property.getValue(), type, propertyTypes);
+		}
+
+		if (geometryClass != null) {
+			DefaultTypeDefinition geometryType = new DefaultTypeDefinition(
+					new QName(GEOJSON_NS, geometryClass.getSimpleName()));
+			geometryType.setConstraint(MappingRelevantFlag.DISABLED);
+			geometryType.setConstraint(MappableFlag.DISABLED);
+			geometryType.setConstraint(HasValueFlag.ENABLED);
+			geometryType.setConstraint(Binding.get(GeometryProperty.class));
+			geometryType.setConstraint(GeometryType.get(geometryClass));
+
+			DefaultPropertyDefinition geometry = new DefaultPropertyDefinition(
+					new QName(GeoJSONInstanceMapper.GEOMETRY_PROPERTY), type, geometryType);
+			geometry.setConstraint(NillableFlag.ENABLED);
+			geometry.setConstraint(Cardinality.CC_OPTIONAL);
+			geometry.setLocation(getSource().getLocation());
+		}
+
+		schema.addType(type);
+
+		reporter.setSuccess(true);
+		return schema;
+	}
+
+	private void createProperty(String name, PropertyInfo info, DefaultTypeDefinition type,
+			Map<Class<?>, DefaultTypeDefinition> propertyTypes) {
+		// properties with only null values are represented as strings
+		Class<?> binding = (info.binding != null) ? (info.binding) : (String.class);
+
+		DefaultTypeDefinition propertyType = propertyTypes.get(binding);
+		if (propertyType == null) {
+			propertyType = new DefaultTypeDefinition(new QName(binding.getName()));
+			propertyType.setConstraint(HasValueFlag.ENABLED);
+			propertyType.setConstraint(Binding.get(binding));
+			propertyTypes.put(binding, propertyType);
+		}
+
+		DefaultPropertyDefinition property = new DefaultPropertyDefinition(new QName(name), type,
+				propertyType);
+		property.setConstraint(NillableFlag.ENABLED);
+		property.setConstraint(
+				(info.multiple) ? (Cardinality.CC_ANY_NUMBER) : (Cardinality.CC_OPTIONAL));
+		property.setLocation(getSource().getLocation());
+	}
+
+	/**
+	 * Determine the name of the feature type, either from the parameter or
+	 * from the file name.
+	 * 
+	 * @return the type name
+	 */
+	private String determineTypeName() {
+		String typeName = getParameter(PARAM_TYPENAME).as(String.class);
+		if (typeName != null && !typeName.isEmpty()) {
+			return typeName;
+		}
+
+		URI location = getSource().getLocation();
+		if (location != null && location.getPath() != null) {
+			String path = location.getPath();
+			String name = path.substring(path.lastIndexOf('/') + 1);
+			int dot = name.indexOf('.');
+			if (dot > 0) {
+				name = name.substring(0, dot);
+			}
+			if (!name.isEmpty()) {
+				return name;
+			}
+		}
+
+		return getDefaultTypeName();
+	}
+
+	@Override
+	protected String getDefaultTypeName() {
+		return "GeoJSON";
+	}
+
+}
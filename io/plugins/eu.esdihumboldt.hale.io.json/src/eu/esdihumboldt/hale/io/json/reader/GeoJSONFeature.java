@@ -0,0 +1,93 @@
+/*
+ * Copyright (c) 2026 wetransform GmbH
+ *
+ * All rights reserved. This program and the accompanying materials are made
+ * available under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 3 of the License,
+ * or (at your option) any later version.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Contributors:
+ *     wetransform GmbH <http://www.wetransform.to>
+ */
+
+package eu.esdihumboldt.hale.io.json.reader;
+
+import java.util.Map;
+
+import org.locationtech.jts.geom.Geometry;
+
+/**
+ * A feature read from a GeoJSON document.
+ */
+public class GeoJSONFeature {
+
+	private final long offset;
+
+	private final Object id;
+
+	private final Geometry geometry;
+
+	private final String crs;
+
+	private final Map<String, Object> properties;
+
+	/**
+	 * Create a feature.
+	 * 
+	 * @param offset the byte offset of the feature object in the document
+	 * @param id the feature identifier, may be <code>null</code>
+	 * @param geometry the feature geometry, may be <code>null</code>
+	 * @param crs the name of the CRS specified for the feature or the feature
+	 *            collection, <code>null</code> for the default CRS
+	 * @param properties the feature properties, values are strings, numbers,
+	 *            booleans, lists or maps, may be <code>null</code>
+	 */
+	public GeoJSONFeature(long offset, Object id, Geometry geometry, String crs,
+			Map<String, Object> properties) {
+		this.offset = offset;
+		this.id = id;
+		this.geometry = geometry;
+		this.crs = crs;
+		this.properties = properties;
+	}
+
+	/**
+	 * @return the byte offset of the feature object in the document
+	 */
+	public long getOffset() {
+		return offset;
+	}
+
+	/**
+	 * @return the feature identifier, may be <code>null</code>
+	 */
+	public Object getId() {
+		return id;
+	}
+
+	/**
+	 * @return the feature geometry, may be <code>null</code>
+	 */
+	public Geometry getGeometry() {
+		return geometry;
+	}
+
+	/**
+	 * @return the name of the CRS specified for the feature, or
+	 *         <code>null</code> for the default CRS
+	 */
+	public String getCrs() {
+		return crs;
+	}
+
+	/**
+	 * @return the feature properties, may be <code>null</code>
+	 */
+	public Map<String, Object> getProperties() {
+		return properties;
+	}
+
+}
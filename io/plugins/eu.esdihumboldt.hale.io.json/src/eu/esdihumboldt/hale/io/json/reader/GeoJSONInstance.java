@@ -0,0 +1,56 @@
+/*
+ * Copyright (c) 2026 wetransform GmbH
+ *
+ * All rights reserved. This program and the accompanying materials are made
+ * available under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 3 of the License,
+ * or (at your option) any later version.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Contributors:
+ *     wetransform GmbH <http://www.wetransform.to>
+ */
+
+package eu.esdihumboldt.hale.io.json.reader;
+
+import eu.esdihumboldt.hale.common.instance.model.Identifiable;
+import eu.esdihumboldt.hale.common.instance.model.impl.DefaultInstance;
+import eu.esdihumboldt.hale.common.schema.model.TypeDefinition;
+
+/**
+ * Instance read from a GeoJSON document. Stores the byte offset of the
+ * feature in the document.
+ */
+public class GeoJSONInstance extends DefaultInstance implements Identifiable {
+
+	private final long offset;
+
+	/**
+	 * Create an instance with an associated feature offset.
+	 * 
+	 * @param typeDef the type definition
+	 * @param offset the byte offset of the feature object in the document
+	 */
+	public GeoJSONInstance(TypeDefinition typeDef, long offset) {
+		super(typeDef, null); // not necessary to specify a data set
+		this.offset = offset;
+	}
+
+	/**
+	 * @return the byte offset of the feature object in the document
+	 */
+	public long getOffset() {
+		return offset;
+	}
+
+	/**
+	 * @see Identifiable#getId()
+	 */
+	@Override
+	public Object getId() {
+		return offset;
+	}
+
+}
@@ -0,0 +1,415 @@
+/*
+ * Copyright (c) 2026 wetransform GmbH
+ *
+ * All rights reserved. This program and the accompanying materials are made
+ * available under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 3 of the License,
+ * or (at your option) any later version.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Contributors:
+ *     wetransform GmbH <http://www.wetransform.to>
+ */
+
+package eu.esdihumboldt.hale.io.json.reader;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.function.LongPredicate;
+
+import de.fhg.igd.slf4jplus.ALogger;
+import de.fhg.igd.slf4jplus.ALoggerFactory;
+import eu.esdihumboldt.hale.common.core.io.supplier.LocatableInputSupplier;
+import eu.esdihumboldt.hale.common.instance.model.Filter;
+import eu.esdihumboldt.hale.common.instance.model.Instance;
+import eu.esdihumboldt.hale.common.instance.model.InstanceCollection;
+import eu.esdihumboldt.hale.common.instance.model.InstanceReference;
+import eu.esdihumboldt.hale.common.instance.model.InstanceResolver;
+import eu.esdihumboldt.hale.common.instance.model.ResourceIterator;
+import eu.esdihumboldt.hale.common.instance.model.ext.InstanceCollection2;
+import eu.esdihumboldt.hale.common.instance.model.impl.FilteredInstanceCollection;
+import eu.esdihumboldt.hale.common.schema.model.TypeDefinition;
+
+/**
+ * Instance collection based on a GeoJSON document that is read in a streaming
+ * manner. Instances are identified by the byte offset of the corresponding
+ * feature in the document, which is used to retrieve single instances by
+ * reference.<br>
+ * <br>
+ * The size of the collection and the CRS of the feature collection are
+ * determined by scanning the document once without creating any instances.
+ * For a collection with a filter, the offsets of the matching features are
+ * recorded on the first complete iteration, so subsequent iterations only read
+ * the matching features.
+ */
+public class GeoJSONInstanceCollection implements InstanceCollection, InstanceCollection2 {
+
+	private static final ALogger log = ALoggerFactory.getLogger(GeoJSONInstanceCollection.class);
+
+	/**
+	 * Growable array of feature offsets.
+	 */
+	private static class OffsetList {
+
+		private long[] offsets = new long[64];
+
+		private int size;
+
+		public void add(long offset) {
+			if (size == offsets.length) {
+				offsets = Arrays.copyOf(offsets, size * 2);
+			}
+			offsets[size++] = offset;
+		}
+
+		public long[] toArray() {
+			return Arrays.copyOf(offsets, size);
+		}
+
+	}
+
+	/**
+	 * GeoJSON instance iterator.
+	 */
+	public class GeoJSONIterator implements ResourceIterator<Instance> {
+
+		private boolean closed = false;
+
+		private GeoJSONParser parser;
+
+		private GeoJSONInstanceMapper mapper;
+
+		private Instance nextInstance;
+
+		/**
+		 * Offsets of the features to read, <code>null</code> if all features
+		 * need to be read.
+		 */
+		private final long[] index;
+
+		private int indexPosition;
+
+		/**
+		 * Offsets of the features matching the filter, collected if no index
+		 * is available yet.
+		 */
+		private final OffsetList matching;
+
+		/**
+		 * Default constructor.
+		 */
+		public GeoJSONIterator() {
+			index = matches;
+			matching = (filter != null && index == null) ? (new OffsetList()) : (null);
+		}
+
+		@Override
+		public boolean hasNext() {
+			proceedToNext();
+
+			return nextInstance != null;
+		}
+
+		private void proceedToNext() {
+			if (closed || nextInstance != null) {
+				return;
+			}
+
+			try {
+				if (parser == null) {
+					parser = new GeoJSONParser(openInput(), 0, getCollectionCrs());
+					mapper = new GeoJSONInstanceMapper(type);
+				}
+
+				LongPredicate read = (index == null) ? (offset -> true)
+						: (offset -> indexPosition < index.length
+								&& index[indexPosition] == offset);
+
+				while (nextInstance == null) {
+					if (index != null && indexPosition >= index.length) {
+						// all indexed features were read
+						close();
+						return;
+					}
+
+					GeoJSONFeature feature = parser.next(read);
+					if (feature == null) {
+						// end of document
+						if (matching != null) {
+							matches = matching.toArray();
+						}
+						close();
+						return;
+					}
+
+					if (index != null) {
+						if (!read.test(feature.getOffset())) {
+							continue;
+						}
+						indexPosition++;
+						nextInstance = mapper.map(feature);
+					}
+					else {
+						Instance instance = mapper.map(feature);
+						if (filter == null || filter.match(instance)) {
+							nextInstance = instance;
+							if (matching != null) {
+								matching.add(feature.getOffset());
+							}
+						}
+					}
+				}
+			} catch (IOException e) {
+				log.error("Error reading GeoJSON source", e);
+				close();
+			}
+		}
+
+		@Override
+		public Instance next() {
+			proceedToNext();
+
+			if (nextInstance == null) {
+				throw new NoSuchElementException();
+			}
+
+			Instance result = nextInstance;
+			nextInstance = null;
+			return result;
+		}
+
+		@Override
+		public void remove() {
+			throw new UnsupportedOperationException();
+		}
+
+		@Override
+		public void close() {
+			closed = true;
+			if (parser != null) {
+				try {
+					parser.close();
+				} catch (IOException e) {
+					log.debug("Error closing GeoJSON parser", e);
+				}
+				parser = null;
+			}
+		}
+
+	}
+
+	private final LocatableInputSupplier<? extends InputStream> source;
+
+	private final TypeDefinition type;
+
+	private final Filter filter;
+
+	/**
+	 * Number of features in the document, <code>-1</code> if the document was
+	 * not scanned yet.
+	 */
+	private volatile long featureCount = -1;
+
+	/**
+	 * Offsets of the features matching the filter, <code>null</code> if not
+	 * yet determined.
+	 */
+	private volatile long[] matches;
+
+	private volatile String collectionCrs;
+
+	/**
+	 * Create a collection of the instances in a GeoJSON document.
+	 * 
+	 * @param source the GeoJSON source
+	 * @param type the type of the instances
+	 * @param filter the filter instances must match, may be <code>null</code>
+	 */
+	public GeoJSONInstanceCollection(LocatableInputSupplier<? extends InputStream> source,
+			TypeDefinition type, Filter filter) {
+		this.source = source;
+		this.type = type;
+		this.filter = filter;
+	}
+
+	@Override
+	public ResourceIterator<Instance> iterator() {
+		return new GeoJSONIterator();
+	}
+
+	@Override
+	public boolean hasSize() {
+		return true;
+	}
+
+	@Override
+	public int size() {
+		long size;
+		if (filter == null) {
+			size = countFeatures();
+		}
+		else {
+			if (matches == null) {
+				// iterate once to determine the matching features
+				try (ResourceIterator<Instance> it = iterator()) {
+					while (it.hasNext()) {
+						it.next();
+					}
+				}
+			}
+			size = (matches == null) ? (0) : (matches.length);
+		}
+		return (int) Math.min(size, Integer.MAX_VALUE);
+	}
+
+	private long countFeatures() {
+		scan();
+		return featureCount;
+	}
+
+	/**
+	 * Scan the document to determine the number of features and the CRS of
+	 * the feature collection, which may be specified after the features.
+	 */
+	private void scan() {
+		if (featureCount < 0) {
+			long count = 0;
+			String crs = null;
+			try (GeoJSONParser parser = new GeoJSONParser(openInput())) {
+				while (parser.next(offset -> false) != null) {
+					count++;
+				}
+				crs = parser.getCollectionCrs();
+			} catch (IOException e) {
+				log.error("Error reading GeoJSON source", e);
+			}
+			collectionCrs = crs;
+			featureCount = count;
+		}
+	}
+
+	/**
+	 * Open the input stream of the GeoJSON source, the content is decompressed
+	 * if needed.
+	 * 
+	 * @return the input stream
+	 * @throws IOException if opening the input stream fails
+	 */
+	private InputStream openInput() throws IOException {
+		return GeoJSONParser.decompress(source.getInput());
+	}
+
+	@Override
+	public boolean isEmpty() {
+		if (filter == null && featureCount >= 0) {
+			return featureCount == 0;
+		}
+		if (matches != null) {
+			return matches.length == 0;
+		}
+
+		try (ResourceIterator<Instance> it = iterator()) {
+			return !it.hasNext();
+		}
+	}
+
+	@Override
+	public InstanceCollection select(Filter filter) {
+		if (this.filter == null) {
+			return new GeoJSONInstanceCollection(source, type, filter);
+		}
+		return FilteredInstanceCollection.applyFilter(this, filter);
+	}
+
+	/**
+	 * @see InstanceResolver#getReference(Instance)
+	 */
+	@Override
+	public InstanceReference getReference(Instance instance) {
+		if (instance instanceof GeoJSONInstance) {
+			return new OffsetInstanceReference(instance.getDataSet(),
+					((GeoJSONInstance) instance).getOffset());
+		}
+
+		throw new IllegalArgumentException(
+				"Reference can only be determined based on a GeoJSONInstance");
+	}
+
+	/**
+	 * @see InstanceResolver#getInstance(InstanceReference)
+	 */
+	@Override
+	public Instance getInstance(InstanceReference reference) {
+		if (!(reference instanceof OffsetInstanceReference)) {
+			return null;
+		}
+		long offset = ((OffsetInstanceReference) reference).getOffset();
+
+		String crs = getCollectionCrs();
+		try {
+			InputStream in = openInput();
+			try {
+				skipFully(in, offset);
+				in = GeoJSONParser.skipSeparators(in);
+			} catch (IOException e) {
+				in.close();
+				throw e;
+			}
+
+			// only the referenced feature is read
+			try (GeoJSONParser parser = new GeoJSONParser(in, offset, crs)) {
+				GeoJSONFeature feature = parser.next();
+				if (feature == null) {
+					return null;
+				}
+				return new GeoJSONInstanceMapper(type).map(feature);
+			}
+		} catch (IOException e) {
+			log.error("Error reading feature from GeoJSON source", e);
+			return null;
+		}
+	}
+
+	/**
+	 * Determine the CRS specified for the feature collection, independent of
+	 * its position in the document. It is needed when reading single features
+	 * and for features preceding the CRS in the document.
+	 * 
+	 * @return the name of the collection CRS or <code>null</code>
+	 */
+	private String getCollectionCrs() {
+		scan();
+		return collectionCrs;
+	}
+
+	private static void skipFully(InputStream in, long count) throws IOException {
+		long remaining = count;
+		while (remaining > 0) {
+			long skipped = in.skip(remaining);
+			if (skipped <= 0) {
+				if (in.read() < 0) {
+					throw new IOException("Unexpected end of stream");
+				}
+				skipped = 1;
+			}
+			remaining -= skipped;
+		}
+	}
+
+	@Override
+	public boolean supportsFanout() {
+		return true;
+	}
+
+	@Override
+	public Map<TypeDefinition, InstanceCollection> fanout() {
+		return Collections.<TypeDefinition, InstanceCollection> singletonMap(type, this);
+	}
+
+}
@@ -0,0 +1,262 @@
+/*
+ * Copyright (c) 2026 wetransform GmbH
+ *
+ * All rights reserved. This program and the accompanying materials are made
+ * available under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 3 of the License,
+ * or (at your option) any later version.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Contributors:
+ *     wetransform GmbH <http://www.wetransform.to>
+ */
+
+package eu.esdihumboldt.hale.io.json.reader;
+
+import java.io.IOException;
+import java.text.MessageFormat;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+
+import org.codehaus.jackson.map.ObjectMapper;
+import org.springframework.core.convert.ConversionService;
+
+import de.fhg.igd.slf4jplus.ALogger;
+import de.fhg.igd.slf4jplus.ALoggerFactory;
+import eu.esdihumboldt.hale.common.core.HalePlatform;
+import eu.esdihumboldt.hale.common.instance.geometry.DefaultGeometryProperty;
+import eu.esdihumboldt.hale.common.instance.geometry.impl.CodeDefinition;
+import eu.esdihumboldt.hale.common.instance.model.MutableGroup;
+import eu.esdihumboldt.hale.common.instance.model.impl.DefaultInstance;
+import eu.esdihumboldt.hale.common.schema.geometry.CRSDefinition;
+import eu.esdihumboldt.hale.common.schema.model.ChildDefinition;
+import eu.esdihumboldt.hale.common.schema.model.PropertyDefinition;
+import eu.esdihumboldt.hale.common.schema.model.TypeDefinition;
+import eu.esdihumboldt.hale.common.schema.model.constraint.type.Binding;
+import eu.esdihumboldt.hale.common.schema.model.constraint.type.GeometryType;
+
+/**
+ * Maps GeoJSON features to instances of a schema type. Feature properties are
+ * matched to the properties of the type by their local name.
+ */
+public class GeoJSONInstanceMapper {
+
+	private static final ALogger log = ALoggerFactory.getLogger(GeoJSONInstanceMapper.class);
+
+	/**
+	 * Name of the property the feature identifier is assigned to, if not
+	 * present in the feature properties.
+	 */
+	public static final String ID_PROPERTY = "id";
+
+	/**
+	 * Name of the property the feature geometry is preferably assigned to.
+	 */
+	public static final String GEOMETRY_PROPERTY = "geometry";
+
+	/**
+	 * The default CRS for GeoJSON, WGS 84 with longitude first.
+	 */
+	private static final CRSDefinition DEFAULT_CRS = new CodeDefinition("EPSG:4326", true);
+
+	private final TypeDefinition type;
+
+	private final Map<TypeDefinition, Map<String, PropertyDefinition>> properties = new HashMap<>();
+
+	private final PropertyDefinition geometryProperty;
+
+	private final Map<String, CRSDefinition> crsDefinitions = new HashMap<>();
+
+	private final ConversionService conversionService;
+
+	private ObjectMapper objectMapper;
+
+	/**
+	 * Create a mapper for the given type.
+	 * 
+	 * @param type the type of the instances to create
+	 */
+	public GeoJSONInstanceMapper(TypeDefinition type) {
+		this.type = type;
+		this.conversionService = HalePlatform.getService(ConversionService.class);
+
+		Map<String, PropertyDefinition> typeProperties = getProperties(type);
+		PropertyDefinition geometry = typeProperties.get(GEOMETRY_PROPERTY);
+		if (geometry == null || !isGeometry(geometry)) {
+			geometry = null;
+			for (PropertyDefinition property : typeProperties.values()) {
+				if (isGeometry(property)) {
+					geometry = property;
+					break;
+				}
+			}
+		}
+		this.geometryProperty = geometry;
+	}
+
+	/**
+	 * @return the type of the instances created
+	 */
+	public TypeDefinition getType() {
+		return type;
+	}
+
+	/**
+	 * Create an instance from a feature.
+	 * 
+	 * @param feature the feature
+	 * @return the instance
+	 */
+	public GeoJSONInstance map(GeoJSONFeature feature) {
+		GeoJSONInstance instance = new GeoJSONInstance(type, feature.getOffset());
+		Map<String, PropertyDefinition> typeProperties = getProperties(type);
+
+		Map<String, Object> values = feature.getProperties();
+		if (values != null) {
+			addValues(instance, typeProperties, values);
+		}
+
+		if (feature.getId() != null && (values == null || !values.containsKey(ID_PROPERTY))) {
+			PropertyDefinition idProperty = typeProperties.get(ID_PROPERTY);
+			if (idProperty != null && idProperty != geometryProperty) {
+				addValue(instance, idProperty, feature.getId());
+			}
+		}
+
+		if (feature.getGeometry() != null && geometryProperty != null) {
+			instance.addProperty(geometryProperty.getName(), new DefaultGeometryProperty<>(
+					getCRS(feature.getCrs()), feature.getGeometry()));
+		}
+
+		return instance;
+	}
+
+	private void addValues(MutableGroup group, Map<String, PropertyDefinition> groupProperties,
+			Map<String, Object> values) {
+		for (Entry<String, Object> entry : values.entrySet()) {
+			PropertyDefinition property = groupProperties.get(entry.getKey());
+			if (property == null) {
+				log.debug(MessageFormat.format(
+						"Ignoring value of property {0} that is not defined in the schema",
+						entry.getKey()));
+				continue;
+			}
+			if (property == geometryProperty) {
+				// reserved for the feature geometry
+				continue;
+			}
+
+			if (entry.getValue() instanceof List<?>) {
+				// multiple values
+				for (Object value : (List<?>) entry.getValue()) {
+					addValue(group, property, value);
+				}
+			}
+			else {
+				addValue(group, property, entry.getValue());
+			}
+		}
+	}
+
+	private void addValue(MutableGroup group, PropertyDefinition property, Object value) {
+		TypeDefinition propertyType = property.getPropertyType();
+
+		if (value instanceof Map<?, ?> && !propertyType.getChildren().isEmpty()) {
+			// nested object
+			DefaultInstance child = new DefaultInstance(propertyType, null);
+			@SuppressWarnings("unchecked")
+			Map<String, Object> childValues = (Map<String, Object>) value;
+			addValues(child, getProperties(propertyType), childValues);
+			group.addProperty(property.getName(), child);
+		}
+		else {
+			group.addProperty(property.getName(), convertValue(value, property));
+		}
+	}
+
+	private Object convertValue(Object value, PropertyDefinition property) {
+		if (value == null) {
+			return null;
+		}
+
+		if (value instanceof Map<?, ?> || value instanceof List<?>) {
+			// represent structured values as JSON
+			value = toJson(value);
+		}
+
+		Class<?> binding = property.getPropertyType().getConstraint(Binding.class).getBinding();
+		if (binding.isInstance(value)) {
+			return value;
+		}
+
+		try {
+			if (conversionService.canConvert(value.getClass(), binding)) {
+				return conversionService.convert(value, binding);
+			}
+		} catch (Exception e) {
+			log.warn(MessageFormat.format("Cannot convert value of property {0} to {1}",
+					property.getName().getLocalPart(), binding.getSimpleName()), e);
+		}
+		return value;
+	}
+
+	private String toJson(Object value) {
+		if (objectMapper == null) {
+			objectMapper = new ObjectMapper();
+		}
+		try {
+			return objectMapper.writeValueAsString(value);
+		} catch (IOException e) {
+			return value.toString();
+		}
+	}
+
+	private CRSDefinition getCRS(String name) {
+		if (name == null) {
+			return DEFAULT_CRS;
+		}
+
+		CRSDefinition crs = crsDefinitions.get(name);
+		if (crs == null) {
+			if (name.endsWith("CRS84")) {
+				crs = DEFAULT_CRS;
+			}
+			else {
+				String epsg = CodeDefinition.extractEPSGCode(name);
+				if (epsg != null) {
+					crs = new CodeDefinition("EPSG:" + epsg, true);
+				}
+				else {
+					crs = new CodeDefinition(name, true);
+				}
+			}
+			crsDefinitions.put(name, crs);
+		}
+		return crs;
+	}
+
+	private Map<String, PropertyDefinition> getProperties(TypeDefinition type) {
+		Map<String, PropertyDefinition> result = properties.get(type);
+		if (result == null) {
+			result = new HashMap<>();
+			Collection<? extends ChildDefinition<?>> children = type.getChildren();
+			for (ChildDefinition<?> child : children) {
+				if (child.asProperty() != null) {
+					result.put(child.getName().getLocalPart(), child.asProperty());
+				}
+			}
+			properties.put(type, result);
+		}
+		return result;
+	}
+
+	private static boolean isGeometry(PropertyDefinition property) {
+		return property.getPropertyType().getConstraint(GeometryType.class).isGeometry();
+	}
+
+}
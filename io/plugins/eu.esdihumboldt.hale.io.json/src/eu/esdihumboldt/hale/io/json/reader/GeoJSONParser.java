@@ -0,0 +1,590 @@
+/*
+ * Copyright (c) 2026 wetransform GmbH
+ *
+ * All rights reserved. This program and the accompanying materials are made
+ * available under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 3 of the License,
+ * or (at your option) any later version.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Contributors:
+ *     wetransform GmbH <http://www.wetransform.to>
+ */
+
+package eu.esdihumboldt.hale.io.json.reader;
+
+import java.io.BufferedInputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.PushbackInputStream;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.LongPredicate;
+import java.util.zip.GZIPInputStream;
+
+import org.codehaus.jackson.JsonFactory;
+import org.codehaus.jackson.JsonLocation;
+import org.codehaus.jackson.JsonParser;
+import org.codehaus.jackson.JsonToken;
+import org.locationtech.jts.geom.Coordinate;
+import org.locationtech.jts.geom.Geometry;
+import org.locationtech.jts.geom.GeometryFactory;
+import org.locationtech.jts.geom.LineString;
+import org.locationtech.jts.geom.LinearRing;
+import org.locationtech.jts.geom.Polygon;
+
+import de.fhg.igd.slf4jplus.ALogger;
+import de.fhg.igd.slf4jplus.ALoggerFactory;
+
+/**
+ * Streaming parser for GeoJSON documents based on a Jackson pull parser.
+ * Supports documents with a FeatureCollection, a single Feature or an array of
+ * Features, as well as newline delimited GeoJSON (a sequence of Feature
+ * objects). Geometries are built directly from the coordinate arrays.<br>
+ * <br>
+ * For each feature the byte offset of the feature object in the document is
+ * determined, which allows reading a single feature later on (see
+ * {@link #GeoJSONParser(InputStream, long, String)}). Offsets are only valid
+ * for UTF-8 encoded documents, as required by the GeoJSON specification.
+ */
+public class GeoJSONParser implements Closeable {
+
+	private static final ALogger log = ALoggerFactory.getLogger(GeoJSONParser.class);
+
+	private static final JsonFactory factory = new JsonFactory();
+
+	private final JsonParser parser;
+
+	private final long baseOffset;
+
+	private final GeometryFactory geometryFactory;
+
+	private String collectionCrs;
+
+	/**
+	 * If the parser is positioned inside the object of a FeatureCollection.
+	 */
+	private boolean inCollection;
+
+	/**
+	 * If the parser is positioned inside the features array of a
+	 * FeatureCollection.
+	 */
+	private boolean inFeatures;
+
+	/**
+	 * If the parser is positioned inside an array on the root level.
+	 */
+	private boolean inRootArray;
+
+	/**
+	 * Create a parser reading a GeoJSON document.
+	 * 
+	 * @param in the input stream, it is closed when the parser is closed
+	 * @throws IOException if creating the parser fails
+	 */
+	public GeoJSONParser(InputStream in) throws IOException {
+		this(in, 0, null);
+	}
+
+	/**
+	 * Create a parser reading from a position inside a GeoJSON document.
+	 * 
+	 * @param in the input stream positioned at the given offset, it is closed
+	 *            when the parser is closed
+	 * @param baseOffset the byte offset of the stream position in the document
+	 * @param collectionCrs the name of the CRS specified for the feature
+	 *            collection, <code>null</code> if none was specified
+	 * @throws IOException if creating the parser fails
+	 */
+	public GeoJSONParser(InputStream in, long baseOffset, String collectionCrs)
+			throws IOException {
+		this.parser = factory.createJsonParser(in);
+		this.baseOffset = baseOffset;
+		this.collectionCrs = collectionCrs;
+		this.geometryFactory = new GeometryFactory();
+	}
+
+	/**
+	 * Wrap the given input stream in a {@link GZIPInputStream} if the content
+	 * is GZip compressed.
+	 * 
+	 * @param in the input stream
+	 * @return the input stream providing the uncompressed content
+	 * @throws IOException if reading from the stream fails
+	 */
+	public static InputStream decompress(InputStream in) throws IOException {
+		BufferedInputStream buffered = new BufferedInputStream(in);
+		buffered.mark(2);
+		int first = buffered.read();
+		int second = buffered.read();
+		buffered.reset();
+
+		if (first == (GZIPInputStream.GZIP_MAGIC & 0xff)
+				&& second == (GZIPInputStream.GZIP_MAGIC >> 8)) {
+			return new BufferedInputStream(new GZIPInputStream(buffered));
+		}
+		return buffered;
+	}
+
+	/**
+	 * Skip whitespace and value separators preceding a feature at an offset
+	 * determined by the parser. Offsets of features following another value
+	 * may point to the separator instead of the start of the feature object.
+	 * 
+	 * @param in the input stream positioned at a feature offset
+	 * @return the input stream positioned at the start of the feature object
+	 * @throws IOException if reading from the stream fails
+	 */
+	public static InputStream skipSeparators(InputStream in) throws IOException {
+		PushbackInputStream pushback = new PushbackInputStream(in, 1);
+		int b;
+		do {
+			b = pushback.read();
+		} while (b == ',' || b == ' ' || b == '\t' || b == '\n' || b == '\r');
+		if (b >= 0) {
+			pushback.unread(b);
+		}
+		return pushback;
+	}
+
+	/**
+	 * @return the name of the CRS specified for the feature collection, if it
+	 *         was encountered before the current feature or if all features
+	 *         were read, otherwise <code>null</code>
+	 */
+	public String getCollectionCrs() {
+		return collectionCrs;
+	}
+
+	/**
+	 * Read the next feature.
+	 * 
+	 * @return the next feature or <code>null</code> if there are no more
+	 *         features
+	 * @throws IOException if reading from the document fails
+	 */
+	public GeoJSONFeature next() throws IOException {
+		return next(offset -> true);
+	}
+
+	/**
+	 * Proceed to the next feature and read it if it is accepted by the given
+	 * predicate. For features that are not accepted, only the offset is
+	 * determined, the content is skipped.
+	 * 
+	 * @param read the predicate testing the feature offset if the feature
+	 *            content should be read
+	 * @return the next feature or <code>null</code> if there are no more
+	 *         features, if the feature was not accepted by the predicate
+	 *         only its offset and identifier are provided
+	 * @throws IOException if reading from the document fails
+	 */
+	public GeoJSONFeature next(LongPredicate read) throws IOException {
+		JsonToken token;
+		while ((token = parser.nextToken()) != null) {
+			if (inFeatures) {
+				if (token == JsonToken.END_ARRAY) {
+					inFeatures = false;
+				}
+				else if (token == JsonToken.START_OBJECT) {
+					return readFeature(read, false);
+				}
+				else {
+					parser.skipChildren();
+				}
+			}
+			else if (inCollection) {
+				if (token == JsonToken.END_OBJECT) {
+					inCollection = false;
+				}
+				else if (token == JsonToken.FIELD_NAME) {
+					String name = parser.getCurrentName();
+					JsonToken value = parser.nextToken();
+					if ("features".equals(name) && value == JsonToken.START_ARRAY) {
+						inFeatures = true;
+					}
+					else if ("crs".equals(name)) {
+						collectionCrs = readCrs();
+					}
+					else {
+						parser.skipChildren();
+					}
+				}
+			}
+			else if (inRootArray) {
+				if (token == JsonToken.END_ARRAY) {
+					inRootArray = false;
+				}
+				else if (token == JsonToken.START_OBJECT) {
+					return readFeature(read, false);
+				}
+				else {
+					parser.skipChildren();
+				}
+			}
+			else {
+				// root level
+				if (token == JsonToken.START_ARRAY) {
+					inRootArray = true;
+				}
+				else if (token == JsonToken.START_OBJECT) {
+					GeoJSONFeature feature = readFeature(read, true);
+					if (feature != null) {
+						return feature;
+					}
+					// otherwise the object is a feature collection
+				}
+				else {
+					parser.skipChildren();
+				}
+			}
+		}
+
+		return null;
+	}
+
+	/**
+	 * Read a feature object. The parser must be positioned at the start of the
+	 * object.
+	 * 
+	 * @param read the predicate testing the feature offset if the feature
+	 *            content should be read
+	 * @param root if the object is located on the root level and may be a
+	 *            feature collection
+	 * @return the feature or <code>null</code> if the object was identified as
+	 *         a feature collection
+	 * @throws IOException if reading from the document fails
+	 */
+	private GeoJSONFeature readFeature(LongPredicate read, boolean root) throws IOException {
+		long offset = baseOffset + getTokenOffset();
+		boolean content = read.test(offset);
+
+		Object id = null;
+		Geometry geometry = null;
+		String crs = null;
+		Map<String, Object> properties = null;
+
+		while (parser.nextToken() == JsonToken.FIELD_NAME) {
+			String name = parser.getCurrentName();
+			JsonToken value = parser.nextToken();
+
+			if (root && "features".equals(name) && value == JsonToken.START_ARRAY) {
+				// the root object is a feature collection
+				inCollection = true;
+				inFeatures = true;
+				if (crs != null) {
+					collectionCrs = crs;
+				}
+				return null;
+			}
+
+			switch (name) {
+			case "type":
+				if (root && value == JsonToken.VALUE_STRING
+						&& "FeatureCollection".equals(parser.getText())) {
+					inCollection = true;
+					if (crs != null) {
+						collectionCrs = crs;
+					}
+					return null;
+				}
+				break;
+			case "id":
+				id = readValue();
+				break;
+			case "crs":
+				crs = readCrs();
+				break;
+			case "geometry":
+				if (content) {
+					geometry = readGeometry();
+				}
+				else {
+					parser.skipChildren();
+				}
+				break;
+			case "properties":
+				if (content && value == JsonToken.START_OBJECT) {
+					properties = readObject();
+				}
+				else {
+					parser.skipChildren();
+				}
+				break;
+			default:
+				parser.skipChildren();
+			}
+		}
+
+		return new GeoJSONFeature(offset, id, geometry, (crs != null) ? (crs) : (collectionCrs),
+				properties);
+	}
+
+	/**
+	 * Determine the offset of the current token.<br>
+	 * <br>
+	 * The Jackson parser does not provide a byte offset for input streams, but
+	 * for UTF-8 encoded input the character offset it reports is the number of
+	 * bytes read. For a value following a separator, the offset points to the
+	 * separator (see {@link #skipSeparators(InputStream)}).
+	 * 
+	 * @return the byte offset of the current token relative to the start of
+	 *         the input stream
+	 */
+	private long getTokenOffset() {
+		JsonLocation location = parser.getTokenLocation();
+		long offset = location.getByteOffset();
+		if (offset < 0) {
+			offset = location.getCharOffset();
+		}
+		return offset;
+	}
+
+	/**
+	 * Read a CRS object. The parser must be positioned at the start of the
+	 * value.
+	 * 
+	 * @return the name of a named CRS or <code>null</code>
+	 * @throws IOException if reading from the document fails
+	 */
+	private String readCrs() throws IOException {
+		Object crs = readValue();
+		if (crs instanceof Map<?, ?>) {
+			Object properties = ((Map<?, ?>) crs).get("properties");
+			if (properties instanceof Map<?, ?>) {
+				Object name = ((Map<?, ?>) properties).get("name");
+				if (name != null) {
+					return name.toString();
+				}
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * Read a geometry object. The parser must be positioned at the start of
+	 * the value.
+	 * 
+	 * @return the geometry or <code>null</code> if the value is no valid
+	 *         geometry
+	 * @throws IOException if reading from the document fails
+	 */
+	private Geometry readGeometry() throws IOException {
+		if (parser.getCurrentToken() != JsonToken.START_OBJECT) {
+			parser.skipChildren();
+			return null;
+		}
+
+		String type = null;
+		Object coordinates = null;
+		List<Geometry> geometries = null;
+
+		while (parser.nextToken() == JsonToken.FIELD_NAME) {
+			String name = parser.getCurrentName();
+			JsonToken value = parser.nextToken();
+
+			if ("type".equals(name)) {
+				type = parser.getText();
+			}
+			else if ("coordinates".equals(name) && value == JsonToken.START_ARRAY) {
+				coordinates = readCoordinates();
+			}
+			else if ("geometries".equals(name) && value == JsonToken.START_ARRAY) {
+				geometries = new ArrayList<>();
+				while (parser.nextToken() != JsonToken.END_ARRAY) {
+					Geometry geometry = readGeometry();
+					if (geometry != null) {
+						geometries.add(geometry);
+					}
+				}
+			}
+			else {
+				parser.skipChildren();
+			}
+		}
+
+		if (type == null) {
+			return null;
+		}
+
+		try {
+			return createGeometry(type, coordinates, geometries);
+		} catch (RuntimeException e) {
+			log.warn("Ignoring invalid " + type + " geometry: " + e.getMessage());
+			return null;
+		}
+	}
+
+	/**
+	 * Read a coordinates array. The parser must be positioned at the start of
+	 * the array.
+	 * 
+	 * @return a {@link Coordinate} for a position, otherwise a list of
+	 *         coordinates or nested lists, <code>null</code> for an invalid
+	 *         position
+	 * @throws IOException if reading from the document fails
+	 */
+	private Object readCoordinates() throws IOException {
+		JsonToken token = parser.nextToken();
+		if (token == JsonToken.VALUE_NUMBER_INT || token == JsonToken.VALUE_NUMBER_FLOAT) {
+			// position
+			double[] ordinates = new double[3];
+			int count = 0;
+			while (token != JsonToken.END_ARRAY) {
+				if (count < ordinates.length) {
+					ordinates[count++] = parser.getDoubleValue();
+				}
+				token = parser.nextToken();
+			}
+			if (count < 2) {
+				// invalid position
+				return null;
+			}
+			return (count > 2) ? (new Coordinate(ordinates[0], ordinates[1], ordinates[2]))
+					: (new Coordinate(ordinates[0], ordinates[1]));
+		}
+
+		List<Object> children = new ArrayList<>();
+		while (token != JsonToken.END_ARRAY) {
+			if (token == JsonToken.START_ARRAY) {
+				children.add(readCoordinates());
+			}
+			else {
+				parser.skipChildren();
+			}
+			token = parser.nextToken();
+		}
+		return children;
+	}
+
+	private Geometry createGeometry(String type, Object coordinates, List<Geometry> geometries) {
+		switch (type) {
+		case "Point":
+			if (coordinates instanceof Coordinate) {
+				return geometryFactory.createPoint((Coordinate) coordinates);
+			}
+			return geometryFactory.createPoint((Coordinate) null);
+		case "MultiPoint":
+			return geometryFactory.createMultiPointFromCoords(toCoordinates(coordinates));
+		case "LineString":
+			return geometryFactory.createLineString(toCoordinates(coordinates));
+		case "MultiLineString":
+			List<?> lines = toList(coordinates);
+			LineString[] lineStrings = new LineString[lines.size()];
+			for (int i = 0; i < lineStrings.length; i++) {
+				lineStrings[i] = geometryFactory.createLineString(toCoordinates(lines.get(i)));
+			}
+			return geometryFactory.createMultiLineString(lineStrings);
+		case "Polygon":
+			return createPolygon(coordinates);
+		case "MultiPolygon":
+			List<?> polygonList = toList(coordinates);
+			Polygon[] polygons = new Polygon[polygonList.size()];
+			for (int i = 0; i < polygons.length; i++) {
+				polygons[i] = createPolygon(polygonList.get(i));
+			}
+			return geometryFactory.createMultiPolygon(polygons);
+		case "GeometryCollection":
+			if (geometries == null) {
+				return geometryFactory.createGeometryCollection(new Geometry[0]);
+			}
+			return geometryFactory
+					.createGeometryCollection(geometries.toArray(new Geometry[geometries.size()]));
+		default:
+			log.warn("Ignoring geometry of unknown type " + type);
+			return null;
+		}
+	}
+
+	private Polygon createPolygon(Object coordinates) {
+		List<?> rings = toList(coordinates);
+		if (rings.isEmpty()) {
+			return geometryFactory.createPolygon((LinearRing) null);
+		}
+		LinearRing shell = geometryFactory.createLinearRing(toCoordinates(rings.get(0)));
+		LinearRing[] holes = new LinearRing[rings.size() - 1];
+		for (int i = 0; i < holes.length; i++) {
+			holes[i] = geometryFactory.createLinearRing(toCoordinates(rings.get(i + 1)));
+		}
+		return geometryFactory.createPolygon(shell, holes);
+	}
+
+	private static List<?> toList(Object coordinates) {
+		if (coordinates == null) {
+			return new ArrayList<>();
+		}
+		if (coordinates instanceof List<?>) {
+			return (List<?>) coordinates;
+		}
+		throw new IllegalArgumentException("Unexpected coordinates nesting");
+	}
+
+	private static Coordinate[] toCoordinates(Object coordinates) {
+		List<?> positions = toList(coordinates);
+		Coordinate[] result = new Coordinate[positions.size()];
+		for (int i = 0; i < result.length; i++) {
+			Object position = positions.get(i);
+			if (!(position instanceof Coordinate)) {
+				throw new IllegalArgumentException("Unexpected coordinates nesting");
+			}
+			result[i] = (Coordinate) position;
+		}
+		return result;
+	}
+
+	/**
+	 * Read a JSON value. The parser must be positioned at the start of the
+	 * value.
+	 * 
+	 * @return the value, either a {@link Map}, {@link List}, {@link String},
+	 *         {@link Number}, {@link Boolean} or <code>null</code>
+	 * @throws IOException if reading from the document fails
+	 */
+	private Object readValue() throws IOException {
+		switch (parser.getCurrentToken()) {
+		case START_OBJECT:
+			return readObject();
+		case START_ARRAY:
+			List<Object> list = new ArrayList<>();
+			while (parser.nextToken() != JsonToken.END_ARRAY) {
+				list.add(readValue());
+			}
+			return list;
+		case VALUE_STRING:
+			return parser.getText();
+		case VALUE_NUMBER_INT:
+		case VALUE_NUMBER_FLOAT:
+			return parser.getNumberValue();
+		case VALUE_TRUE:
+			return Boolean.TRUE;
+		case VALUE_FALSE:
+			return Boolean.FALSE;
+		case VALUE_EMBEDDED_OBJECT:
+			return parser.getEmbeddedObject();
+		default:
+			return null;
+		}
+	}
+
+	private Map<String, Object> readObject() throws IOException {
+		Map<String, Object> map = new LinkedHashMap<>();
+		while (parser.nextToken() == JsonToken.FIELD_NAME) {
+			String name = parser.getCurrentName();
+			parser.nextToken();
+			map.put(name, readValue());
+		}
+		return map;
+	}
+
+	@Override
+	public void close() throws IOException {
+		parser.close();
+	}
+
+}
@@ -0,0 +1,97 @@
+/*
+ * Copyright (c) 2026 wetransform GmbH
+ *
+ * All rights reserved. This program and the accompanying materials are made
+ * available under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 3 of the License,
+ * or (at your option) any later version.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Contributors:
+ *     wetransform GmbH <http://www.wetransform.to>
+ */
+
+package eu.esdihumboldt.hale.io.json.reader;
+
+import eu.esdihumboldt.hale.common.instance.model.DataSet;
+import eu.esdihumboldt.hale.common.instance.model.Identifiable;
+import eu.esdihumboldt.hale.common.instance.model.InstanceReference;
+
+/**
+ * Instance reference based on the byte offset of a feature in a document.
+ */
+public class OffsetInstanceReference implements InstanceReference, Identifiable {
+
+	private final DataSet dataSet;
+
+	private final long offset;
+
+	/**
+	 * Create a reference for an instance, using the given offset.
+	 * 
+	 * @param dataSet the instance data set
+	 * @param offset the byte offset of the feature in the document
+	 */
+	public OffsetInstanceReference(DataSet dataSet, long offset) {
+		super();
+		this.dataSet = dataSet;
+		this.offset = offset;
+	}
+
+	/**
+	 * @see InstanceReference#getDataSet()
+	 */
+	@Override
+	public DataSet getDataSet() {
+		return dataSet;
+	}
+
+	/**
+	 * @return the byte offset of the feature in the document
+	 */
+	public long getOffset() {
+		return offset;
+	}
+
+	/**
+	 * @see java.lang.Object#hashCode()
+	 */
+	@Override
+	public int hashCode() {
+		final int prime = 31;
+		int result = 1;
+		result = prime * result + ((dataSet == null) ? 0 : dataSet.hashCode());
+		result = prime * result + (int) (offset ^ (offset >>> 32));
+		return result;
+	}
+
+	/**
+	 * @see java.lang.Object#equals(java.lang.Object)
+	 */
+	@Override
+	public boolean equals(Object obj) {
+		if (this == obj)
+			return true;
+		if (obj == null)
+			return false;
+		if (getClass() != obj.getClass())
+			return false;
+		OffsetInstanceReference other = (OffsetInstanceReference) obj;
+		if (dataSet != other.dataSet)
+			return false;
+		if (offset != other.offset)
+			return false;
+		return true;
+	}
+
+	/**
+	 * @see Identifiable#getId()
+	 */
+	@Override
+	public Object getId() {
+		return offset;
+	}
+
+}
@@ -46,15 +46,37 @@ public class SchematronInstanceValidatorTest {
 		testValidate("GML321-schematron.xml", "inspire-hy-p-ids.gml", true);
 	}
 
-	private void testValidate(String schematronResource, String xmlResource, boolean expectSuccess)
-			throws Exception {
+	@Test
+	public void testValidStreaming() throws Exception {
+		testValidate("GML321-schematron.xml", "inspire-hy-p.gml", true, true);
+	}
+
+	@Test
+	public void testDimensionRuleStreaming() throws Exception {
+		IOReport report = testValidate("GML321-schematron.xml", "inspire-hy-p-dimension.gml",
+				false, true);
+
+		// same failed assertions as in non-streaming mode
+		assertEquals(4, report.getErrors().size());
+	}
+
+	private IOReport testValidate(String schematronResource, String xmlResource,
+			boolean expectSuccess) throws Exception {
+		return testValidate(schematronResource, xmlResource, expectSuccess, false);
+	}
+
+	private IOReport testValidate(String schematronResource, String xmlResource,
+			boolean expectSuccess, boolean streaming) throws Exception {
 		SchematronInstanceValidator validator = new SchematronInstanceValidator();
+		validator.setStreaming(streaming);
+		validator.setThreads(2);
 
 		validator.setSource(new ResourceInputSupplier(getClass(), xmlResource));
 		validator.setSchematronLocation(getClass().getResource(schematronResource).toURI());
 		IOReport report = validator.execute(null);
 
 		assertEquals("Unexpected report result", expectSuccess, report.isSuccess());
+		return report;
 	}
 
 }
@@ -15,10 +15,8 @@
 
 package eu.esdihumboldt.hale.io.schematron.util
 
-import java.text.MessageFormat
-
 import eu.esdihumboldt.hale.common.core.io.report.IOReporter
-import eu.esdihumboldt.hale.common.core.io.report.impl.IOMessageImpl
+import eu.esdihumboldt.hale.io.schematron.validator.SchematronUtils
 import groovy.transform.CompileDynamic
 import groovy.util.slurpersupport.GPathResult
 
@@ -40,13 +38,8 @@ class SchematronReportParser {
 		def GPathResult parsedReport = new XmlSlurper().parseText(report)
 
 		for (failedAssert in parsedReport.depthFirst().findAll { it.name() == "failed-assert" }) {
-			def args = [
-				failedAssert.text.toString(),
-				failedAssert.@test.toString(),
-				failedAssert.@location.toString()
-			].toArray()
-			def msg = MessageFormat.format("{0} (test = \"{1}\" | location = \"{2}\")", args)
-			reporter.error(new IOMessageImpl(msg, null))
+			SchematronUtils.reportFailedAssertion(reporter, failedAssert.text.toString(),
+					failedAssert.@test.toString(), failedAssert.@location.toString())
 		}
 	}
 }
@@ -37,6 +37,18 @@ public class SchematronInstanceValidator extends AbstractInstanceValidator
 	 */
 	public static final String PARAM_SCHEMATRON_LOCATION = "schematron.location";
 
+	/**
+	 * Name of the parameter specifying if the document should be validated in
+	 * streaming mode, evaluating the rules on each feature member separately.
+	 */
+	public static final String PARAM_STREAMING = "schematron.streaming";
+
+	/**
+	 * Name of the parameter specifying the number of threads used for
+	 * validating feature members in streaming mode.
+	 */
+	public static final String PARAM_THREADS = "schematron.threads";
+
 	/**
 	 * The identifier of the registration as I/O provider.
 	 */
@@ -68,6 +80,44 @@ public class SchematronInstanceValidator extends AbstractInstanceValidator
 		return null;
 	}
 
+	/**
+	 * Set if the document should be validated in streaming mode. In streaming
+	 * mode the rules are evaluated on each child element of the document root
+	 * separately, so rules relating different feature members to each other
+	 * are not supported.
+	 * 
+	 * @param streaming if streaming mode should be used
+	 */
+	public void setStreaming(boolean streaming) {
+		setParameter(PARAM_STREAMING, Value.of(streaming));
+	}
+
+	/**
+	 * @return if the document should be validated in streaming mode
+	 */
+	public boolean isStreaming() {
+		return getParameter(PARAM_STREAMING).as(Boolean.class, false);
+	}
+
+	/**
+	 * Set the number of threads used for validating feature members in
+	 * streaming mode.
+	 * 
+	 * @param threads the number of threads
+	 */
+	public void setThreads(int threads) {
+		setParameter(PARAM_THREADS, Value.of(threads));
+	}
+
+	/**
+	 * @return the number of threads used for validating feature members in
+	 *         streaming mode, defaults to the number of available processors
+	 */
+	public int getThreads() {
+		return getParameter(PARAM_THREADS).as(Integer.class,
+				Runtime.getRuntime().availableProcessors());
+	}
+
 	@Override
 	protected IOReport execute(ProgressIndicator progress, IOReporter reporter)
 			throws IOProviderConfigurationException, IOException {
@@ -93,6 +143,18 @@ public class SchematronInstanceValidator extends AbstractInstanceValidator
 		final Source schematronSource = new StreamSource(schematronInput);
 
 		try {
+			if (isStreaming()) {
+				final StreamingSchematronValidator validator = new StreamingSchematronValidator(
+						new StreamSource(schematronInput, schematronLoc.toString()));
+				int failed = validator.validate(sourceInput, getThreads(),
+						assertion -> SchematronUtils.reportFailedAssertion(reporter,
+								assertion.getText(), assertion.getTest(),
+								assertion.getLocation()));
+
+				reporter.setSuccess(failed == 0);
+				return reporter;
+			}
+
 			final SchematronValidator validator = new SchematronValidator(schematronSource);
 			final Result result = validator.validate(xmlSource, /* svrlReport */true);
 
@@ -109,6 +171,7 @@ public class SchematronInstanceValidator extends AbstractInstanceValidator
 			reporter.setSuccess(false);
 		} finally {
 			schematronInput.close();
+			sourceInput.close();
 			progress.end();
 		}
 
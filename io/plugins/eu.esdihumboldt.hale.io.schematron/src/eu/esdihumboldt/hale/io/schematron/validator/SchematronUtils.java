@@ -17,6 +17,7 @@ package eu.esdihumboldt.hale.io.schematron.validator;
 
 import java.io.ByteArrayOutputStream;
 import java.io.StringWriter;
+import java.text.MessageFormat;
 
 import javax.xml.transform.OutputKeys;
 import javax.xml.transform.Result;
@@ -30,6 +31,9 @@ import javax.xml.transform.stream.StreamResult;
 
 import org.opengis.cite.validation.SchematronValidator;
 
+import eu.esdihumboldt.hale.common.core.io.report.IOReporter;
+import eu.esdihumboldt.hale.common.core.io.report.impl.IOMessageImpl;
+
 /**
  * Utilities for Schematron validation
  * 
@@ -58,6 +62,21 @@ public abstract class SchematronUtils {
 		}
 	}
 
+	/**
+	 * Report a failed Schematron assertion as error.
+	 * 
+	 * @param reporter the reporter
+	 * @param text the assertion message
+	 * @param test the assertion test
+	 * @param location the location of the element the assertion failed for
+	 */
+	public static void reportFailedAssertion(IOReporter reporter, String text, String test,
+			String location) {
+		String msg = MessageFormat.format("{0} (test = \"{1}\" | location = \"{2}\")", text,
+				test, location);
+		reporter.error(new IOMessageImpl(msg, null));
+	}
+
 	private static void convertResult(StreamResult result, StringWriter writer) {
 		ByteArrayOutputStream baos = (ByteArrayOutputStream) result.getOutputStream();
 		writer.write(baos.toString());
@@ -0,0 +1,576 @@
+/*
+ * Copyright (c) 2026 wetransform GmbH
+ *
+ * All rights reserved. This program and the accompanying materials are made
+ * available under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 3 of the License,
+ * or (at your option) any later version.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Contributors:
+ *     wetransform GmbH <http://www.wetransform.to>
+ */
+
+package eu.esdihumboldt.hale.io.schematron.validator;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Consumer;
+
+import javax.xml.namespace.QName;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLOutputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import javax.xml.stream.XMLStreamWriter;
+import javax.xml.transform.Source;
+import javax.xml.transform.stream.StreamSource;
+
+import org.apache.xml.resolver.CatalogManager;
+import org.apache.xml.resolver.tools.CatalogResolver;
+import org.opengis.cite.validation.SchematronValidator;
+import org.xml.sax.Attributes;
+import org.xml.sax.helpers.DefaultHandler;
+
+import net.sf.saxon.s9api.Processor;
+import net.sf.saxon.s9api.SAXDestination;
+import net.sf.saxon.s9api.SaxonApiException;
+import net.sf.saxon.s9api.XdmDestination;
+import net.sf.saxon.s9api.XsltCompiler;
+import net.sf.saxon.s9api.XsltExecutable;
+import net.sf.saxon.s9api.XsltTransformer;
+
+/**
+ * Schematron validator that streams the XML document and validates each
+ * feature member separately. The Schematron rules are compiled once to an
+ * XSLT stylesheet, which is applied to each child element of the root element
+ * (e.g. a <code>wfs:member</code>) on multiple threads. Each member is
+ * validated in a document consisting of the root element and the member, so
+ * rules with absolute paths still apply. The root element itself is validated
+ * once without any members.<br>
+ * <br>
+ * Rules that relate different feature members to each other (e.g. checking
+ * for unique identifiers) cannot be evaluated in this mode.
+ */
+public class StreamingSchematronValidator {
+
+	/**
+	 * Namespace of the Schematron validation report language.
+	 */
+	private static final String SVRL_NS = "http://purl.oclc.org/dsdl/svrl";
+
+	/**
+	 * A failed Schematron assertion.
+	 */
+	public static class FailedAssertion {
+
+		private final String text;
+		private final String test;
+		private final String location;
+
+		/**
+		 * Create a failed assertion.
+		 * 
+		 * @param text the assertion message
+		 * @param test the assertion test
+		 * @param location the location of the element the assertion failed
+		 *            for
+		 */
+		public FailedAssertion(String text, String test, String location) {
+			this.text = text;
+			this.test = test;
+			this.location = location;
+		}
+
+		/**
+		 * @return the assertion message
+		 */
+		public String getText() {
+			return text;
+		}
+
+		/**
+		 * @return the assertion test
+		 */
+		public String getTest() {
+			return test;
+		}
+
+		/**
+		 * @return the location of the element the assertion failed for
+		 */
+		public String getLocation() {
+			return location;
+		}
+
+	}
+
+	/**
+	 * Collects the failed assertions from the SVRL output of the compiled
+	 * rules.
+	 */
+	private static class FailedAssertionCollector extends DefaultHandler {
+
+		private final int memberIndex;
+
+		private final List<FailedAssertion> assertions = new ArrayList<>();
+
+		private String test;
+
+		private String location;
+
+		private StringBuilder text;
+
+		private boolean inText;
+
+		/**
+		 * @param memberIndex the index of the validated member among the
+		 *            members with the same name, <code>0</code> if the root
+		 *            element is validated
+		 */
+		public FailedAssertionCollector(int memberIndex) {
+			this.memberIndex = memberIndex;
+		}
+
+		@Override
+		public void startElement(String uri, String localName, String qName,
+				Attributes attributes) {
+			if (SVRL_NS.equals(uri)) {
+				if ("failed-assert".equals(localName)) {
+					test = attributes.getValue("test");
+					location = attributes.getValue("location");
+					text = new StringBuilder();
+				}
+				else if ("text".equals(localName) && text != null) {
+					inText = true;
+				}
+			}
+		}
+
+		@Override
+		public void characters(char[] ch, int start, int length) {
+			if (inText) {
+				text.append(ch, start, length);
+			}
+		}
+
+		@Override
+		public void endElement(String uri, String localName, String qName) {
+			if (SVRL_NS.equals(uri)) {
+				if ("text".equals(localName)) {
+					inText = false;
+				}
+				else if ("failed-assert".equals(localName) && text != null) {
+					String fixedLocation = (memberIndex > 0) ? (fixLocation(location, memberIndex))
+							: (location);
+					if (fixedLocation != null) {
+						assertions.add(
+								new FailedAssertion(text.toString().trim(), test, fixedLocation));
+					}
+					text = null;
+				}
+			}
+		}
+
+	}
+
+	private final Processor processor;
+
+	private final XsltExecutable rules;
+
+	private final XMLInputFactory inputFactory;
+
+	private final XMLOutputFactory outputFactory;
+
+	/**
+	 * Create a validator and compile the given Schematron rules.
+	 * 
+	 * @param schematron the Schematron rules
+	 * @throws SaxonApiException if compiling the Schematron rules fails
+	 */
+	public StreamingSchematronValidator(Source schematron) throws SaxonApiException {
+		processor = new Processor(false);
+		processor.setConfigurationProperty("http://saxon.sf.net/feature/recoveryPolicy",
+				Integer.valueOf(0));
+		rules = compileRules(schematron);
+
+		inputFactory = XMLInputFactory.newInstance();
+		inputFactory.setProperty(XMLInputFactory.SUPPORT_DTD, Boolean.FALSE);
+		inputFactory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, Boolean.FALSE);
+		outputFactory = XMLOutputFactory.newInstance();
+	}
+
+	/**
+	 * Validate an XML document.
+	 * 
+	 * @param xml the XML document
+	 * @param threads the number of threads to validate feature members on
+	 * @param handler the handler for failed assertions, called in document
+	 *            order on the calling thread
+	 * @return the number of failed assertions
+	 * @throws IOException if reading the document or validating a feature
+	 *             member fails
+	 */
+	public int validate(InputStream xml, int threads, Consumer<FailedAssertion> handler)
+			throws IOException {
+		ExecutorService executor = null;
+		if (threads > 1) {
+			executor = Executors.newFixedThreadPool(threads, r -> {
+				Thread thread = new Thread(r, "Schematron validation");
+				thread.setDaemon(true);
+				return thread;
+			});
+		}
+
+		Deque<Future<List<FailedAssertion>>> pending = new ArrayDeque<>();
+		int failed = 0;
+		XMLStreamReader reader = null;
+		try {
+			reader = inputFactory.createXMLStreamReader(xml);
+			while (reader.hasNext() && reader.next() != XMLStreamConstants.START_ELEMENT) {
+				// skip prolog
+			}
+			if (!reader.isStartElement()) {
+				throw new IOException("The XML document has no root element");
+			}
+
+			RootElement root = new RootElement(reader);
+			failed += report(validateMember(root.createDocument(null), 0), handler);
+
+			Map<QName, Integer> memberCounts = new HashMap<>();
+			while (reader.hasNext()) {
+				int event = reader.next();
+				if (event == XMLStreamConstants.END_ELEMENT) {
+					// end of root element
+					break;
+				}
+				if (event != XMLStreamConstants.START_ELEMENT) {
+					continue;
+				}
+
+				int memberIndex = memberCounts.merge(reader.getName(), 1, Integer::sum);
+				byte[] document = root.createDocument(reader);
+				if (executor == null) {
+					failed += report(validateMember(document, memberIndex), handler);
+				}
+				else {
+					pending.add(executor.submit(() -> validateMember(document, memberIndex)));
+					while (pending.size() >= threads * 2) {
+						failed += report(getResult(pending.poll()), handler);
+					}
+				}
+			}
+
+			while (!pending.isEmpty()) {
+				failed += report(getResult(pending.poll()), handler);
+			}
+		} catch (XMLStreamException e) {
+			throw new IOException("Error reading the XML document", e);
+		} catch (SaxonApiException e) {
+			throw new IOException("Error validating feature member", e);
+		} finally {
+			if (executor != null) {
+				executor.shutdownNow();
+			}
+			if (reader != null) {
+				try {
+					reader.close();
+				} catch (XMLStreamException e) {
+					// ignore
+				}
+			}
+		}
+		return failed;
+	}
+
+	/**
+	 * Compile the Schematron rules to an XSLT stylesheet producing an SVRL
+	 * report, in the same way as the {@link SchematronValidator}.
+	 * 
+	 * @param schematron the Schematron rules
+	 * @return the compiled stylesheet
+	 * @throws SaxonApiException if compiling the rules fails
+	 */
+	private XsltExecutable compileRules(Source schematron) throws SaxonApiException {
+		XsltCompiler compiler = processor.newXsltCompiler();
+		compiler.setURIResolver(new CatalogResolver(
+				new CatalogManager("org/opengis/cite/validation/CatalogManager.properties")));
+
+		XsltTransformer include = compiler.compile(stylesheet("iso_dsdl_include.xsl")).load();
+		XsltTransformer expand = compiler.compile(stylesheet("iso_abstract_expand.xsl")).load();
+		XsltTransformer svrl = compiler.compile(stylesheet("iso_svrl_xslt2.xsl")).load();
+
+		XdmDestination stylesheet = new XdmDestination();
+		include.setSource(schematron);
+		include.setDestination(expand);
+		expand.setDestination(svrl);
+		svrl.setDestination(stylesheet);
+		include.transform();
+
+		return compiler.compile(stylesheet.getXdmNode().asSource());
+	}
+
+	private static Source stylesheet(String name) {
+		return new StreamSource(SchematronValidator.class.getResourceAsStream(name));
+	}
+
+	/**
+	 * Validate a document containing the root element and a single member.
+	 * 
+	 * @param document the document
+	 * @param memberIndex the index of the member among the members with the
+	 *            same name, <code>0</code> if the document contains no member
+	 * @return the failed assertions
+	 * @throws SaxonApiException if the validation fails
+	 */
+	private List<FailedAssertion> validateMember(byte[] document, int memberIndex)
+			throws SaxonApiException {
+		FailedAssertionCollector collector = new FailedAssertionCollector(memberIndex);
+		XsltTransformer transformer = rules.load();
+		transformer.setSource(new StreamSource(new ByteArrayInputStream(document)));
+		transformer.setDestination(new SAXDestination(collector));
+		transformer.transform();
+		return collector.assertions;
+	}
+
+	private static List<FailedAssertion> getResult(Future<List<FailedAssertion>> future)
+			throws IOException {
+		try {
+			return future.get();
+		} catch (ExecutionException e) {
+			throw new IOException("Error validating feature member", e.getCause());
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IOException("Schematron validation was interrupted", e);
+		}
+	}
+
+	private static int report(List<FailedAssertion> assertions,
+			Consumer<FailedAssertion> handler) {
+		for (FailedAssertion assertion : assertions) {
+			handler.accept(assertion);
+		}
+		return assertions.size();
+	}
+
+	/**
+	 * Adapt the location of a failed assertion reported for a member document
+	 * to the location in the original document.
+	 * 
+	 * @param location the location in the member document
+	 * @param memberIndex the index of the member among the members with the
+	 *            same name
+	 * @return the location in the original document or <code>null</code> if
+	 *         the location refers to the root element, as the root element is
+	 *         validated separately
+	 */
+	static String fixLocation(String location, int memberIndex) {
+		if (location == null || location.isEmpty()) {
+			return location;
+		}
+
+		int member = nextStep(location, 0);
+		if (member < 0 || location.startsWith("/@", member)) {
+			return null;
+		}
+
+		int next = nextStep(location, member);
+		int end = (next < 0) ? (location.length()) : (next);
+		String step = location.substring(member, end);
+
+		int bracket = step.lastIndexOf('[');
+		String position = (bracket >= 0 && step.endsWith("]"))
+				? (step.substring(bracket + 1, step.length() - 1))
+				: ("");
+		if (!position.isEmpty() && position.chars().allMatch(Character::isDigit)) {
+			step = step.substring(0, bracket);
+		}
+		else if (memberIndex == 1) {
+			// position only included for multiple elements with the same name
+			return location;
+		}
+		step = step + "[" + memberIndex + "]";
+
+		return location.substring(0, member) + step + location.substring(end);
+	}
+
+	/**
+	 * Find the start of the next step in a location path.
+	 * 
+	 * @param location the location path
+	 * @param step the start of the current step
+	 * @return the start of the next step or <code>-1</code>
+	 */
+	private static int nextStep(String location, int step) {
+		boolean quoted = false;
+		for (int i = step + 1; i < location.length(); i++) {
+			char c = location.charAt(i);
+			if (c == '\'') {
+				quoted = !quoted;
+			}
+			else if (c == '/' && !quoted) {
+				return i;
+			}
+		}
+		return -1;
+	}
+
+	/**
+	 * The root element of a streamed document, used to create a document for
+	 * each member.
+	 */
+	private class RootElement {
+
+		private final QName name;
+
+		private final List<String[]> namespaces = new ArrayList<>();
+
+		private final List<String[]> attributes = new ArrayList<>();
+
+		/**
+		 * @param reader the reader positioned at the root element
+		 */
+		public RootElement(XMLStreamReader reader) {
+			name = reader.getName();
+			for (int i = 0; i < reader.getNamespaceCount(); i++) {
+				namespaces.add(new String[] { reader.getNamespacePrefix(i),
+						reader.getNamespaceURI(i) });
+			}
+			for (int i = 0; i < reader.getAttributeCount(); i++) {
+				QName attribute = reader.getAttributeName(i);
+				attributes.add(new String[] { attribute.getPrefix(), attribute.getNamespaceURI(),
+						attribute.getLocalPart(), reader.getAttributeValue(i) });
+			}
+		}
+
+		/**
+		 * Create a document with the root element and the member at the
+		 * current position of the given reader.
+		 * 
+		 * @param reader the reader positioned at the start of the member, it
+		 *            is positioned at the end of the member afterwards, or
+		 *            <code>null</code> to create a document without member
+		 * @return the document
+		 * @throws XMLStreamException if reading or writing fails
+		 */
+		public byte[] createDocument(XMLStreamReader reader) throws XMLStreamException {
+			ByteArrayOutputStream out = new ByteArrayOutputStream();
+			XMLStreamWriter writer = outputFactory.createXMLStreamWriter(out, "UTF-8");
+			writer.writeStartDocument("UTF-8", "1.0");
+
+			writer.writeStartElement(name.getPrefix(), name.getLocalPart(), name.getNamespaceURI());
+			for (String[] namespace : namespaces) {
+				writeNamespace(writer, namespace[0], namespace[1]);
+			}
+			for (String[] attribute : attributes) {
+				writeAttribute(writer, attribute[0], attribute[1], attribute[2], attribute[3]);
+			}
+
+			if (reader != null) {
+				copyElement(reader, writer);
+			}
+
+			writer.writeEndElement();
+			writer.writeEndDocument();
+			writer.close();
+			return out.toByteArray();
+		}
+
+	}
+
+	/**
+	 * Copy the element at the current position of the reader.
+	 * 
+	 * @param reader the reader positioned at the start of the element, it is
+	 *            positioned at the end of the element afterwards
+	 * @param writer the writer
+	 * @throws XMLStreamException if reading or writing fails
+	 */
+	private static void copyElement(XMLStreamReader reader, XMLStreamWriter writer)
+			throws XMLStreamException {
+		int depth = 0;
+		while (true) {
+			switch (reader.getEventType()) {
+			case XMLStreamConstants.START_ELEMENT:
+				writer.writeStartElement(nullToEmpty(reader.getPrefix()), reader.getLocalName(),
+						nullToEmpty(reader.getNamespaceURI()));
+				for (int i = 0; i < reader.getNamespaceCount(); i++) {
+					writeNamespace(writer, reader.getNamespacePrefix(i),
+							reader.getNamespaceURI(i));
+				}
+				for (int i = 0; i < reader.getAttributeCount(); i++) {
+					QName attribute = reader.getAttributeName(i);
+					writeAttribute(writer, attribute.getPrefix(), attribute.getNamespaceURI(),
+							attribute.getLocalPart(), reader.getAttributeValue(i));
+				}
+				depth++;
+				break;
+			case XMLStreamConstants.END_ELEMENT:
+				writer.writeEndElement();
+				depth--;
+				break;
+			case XMLStreamConstants.CHARACTERS:
+			case XMLStreamConstants.SPACE:
+				writer.writeCharacters(reader.getTextCharacters(), reader.getTextStart(),
+						reader.getTextLength());
+				break;
+			case XMLStreamConstants.CDATA:
+				writer.writeCData(reader.getText());
+				break;
+			case XMLStreamConstants.COMMENT:
+				writer.writeComment(reader.getText());
+				break;
+			case XMLStreamConstants.PROCESSING_INSTRUCTION:
+				writer.writeProcessingInstruction(reader.getPITarget(), reader.getPIData());
+				break;
+			default:
+				// ignore
+			}
+
+			if (depth == 0) {
+				return;
+			}
+			reader.next();
+		}
+	}
+
+	private static void writeNamespace(XMLStreamWriter writer, String prefix, String uri)
+			throws XMLStreamException {
+		if (prefix == null || prefix.isEmpty()) {
+			writer.writeDefaultNamespace(nullToEmpty(uri));
+		}
+		else {
+			writer.writeNamespace(prefix, nullToEmpty(uri));
+		}
+	}
+
+	private static void writeAttribute(XMLStreamWriter writer, String prefix, String namespace,
+			String localName, String value) throws XMLStreamException {
+		if (namespace == null || namespace.isEmpty()) {
+			writer.writeAttribute(localName, value);
+		}
+		else {
+			writer.writeAttribute(nullToEmpty(prefix), namespace, localName, value);
+		}
+	}
+
+	private static String nullToEmpty(String value) {
+		return (value == null) ? ("") : (value);
+	}
+
+}
@@ -25,6 +25,8 @@ import java.time.Instant
 import java.time.LocalDate
 import java.util.function.Consumer
 
+import org.geotools.data.shapefile.ShapefileDataStore
+import org.geotools.feature.FeatureTypes
 import org.junit.Test
 import org.locationtech.jts.geom.Coordinate
 import org.locationtech.jts.geom.Geometry
@@ -1443,4 +1445,100 @@ class ShapefileInstanceWriterTest {
 			assertEquals(2, num)
 		}
 	}
+
+	/**
+	 * Determine the length of a field of a written Shapefile.
+	 */
+	static int getFieldLength(File file, String field) {
+		ShapefileDataStore store = new ShapefileDataStore(file.toURI().toURL())
+		try {
+			return FeatureTypes.getFieldLength(store.schema.getDescriptor(field))
+		} finally {
+			store.dispose()
+		}
+	}
+
+	@Test
+	void testCharacterFieldWidth() {
+		Schema schema = new SchemaBuilder().schema {
+			city {
+				name(String)
+				location(GeometryProperty)
+			}
+		}
+
+		InstanceCollection instances = new InstanceBuilder(types: schema).createCollection {
+			city {
+				name 'Darmstadt'
+				location( createGeometry('POINT(49.872833 8.651222)', 4326) )
+			}
+
+			city {
+				name 'Frankfurt am Main'
+				location( createGeometry('POINT(50.110556 8.682222)', 4326) )
+			}
+
+			city {
+				// the longest value is not the first value of the property
+				name 'Garmisch'
+				name 'Garmisch-Partenkirchen'
+				location( createGeometry('POINT(47.5 11.083333)', 4326) )
+			}
+		}
+
+		withNewShapefile(schema, instances) { file ->
+			assertEquals('Garmisch-Partenkirchen'.length(), getFieldLength(file, 'name'))
+
+			def loaded = loadInstances(file)
+			def names = []
+			loaded.iterator().withCloseable {
+				while (it.hasNext()) {
+					names << it.next().p.name.value()
+				}
+			}
+			assertEquals(['Darmstadt', 'Frankfurt am Main', 'Garmisch'] as Set, names as Set)
+		}
+	}
+
+	@Test
+	void testWriteMoreFilesThanThreads() {
+		// more Shapefiles than threads used for writing them
+		int typeCount = Runtime.getRuntime().availableProcessors() + 2
+		int instancesPerType = 500
+		def typeNames = (1..typeCount).collect { "type$it" as String }
+
+		Schema schema = new SchemaBuilder().schema {
+			for (String typeName in typeNames) {
+				"$typeName" {
+					name(String)
+					location(GeometryProperty)
+				}
+			}
+		}
+
+		InstanceCollection instances = new InstanceBuilder(types: schema).createCollection {
+			for (int i = 0; i < instancesPerType; i++) {
+				for (String typeName in typeNames) {
+					"$typeName" {
+						name("$typeName-$i" as String)
+						location( createGeometry("POINT($i 8.651222)", 4326) )
+					}
+				}
+			}
+		}
+
+		withNewShapefile(schema, instances) { file ->
+			for (String typeName in typeNames) {
+				def loaded = loadInstances(file, typeName)
+				int num = 0
+				loaded.iterator().withCloseable {
+					while (it.hasNext()) {
+						assert it.next().p.name.value().startsWith("$typeName-")
+						num++
+					}
+				}
+				assertEquals(instancesPerType, num)
+			}
+		}
+	}
 }
@@ -0,0 +1,199 @@
+/*
+ * Copyright (c) 2026 wetransform GmbH
+ *
+ * All rights reserved. This program and the accompanying materials are made
+ * available under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 3 of the License,
+ * or (at your option) any later version.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Contributors:
+ *     wetransform GmbH <http://www.wetransform.to>
+ */
+
+package eu.esdihumboldt.hale.io.shp
+
+import static org.junit.Assert.assertEquals
+import static org.junit.Assert.assertTrue
+
+import org.junit.Test
+
+import eu.esdihumboldt.hale.common.filter.FilterGeoECqlImpl
+import eu.esdihumboldt.hale.common.instance.groovy.InstanceBuilder
+import eu.esdihumboldt.hale.common.instance.model.Filter
+import eu.esdihumboldt.hale.common.instance.model.Instance
+import eu.esdihumboldt.hale.common.instance.model.InstanceCollection
+import eu.esdihumboldt.hale.common.instance.model.InstanceReference
+import eu.esdihumboldt.hale.common.instance.model.ext.InstanceCollection2
+import eu.esdihumboldt.hale.common.schema.geometry.GeometryProperty
+import eu.esdihumboldt.hale.common.schema.groovy.SchemaBuilder
+import eu.esdihumboldt.hale.common.schema.model.Schema
+import eu.esdihumboldt.hale.io.shp.reader.internal.FeatureIdInstanceReference
+import eu.esdihumboldt.hale.io.shp.reader.internal.ShapesInstanceCollection
+
+/**
+ * Tests for filtering instances read from a Shapefile.
+ */
+class ShapesInstanceCollectionTest {
+
+	private static final Map<String, Integer> CITIES = [
+		'Darmstadt': 158254,
+		'München': 1471508,
+		'Frankfurt': 753056,
+		'Kassel': 201048
+	]
+
+	private static final Map<String, String> LOCATIONS = [
+		'Darmstadt': 'POINT(49.872833 8.651222)',
+		'München': 'POINT(48.137222 11.575556)',
+		'Frankfurt': 'POINT(50.110556 8.682222)',
+		'Kassel': 'POINT(51.316667 9.5)'
+	]
+
+	private static void withCities(Closure handler) {
+		Schema schema = new SchemaBuilder().schema {
+			city {
+				name(String)
+				population(Integer)
+				location(GeometryProperty)
+			}
+		}
+
+		InstanceCollection instances = new InstanceBuilder(types: schema).createCollection {
+			CITIES.each { cityName, cityPopulation ->
+				city {
+					name cityName
+					population cityPopulation
+					location( ShapefileInstanceWriterTest.createGeometry(LOCATIONS[cityName], 4326) )
+				}
+			}
+		}
+
+		ShapefileInstanceWriterTest.withNewShapefile(schema, instances) { file ->
+			InstanceCollection loaded = ShapefileInstanceWriterTest.loadInstances(file)
+			InstanceCollection collection = ((InstanceCollection2) loaded).fanout().values().first()
+			assertTrue(collection instanceof ShapesInstanceCollection)
+			handler(collection)
+		}
+	}
+
+	private static Set<String> names(InstanceCollection instances) {
+		Set<String> result = new HashSet<>()
+		instances.iterator().withCloseable {
+			while (it.hasNext()) {
+				Instance inst = it.next()
+				result << inst.p.name.value()
+			}
+		}
+		result
+	}
+
+	/**
+	 * Select instances and compare the result with the instances matched by
+	 * evaluating the filter on all instances.
+	 */
+	private static Set<String> select(InstanceCollection instances, String cql) {
+		Filter filter = new FilterGeoECqlImpl(cql)
+
+		Set<String> expected = new HashSet<>()
+		instances.iterator().withCloseable {
+			while (it.hasNext()) {
+				Instance inst = it.next()
+				if (filter.match(inst)) {
+					expected << inst.p.name.value()
+				}
+			}
+		}
+
+		Set<String> selected = names(instances.select(filter))
+		assertEquals(expected, selected)
+		selected
+	}
+
+	@Test
+	void testAttributeFilter() {
+		withCities { InstanceCollection instances ->
+			assertEquals(['München', 'Frankfurt'] as Set, select(instances, 'population > 500000'))
+			assertEquals(['Kassel'] as Set, select(instances, "name = 'Kassel'"))
+			assertEquals(['Darmstadt', 'Kassel'] as Set,
+					select(instances, "name = 'Darmstadt' OR name LIKE 'Kas%'"))
+		}
+	}
+
+	@Test
+	void testSpatialFilter() {
+		withCities { InstanceCollection instances ->
+			assertEquals(['München'] as Set, select(instances, 'BBOX(the_geom, 48, 11, 49, 12)'))
+			assertEquals(['Darmstadt', 'Frankfurt'] as Set,
+					select(instances, 'BBOX(the_geom, 49, 8, 51, 9) AND population > 100000'))
+			assertEquals(['Frankfurt'] as Set,
+					select(instances, 'INTERSECTS(the_geom, POLYGON((50 8, 51 8, 51 9, 50 9, 50 8)))'))
+		}
+	}
+
+	@Test
+	void testCombinedSelect() {
+		withCities { InstanceCollection instances ->
+			InstanceCollection selected = instances
+					.select(new FilterGeoECqlImpl('population > 200000'))
+					.select(new FilterGeoECqlImpl('BBOX(the_geom, 49, 8, 52, 10)'))
+			assertEquals(['Frankfurt', 'Kassel'] as Set, names(selected))
+		}
+	}
+
+	@Test
+	void testInstanceReference() {
+		withCities { InstanceCollection instances ->
+			instances.iterator().withCloseable {
+				while (it.hasNext()) {
+					Instance inst = it.next()
+					InstanceReference ref = instances.getReference(inst)
+					assertTrue(ref instanceof FeatureIdInstanceReference)
+
+					Instance resolved = instances.getInstance(ref)
+					assertEquals(inst.p.name.value(), resolved.p.name.value())
+					assertEquals(inst.p.population.value(), resolved.p.population.value())
+				}
+			}
+		}
+	}
+
+	@Test
+	void testInstanceReferences() {
+		withCities { InstanceCollection instances ->
+			List<InstanceReference> refs = []
+			Map<String, Integer> expected = [:]
+			instances.iterator().withCloseable {
+				while (it.hasNext()) {
+					Instance inst = it.next()
+					String name = inst.p.name.value()
+					if (name != 'München') {
+						refs << instances.getReference(inst)
+						expected[name] = inst.p.population.value()
+					}
+				}
+			}
+			assertEquals(3, refs.size())
+
+			InstanceCollection resolved = instances.getInstances(refs)
+			// resolved with a single query instead of one per reference
+			assertTrue(resolved instanceof ShapesInstanceCollection)
+
+			Map<String, Integer> actual = [:]
+			resolved.iterator().withCloseable {
+				while (it.hasNext()) {
+					Instance inst = it.next()
+					actual[inst.p.name.value()] = inst.p.population.value()
+				}
+			}
+			assertEquals(expected, actual)
+
+			// selecting on the resolved instances
+			assertEquals(['Frankfurt', 'Kassel'] as Set,
+					select(resolved, 'population > 200000'))
+		}
+	}
+
+}
@@ -0,0 +1,101 @@
+/*
+ * Copyright (c) 2026 wetransform GmbH
+ *
+ * All rights reserved. This program and the accompanying materials are made
+ * available under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 3 of the License,
+ * or (at your option) any later version.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Contributors:
+ *     wetransform GmbH <http://www.wetransform.to>
+ */
+
+package eu.esdihumboldt.hale.io.shp.reader.internal;
+
+import eu.esdihumboldt.hale.common.instance.model.DataSet;
+import eu.esdihumboldt.hale.common.instance.model.Identifiable;
+import eu.esdihumboldt.hale.common.instance.model.InstanceReference;
+
+/**
+ * Instance reference based on the identifier of a feature in a Shapefile.
+ */
+public class FeatureIdInstanceReference implements InstanceReference, Identifiable {
+
+	private final DataSet dataSet;
+
+	private final String featureId;
+
+	/**
+	 * Create a reference for an instance, using the given feature identifier.
+	 * 
+	 * @param dataSet the instance data set
+	 * @param featureId the identifier of the feature
+	 */
+	public FeatureIdInstanceReference(DataSet dataSet, String featureId) {
+		super();
+		this.dataSet = dataSet;
+		this.featureId = featureId;
+	}
+
+	/**
+	 * @see InstanceReference#getDataSet()
+	 */
+	@Override
+	public DataSet getDataSet() {
+		return dataSet;
+	}
+
+	/**
+	 * @return the identifier of the feature
+	 */
+	public String getFeatureId() {
+		return featureId;
+	}
+
+	/**
+	 * @see java.lang.Object#hashCode()
+	 */
+	@Override
+	public int hashCode() {
+		final int prime = 31;
+		int result = 1;
+		result = prime * result + ((dataSet == null) ? 0 : dataSet.hashCode());
+		result = prime * result + ((featureId == null) ? 0 : featureId.hashCode());
+		return result;
+	}
+
+	/**
+	 * @see java.lang.Object#equals(java.lang.Object)
+	 */
+	@Override
+	public boolean equals(Object obj) {
+		if (this == obj)
+			return true;
+		if (obj == null)
+			return false;
+		if (getClass() != obj.getClass())
+			return false;
+		FeatureIdInstanceReference other = (FeatureIdInstanceReference) obj;
+		if (dataSet != other.dataSet)
+			return false;
+		if (featureId == null) {
+			if (other.featureId != null)
+				return false;
+		}
+		else if (!featureId.equals(other.featureId))
+			return false;
+		return true;
+	}
+
+	/**
+	 * @see Identifiable#getId()
+	 */
+	@Override
+	public Object getId() {
+		return featureId;
+	}
+
+}
@@ -0,0 +1,241 @@
+/*
+ * Copyright (c) 2026 wetransform GmbH
+ *
+ * All rights reserved. This program and the accompanying materials are made
+ * available under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 3 of the License,
+ * or (at your option) any later version.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Contributors:
+ *     wetransform GmbH <http://www.wetransform.to>
+ */
+
+package eu.esdihumboldt.hale.io.shp.reader.internal;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import javax.xml.namespace.QName;
+
+import org.geotools.factory.CommonFactoryFinder;
+import org.geotools.filter.visitor.DuplicatingFilterVisitor;
+import org.locationtech.jts.geom.Geometry;
+import org.opengis.filter.And;
+import org.opengis.filter.BinaryComparisonOperator;
+import org.opengis.filter.Filter;
+import org.opengis.filter.FilterFactory2;
+import org.opengis.filter.Or;
+import org.opengis.filter.PropertyIsBetween;
+import org.opengis.filter.PropertyIsLike;
+import org.opengis.filter.PropertyIsNull;
+import org.opengis.filter.expression.Expression;
+import org.opengis.filter.expression.Literal;
+import org.opengis.filter.expression.PropertyName;
+import org.opengis.filter.spatial.BBOX;
+import org.opengis.filter.spatial.Intersects;
+import org.opengis.geometry.BoundingBox;
+import org.opengis.referencing.crs.CoordinateReferenceSystem;
+
+import eu.esdihumboldt.hale.common.filter.AbstractGeotoolsFilter;
+import eu.esdihumboldt.hale.common.instance.helper.PropertyResolver;
+
+/**
+ * Translates hale filters to filters that can be evaluated by a Shapefile data
+ * store, to only read the features that potentially match.<br>
+ * <br>
+ * Supported are bounding box and intersects filters and simple attribute
+ * comparisons, combined with AND or OR. Parts of a conjunction that cannot be
+ * translated are omitted, so the translated filter may match more features
+ * than the original filter. The original filter thus still has to be applied
+ * to the created instances.
+ */
+class ShapeFilterTranslator {
+
+	private static final FilterFactory2 ff = CommonFactoryFinder.getFilterFactory2();
+
+	/**
+	 * Instance property names mapped to the names of the feature attributes.
+	 */
+	private final Map<QName, String> attributeNames;
+
+	private boolean spatial = false;
+
+	/**
+	 * Create a filter translator.
+	 * 
+	 * @param attributeNames the names of the instance properties mapped to the
+	 *            names of the corresponding feature attributes
+	 */
+	public ShapeFilterTranslator(Map<QName, String> attributeNames) {
+		this.attributeNames = attributeNames;
+	}
+
+	/**
+	 * Translate a hale filter.
+	 * 
+	 * @param filter the filter to translate
+	 * @return the filter to evaluate on the features or <code>null</code> if
+	 *         the filter does not restrict the features to read
+	 */
+	public Filter translate(eu.esdihumboldt.hale.common.instance.model.Filter filter) {
+		if (filter instanceof AbstractGeotoolsFilter) {
+			return translate(((AbstractGeotoolsFilter) filter).getInternFilter());
+		}
+		return null;
+	}
+
+	/**
+	 * @return if a translated filter contains a spatial filter
+	 */
+	public boolean isSpatial() {
+		return spatial;
+	}
+
+	private Filter translate(Filter filter) {
+		if (filter == Filter.EXCLUDE) {
+			return filter;
+		}
+
+		if (filter instanceof And) {
+			// parts that cannot be translated can be omitted
+			List<Filter> children = new ArrayList<>();
+			for (Filter child : ((And) filter).getChildren()) {
+				Filter translated = translate(child);
+				if (translated != null) {
+					children.add(translated);
+				}
+			}
+			if (children.isEmpty()) {
+				return null;
+			}
+			if (children.size() == 1) {
+				return children.get(0);
+			}
+			return ff.and(children);
+		}
+
+		if (filter instanceof Or) {
+			// all parts must be translated
+			List<Filter> children = new ArrayList<>();
+			for (Filter child : ((Or) filter).getChildren()) {
+				Filter translated = translate(child);
+				if (translated == null) {
+					return null;
+				}
+				children.add(translated);
+			}
+			return ff.or(children);
+		}
+
+		boolean supported;
+		if (filter instanceof BinaryComparisonOperator) {
+			BinaryComparisonOperator op = (BinaryComparisonOperator) filter;
+			supported = isSupported(op.getExpression1()) && isSupported(op.getExpression2());
+		}
+		else if (filter instanceof PropertyIsBetween) {
+			PropertyIsBetween op = (PropertyIsBetween) filter;
+			supported = isSupported(op.getExpression()) && isSupported(op.getLowerBoundary())
+					&& isSupported(op.getUpperBoundary());
+		}
+		else if (filter instanceof PropertyIsLike) {
+			supported = isSupported(((PropertyIsLike) filter).getExpression());
+		}
+		else if (filter instanceof PropertyIsNull) {
+			supported = isSupported(((PropertyIsNull) filter).getExpression());
+		}
+		else if (filter instanceof BBOX) {
+			BBOX op = (BBOX) filter;
+			BoundingBox bounds = op.getBounds();
+			// only compare in the CRS of the Shapefile
+			supported = bounds != null && bounds.getCoordinateReferenceSystem() == null
+					&& isSupported(op.getExpression1());
+			spatial |= supported;
+		}
+		else if (filter instanceof Intersects) {
+			Intersects op = (Intersects) filter;
+			supported = isSupportedGeometry(op.getExpression1())
+					&& isSupportedGeometry(op.getExpression2());
+			spatial |= supported;
+		}
+		else {
+			supported = false;
+		}
+
+		if (supported) {
+			return (Filter) filter.accept(new AttributeNameVisitor(), null);
+		}
+		return null;
+	}
+
+	private boolean isSupported(Expression expression) {
+		if (expression instanceof Literal) {
+			return true;
+		}
+		if (expression instanceof PropertyName) {
+			return getAttributeName((PropertyName) expression) != null;
+		}
+		return false;
+	}
+
+	private boolean isSupportedGeometry(Expression expression) {
+		if (expression instanceof Literal) {
+			Object value = ((Literal) expression).getValue();
+			// only compare in the CRS of the Shapefile
+			return value instanceof Geometry && !(((Geometry) value)
+					.getUserData() instanceof CoordinateReferenceSystem);
+		}
+		return isSupported(expression);
+	}
+
+	/**
+	 * Determine the name of the feature attribute a property name in a filter
+	 * refers to.
+	 * 
+	 * @param property the property name
+	 * @return the attribute name or <code>null</code> if the property name
+	 *         does not refer to a feature attribute
+	 */
+	private String getAttributeName(PropertyName property) {
+		List<QName> path = PropertyResolver.getQNamesFromPath(property.getPropertyName());
+		if (path.size() != 1) {
+			return null;
+		}
+		QName name = path.get(0);
+
+		String result = null;
+		for (Map.Entry<QName, String> entry : attributeNames.entrySet()) {
+			QName candidate = entry.getKey();
+			if (candidate.getLocalPart().equals(name.getLocalPart())
+					&& (name.getNamespaceURI().isEmpty()
+							|| name.getNamespaceURI().equals(candidate.getNamespaceURI()))) {
+				if (result != null) {
+					// not unique
+					return null;
+				}
+				result = entry.getValue();
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * Replaces property names by the names of the feature attributes.
+	 */
+	private class AttributeNameVisitor extends DuplicatingFilterVisitor {
+
+		@Override
+		public Object visit(PropertyName expression, Object extraData) {
+			String attribute = getAttributeName(expression);
+			if (attribute != null) {
+				return getFactory(extraData).property(attribute);
+			}
+			return super.visit(expression, extraData);
+		}
+
+	}
+
+}
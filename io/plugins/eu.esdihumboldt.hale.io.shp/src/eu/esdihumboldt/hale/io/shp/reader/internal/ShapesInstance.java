@@ -0,0 +1,56 @@
+/*
+ * Copyright (c) 2026 wetransform GmbH
+ *
+ * All rights reserved. This program and the accompanying materials are made
+ * available under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 3 of the License,
+ * or (at your option) any later version.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Contributors:
+ *     wetransform GmbH <http://www.wetransform.to>
+ */
+
+package eu.esdihumboldt.hale.io.shp.reader.internal;
+
+import eu.esdihumboldt.hale.common.instance.model.Identifiable;
+import eu.esdihumboldt.hale.common.instance.model.impl.DefaultInstance;
+import eu.esdihumboldt.hale.common.schema.model.TypeDefinition;
+
+/**
+ * Instance read from a Shapefile. Stores the identifier of the feature it was
+ * created from.
+ */
+public class ShapesInstance extends DefaultInstance implements Identifiable {
+
+	private final String featureId;
+
+	/**
+	 * Create an instance with an associated feature identifier.
+	 * 
+	 * @param typeDef the type definition
+	 * @param featureId the identifier of the feature
+	 */
+	public ShapesInstance(TypeDefinition typeDef, String featureId) {
+		super(typeDef, null); // not necessary to specify a data set
+		this.featureId = featureId;
+	}
+
+	/**
+	 * @return the identifier of the feature the instance was created from
+	 */
+	public String getFeatureId() {
+		return featureId;
+	}
+
+	/**
+	 * @see Identifiable#getId()
+	 */
+	@Override
+	public Object getId() {
+		return featureId;
+	}
+
+}
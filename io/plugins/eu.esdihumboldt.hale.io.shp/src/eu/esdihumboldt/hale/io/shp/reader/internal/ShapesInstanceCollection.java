@@ -17,22 +17,31 @@
 package eu.esdihumboldt.hale.io.shp.reader.internal;
 
 import java.io.IOException;
-import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.stream.Collectors;
 
 import javax.xml.namespace.QName;
 
+import org.geotools.data.DataStore;
+import org.geotools.data.Query;
+import org.geotools.data.shapefile.ShapefileDataStore;
 import org.geotools.data.simple.SimpleFeatureIterator;
 import org.geotools.data.simple.SimpleFeatureSource;
+import org.geotools.factory.CommonFactoryFinder;
 import org.opengis.feature.Property;
 import org.opengis.feature.simple.SimpleFeature;
 import org.opengis.feature.type.AttributeDescriptor;
 import org.opengis.feature.type.GeometryDescriptor;
+import org.opengis.filter.FilterFactory2;
+import org.opengis.filter.identity.FeatureId;
 import org.opengis.referencing.crs.CoordinateReferenceSystem;
 
 import com.google.common.collect.ImmutableMap;
@@ -54,23 +63,35 @@ import eu.esdihumboldt.hale.common.instance.model.MutableInstance;
 import eu.esdihumboldt.hale.common.instance.model.ResourceIterator;
 import eu.esdihumboldt.hale.common.instance.model.ext.InstanceCollection2;
 import eu.esdihumboldt.hale.common.instance.model.ext.InstanceIterator;
-import eu.esdihumboldt.hale.common.instance.model.impl.DefaultInstance;
 import eu.esdihumboldt.hale.common.instance.model.impl.FilteredInstanceCollection;
 import eu.esdihumboldt.hale.common.instance.model.impl.PseudoInstanceReference;
+import eu.esdihumboldt.hale.common.instance.model.impl.ReferenceInstanceCollection;
 import eu.esdihumboldt.hale.common.schema.geometry.CRSDefinition;
 import eu.esdihumboldt.hale.common.schema.model.ChildDefinition;
 import eu.esdihumboldt.hale.common.schema.model.TypeDefinition;
 import eu.esdihumboldt.hale.io.shp.ShapefileConstants;
 
 /**
- * Instance collection backed by a Shapefile data store.
+ * Instance collection backed by a Shapefile data store. Supported filters are
+ * evaluated by the data store, so only potentially matching features are read.
+ * For spatial filters a spatial index is created if the Shapefile has none,
+ * unless disabled by setting the system property
+ * {@value #SYSTEM_PROPERTY_SPATIAL_INDEX} to <code>false</code>.
  * 
  * @author Simon Templer
  */
 public class ShapesInstanceCollection implements InstanceCollection2 {
 
+	/**
+	 * Name of the system property that allows disabling the creation of
+	 * spatial indexes.
+	 */
+	public static final String SYSTEM_PROPERTY_SPATIAL_INDEX = "hale.shp.spatialIndex";
+
 	private static final ALogger log = ALoggerFactory.getLogger(ShapesInstanceCollection.class);
 
+	private static final FilterFactory2 ff = CommonFactoryFinder.getFilterFactory2();
+
 	/**
 	 * Iterates through a shape data store
 	 */
@@ -83,12 +104,21 @@ public class ShapesInstanceCollection implements InstanceCollection2 {
 		/**
 		 * Create a new iterator on the data store.
 		 * 
+		 * @param query the filter for the features to read, <code>null</code>
+		 *            to read all features
 		 * @throws IOException if reading the data store fails
 		 */
-		public ShapesIterator() throws IOException {
+		public ShapesIterator(org.opengis.filter.Filter query) throws IOException {
 			super();
 
-			currentIterator = source.getFeatures().features();
+			if (query == null) {
+				currentIterator = source.getFeatures().features();
+			}
+			else {
+				currentIterator = source
+						.getFeatures(new Query(source.getSchema().getTypeName(), query))
+						.features();
+			}
 		}
 
 		@Override
@@ -119,40 +149,22 @@ public class ShapesInstanceCollection implements InstanceCollection2 {
 		 * @return the instance or <code>null</code> if it couldn't be created
 		 */
 		private Instance createInstance(TypeDefinition type, SimpleFeature feature) {
-			MutableInstance instance = new DefaultInstance(type, null);
+			MutableInstance instance = new ShapesInstance(type, feature.getID());
 
 			for (Property property : feature.getProperties()) {
 				Object value = property.getValue();
-				QName propertyName = new QName(property.getName().getNamespaceURI(),
+				QName attributeName = new QName(property.getName().getNamespaceURI(),
 						property.getName().getLocalPart());
 
-				if (type.getChild(propertyName) == null) {
-					final QName currentPropertyName = propertyName;
-					List<? extends ChildDefinition<?>> candidates = new ArrayList<>();
-					if (matchShortPropertyNames) {
-						// Try to guess the property name in cases where the
-						// names in the source file are shortened versions of
-						// the target type properties
-
-						candidates = type.getChildren().stream()
-								.filter(c -> c.getName().getLocalPart()
-										.startsWith(currentPropertyName.getLocalPart()))
-								.collect(Collectors.toList());
-					}
-					if (candidates.size() == 1) {
-						// unique child property found whose name starts with
-						// the source property's name
-						propertyName = candidates.get(0).getName();
-					}
-					else {
-						if (!missingProperties.contains(propertyName)) {
-							log.warn("Discarding values of property " + propertyName.getLocalPart()
-									+ " as it is not contained in the schema type.");
-							missingProperties.add(propertyName);
-						}
-						// only add values for properties contained in the type
-						continue;
+				QName propertyName = resolvePropertyName(attributeName);
+				if (propertyName == null) {
+					if (!missingProperties.contains(attributeName)) {
+						log.warn("Discarding values of property " + attributeName.getLocalPart()
+								+ " as it is not contained in the schema type.");
+						missingProperties.add(attributeName);
 					}
+					// only add values for properties contained in the type
+					continue;
 				}
 
 				// wrap geometry
@@ -261,6 +273,18 @@ public class ShapesInstanceCollection implements InstanceCollection2 {
 	private final String fileName;
 	private final boolean matchShortPropertyNames;
 
+	/**
+	 * The filter for the features to read, <code>null</code> for all
+	 * features.
+	 */
+	private final org.opengis.filter.Filter query;
+
+	/**
+	 * States if the spatial index of the Shapefile was checked, shared by all
+	 * collections on the same feature source.
+	 */
+	private final AtomicBoolean indexChecked;
+
 	/**
 	 * Cache for resolved CRSs
 	 */
@@ -280,11 +304,74 @@ public class ShapesInstanceCollection implements InstanceCollection2 {
 	 */
 	public ShapesInstanceCollection(SimpleFeatureSource features, TypeDefinition type,
 			CRSProvider crsProvider, String fileName, boolean matchShortPropertyNames) {
+		this(features, type, crsProvider, fileName, matchShortPropertyNames, null,
+				new AtomicBoolean());
+	}
+
+	private ShapesInstanceCollection(SimpleFeatureSource features, TypeDefinition type,
+			CRSProvider crsProvider, String fileName, boolean matchShortPropertyNames,
+			org.opengis.filter.Filter query, AtomicBoolean indexChecked) {
 		this.source = features;
 		this.type = type;
 		this.crsProvider = crsProvider;
 		this.fileName = fileName;
 		this.matchShortPropertyNames = matchShortPropertyNames;
+		this.query = query;
+		this.indexChecked = indexChecked;
+	}
+
+	/**
+	 * Determine the name of the instance property a feature attribute is
+	 * mapped to.
+	 * 
+	 * @param attributeName the name of the feature attribute
+	 * @return the name of the property or <code>null</code> if the attribute
+	 *         is not mapped to a property of the type
+	 */
+	private QName resolvePropertyName(QName attributeName) {
+		if (type.getChild(attributeName) != null) {
+			return attributeName;
+		}
+
+		if (matchShortPropertyNames) {
+			// Try to guess the property name in cases where the names in the
+			// source file are shortened versions of the target type
+			// properties
+			List<? extends ChildDefinition<?>> candidates = type.getChildren().stream()
+					.filter(c -> c.getName().getLocalPart()
+							.startsWith(attributeName.getLocalPart()))
+					.collect(Collectors.toList());
+			if (candidates.size() == 1) {
+				// unique child property found whose name starts with the
+				// source property's name
+				return candidates.get(0).getName();
+			}
+		}
+
+		return null;
+	}
+
+	/**
+	 * Create a spatial index for the Shapefile if it has none or it is
+	 * outdated. This is only checked once.
+	 */
+	private void checkSpatialIndex() {
+		if (!indexChecked.compareAndSet(false, true) || "false"
+				.equalsIgnoreCase(System.getProperty(SYSTEM_PROPERTY_SPATIAL_INDEX))) {
+			return;
+		}
+
+		DataStore store = source.getDataStore();
+		if (store instanceof ShapefileDataStore) {
+			try {
+				if (((ShapefileDataStore) store).createSpatialIndex(false)) {
+					log.info("Created spatial index for Shapefile " + fileName);
+				}
+			} catch (Exception e) {
+				// e.g. if the location is not writable
+				log.warn("Could not create spatial index for Shapefile " + fileName, e);
+			}
+		}
 	}
 
 	/**
@@ -292,7 +379,11 @@ public class ShapesInstanceCollection implements InstanceCollection2 {
 	 */
 	@Override
 	public InstanceReference getReference(Instance instance) {
-		// TODO data store based instance reference?
+		if (instance instanceof ShapesInstance) {
+			return new FeatureIdInstanceReference(instance.getDataSet(),
+					((ShapesInstance) instance).getFeatureId());
+		}
+
 		return new PseudoInstanceReference(instance);
 	}
 
@@ -301,7 +392,21 @@ public class ShapesInstanceCollection implements InstanceCollection2 {
 	 */
 	@Override
 	public Instance getInstance(InstanceReference reference) {
-		// TODO data store based instance reference?
+		if (reference instanceof FeatureIdInstanceReference) {
+			String featureId = ((FeatureIdInstanceReference) reference).getFeatureId();
+
+			// only the referenced feature is read
+			try (ShapesIterator it = new ShapesIterator(
+					ff.id(Collections.singleton(ff.featureId(featureId))))) {
+				if (it.hasNext()) {
+					return it.next();
+				}
+			} catch (IOException e) {
+				log.error("Error reading feature from Shapefile", e);
+			}
+			return null;
+		}
+
 		if (reference instanceof PseudoInstanceReference) {
 			return ((PseudoInstanceReference) reference).getInstance();
 		}
@@ -309,13 +414,40 @@ public class ShapesInstanceCollection implements InstanceCollection2 {
 		return null;
 	}
 
+	/**
+	 * Resolves references to features with a single query for all referenced
+	 * feature IDs. The resulting collection contains each referenced feature
+	 * once, in the order of the Shapefile.
+	 * 
+	 * @see InstanceResolver#getInstances(Collection)
+	 */
+	@Override
+	public InstanceCollection getInstances(Collection<? extends InstanceReference> references) {
+		Set<FeatureId> featureIds = new LinkedHashSet<>();
+		for (InstanceReference reference : references) {
+			if (!(reference instanceof FeatureIdInstanceReference)) {
+				// resolve each reference on its own
+				return new ReferenceInstanceCollection(references, this);
+			}
+			featureIds.add(
+					ff.featureId(((FeatureIdInstanceReference) reference).getFeatureId()));
+		}
+
+		if (featureIds.isEmpty()) {
+			return new ReferenceInstanceCollection(references, this);
+		}
+
+		return new ShapesInstanceCollection(source, type, crsProvider, fileName,
+				matchShortPropertyNames, ff.id(featureIds), indexChecked);
+	}
+
 	/**
 	 * @see InstanceCollection#iterator()
 	 */
 	@Override
 	public ResourceIterator<Instance> iterator() {
 		try {
-			return new ShapesIterator();
+			return new ShapesIterator(query);
 		} catch (IOException e) {
 			throw new IllegalStateException("Could not read shapefile", e);
 		}
@@ -355,7 +487,32 @@ public class ShapesInstanceCollection implements InstanceCollection2 {
 	 */
 	@Override
 	public InstanceCollection select(Filter filter) {
-		return FilteredInstanceCollection.applyFilter(this, filter);
+		Map<QName, String> attributeNames = new HashMap<>();
+		for (AttributeDescriptor attribute : source.getSchema().getAttributeDescriptors()) {
+			QName propertyName = resolvePropertyName(new QName(
+					attribute.getName().getNamespaceURI(), attribute.getLocalName()));
+			if (propertyName != null) {
+				attributeNames.put(propertyName, attribute.getLocalName());
+			}
+		}
+
+		ShapeFilterTranslator translator = new ShapeFilterTranslator(attributeNames);
+		org.opengis.filter.Filter translated = translator.translate(filter);
+		if (translated == null) {
+			return FilteredInstanceCollection.applyFilter(this, filter);
+		}
+
+		if (translator.isSpatial()) {
+			checkSpatialIndex();
+		}
+
+		org.opengis.filter.Filter combined = (query == null) ? (translated)
+				: (ff.and(query, translated));
+		ShapesInstanceCollection selected = new ShapesInstanceCollection(source, type,
+				crsProvider, fileName, matchShortPropertyNames, combined, indexChecked);
+
+		// the translated filter may match additional features
+		return FilteredInstanceCollection.applyFilter(selected, filter);
 	}
 
 	@Override
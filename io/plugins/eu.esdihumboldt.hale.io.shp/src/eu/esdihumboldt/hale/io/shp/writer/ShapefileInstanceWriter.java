@@ -15,10 +15,13 @@
 
 package eu.esdihumboldt.hale.io.shp.writer;
 
+import java.io.Closeable;
 import java.io.File;
 import java.io.IOException;
+import java.io.InterruptedIOException;
 import java.io.Serializable;
 import java.net.URI;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.FileSystems;
 import java.nio.file.Paths;
 import java.util.ArrayList;
@@ -29,21 +32,25 @@ import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.stream.Collectors;
 
-import org.geotools.data.DefaultTransaction;
+import org.geotools.data.FeatureWriter;
 import org.geotools.data.Transaction;
-import org.geotools.data.collection.ListFeatureCollection;
 import org.geotools.data.shapefile.ShapefileDataStore;
 import org.geotools.data.shapefile.ShapefileDataStoreFactory;
-import org.geotools.data.simple.SimpleFeatureCollection;
-import org.geotools.data.simple.SimpleFeatureSource;
-import org.geotools.data.simple.SimpleFeatureStore;
 import org.geotools.feature.simple.SimpleFeatureBuilder;
 import org.geotools.feature.simple.SimpleFeatureTypeBuilder;
 import org.locationtech.jts.geom.Geometry;
 import org.opengis.feature.simple.SimpleFeature;
 import org.opengis.feature.simple.SimpleFeatureType;
+import org.opengis.feature.type.AttributeDescriptor;
 import org.opengis.feature.type.Name;
 
 import eu.esdihumboldt.hale.common.core.io.IOProviderConfigurationException;
@@ -89,6 +96,183 @@ public class ShapefileInstanceWriter extends AbstractGeoInstanceWriter {
 	 */
 	private final String REGEX = "(?<!(^|[A-Z]))(?=[A-Z])|(?<!^)(?=[A-Z][a-z])|_|((?<=[a-zA-Z])(?=[0-9]))";
 
+	/**
+	 * Maximum width of a character field in a DBF file.
+	 */
+	private static final int MAX_FIELD_WIDTH = 254;
+
+	/**
+	 * Number of features buffered for all Shapefiles written concurrently.
+	 */
+	private static final int FEATURE_BUFFER_SIZE = 4096;
+
+	/**
+	 * Minimum number of features buffered per Shapefile.
+	 */
+	private static final int MIN_FILE_BUFFER_SIZE = 128;
+
+	/**
+	 * Marks the end of the features in a feature buffer.
+	 */
+	private static final Object END = new Object();
+
+	/**
+	 * Appends features to a Shapefile. If an executor is used, the features
+	 * are buffered and written by tasks of the executor, with at most one task
+	 * writing to the Shapefile at a time. The tasks complete when the buffer
+	 * is drained, so the executor may have fewer threads than there are
+	 * Shapefiles.
+	 */
+	private static class FeatureFileWriter implements Closeable {
+
+		private final FeatureWriter<SimpleFeatureType, SimpleFeature> writer;
+
+		private final ExecutorService executor;
+
+		private final BlockingQueue<Object> buffer;
+
+		/**
+		 * States if a task draining the buffer is scheduled or running.
+		 */
+		private final AtomicBoolean scheduled = new AtomicBoolean();
+
+		/**
+		 * Released when all features were written or writing failed.
+		 */
+		private final CountDownLatch done = new CountDownLatch(1);
+
+		private volatile Exception failure;
+
+		private boolean closed;
+
+		/**
+		 * Create a writer appending features to a Shapefile.
+		 * 
+		 * @param dataStore the Shapefile data store
+		 * @param executor the executor to write the features with,
+		 *            <code>null</code> to write the features synchronously
+		 * @param bufferSize the number of features to buffer if writing with
+		 *            an executor
+		 * @throws IOException if the feature writer cannot be created
+		 */
+		public FeatureFileWriter(ShapefileDataStore dataStore, ExecutorService executor,
+				int bufferSize) throws IOException {
+			/*
+			 * Use auto commit, as with a transaction the features would be
+			 * held in memory until it is committed.
+			 */
+			this.writer = dataStore.getFeatureWriterAppend(dataStore.getTypeNames()[0],
+					Transaction.AUTO_COMMIT);
+			this.executor = executor;
+			this.buffer = (executor != null) ? (new ArrayBlockingQueue<>(bufferSize)) : (null);
+		}
+
+		/**
+		 * Write a feature to the Shapefile.
+		 * 
+		 * @param feature the feature to write
+		 * @throws IOException if writing the feature failed
+		 */
+		public void write(SimpleFeature feature) throws IOException {
+			if (buffer == null) {
+				append(feature);
+			}
+			else {
+				enqueue(feature);
+			}
+		}
+
+		private void append(SimpleFeature feature) throws IOException {
+			SimpleFeature target = writer.next();
+			target.setAttributes(feature.getAttributes());
+			writer.write();
+		}
+
+		private void enqueue(Object element) throws IOException {
+			try {
+				while (!buffer.offer(element, 100, TimeUnit.MILLISECONDS)) {
+					checkFailure();
+				}
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				throw new InterruptedIOException("Interrupted writing feature");
+			}
+			checkFailure();
+
+			if (scheduled.compareAndSet(false, true)) {
+				executor.execute(this::drain);
+			}
+		}
+
+		/**
+		 * Write the buffered features until the buffer is empty.
+		 */
+		private void drain() {
+			try {
+				while (true) {
+					Object next;
+					while ((next = buffer.poll()) != null) {
+						if (next == END) {
+							done.countDown();
+							return;
+						}
+						append((SimpleFeature) next);
+					}
+
+					scheduled.set(false);
+					// continue if a feature was added before the flag was reset
+					if (buffer.isEmpty() || !scheduled.compareAndSet(false, true)) {
+						return;
+					}
+				}
+			} catch (Exception e) {
+				failure = e;
+				buffer.clear();
+				done.countDown();
+			}
+		}
+
+		private void checkFailure() throws IOException {
+			Exception e = failure;
+			if (e instanceof IOException) {
+				throw (IOException) e;
+			}
+			else if (e != null) {
+				throw new IOException("Writing feature to Shapefile failed", e);
+			}
+		}
+
+		/**
+		 * Waits for all features to be written and closes the Shapefile.
+		 * Subsequent calls have no effect.
+		 */
+		@Override
+		public void close() throws IOException {
+			if (closed) {
+				return;
+			}
+			closed = true;
+
+			try {
+				if (buffer != null) {
+					if (failure == null) {
+						enqueue(END);
+					}
+					try {
+						done.await();
+					} catch (InterruptedException e) {
+						Thread.currentThread().interrupt();
+						throw new InterruptedIOException("Interrupted writing features");
+					}
+					checkFailure();
+				}
+			} finally {
+				writer.close();
+			}
+		}
+
+	}
+
 	@Override
 	public boolean isPassthrough() {
 		return false;
@@ -140,11 +324,11 @@ public class ShapefileInstanceWriter extends AbstractGeoInstanceWriter {
 	}
 
 	/**
-	 * Write instances to the Shapefiles. It is a 4 step process. <br>
+	 * Write instances to the Shapefiles. It is a 3 step process. <br>
 	 * 1. create simpleFeatureType <br>
 	 * 2. create Shapefile schema from the feature collection. <br>
-	 * 3. create features <br>
-	 * 4. write the feature data to the Shapefile.
+	 * 3. create features and write them to the Shapefiles while iterating the
+	 * instances.
 	 * 
 	 * @param instances instance to write to.
 	 * @param progress the progress indicator.
@@ -167,10 +351,15 @@ public class ShapefileInstanceWriter extends AbstractGeoInstanceWriter {
 		Map<String, Map<String, ShapefileDataStore>> schemaDataStoreMap = createSchema(location,
 				schemaFtMap);
 
-		Map<String, Map<String, List<SimpleFeature>>> schemaFeaturesMap = createFeatures(instances,
-				progress, reporter, schemaFtMap);
-
-		return writeToFile(schemaDataStoreMap, schemaFtMap, schemaFeaturesMap);
+		try {
+			return writeFeatures(instances, progress, reporter, schemaFtMap, schemaDataStoreMap);
+		} finally {
+			for (Map<String, ShapefileDataStore> dataStores : schemaDataStoreMap.values()) {
+				for (ShapefileDataStore dataStore : dataStores.values()) {
+					dataStore.dispose();
+				}
+			}
+		}
 	}
 
 	/**
@@ -185,6 +374,9 @@ public class ShapefileInstanceWriter extends AbstractGeoInstanceWriter {
 	 * - Attribute names are limited in length<br>
 	 * - Not all data types are supported (example Timestamp represented as
 	 * Date)<br>
+	 * <br>
+	 * Only the types and the widths of the character fields are determined,
+	 * the features are created in a second pass.
 	 * 
 	 * @param instances the instance to write.
 	 * @param progress the progress indicator.
@@ -199,6 +391,9 @@ public class ShapefileInstanceWriter extends AbstractGeoInstanceWriter {
 
 		Map<String, Map<String, SimpleFeatureTypeBuilder>> schemaBuilderMap = new HashMap<String, Map<String, SimpleFeatureTypeBuilder>>();
 
+		// maximum width of character fields per schema
+		Map<String, Map<String, Integer>> schemaWidthMap = new HashMap<String, Map<String, Integer>>();
+
 		List<String> missingGeomsForSchemas = new ArrayList<String>();
 		try (ResourceIterator<Instance> it = instances.iterator()) {
 			while (it.hasNext() && !progress.isCanceled()) {
@@ -216,6 +411,8 @@ public class ShapefileInstanceWriter extends AbstractGeoInstanceWriter {
 				// SimpleFeatureTypeBuilder.
 				writePropertiesSchema(instance, type, geometryBuilderMap);
 				schemaBuilderMap.put(localPart, geometryBuilderMap);
+				collectFieldWidths(instance, type, schemaWidthMap
+						.computeIfAbsent(localPart, k -> new HashMap<String, Integer>()));
 				// else nothing to do as the schema definition is already
 				// present.
 			}
@@ -229,7 +426,9 @@ public class ShapefileInstanceWriter extends AbstractGeoInstanceWriter {
 				.entrySet()) {
 			for (Entry<String, SimpleFeatureTypeBuilder> geometryEntry : schemaEntry.getValue()
 					.entrySet()) {
-				SimpleFeatureType buildFeatureType = geometryEntry.getValue().buildFeatureType();
+				SimpleFeatureType buildFeatureType = applyFieldWidths(
+						geometryEntry.getValue().buildFeatureType(),
+						schemaWidthMap.get(schemaEntry.getKey()));
 				schemaSftMap
 						.computeIfAbsent(schemaEntry.getKey(),
 								k -> new HashMap<String, SimpleFeatureType>())
@@ -239,6 +438,70 @@ public class ShapefileInstanceWriter extends AbstractGeoInstanceWriter {
 		return schemaSftMap;
 	}
 
+	/**
+	 * Determine the maximum width of the character fields for all values of
+	 * an instance.
+	 * 
+	 * @param instance the instance
+	 * @param type the type definition
+	 * @param widths the maximum widths of the character fields, mapped by
+	 *            field name, to update
+	 */
+	private void collectFieldWidths(Instance instance, TypeDefinition type,
+			Map<String, Integer> widths) {
+		for (PropertyDefinition prop : getNonComplexProperties(type)) {
+			Class<?> binding = prop.getPropertyType().getConstraint(Binding.class).getBinding();
+			if (String.class.equals(binding)
+					&& !prop.getPropertyType().getConstraint(GeometryType.class).isGeometry()
+					&& !prop.getName().getNamespaceURI()
+							.equalsIgnoreCase(ShapefileConstants.SHAPEFILE_AUGMENT_NS)
+					&& prop.getName().getLocalPart() != null) {
+				List<Object> values = new InstanceAccessor(instance)
+						.findChildren(prop.getName().getLocalPart()).values();
+				int width = 1;
+				for (Object value : values) {
+					if (value != null) {
+						// width in bytes, to cover multi-byte characters
+						width = Math.max(width,
+								value.toString().getBytes(StandardCharsets.UTF_8).length);
+					}
+				}
+				widths.merge(truncatePropertyName(prop.getName().getLocalPart()),
+						Math.min(width, MAX_FIELD_WIDTH), Math::max);
+			}
+		}
+	}
+
+	/**
+	 * Restrict the length of character fields of a feature type to the given
+	 * widths.
+	 * 
+	 * @param type the feature type
+	 * @param widths the maximum widths of the character fields, mapped by
+	 *            field name, may be <code>null</code>
+	 * @return the feature type with restricted character fields
+	 */
+	private SimpleFeatureType applyFieldWidths(SimpleFeatureType type,
+			Map<String, Integer> widths) {
+		if (widths == null || widths.isEmpty()) {
+			return type;
+		}
+
+		SimpleFeatureTypeBuilder builder = new SimpleFeatureTypeBuilder();
+		builder.setName(type.getTypeName());
+		builder.setNamespaceURI(type.getName().getNamespaceURI());
+		builder.setCRS(type.getCoordinateReferenceSystem());
+		for (AttributeDescriptor attribute : type.getAttributeDescriptors()) {
+			Class<?> binding = attribute.getType().getBinding();
+			Integer width = widths.get(attribute.getLocalName());
+			if (width != null && String.class.equals(binding)) {
+				builder.length(width);
+			}
+			builder.add(attribute.getLocalName(), binding);
+		}
+		return builder.buildFeatureType();
+	}
+
 	/**
 	 * Method to write Geometry definition to the shape file schema.
 	 * 
@@ -518,25 +781,30 @@ public class ShapefileInstanceWriter extends AbstractGeoInstanceWriter {
 	}
 
 	/**
-	 * * Step 3. method to create features for the shape files and write them as
+	 * Step 3. method to create features for the shape files and write them as
 	 * per the schema definition.<br>
 	 * Always the first entry should be "the_geom" then rest of the properties
-	 * can be written.
+	 * can be written.<br>
+	 * <br>
+	 * Features are written to the Shapefiles while iterating the instances. If
+	 * there are multiple Shapefiles, they are written concurrently by a thread
+	 * pool limited to the number of available processors.
 	 * 
 	 * @param instances instance to write.
 	 * @param progress the progress indicator.
 	 * @param reporter the reporter.
 	 * @param schemaFtMap type is used as a template to describe the file
 	 *            contents.
-	 * @return list all the features to be added to the file bundled in map for
-	 *         multiple schemas and multiple geometries.
+	 * @param schemaDataStoreMap data store for the shape file.
+	 * @return List of file names that were written (without suffixes)
+	 * @throws IOException if writing the features fails
 	 */
-	private Map<String, Map<String, List<SimpleFeature>>> createFeatures(
-			InstanceCollection instances, ProgressIndicator progress, IOReporter reporter,
-			Map<String, Map<String, SimpleFeatureType>> schemaFtMap) {
-		// 3. create features
+	private List<String> writeFeatures(InstanceCollection instances, ProgressIndicator progress,
+			IOReporter reporter, Map<String, Map<String, SimpleFeatureType>> schemaFtMap,
+			Map<String, Map<String, ShapefileDataStore>> schemaDataStoreMap) throws IOException {
+		// 3. create and write features
 
-		Map<String, Map<String, List<SimpleFeature>>> schemaFeaturesMap = new HashMap<String, Map<String, List<SimpleFeature>>>();
+		List<String> filesWritten = new ArrayList<String>();
 		Map<String, Map<String, SimpleFeatureBuilder>> schemaFbMap = new HashMap<String, Map<String, SimpleFeatureBuilder>>();
 
 		// initialize simple feature type builder for all the schemas and
@@ -551,38 +819,116 @@ public class ShapefileInstanceWriter extends AbstractGeoInstanceWriter {
 			}
 		}
 
-		// write features to shape file schema.
-		try (ResourceIterator<Instance> it = instances.iterator()) {
-			while (it.hasNext() && !progress.isCanceled()) {
+		int fileCount = 0;
+		for (Map<String, ShapefileDataStore> dataStores : schemaDataStoreMap.values()) {
+			fileCount += dataStores.size();
+		}
+		// write multiple files concurrently, with a bounded number of threads
+		ExecutorService executor = (fileCount > 1)
+				? (Executors.newFixedThreadPool(
+						Math.min(fileCount, Runtime.getRuntime().availableProcessors())))
+				: (null);
+		int bufferSize = Math.max(MIN_FILE_BUFFER_SIZE, FEATURE_BUFFER_SIZE / Math.max(1, fileCount));
+
+		Map<String, Map<String, FeatureFileWriter>> schemaWriterMap = new HashMap<String, Map<String, FeatureFileWriter>>();
+		try {
+			for (Entry<String, Map<String, ShapefileDataStore>> schemaEntry : schemaDataStoreMap
+					.entrySet()) {
+				for (Entry<String, ShapefileDataStore> geomEntry : schemaEntry.getValue()
+						.entrySet()) {
+					ShapefileDataStore dataStore = geomEntry.getValue();
+					for (Name name : dataStore.getNames()) {
+						// The local part of the Name contains the file name of
+						// the ShapefileDataStore (without suffix)
+						filesWritten.add(name.getLocalPart());
+					}
 
-				Instance instance = it.next();
-				TypeDefinition type = instance.getDefinition();
-				String localPart = type.getName().getLocalPart();
-				if (schemaFtMap.containsKey(localPart)) {
-					writeGeometryInstanceData(reporter, schemaFbMap, instance, localPart);
-					// add data for the rest of the properties.
-					writePropertiesInstanceData(schemaFbMap, instance, type, localPart);
-
-					// create list of simple features.
-					// fix in case geometries have multiple geometry types but
-					// single geometry in data. So, always extract geometries
-					// from instance and update to schema. Otherwise the data
-					// will be updated to all the geometries
-					List<GeometryProperty<?>> geoms = traverseInstanceForGeometries(instance);
-					for (GeometryProperty<?> geoProp : geoms) {
-						String key = geoProp.getGeometry().getGeometryType();
-						SimpleFeature feature = schemaFbMap.get(localPart).get(key)
-								.buildFeature(null);
-						schemaFeaturesMap
-								.computeIfAbsent(localPart,
-										k -> new HashMap<String, List<SimpleFeature>>())
-								.computeIfAbsent(key, k1 -> new ArrayList<SimpleFeature>())
-								.add(feature);
+					schemaWriterMap
+							.computeIfAbsent(schemaEntry.getKey(),
+									k -> new HashMap<String, FeatureFileWriter>())
+							.put(geomEntry.getKey(),
+									new FeatureFileWriter(dataStore, executor, bufferSize));
+				}
+			}
+
+			// write features to shape file schema.
+			try (ResourceIterator<Instance> it = instances.iterator()) {
+				while (it.hasNext() && !progress.isCanceled()) {
+
+					Instance instance = it.next();
+					TypeDefinition type = instance.getDefinition();
+					String localPart = type.getName().getLocalPart();
+					if (schemaFtMap.containsKey(localPart)) {
+						writeGeometryInstanceData(reporter, schemaFbMap, instance, localPart);
+						// add data for the rest of the properties.
+						writePropertiesInstanceData(schemaFbMap, instance, type, localPart);
+
+						// create simple features and write them.
+						// fix in case geometries have multiple geometry types
+						// but single geometry in data. So, always extract
+						// geometries from instance and update to schema.
+						// Otherwise the data will be updated to all the
+						// geometries
+						List<GeometryProperty<?>> geoms = traverseInstanceForGeometries(instance);
+						for (GeometryProperty<?> geoProp : geoms) {
+							String key = geoProp.getGeometry().getGeometryType();
+							SimpleFeature feature = schemaFbMap.get(localPart).get(key)
+									.buildFeature(null);
+							schemaWriterMap.get(localPart).get(key).write(feature);
+						}
+					}
+				}
+			}
+
+			// wait for all features to be written
+			closeWriters(schemaWriterMap);
+		} finally {
+			if (!schemaWriterMap.isEmpty()) {
+				// close the writers in case of an error
+				try {
+					closeWriters(schemaWriterMap);
+				} catch (IOException e) {
+					// ignore, an error is already being reported
+				}
+			}
+			if (executor != null) {
+				executor.shutdownNow();
+			}
+		}
+
+		return filesWritten;
+	}
+
+	/**
+	 * Close all feature writers and remove them from the given map.
+	 * 
+	 * @param schemaWriterMap the feature writers mapped by schema and geometry
+	 *            type
+	 * @throws IOException if closing a writer failed, after all writers were
+	 *             closed
+	 */
+	private static void closeWriters(Map<String, Map<String, FeatureFileWriter>> schemaWriterMap)
+			throws IOException {
+		IOException failure = null;
+		for (Map<String, FeatureFileWriter> writers : schemaWriterMap.values()) {
+			for (FeatureFileWriter writer : writers.values()) {
+				try {
+					writer.close();
+				} catch (IOException e) {
+					if (failure == null) {
+						failure = e;
+					}
+					else {
+						failure.addSuppressed(e);
 					}
 				}
 			}
 		}
-		return schemaFeaturesMap;
+		schemaWriterMap.clear();
+
+		if (failure != null) {
+			throw failure;
+		}
 	}
 
 	/**
@@ -659,69 +1005,4 @@ public class ShapefileInstanceWriter extends AbstractGeoInstanceWriter {
 
 	}
 
-	/**
-	 * Final step to write to the shape file using transaction.
-	 * 
-	 * @param schemaDataStoreMap data store for the shape file.
-	 * @param schemaFtMap used as a template to describe the file contents.
-	 * @param schemaFeaturesMap for each schema, each geom list of features to
-	 *            be written to the shape file.
-	 * @return List of file names that were written (without suffixes)
-	 * @throws IOException if any.
-	 */
-	private List<String> writeToFile(
-			Map<String, Map<String, ShapefileDataStore>> schemaDataStoreMap,
-			Map<String, Map<String, SimpleFeatureType>> schemaFtMap,
-			Map<String, Map<String, List<SimpleFeature>>> schemaFeaturesMap) throws IOException {
-
-		List<String> filesWritten = new ArrayList<String>();
-
-		// extract each schema
-		for (Entry<String, Map<String, ShapefileDataStore>> schemaEntry : schemaDataStoreMap
-				.entrySet()) {
-			String localPart = schemaEntry.getKey();
-			// extract each geometry.
-			for (Entry<String, ShapefileDataStore> geomEntry : schemaEntry.getValue().entrySet()) {
-				Transaction transaction = new DefaultTransaction(
-						ShapefileConstants.CREATE_CONSTANT);
-
-				ShapefileDataStore dataStore = geomEntry.getValue();
-				String typeName = dataStore.getTypeNames()[0];
-				for (Name name : dataStore.getNames()) {
-					// The local part of the Name contains the file name of the
-					// ShapefileDataStore (without suffix)
-					filesWritten.add(name.getLocalPart());
-				}
-
-				SimpleFeatureSource geomSpecificFeatureSource = geomEntry.getValue()
-						.getFeatureSource(typeName);
-				if (geomSpecificFeatureSource instanceof SimpleFeatureStore) {
-					SimpleFeatureStore geomSpecificFeatureStore = (SimpleFeatureStore) geomSpecificFeatureSource;
-
-					// create collection to write to the shape file.
-					SimpleFeatureCollection collection = new ListFeatureCollection(
-							schemaFtMap.get(localPart).get(geomEntry.getKey()),
-							schemaFeaturesMap.get(localPart).get(geomEntry.getKey()));
-					geomSpecificFeatureStore.setTransaction(transaction);
-					try {
-						geomSpecificFeatureStore.addFeatures(collection);
-						transaction.commit();
-					} catch (IOException e) {
-						transaction.rollback();
-						throw e;
-					} finally {
-						transaction.close();
-					}
-				}
-				else {
-					// throw exception
-					transaction.close();
-					throw new IOException(typeName + " does not support read/write access");
-				}
-			}
-		}
-
-		return filesWritten;
-	}
-
 }
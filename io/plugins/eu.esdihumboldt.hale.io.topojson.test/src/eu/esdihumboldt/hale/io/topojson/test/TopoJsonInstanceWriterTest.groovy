@@ -125,27 +125,88 @@ class TopoJsonInstanceWriterTest {
 
 			assertEquals('Topology', json.type)
 			assertEquals(1, json.objects.size())
-			assertEquals(4, json.arcs.size())
-
-			assertEquals(2, json.objects.Topology.geometries.size())
-
-			assertEquals(0, json.objects.Topology.geometries[0].id)
-			assertEquals('Polygon', json.objects.Topology.geometries[0].type)
-			assertEquals('Area 1', json.objects.Topology.geometries[0].'properties'.name)
-			assertEquals('1', json.objects.Topology.geometries[0].'properties'.id)
-			assertEquals(1, json.objects.Topology.geometries[0].arcs.size())
-			assertEquals(2, json.objects.Topology.geometries[0].arcs[0].size())
-			assertEquals([0, 1], json.objects.Topology.geometries[0].arcs[0])
-
-			assertEquals(1, json.objects.Topology.geometries[1].id)
-			assertEquals('Polygon', json.objects.Topology.geometries[1].type)
-			assertEquals('Area 2', json.objects.Topology.geometries[1].'properties'.name)
-			assertEquals('2', json.objects.Topology.geometries[1].'properties'.id)
-			assertEquals(1, json.objects.Topology.geometries[1].arcs.size())
-			assertEquals(3, json.objects.Topology.geometries[1].arcs[0].size())
-			assertEquals([-1, 2, 3], json.objects.Topology.geometries[1].arcs[0])
+			assertEquals(3, json.arcs.size())
+
+			assertEquals(2, json.objects.SimpleType.geometries.size())
+
+			assertEquals(0, json.objects.SimpleType.geometries[0].id)
+			assertEquals('Polygon', json.objects.SimpleType.geometries[0].type)
+			assertEquals('Area 1', json.objects.SimpleType.geometries[0].'properties'.name)
+			assertEquals('1', json.objects.SimpleType.geometries[0].'properties'.id)
+			assertEquals(1, json.objects.SimpleType.geometries[0].arcs.size())
+			assertEquals([0, 1], json.objects.SimpleType.geometries[0].arcs[0])
+
+			assertEquals(1, json.objects.SimpleType.geometries[1].id)
+			assertEquals('Polygon', json.objects.SimpleType.geometries[1].type)
+			assertEquals('Area 2', json.objects.SimpleType.geometries[1].'properties'.name)
+			assertEquals('2', json.objects.SimpleType.geometries[1].'properties'.id)
+			assertEquals(1, json.objects.SimpleType.geometries[1].arcs.size())
+			// shared border is used in reverse direction
+			assertEquals([2, -1], json.objects.SimpleType.geometries[1].arcs[0])
+
+			// shared border from (20, 10) to (20, 20)
+			assertEquals([[20, 10], [20, 20]], decodeArc(json, 0))
 		}
 
 	}
 
+	@Test
+	public void testWriteTopoJsonMultipleTypes() {
+		Schema schema = new SchemaBuilder().schema {
+			AreaType {
+				administrativeName(String)
+				geometry(GeometryProperty)
+			}
+			BorderType {
+				geometry(GeometryProperty)
+			}
+		}
+
+		InstanceCollection instances = new InstanceBuilder(types: schema).createCollection {
+			AreaType {
+				administrativeName 'Area 1'
+				geometry(createGeometry('POLYGON ((10 10, 20 10, 20 20, 10 20, 10 10))', 4326))
+			}
+
+			BorderType {
+				geometry(createGeometry('LINESTRING (20 20, 20 10, 30 10)', 4326))
+			}
+		}
+
+		withNewTopoJson(schema, instances) { file ->
+			def json = new JsonSlurper().parseText(file.text)
+
+			assertEquals(2, json.objects.size())
+
+			// attribute names are not truncated
+			assertEquals('Area 1', json.objects.AreaType.geometries[0].'properties'.administrativeName)
+
+			assertEquals('LineString', json.objects.BorderType.geometries[0].type)
+			def lineArcs = json.objects.BorderType.geometries[0].arcs
+			assertEquals(2, lineArcs.size())
+			// the line shares an arc with the polygon
+			assertTrue(lineArcs[0] < 0)
+			assertTrue(json.objects.AreaType.geometries[0].arcs[0].contains(~lineArcs[0]))
+			assertEquals([[20, 10], [30, 10]], decodeArc(json, lineArcs[1]))
+		}
+	}
+
+	/**
+	 * Decode the coordinates of an arc.
+	 */
+	static List<List<Integer>> decodeArc(def json, int index) {
+		def scale = json.transform.scale
+		def translate = json.transform.translate
+		long x = 0
+		long y = 0
+		json.arcs[index].collect { delta ->
+			x += delta[0]
+			y += delta[1]
+			[
+				Math.round((x * scale[0] + translate[0]) as double) as int,
+				Math.round((y * scale[1] + translate[1]) as double) as int
+			]
+		}
+	}
+
 }
@@ -15,41 +15,66 @@
 
 package eu.esdihumboldt.hale.io.topojson;
 
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.BufferedWriter;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
 import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
 import java.io.IOException;
-import java.io.OutputStream;
-import java.net.URI;
-import java.nio.file.Paths;
+import java.io.OutputStreamWriter;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.text.MessageFormat;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
-import org.opengis.referencing.crs.CoordinateReferenceSystem;
+import javax.xml.namespace.QName;
+
+import org.codehaus.jackson.JsonFactory;
+import org.codehaus.jackson.JsonGenerator;
+import org.geotools.geometry.jts.JTS;
+import org.locationtech.jts.geom.Geometry;
 
 import eu.esdihumboldt.hale.common.core.io.IOProviderConfigurationException;
 import eu.esdihumboldt.hale.common.core.io.ProgressIndicator;
 import eu.esdihumboldt.hale.common.core.io.report.IOReport;
 import eu.esdihumboldt.hale.common.core.io.report.IOReporter;
 import eu.esdihumboldt.hale.common.core.io.report.impl.IOMessageImpl;
-import eu.esdihumboldt.hale.common.core.io.supplier.FileIOSupplier;
-import eu.esdihumboldt.hale.common.core.io.supplier.LocatableOutputSupplier;
-import eu.esdihumboldt.hale.common.core.io.supplier.MultiLocationOutputSupplier;
+import eu.esdihumboldt.hale.common.instance.geometry.GeometryFinder;
 import eu.esdihumboldt.hale.common.instance.geometry.impl.CodeDefinition;
+import eu.esdihumboldt.hale.common.instance.helper.DepthFirstInstanceTraverser;
 import eu.esdihumboldt.hale.common.instance.io.impl.AbstractInstanceWriter;
-import eu.esdihumboldt.hale.common.instance.model.InstanceCollection;
+import eu.esdihumboldt.hale.common.instance.model.Group;
+import eu.esdihumboldt.hale.common.instance.model.Instance;
+import eu.esdihumboldt.hale.common.instance.model.ResourceIterator;
 import eu.esdihumboldt.hale.common.schema.geometry.CRSDefinition;
-import eu.esdihumboldt.hale.io.shp.writer.ShapefileInstanceWriter;
-import json.topojson.api.TopojsonApi;
+import eu.esdihumboldt.hale.common.schema.geometry.GeometryProperty;
+import eu.esdihumboldt.hale.common.schema.model.TypeDefinition;
+import eu.esdihumboldt.hale.io.json.writer.TransformCache;
+import eu.esdihumboldt.hale.io.topojson.internal.TopologyBuilder;
 
 /**
- * Writes instances as TopoJSON by first creating an intermediate Shapefile and
- * then converting the Shapefile to TopoJSON. Supports only local file targets.
- * 
- * If the Shapefile writer creates multiple intermediate files (e.g. because the
- * target schema contains multiple types and/or multiple geometry types), this
- * instance writer will also create multiple TopoJSON files with a numeric
- * suffix added to the configured output file name. So if the configured output
- * file name is <code>output.json</code>, the created files will be named
- * <code>output_1.json</code>, <code>output_2.json</code>, etc.
+ * Writes instances as TopoJSON. The topology contains an object for each
+ * type, which is a geometry collection with a geometry for each instance of
+ * the type. The simple properties of an instance are added as geometry
+ * properties.<br>
+ * <br>
+ * The instances are read only once. The arcs are built on the fly with the
+ * coordinates quantised to a fixed grid, the encoded geometries and the arcs
+ * are buffered in temporary files until the topology is complete.
  * 
  * @author Flaminia Catalli
  * @author Florian Esser
@@ -57,27 +82,11 @@ import json.topojson.api.TopojsonApi;
 public class TopoJsonInstanceWriter extends AbstractInstanceWriter {
 
 	/**
-	 * Parameter for TopoJSON generation that controls how the polygons are
-	 * simplified. A value of 0 means that no simplification will take place.
-	 * 
-	 * TODO make configurable
-	 */
-	private static final int KINK_VALUE = 0;
-
-	/**
-	 * Parameter for TopoJSON generation that controls if and how the TopoJSON
-	 * output is quantized.
-	 * 
-	 * TODO make configurable
-	 */
-	private static final int QUANTIZE_DIGIT_VALUE = 4;
-
-	/**
-	 * Name of the generated topology
+	 * Number of decimal digits retained in the quantised WGS 84 coordinates.
 	 * 
 	 * TODO make configurable
 	 */
-	private static final String DEFAULT_TOPOLOGY_NAME = "Topology";
+	private static final int QUANTIZE_DIGIT_VALUE = 6;
 
 	/**
 	 * TopoJSON, as a descendant of GeoJSON, requires geometries to be
@@ -87,6 +96,42 @@ public class TopoJsonInstanceWriter extends AbstractInstanceWriter {
 
 	private final CRSDefinition targetCrs = new CodeDefinition(TARGET_CRS_CODE, true);
 
+	private final TransformCache transformCache = new TransformCache();
+
+	private final JsonFactory jsonFactory = new JsonFactory();
+
+	/**
+	 * The encoded geometries and properties of the instances of a type,
+	 * buffered in a temporary file.
+	 */
+	private static class TopologyObject implements Closeable {
+
+		private final String name;
+
+		private final File file;
+
+		private final DataOutputStream out;
+
+		private int count;
+
+		public TopologyObject(String name) throws IOException {
+			this.name = name;
+			file = File.createTempFile("topojson", ".object");
+			file.deleteOnExit();
+			out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(file)));
+		}
+
+		@Override
+		public void close() throws IOException {
+			try {
+				out.close();
+			} finally {
+				file.delete();
+			}
+		}
+
+	}
+
 	@Override
 	protected String getDefaultTypeName() {
 		return "TopoJSON";
@@ -98,30 +143,38 @@ public class TopoJsonInstanceWriter extends AbstractInstanceWriter {
 
 		progress.begin("Generating " + getDefaultTypeName(), ProgressIndicator.UNKNOWN);
 
-		try {
-			URI location = getTarget().getLocation();
-			InstanceCollection instances = getInstances();
+		Map<TypeDefinition, TopologyObject> objects = new LinkedHashMap<>();
+		try (TopologyBuilder topology = new TopologyBuilder(QUANTIZE_DIGIT_VALUE)) {
+			Set<String> names = new HashSet<>();
+			int missingCrs = 0;
+			try (ResourceIterator<Instance> it = getInstances().iterator()) {
+				while (it.hasNext()) {
+					Instance instance = it.next();
 
-			File tempShapefile = File.createTempFile("topojsontmp", ".shp");
-			tempShapefile.deleteOnExit();
+					TopologyObject object = objects.get(instance.getDefinition());
+					if (object == null) {
+						object = new TopologyObject(getObjectName(instance.getDefinition(), names));
+						objects.put(instance.getDefinition(), object);
+					}
 
-			List<URI> shapefilesWritten = writeIntermediateShapefiles(instances, progress, reporter,
-					tempShapefile);
+					if (!encodeInstance(instance, object, topology, reporter)) {
+						missingCrs++;
+					}
+				}
+			}
 
-			progress.begin("Generating " + getDefaultTypeName(), ProgressIndicator.UNKNOWN);
+			if (missingCrs > 0) {
+				reporter.warn(new IOMessageImpl(MessageFormat.format(
+						"No CRS known for the geometries of {0} instances, assuming WGS 84",
+						missingCrs), null));
+			}
 
-			String targetPath = Paths.get(location).getParent().toString();
-			String baseFilename = Paths.get(location).getFileName().toString();
-			String extension = baseFilename.substring(baseFilename.lastIndexOf("."));
-			baseFilename = baseFilename.substring(0, baseFilename.lastIndexOf("."));
+			topology.finish();
 
-			int i = 1;
-			for (URI shapefileUri : shapefilesWritten) {
-				File targetFile = new File(targetPath + "/" + baseFilename
-						+ ((shapefilesWritten.size() > 1) ? "_" + i++ : "") + extension);
-				convertShapefileToTopoJson(new File(shapefileUri).getAbsolutePath(),
-						targetCrs.getCRS(), targetFile.getAbsolutePath(), DEFAULT_TOPOLOGY_NAME,
-						KINK_VALUE, QUANTIZE_DIGIT_VALUE, false);
+			try (Writer writer = new BufferedWriter(
+					new OutputStreamWriter(getTarget().getOutput(), StandardCharsets.UTF_8));
+					JsonGenerator json = jsonFactory.createJsonGenerator(writer)) {
+				writeTopology(json, topology, objects.values());
 			}
 
 			reporter.setSuccess(true);
@@ -130,49 +183,222 @@ public class TopoJsonInstanceWriter extends AbstractInstanceWriter {
 					String.format("Error generating %s file", getDefaultTypeName()), e));
 			reporter.setSuccess(false);
 		} finally {
+			for (TopologyObject object : objects.values()) {
+				try {
+					object.close();
+				} catch (IOException e) {
+					// ignore
+				}
+			}
 			progress.end();
 		}
 
 		return reporter;
 	}
 
-	private List<URI> writeIntermediateShapefiles(InstanceCollection instances,
-			ProgressIndicator progress, IOReporter reporter, File targetFile) {
+	/**
+	 * Encode an instance and add it to the object of its type.
+	 * 
+	 * @param instance the instance
+	 * @param object the object of the instance type
+	 * @param topology the topology builder
+	 * @param reporter the reporter
+	 * @return <code>false</code> if the instance has geometries without CRS,
+	 *         <code>true</code> otherwise
+	 * @throws IOException if writing the encoded instance fails
+	 */
+	private boolean encodeInstance(Instance instance, TopologyObject object,
+			TopologyBuilder topology, IOReporter reporter) throws IOException {
+		GeometryFinder finder = new GeometryFinder(null);
+		new DepthFirstInstanceTraverser(true).traverse(instance, finder);
 
-		List<URI> filesWritten = new ArrayList<URI>();
+		boolean crsKnown = true;
+		List<Geometry> geometries = new ArrayList<>();
+		for (GeometryProperty<?> property : finder.getGeometries()) {
+			Geometry geometry = property.getGeometry();
+			if (geometry == null || geometry.isEmpty()) {
+				continue;
+			}
 
-		ShapefileInstanceWriter writer = new ShapefileInstanceWriter();
-		try {
-			writer.setTargetCRS(targetCrs);
-			writer.setTarget(new FileIOSupplier(targetFile));
-			writer.setInstances(instances);
-			writer.execute(progress);
-
-			// ShapefileInstanceWriter will update its getTarget() result
-			// if there were multiple Shapefiles written. In that case,
-			// getTarget() will return a MultiLocationOutputSupplier.
-			LocatableOutputSupplier<? extends OutputStream> targets = writer.getTarget();
-			if (targets instanceof MultiLocationOutputSupplier) {
-				filesWritten.addAll(((MultiLocationOutputSupplier) targets).getLocations());
+			CRSDefinition crs = property.getCRSDefinition();
+			if (crs != null && crs.getCRS() != null) {
+				try {
+					geometry = JTS.transform(geometry,
+							transformCache.getTransform(crs.getCRS(), targetCrs.getCRS()));
+				} catch (Exception e) {
+					reporter.error(new IOMessageImpl(
+							"Could not convert geometry to WGS 84, the geometry is omitted", e));
+					continue;
+				}
 			}
 			else {
-				filesWritten.add(targets.getLocation());
+				crsKnown = false;
 			}
-		} catch (IOException | IOProviderConfigurationException e) {
-			reporter.error(
-					new IOMessageImpl(String.format("Error generating intermediate Shapefile"), e));
-			reporter.setSuccess(false);
+			geometries.add(geometry);
+		}
+
+		Geometry geometry = null;
+		if (geometries.size() == 1) {
+			geometry = geometries.get(0);
+		}
+		else if (!geometries.isEmpty()) {
+			geometry = geometries.get(0).getFactory()
+					.createGeometryCollection(geometries.toArray(new Geometry[geometries.size()]));
+		}
+
+		ByteArrayOutputStream encoded = new ByteArrayOutputStream();
+		try {
+			topology.encode(geometry, new DataOutputStream(encoded));
+		} catch (IllegalArgumentException e) {
+			reporter.error(new IOMessageImpl("Could not encode geometry, the geometry is omitted",
+					e));
+			encoded.reset();
+			topology.encode(null, new DataOutputStream(encoded));
+		}
+
+		byte[] properties = encodeProperties(instance);
+		if (properties == null) {
+			object.out.writeInt(-1);
+		}
+		else {
+			object.out.writeInt(properties.length);
+			object.out.write(properties);
+		}
+		encoded.writeTo(object.out);
+		object.count++;
+
+		return crsKnown;
+	}
+
+	/**
+	 * Encode the simple properties of an instance as JSON object.
+	 * 
+	 * @param instance the instance
+	 * @return the UTF-8 encoded JSON object or <code>null</code> if the
+	 *         instance has no simple properties
+	 * @throws IOException if writing the JSON fails
+	 */
+	private byte[] encodeProperties(Instance instance) throws IOException {
+		StringWriter writer = new StringWriter();
+		boolean empty = true;
+		try (JsonGenerator json = jsonFactory.createJsonGenerator(writer)) {
+			json.writeStartObject();
+			Set<String> written = new HashSet<>();
+			for (QName name : instance.getPropertyNames()) {
+				Object[] values = instance.getProperty(name);
+				if (values == null || values.length == 0) {
+					continue;
+				}
+
+				Object value = values[0];
+				if (value instanceof Instance) {
+					value = ((Instance) value).getValue();
+				}
+				if (value == null || value instanceof Group || value instanceof Geometry
+						|| value instanceof GeometryProperty<?> || value instanceof Collection<?>) {
+					continue;
+				}
+
+				if (written.add(name.getLocalPart())) {
+					json.writeFieldName(name.getLocalPart());
+					writeValue(json, value);
+					empty = false;
+				}
+			}
+			json.writeEndObject();
 		}
 
-		return filesWritten;
+		return (empty) ? (null) : (writer.toString().getBytes(StandardCharsets.UTF_8));
+	}
+
+	private static void writeValue(JsonGenerator json, Object value) throws IOException {
+		if (value instanceof Integer || value instanceof Long || value instanceof Short
+				|| value instanceof Byte) {
+			json.writeNumber(((Number) value).longValue());
+		}
+		else if (value instanceof Double || value instanceof Float) {
+			json.writeNumber(((Number) value).doubleValue());
+		}
+		else if (value instanceof BigDecimal) {
+			json.writeNumber((BigDecimal) value);
+		}
+		else if (value instanceof BigInteger) {
+			json.writeNumber((BigInteger) value);
+		}
+		else if (value instanceof Boolean) {
+			json.writeBoolean((Boolean) value);
+		}
+		else {
+			json.writeString(value.toString());
+		}
 	}
 
-	private void convertShapefileToTopoJson(String shapefilePath,
-			CoordinateReferenceSystem sourceCrs, String targetPath, String topologyName, int kink,
-			int quantizeDigit, boolean compressOutput) throws IOException {
+	/**
+	 * Write the topology.
+	 * 
+	 * @param json the JSON generator
+	 * @param topology the completed topology builder
+	 * @param objects the objects to write
+	 * @throws IOException if writing the topology fails
+	 */
+	private void writeTopology(JsonGenerator json, TopologyBuilder topology,
+			Collection<TopologyObject> objects) throws IOException {
+		json.writeStartObject();
+		json.writeStringField("type", "Topology");
+		topology.writeTransform(json);
+
+		json.writeObjectFieldStart("objects");
+		for (TopologyObject object : objects) {
+			object.out.close();
+
+			json.writeObjectFieldStart(object.name);
+			json.writeStringField("type", "GeometryCollection");
+			json.writeArrayFieldStart("geometries");
+			try (DataInputStream in = new DataInputStream(
+					new BufferedInputStream(new FileInputStream(object.file)))) {
+				for (int id = 0; id < object.count; id++) {
+					int length = in.readInt();
+					byte[] properties = null;
+					if (length >= 0) {
+						properties = new byte[length];
+						in.readFully(properties);
+					}
 
-		TopojsonApi.shpToTopojsonFile(shapefilePath, sourceCrs, targetPath, topologyName, kink,
-				quantizeDigit, compressOutput);
+					json.writeStartObject();
+					topology.writeGeometry(in, json);
+					json.writeNumberField("id", id);
+					if (properties != null) {
+						json.writeFieldName("properties");
+						json.writeRawValue(new String(properties, StandardCharsets.UTF_8));
+					}
+					json.writeEndObject();
+				}
+			}
+			json.writeEndArray();
+			json.writeEndObject();
+		}
+		json.writeEndObject();
+
+		json.writeFieldName("arcs");
+		topology.writeArcs(json);
+
+		json.writeEndObject();
+	}
+
+	/**
+	 * Determine a unique object name for a type.
+	 * 
+	 * @param type the type definition
+	 * @param names the object names already in use
+	 * @return the object name
+	 */
+	private static String getObjectName(TypeDefinition type, Set<String> names) {
+		String name = type.getName().getLocalPart();
+		int index = 2;
+		while (!names.add(name)) {
+			name = type.getName().getLocalPart() + "_" + index++;
+		}
+		return name;
 	}
 
 	/**
@@ -0,0 +1,146 @@
+/*
+ * Copyright (c) 2026 wetransform GmbH
+ *
+ * All rights reserved. This program and the accompanying materials are made
+ * available under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 3 of the License,
+ * or (at your option) any later version.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Contributors:
+ *     wetransform GmbH <http://www.wetransform.to>
+ */
+
+package eu.esdihumboldt.hale.io.topojson.internal;
+
+import java.util.Arrays;
+
+/**
+ * Hash index of the segments of the arcs in a topology. A segment is
+ * identified by its two end points, independent of its direction. The index
+ * uses open addressing on primitive arrays, so the memory needed per segment
+ * is small and constant.
+ */
+class SegmentIndex {
+
+	/**
+	 * Value representing that no entry is present.
+	 */
+	public static final long NONE = -1;
+
+	private static final double MAX_LOAD = 0.6;
+
+	private long[] first;
+	private long[] second;
+	private long[] values;
+
+	private int size;
+
+	private int threshold;
+
+	/**
+	 * Create an empty segment index.
+	 */
+	public SegmentIndex() {
+		allocate(1 << 12);
+	}
+
+	/**
+	 * Get the value associated to a segment.
+	 *
+	 * @param first the lower of the segment end points
+	 * @param second the higher of the segment end points
+	 * @return the value or {@link #NONE} if the segment is not contained in
+	 *         the index
+	 */
+	public long get(long first, long second) {
+		int mask = values.length - 1;
+		int slot = hash(first, second) & mask;
+		while (values[slot] != NONE) {
+			if (this.first[slot] == first && this.second[slot] == second) {
+				return values[slot];
+			}
+			slot = (slot + 1) & mask;
+		}
+		return NONE;
+	}
+
+	/**
+	 * Add a segment to the index if it is not yet contained.
+	 *
+	 * @param first the lower of the segment end points
+	 * @param second the higher of the segment end points
+	 * @param value the value to associate to the segment, must not be
+	 *            negative
+	 * @return the value already associated to the segment or {@link #NONE} if
+	 *         the segment was added
+	 */
+	public long putIfAbsent(long first, long second, long value) {
+		int mask = values.length - 1;
+		int slot = hash(first, second) & mask;
+		while (values[slot] != NONE) {
+			if (this.first[slot] == first && this.second[slot] == second) {
+				return values[slot];
+			}
+			slot = (slot + 1) & mask;
+		}
+
+		this.first[slot] = first;
+		this.second[slot] = second;
+		values[slot] = value;
+		if (++size > threshold) {
+			grow();
+		}
+		return NONE;
+	}
+
+	/**
+	 * @return the number of segments in the index
+	 */
+	public int size() {
+		return size;
+	}
+
+	private void grow() {
+		long[] oldFirst = first;
+		long[] oldSecond = second;
+		long[] oldValues = values;
+
+		allocate(oldValues.length << 1);
+
+		int mask = values.length - 1;
+		for (int i = 0; i < oldValues.length; i++) {
+			if (oldValues[i] != NONE) {
+				int slot = hash(oldFirst[i], oldSecond[i]) & mask;
+				while (values[slot] != NONE) {
+					slot = (slot + 1) & mask;
+				}
+				first[slot] = oldFirst[i];
+				second[slot] = oldSecond[i];
+				values[slot] = oldValues[i];
+			}
+		}
+	}
+
+	private void allocate(int capacity) {
+		first = new long[capacity];
+		second = new long[capacity];
+		values = new long[capacity];
+		Arrays.fill(values, NONE);
+		threshold = (int) (capacity * MAX_LOAD);
+	}
+
+	private static int hash(long first, long second) {
+		// finalization step of MurmurHash3 to spread the coordinate bits
+		long h = first * 0x9E3779B97F4A7C15L + second;
+		h ^= h >>> 33;
+		h *= 0xff51afd7ed558ccdL;
+		h ^= h >>> 33;
+		h *= 0xc4ceb9fe1a85ec53L;
+		h ^= h >>> 33;
+		return (int) h;
+	}
+
+}
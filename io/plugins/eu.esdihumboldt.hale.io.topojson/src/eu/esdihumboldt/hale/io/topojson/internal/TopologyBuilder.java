@@ -0,0 +1,822 @@
+/*
+ * Copyright (c) 2026 wetransform GmbH
+ *
+ * All rights reserved. This program and the accompanying materials are made
+ * available under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 3 of the License,
+ * or (at your option) any later version.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Contributors:
+ *     wetransform GmbH <http://www.wetransform.to>
+ */
+
+package eu.esdihumboldt.hale.io.topojson.internal;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInput;
+import java.io.DataInputStream;
+import java.io.DataOutput;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+
+import org.codehaus.jackson.JsonGenerator;
+import org.locationtech.jts.geom.Coordinate;
+import org.locationtech.jts.geom.CoordinateSequence;
+import org.locationtech.jts.geom.Geometry;
+import org.locationtech.jts.geom.GeometryCollection;
+import org.locationtech.jts.geom.LineString;
+import org.locationtech.jts.geom.MultiLineString;
+import org.locationtech.jts.geom.MultiPoint;
+import org.locationtech.jts.geom.MultiPolygon;
+import org.locationtech.jts.geom.Point;
+import org.locationtech.jts.geom.Polygon;
+
+/**
+ * Builds the arcs of a TopoJSON topology in a single pass over the geometries.
+ * <br>
+ * <br>
+ * Coordinates are quantised on the fly to a fixed grid over the WGS 84
+ * coordinate range, so no bounding box has to be determined upfront. Each
+ * line or ring is split into runs of segments that are already part of an
+ * arc and runs of new segments, which form new arcs. Segments are looked up
+ * in a {@link SegmentIndex}, so shared borders are detected without keeping
+ * the coordinates in memory; the arc coordinates are written to a temporary
+ * file. Arcs that are only partially shared are cut when the topology is
+ * written.<br>
+ * <br>
+ * Geometries are encoded to an intermediate binary representation with
+ * {@link #encode(Geometry, DataOutput)}. After {@link #finish()} they are
+ * written as TopoJSON with {@link #writeGeometry(DataInput, JsonGenerator)}.
+ */
+public class TopologyBuilder implements Closeable {
+
+	private static final byte TYPE_NULL = 0;
+	private static final byte TYPE_POINT = 1;
+	private static final byte TYPE_MULTI_POINT = 2;
+	private static final byte TYPE_LINE_STRING = 3;
+	private static final byte TYPE_MULTI_LINE_STRING = 4;
+	private static final byte TYPE_POLYGON = 5;
+	private static final byte TYPE_MULTI_POLYGON = 6;
+	private static final byte TYPE_GEOMETRY_COLLECTION = 7;
+
+	private static final double TRANSLATE_X = -180;
+	private static final double TRANSLATE_Y = -90;
+
+	private final double scale;
+
+	private final double factor;
+
+	private final SegmentIndex segments = new SegmentIndex();
+
+	private final File arcFile;
+
+	private final DataOutputStream arcOut;
+
+	private int arcCount;
+
+	/**
+	 * Number of segments per arc.
+	 */
+	private int[] arcLengths = new int[1024];
+
+	private final BitSet closedArcs = new BitSet();
+
+	/**
+	 * Points where arcs have to be cut, encoded as arc index in the upper and
+	 * point index in the lower 32 bits. For closed arcs the point index
+	 * <code>0</code> marks that the start point of the arc must be retained.
+	 */
+	private long[] cuts = new long[1024];
+
+	private int cutCount;
+
+	/**
+	 * Offset of the cuts of each arc, available after {@link #finish()}.
+	 */
+	private int[] cutOffsets;
+
+	/**
+	 * Index of the first arc in the topology for each arc, available after
+	 * {@link #finish()}.
+	 */
+	private int[] arcBase;
+
+	/**
+	 * Create a topology builder.
+	 *
+	 * @param digits the number of decimal digits of the WGS 84 coordinates
+	 *            to retain
+	 * @throws IOException if the temporary file for the arcs cannot be
+	 *             created
+	 */
+	public TopologyBuilder(int digits) throws IOException {
+		this.factor = Math.pow(10, digits);
+		this.scale = 1 / factor;
+
+		arcFile = File.createTempFile("topojson", ".arcs");
+		arcFile.deleteOnExit();
+		arcOut = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(arcFile)));
+	}
+
+	/**
+	 * Encode a geometry and add its lines to the topology.
+	 *
+	 * @param geometry the geometry in WGS 84 with longitude first, may be
+	 *            <code>null</code>
+	 * @param out the output to write the encoded geometry to
+	 * @throws IOException if writing the encoded geometry or the arcs fails
+	 */
+	public void encode(Geometry geometry, DataOutput out) throws IOException {
+		if (geometry == null || geometry.isEmpty()) {
+			out.writeByte(TYPE_NULL);
+		}
+		else if (geometry instanceof Point) {
+			out.writeByte(TYPE_POINT);
+			writePosition(((Point) geometry).getCoordinate(), out);
+		}
+		else if (geometry instanceof MultiPoint) {
+			List<Coordinate> points = new ArrayList<>();
+			for (int i = 0; i < geometry.getNumGeometries(); i++) {
+				if (!geometry.getGeometryN(i).isEmpty()) {
+					points.add(geometry.getGeometryN(i).getCoordinate());
+				}
+			}
+			out.writeByte(TYPE_MULTI_POINT);
+			out.writeInt(points.size());
+			for (Coordinate point : points) {
+				writePosition(point, out);
+			}
+		}
+		else if (geometry instanceof LineString) {
+			List<int[]> refs = encodeLine(((LineString) geometry).getCoordinateSequence(), false);
+			if (refs == null) {
+				out.writeByte(TYPE_NULL);
+			}
+			else {
+				out.writeByte(TYPE_LINE_STRING);
+				writeRefs(refs, out);
+			}
+		}
+		else if (geometry instanceof MultiLineString) {
+			List<List<int[]>> lines = new ArrayList<>();
+			for (int i = 0; i < geometry.getNumGeometries(); i++) {
+				List<int[]> refs = encodeLine(
+						((LineString) geometry.getGeometryN(i)).getCoordinateSequence(), false);
+				if (refs != null) {
+					lines.add(refs);
+				}
+			}
+			if (lines.isEmpty()) {
+				out.writeByte(TYPE_NULL);
+			}
+			else {
+				out.writeByte(TYPE_MULTI_LINE_STRING);
+				writeLines(lines, out);
+			}
+		}
+		else if (geometry instanceof Polygon) {
+			List<List<int[]>> rings = encodePolygon((Polygon) geometry);
+			if (rings == null) {
+				out.writeByte(TYPE_NULL);
+			}
+			else {
+				out.writeByte(TYPE_POLYGON);
+				writeLines(rings, out);
+			}
+		}
+		else if (geometry instanceof MultiPolygon) {
+			List<List<List<int[]>>> polygons = new ArrayList<>();
+			for (int i = 0; i < geometry.getNumGeometries(); i++) {
+				List<List<int[]>> rings = encodePolygon((Polygon) geometry.getGeometryN(i));
+				if (rings != null) {
+					polygons.add(rings);
+				}
+			}
+			if (polygons.isEmpty()) {
+				out.writeByte(TYPE_NULL);
+			}
+			else {
+				out.writeByte(TYPE_MULTI_POLYGON);
+				out.writeInt(polygons.size());
+				for (List<List<int[]>> rings : polygons) {
+					writeLines(rings, out);
+				}
+			}
+		}
+		else if (geometry instanceof GeometryCollection) {
+			out.writeByte(TYPE_GEOMETRY_COLLECTION);
+			out.writeInt(geometry.getNumGeometries());
+			for (int i = 0; i < geometry.getNumGeometries(); i++) {
+				encode(geometry.getGeometryN(i), out);
+			}
+		}
+		else {
+			throw new IllegalArgumentException(
+					"Unsupported geometry type " + geometry.getGeometryType());
+		}
+	}
+
+	/**
+	 * Complete the topology. Must be called after all geometries have been
+	 * encoded and before the topology is written.
+	 *
+	 * @throws IOException if writing the arcs fails
+	 */
+	public void finish() throws IOException {
+		arcOut.close();
+
+		Arrays.sort(cuts, 0, cutCount);
+		int unique = 0;
+		for (int i = 0; i < cutCount; i++) {
+			if (unique == 0 || cuts[unique - 1] != cuts[i]) {
+				cuts[unique++] = cuts[i];
+			}
+		}
+		cutCount = unique;
+
+		cutOffsets = new int[arcCount + 1];
+		arcBase = new int[arcCount + 1];
+		int cut = 0;
+		int base = 0;
+		for (int arc = 0; arc < arcCount; arc++) {
+			cutOffsets[arc] = cut;
+			while (cut < cutCount && arcOf(cuts[cut]) == arc) {
+				cut++;
+			}
+			cutOffsets[arc + 1] = cut;
+
+			int start = getCutStart(arc);
+			int count = cut - start;
+			arcBase[arc] = base;
+			base += (isRotated(arc, start)) ? (count) : (count + 1);
+		}
+		arcBase[arcCount] = base;
+	}
+
+	/**
+	 * Write the quantisation transform of the topology.
+	 *
+	 * @param json the JSON generator, positioned inside the topology object
+	 * @throws IOException if writing the transform fails
+	 */
+	public void writeTransform(JsonGenerator json) throws IOException {
+		json.writeObjectFieldStart("transform");
+		json.writeArrayFieldStart("scale");
+		json.writeNumber(scale);
+		json.writeNumber(scale);
+		json.writeEndArray();
+		json.writeArrayFieldStart("translate");
+		json.writeNumber(TRANSLATE_X);
+		json.writeNumber(TRANSLATE_Y);
+		json.writeEndArray();
+		json.writeEndObject();
+	}
+
+	/**
+	 * Write an encoded geometry. Writes the type and the arcs, coordinates
+	 * or geometries fields of a TopoJSON geometry object.
+	 *
+	 * @param in the input to read the encoded geometry from
+	 * @param json the JSON generator, positioned inside the geometry object
+	 * @throws IOException if reading the encoded geometry or writing the
+	 *             geometry fails
+	 */
+	public void writeGeometry(DataInput in, JsonGenerator json) throws IOException {
+		byte type = in.readByte();
+		switch (type) {
+		case TYPE_NULL:
+			json.writeNullField("type");
+			break;
+		case TYPE_POINT:
+			json.writeStringField("type", "Point");
+			json.writeFieldName("coordinates");
+			writePosition(in, json);
+			break;
+		case TYPE_MULTI_POINT:
+			json.writeStringField("type", "MultiPoint");
+			json.writeArrayFieldStart("coordinates");
+			int count = in.readInt();
+			for (int i = 0; i < count; i++) {
+				writePosition(in, json);
+			}
+			json.writeEndArray();
+			break;
+		case TYPE_LINE_STRING:
+			json.writeStringField("type", "LineString");
+			json.writeFieldName("arcs");
+			writeRefs(in, json);
+			break;
+		case TYPE_MULTI_LINE_STRING:
+			json.writeStringField("type", "MultiLineString");
+			json.writeFieldName("arcs");
+			writeLines(in, json);
+			break;
+		case TYPE_POLYGON:
+			json.writeStringField("type", "Polygon");
+			json.writeFieldName("arcs");
+			writeLines(in, json);
+			break;
+		case TYPE_MULTI_POLYGON:
+			json.writeStringField("type", "MultiPolygon");
+			json.writeArrayFieldStart("arcs");
+			int polygons = in.readInt();
+			for (int i = 0; i < polygons; i++) {
+				writeLines(in, json);
+			}
+			json.writeEndArray();
+			break;
+		case TYPE_GEOMETRY_COLLECTION:
+			json.writeStringField("type", "GeometryCollection");
+			json.writeArrayFieldStart("geometries");
+			int geometries = in.readInt();
+			for (int i = 0; i < geometries; i++) {
+				json.writeStartObject();
+				writeGeometry(in, json);
+				json.writeEndObject();
+			}
+			json.writeEndArray();
+			break;
+		default:
+			throw new IOException("Invalid encoded geometry type " + type);
+		}
+	}
+
+	/**
+	 * Write the arcs of the topology as array of delta-encoded positions.
+	 *
+	 * @param json the JSON generator, positioned where the array should be
+	 *            written
+	 * @throws IOException if reading the arcs or writing the array fails
+	 */
+	public void writeArcs(JsonGenerator json) throws IOException {
+		json.writeStartArray();
+		try (DataInputStream in = new DataInputStream(
+				new BufferedInputStream(new FileInputStream(arcFile)))) {
+			for (int arc = 0; arc < arcCount; arc++) {
+				int length = arcLengths[arc];
+				int[] xs = new int[length + 1];
+				int[] ys = new int[length + 1];
+				for (int i = 0; i <= length; i++) {
+					xs[i] = in.readInt();
+					ys[i] = in.readInt();
+				}
+
+				int start = getCutStart(arc);
+				int end = cutOffsets[arc + 1];
+				if (isRotated(arc, start)) {
+					// closed arc that starts at its first cut
+					for (int cut = start; cut < end - 1; cut++) {
+						writeArc(json, xs, ys, pointOf(cuts[cut]), pointOf(cuts[cut + 1]), 0);
+					}
+					writeArc(json, xs, ys, pointOf(cuts[end - 1]), length, pointOf(cuts[start]));
+				}
+				else {
+					int from = 0;
+					for (int cut = start; cut < end; cut++) {
+						int to = pointOf(cuts[cut]);
+						writeArc(json, xs, ys, from, to, 0);
+						from = to;
+					}
+					writeArc(json, xs, ys, from, length, 0);
+				}
+			}
+		}
+		json.writeEndArray();
+	}
+
+	/**
+	 * @return the number of arcs in the topology, available after
+	 *         {@link #finish()}
+	 */
+	public int getArcCount() {
+		return arcBase[arcCount];
+	}
+
+	@Override
+	public void close() throws IOException {
+		try {
+			arcOut.close();
+		} finally {
+			arcFile.delete();
+		}
+	}
+
+	/**
+	 * Encode the rings of a polygon.
+	 *
+	 * @param polygon the polygon
+	 * @return the arc references of the rings or <code>null</code> if the
+	 *         exterior ring collapses when quantised
+	 * @throws IOException if writing the arcs fails
+	 */
+	private List<List<int[]>> encodePolygon(Polygon polygon) throws IOException {
+		if (polygon.isEmpty()) {
+			return null;
+		}
+		List<int[]> shell = encodeLine(polygon.getExteriorRing().getCoordinateSequence(), true);
+		if (shell == null) {
+			return null;
+		}
+
+		List<List<int[]>> rings = new ArrayList<>();
+		rings.add(shell);
+		for (int i = 0; i < polygon.getNumInteriorRing(); i++) {
+			List<int[]> hole = encodeLine(polygon.getInteriorRingN(i).getCoordinateSequence(),
+					true);
+			if (hole != null) {
+				rings.add(hole);
+			}
+		}
+		return rings;
+	}
+
+	/**
+	 * Encode a line as arc references and add new arcs for the segments that
+	 * are not yet part of the topology.
+	 *
+	 * @param sequence the coordinates of the line
+	 * @param ring if the line is a polygon ring
+	 * @return the arc references, each consisting of the arc, the start and
+	 *         end point index and if the arc is reversed, or <code>null</code>
+	 *         if the line collapses when quantised
+	 * @throws IOException if writing the arcs fails
+	 */
+	private List<int[]> encodeLine(CoordinateSequence sequence, boolean ring) throws IOException {
+		long[] points = quantize(sequence);
+		if (points.length < ((ring) ? (4) : (2))) {
+			return null;
+		}
+
+		List<int[]> refs = new ArrayList<>();
+
+		// new arc that is currently built from new segments
+		int pendingArc = -1;
+		int pendingStart = 0;
+
+		// run of segments of an existing arc
+		int runArc = -1;
+		int runFrom = 0;
+		int runTo = 0;
+		boolean runReversed = false;
+
+		for (int i = 0; i < points.length - 1; i++) {
+			boolean forward = points[i] < points[i + 1];
+			long low = (forward) ? (points[i]) : (points[i + 1]);
+			long high = (forward) ? (points[i + 1]) : (points[i]);
+
+			int arc = (pendingArc < 0) ? (arcCount) : (pendingArc);
+			int segment = (pendingArc < 0) ? (0) : (i - pendingStart);
+			long existing = segments.putIfAbsent(low, high,
+					((long) arc << 32) | ((long) segment << 1) | ((forward) ? (1) : (0)));
+
+			if (existing == SegmentIndex.NONE) {
+				// new segment
+				if (runArc >= 0) {
+					addRef(refs, runArc, runFrom, runTo, runReversed, ring);
+					runArc = -1;
+				}
+				if (pendingArc < 0) {
+					pendingArc = arcCount++;
+					pendingStart = i;
+				}
+			}
+			else {
+				if (pendingArc >= 0) {
+					finishArc(pendingArc, points, pendingStart, i, refs, ring);
+					pendingArc = -1;
+				}
+
+				int existingArc = (int) (existing >>> 32);
+				int existingSegment = (int) ((existing & 0xFFFFFFFFL) >>> 1);
+				boolean reversed = ((existing & 1) != 0) != forward;
+				if (runArc == existingArc && runReversed == reversed
+						&& ((reversed) ? (existingSegment == runFrom - 1)
+								: (existingSegment == runTo))) {
+					// continue run
+					if (reversed) {
+						runFrom--;
+					}
+					else {
+						runTo++;
+					}
+				}
+				else {
+					if (runArc >= 0) {
+						addRef(refs, runArc, runFrom, runTo, runReversed, ring);
+					}
+					runArc = existingArc;
+					runFrom = existingSegment;
+					runTo = existingSegment + 1;
+					runReversed = reversed;
+				}
+			}
+		}
+
+		if (pendingArc >= 0) {
+			finishArc(pendingArc, points, pendingStart, points.length - 1, refs, ring);
+		}
+		if (runArc >= 0) {
+			addRef(refs, runArc, runFrom, runTo, runReversed, ring);
+		}
+
+		return refs;
+	}
+
+	/**
+	 * Complete a new arc and write its coordinates.
+	 *
+	 * @param arc the arc index
+	 * @param points the points of the line
+	 * @param start the index of the first point of the arc
+	 * @param end the index of the last point of the arc
+	 * @param refs the arc references of the line to add the arc to
+	 * @param ring if the line is a polygon ring
+	 * @throws IOException if writing the arc fails
+	 */
+	private void finishArc(int arc, long[] points, int start, int end, List<int[]> refs,
+			boolean ring) throws IOException {
+		if (arc >= arcLengths.length) {
+			arcLengths = Arrays.copyOf(arcLengths, arcLengths.length * 2);
+		}
+		int length = end - start;
+		arcLengths[arc] = length;
+		boolean closed = points[start] == points[end];
+		if (closed) {
+			closedArcs.set(arc);
+		}
+
+		for (int i = start; i <= end; i++) {
+			arcOut.writeInt((int) (points[i] >> 32));
+			arcOut.writeInt((int) points[i]);
+		}
+
+		refs.add(new int[] { arc, 0, length, 0 });
+		if (closed && !ring) {
+			// a line must start at the start point of the arc
+			addCut(arc, 0);
+		}
+	}
+
+	/**
+	 * Add a reference to a part of an existing arc.
+	 *
+	 * @param refs the arc references of the line
+	 * @param arc the arc index
+	 * @param from the index of the first point of the part
+	 * @param to the index of the last point of the part
+	 * @param reversed if the part is used in reverse direction
+	 * @param ring if the line is a polygon ring
+	 */
+	private void addRef(List<int[]> refs, int arc, int from, int to, boolean reversed,
+			boolean ring) {
+		refs.add(new int[] { arc, from, to, (reversed) ? (1) : (0) });
+		if (!ring || from != 0 || to != arcLengths[arc]) {
+			// the start point of a ring is not relevant
+			addCut(arc, from);
+			addCut(arc, to);
+		}
+	}
+
+	/**
+	 * Add a point where an arc has to be cut.
+	 *
+	 * @param arc the arc index
+	 * @param point the point index
+	 */
+	private void addCut(int arc, int point) {
+		int length = arcLengths[arc];
+		if (point == 0 || point == length) {
+			if (!closedArcs.get(arc)) {
+				// end points of open arcs are retained anyway
+				return;
+			}
+			point = 0;
+		}
+
+		if (cutCount == cuts.length) {
+			cuts = Arrays.copyOf(cuts, cuts.length * 2);
+		}
+		cuts[cutCount++] = ((long) arc << 32) | point;
+	}
+
+	/**
+	 * Get the offset of the cuts of an arc, skipping the marker for retaining
+	 * the start point of a closed arc.
+	 *
+	 * @param arc the arc index
+	 * @return the offset of the first cut of the arc
+	 */
+	private int getCutStart(int arc) {
+		int start = cutOffsets[arc];
+		if (start < cutOffsets[arc + 1] && pointOf(cuts[start]) == 0) {
+			start++;
+		}
+		return start;
+	}
+
+	/**
+	 * Determine if a cut closed arc starts at its first cut instead of its
+	 * start point. This avoids splitting a ring at a point that is not shared
+	 * with other lines.
+	 *
+	 * @param arc the arc index
+	 * @param start the offset of the first cut of the arc
+	 * @return if the arc is rotated
+	 */
+	private boolean isRotated(int arc, int start) {
+		return closedArcs.get(arc) && start == cutOffsets[arc] && start < cutOffsets[arc + 1];
+	}
+
+	/**
+	 * Write the arc references of a line, resolved to the arcs in the
+	 * topology.
+	 *
+	 * @param in the input to read the encoded arc references from
+	 * @param json the JSON generator
+	 * @throws IOException if reading or writing fails
+	 */
+	private void writeRefs(DataInput in, JsonGenerator json) throws IOException {
+		json.writeStartArray();
+		int count = in.readInt();
+		for (int i = 0; i < count; i++) {
+			int arc = in.readInt();
+			int from = in.readInt();
+			int to = in.readInt();
+			boolean reversed = in.readBoolean();
+
+			int start = getCutStart(arc);
+			boolean rotated = isRotated(arc, start);
+			int first;
+			int last;
+			if (rotated && from == 0 && to == arcLengths[arc]) {
+				// complete ring
+				first = 0;
+				last = cutOffsets[arc + 1] - start - 1;
+			}
+			else {
+				first = getSubArc(arc, from, start, rotated);
+				last = getSubArc(arc, to, start, rotated) - 1;
+			}
+
+			int base = arcBase[arc];
+			if (reversed) {
+				for (int sub = last; sub >= first; sub--) {
+					json.writeNumber(~(base + sub));
+				}
+			}
+			else {
+				for (int sub = first; sub <= last; sub++) {
+					json.writeNumber(base + sub);
+				}
+			}
+		}
+		json.writeEndArray();
+	}
+
+	/**
+	 * Determine the part of a cut arc that starts at the given point.
+	 *
+	 * @param arc the arc index
+	 * @param point the point index, the end point of the arc yields the
+	 *            number of parts
+	 * @param start the offset of the first cut of the arc
+	 * @param rotated if the arc is rotated
+	 * @return the index of the part
+	 */
+	private int getSubArc(int arc, int point, int start, boolean rotated) {
+		int end = cutOffsets[arc + 1];
+		if (!rotated) {
+			if (point == 0) {
+				return 0;
+			}
+			if (point == arcLengths[arc]) {
+				return end - start + 1;
+			}
+		}
+
+		int index = Arrays.binarySearch(cuts, start, end, ((long) arc << 32) | point);
+		if (index < 0) {
+			throw new IllegalStateException("Arc reference does not match cut points");
+		}
+		return (rotated) ? (index - start) : (index - start + 1);
+	}
+
+	private void writeLines(List<List<int[]>> lines, DataOutput out) throws IOException {
+		out.writeInt(lines.size());
+		for (List<int[]> refs : lines) {
+			writeRefs(refs, out);
+		}
+	}
+
+	private void writeLines(DataInput in, JsonGenerator json) throws IOException {
+		json.writeStartArray();
+		int count = in.readInt();
+		for (int i = 0; i < count; i++) {
+			writeRefs(in, json);
+		}
+		json.writeEndArray();
+	}
+
+	private static void writeRefs(List<int[]> refs, DataOutput out) throws IOException {
+		out.writeInt(refs.size());
+		for (int[] ref : refs) {
+			out.writeInt(ref[0]);
+			out.writeInt(ref[1]);
+			out.writeInt(ref[2]);
+			out.writeBoolean(ref[3] != 0);
+		}
+	}
+
+	private void writePosition(Coordinate coordinate, DataOutput out) throws IOException {
+		out.writeInt(quantize(coordinate.x, TRANSLATE_X));
+		out.writeInt(quantize(coordinate.y, TRANSLATE_Y));
+	}
+
+	private static void writePosition(DataInput in, JsonGenerator json) throws IOException {
+		json.writeStartArray();
+		json.writeNumber(in.readInt());
+		json.writeNumber(in.readInt());
+		json.writeEndArray();
+	}
+
+	/**
+	 * Write a part of an arc with delta-encoded positions.
+	 *
+	 * @param json the JSON generator
+	 * @param xs the quantised x coordinates of the arc
+	 * @param ys the quantised y coordinates of the arc
+	 * @param from the index of the first point
+	 * @param to the index of the last point
+	 * @param wrapTo for a closed arc, the index of the last point to continue
+	 *            with from the start of the arc, <code>0</code> for none
+	 * @throws IOException if writing fails
+	 */
+	private static void writeArc(JsonGenerator json, int[] xs, int[] ys, int from, int to,
+			int wrapTo) throws IOException {
+		json.writeStartArray();
+		int x = 0;
+		int y = 0;
+		for (int i = from; i <= to + wrapTo; i++) {
+			// skip the duplicate start point of a closed arc when wrapping
+			int point = (i <= to) ? (i) : (i - to);
+			json.writeStartArray();
+			json.writeNumber(xs[point] - x);
+			json.writeNumber(ys[point] - y);
+			json.writeEndArray();
+			x = xs[point];
+			y = ys[point];
+		}
+		json.writeEndArray();
+	}
+
+	/**
+	 * Quantise the coordinates of a line, omitting consecutive duplicate
+	 * points.
+	 *
+	 * @param sequence the coordinates
+	 * @return the quantised points, with the x coordinate in the upper and
+	 *         the y coordinate in the lower 32 bits
+	 */
+	private long[] quantize(CoordinateSequence sequence) {
+		long[] points = new long[sequence.size()];
+		int count = 0;
+		for (int i = 0; i < sequence.size(); i++) {
+			long point = ((long) quantize(sequence.getX(i), TRANSLATE_X) << 32)
+					| (quantize(sequence.getY(i), TRANSLATE_Y) & 0xFFFFFFFFL);
+			if (count == 0 || points[count - 1] != point) {
+				points[count++] = point;
+			}
+		}
+		return (count == points.length) ? (points) : (Arrays.copyOf(points, count));
+	}
+
+	private int quantize(double value, double translate) {
+		double quantized = Math.rint((value - translate) * factor);
+		if (!(quantized >= Integer.MIN_VALUE && quantized <= Integer.MAX_VALUE)) {
+			throw new IllegalArgumentException(
+					"Coordinate value " + value + " is outside of the supported range");
+		}
+		return (int) quantized;
+	}
+
+	private static int arcOf(long cut) {
+		return (int) (cut >>> 32);
+	}
+
+	private static int pointOf(long cut) {
+		return (int) cut;
+	}
+
+}
@@ -0,0 +1,210 @@
+/*
+ * Copyright (c) 2026 wetransform GmbH
+ *
+ * All rights reserved. This program and the accompanying materials are made
+ * available under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 3 of the License,
+ * or (at your option) any later version.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Contributors:
+ *     wetransform GmbH <http://www.wetransform.to>
+ */
+
+package eu.esdihumboldt.hale.io.wfs.test
+
+import static org.junit.Assert.*
+
+import org.junit.After
+import org.junit.Before
+import org.junit.BeforeClass
+import org.junit.Test
+
+import eu.esdihumboldt.hale.common.core.io.Value
+import eu.esdihumboldt.hale.common.core.io.report.IOReport
+import eu.esdihumboldt.hale.common.core.io.supplier.DefaultInputSupplier
+import eu.esdihumboldt.hale.common.core.io.supplier.NoStreamOutputSupplier
+import eu.esdihumboldt.hale.common.instance.groovy.InstanceBuilder
+import eu.esdihumboldt.hale.common.instance.model.InstanceCollection
+import eu.esdihumboldt.hale.common.schema.model.Schema
+import eu.esdihumboldt.hale.common.schema.model.impl.DefaultSchemaSpace
+import eu.esdihumboldt.hale.common.test.TestUtil
+import eu.esdihumboldt.hale.io.wfs.PartitioningWFSWriter
+import eu.esdihumboldt.hale.io.wfs.WFSVersion
+import eu.esdihumboldt.hale.io.xsd.reader.XmlSchemaReader
+
+/**
+ * Tests for uploading partitioned data with {@link PartitioningWFSWriter},
+ * using a local stand-in for a WFS-T.
+ */
+class PartitioningWFSWriterTest {
+
+	private static final String PLUGIN_NAME = 'eu.esdihumboldt.hale.io.wfs.test'
+
+	private static final URL BUILDINGS_SCHEMA = new URL("platform:/plugin/$PLUGIN_NAME/resources/buildings.xsd")
+
+	private static Schema schema
+
+	private WFSTransactionStub wfs
+
+	@BeforeClass
+	static void initAll() {
+		TestUtil.startConversionService()
+
+		XmlSchemaReader reader = new XmlSchemaReader()
+		reader.setSharedTypes(null)
+		reader.setSource(new DefaultInputSupplier(BUILDINGS_SCHEMA.toURI()))
+		IOReport report = reader.execute(null)
+		assertTrue(report.isSuccess())
+		schema = reader.getSchema()
+	}
+
+	@Before
+	void startService() {
+		wfs = new WFSTransactionStub('Building')
+	}
+
+	@After
+	void stopService() {
+		wfs.close()
+	}
+
+	/**
+	 * Test if parts are uploaded concurrently, but not by more threads than
+	 * configured.
+	 */
+	@Test
+	void testConcurrentUpload() {
+		wfs.latency = 200
+
+		IOReport report = upload(createBuildings(100), 10, 4, 0)
+
+		assertTrue(report.isSuccess())
+		assertEquals(100, wfs.insertedCount)
+		assertTrue(wfs.requestCount >= 10)
+		assertTrue('Parts were not uploaded concurrently', wfs.maxConcurrentRequests > 1)
+		assertTrue(wfs.maxConcurrentRequests <= 4)
+	}
+
+	/**
+	 * Test if the upload of a part is retried if the service reports a server
+	 * error.
+	 */
+	@Test
+	void testRetryOnServerError() {
+		wfs.failNext(2, 503)
+
+		IOReport report = upload(createBuildings(20), 100, 1, 2)
+
+		assertTrue(report.isSuccess())
+		assertEquals(3, wfs.requestCount)
+		assertEquals(20, wfs.insertedCount)
+		assertEquals(2, report.warnings.count { it.message.contains('retrying') })
+	}
+
+	/**
+	 * Test if the upload fails if the retries are exhausted.
+	 */
+	@Test
+	void testRetriesExhausted() {
+		wfs.failNext(5, 503)
+
+		IOReport report = upload(createBuildings(20), 100, 1, 1)
+
+		assertFalse(report.isSuccess())
+		assertEquals(2, wfs.requestCount)
+		assertEquals(0, wfs.insertedCount)
+	}
+
+	/**
+	 * Test if the upload of a part is not retried if the service rejects the
+	 * request.
+	 */
+	@Test
+	void testNoRetryOnClientError() {
+		wfs.failNext(1, 400)
+
+		IOReport report = upload(createBuildings(20), 100, 1, 2)
+
+		assertFalse(report.isSuccess())
+		assertEquals(1, wfs.requestCount)
+		assertEquals(0, wfs.insertedCount)
+	}
+
+	/**
+	 * Test if the upload of a part is not retried if the request was sent, but
+	 * no response was received, as the service may have processed it.
+	 */
+	@Test
+	void testNoRetryWithoutResponse() {
+		wfs.dropNext(1)
+
+		IOReport report = upload(createBuildings(20), 100, 1, 2)
+
+		assertFalse(report.isSuccess())
+		assertEquals(1, wfs.requestCount)
+		assertEquals(0, report.warnings.count { it.message.contains('retrying') })
+	}
+
+	/**
+	 * Test if the upload of a part is retried if the connection to the service
+	 * could not be established.
+	 */
+	@Test
+	void testRetryIfConnectionFailed() {
+		URI location = wfs.location
+		wfs.close()
+
+		IOReport report = upload(createBuildings(20), 100, 1, 1, location)
+
+		assertFalse(report.isSuccess())
+		assertEquals(1, report.warnings.count { it.message.contains('retrying') })
+	}
+
+	/**
+	 * Test if failed uploads are not retried by default.
+	 */
+	@Test
+	void testNoRetryByDefault() {
+		wfs.failNext(1, 503)
+
+		IOReport report = upload(createBuildings(20), 100, 1, null)
+
+		assertFalse(report.isSuccess())
+		assertEquals(1, wfs.requestCount)
+	}
+
+	private InstanceCollection createBuildings(int count) {
+		new InstanceBuilder(types: schema).createCollection {
+			count.times { index ->
+				BuildingType {
+					name "Building $index"
+					height 10.5
+				}
+			}
+		}
+	}
+
+	private IOReport upload(InstanceCollection instances, int instancesPerRequest, int threads,
+			Integer retries, URI location = wfs.location) {
+		PartitioningWFSWriter writer = new PartitioningWFSWriter()
+		writer.setWFSVersion(WFSVersion.V2_0_0)
+		writer.setParameter(PartitioningWFSWriter.PARAM_INSTANCES_THRESHOLD, Value.of(instancesPerRequest))
+		writer.setParameter(PartitioningWFSWriter.PARAM_UPLOAD_THREADS, Value.of(threads))
+		if (retries != null) {
+			writer.setParameter(PartitioningWFSWriter.PARAM_UPLOAD_RETRIES, Value.of(retries))
+		}
+		writer.setParameter(PartitioningWFSWriter.PARAM_UPLOAD_RETRY_DELAY, Value.of(10))
+
+		DefaultSchemaSpace schemaSpace = new DefaultSchemaSpace()
+		schemaSpace.addSchema(schema)
+		writer.setTargetSchema(schemaSpace)
+		writer.setTarget(new NoStreamOutputSupplier(location))
+		writer.setInstances(instances)
+
+		writer.execute(null)
+	}
+
+}
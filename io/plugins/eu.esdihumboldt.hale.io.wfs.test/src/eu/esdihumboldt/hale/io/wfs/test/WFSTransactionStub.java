@@ -0,0 +1,298 @@
+/*
+ * Copyright (c) 2026 wetransform GmbH
+ *
+ * All rights reserved. This program and the accompanying materials are made
+ * available under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 3 of the License,
+ * or (at your option) any later version.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Contributors:
+ *     wetransform GmbH <http://www.wetransform.to>
+ */
+
+package eu.esdihumboldt.hale.io.wfs.test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Minimal HTTP server acting as WFS-T endpoint for tests. Answers each POST
+ * request with a transaction response reporting the number of inserted
+ * features. Latency, failing requests and requests without response can be
+ * simulated.
+ */
+public class WFSTransactionStub implements Closeable {
+
+	private final ServerSocket serverSocket;
+
+	private final ExecutorService connections = Executors.newCachedThreadPool();
+
+	private final Pattern featurePattern;
+
+	private volatile long latency;
+
+	private final AtomicInteger failuresLeft = new AtomicInteger();
+
+	private volatile int failureStatus = 503;
+
+	private final AtomicInteger dropsLeft = new AtomicInteger();
+
+	private final AtomicInteger requests = new AtomicInteger();
+
+	private final AtomicInteger active = new AtomicInteger();
+
+	private final AtomicInteger maxConcurrent = new AtomicInteger();
+
+	private final AtomicInteger inserted = new AtomicInteger();
+
+	/**
+	 * Create and start a stub listening on a free local port.
+	 * 
+	 * @param featureName the local name of the feature elements to count in
+	 *            the transaction requests
+	 * @throws IOException if the server socket cannot be created
+	 */
+	public WFSTransactionStub(String featureName) throws IOException {
+		featurePattern = Pattern.compile("<(\\w+:)?" + Pattern.quote(featureName) + "[\\s>/]");
+		serverSocket = new ServerSocket(0, 50, InetAddress.getLoopbackAddress());
+
+		Thread acceptor = new Thread(new Runnable() {
+
+			@Override
+			public void run() {
+				while (!serverSocket.isClosed()) {
+					try {
+						final Socket socket = serverSocket.accept();
+						connections.submit(new Runnable() {
+
+							@Override
+							public void run() {
+								handle(socket);
+							}
+						});
+					} catch (IOException e) {
+						// server socket closed
+					}
+				}
+			}
+		}, "WFS-T stub");
+		acceptor.setDaemon(true);
+		acceptor.start();
+	}
+
+	/**
+	 * @return the URI of the transaction endpoint
+	 */
+	public URI getLocation() {
+		return URI.create("http://localhost:" + serverSocket.getLocalPort() + "/wfs");
+	}
+
+	/**
+	 * Set the time the stub waits before answering a request.
+	 * 
+	 * @param latency the latency in milliseconds
+	 */
+	public void setLatency(long latency) {
+		this.latency = latency;
+	}
+
+	/**
+	 * Let the next requests fail.
+	 * 
+	 * @param count the number of requests to fail
+	 * @param status the HTTP status code to answer failed requests with
+	 */
+	public void failNext(int count, int status) {
+		failureStatus = status;
+		failuresLeft.set(count);
+	}
+
+	/**
+	 * Let the connection of the next requests be closed after the request
+	 * was read, without sending a response.
+	 * 
+	 * @param count the number of requests to answer without response
+	 */
+	public void dropNext(int count) {
+		dropsLeft.set(count);
+	}
+
+	/**
+	 * @return the number of requests received
+	 */
+	public int getRequestCount() {
+		return requests.get();
+	}
+
+	/**
+	 * @return the maximum number of requests that were handled at the same
+	 *         time
+	 */
+	public int getMaxConcurrentRequests() {
+		return maxConcurrent.get();
+	}
+
+	/**
+	 * @return the number of features inserted by successful requests
+	 */
+	public int getInsertedCount() {
+		return inserted.get();
+	}
+
+	private void handle(Socket socket) {
+		try (Socket s = socket) {
+			InputStream in = s.getInputStream();
+
+			String requestLine = readLine(in);
+			if (requestLine == null) {
+				return;
+			}
+			Map<String, String> headers = new HashMap<>();
+			String line;
+			while ((line = readLine(in)) != null && !line.isEmpty()) {
+				int colon = line.indexOf(':');
+				if (colon > 0) {
+					headers.put(line.substring(0, colon).trim().toLowerCase(Locale.ENGLISH),
+							line.substring(colon + 1).trim());
+				}
+			}
+
+			int current = active.incrementAndGet();
+			try {
+				int max;
+				while ((max = maxConcurrent.get()) < current
+						&& !maxConcurrent.compareAndSet(max, current)) {
+					// retry
+				}
+				requests.incrementAndGet();
+
+				String body = readBody(in, headers);
+
+				if (latency > 0) {
+					Thread.sleep(latency);
+				}
+
+				if (dropsLeft.getAndUpdate(n -> (n > 0) ? (n - 1) : (0)) > 0) {
+					return;
+				}
+
+				if (failuresLeft.getAndUpdate(n -> (n > 0) ? (n - 1) : (0)) > 0) {
+					respond(s.getOutputStream(), failureStatus,
+							"<ExceptionReport><Exception><ExceptionText>Simulated failure</ExceptionText></Exception></ExceptionReport>");
+					return;
+				}
+
+				int count = 0;
+				Matcher matcher = featurePattern.matcher(body);
+				while (matcher.find()) {
+					count++;
+				}
+				inserted.addAndGet(count);
+
+				respond(s.getOutputStream(), 200,
+						"<TransactionResponse xmlns=\"http://www.opengis.net/wfs/2.0\"><TransactionSummary><totalInserted>"
+								+ count + "</totalInserted></TransactionSummary></TransactionResponse>");
+			} finally {
+				active.decrementAndGet();
+			}
+		} catch (SocketException e) {
+			// connection closed by client
+		} catch (IOException | InterruptedException e) {
+			// the client notices the missing response
+		}
+	}
+
+	private static String readBody(InputStream in, Map<String, String> headers)
+			throws IOException {
+		ByteArrayOutputStream body = new ByteArrayOutputStream();
+		if ("chunked".equalsIgnoreCase(headers.get("transfer-encoding"))) {
+			String sizeLine;
+			while ((sizeLine = readLine(in)) != null) {
+				int ext = sizeLine.indexOf(';');
+				int size = Integer.parseInt(
+						(ext >= 0) ? (sizeLine.substring(0, ext).trim()) : (sizeLine.trim()), 16);
+				if (size == 0) {
+					// skip trailers
+					String trailer;
+					while ((trailer = readLine(in)) != null && !trailer.isEmpty()) {
+						// ignore
+					}
+					break;
+				}
+				copy(in, body, size);
+				readLine(in);
+			}
+		}
+		else if (headers.containsKey("content-length")) {
+			copy(in, body, Integer.parseInt(headers.get("content-length")));
+		}
+		return new String(body.toByteArray(), StandardCharsets.UTF_8);
+	}
+
+	private static void copy(InputStream in, OutputStream out, int length) throws IOException {
+		byte[] buffer = new byte[8192];
+		int remaining = length;
+		while (remaining > 0) {
+			int read = in.read(buffer, 0, Math.min(buffer.length, remaining));
+			if (read < 0) {
+				throw new IOException("Unexpected end of request body");
+			}
+			out.write(buffer, 0, read);
+			remaining -= read;
+		}
+	}
+
+	private static String readLine(InputStream in) throws IOException {
+		StringBuilder line = new StringBuilder();
+		int c;
+		while ((c = in.read()) >= 0) {
+			if (c == '\n') {
+				int length = line.length();
+				if (length > 0 && line.charAt(length - 1) == '\r') {
+					line.setLength(length - 1);
+				}
+				return line.toString();
+			}
+			line.append((char) c);
+		}
+		return (line.length() > 0) ? (line.toString()) : (null);
+	}
+
+	private static void respond(OutputStream out, int status, String content)
+			throws IOException {
+		byte[] data = content.getBytes(StandardCharsets.UTF_8);
+		String head = "HTTP/1.1 " + status + " " + ((status < 300) ? ("OK") : ("Error")) + "\r\n"
+				+ "Content-Type: application/xml\r\n" + "Content-Length: " + data.length + "\r\n"
+				+ "Connection: close\r\n\r\n";
+		out.write(head.getBytes(StandardCharsets.US_ASCII));
+		out.write(data);
+		out.flush();
+	}
+
+	@Override
+	public void close() throws IOException {
+		serverSocket.close();
+		connections.shutdownNow();
+	}
+
+}
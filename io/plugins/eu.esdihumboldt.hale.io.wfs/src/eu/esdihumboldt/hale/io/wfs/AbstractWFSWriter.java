@@ -16,6 +16,7 @@
 package eu.esdihumboldt.hale.io.wfs;
 
 import java.io.ByteArrayInputStream;
+import java.io.FilterInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
@@ -81,10 +82,19 @@ public abstract class AbstractWFSWriter<T extends StreamGmlWriter> extends
 
 	private static final ALogger log = ALoggerFactory.getLogger(AbstractWFSWriter.class);
 
+	/**
+	 * Size of the buffer between the GML writer and the HTTP request.
+	 */
+	private static final int PIPE_BUFFER_SIZE = 64 * 1024;
+
 	private LocatableOutputSupplier<? extends OutputStream> targetWfs;
 
 	private OutputStream currentExecuteStream;
 
+	private volatile int responseStatusCode = -1;
+
+	private volatile boolean requestSent;
+
 	private final LocatableOutputSupplier<? extends OutputStream> decorateeTarget = new LocatableOutputSupplier<OutputStream>() {
 
 		@Override
@@ -136,15 +146,53 @@ public abstract class AbstractWFSWriter<T extends StreamGmlWriter> extends
 		return targetWfs;
 	}
 
+	/**
+	 * @return the HTTP status code of the response to the last transaction,
+	 *         <code>-1</code> if no response was received
+	 */
+	public int getResponseStatusCode() {
+		return responseStatusCode;
+	}
+
+	/**
+	 * States if sending the last transaction request was started, i.e. if the
+	 * connection to the service was established and the request body was
+	 * read. If this is not the case, the service cannot have processed the
+	 * request.
+	 * 
+	 * @return if the request of the last transaction was (at least partially)
+	 *         sent
+	 */
+	public boolean isRequestSent() {
+		return requestSent;
+	}
+
 	@Override
 	public IOReport execute(ProgressIndicator progress)
 			throws IOProviderConfigurationException, IOException {
 		progress.begin("WFS Transaction", ProgressIndicator.UNKNOWN);
+		responseStatusCode = -1;
+		requestSent = false;
 
 		// configure internal provider
 		internalProvider.setDocumentWrapper(createTransaction());
 
-		final PipedInputStream pIn = new PipedInputStream();
+		final PipedInputStream pIn = new PipedInputStream(PIPE_BUFFER_SIZE);
+		final InputStream body = new FilterInputStream(pIn) {
+
+			@Override
+			public int read() throws IOException {
+				requestSent = true;
+				return super.read();
+			}
+
+			@Override
+			public int read(byte[] b, int off, int len) throws IOException {
+				requestSent = true;
+				return super.read(b, off, len);
+			}
+
+		};
 		PipedOutputStream pOut = new PipedOutputStream(pIn);
 		currentExecuteStream = pOut;
 
@@ -159,7 +207,7 @@ public abstract class AbstractWFSWriter<T extends StreamGmlWriter> extends
 				public Response call() throws Exception {
 
 					Proxy proxy = ProxyUtil.findProxy(targetWfs.getLocation());
-					Request request = Request.Post(targetWfs.getLocation()).bodyStream(pIn,
+					Request request = Request.Post(targetWfs.getLocation()).bodyStream(body,
 							ContentType.APPLICATION_XML);
 					Executor executor = FluentProxyUtil.setProxy(request, proxy);
 
@@ -199,6 +247,7 @@ public abstract class AbstractWFSWriter<T extends StreamGmlWriter> extends
 			Response response = futureResponse.get();
 			HttpResponse res = response.returnResponse();
 			int statusCode = res.getStatusLine().getStatusCode();
+			responseStatusCode = statusCode;
 			XPathFactory xPathfactory = XPathFactory.newInstance();
 			XPath xpath = xPathfactory.newXPath();
 			if (statusCode >= 200 && statusCode < 300) {
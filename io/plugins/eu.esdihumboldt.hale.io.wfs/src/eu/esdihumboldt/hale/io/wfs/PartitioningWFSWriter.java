@@ -16,10 +16,12 @@
 package eu.esdihumboldt.hale.io.wfs;
 
 import java.io.IOException;
+import java.text.MessageFormat;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 
@@ -31,6 +33,7 @@ import eu.esdihumboldt.hale.common.core.io.Value;
 import eu.esdihumboldt.hale.common.core.io.impl.SubtaskProgressIndicator;
 import eu.esdihumboldt.hale.common.core.io.report.IOReport;
 import eu.esdihumboldt.hale.common.core.io.report.IOReporter;
+import eu.esdihumboldt.hale.common.core.io.report.impl.DefaultIOReporter;
 import eu.esdihumboldt.hale.common.core.io.report.impl.IOMessageImpl;
 import eu.esdihumboldt.hale.common.core.report.SimpleLog;
 import eu.esdihumboldt.hale.common.instance.io.impl.AbstractGeoInstanceWriter;
@@ -40,7 +43,9 @@ import eu.esdihumboldt.hale.common.instance.tools.InstanceCollectionPartitioner;
 import eu.esdihumboldt.hale.io.gml.writer.internal.StreamGmlWriter;
 
 /**
- * WFS writer that publishes partitioned data sets
+ * WFS writer that publishes partitioned data sets. Parts are uploaded by a
+ * configurable number of threads, uploads that failed due to connection
+ * problems or server errors are retried.
  * 
  * @author Simon Templer
  */
@@ -58,6 +63,45 @@ public class PartitioningWFSWriter extends AbstractGeoInstanceWriter
 	 */
 	public static final int DEFAULT_INSTANCES_THRESHOLD = 15000;
 
+	/**
+	 * Name of the parameter defining the number of parts uploaded
+	 * concurrently.
+	 */
+	public static final String PARAM_UPLOAD_THREADS = "upload.threads";
+
+	/**
+	 * Default number of parts uploaded concurrently.
+	 */
+	public static final int DEFAULT_UPLOAD_THREADS = 1;
+
+	/**
+	 * Name of the parameter defining how often the upload of a part is
+	 * retried.
+	 */
+	public static final String PARAM_UPLOAD_RETRIES = "upload.retries";
+
+	/**
+	 * Default number of retries for the upload of a part, by default failed
+	 * uploads are not retried.
+	 */
+	public static final int DEFAULT_UPLOAD_RETRIES = 0;
+
+	/**
+	 * Name of the parameter defining the delay in milliseconds before the
+	 * first retry. The delay is doubled for each further retry.
+	 */
+	public static final String PARAM_UPLOAD_RETRY_DELAY = "upload.retryDelay";
+
+	/**
+	 * Default delay in milliseconds before the first retry.
+	 */
+	public static final int DEFAULT_UPLOAD_RETRY_DELAY = 1000;
+
+	/**
+	 * Maximum delay in milliseconds between retries.
+	 */
+	private static final long MAX_RETRY_DELAY = 60000;
+
 	@Override
 	protected IOReport execute(final ProgressIndicator progress, final IOReporter reporter)
 			throws IOProviderConfigurationException, IOException {
@@ -95,16 +139,9 @@ public class PartitioningWFSWriter extends AbstractGeoInstanceWriter
 							progress.setCurrentTask("Upload part " + partCount + ((part.hasSize())
 									? (" (" + part.size() + " instances)") : ("")));
 
-							IOReport report = uploadInstances(part, reporter,
-									new SubtaskProgressIndicator(progress));
-							if (!report.isSuccess()) {
+							if (!uploadPart(partCount, part, reporter,
+									new SubtaskProgressIndicator(progress))) {
 								failed = true;
-								reporter.error("Upload of part {0} - {1}", partCount,
-										report.getSummary());
-							}
-							else {
-								reporter.info("Upload of part {0} - {1}", partCount,
-										report.getSummary());
 							}
 						}
 
@@ -124,65 +161,64 @@ public class PartitioningWFSWriter extends AbstractGeoInstanceWriter
 
 				}
 				else {
-					// can start requests with separate thread (potentially
-					// threads, but tests with WFSes show that this usually is
-					// too much to handle for the service)
+					// can start requests with separate threads (by default only
+					// one, as tests with WFSes show that more usually is too
+					// much to handle for the service)
 
 					int partCount = 0;
 					final AtomicBoolean failed = new AtomicBoolean();
 					if (parts.hasNext()) {
-						ExecutorService requestThread = Executors.newSingleThreadExecutor();
-
-						while (parts.hasNext() && !progress.isCanceled()) {
-							partCount++;
-
-							SubtaskProgressIndicator partitionProgress = new SubtaskProgressIndicator(
-									progress); // only used for first
-												// partitioning
-							if (partCount == 1)
-								partitionProgress.begin("Assembling part " + partCount,
-										ProgressIndicator.UNKNOWN);
-							final InstanceCollection part = parts.next(); // not
-																			// thread
-																			// safe
-							if (partCount == 1)
-								partitionProgress.end();
-
-							progress.setCurrentTask("Upload part " + partCount + ((part.hasSize())
-									? (" (" + part.size() + " instances)") : ("")));
-
-							final int currentPart = partCount;
-							requestThread.submit(new Runnable() {
-
-								@Override
-								public void run() {
-									try {
-										IOReport report = uploadInstances(part, reporter,
-												new SubtaskProgressIndicator(progress));
-										if (!report.isSuccess()) {
-											failed.set(true);
-											reporter.error(new IOMessageImpl("Upload of part "
-													+ currentPart + " - " + report.getSummary(),
-													null));
-										}
-										else {
-											reporter.info(new IOMessageImpl("Upload of part "
-													+ currentPart + " - " + report.getSummary(),
-													null));
+						int threads = Math.max(1, getParameter(PARAM_UPLOAD_THREADS)
+								.as(Integer.class, DEFAULT_UPLOAD_THREADS));
+						ExecutorService requestThreads = Executors.newFixedThreadPool(threads);
+						// limit the number of parts that are assembled, but not
+						// uploaded yet
+						final Semaphore inFlight = new Semaphore(threads * 2);
+
+						try {
+							while (parts.hasNext() && !progress.isCanceled()) {
+								partCount++;
+
+								inFlight.acquire();
+
+								SubtaskProgressIndicator partitionProgress = new SubtaskProgressIndicator(
+										progress); // only used for first
+													// partitioning
+								if (partCount == 1)
+									partitionProgress.begin("Assembling part " + partCount,
+											ProgressIndicator.UNKNOWN);
+								final InstanceCollection part = parts.next(); // not
+																				// thread
+																				// safe
+								if (partCount == 1)
+									partitionProgress.end();
+
+								progress.setCurrentTask("Upload part " + partCount
+										+ ((part.hasSize()) ? (" (" + part.size() + " instances)")
+												: ("")));
+
+								final int currentPart = partCount;
+								requestThreads.submit(new Runnable() {
+
+									@Override
+									public void run() {
+										try {
+											if (!uploadPart(currentPart, part, reporter,
+													new SubtaskProgressIndicator(progress))) {
+												failed.set(true);
+											}
+										} finally {
+											inFlight.release();
 										}
-									} catch (Exception e) {
-										failed.set(true);
-										reporter.error(new IOMessageImpl(
-												"Upload of part " + currentPart + " failed", e));
 									}
-								}
-							});
+								});
 
+							}
+						} finally {
+							// wait for requests completion
+							requestThreads.shutdown();
 						}
-
-						// wait for requests completion
-						requestThread.shutdown();
-						if (!requestThread.awaitTermination(24, TimeUnit.HOURS)) {
+						if (!requestThreads.awaitTermination(24, TimeUnit.HOURS)) {
 							reporter.error(new IOMessageImpl(
 									"Timeout reached waiting for completion of WFS requests",
 									null));
@@ -215,6 +251,98 @@ public class PartitioningWFSWriter extends AbstractGeoInstanceWriter
 		return reporter;
 	}
 
+	/**
+	 * Upload a part via the WFS-T interface. If the upload fails because the
+	 * connection to the service could not be established or the service
+	 * reported a server error, the upload is retried if configured. The
+	 * messages of the last attempt are added to the reporter.
+	 * 
+	 * @param partNumber the number of the part
+	 * @param part the instances to upload
+	 * @param reporter the reporter, may be shared between threads
+	 * @param progress the progress indicator
+	 * @return if the upload was successful
+	 */
+	private boolean uploadPart(int partNumber, InstanceCollection part, IOReporter reporter,
+			ProgressIndicator progress) {
+		int retries = getParameter(PARAM_UPLOAD_RETRIES).as(Integer.class,
+				DEFAULT_UPLOAD_RETRIES);
+		long delay = getParameter(PARAM_UPLOAD_RETRY_DELAY).as(Integer.class,
+				DEFAULT_UPLOAD_RETRY_DELAY);
+
+		for (int attempt = 0;; attempt++) {
+			IOReporter partReporter = new DefaultIOReporter(getTarget(),
+					"Upload of part " + partNumber, reporter.getTaskType(), false);
+
+			IOReport report = null;
+			Exception error = null;
+			SimpleWFSWriter writer = null;
+			try {
+				writer = createPartWriter(part, partReporter);
+				report = writer.execute(progress);
+			} catch (Exception e) {
+				error = e;
+			}
+			boolean success = error == null && report.isSuccess();
+
+			if (success || attempt >= retries || progress.isCanceled()
+					|| writer == null || !isRetryable(writer)) {
+				synchronized (reporter) {
+					reporter.importMessages(partReporter);
+					if (error != null) {
+						reporter.error(new IOMessageImpl(
+								"Upload of part " + partNumber + " failed", error));
+					}
+					else if (!success) {
+						reporter.error(new IOMessageImpl(
+								"Upload of part " + partNumber + " - " + report.getSummary(),
+								null));
+					}
+					else {
+						reporter.info(new IOMessageImpl(
+								"Upload of part " + partNumber + " - " + report.getSummary(),
+								null));
+					}
+				}
+				return success;
+			}
+
+			long wait = Math.min(MAX_RETRY_DELAY, delay << Math.min(attempt, 16));
+			synchronized (reporter) {
+				reporter.warn(new IOMessageImpl(MessageFormat.format(
+						"Upload of part {0} failed ({1}), retrying in {2} ms", partNumber,
+						(report != null) ? (report.getSummary()) : (error.getMessage()), wait),
+						error));
+			}
+			try {
+				Thread.sleep(wait);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				synchronized (reporter) {
+					reporter.error(new IOMessageImpl(
+							"Upload of part " + partNumber + " was interrupted", e));
+				}
+				return false;
+			}
+		}
+	}
+
+	/**
+	 * Determine if a failed upload may succeed when it is retried. If no
+	 * response was received, the upload is only retried if the request was
+	 * not sent, as the service may have processed it otherwise.
+	 * 
+	 * @param writer the writer used for the failed upload
+	 * @return if the upload should be retried
+	 */
+	private static boolean isRetryable(SimpleWFSWriter writer) {
+		int statusCode = writer.getResponseStatusCode();
+		if (statusCode < 0) {
+			return !writer.isRequestSent();
+		}
+		return statusCode >= 500 || statusCode == 408 || statusCode == 429;
+	}
+
 	/**
 	 * Upload instances via the WFS-T interface.
 	 * 
@@ -229,6 +357,19 @@ public class PartitioningWFSWriter extends AbstractGeoInstanceWriter
 	protected IOReport uploadInstances(final InstanceCollection instances,
 			final IOReporter reporter, final ProgressIndicator progress)
 					throws IOProviderConfigurationException, IOException {
+		return createPartWriter(instances, reporter).execute(progress);
+	}
+
+	/**
+	 * Create a writer for uploading instances via the WFS-T interface, based
+	 * on the configuration of this writer.
+	 * 
+	 * @param instances the instances to upload
+	 * @param reporter the reporter to use
+	 * @return the configured writer
+	 */
+	private SimpleWFSWriter createPartWriter(final InstanceCollection instances,
+			final IOReporter reporter) {
 		SimpleWFSWriter writer = new SimpleWFSWriter() {
 
 			@Override
@@ -250,7 +391,7 @@ public class PartitioningWFSWriter extends AbstractGeoInstanceWriter
 		writer.setTarget(getTarget());
 		writer.setInstances(instances);
 
-		return writer.execute(progress);
+		return writer;
 	}
 
 	@Override
@@ -16,8 +16,14 @@
 
 package eu.esdihumboldt.hale.io.xml.validator;
 
+import java.io.IOException;
 import java.net.URI;
 
+import javax.xml.validation.Schema;
+
+import org.xml.sax.SAXException;
+
+import eu.esdihumboldt.hale.io.xml.validator.internal.ValidationSchemaCache;
 import eu.esdihumboldt.hale.io.xml.validator.internal.XMLApiValidator;
 import eu.esdihumboldt.hale.io.xml.validator.internal.XercesValidator;
 
@@ -70,4 +76,17 @@ public class ValidatorFactory {
 		return new XMLApiValidator(schemaLocations);
 	}
 
+	/**
+	 * Get the compiled schema for the given schema locations, e.g. to validate
+	 * a document while it is written. Compiled schemas are cached.
+	 * 
+	 * @param schemaLocations the schemas
+	 * @return the compiled schema
+	 * @throws IOException if reading a schema document fails
+	 * @throws SAXException if compiling the schema fails
+	 */
+	public Schema getSchema(URI... schemaLocations) throws IOException, SAXException {
+		return ValidationSchemaCache.getInstance().getSchema(schemaLocations);
+	}
+
 }
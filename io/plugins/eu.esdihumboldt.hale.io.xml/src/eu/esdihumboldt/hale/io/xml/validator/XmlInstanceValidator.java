@@ -54,16 +54,10 @@ public class XmlInstanceValidator extends AbstractInstanceValidator {
 	protected IOReport execute(ProgressIndicator progress, IOReporter reporter)
 			throws IOProviderConfigurationException, IOException {
 		progress.begin("Validating XML", ProgressIndicator.UNKNOWN);
-		List<URI> schemaLocations = new ArrayList<URI>();
-		for (Locatable schema : getSchemas()) {
-			URI loc = schema.getLocation();
-			if (loc != null) {
-				schemaLocations.add(loc);
-			}
-			else {
-				reporter.warn(new IOMessageImpl(
-						"No location for schema, may cause validation to fail.", null));
-			}
+		List<URI> schemaLocations = getSchemaLocations();
+		if (schemaLocations.size() < getSchemas().length) {
+			reporter.warn(new IOMessageImpl("No location for schema, may cause validation to fail.",
+					null));
 		}
 		Validator val = ValidatorFactory.getInstance()
 				.createValidator(schemaLocations.toArray(new URI[schemaLocations.size()]));
@@ -95,6 +89,23 @@ public class XmlInstanceValidator extends AbstractInstanceValidator {
 		}
 	}
 
+	/**
+	 * @return the locations of the schemas to validate against, schemas
+	 *         without location are omitted
+	 */
+	public List<URI> getSchemaLocations() {
+		List<URI> schemaLocations = new ArrayList<URI>();
+		if (getSchemas() != null) {
+			for (Locatable schema : getSchemas()) {
+				URI loc = schema.getLocation();
+				if (loc != null) {
+					schemaLocations.add(loc);
+				}
+			}
+		}
+		return schemaLocations;
+	}
+
 	@Override
 	protected String getReportLabel() {
 		return "XML validation";
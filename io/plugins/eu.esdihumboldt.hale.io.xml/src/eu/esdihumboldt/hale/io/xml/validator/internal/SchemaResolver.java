@@ -19,6 +19,10 @@ package eu.esdihumboldt.hale.io.xml.validator.internal;
 import java.io.InputStream;
 import java.net.URI;
 import java.net.URISyntaxException;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.w3c.dom.ls.LSInput;
 import org.w3c.dom.ls.LSResourceResolver;
@@ -37,6 +41,9 @@ public class SchemaResolver implements LSResourceResolver {
 
 	private final URI mainSchemaURI;
 
+	private final Set<String> resolvedLocations = Collections
+			.newSetFromMap(new ConcurrentHashMap<String, Boolean>());
+
 	/**
 	 * Constructor
 	 * 
@@ -76,6 +83,7 @@ public class SchemaResolver implements LSResourceResolver {
 		}
 
 		final URI uriLoc = uri;
+		resolvedLocations.add(uri.toString());
 
 		// create a lazy LSInput because we cannot be sure that the
 		// stream is actually consumed (and if not consumed we get a
@@ -129,4 +137,11 @@ public class SchemaResolver implements LSResourceResolver {
 		lsin.setSystemId(uri.toString());
 		return lsin;
 	}
+
+	/**
+	 * @return the locations of all resources resolved so far
+	 */
+	public Collection<String> getResolvedLocations() {
+		return Collections.unmodifiableSet(resolvedLocations);
+	}
 }
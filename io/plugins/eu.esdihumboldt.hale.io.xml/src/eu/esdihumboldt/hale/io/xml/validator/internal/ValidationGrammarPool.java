@@ -0,0 +1,248 @@
+/*
+ * Copyright (c) 2026 wetransform GmbH
+ *
+ * All rights reserved. This program and the accompanying materials are made
+ * available under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 3 of the License,
+ * or (at your option) any later version.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Contributors:
+ *     wetransform GmbH <http://www.wetransform.to>
+ */
+
+package eu.esdihumboldt.hale.io.xml.validator.internal;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.apache.xerces.impl.XMLEntityManager;
+import org.apache.xerces.impl.xs.SchemaGrammar;
+import org.apache.xerces.impl.xs.XSDDescription;
+import org.apache.xerces.xni.grammars.Grammar;
+import org.apache.xerces.xni.grammars.XMLGrammarDescription;
+import org.apache.xerces.xni.grammars.XMLGrammarPool;
+import org.apache.xerces.xs.StringList;
+
+import de.fhg.igd.slf4jplus.ALogger;
+import de.fhg.igd.slf4jplus.ALoggerFactory;
+
+/**
+ * Grammar pool that shares XML Schema grammars between validation runs. In
+ * contrast to the Xerces default implementation grammars are identified by
+ * the location of their schema documents rather than only by their target
+ * namespace, so different schemas for the same namespace don't get mixed up.
+ * Before a grammar is handed out, the local files it was loaded from
+ * (including those of imported grammars) are checked for modifications;
+ * grammars of modified schemas are dropped so they get loaded again.
+ */
+public class ValidationGrammarPool implements XMLGrammarPool {
+
+	private static final ALogger log = ALoggerFactory.getLogger(ValidationGrammarPool.class);
+
+	/**
+	 * A cached grammar.
+	 */
+	private static class CacheEntry {
+
+		private final SchemaGrammar grammar;
+
+		/**
+		 * Locations of the documents the grammar and the grammars it imports
+		 * were loaded from, mapped to their fingerprint.
+		 */
+		private final Map<String, String> documents;
+
+		public CacheEntry(SchemaGrammar grammar, Map<String, String> documents) {
+			this.grammar = grammar;
+			this.documents = documents;
+		}
+
+	}
+
+	/**
+	 * Cached grammars mapped by schema document location.
+	 */
+	private final ConcurrentMap<String, CacheEntry> grammars = new ConcurrentHashMap<>();
+
+	/**
+	 * @see XMLGrammarPool#retrieveInitialGrammarSet(String)
+	 */
+	@Override
+	public Grammar[] retrieveInitialGrammarSet(String grammarType) {
+		// grammars are only provided for specific schema locations
+		return new Grammar[0];
+	}
+
+	/**
+	 * @see XMLGrammarPool#cacheGrammars(String, Grammar[])
+	 */
+	@Override
+	public void cacheGrammars(String grammarType, Grammar[] grammarList) {
+		if (!XMLGrammarDescription.XML_SCHEMA.equals(grammarType)) {
+			return;
+		}
+
+		for (Grammar grammar : grammarList) {
+			if (!(grammar instanceof SchemaGrammar)) {
+				continue;
+			}
+			SchemaGrammar schemaGrammar = (SchemaGrammar) grammar;
+
+			Map<String, String> documents = null;
+			StringList locations = schemaGrammar.getDocumentLocations();
+			for (int i = 0; i < locations.getLength(); i++) {
+				String location = locations.item(i);
+				if (location == null) {
+					continue;
+				}
+
+				CacheEntry present = grammars.get(location);
+				if (present != null && present.grammar == schemaGrammar) {
+					// grammar retrieved from the pool, already up to date
+					continue;
+				}
+
+				if (documents == null) {
+					documents = fingerprints(schemaGrammar);
+				}
+				grammars.put(location, new CacheEntry(schemaGrammar, documents));
+			}
+		}
+	}
+
+	/**
+	 * @see XMLGrammarPool#retrieveGrammar(XMLGrammarDescription)
+	 */
+	@Override
+	public Grammar retrieveGrammar(XMLGrammarDescription desc) {
+		if (!(desc instanceof XSDDescription)) {
+			return null;
+		}
+
+		String location = getLocation((XSDDescription) desc);
+		if (location == null) {
+			// the grammar can't be identified
+			return null;
+		}
+
+		CacheEntry entry = grammars.get(location);
+		if (entry == null || !Objects.equals(desc.getNamespace(),
+				entry.grammar.getTargetNamespace())) {
+			return null;
+		}
+
+		for (Entry<String, String> document : entry.documents.entrySet()) {
+			if (!document.getValue().equals(ValidationSchemaCache.fingerprint(document.getKey()))) {
+				log.info("Cached validation grammar invalidated, " + document.getKey()
+						+ " was modified");
+				grammars.values().removeIf(candidate -> candidate.grammar == entry.grammar);
+				return null;
+			}
+		}
+
+		return entry.grammar;
+	}
+
+	/**
+	 * @see XMLGrammarPool#lockPool()
+	 */
+	@Override
+	public void lockPool() {
+		// not supported
+	}
+
+	/**
+	 * @see XMLGrammarPool#unlockPool()
+	 */
+	@Override
+	public void unlockPool() {
+		// not supported
+	}
+
+	/**
+	 * @see XMLGrammarPool#clear()
+	 */
+	@Override
+	public void clear() {
+		grammars.clear();
+	}
+
+	/**
+	 * Determine the location of the schema document described by a grammar
+	 * description.
+	 *
+	 * @param desc the grammar description
+	 * @return the expanded location or <code>null</code> if it is not known
+	 */
+	private static String getLocation(XSDDescription desc) {
+		String location = desc.getExpandedSystemId();
+		if (location != null) {
+			return location;
+		}
+
+		String literal = desc.getLiteralSystemId();
+		if (literal == null) {
+			String[] hints = desc.getLocationHints();
+			if (hints != null && hints.length > 0) {
+				literal = hints[0];
+			}
+		}
+		if (literal == null) {
+			return null;
+		}
+
+		try {
+			return XMLEntityManager.expandSystemId(literal, desc.getBaseSystemId(), false);
+		} catch (Exception e) {
+			return null;
+		}
+	}
+
+	/**
+	 * Determine the fingerprints of the documents a grammar and the grammars
+	 * it (indirectly) imports were loaded from.
+	 *
+	 * @param grammar the grammar
+	 * @return the document locations mapped to their fingerprints
+	 */
+	private static Map<String, String> fingerprints(SchemaGrammar grammar) {
+		Map<String, String> documents = new HashMap<>();
+		Set<SchemaGrammar> visited = new HashSet<>();
+		collectFingerprints(grammar, visited, documents);
+		return documents;
+	}
+
+	private static void collectFingerprints(SchemaGrammar grammar, Set<SchemaGrammar> visited,
+			Map<String, String> documents) {
+		if (!visited.add(grammar)) {
+			return;
+		}
+
+		StringList locations = grammar.getDocumentLocations();
+		for (int i = 0; i < locations.getLength(); i++) {
+			String location = locations.item(i);
+			if (location != null) {
+				documents.put(location, ValidationSchemaCache.fingerprint(location));
+			}
+		}
+
+		@SuppressWarnings("unchecked")
+		Collection<SchemaGrammar> imported = grammar.getImportedGrammars();
+		if (imported != null) {
+			for (SchemaGrammar importedGrammar : imported) {
+				collectFingerprints(importedGrammar, visited, documents);
+			}
+		}
+	}
+
+}
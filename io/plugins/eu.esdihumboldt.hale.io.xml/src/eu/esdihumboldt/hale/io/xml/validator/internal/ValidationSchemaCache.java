@@ -0,0 +1,266 @@
+/*
+ * Copyright (c) 2026 wetransform GmbH
+ *
+ * All rights reserved. This program and the accompanying materials are made
+ * available under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 3 of the License,
+ * or (at your option) any later version.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Contributors:
+ *     wetransform GmbH <http://www.wetransform.to>
+ */
+
+package eu.esdihumboldt.hale.io.xml.validator.internal;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.ref.SoftReference;
+import java.net.URI;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import javax.xml.XMLConstants;
+import javax.xml.transform.Source;
+import javax.xml.transform.stream.StreamSource;
+import javax.xml.validation.Schema;
+import javax.xml.validation.SchemaFactory;
+
+import org.apache.xerces.parsers.SAXParser;
+import org.apache.xerces.util.SynchronizedSymbolTable;
+import org.xml.sax.SAXException;
+
+import de.fhg.igd.slf4jplus.ALogger;
+import de.fhg.igd.slf4jplus.ALoggerFactory;
+import eu.esdihumboldt.hale.common.core.io.supplier.DefaultInputSupplier;
+
+/**
+ * Process wide cache of compiled schemas used for XML validation. Compiled
+ * schemas are keyed by the schema locations. Before a cached schema is used,
+ * the schema documents and the imported and included documents that are local
+ * files are checked for modifications.<br>
+ * <br>
+ * For validating against the schemas referenced in the XML documents, a
+ * shared {@link ValidationGrammarPool} is provided. The cache can be disabled
+ * by setting the system property {@value #SYSTEM_PROPERTY_ENABLED} to
+ * <code>false</code>.
+ */
+public class ValidationSchemaCache {
+
+	/**
+	 * Name of the system property that allows disabling the cache.
+	 */
+	public static final String SYSTEM_PROPERTY_ENABLED = "hale.xml.validation.cache";
+
+	private static final ALogger log = ALoggerFactory.getLogger(ValidationSchemaCache.class);
+
+	private static final ValidationSchemaCache INSTANCE = new ValidationSchemaCache();
+
+	/**
+	 * Prime number used as symbol table size, same as the size used by
+	 * Xerces for shared symbol tables.
+	 */
+	private static final int SYMBOL_TABLE_SIZE = 2039;
+
+	/**
+	 * A cached compiled schema.
+	 */
+	private static class CacheEntry {
+
+		private final SoftReference<Schema> schema;
+
+		/**
+		 * Locations of the schema documents and the imported and included
+		 * documents mapped to their fingerprint.
+		 */
+		private final Map<String, String> resolved;
+
+		public CacheEntry(Schema schema, Map<String, String> resolved) {
+			this.schema = new SoftReference<>(schema);
+			this.resolved = resolved;
+		}
+
+	}
+
+	private final ConcurrentMap<String, CacheEntry> entries = new ConcurrentHashMap<>();
+
+	private final SynchronizedSymbolTable symbolTable = new SynchronizedSymbolTable(
+			SYMBOL_TABLE_SIZE);
+
+	private final ValidationGrammarPool grammarPool = new ValidationGrammarPool();
+
+	/**
+	 * @return the cache instance
+	 */
+	public static ValidationSchemaCache getInstance() {
+		return INSTANCE;
+	}
+
+	/**
+	 * @return if the cache is enabled
+	 */
+	public static boolean isEnabled() {
+		return !"false".equalsIgnoreCase(System.getProperty(SYSTEM_PROPERTY_ENABLED));
+	}
+
+	/**
+	 * Get the compiled schema for the given schema locations. The schema is
+	 * compiled if no valid cached schema is available.
+	 *
+	 * @param schemaLocations the schema locations, the first location is used
+	 *            as the main location to resolve relative references
+	 * @return the compiled schema
+	 * @throws IOException if reading a schema document fails
+	 * @throws SAXException if compiling the schema fails
+	 */
+	public Schema getSchema(URI[] schemaLocations) throws IOException, SAXException {
+		URI mainUri = (schemaLocations.length > 0) ? (schemaLocations[0]) : (null);
+
+		String key = null;
+		if (isEnabled()) {
+			key = createKey(schemaLocations);
+			Schema cached = get(key);
+			if (cached != null) {
+				return cached;
+			}
+		}
+
+		Map<String, String> fingerprints = new HashMap<>();
+		Source[] sources = new Source[schemaLocations.length];
+		for (int i = 0; i < schemaLocations.length; i++) {
+			String location = schemaLocations[i].toString();
+			// determine the fingerprint before reading the document
+			fingerprints.put(location, fingerprint(location));
+			try (InputStream in = new DefaultInputSupplier(schemaLocations[i]).getInput()) {
+				sources[i] = new StreamSource(new ByteArrayInputStream(readContent(in)));
+			}
+		}
+
+		// create a SchemaFactory capable of understanding WXS schemas
+		SchemaFactory factory = SchemaFactory.newInstance(XMLConstants.W3C_XML_SCHEMA_NS_URI);
+		SchemaResolver resolver = new SchemaResolver(mainUri);
+		factory.setResourceResolver(resolver);
+		Schema schema = factory.newSchema(sources);
+
+		if (key != null) {
+			for (String location : resolver.getResolvedLocations()) {
+				fingerprints.putIfAbsent(location, fingerprint(location));
+			}
+			entries.put(key, new CacheEntry(schema, fingerprints));
+		}
+
+		return schema;
+	}
+
+	/**
+	 * Create a parser for validating against the schemas referenced in XML
+	 * documents. If the cache is enabled, the parser shares grammars with
+	 * other parsers created by this method.
+	 *
+	 * @return the parser
+	 */
+	public SAXParser createParser() {
+		if (isEnabled()) {
+			return new SAXParser(symbolTable, grammarPool);
+		}
+		return new SAXParser();
+	}
+
+	/**
+	 * Remove all cached schemas and grammars.
+	 */
+	public void clear() {
+		entries.clear();
+		grammarPool.clear();
+	}
+
+	/**
+	 * Get a cached schema.
+	 *
+	 * @param key the cache key
+	 * @return the cached schema or <code>null</code> if there is no valid
+	 *         cached schema for the key
+	 */
+	private Schema get(String key) {
+		CacheEntry entry = entries.get(key);
+		if (entry == null) {
+			return null;
+		}
+
+		Schema schema = entry.schema.get();
+		if (schema == null) {
+			// was garbage collected
+			entries.remove(key, entry);
+			return null;
+		}
+
+		for (Entry<String, String> document : entry.resolved.entrySet()) {
+			if (!document.getValue().equals(fingerprint(document.getKey()))) {
+				log.info("Cached validation schema invalidated, " + document.getKey()
+						+ " was modified");
+				entries.remove(key, entry);
+				return null;
+			}
+		}
+
+		return schema;
+	}
+
+	/**
+	 * Create a cache key.
+	 *
+	 * @param locations the schema locations
+	 * @return the cache key
+	 */
+	private static String createKey(URI[] locations) {
+		StringBuilder key = new StringBuilder();
+		for (URI location : locations) {
+			key.append(location.toString());
+			key.append('\n');
+		}
+		return key.toString();
+	}
+
+	/**
+	 * Determine a fingerprint of a schema document that changes if the
+	 * document is changed. Only local files are checked, other resources are
+	 * assumed not to change.
+	 *
+	 * @param location the schema document location
+	 * @return the fingerprint
+	 */
+	static String fingerprint(String location) {
+		try {
+			URI uri = URI.create(location);
+			if ("file".equals(uri.getScheme())) {
+				File file = new File(uri);
+				if (!file.exists()) {
+					return "missing";
+				}
+				return file.lastModified() + ":" + file.length();
+			}
+		} catch (Exception e) {
+			// ignore
+		}
+		return "";
+	}
+
+	private static byte[] readContent(InputStream in) throws IOException {
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		byte[] buffer = new byte[8192];
+		int read;
+		while ((read = in.read(buffer)) >= 0) {
+			out.write(buffer, 0, read);
+		}
+		return out.toByteArray();
+	}
+
+}
@@ -19,12 +19,8 @@ package eu.esdihumboldt.hale.io.xml.validator.internal;
 import java.io.InputStream;
 import java.net.URI;
 
-import javax.xml.XMLConstants;
-import javax.xml.transform.Source;
 import javax.xml.transform.stream.StreamSource;
-import javax.xml.validation.SchemaFactory;
 
-import eu.esdihumboldt.hale.common.core.io.supplier.DefaultInputSupplier;
 import eu.esdihumboldt.hale.io.xml.validator.Report;
 import eu.esdihumboldt.hale.io.xml.validator.Validator;
 
@@ -55,23 +51,8 @@ public class XMLApiValidator implements Validator {
 	public Report validate(InputStream xml) {
 		javax.xml.validation.Schema validateSchema;
 		try {
-			URI mainUri = null;
-			Source[] sources = new Source[schemaLocations.length];
-			for (int i = 0; i < this.schemaLocations.length; i++) {
-				URI schemaLocation = this.schemaLocations[i];
-
-				if (mainUri == null) { // use first schema location for main URI
-					mainUri = schemaLocation;
-				}
-
-				// load a WXS schema, represented by a Schema instance
-				DefaultInputSupplier dis = new DefaultInputSupplier(schemaLocation);
-				sources[i] = new StreamSource(dis.getInput());
-			}
-			// create a SchemaFactory capable of understanding WXS schemas
-			SchemaFactory factory = SchemaFactory.newInstance(XMLConstants.W3C_XML_SCHEMA_NS_URI);
-			factory.setResourceResolver(new SchemaResolver(mainUri));
-			validateSchema = factory.newSchema(sources);
+			// compiled schemas are reused for validating multiple files
+			validateSchema = ValidationSchemaCache.getInstance().getSchema(schemaLocations);
 		} catch (Exception e) {
 			throw new IllegalStateException("Error parsing schema for XML validation", e); //$NON-NLS-1$
 		}
@@ -63,7 +63,7 @@ public class XercesValidator implements Validator {
 	@Override
 	public Report validate(InputStream xml) {
 		final ReportImpl report = new ReportImpl();
-		SAXParser parser = new SAXParser();
+		SAXParser parser = ValidationSchemaCache.getInstance().createParser();
 
 		setFeature(parser, "http://xml.org/sax/features/validation", true); //$NON-NLS-1$
 		setFeature(parser, "http://apache.org/xml/features/validation/schema", true); //$NON-NLS-1$
@@ -19,14 +19,26 @@ package eu.esdihumboldt.hale.io.xsd.reader;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
 import static org.junit.Assert.assertTrue;
 
 import java.io.IOException;
 import java.io.InputStream;
 import java.net.URI;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Date;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import javax.xml.XMLConstants;
 import javax.xml.namespace.QName;
@@ -42,6 +54,8 @@ import eu.esdihumboldt.hale.common.core.io.report.IOReport;
 import eu.esdihumboldt.hale.common.core.io.supplier.DefaultInputSupplier;
 import eu.esdihumboldt.hale.common.core.io.supplier.LocatableInputSupplier;
 import eu.esdihumboldt.hale.common.schema.model.ChildDefinition;
+import eu.esdihumboldt.hale.common.schema.model.DefinitionGroup;
+import eu.esdihumboldt.hale.common.schema.model.DefinitionUtil;
 import eu.esdihumboldt.hale.common.schema.model.GroupPropertyDefinition;
 import eu.esdihumboldt.hale.common.schema.model.PropertyDefinition;
 import eu.esdihumboldt.hale.common.schema.model.Schema;
@@ -58,6 +72,7 @@ import eu.esdihumboldt.hale.common.schema.model.impl.DefaultTypeIndex;
 import eu.esdihumboldt.hale.io.xsd.constraint.XmlElements;
 import eu.esdihumboldt.hale.io.xsd.model.XmlElement;
 import eu.esdihumboldt.hale.io.xsd.model.XmlIndex;
+import eu.esdihumboldt.hale.io.xsd.reader.internal.XmlSchemaCache;
 
 /**
  * Tests for XML schema reading
@@ -593,6 +608,123 @@ public class XmlSchemaReaderTest {
 		// TODO extend
 	}
 
+	/**
+	 * Test that properties created lazily from multiple threads concurrently
+	 * are the same as the properties created when loading the schema.
+	 * 
+	 * @throws Exception if reading the schema fails
+	 */
+	@Test
+	public void testLazyTypesConcurrentAccess() throws Exception {
+		for (String schemaFile : new String[] { "/testdata/shiporder/shiporder-types-cycle.xsd",
+				"/testdata/definitive/groups.xsd", "/testdata/definitive/choice_complex.xsd",
+				"/testdata/definitive/attributegroup.xsd" }) {
+			URI location = getClass().getResource(schemaFile).toURI();
+
+			Schema eager = readSchema(new DefaultInputSupplier(location), false);
+			final Map<QName, String> expected = new HashMap<>();
+			for (TypeDefinition type : eager.getTypes()) {
+				expected.put(type.getName(), describe(type, new HashSet<DefinitionGroup>()));
+			}
+
+			final Schema lazy = readSchema(new DefaultInputSupplier(location), true);
+			int threads = 8;
+			final CyclicBarrier barrier = new CyclicBarrier(threads);
+			ExecutorService executor = Executors.newFixedThreadPool(threads);
+			try {
+				List<Future<?>> results = new ArrayList<>();
+				for (int i = 0; i < threads; i++) {
+					results.add(executor.submit(new Callable<Void>() {
+
+						@Override
+						public Void call() throws Exception {
+							barrier.await();
+							for (TypeDefinition type : lazy.getTypes()) {
+								String description = describe(type,
+										new HashSet<DefinitionGroup>());
+								if (expected.containsKey(type.getName())) {
+									assertEquals(expected.get(type.getName()), description);
+								}
+							}
+							return null;
+						}
+
+					}));
+				}
+				for (Future<?> result : results) {
+					result.get();
+				}
+			} finally {
+				executor.shutdownNow();
+			}
+
+			assertEquals(expected.keySet().size(), lazy.getTypes().size());
+		}
+	}
+
+	/**
+	 * Test that schemas read from the schema cache don't share their type
+	 * definitions.
+	 * 
+	 * @throws Exception if an error occurs
+	 */
+	@Test
+	public void testCachedSchemaNotShared() throws Exception {
+		URI location = getClass().getResource("/testdata/shiporder/shiporder-types-cycle.xsd")
+				.toURI();
+		System.setProperty(XmlSchemaCache.SYSTEM_PROPERTY_ENABLED, "true");
+		try {
+			XmlIndex first = (XmlIndex) readSchema(new DefaultInputSupplier(location));
+			XmlIndex second = (XmlIndex) readSchema(new DefaultInputSupplier(location));
+			XmlIndex lazy = (XmlIndex) readSchema(new DefaultInputSupplier(location), true);
+
+			assertNotSame(first, second);
+			assertEquals(first.getTypes().size(), second.getTypes().size());
+			assertEquals(first.getMappingRelevantTypes().size(),
+					second.getMappingRelevantTypes().size());
+			assertFalse(second.getMappingRelevantTypes().isEmpty());
+
+			for (TypeDefinition type : first.getTypes()) {
+				TypeDefinition other = second.getType(type.getName());
+				assertNotNull(other);
+				assertNotSame(type, other);
+				assertEquals(describe(type, new HashSet<DefinitionGroup>()),
+						describe(other, new HashSet<DefinitionGroup>()));
+				assertNotNull(lazy.getType(type.getName()));
+			}
+
+			// changing one schema must not affect the other
+			int relevant = second.getMappingRelevantTypes().size();
+			first.toggleMappingRelevant(new ArrayList<>(first.getMappingRelevantTypes()));
+			assertTrue(first.getMappingRelevantTypes().isEmpty());
+			assertEquals(relevant, second.getMappingRelevantTypes().size());
+		} finally {
+			System.clearProperty(XmlSchemaCache.SYSTEM_PROPERTY_ENABLED);
+			XmlSchemaCache.getInstance().clear();
+		}
+	}
+
+	private static String describe(DefinitionGroup group, Set<DefinitionGroup> visited) {
+		if (!visited.add(group)) {
+			return "...";
+		}
+
+		StringBuilder description = new StringBuilder("{");
+		for (ChildDefinition<?> child : DefinitionUtil.getAllChildren(group)) {
+			description.append(child.getName()).append(':');
+			if (child.asProperty() != null) {
+				TypeDefinition type = child.asProperty().getPropertyType();
+				description.append(type.getName());
+				description.append(describe(type, visited));
+			}
+			else if (child.asGroup() != null) {
+				description.append(describe(child.asGroup(), visited));
+			}
+			description.append(';');
+		}
+		return description.append('}').toString();
+	}
+
 //	/**
 //	 * Test reading a simple XML schema containing union and list types.
 //	 * @throws Exception if reading the schema fails
@@ -629,7 +761,31 @@ public class XmlSchemaReaderTest {
 	 */
 	public static Schema readSchema(LocatableInputSupplier<? extends InputStream> input)
 			throws IOProviderConfigurationException, IOException {
+		return readSchema(new XmlSchemaReader(), input);
+	}
+
+	/**
+	 * Reads a schema with only feature types being mapping relevant, so
+	 * properties of other types can be created lazily.
+	 * 
+	 * @param input the input supplier
+	 * @param lazy if properties of types should be created lazily
+	 * @return the schema
+	 * @throws IOProviderConfigurationException if the configuration of the
+	 *             reader is invalid
+	 * @throws IOException if reading the schema fails
+	 */
+	private static Schema readSchema(LocatableInputSupplier<? extends InputStream> input,
+			boolean lazy) throws IOProviderConfigurationException, IOException {
 		XmlSchemaReader reader = new XmlSchemaReader();
+		reader.setMappingRelevantMode(XmlSchemaReader.MAPPING_RELEVANT_MODE_FEATURE_TYPES);
+		reader.setLazyTypes(lazy);
+		return readSchema(reader, input);
+	}
+
+	private static Schema readSchema(XmlSchemaReader reader,
+			LocatableInputSupplier<? extends InputStream> input)
+			throws IOProviderConfigurationException, IOException {
 //		reader.setContentType(XMLSchemaIO.XSD_CT);
 		reader.setSharedTypes(new DefaultTypeIndex());
 		reader.setSource(input);
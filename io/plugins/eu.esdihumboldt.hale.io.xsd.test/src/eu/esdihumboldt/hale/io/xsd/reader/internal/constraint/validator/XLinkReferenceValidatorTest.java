@@ -0,0 +1,129 @@
+/*
+ * Copyright (c) 2026 wetransform GmbH
+ *
+ * All rights reserved. This program and the accompanying materials are made
+ * available under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 3 of the License,
+ * or (at your option) any later version.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Contributors:
+ *     wetransform GmbH <http://www.wetransform.to>
+ */
+
+package eu.esdihumboldt.hale.io.xsd.reader.internal.constraint.validator;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import javax.xml.namespace.QName;
+
+import org.junit.Test;
+
+import eu.esdihumboldt.hale.common.instance.extension.validation.InstanceValidationContext;
+import eu.esdihumboldt.hale.common.instance.extension.validation.ValidationLocation;
+import eu.esdihumboldt.hale.common.instance.extension.validation.report.InstanceValidationMessage;
+import eu.esdihumboldt.hale.common.instance.extension.validation.report.impl.DefaultInstanceValidationReporter;
+import eu.esdihumboldt.hale.common.schema.model.PropertyDefinition;
+import eu.esdihumboldt.hale.common.schema.model.impl.DefaultPropertyDefinition;
+import eu.esdihumboldt.hale.common.schema.model.impl.DefaultTypeDefinition;
+import eu.esdihumboldt.hale.io.xsd.constraint.XmlIdUnique;
+import eu.esdihumboldt.hale.io.xsd.reader.internal.constraint.XLinkReference;
+
+/**
+ * Tests for {@link XLinkReferenceValidator}.
+ */
+public class XLinkReferenceValidatorTest {
+
+	private static final int THREADS = 8;
+
+	private static final int VALUES = 5000;
+
+	/**
+	 * Test that identifiers and references collected by concurrent threads
+	 * are all taken into account.
+	 * 
+	 * @throws Exception if an error occurs
+	 */
+	@Test
+	public void testConcurrentValidation() throws Exception {
+		DefaultTypeDefinition type = new DefaultTypeDefinition(new QName("Feature"));
+		DefaultTypeDefinition stringType = new DefaultTypeDefinition(new QName("string"));
+
+		DefaultPropertyDefinition idProperty = new DefaultPropertyDefinition(new QName("id"),
+				type, stringType);
+		idProperty.setConstraint(new XmlIdUnique(idProperty) {
+
+			@Override
+			public boolean isEnabled() {
+				return true;
+			}
+		});
+
+		DefaultPropertyDefinition refProperty = new DefaultPropertyDefinition(
+				new QName("href"), type, stringType);
+		refProperty.setConstraint(new XLinkReference());
+
+		final XLinkReferenceValidator validator = new XLinkReferenceValidator();
+		final InstanceValidationContext context = new InstanceValidationContext();
+		final ValidationLocation location = new ValidationLocation(null, type.getName(),
+				Collections.<QName> emptyList());
+
+		ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+		try {
+			List<Future<?>> futures = new ArrayList<>();
+			for (int t = 0; t < THREADS; t++) {
+				final int thread = t;
+				futures.add(executor.submit(new Callable<Void>() {
+
+					@Override
+					public Void call() throws Exception {
+						for (int i = 0; i < VALUES; i++) {
+							// reference an identifier added by another thread
+							String referenced = ((thread + 1) % THREADS) + "-" + i;
+							validate(validator, refProperty, "#" + referenced, context,
+									location);
+							validate(validator, idProperty, thread + "-" + i, context,
+									location);
+						}
+						return null;
+					}
+				}));
+			}
+			for (Future<?> future : futures) {
+				future.get();
+			}
+		} finally {
+			executor.shutdownNow();
+		}
+
+		// a reference that cannot be resolved
+		validate(validator, refProperty, "#missing", context, location);
+
+		DefaultInstanceValidationReporter reporter = new DefaultInstanceValidationReporter(
+				false);
+		validator.validateContext(context, reporter);
+
+		assertEquals(1, reporter.getWarnings().size());
+		InstanceValidationMessage message = reporter.getWarnings().iterator().next();
+		assertTrue(message.getMessage().contains("#missing"));
+	}
+
+	private static void validate(XLinkReferenceValidator validator, PropertyDefinition property,
+			String value, InstanceValidationContext context, ValidationLocation location)
+			throws Exception {
+		validator.validatePropertyConstraint(new Object[] { value }, null, property, context,
+				location);
+	}
+
+}
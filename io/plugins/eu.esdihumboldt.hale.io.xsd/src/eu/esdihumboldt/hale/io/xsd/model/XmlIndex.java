@@ -17,6 +17,9 @@
 package eu.esdihumboldt.hale.io.xsd.model;
 
 import java.net.URI;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -80,7 +83,7 @@ public class XmlIndex extends DefaultSchema {
 	 * @param name the type name
 	 * @return the type definition
 	 */
-	public XmlTypeDefinition getOrCreateType(QName name) {
+	public synchronized XmlTypeDefinition getOrCreateType(QName name) {
 		XmlTypeDefinition type = (XmlTypeDefinition) super.getType(name);
 		if (type == null) {
 			type = new XmlTypeDefinition(name);
@@ -112,6 +115,16 @@ public class XmlIndex extends DefaultSchema {
 		super.addType(type);
 	}
 
+	/**
+	 * {@inheritDoc}<br>
+	 * Returns a copy, as types may be added when the properties of types are
+	 * created lazily.
+	 */
+	@Override
+	public synchronized Collection<? extends TypeDefinition> getTypes() {
+		return Collections.unmodifiableCollection(new ArrayList<>(super.getTypes()));
+	}
+
 	/**
 	 * @return the attribute definitions
 	 */
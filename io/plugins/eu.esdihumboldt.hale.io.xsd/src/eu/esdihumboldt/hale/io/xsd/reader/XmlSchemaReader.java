@@ -15,12 +15,16 @@
  */
 package eu.esdihumboldt.hale.io.xsd.reader;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.text.MessageFormat;
+import java.util.ArrayDeque;
 import java.util.Collection;
+import java.util.Deque;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
@@ -81,6 +85,7 @@ import eu.esdihumboldt.hale.common.core.io.impl.AbstractIOProvider;
 import eu.esdihumboldt.hale.common.core.io.impl.AbstractImportProvider;
 import eu.esdihumboldt.hale.common.core.io.report.IOReport;
 import eu.esdihumboldt.hale.common.core.io.report.IOReporter;
+import eu.esdihumboldt.hale.common.core.io.report.impl.DefaultIOReporter;
 import eu.esdihumboldt.hale.common.core.io.report.impl.IOMessageImpl;
 import eu.esdihumboldt.hale.common.schema.io.SchemaReader;
 import eu.esdihumboldt.hale.common.schema.io.impl.AbstractSchemaReader;
@@ -127,6 +132,7 @@ import eu.esdihumboldt.hale.io.xsd.reader.internal.XmlAttributeGroupReferencePro
 import eu.esdihumboldt.hale.io.xsd.reader.internal.XmlAttributeReferenceProperty;
 import eu.esdihumboldt.hale.io.xsd.reader.internal.XmlElementReferenceProperty;
 import eu.esdihumboldt.hale.io.xsd.reader.internal.XmlGroupReferenceProperty;
+import eu.esdihumboldt.hale.io.xsd.reader.internal.XmlSchemaCache;
 import eu.esdihumboldt.hale.io.xsd.reader.internal.XmlTypeDefinition;
 import eu.esdihumboldt.hale.io.xsd.reader.internal.XmlTypeUtil;
 import eu.esdihumboldt.hale.io.xsd.reader.internal.constraint.ElementName;
@@ -216,6 +222,12 @@ public class XmlSchemaReader extends AbstractSchemaReader {
 	 */
 	public static final String PARAM_CUSTOM_TYPE_CONTENT = "customTypeContent";
 
+	/**
+	 * Name of the parameter specifying if the properties of complex types
+	 * should only be created when they are accessed for the first time.
+	 */
+	public static final String PARAM_LAZY_TYPES = "lazyTypes";
+
 	/**
 	 * The display name constraint for choices
 	 */
@@ -255,10 +267,17 @@ public class XmlSchemaReader extends AbstractSchemaReader {
 	private TObjectIntHashMap<String> groupCounter;
 
 	/**
-	 * The current reporter
+	 * The current reporter. Replaced by a reporter that logs the messages once
+	 * the schema is loaded, if properties are created lazily. Only accessed
+	 * while holding the lock on the {@link #index} after loading.
 	 */
 	private IOReporter reporter;
 
+	/**
+	 * States if a schema was loaded with properties created lazily.
+	 */
+	private boolean lazyLoaded = false;
+
 	/**
 	 * The generated namespace prefixes
 	 */
@@ -303,6 +322,11 @@ public class XmlSchemaReader extends AbstractSchemaReader {
 	@Override
 	protected IOReport execute(ProgressIndicator progress, IOReporter reporter)
 			throws IOProviderConfigurationException, IOException {
+		if (lazyLoaded) {
+			// pending loaders rely on the state of the previous execution
+			fail("The reader cannot load another schema after creating properties lazily");
+		}
+
 		progress.begin(Messages.getString("ApacheSchemaProvider.21"), ProgressIndicator.UNKNOWN); //$NON-NLS-1$
 		this.reporter = reporter;
 
@@ -341,18 +365,65 @@ public class XmlSchemaReader extends AbstractSchemaReader {
 		if (is == null) {
 			is = getSource().getInput();
 		}
-		StreamSource ss = new StreamSource(is);
-		ss.setSystemId(location.toString());
-		xmlSchema = schemaCol.read(ss, null);
-		is.close();
+
+		// check if the same schema was already parsed
+		String cacheKey = null;
+		if (XmlSchemaCache.isEnabled()) {
+			byte[] content;
+			try (InputStream in = is) {
+				content = readContent(in);
+			}
+			cacheKey = XmlSchemaCache.createKey(location, content);
+			xmlSchema = XmlSchemaCache.getInstance().get(cacheKey);
+			if (xmlSchema != null) {
+				// the type definitions are still created for this reader
+				cacheKey = null;
+				reporter.info(new IOMessageImpl(
+						"Using previously parsed schema with identical content", null));
+			}
+			else {
+				is = new ByteArrayInputStream(content);
+			}
+		}
+
+		if (xmlSchema == null) {
+			StreamSource ss = new StreamSource(is);
+			ss.setSystemId(location.toString());
+			xmlSchema = schemaCol.read(ss, null);
+			is.close();
+
+			xmlSchema.setSourceURI(location.toString());
+
+			// load XML Schema schema (for base type definitions)
+			try {
+				is = XmlSchemaReader.class.getResourceAsStream("/schemas/XMLSchema.xsd");
+				ss = new StreamSource(is);
+				schemaCol.setSchemaResolver(
+						new ProgressURIResolver(new HumboldtURIResolver(), progress));
+				schemaCol.setBaseUri(findBaseUri(
+						XmlSchemaReader.class.getResource("/schemas/XMLSchema.xsd").toURI())
+						+ "/");
+				XmlSchema xsSchema = schemaCol.read(ss, null);
+				is.close();
+				xsSchema.setSourceURI("http://www.w3.org/2001/XMLSchema.xsd");
+				XmlSchemaImport xmlSchemaImport = new XmlSchemaImport();
+				xmlSchemaImport.setSchema(xsSchema);
+
+				// add it to includes as XmlSchemaImport (not XmlSchemaInclude!)
+				xmlSchema.getIncludes().add(xmlSchemaImport);
+			} catch (Exception e) {
+				_log.error("Exception while loading XML Schema schema", e);
+			}
+		}
+		else {
+			is.close();
+		}
 
 		String namespace = xmlSchema.getTargetNamespace();
 		if (namespace == null) {
 			namespace = XMLConstants.NULL_NS_URI;
 		}
 
-		xmlSchema.setSourceURI(location.toString());
-
 		// create index
 		index = new XmlIndex(namespace, location);
 
@@ -363,39 +434,90 @@ public class XmlSchemaReader extends AbstractSchemaReader {
 		Map<String, String> imports = new HashMap<>();
 		imports.put(location.toString(), namespace);
 
-		// load XML Schema schema (for base type definitions)
-		try {
-			is = XmlSchemaReader.class.getResourceAsStream("/schemas/XMLSchema.xsd");
-			ss = new StreamSource(is);
-			schemaCol.setSchemaResolver(
-					new ProgressURIResolver(new HumboldtURIResolver(), progress));
-			schemaCol.setBaseUri(
-					findBaseUri(XmlSchemaReader.class.getResource("/schemas/XMLSchema.xsd").toURI())
-							+ "/");
-			XmlSchema xsSchema = schemaCol.read(ss, null);
-			is.close();
-			xsSchema.setSourceURI("http://www.w3.org/2001/XMLSchema.xsd");
-			XmlSchemaImport xmlSchemaImport = new XmlSchemaImport();
-			xmlSchemaImport.setSchema(xsSchema);
-
-			// add it to includes as XmlSchemaImport (not XmlSchemaInclude!)
-			xmlSchema.getIncludes().add(xmlSchemaImport);
-		} catch (Exception e) {
-			_log.error("Exception while loading XML Schema schema", e);
-		}
-
 		loadSchema(location.toString(), xmlSchema, imports, progress, true);
 
-		groupCounter.clear();
+		if (!isLazyTypes()) {
+			// group counter is still needed when properties are created lazily
+			groupCounter.clear();
+		}
 
 		// post processing
 		applyRelevantElements(index);
 		applyCustomTypeContent(index);
 
+		if (isLazyTypes()) {
+			loadRelevantTypes(index);
+			lazyLoaded = true;
+
+			// messages of properties created later can't be added to the
+			// report of this task
+			synchronized (index) {
+				this.reporter = new DefaultIOReporter(getSource(),
+						"Create XML schema type properties", getActionId(), true);
+			}
+		}
+
+		if (cacheKey != null) {
+			// the parsed schema is only read from here on
+			XmlSchemaCache.getInstance().put(cacheKey, xmlSchema, imports.keySet());
+		}
+
 		reporter.setSuccess(true);
 		return reporter;
 	}
 
+	/**
+	 * Create the properties of the mapping relevant types and of all types and
+	 * groups they reference, so that only the properties of types not
+	 * reachable from mapping relevant types are created lazily.
+	 * 
+	 * @param index the XML index
+	 */
+	private void loadRelevantTypes(XmlIndex index) {
+		Set<DefinitionGroup> visited = new HashSet<>();
+		Deque<DefinitionGroup> toLoad = new ArrayDeque<>(index.getMappingRelevantTypes());
+		while (!toLoad.isEmpty()) {
+			DefinitionGroup group = toLoad.pop();
+			if (!visited.add(group)) {
+				continue;
+			}
+
+			Collection<? extends ChildDefinition<?>> children;
+			if (group instanceof TypeDefinition) {
+				children = ((TypeDefinition) group).getChildren();
+			}
+			else {
+				children = group.getDeclaredChildren();
+			}
+
+			for (ChildDefinition<?> child : children) {
+				if (child.asProperty() != null) {
+					toLoad.push(child.asProperty().getPropertyType());
+				}
+				else if (child.asGroup() != null) {
+					toLoad.push(child.asGroup());
+				}
+			}
+		}
+	}
+
+	/**
+	 * Read the content of a stream.
+	 * 
+	 * @param in the input stream
+	 * @return the stream content
+	 * @throws IOException if reading the stream fails
+	 */
+	private static byte[] readContent(InputStream in) throws IOException {
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		byte[] buffer = new byte[8192];
+		int read;
+		while ((read = in.read(buffer)) >= 0) {
+			out.write(buffer, 0, read);
+		}
+		return out.toByteArray();
+	}
+
 	/**
 	 * Apply custom type content configuration.
 	 * 
@@ -514,6 +636,28 @@ public class XmlSchemaReader extends AbstractSchemaReader {
 		return getParameter(PARAM_ONLY_ELEMENTS_MAPPABLE).as(Boolean.class, true);
 	}
 
+	/**
+	 * Set if the properties of complex types should only be created when they
+	 * are accessed for the first time. Mapping relevant types and the types
+	 * they reference are still loaded completely. The parsed schema is kept in
+	 * memory as long as there are types with properties that were not created
+	 * yet. Messages about properties created after the schema was loaded are
+	 * logged. The reader may not be used to load another schema in this mode.
+	 * 
+	 * @param lazy if properties should be created lazily
+	 */
+	public void setLazyTypes(boolean lazy) {
+		setParameter(PARAM_LAZY_TYPES, Value.of(lazy));
+	}
+
+	/**
+	 * @return states if the properties of complex types are only created when
+	 *         they are accessed for the first time
+	 */
+	public boolean isLazyTypes() {
+		return getParameter(PARAM_LAZY_TYPES).as(Boolean.class, false);
+	}
+
 	/**
 	 * Load the feature types defined by the given schema
 	 * 
@@ -890,9 +1034,22 @@ public class XmlSchemaReader extends AbstractSchemaReader {
 			// set type metadata and constraints
 			setMetadataAndConstraints(type, complexType, schemaLocation);
 
-			// determine the defined properties and add them to the declaring
-			// type
-			createProperties(type, complexType, schemaLocation, schemaNamespace);
+			if (isLazyTypes()) {
+				// constraints determined by the content model are needed
+				// before the properties are created
+				setContentConstraints(type, complexType);
+
+				// create the properties on first access, synchronized with
+				// other loaders and other access to the index
+				type.addChildrenLoader(
+						() -> createProperties(type, complexType, schemaLocation, schemaNamespace),
+						index);
+			}
+			else {
+				// determine the defined properties and add them to the
+				// declaring type
+				createProperties(type, complexType, schemaLocation, schemaNamespace);
+			}
 		}
 		else {
 			reporter.error(new IOMessageImpl(
@@ -1625,6 +1782,40 @@ public class XmlSchemaReader extends AbstractSchemaReader {
 		return false;
 	}
 
+	/**
+	 * Set the type constraints for the given complex type that are otherwise
+	 * set while creating its properties.
+	 * 
+	 * @param typeDef the type definition
+	 * @param item the complex type item
+	 */
+	private void setContentConstraints(XmlTypeDefinition typeDef, XmlSchemaComplexType item) {
+		XmlSchemaParticle particle;
+		XmlSchemaContentModel model = item.getContentModel();
+		if (model != null) {
+			XmlSchemaContent content = model.getContent();
+			if (content instanceof XmlSchemaComplexContentExtension) {
+				particle = ((XmlSchemaComplexContentExtension) content).getParticle();
+				typeDef.setConstraintIfNotSet(new ComplexContentHasValue(typeDef));
+			}
+			else if (content instanceof XmlSchemaComplexContentRestriction) {
+				particle = ((XmlSchemaComplexContentRestriction) content).getParticle();
+				typeDef.setConstraintIfNotSet(HasValueFlag.DISABLED);
+			}
+			else {
+				// simple content has no particle
+				particle = null;
+			}
+		}
+		else {
+			particle = item.getParticle();
+		}
+
+		if (particle instanceof XmlSchemaAll) {
+			typeDef.setConstraint(IgnoreOrderFlag.ENABLED);
+		}
+	}
+
 	/**
 	 * Create the properties for the given complex type
 	 * 
@@ -0,0 +1,206 @@
+/*
+ * Copyright (c) 2026 wetransform GmbH
+ *
+ * All rights reserved. This program and the accompanying materials are made
+ * available under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 3 of the License,
+ * or (at your option) any later version.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Contributors:
+ *     wetransform GmbH <http://www.wetransform.to>
+ */
+
+package eu.esdihumboldt.hale.io.xsd.reader.internal;
+
+import java.io.File;
+import java.lang.ref.SoftReference;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.apache.ws.commons.schema.XmlSchema;
+
+import de.fhg.igd.slf4jplus.ALogger;
+import de.fhg.igd.slf4jplus.ALoggerFactory;
+
+/**
+ * Process wide cache of XML schemas parsed by the XML schema reader. Entries
+ * are keyed by the content hash of the main schema document together with its
+ * location. Before an entry is used, the documents of the schema closure that
+ * are local files are checked for modifications.<br>
+ * <br>
+ * Only the parsed schema object model is shared, it must not be modified
+ * after it was added to the cache. The cache saves reading and parsing the
+ * schema documents, each reader still builds its own index and type
+ * definitions from it, so they may be adapted independently. The cache is
+ * enabled through the system property {@value #SYSTEM_PROPERTY_ENABLED} or the
+ * environment variable {@value #ENV_ENABLED}.
+ */
+public class XmlSchemaCache {
+
+	/**
+	 * Name of the system property that enables the cache.
+	 */
+	public static final String SYSTEM_PROPERTY_ENABLED = "hale.xsd.cache";
+
+	/**
+	 * Name of the environment variable that enables the cache.
+	 */
+	public static final String ENV_ENABLED = "HALE_XSD_CACHE";
+
+	private static final ALogger log = ALoggerFactory.getLogger(XmlSchemaCache.class);
+
+	private static final XmlSchemaCache INSTANCE = new XmlSchemaCache();
+
+	/**
+	 * A cached schema.
+	 */
+	private static class CacheEntry {
+
+		private final SoftReference<XmlSchema> schema;
+
+		/**
+		 * Locations of the schema documents mapped to their fingerprint.
+		 */
+		private final Map<String, String> closure;
+
+		public CacheEntry(XmlSchema schema, Map<String, String> closure) {
+			this.schema = new SoftReference<>(schema);
+			this.closure = closure;
+		}
+
+	}
+
+	private final ConcurrentMap<String, CacheEntry> entries = new ConcurrentHashMap<>();
+
+	/**
+	 * @return the cache instance
+	 */
+	public static XmlSchemaCache getInstance() {
+		return INSTANCE;
+	}
+
+	/**
+	 * @return if the cache is enabled
+	 */
+	public static boolean isEnabled() {
+		String value = System.getProperty(SYSTEM_PROPERTY_ENABLED);
+		if (value == null) {
+			value = System.getenv(ENV_ENABLED);
+		}
+		return value != null && value.equalsIgnoreCase("true");
+	}
+
+	/**
+	 * Create a cache key.
+	 *
+	 * @param location the location of the main schema
+	 * @param content the content of the main schema document
+	 * @return the cache key
+	 */
+	public static String createKey(URI location, byte[] content) {
+		try {
+			MessageDigest digest = MessageDigest.getInstance("SHA-256");
+			digest.update(location.toString().getBytes(StandardCharsets.UTF_8));
+			digest.update((byte) 0);
+			digest.update(content);
+
+			StringBuilder key = new StringBuilder();
+			for (byte b : digest.digest()) {
+				key.append(String.format("%02x", b));
+			}
+			return key.toString();
+		} catch (NoSuchAlgorithmException e) {
+			throw new IllegalStateException("SHA-256 message digest not available", e);
+		}
+	}
+
+	/**
+	 * Get a cached schema.
+	 *
+	 * @param key the cache key
+	 * @return the cached parsed schema or <code>null</code> if there is no
+	 *         valid cached schema for the key
+	 */
+	public XmlSchema get(String key) {
+		CacheEntry entry = entries.get(key);
+		if (entry == null) {
+			return null;
+		}
+
+		XmlSchema schema = entry.schema.get();
+		if (schema == null) {
+			// was garbage collected
+			entries.remove(key, entry);
+			return null;
+		}
+
+		for (Entry<String, String> document : entry.closure.entrySet()) {
+			if (!document.getValue().equals(fingerprint(document.getKey()))) {
+				log.info("Cached schema invalidated, " + document.getKey() + " was modified");
+				entries.remove(key, entry);
+				return null;
+			}
+		}
+
+		return schema;
+	}
+
+	/**
+	 * Add a schema to the cache.
+	 *
+	 * @param key the cache key
+	 * @param schema the parsed schema, it may not be modified afterwards
+	 * @param closure the locations of all schema documents that were loaded
+	 */
+	public void put(String key, XmlSchema schema, Collection<String> closure) {
+		Map<String, String> fingerprints = new HashMap<>();
+		for (String location : closure) {
+			fingerprints.put(location, fingerprint(location));
+		}
+		entries.put(key, new CacheEntry(schema, fingerprints));
+	}
+
+	/**
+	 * Remove all cached schemas.
+	 */
+	public void clear() {
+		entries.clear();
+	}
+
+	/**
+	 * Determine a fingerprint of a schema document that changes if the
+	 * document is changed. Only local files are checked, other resources (e.g.
+	 * bundle resources or schemas retrieved from the web) are assumed not to
+	 * change.
+	 *
+	 * @param location the schema document location
+	 * @return the fingerprint
+	 */
+	private static String fingerprint(String location) {
+		try {
+			URI uri = URI.create(location);
+			if ("file".equals(uri.getScheme())) {
+				File file = new File(uri);
+				if (!file.exists()) {
+					return "missing";
+				}
+				return file.lastModified() + ":" + file.length();
+			}
+		} catch (Exception e) {
+			// ignore
+		}
+		return "";
+	}
+
+}
@@ -16,10 +16,12 @@
 
 package eu.esdihumboldt.hale.io.xsd.reader.internal;
 
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 
@@ -40,6 +42,22 @@ import eu.esdihumboldt.hale.io.xsd.model.XmlElement;
  */
 public class XmlTypeDefinition extends DefaultTypeDefinition {
 
+	/**
+	 * Loaders that create the declared children on first access, guarded by
+	 * {@link #loaderLock}.
+	 */
+	private List<Runnable> childrenLoaders;
+
+	/**
+	 * The lock shared by all types of a schema that is loaded lazily.
+	 */
+	private Object loaderLock;
+
+	/**
+	 * States if there are children loaders that have not been executed yet.
+	 */
+	private volatile boolean childrenPending = false;
+
 	/**
 	 * @see DefaultTypeDefinition#DefaultTypeDefinition(QName)
 	 */
@@ -47,11 +65,74 @@ public class XmlTypeDefinition extends DefaultTypeDefinition {
 		super(name);
 	}
 
+	/**
+	 * Add a loader that creates declared children of the type. Loaders are
+	 * executed when the children of the type are accessed for the first time.
+	 * 
+	 * @param loader the children loader
+	 * @param lock the lock to synchronize the execution of loaders with, it
+	 *            should be shared by all types of a schema as loaders may
+	 *            access shared state of the schema reader and modify the
+	 *            type index, usually it is the type index itself
+	 */
+	public void addChildrenLoader(Runnable loader, Object lock) {
+		synchronized (lock) {
+			if (childrenLoaders == null) {
+				childrenLoaders = new ArrayList<>();
+			}
+			childrenLoaders.add(loader);
+			loaderLock = lock;
+			childrenPending = true;
+		}
+	}
+
+	/**
+	 * Execute the pending children loaders, if any.
+	 */
+	protected void loadChildren() {
+		if (!childrenPending) {
+			return;
+		}
+
+		synchronized (loaderLock) {
+			if (childrenLoaders == null) {
+				// already loaded, or being loaded by the current thread
+				return;
+			}
+
+			List<Runnable> loaders = childrenLoaders;
+			childrenLoaders = null;
+			try {
+				for (Runnable loader : loaders) {
+					loader.run();
+				}
+			} finally {
+				childrenPending = false;
+			}
+		}
+	}
+
+	@Override
+	public Collection<? extends ChildDefinition<?>> getDeclaredChildren() {
+		loadChildren();
+
+		return super.getDeclaredChildren();
+	}
+
+	@Override
+	public ChildDefinition<?> getChild(QName name) {
+		loadChildren();
+
+		return super.getChild(name);
+	}
+
 	/**
 	 * @see DefaultTypeDefinition#getChildren()
 	 */
 	@Override
 	public Collection<? extends ChildDefinition<?>> getChildren() {
+		loadChildren();
+
 		if (getConstraint(RestrictionFlag.class).isEnabled()) {
 			if (!getConstraint(HasValueFlag.class).isEnabled()) {
 				// restriction on complex type
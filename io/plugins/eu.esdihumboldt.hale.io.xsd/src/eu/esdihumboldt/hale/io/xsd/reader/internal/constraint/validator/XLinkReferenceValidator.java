@@ -29,7 +29,7 @@ import eu.esdihumboldt.hale.io.xsd.reader.internal.constraint.XLinkReference;
 
 /**
  * Validator for {@link XLinkReference}. Checks if local references are
- * resolvable.
+ * resolvable. The validator is thread safe.
  * 
  * @author Simon Templer
  */
@@ -43,16 +43,9 @@ public class XLinkReferenceValidator implements PropertyConstraintValidator {
 			return;
 		}
 
-		Object contextObj = context.getContext(XLinkReferenceValidator.class);
-
-		XLinkReferenceContext ctx;
-		if (contextObj instanceof XLinkReferenceContext) {
-			ctx = (XLinkReferenceContext) contextObj;
-		}
-		else {
-			ctx = new XLinkReferenceContext();
-			context.putContext(XLinkReferenceValidator.class, ctx);
-		}
+		// instances may be validated concurrently
+		XLinkReferenceContext ctx = context.getContext(XLinkReferenceValidator.class,
+				XLinkReferenceContext::new);
 
 		// collect local references
 		Reference ref = property.getConstraint(Reference.class);
@@ -52,6 +52,16 @@ public interface PopulationService {
 	 */
 	public void addToPopulation(Instance instance, DataSet dataSet);
 
+	/**
+	 * Remove an instance from the population, explicitly specifying the
+	 * associated data set. This reverts
+	 * {@link #addToPopulation(Instance, DataSet)} for the instance.
+	 * 
+	 * @param instance the instance
+	 * @param dataSet the data set the instance belongs to
+	 */
+	public void removeFromPopulation(Instance instance, DataSet dataSet);
+
 	/**
 	 * Reset the population of the given data set
 	 * 
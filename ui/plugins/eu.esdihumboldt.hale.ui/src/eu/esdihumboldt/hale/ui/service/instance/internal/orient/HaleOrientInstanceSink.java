@@ -18,21 +18,29 @@ package eu.esdihumboldt.hale.ui.service.instance.internal.orient;
 
 import org.eclipse.ui.PlatformUI;
 
+import com.google.common.collect.Multimap;
+
+import eu.esdihumboldt.hale.common.align.model.Cell;
+import eu.esdihumboldt.hale.common.align.transformation.service.TypeCellInstanceSink;
 import eu.esdihumboldt.hale.common.instance.model.DataSet;
 import eu.esdihumboldt.hale.common.instance.model.Instance;
 import eu.esdihumboldt.hale.common.instance.orient.storage.LocalOrientDB;
+import eu.esdihumboldt.hale.common.instance.orient.storage.OrientInstanceReference;
 import eu.esdihumboldt.hale.common.instance.orient.storage.OrientInstanceSink;
 import eu.esdihumboldt.hale.ui.common.service.population.PopulationService;
 
 /**
- * Instance sink based on a {@link LocalOrientDB}
+ * Instance sink based on a {@link LocalOrientDB}. Optionally records which
+ * type cell created each instance.
  * 
  * @author Simon Templer
  */
-public class HaleOrientInstanceSink extends OrientInstanceSink {
+public class HaleOrientInstanceSink extends OrientInstanceSink implements TypeCellInstanceSink {
 
 	private final PopulationService ps;
 
+	private final Multimap<String, OrientInstanceReference> typeCellInstances;
+
 	/**
 	 * Create an instance sink based on a {@link LocalOrientDB}
 	 * 
@@ -40,11 +48,37 @@ public class HaleOrientInstanceSink extends OrientInstanceSink {
 	 * @param lockNow if the database should be locked now
 	 */
 	public HaleOrientInstanceSink(LocalOrientDB database, boolean lockNow) {
+		this(database, lockNow, null);
+	}
+
+	/**
+	 * Create an instance sink based on a {@link LocalOrientDB}
+	 * 
+	 * @param database the sink database
+	 * @param lockNow if the database should be locked now
+	 * @param typeCellInstances the multimap to record the references of added
+	 *            instances in, mapped by the ID of the type cell that created
+	 *            them, may be <code>null</code>
+	 */
+	public HaleOrientInstanceSink(LocalOrientDB database, boolean lockNow,
+			Multimap<String, OrientInstanceReference> typeCellInstances) {
 		super(database, lockNow);
 
+		this.typeCellInstances = typeCellInstances;
 		ps = PlatformUI.getWorkbench().getService(PopulationService.class);
 	}
 
+	/**
+	 * @see TypeCellInstanceSink#addInstance(Instance, Cell)
+	 */
+	@Override
+	public synchronized void addInstance(Instance instance, Cell typeCell) {
+		OrientInstanceReference ref = (OrientInstanceReference) putInstance(instance);
+		if (typeCellInstances != null && typeCell != null) {
+			typeCellInstances.put(typeCell.getId(), ref);
+		}
+	}
+
 	/**
 	 * @see OrientInstanceSink#processInstance(Instance)
 	 */
@@ -20,8 +20,9 @@ import java.io.File;
 import java.io.IOException;
 import java.lang.reflect.InvocationTargetException;
 import java.text.MessageFormat;
+import java.util.ArrayList;
 import java.util.Collection;
-import java.util.HashSet;
+import java.util.List;
 import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.atomic.AtomicBoolean;
@@ -38,15 +39,22 @@ import org.eclipse.jface.operation.IRunnableWithProgress;
 import org.eclipse.ui.PlatformUI;
 import org.eclipse.ui.operations.IWorkbenchOperationSupport;
 
+import com.google.common.collect.ArrayListMultimap;
+import com.google.common.collect.ListMultimap;
+import com.google.common.collect.Multimaps;
+import com.orientechnologies.orient.core.db.ODatabaseRecordThreadLocal;
 import com.orientechnologies.orient.core.db.document.ODatabaseDocumentTx;
+import com.orientechnologies.orient.core.db.record.OIdentifiable;
 import com.orientechnologies.orient.core.metadata.schema.OClass;
 import com.orientechnologies.orient.core.metadata.schema.OSchema;
+import com.orientechnologies.orient.core.record.impl.ODocument;
 
 import de.fhg.igd.slf4jplus.ALogger;
 import de.fhg.igd.slf4jplus.ALoggerFactory;
 import de.fhg.igd.slf4jplus.ATransaction;
 import eu.esdihumboldt.hale.common.align.model.Alignment;
 import eu.esdihumboldt.hale.common.align.model.Cell;
+import eu.esdihumboldt.hale.common.align.model.impl.TypeCellSubsetAlignment;
 import eu.esdihumboldt.hale.common.align.transformation.report.TransformationReport;
 import eu.esdihumboldt.hale.common.align.transformation.service.TransformationService;
 import eu.esdihumboldt.hale.common.core.io.ProgressMonitorIndicator;
@@ -56,7 +64,6 @@ import eu.esdihumboldt.hale.common.instance.model.Instance;
 import eu.esdihumboldt.hale.common.instance.model.InstanceCollection;
 import eu.esdihumboldt.hale.common.instance.model.InstanceReference;
 import eu.esdihumboldt.hale.common.instance.model.impl.FilteredInstanceCollection;
-import eu.esdihumboldt.hale.common.instance.model.impl.InstanceDecorator;
 import eu.esdihumboldt.hale.common.instance.orient.OInstance;
 import eu.esdihumboldt.hale.common.instance.orient.internal.ONamespaceMap;
 import eu.esdihumboldt.hale.common.instance.orient.internal.OSerializationHelper;
@@ -93,6 +100,12 @@ public class OrientInstanceService extends AbstractInstanceService {
 
 	private static volatile OrientInstanceService instance;
 
+	/**
+	 * Identifier of the function assigning values from collectors. Cells
+	 * using it may depend on values collected by other type cells.
+	 */
+	private static final String COLLECTOR_FUNCTION_ID = "eu.esdihumboldt.cst.functions.collector.assign";
+
 	/**
 	 * Get the service instance
 	 * 
@@ -127,6 +140,13 @@ public class OrientInstanceService extends AbstractInstanceService {
 	private final LocalOrientDB source;
 	private final LocalOrientDB transformed;
 
+	/**
+	 * References to the transformed instances, mapped by the ID of the type
+	 * cell that created them.
+	 */
+	private final ListMultimap<String, OrientInstanceReference> typeCellInstances = Multimaps
+			.synchronizedListMultimap(ArrayListMultimap.<String, OrientInstanceReference> create());
+
 	private final File databasesFolder;
 
 	/**
@@ -335,6 +355,7 @@ public class OrientInstanceService extends AbstractInstanceService {
 				notifyDatasetAboutToChange(null);
 				source.clear();
 				transformed.clear();
+				typeCellInstances.clear();
 				notifyDatasetChanged(null);
 
 				return super.execute(monitor, info);
@@ -355,6 +376,7 @@ public class OrientInstanceService extends AbstractInstanceService {
 		notifyDatasetAboutToChange(null);
 		source.clear();
 		transformed.clear();
+		typeCellInstances.clear();
 		notifyDatasetChanged(null);
 	}
 
@@ -399,6 +421,7 @@ public class OrientInstanceService extends AbstractInstanceService {
 		notifyDatasetAboutToChange(DataSet.TRANSFORMED);
 
 		transformed.clear();
+		typeCellInstances.clear();
 
 		/*
 		 * XXX cause population updated are currently coupled to
@@ -410,8 +433,170 @@ public class OrientInstanceService extends AbstractInstanceService {
 			ps.resetPopulation(DataSet.TRANSFORMED);
 		}
 
-		boolean success = performTransformation();
+		boolean success = performTransformation(getAlignmentService().getAlignment());
+
+		handleTransformationResult(success);
+	}
+
+	/**
+	 * Retransforms only the instances created by the type cells affected by
+	 * the changed cells. The transformed instances of these type cells are
+	 * removed and the type cells are executed again.
+	 * 
+	 * @see AbstractInstanceService#doRetransform(Collection)
+	 */
+	@Override
+	protected void doRetransform(Collection<? extends Cell> changedCells) {
+		Alignment alignment = getAlignmentService().getAlignment();
+		Set<String> typeCellIds = getAffectedTypeCells(alignment, changedCells);
+		if (typeCellIds == null) {
+			// retransform everything
+			doRetransform();
+			return;
+		}
+		if (typeCellIds.isEmpty()) {
+			return;
+		}
+
+		notifyDatasetAboutToChange(DataSet.TRANSFORMED);
+
+		ATransaction trans = log.begin("Remove transformed instances of affected type cells");
+		try {
+			removeTransformedInstances(typeCellIds);
+		} finally {
+			trans.end();
+		}
+
+		boolean success = performTransformation(
+				new TypeCellSubsetAlignment(alignment, typeCellIds));
+
+		handleTransformationResult(success);
+	}
+
+	/**
+	 * Determine the type cells affected by changed cells.
+	 * 
+	 * @param alignment the current alignment
+	 * @param changedCells the cells that were added, removed or changed
+	 * @return the IDs of the affected type cells or <code>null</code> if all
+	 *         type cells have to be executed again
+	 */
+	private Set<String> getAffectedTypeCells(Alignment alignment,
+			Collection<? extends Cell> changedCells) {
+		for (Cell cell : alignment.getCells()) {
+			if (COLLECTOR_FUNCTION_ID.equals(cell.getTransformationIdentifier())) {
+				// type cells may depend on each other
+				return null;
+			}
+		}
+		for (Cell cell : changedCells) {
+			if (COLLECTOR_FUNCTION_ID.equals(cell.getTransformationIdentifier())) {
+				return null;
+			}
+		}
+
+		return TypeCellSubsetAlignment.getAffectedTypeCells(alignment, changedCells);
+	}
+
+	/**
+	 * Remove the transformed instances created by the given type cells. The
+	 * instances are looked up in the type cell index and removed from the
+	 * transformed population.
+	 * 
+	 * @param typeCellIds the type cell IDs
+	 */
+	private void removeTransformedInstances(Set<String> typeCellIds) {
+		List<OrientInstanceReference> remove = new ArrayList<OrientInstanceReference>();
+		synchronized (typeCellInstances) {
+			for (String typeCellId : typeCellIds) {
+				remove.addAll(typeCellInstances.removeAll(typeCellId));
+			}
+		}
+
+		/*
+		 * XXX cause population updated are currently coupled to
+		 * StoreInstancesJob/OrientInstanceSink and not to events, we have to
+		 * remove the instances from the population here.
+		 */
+		PopulationService ps = PlatformUI.getWorkbench().getService(PopulationService.class);
+
+		DatabaseReference<ODatabaseDocumentTx> dbRef = transformed.openWrite();
+		try {
+			ODatabaseDocumentTx db = dbRef.getDatabase();
+			ODatabaseRecordThreadLocal.INSTANCE.set(db);
+			for (OrientInstanceReference ref : remove) {
+				ODocument document = db.load(ref.getId());
+				if (document != null) {
+					if (ps != null) {
+						ps.removeFromPopulation(new OInstance(document, ref.getTypeDefinition(),
+								db, ref.getDataSet()), DataSet.TRANSFORMED);
+					}
+					deleteDocument(document);
+				}
+			}
+		} finally {
+			dbRef.dispose();
+		}
+
+		log.info(MessageFormat.format("Removed {0} transformed instances of {1} type cells",
+				remove.size(), typeCellIds.size()));
+	}
+
+	/**
+	 * Delete a document together with the linked documents representing its
+	 * properties.
+	 * 
+	 * @param document the document to delete
+	 */
+	private void deleteDocument(ODocument document) {
+		deleteLinked(document);
+		document.delete();
+	}
+
+	/**
+	 * Delete the documents linked from the fields of the given document.
+	 * 
+	 * @param document the document
+	 */
+	private void deleteLinked(ODocument document) {
+		for (String field : document.fieldNames()) {
+			deleteValue(document.field(field));
+		}
+	}
+
+	/**
+	 * Delete the linked documents in a field value.
+	 * 
+	 * @param value the field value
+	 */
+	private void deleteValue(Object value) {
+		if (value instanceof Collection<?>) {
+			for (Object item : (Collection<?>) value) {
+				deleteValue(item);
+			}
+		}
+		else if (value instanceof OIdentifiable) {
+			OIdentifiable identifiable = (OIdentifiable) value;
+			if (identifiable.getIdentity().isPersistent()) {
+				// linked document
+				Object record = identifiable.getRecord();
+				if (record instanceof ODocument) {
+					deleteDocument((ODocument) record);
+				}
+			}
+			else if (value instanceof ODocument) {
+				// embedded document, may contain links
+				deleteLinked((ODocument) value);
+			}
+		}
+	}
 
+	/**
+	 * Handle the result of a transformation run.
+	 * 
+	 * @param success if the transformation was successful
+	 */
+	private void handleTransformationResult(boolean success) {
 		if (!success) {
 			// there may be some (inconsistent) transformed instances from a
 			// canceled transformation
@@ -429,9 +614,11 @@ public class OrientInstanceService extends AbstractInstanceService {
 	/**
 	 * Perform the transformation
 	 * 
+	 * @param alignment the alignment to execute, may be a view on the project
+	 *            alignment that only includes some type cells
 	 * @return if the transformation was successful
 	 */
-	protected boolean performTransformation() {
+	protected boolean performTransformation(final Alignment alignment) {
 		final TransformationService ts = getTransformationService();
 		if (ts == null) {
 			log.userError("No transformation service available");
@@ -446,7 +633,6 @@ public class OrientInstanceService extends AbstractInstanceService {
 			public void run(IProgressMonitor monitor)
 					throws InvocationTargetException, InterruptedException {
 				try {
-					Alignment alignment = getAlignmentService().getAlignment();
 					if (alignment.getActiveTypeCells().isEmpty()) {
 						// early exit if there are no type relations
 						return;
@@ -466,7 +652,8 @@ public class OrientInstanceService extends AbstractInstanceService {
 						return;
 					}
 
-					HaleOrientInstanceSink sink = new HaleOrientInstanceSink(transformed, true);
+					HaleOrientInstanceSink sink = new HaleOrientInstanceSink(transformed, true,
+							typeCellInstances);
 					TransformationReport report;
 					ATransaction trans = log.begin("Instance transformation");
 					try {
@@ -517,6 +704,7 @@ public class OrientInstanceService extends AbstractInstanceService {
 	protected void clearTransformedInstances() {
 		notifyDatasetAboutToChange(DataSet.TRANSFORMED);
 		transformed.clear();
+		typeCellInstances.clear();
 		notifyDatasetChanged(DataSet.TRANSFORMED);
 	}
 
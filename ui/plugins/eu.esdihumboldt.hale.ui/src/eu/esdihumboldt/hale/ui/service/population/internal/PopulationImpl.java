@@ -82,4 +82,24 @@ public class PopulationImpl implements Population {
 		}
 	}
 
+	/**
+	 * Decrease the parents count.
+	 */
+	public void decreaseParents() {
+		if (parents != UNKNOWN && parents > 0) {
+			parents--;
+		}
+	}
+
+	/**
+	 * Decrease the overall count.
+	 * 
+	 * @param count the number by which to decrease the overall count
+	 */
+	public void decreaseOverall(int count) {
+		if (overall != UNKNOWN) {
+			overall = Math.max(0, overall - count);
+		}
+	}
+
 }
@@ -87,6 +87,8 @@ public class PopulationServiceImpl extends AbstractPopulationService implements
 
 	private static EntityPopulationCount populationCount;
 
+	private final EntityPopulationCount populationRemoval;
+
 	/**
 	 * Create a population service instance.
 	 * 
@@ -184,6 +186,19 @@ public class PopulationServiceImpl extends AbstractPopulationService implements
 		});
 
 		populationCount = new EntityPopulationCount(this);
+		populationRemoval = new EntityPopulationCount(new IPopulationUpdater() {
+
+			@Override
+			public void increaseForEntity(EntityDefinition def, int count) {
+				decrease(def, count);
+			}
+
+			@Override
+			public Collection<? extends EntityDefinition> getChildren(
+					EntityDefinition entityDef) {
+				return PopulationServiceImpl.this.getChildren(entityDef);
+			}
+		});
 	}
 
 	/**
@@ -267,6 +282,37 @@ public class PopulationServiceImpl extends AbstractPopulationService implements
 		}
 	}
 
+	/**
+	 * @see PopulationService#removeFromPopulation(Instance, DataSet)
+	 */
+	@Override
+	public void removeFromPopulation(Instance instance, DataSet dataSet) {
+		SchemaSpaceID schemaSpace;
+		if (dataSet != null) {
+			switch (dataSet) {
+			case TRANSFORMED:
+				schemaSpace = SchemaSpaceID.TARGET;
+				break;
+			case SOURCE:
+			default:
+				schemaSpace = SchemaSpaceID.SOURCE;
+			}
+		}
+		else {
+			throw new IllegalArgumentException("Invalid data set specified.");
+		}
+
+		Collection<? extends TypeEntityDefinition> typeDefinitions = entityDefinitionService
+				.getTypeEntities(instance.getDefinition(), schemaSpace);
+
+		for (TypeEntityDefinition def : typeDefinitions) {
+			if (def.getFilter() == null || def.getFilter().match(instance)) {
+				decrease(def, 1);
+				populationRemoval.addToPopulation(instance, def);
+			}
+		}
+	}
+
 	/**
 	 * @see PopulationService#resetPopulation(DataSet)
 	 */
@@ -367,6 +413,28 @@ public class PopulationServiceImpl extends AbstractPopulationService implements
 		}
 	}
 
+	/**
+	 * Decrease the counter for the given entity per parent. Entities without
+	 * population are ignored.
+	 * 
+	 * @param entity the entity
+	 * @param values number of values
+	 */
+	private void decrease(EntityDefinition entity, int values) {
+		synchronized (this) {
+			Map<EntityDefinition, PopulationImpl> population = (entity
+					.getSchemaSpace() == SchemaSpaceID.TARGET) ? (targetPopulation)
+							: (sourcePopulation);
+
+			PopulationImpl pop = population.get(entity);
+			if (pop != null) {
+				if (values != 0)
+					pop.decreaseParents();
+				pop.decreaseOverall(values);
+			}
+		}
+	}
+
 	/**
 	 * Job determining the occurring values for a specific property entity.
 	 */
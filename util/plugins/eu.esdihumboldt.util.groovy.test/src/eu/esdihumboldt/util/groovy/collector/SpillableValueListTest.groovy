@@ -0,0 +1,155 @@
+/*
+ * Copyright (c) 2026 wetransform GmbH
+ *
+ * All rights reserved. This program and the accompanying materials are made
+ * available under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 3 of the License,
+ * or (at your option) any later version.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Contributors:
+ *     wetransform GmbH <http://www.wetransform.to>
+ */
+
+package eu.esdihumboldt.util.groovy.collector
+
+import static org.junit.Assert.*
+
+import org.junit.After
+import org.junit.Test
+
+/**
+ * Tests for collector values written to disk.
+ */
+class SpillableValueListTest {
+
+	@After
+	void resetThreshold() {
+		System.clearProperty(SpillableValueList.SYSTEM_PROPERTY_THRESHOLD)
+	}
+
+	@Test
+	void testSpill() {
+		def list = new SpillableValueList<Object>(10)
+
+		(0..<100).each { list << "id${it % 30}" }
+		list << 42L
+		list << URI.create('#ref')
+		list << null
+
+		assertTrue(list.spilled)
+		assertEquals(103, list.size())
+		assertEquals('id0', list[0])
+		assertEquals('id5', list[35])
+
+		def values = []
+		list.snapshot().withCloseable { it.forEach { values << it } }
+		assertEquals(103, values.size())
+		assertEquals((0..<100).collect { "id${it % 30}".toString() }, values[0..<100])
+		assertEquals([
+			42L,
+			URI.create('#ref'),
+			null
+		], values[100..102])
+	}
+
+	@Test
+	void testDistinct() {
+		def list = new SpillableValueList<Object>(10)
+
+		(0..<1000).each { list << "id${(it * 7) % 101}" }
+		assertTrue(list.spilled)
+
+		def distinct = []
+		list.snapshot().withCloseable { it.forEachDistinct { distinct << it } }
+
+		def expected = (0..<1000).collect { "id${(it * 7) % 101}".toString() }.unique()
+		assertEquals(101, distinct.size())
+		assertEquals(expected, distinct)
+	}
+
+	@Test
+	void testUnsupportedValue() {
+		def list = new SpillableValueList<Object>(10)
+
+		(0..<20).each { list << it }
+		assertTrue(list.spilled)
+
+		def value = new Object()
+		list << value
+		assertFalse(list.spilled)
+		assertEquals(21, list.size())
+		assertSame(value, list[20])
+
+		list.clear()
+		assertEquals(0, list.size())
+		(0..<20).each { list << it }
+		assertTrue(list.spilled)
+	}
+
+	@Test
+	void testSnapshotAfterClear() {
+		def list = new SpillableValueList<Object>(10)
+
+		(0..<50).each { list << "id${it}" }
+		assertTrue(list.spilled)
+
+		def snapshot = list.snapshot()
+		def detached = list.snapshot()
+		list.clear()
+		(0..<20).each { list << it }
+
+		def values = []
+		snapshot.forEach { values << it }
+		assertEquals((0..<50).collect { "id${it}".toString() }, values)
+		snapshot.close()
+		snapshot.close()
+
+		values = []
+		detached.forEachDistinct { values << it }
+		assertEquals(50, values.size())
+		detached.close()
+
+		values = []
+		list.snapshot().withCloseable { it.forEach { values << it } }
+		assertEquals((0..<20).toList(), values)
+	}
+
+	@Test
+	void testSnapshotAfterUnspill() {
+		def list = new SpillableValueList<Object>(10)
+
+		(0..<50).each { list << it }
+		def snapshot = list.snapshot()
+		list << new Object()
+		assertFalse(list.spilled)
+
+		def values = []
+		snapshot.withCloseable { it.forEach { values << it } }
+		assertEquals((0..<50).toList(), values)
+	}
+
+	@Test
+	void testCollector() {
+		System.setProperty(SpillableValueList.SYSTEM_PROPERTY_THRESHOLD, '5')
+
+		def c = new StatsCollector()
+		(0..<50).each { c.ids << "id${it % 10}" }
+
+		assertEquals(50, c.ids.size())
+		assertEquals('id0', c.ids.value())
+
+		def unique = []
+		c.ids.eachUnique { unique << it }
+		assertEquals((0..<10).collect { "id${it}".toString() }, unique)
+
+		def all = []
+		c.ids.consume { all << it }
+		assertEquals(50, all.size())
+		assertEquals(0, c.ids.size())
+		assertNull(c.ids.value())
+	}
+
+}
@@ -24,7 +24,9 @@ import groovy.lang.Closure;
 import groovy.lang.GroovyObjectSupport;
 
 /**
- * Thread-safe helper for collecting values.
+ * Thread-safe helper for collecting values. The values of a collector are
+ * written to disk if their number exceeds the threshold configured for
+ * {@link SpillableValueList}.
  * 
  * @author Simon Templer
  * @param <K> the key type
@@ -42,7 +44,7 @@ public abstract class GenericCollector<K, V, C extends GenericCollector<K, V, ?>
 	/**
 	 * The internal collected values.
 	 */
-	protected final List<V> values = new ArrayList<>();
+	protected final SpillableValueList<V> values = new SpillableValueList<>();
 
 	/**
 	 * Create a new collector instance.
@@ -125,6 +127,17 @@ public abstract class GenericCollector<K, V, C extends GenericCollector<K, V, ?>
 		}
 	}
 
+	/**
+	 * Get the number of values of the collector.
+	 * 
+	 * @return the number of values
+	 */
+	public int size() {
+		synchronized (values) {
+			return values.size();
+		}
+	}
+
 	/**
 	 * Clear the values and return them.
 	 * 
@@ -186,7 +199,32 @@ public abstract class GenericCollector<K, V, C extends GenericCollector<K, V, ?>
 		}
 		else {
 			// iterate values
-			values().forEach(value -> closure.call(value));
+			SpillableValueList.Snapshot<V> snapshot;
+			synchronized (values) {
+				snapshot = values.snapshot();
+			}
+			try {
+				snapshot.forEach(value -> closure.call(value));
+			} finally {
+				snapshot.close();
+			}
+		}
+	}
+
+	/**
+	 * Iterate over the distinct values, in the order they were first added.
+	 * 
+	 * @param closure the closure called for each distinct value
+	 */
+	public void eachUnique(Closure<?> closure) {
+		SpillableValueList.Snapshot<V> snapshot;
+		synchronized (values) {
+			snapshot = values.snapshot();
+		}
+		try {
+			snapshot.forEachDistinct(value -> closure.call(value));
+		} finally {
+			snapshot.close();
 		}
 	}
 
@@ -231,8 +269,15 @@ public abstract class GenericCollector<K, V, C extends GenericCollector<K, V, ?>
 		}
 		else {
 			// iterate values
-			List<V> values = clear();
-			values.forEach(value -> closure.call(value));
+			SpillableValueList.Snapshot<V> snapshot;
+			synchronized (values) {
+				snapshot = values.detach();
+			}
+			try {
+				snapshot.forEach(value -> closure.call(value));
+			} finally {
+				snapshot.close();
+			}
 		}
 	}
 
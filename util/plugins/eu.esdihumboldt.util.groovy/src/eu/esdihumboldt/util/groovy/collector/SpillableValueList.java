@@ -0,0 +1,654 @@
+/*
+ * Copyright (c) 2026 wetransform GmbH
+ *
+ * All rights reserved. This program and the accompanying materials are made
+ * available under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 3 of the License,
+ * or (at your option) any later version.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Contributors:
+ *     wetransform GmbH <http://www.wetransform.to>
+ */
+
+package eu.esdihumboldt.util.groovy.collector;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.function.Consumer;
+
+import groovy.lang.GString;
+
+/**
+ * List of collector values that is moved to an append log on disk once it
+ * exceeds a threshold. Only appending values and clearing the list are
+ * supported. The threshold is configured through the system property
+ * {@value #SYSTEM_PROPERTY_THRESHOLD} or the environment variable
+ * {@value #ENV_THRESHOLD}, if neither is set the values are always kept in
+ * memory.<br>
+ * <br>
+ * Only simple values (strings, numbers, booleans and URIs) can be written to
+ * disk, if another value is added the list is kept in memory. Values read from
+ * disk are equal to the added values, {@link GString}s are read as strings.
+ * The list is not thread safe, use {@link #snapshot()} or {@link #detach()} to
+ * iterate the values outside of a lock. Snapshots keep the values written to
+ * disk available until they are closed, even if the list is cleared in the
+ * meantime.
+ * 
+ * @param <V> the value type
+ */
+public class SpillableValueList<V> extends AbstractList<V> {
+
+	/**
+	 * Name of the system property specifying the number of values of a
+	 * collector above which they are written to disk.
+	 */
+	public static final String SYSTEM_PROPERTY_THRESHOLD = "hale.collector.spillThreshold";
+
+	/**
+	 * Name of the environment variable specifying the number of values of a
+	 * collector above which they are written to disk.
+	 */
+	public static final String ENV_THRESHOLD = "HALE_COLLECTOR_SPILL_THRESHOLD";
+
+	/**
+	 * Maximum number of bucket files used for determining distinct values.
+	 */
+	private static final int MAX_BUCKETS = 256;
+
+	/**
+	 * Number of bytes of encoded values that are buffered before they are
+	 * appended to the log file.
+	 */
+	private static final int BUFFER_SIZE = 8192;
+
+	/**
+	 * Append log of values written to disk. The log file is only opened while
+	 * buffered values are appended, so logs of many collectors don't hold
+	 * file handles. The file is deleted when the list and all snapshots
+	 * referencing the log have released it.
+	 */
+	private static class ValueLog {
+
+		private final File file;
+
+		private final ByteArrayOutputStream buffer = new ByteArrayOutputStream(BUFFER_SIZE);
+
+		private final DataOutputStream out = new DataOutputStream(buffer);
+
+		private int count;
+
+		private Object first;
+
+		/**
+		 * Number of references to the log, initially the one of the list.
+		 */
+		private int references = 1;
+
+		public ValueLog() throws IOException {
+			file = createTempFile();
+			// the log may not be deleted explicitly if the collector is discarded
+			file.deleteOnExit();
+		}
+
+		public void append(Object value) throws IOException {
+			if (count == 0) {
+				first = (value instanceof GString) ? (value.toString()) : (value);
+			}
+			ValueCodec.write(out, value);
+			count++;
+			if (buffer.size() >= BUFFER_SIZE) {
+				writeBuffer();
+			}
+		}
+
+		public void flush() {
+			try {
+				writeBuffer();
+			} catch (IOException e) {
+				throw new UncheckedIOException("Failed to write collector values to disk", e);
+			}
+		}
+
+		private void writeBuffer() throws IOException {
+			if (buffer.size() > 0) {
+				try (FileOutputStream fileOut = new FileOutputStream(file, true)) {
+					buffer.writeTo(fileOut);
+				}
+				buffer.reset();
+			}
+		}
+
+		/**
+		 * Add a reference to the log.
+		 */
+		public synchronized void retain() {
+			references++;
+		}
+
+		/**
+		 * Release a reference to the log. The log file is deleted if there
+		 * are no references left.
+		 */
+		public synchronized void release() {
+			if (references > 0 && --references == 0) {
+				buffer.reset();
+				deleteFile(file);
+			}
+		}
+
+	}
+
+	/**
+	 * Iterator over the values in a log file.
+	 * 
+	 * @param <V> the value type
+	 */
+	private static class LogIterator<V> implements Iterator<V> {
+
+		private final File file;
+
+		private final int count;
+
+		private DataInputStream in;
+
+		private int index = 0;
+
+		public LogIterator(File file, int count) {
+			this.file = file;
+			this.count = count;
+		}
+
+		@Override
+		public boolean hasNext() {
+			return index < count;
+		}
+
+		@SuppressWarnings("unchecked")
+		@Override
+		public V next() {
+			if (!hasNext()) {
+				throw new NoSuchElementException();
+			}
+			try {
+				if (in == null) {
+					in = openFile(file);
+				}
+				V value = (V) ValueCodec.read(in);
+				index++;
+				if (index == count) {
+					in.close();
+				}
+				return value;
+			} catch (IOException e) {
+				throw new UncheckedIOException("Failed to read collector values from disk", e);
+			}
+		}
+
+	}
+
+	/**
+	 * Reader for a bucket file containing values with their original
+	 * position.
+	 */
+	private static class BucketReader implements Comparable<BucketReader> {
+
+		private final DataInputStream in;
+
+		private int remaining;
+
+		private int position;
+
+		private Object value;
+
+		public BucketReader(File file, int count) throws IOException {
+			this.in = openFile(file);
+			this.remaining = count;
+		}
+
+		public boolean next() throws IOException {
+			if (remaining == 0) {
+				in.close();
+				return false;
+			}
+			remaining--;
+			position = in.readInt();
+			value = ValueCodec.read(in);
+			return true;
+		}
+
+		@Override
+		public int compareTo(BucketReader o) {
+			return Integer.compare(position, o.position);
+		}
+
+	}
+
+	/**
+	 * Snapshot of the values of the list.
+	 * 
+	 * @param <V> the value type
+	 */
+	public static class Snapshot<V> implements Iterable<V>, Closeable {
+
+		private final List<V> memory;
+
+		private final ValueLog log;
+
+		private final int count;
+
+		private final int threshold;
+
+		private boolean closed;
+
+		private Snapshot(List<V> memory, ValueLog log, int count, int threshold) {
+			this.memory = memory;
+			this.log = log;
+			this.count = count;
+			this.threshold = threshold;
+		}
+
+		@Override
+		public Iterator<V> iterator() {
+			if (memory != null) {
+				return memory.iterator();
+			}
+			return new LogIterator<>(log.file, count);
+		}
+
+		@SuppressWarnings("unchecked")
+		@Override
+		public void forEach(Consumer<? super V> action) {
+			if (memory != null) {
+				memory.forEach(action);
+				return;
+			}
+
+			try (DataInputStream in = openFile(log.file)) {
+				for (int i = 0; i < count; i++) {
+					action.accept((V) ValueCodec.read(in));
+				}
+			} catch (IOException e) {
+				throw new UncheckedIOException("Failed to read collector values from disk", e);
+			}
+		}
+
+		/**
+		 * Iterate over the distinct values, in the order of their first
+		 * occurrence. If the values were written to disk, they are
+		 * partitioned by their hash code into bucket files, so that only the
+		 * distinct values of one bucket are held in memory at a time.
+		 * 
+		 * @param action the action to call for each distinct value
+		 */
+		@SuppressWarnings("unchecked")
+		public void forEachDistinct(Consumer<? super V> action) {
+			int buckets = (memory != null) ? (1)
+					: (Math.min(MAX_BUCKETS, count / Math.max(1, threshold) + 1));
+			if (buckets == 1) {
+				Set<Object> seen = new HashSet<>();
+				forEach(value -> {
+					if (seen.add(value)) {
+						action.accept(value);
+					}
+				});
+				return;
+			}
+
+			File[] files = new File[buckets];
+			int[] counts = new int[buckets];
+			try {
+				// partition the values by hash code
+				DataOutputStream[] outs = new DataOutputStream[buckets];
+				try (DataInputStream in = openFile(log.file)) {
+					for (int b = 0; b < buckets; b++) {
+						files[b] = createTempFile();
+						outs[b] = new DataOutputStream(
+								new BufferedOutputStream(new FileOutputStream(files[b])));
+					}
+					for (int i = 0; i < count; i++) {
+						Object value = ValueCodec.read(in);
+						int hash = Objects.hashCode(value);
+						int b = Math.floorMod(hash ^ (hash >>> 16), buckets);
+						outs[b].writeInt(i);
+						ValueCodec.write(outs[b], value);
+						counts[b]++;
+					}
+				} finally {
+					for (DataOutputStream out : outs) {
+						if (out != null) {
+							out.close();
+						}
+					}
+				}
+
+				// remove duplicates in each bucket
+				for (int b = 0; b < buckets; b++) {
+					File unique = createTempFile();
+					int uniqueCount = 0;
+					Set<Object> seen = new HashSet<>();
+					try (DataInputStream in = openFile(files[b]);
+							DataOutputStream out = new DataOutputStream(
+									new BufferedOutputStream(new FileOutputStream(unique)))) {
+						for (int i = 0; i < counts[b]; i++) {
+							int position = in.readInt();
+							Object value = ValueCodec.read(in);
+							if (seen.add(value)) {
+								out.writeInt(position);
+								ValueCodec.write(out, value);
+								uniqueCount++;
+							}
+						}
+					}
+					deleteFile(files[b]);
+					files[b] = unique;
+					counts[b] = uniqueCount;
+				}
+
+				// merge the buckets by original position
+				PriorityQueue<BucketReader> queue = new PriorityQueue<>();
+				try {
+					for (int b = 0; b < buckets; b++) {
+						BucketReader reader = new BucketReader(files[b], counts[b]);
+						if (reader.next()) {
+							queue.add(reader);
+						}
+					}
+					while (!queue.isEmpty()) {
+						BucketReader reader = queue.poll();
+						action.accept((V) reader.value);
+						if (reader.next()) {
+							queue.add(reader);
+						}
+					}
+				} finally {
+					for (BucketReader reader : queue) {
+						reader.in.close();
+					}
+				}
+			} catch (IOException e) {
+				throw new UncheckedIOException("Failed to read collector values from disk", e);
+			} finally {
+				for (File file : files) {
+					if (file != null) {
+						deleteFile(file);
+					}
+				}
+			}
+		}
+
+		/**
+		 * @return the number of values in the snapshot
+		 */
+		public int size() {
+			return count;
+		}
+
+		/**
+		 * Release the snapshot. Deletes the values written to disk if neither
+		 * the list nor another snapshot still reference them.
+		 */
+		@Override
+		public synchronized void close() {
+			if (!closed) {
+				closed = true;
+				if (log != null) {
+					log.release();
+				}
+			}
+		}
+
+	}
+
+	private final int threshold;
+
+	private List<V> memory = new ArrayList<>();
+
+	private ValueLog log;
+
+	/**
+	 * States if the values can be written to disk, i.e. if they are all
+	 * supported by the {@link ValueCodec}.
+	 */
+	private boolean spillable = true;
+
+	/**
+	 * Create a list with the configured default threshold.
+	 * 
+	 * @see #getDefaultThreshold()
+	 */
+	public SpillableValueList() {
+		this(getDefaultThreshold());
+	}
+
+	/**
+	 * Create a list with the given threshold.
+	 * 
+	 * @param threshold the number of values above which the values are
+	 *            written to disk, a value of zero or less disables writing to
+	 *            disk
+	 */
+	public SpillableValueList(int threshold) {
+		this.threshold = threshold;
+	}
+
+	/**
+	 * @return the threshold configured through the system property
+	 *         {@value #SYSTEM_PROPERTY_THRESHOLD} or the environment variable
+	 *         {@value #ENV_THRESHOLD}, zero if none is configured
+	 */
+	public static int getDefaultThreshold() {
+		String value = System.getProperty(SYSTEM_PROPERTY_THRESHOLD);
+		if (value == null) {
+			value = System.getenv(ENV_THRESHOLD);
+		}
+		if (value != null) {
+			try {
+				return Integer.parseInt(value.trim());
+			} catch (NumberFormatException e) {
+				// ignore
+			}
+		}
+		return 0;
+	}
+
+	@Override
+	public boolean add(V value) {
+		try {
+			if (log != null) {
+				if (ValueCodec.canEncode(value)) {
+					log.append(value);
+				}
+				else {
+					unspill();
+					memory.add(value);
+				}
+			}
+			else {
+				memory.add(value);
+				if (threshold > 0 && spillable) {
+					if (!ValueCodec.canEncode(value)) {
+						spillable = false;
+					}
+					else if (memory.size() > threshold) {
+						spill();
+					}
+				}
+			}
+		} catch (IOException e) {
+			throw new UncheckedIOException("Failed to write collector values to disk", e);
+		}
+		modCount++;
+		return true;
+	}
+
+	@Override
+	public void add(int index, V value) {
+		if (index != size()) {
+			throw new UnsupportedOperationException("Values can only be appended");
+		}
+		add(value);
+	}
+
+	@SuppressWarnings("unchecked")
+	@Override
+	public V get(int index) {
+		if (log == null) {
+			return memory.get(index);
+		}
+
+		if (index < 0 || index >= log.count) {
+			throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + log.count);
+		}
+		if (index == 0) {
+			return (V) log.first;
+		}
+		// sequential access
+		Iterator<V> it = iterator();
+		for (int i = 0; i < index; i++) {
+			it.next();
+		}
+		return it.next();
+	}
+
+	@Override
+	public int size() {
+		return (log != null) ? (log.count) : (memory.size());
+	}
+
+	@Override
+	public Iterator<V> iterator() {
+		if (log == null) {
+			return memory.iterator();
+		}
+		log.flush();
+		return new LogIterator<>(log.file, log.count);
+	}
+
+	@Override
+	public void clear() {
+		memory = new ArrayList<>();
+		if (log != null) {
+			log.release();
+			log = null;
+		}
+		spillable = true;
+		modCount++;
+	}
+
+	/**
+	 * @return if the values are currently stored on disk
+	 */
+	public boolean isSpilled() {
+		return log != null;
+	}
+
+	/**
+	 * Create a snapshot of the current values. Values that are added later
+	 * are not part of the snapshot. The snapshot should be closed when it is
+	 * no longer needed.
+	 * 
+	 * @return the snapshot
+	 */
+	public Snapshot<V> snapshot() {
+		if (log == null) {
+			return new Snapshot<>(new ArrayList<>(memory), null, memory.size(), threshold);
+		}
+		log.flush();
+		log.retain();
+		return new Snapshot<>(null, log, log.count, threshold);
+	}
+
+	/**
+	 * Remove all values from the list and return them as snapshot. The
+	 * snapshot should be closed when it is no longer needed.
+	 * 
+	 * @return the snapshot of the removed values
+	 */
+	public Snapshot<V> detach() {
+		Snapshot<V> result;
+		if (log == null) {
+			result = new Snapshot<>(memory, null, memory.size(), threshold);
+		}
+		else {
+			// the reference of the list is passed to the snapshot
+			log.flush();
+			result = new Snapshot<>(null, log, log.count, threshold);
+			log = null;
+		}
+		memory = new ArrayList<>();
+		spillable = true;
+		modCount++;
+		return result;
+	}
+
+	/**
+	 * Move the values to an append log on disk.
+	 * 
+	 * @throws IOException if writing the values fails
+	 */
+	private void spill() throws IOException {
+		ValueLog newLog = new ValueLog();
+		try {
+			for (V value : memory) {
+				newLog.append(value);
+			}
+		} catch (IOException e) {
+			newLog.release();
+			throw e;
+		}
+		log = newLog;
+		memory = new ArrayList<>();
+	}
+
+	/**
+	 * Move the values from disk back to memory, e.g. because a value was added
+	 * that cannot be written to disk.
+	 */
+	private void unspill() {
+		List<V> values = new ArrayList<>(log.count + 1);
+		Iterator<V> it = iterator();
+		while (it.hasNext()) {
+			values.add(it.next());
+		}
+		log.release();
+		log = null;
+		memory = values;
+		spillable = false;
+	}
+
+	private static File createTempFile() throws IOException {
+		return File.createTempFile("collector", ".bin");
+	}
+
+	private static DataInputStream openFile(File file) throws IOException {
+		return new DataInputStream(new BufferedInputStream(new FileInputStream(file)));
+	}
+
+	private static void deleteFile(File file) {
+		if (!file.delete()) {
+			file.deleteOnExit();
+		}
+	}
+
+}
@@ -0,0 +1,183 @@
+/*
+ * Copyright (c) 2026 wetransform GmbH
+ *
+ * All rights reserved. This program and the accompanying materials are made
+ * available under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 3 of the License,
+ * or (at your option) any later version.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Contributors:
+ *     wetransform GmbH <http://www.wetransform.to>
+ */
+
+package eu.esdihumboldt.util.groovy.collector;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+
+import groovy.lang.GString;
+
+/**
+ * Binary encoding of simple collector values for writing them to disk.
+ * Supported are <code>null</code>, strings, boxed primitives, big numbers and
+ * URIs. {@link GString}s are encoded as strings.
+ */
+class ValueCodec {
+
+	private static final byte NULL = 0;
+	private static final byte STRING = 1;
+	private static final byte LONG = 2;
+	private static final byte INTEGER = 3;
+	private static final byte DOUBLE = 4;
+	private static final byte FLOAT = 5;
+	private static final byte BOOLEAN = 6;
+	private static final byte URI_VALUE = 7;
+	private static final byte BIG_DECIMAL = 8;
+	private static final byte BIG_INTEGER = 9;
+	private static final byte SHORT = 10;
+	private static final byte BYTE = 11;
+	private static final byte CHARACTER = 12;
+
+	/**
+	 * Determine if a value can be encoded.
+	 * 
+	 * @param value the value
+	 * @return if the value is supported by the codec
+	 */
+	public static boolean canEncode(Object value) {
+		return value == null || value instanceof String || value instanceof GString
+				|| value instanceof Long || value instanceof Integer || value instanceof Double
+				|| value instanceof Float || value instanceof Boolean || value instanceof URI
+				|| value instanceof BigDecimal || value instanceof BigInteger
+				|| value instanceof Short || value instanceof Byte || value instanceof Character;
+	}
+
+	/**
+	 * Write a value.
+	 * 
+	 * @param out the output to write to
+	 * @param value the value, it must be supported according to
+	 *            {@link #canEncode(Object)}
+	 * @throws IOException if writing the value fails
+	 */
+	public static void write(DataOutput out, Object value) throws IOException {
+		if (value == null) {
+			out.writeByte(NULL);
+		}
+		else if (value instanceof String || value instanceof GString) {
+			out.writeByte(STRING);
+			writeString(out, value.toString());
+		}
+		else if (value instanceof Long) {
+			out.writeByte(LONG);
+			out.writeLong((Long) value);
+		}
+		else if (value instanceof Integer) {
+			out.writeByte(INTEGER);
+			out.writeInt((Integer) value);
+		}
+		else if (value instanceof Double) {
+			out.writeByte(DOUBLE);
+			out.writeDouble((Double) value);
+		}
+		else if (value instanceof Float) {
+			out.writeByte(FLOAT);
+			out.writeFloat((Float) value);
+		}
+		else if (value instanceof Boolean) {
+			out.writeByte(BOOLEAN);
+			out.writeBoolean((Boolean) value);
+		}
+		else if (value instanceof URI) {
+			out.writeByte(URI_VALUE);
+			writeString(out, value.toString());
+		}
+		else if (value instanceof BigDecimal) {
+			out.writeByte(BIG_DECIMAL);
+			writeString(out, value.toString());
+		}
+		else if (value instanceof BigInteger) {
+			out.writeByte(BIG_INTEGER);
+			writeString(out, value.toString());
+		}
+		else if (value instanceof Short) {
+			out.writeByte(SHORT);
+			out.writeShort((Short) value);
+		}
+		else if (value instanceof Byte) {
+			out.writeByte(BYTE);
+			out.writeByte((Byte) value);
+		}
+		else if (value instanceof Character) {
+			out.writeByte(CHARACTER);
+			out.writeChar((Character) value);
+		}
+		else {
+			throw new IllegalArgumentException(
+					"Unsupported collector value type " + value.getClass().getName());
+		}
+	}
+
+	/**
+	 * Read a value.
+	 * 
+	 * @param in the input to read from
+	 * @return the value
+	 * @throws IOException if reading the value fails
+	 */
+	public static Object read(DataInput in) throws IOException {
+		byte type = in.readByte();
+		switch (type) {
+		case NULL:
+			return null;
+		case STRING:
+			return readString(in);
+		case LONG:
+			return in.readLong();
+		case INTEGER:
+			return in.readInt();
+		case DOUBLE:
+			return in.readDouble();
+		case FLOAT:
+			return in.readFloat();
+		case BOOLEAN:
+			return in.readBoolean();
+		case URI_VALUE:
+			return URI.create(readString(in));
+		case BIG_DECIMAL:
+			return new BigDecimal(readString(in));
+		case BIG_INTEGER:
+			return new BigInteger(readString(in));
+		case SHORT:
+			return in.readShort();
+		case BYTE:
+			return in.readByte();
+		case CHARACTER:
+			return in.readChar();
+		default:
+			throw new IOException("Unknown collector value type " + type);
+		}
+	}
+
+	private static void writeString(DataOutput out, String value) throws IOException {
+		// not using writeUTF as it is limited to 64k
+		byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+		out.writeInt(bytes.length);
+		out.write(bytes);
+	}
+
+	private static String readString(DataInput in) throws IOException {
+		byte[] bytes = new byte[in.readInt()];
+		in.readFully(bytes);
+		return new String(bytes, StandardCharsets.UTF_8);
+	}
+
+}
@@ -0,0 +1,122 @@
+/*
+ * Copyright (c) 2026 wetransform GmbH
+ *
+ * All rights reserved. This program and the accompanying materials are made
+ * available under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 3 of the License,
+ * or (at your option) any later version.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Contributors:
+ *     wetransform GmbH <http://www.wetransform.to>
+ */
+
+package eu.esdihumboldt.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.Test;
+
+/**
+ * Tests for {@link UniqueValueSet}.
+ */
+public class UniqueValueSetTest {
+
+	/**
+	 * Test detecting duplicates with values kept in memory.
+	 */
+	@Test
+	public void testInMemory() {
+		try (UniqueValueSet set = new UniqueValueSet(0)) {
+			for (int i = 0; i < 1000; i++) {
+				assertTrue(set.add("value" + i));
+			}
+			assertFalse(set.add("value10"));
+			// values of different classes are different
+			assertTrue(set.add(Integer.valueOf(10)));
+			assertTrue(set.add(Long.valueOf(10)));
+			assertFalse(set.add(Integer.valueOf(10)));
+
+			assertFalse(set.isSpilled());
+			assertEquals(1002, set.size());
+		}
+	}
+
+	/**
+	 * Test detecting duplicates after values were written to disk, including
+	 * merged runs.
+	 */
+	@Test
+	public void testSpilled() {
+		try (UniqueValueSet set = new UniqueValueSet(100)) {
+			for (int i = 0; i < 5000; i++) {
+				assertTrue(set.add("value" + i));
+			}
+			assertTrue(set.isSpilled());
+			assertEquals(5000, set.size());
+
+			for (int i = 0; i < 5000; i += 7) {
+				assertFalse("Duplicate value" + i + " not detected", set.add("value" + i));
+			}
+			assertTrue(set.add(Integer.valueOf(10)));
+			assertTrue(set.add(Long.valueOf(10)));
+			assertFalse(set.add(Integer.valueOf(10)));
+
+			assertEquals(5002, set.size());
+		}
+	}
+
+	/**
+	 * Test adding values from multiple threads, each value must be reported as
+	 * added exactly once.
+	 * 
+	 * @throws Exception if a thread fails
+	 */
+	@Test
+	public void testConcurrent() throws Exception {
+		final int threads = 4;
+		final int values = 10000;
+		ExecutorService executor = Executors.newFixedThreadPool(threads);
+		try (final UniqueValueSet set = new UniqueValueSet(500)) {
+			List<Future<Integer>> results = new ArrayList<>();
+			for (int t = 0; t < threads; t++) {
+				results.add(executor.submit(new Callable<Integer>() {
+
+					@Override
+					public Integer call() throws Exception {
+						int added = 0;
+						// all threads add the same values
+						for (int i = 0; i < values; i++) {
+							if (set.add("value" + i)) {
+								added++;
+							}
+						}
+						return added;
+					}
+				}));
+			}
+
+			int added = 0;
+			for (Future<Integer> result : results) {
+				added += result.get();
+			}
+			assertEquals(values, added);
+			assertEquals(values, set.size());
+			assertTrue(set.isSpilled());
+		} finally {
+			executor.shutdown();
+		}
+	}
+
+}
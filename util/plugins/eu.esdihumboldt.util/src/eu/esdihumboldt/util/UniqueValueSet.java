@@ -0,0 +1,545 @@
+/*
+ * Copyright (c) 2026 wetransform GmbH
+ *
+ * All rights reserved. This program and the accompanying materials are made
+ * available under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 3 of the License,
+ * or (at your option) any later version.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Contributors:
+ *     wetransform GmbH <http://www.wetransform.to>
+ */
+
+package eu.esdihumboldt.util;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Thread safe set for checking values for uniqueness. The values are kept in
+ * memory until their number exceeds a threshold. Then only fingerprints of the
+ * values are stored, in sorted runs on disk, with a Bloom filter per run in
+ * memory. The threshold is configured through the system property
+ * {@value #SYSTEM_PROPERTY_THRESHOLD} or the environment variable
+ * {@value #ENV_THRESHOLD}, if neither is set the values are always kept in
+ * memory.<br>
+ * <br>
+ * While the values are kept in memory they are compared using
+ * {@link Object#equals(Object)}. Once the set was written to disk, two values
+ * are considered equal if they are of the same class and have the same string
+ * representation. The set must be closed to delete the files on disk.
+ */
+public class UniqueValueSet implements Closeable {
+
+	/**
+	 * Name of the system property specifying the number of values above which
+	 * fingerprints of the values are written to disk.
+	 */
+	public static final String SYSTEM_PROPERTY_THRESHOLD = "hale.validation.unique.spillThreshold";
+
+	/**
+	 * Name of the environment variable specifying the number of values above
+	 * which fingerprints of the values are written to disk.
+	 */
+	public static final String ENV_THRESHOLD = "HALE_VALIDATION_UNIQUE_SPILL_THRESHOLD";
+
+	/**
+	 * Maximum number of runs on disk before they are merged.
+	 */
+	private static final int MAX_RUNS = 8;
+
+	/**
+	 * Size of a fingerprint on disk in bytes.
+	 */
+	private static final int RECORD_SIZE = 16;
+
+	/**
+	 * Bits per fingerprint in the Bloom filters, for a false positive rate of
+	 * about one percent.
+	 */
+	private static final int BLOOM_BITS = 10;
+
+	/**
+	 * Number of hash functions used for the Bloom filters.
+	 */
+	private static final int BLOOM_HASHES = 7;
+
+	private static final ThreadLocal<MessageDigest> DIGEST = new ThreadLocal<MessageDigest>() {
+
+		@Override
+		protected MessageDigest initialValue() {
+			try {
+				return MessageDigest.getInstance("MD5");
+			} catch (NoSuchAlgorithmException e) {
+				throw new IllegalStateException("MD5 message digest not available", e);
+			}
+		}
+
+	};
+
+	/**
+	 * 128 bit fingerprint of a value.
+	 */
+	private static final class Fingerprint implements Comparable<Fingerprint> {
+
+		private final long high;
+		private final long low;
+
+		public Fingerprint(long high, long low) {
+			this.high = high;
+			this.low = low;
+		}
+
+		@Override
+		public int compareTo(Fingerprint other) {
+			return compare(high, low, other.high, other.low);
+		}
+
+		@Override
+		public int hashCode() {
+			return (int) (high ^ (high >>> 32));
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (obj instanceof Fingerprint) {
+				Fingerprint other = (Fingerprint) obj;
+				return high == other.high && low == other.low;
+			}
+			return false;
+		}
+
+	}
+
+	/**
+	 * Sorted fingerprints stored in a file.
+	 */
+	private static final class Run {
+
+		private final File file;
+		private final MappedByteBuffer data;
+		private final int count;
+		private final long[] bloom;
+		private final long bloomSize;
+
+		/**
+		 * Create a run from a file that was completely written.
+		 * 
+		 * @param file the file
+		 * @param count the number of fingerprints in the file
+		 * @param bloom the Bloom filter for the fingerprints
+		 * @throws IOException if mapping the file fails
+		 */
+		public Run(File file, int count, long[] bloom) throws IOException {
+			this.file = file;
+			this.count = count;
+			this.bloom = bloom;
+			this.bloomSize = bloom.length * 64L;
+			try (RandomAccessFile raf = new RandomAccessFile(file, "r")) {
+				data = raf.getChannel().map(MapMode.READ_ONLY, 0, (long) count * RECORD_SIZE);
+			}
+		}
+
+		public long getHigh(int index) {
+			return data.getLong(index * RECORD_SIZE);
+		}
+
+		public long getLow(int index) {
+			return data.getLong(index * RECORD_SIZE + 8);
+		}
+
+		public boolean contains(Fingerprint fingerprint) {
+			if (!bloomContains(bloom, bloomSize, fingerprint.high, fingerprint.low)) {
+				return false;
+			}
+
+			int lower = 0;
+			int upper = count - 1;
+			while (lower <= upper) {
+				int middle = (lower + upper) >>> 1;
+				int cmp = compare(getHigh(middle), getLow(middle), fingerprint.high,
+						fingerprint.low);
+				if (cmp < 0) {
+					lower = middle + 1;
+				}
+				else if (cmp > 0) {
+					upper = middle - 1;
+				}
+				else {
+					return true;
+				}
+			}
+			return false;
+		}
+
+		public void delete() {
+			if (!file.delete()) {
+				// mapped files cannot be deleted on all platforms
+				file.deleteOnExit();
+			}
+		}
+
+	}
+
+	private final int threshold;
+
+	private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+	/**
+	 * The values while they are kept in memory.
+	 */
+	private final Set<Object> memory = ConcurrentHashMap.newKeySet();
+
+	private volatile boolean spilled = false;
+
+	/**
+	 * Fingerprints not yet written to disk.
+	 */
+	private final Set<Fingerprint> buffer = new HashSet<>();
+
+	private final List<Run> runs = new ArrayList<>();
+
+	private long spilledCount = 0;
+
+	private volatile boolean closed = false;
+
+	/**
+	 * Create a set with the threshold configured through the system property
+	 * {@value #SYSTEM_PROPERTY_THRESHOLD} or the environment variable
+	 * {@value #ENV_THRESHOLD}.
+	 */
+	public UniqueValueSet() {
+		this(getDefaultThreshold());
+	}
+
+	/**
+	 * Create a set with the given threshold.
+	 * 
+	 * @param threshold the number of values above which they are written to
+	 *            disk, zero or a negative number to always keep them in memory
+	 */
+	public UniqueValueSet(int threshold) {
+		this.threshold = threshold;
+	}
+
+	/**
+	 * @return the threshold configured through the system property
+	 *         {@value #SYSTEM_PROPERTY_THRESHOLD} or the environment variable
+	 *         {@value #ENV_THRESHOLD}, zero if none is configured
+	 */
+	public static int getDefaultThreshold() {
+		String value = System.getProperty(SYSTEM_PROPERTY_THRESHOLD);
+		if (value == null) {
+			value = System.getenv(ENV_THRESHOLD);
+		}
+		if (value != null) {
+			try {
+				return Integer.parseInt(value.trim());
+			} catch (NumberFormatException e) {
+				// ignore
+			}
+		}
+		return 0;
+	}
+
+	/**
+	 * Add a value to the set.
+	 * 
+	 * @param value the value to add, not <code>null</code>
+	 * @return <code>true</code> if the value was added, <code>false</code> if
+	 *         the set already contained the value
+	 * @throws UncheckedIOException if writing to disk fails
+	 */
+	public boolean add(Object value) {
+		Objects.requireNonNull(value);
+
+		if (!spilled) {
+			boolean exceeded;
+			lock.readLock().lock();
+			try {
+				checkOpen();
+				if (spilled) {
+					exceeded = false;
+				}
+				else if (!memory.add(value)) {
+					return false;
+				}
+				else if (threshold <= 0 || memory.size() <= threshold) {
+					return true;
+				}
+				else {
+					exceeded = true;
+				}
+			} finally {
+				lock.readLock().unlock();
+			}
+
+			if (exceeded) {
+				lock.writeLock().lock();
+				try {
+					if (!spilled) {
+						spill();
+					}
+				} finally {
+					lock.writeLock().unlock();
+				}
+				return true;
+			}
+		}
+
+		Fingerprint fingerprint = fingerprint(value);
+		lock.writeLock().lock();
+		try {
+			checkOpen();
+			if (buffer.contains(fingerprint)) {
+				return false;
+			}
+			for (Run run : runs) {
+				if (run.contains(fingerprint)) {
+					return false;
+				}
+			}
+
+			buffer.add(fingerprint);
+			spilledCount++;
+			if (buffer.size() >= threshold) {
+				flush();
+			}
+			return true;
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	/**
+	 * @return the number of values in the set
+	 */
+	public long size() {
+		lock.readLock().lock();
+		try {
+			return (spilled) ? (spilledCount) : (memory.size());
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	/**
+	 * @return if fingerprints of the values were written to disk
+	 */
+	public boolean isSpilled() {
+		return spilled;
+	}
+
+	/**
+	 * Remove all values and delete the files on disk. The set may not be used
+	 * afterwards.
+	 */
+	@Override
+	public void close() {
+		lock.writeLock().lock();
+		try {
+			closed = true;
+			memory.clear();
+			buffer.clear();
+			for (Run run : runs) {
+				run.delete();
+			}
+			runs.clear();
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	private void checkOpen() {
+		if (closed) {
+			throw new IllegalStateException("Set was already closed");
+		}
+	}
+
+	/**
+	 * Replace the values in memory by their fingerprints and write them to
+	 * disk. Must be called holding the write lock.
+	 */
+	private void spill() {
+		for (Object value : memory) {
+			buffer.add(fingerprint(value));
+		}
+		spilledCount = buffer.size();
+		memory.clear();
+		spilled = true;
+		flush();
+	}
+
+	/**
+	 * Write the buffered fingerprints to a new run on disk. Must be called
+	 * holding the write lock.
+	 */
+	private void flush() {
+		Fingerprint[] fingerprints = buffer.toArray(new Fingerprint[buffer.size()]);
+		Arrays.sort(fingerprints);
+
+		File file = null;
+		try {
+			file = createTempFile();
+			long[] bloom = createBloom(fingerprints.length);
+			try (DataOutputStream out = new DataOutputStream(
+					new BufferedOutputStream(new FileOutputStream(file)))) {
+				for (Fingerprint fingerprint : fingerprints) {
+					out.writeLong(fingerprint.high);
+					out.writeLong(fingerprint.low);
+					bloomAdd(bloom, bloom.length * 64L, fingerprint.high, fingerprint.low);
+				}
+			}
+			runs.add(new Run(file, fingerprints.length, bloom));
+			buffer.clear();
+		} catch (IOException e) {
+			if (file != null) {
+				file.delete();
+			}
+			throw new UncheckedIOException("Failed to write unique values to disk", e);
+		}
+
+		if (runs.size() > MAX_RUNS) {
+			mergeRuns();
+		}
+	}
+
+	/**
+	 * Merge all runs into a single run, if its size allows it to be mapped to
+	 * memory. Must be called holding the write lock.
+	 */
+	private void mergeRuns() {
+		long total = 0;
+		for (Run run : runs) {
+			total += run.count;
+		}
+		if (total * RECORD_SIZE > Integer.MAX_VALUE) {
+			// keep the runs separate
+			return;
+		}
+
+		int[] positions = new int[runs.size()];
+		File file = null;
+		try {
+			file = createTempFile();
+			long[] bloom = createBloom((int) total);
+			try (DataOutputStream out = new DataOutputStream(
+					new BufferedOutputStream(new FileOutputStream(file)))) {
+				for (long i = 0; i < total; i++) {
+					// find the run with the smallest next fingerprint
+					int next = -1;
+					for (int r = 0; r < positions.length; r++) {
+						Run run = runs.get(r);
+						if (positions[r] < run.count && (next < 0 || compare(
+								run.getHigh(positions[r]), run.getLow(positions[r]),
+								runs.get(next).getHigh(positions[next]),
+								runs.get(next).getLow(positions[next])) < 0)) {
+							next = r;
+						}
+					}
+
+					Run run = runs.get(next);
+					long high = run.getHigh(positions[next]);
+					long low = run.getLow(positions[next]);
+					positions[next]++;
+
+					out.writeLong(high);
+					out.writeLong(low);
+					bloomAdd(bloom, bloom.length * 64L, high, low);
+				}
+			}
+
+			Run merged = new Run(file, (int) total, bloom);
+			for (Run run : runs) {
+				run.delete();
+			}
+			runs.clear();
+			runs.add(merged);
+		} catch (IOException e) {
+			if (file != null) {
+				file.delete();
+			}
+			throw new UncheckedIOException("Failed to merge unique values on disk", e);
+		}
+	}
+
+	private static File createTempFile() throws IOException {
+		return File.createTempFile("unique", ".bin");
+	}
+
+	/**
+	 * Determine the fingerprint of a value based on its class and string
+	 * representation.
+	 * 
+	 * @param value the value
+	 * @return the fingerprint
+	 */
+	private static Fingerprint fingerprint(Object value) {
+		MessageDigest digest = DIGEST.get();
+		digest.update(value.getClass().getName().getBytes(StandardCharsets.UTF_8));
+		digest.update((byte) 0);
+		byte[] hash = digest.digest(value.toString().getBytes(StandardCharsets.UTF_8));
+
+		long high = 0;
+		long low = 0;
+		for (int i = 0; i < 8; i++) {
+			high = (high << 8) | (hash[i] & 0xff);
+			low = (low << 8) | (hash[i + 8] & 0xff);
+		}
+		return new Fingerprint(high, low);
+	}
+
+	private static int compare(long high1, long low1, long high2, long low2) {
+		int result = Long.compare(high1, high2);
+		if (result == 0) {
+			result = Long.compare(low1, low2);
+		}
+		return result;
+	}
+
+	private static long[] createBloom(int count) {
+		long bits = Math.max(64L, (long) count * BLOOM_BITS);
+		return new long[(int) ((bits + 63) / 64)];
+	}
+
+	private static void bloomAdd(long[] bloom, long size, long high, long low) {
+		for (int i = 0; i < BLOOM_HASHES; i++) {
+			long bit = ((high + i * low) & Long.MAX_VALUE) % size;
+			bloom[(int) (bit >>> 6)] |= 1L << bit;
+		}
+	}
+
+	private static boolean bloomContains(long[] bloom, long size, long high, long low) {
+		for (int i = 0; i < BLOOM_HASHES; i++) {
+			long bit = ((high + i * low) & Long.MAX_VALUE) % size;
+			if ((bloom[(int) (bit >>> 6)] & (1L << bit)) == 0) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+}
@@ -27,7 +27,11 @@ import org.apache.xmlbeans.impl.regex.RegularExpression;
 public class PatternValidator extends AbstractValidator {
 
 	private final String pattern;
-	private RegularExpression regEx;
+	/**
+	 * The compiled pattern, created lazily. Matching is thread safe, so it may
+	 * be shared between threads.
+	 */
+	private volatile RegularExpression regEx;
 
 	/**
 	 * Construct a PatternValidator with the given pattern.
@@ -49,8 +53,11 @@ public class PatternValidator extends AbstractValidator {
 		}
 
 		String s = getObjectAs(value, String.class);
-		if (regEx == null)
+		RegularExpression regEx = this.regEx;
+		if (regEx == null) {
 			regEx = new RegularExpression(pattern, "X");
+			this.regEx = regEx;
+		}
 		if (regEx.matches(s))
 			return null;
 		else